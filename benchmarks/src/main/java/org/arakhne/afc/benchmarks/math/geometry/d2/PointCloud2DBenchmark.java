@@ -0,0 +1,152 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.geometry.d2;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.geometry.d2.PointCloud2D;
+import org.arakhne.afc.math.geometry.d2.Transform2D;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
+
+/** Benchmark of the bulk operations on an array of {@link Point2d} and on a {@link PointCloud2D}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PointCloud2DBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final double SIZE = 100;
+
+	/** Number of points.
+	 */
+	@Param({"1000", "1000000"})
+	public int pointCount;
+
+	private final Transform2D transform = new Transform2D();
+
+	private Point2d[] points;
+
+	private PointCloud2D cloud;
+
+	private PointCloud2D transformedCloud;
+
+	/** Build the transformation and the points.
+	 */
+	@Setup
+	public void setUp() {
+		final Random random = new Random(SEED);
+		this.transform.setRotation(random.nextDouble() * Math.PI);
+		this.transform.setTranslation(random.nextDouble() * SIZE, random.nextDouble() * SIZE);
+		this.points = new Point2d[this.pointCount];
+		this.cloud = new PointCloud2D(this.pointCount);
+		this.transformedCloud = new PointCloud2D(this.pointCount);
+		for (int i = 0; i < this.pointCount; ++i) {
+			this.points[i] = new Point2d(random.nextDouble() * SIZE, random.nextDouble() * SIZE);
+			this.cloud.add(this.points[i]);
+		}
+	}
+
+	/** Transform the array of points.
+	 *
+	 * @return the last transformed point.
+	 */
+	@Benchmark
+	public Point2d transformPoints() {
+		final Point2d result = new Point2d();
+		for (final Point2d point : this.points) {
+			this.transform.transform(point, result);
+		}
+		return result;
+	}
+
+	/** Transform the point cloud.
+	 *
+	 * @return the transformed point cloud.
+	 */
+	@Benchmark
+	public PointCloud2D transformCloud() {
+		this.cloud.transform(this.transform, this.transformedCloud);
+		return this.transformedCloud;
+	}
+
+	/** Nearest point in the array of points.
+	 *
+	 * @return the index of the nearest point.
+	 */
+	@Benchmark
+	public int findNearestPoints() {
+		int nearest = -1;
+		double min = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < this.points.length; ++i) {
+			final double distance = this.points[i].getDistanceSquared(this.points[0]);
+			if (distance < min) {
+				min = distance;
+				nearest = i;
+			}
+		}
+		return nearest;
+	}
+
+	/** Nearest point in the point cloud.
+	 *
+	 * @return the index of the nearest point.
+	 */
+	@Benchmark
+	public int findNearestCloud() {
+		return this.cloud.findNearest(this.points[0]);
+	}
+
+	/** Centroid of the point cloud.
+	 *
+	 * @return the centroid.
+	 */
+	@Benchmark
+	public Point2d centroidCloud() {
+		final Point2d centroid = new Point2d();
+		this.cloud.getCentroid(centroid);
+		return centroid;
+	}
+
+}
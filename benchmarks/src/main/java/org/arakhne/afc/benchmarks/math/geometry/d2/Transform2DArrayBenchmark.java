@@ -0,0 +1,156 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.geometry.d2;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.geometry.d2.Transform2D;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
+
+/** Compare the transformation of points one after the other by {@link Transform2D}
+ * with the transformation of arrays of coordinates.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class Transform2DArrayBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final double SIZE = 100;
+
+	/** Number of points.
+	 */
+	@Param({"1000", "1000000"})
+	public int pointCount;
+
+	/** Kind of transformation: {@code translation} or {@code affine}.
+	 */
+	@Param({"translation", "affine"})
+	public String kind;
+
+	private final Transform2D transform = new Transform2D();
+
+	private Point2d[] points;
+
+	private Point2d[] resultPoints;
+
+	private double[] coordinates;
+
+	private double[] resultCoordinates;
+
+	private float[] floatCoordinates;
+
+	private float[] floatResultCoordinates;
+
+	/** Build the transformation and the points.
+	 */
+	@Setup
+	public void setUp() {
+		final Random random = new Random(SEED);
+		if ("affine".equals(this.kind)) {
+			this.transform.setRotation(random.nextDouble() * Math.PI);
+			this.transform.scale(random.nextDouble() + 1, random.nextDouble() + 1);
+		}
+		this.transform.setTranslation(random.nextDouble() * SIZE, random.nextDouble() * SIZE);
+		this.points = new Point2d[this.pointCount];
+		this.resultPoints = new Point2d[this.pointCount];
+		this.coordinates = new double[2 * this.pointCount];
+		this.resultCoordinates = new double[2 * this.pointCount];
+		this.floatCoordinates = new float[2 * this.pointCount];
+		this.floatResultCoordinates = new float[2 * this.pointCount];
+		for (int i = 0; i < this.pointCount; ++i) {
+			final double x = random.nextDouble() * SIZE;
+			final double y = random.nextDouble() * SIZE;
+			this.points[i] = new Point2d(x, y);
+			this.resultPoints[i] = new Point2d();
+			this.coordinates[2 * i] = x;
+			this.coordinates[2 * i + 1] = y;
+			this.floatCoordinates[2 * i] = (float) x;
+			this.floatCoordinates[2 * i + 1] = (float) y;
+		}
+	}
+
+	/** Transform the points one after the other.
+	 *
+	 * @return the transformed points.
+	 */
+	@Benchmark
+	public Point2d[] perTuple() {
+		for (int i = 0; i < this.pointCount; ++i) {
+			this.transform.transform(this.points[i], this.resultPoints[i]);
+		}
+		return this.resultPoints;
+	}
+
+	/** Transform the array of double coordinates.
+	 *
+	 * @return the transformed coordinates.
+	 */
+	@Benchmark
+	public double[] doubleArray() {
+		this.transform.transform(this.coordinates, 0, this.resultCoordinates, 0, this.pointCount);
+		return this.resultCoordinates;
+	}
+
+	/** Transform the array of float coordinates.
+	 *
+	 * @return the transformed coordinates.
+	 */
+	@Benchmark
+	public float[] floatArray() {
+		this.transform.transform(this.floatCoordinates, 0, this.floatResultCoordinates, 0, this.pointCount);
+		return this.floatResultCoordinates;
+	}
+
+	/** Transform the array of double coordinates in parallel.
+	 *
+	 * @return the transformed coordinates.
+	 */
+	@Benchmark
+	public double[] parallelDoubleArray() {
+		this.transform.parallelTransform(this.coordinates, 0, this.resultCoordinates, 0, this.pointCount);
+		return this.resultCoordinates;
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.geometry.d2;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.geometry.d2.Transform2D;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
+
+/** Benchmark of the application and the composition of {@link Transform2D}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class Transform2DBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final int POINT_COUNT = 256;
+
+	private static final double SIZE = 100;
+
+	private final Transform2D transform1 = new Transform2D();
+
+	private final Transform2D transform2 = new Transform2D();
+
+	private final Transform2D result = new Transform2D();
+
+	private final Point2d resultPoint = new Point2d();
+
+	private Point2d[] points;
+
+	/** Build the transformations and the points.
+	 */
+	@Setup
+	public void setUp() {
+		final Random random = new Random(SEED);
+		this.transform1.setRotation(random.nextDouble() * Math.PI);
+		this.transform1.setTranslation(random.nextDouble() * SIZE, random.nextDouble() * SIZE);
+		this.transform2.setScale(random.nextDouble() + 1, random.nextDouble() + 1);
+		this.transform2.setTranslation(random.nextDouble() * SIZE, random.nextDouble() * SIZE);
+		this.points = new Point2d[POINT_COUNT];
+		for (int i = 0; i < POINT_COUNT; ++i) {
+			this.points[i] = new Point2d(random.nextDouble() * SIZE, random.nextDouble() * SIZE);
+		}
+	}
+
+	/** Transform the points.
+	 *
+	 * @return the sum of the coordinates of the transformed points.
+	 */
+	@Benchmark
+	public double transformPoints() {
+		double sum = 0;
+		for (final Point2d point : this.points) {
+			this.transform1.transform(point, this.resultPoint);
+			sum += this.resultPoint.getX() + this.resultPoint.getY();
+		}
+		return sum;
+	}
+
+	/** Compose two transformations.
+	 *
+	 * @return the composition.
+	 */
+	@Benchmark
+	public Transform2D compose() {
+		this.result.mul(this.transform1, this.transform2);
+		return this.result;
+	}
+
+	/** Invert a transformation.
+	 *
+	 * @return the inverse.
+	 */
+	@Benchmark
+	public Transform2D invert() {
+		this.result.invert(this.transform1);
+		return this.result;
+	}
+
+}
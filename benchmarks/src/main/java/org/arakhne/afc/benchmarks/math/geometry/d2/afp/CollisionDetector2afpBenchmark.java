@@ -0,0 +1,168 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.geometry.d2.afp;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.geometry.d2.afp.CollisionDetector2afp;
+import org.arakhne.afc.math.geometry.d2.d.Circle2d;
+import org.arakhne.afc.math.geometry.d2.d.OrientedRectangle2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.arakhne.afc.math.geometry.d2.d.Segment2d;
+import org.arakhne.afc.math.geometry.d2.d.Shape2d;
+import org.arakhne.afc.math.geometry.d2.d.Triangle2d;
+
+/** Benchmark of {@link CollisionDetector2afp} on a scene of moving shapes of several types.
+ *
+ * <p>The detector is compared to the pairwise test of all the shapes with
+ * {@link Shape2d#intersects(org.arakhne.afc.math.geometry.d2.Shape2D)}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CollisionDetector2afpBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final double SHAPE_SIZE = 4;
+
+	private static final double STEP = .5;
+
+	private static final int KIND_COUNT = 5;
+
+	/** Number of shapes.
+	 */
+	@Param({"1000", "10000"})
+	public int shapeCount;
+
+	private final Random random = new Random(SEED);
+
+	private Shape2d<?>[] shapes;
+
+	private CollisionDetector2afp<Shape2d<?>> detector;
+
+	/** Build the scene.
+	 */
+	@Setup
+	@SuppressWarnings("checkstyle:magicnumber")
+	public void setUp() {
+		// The density of the shapes does not depend on their number
+		final double size = Math.sqrt(this.shapeCount) * SHAPE_SIZE * 2;
+		this.shapes = new Shape2d<?>[this.shapeCount];
+		this.detector = new CollisionDetector2afp<>();
+		for (int i = 0; i < this.shapeCount; ++i) {
+			final double x = this.random.nextDouble() * size;
+			final double y = this.random.nextDouble() * size;
+			final double angle = this.random.nextDouble() * Math.PI;
+			switch (i % KIND_COUNT) {
+			case 0:
+				this.shapes[i] = new Circle2d(x, y, SHAPE_SIZE / 2);
+				break;
+			case 1:
+				this.shapes[i] = new Rectangle2d(x, y, SHAPE_SIZE, SHAPE_SIZE / 2);
+				break;
+			case 2:
+				this.shapes[i] = new OrientedRectangle2d(x, y, Math.cos(angle), Math.sin(angle),
+						SHAPE_SIZE / 2, SHAPE_SIZE / 4);
+				break;
+			case 3:
+				this.shapes[i] = new Segment2d(x, y, x + SHAPE_SIZE * Math.cos(angle), y + SHAPE_SIZE * Math.sin(angle));
+				break;
+			default:
+				this.shapes[i] = new Triangle2d(x, y, x + SHAPE_SIZE, y, x, y + SHAPE_SIZE);
+				break;
+			}
+			this.detector.add(this.shapes[i]);
+		}
+	}
+
+	private void step() {
+		for (final Shape2d<?> shape : this.shapes) {
+			shape.translate((this.random.nextDouble() - .5) * STEP, (this.random.nextDouble() - .5) * STEP);
+		}
+	}
+
+	/** Move the shapes and test all the pairs of shapes.
+	 *
+	 * @return the number of collisions.
+	 */
+	@Benchmark
+	public int pairwise() {
+		step();
+		int count = 0;
+		for (int i = 0; i < this.shapes.length; ++i) {
+			for (int j = i + 1; j < this.shapes.length; ++j) {
+				if (this.shapes[i].intersects(this.shapes[j])) {
+					++count;
+				}
+			}
+		}
+		return count;
+	}
+
+	/** Move the shapes and run the detector.
+	 *
+	 * @return the number of collisions.
+	 */
+	@Benchmark
+	public int detector() {
+		step();
+		this.detector.updateAll();
+		return this.detector.findCollisions((id1, id2) -> { });
+	}
+
+	/** Move the shapes and run the detector with a parallel narrow phase.
+	 *
+	 * @return the number of collisions.
+	 */
+	@Benchmark
+	public long detectorParallel() {
+		step();
+		this.detector.updateAll();
+		final LongAdder count = new LongAdder();
+		this.detector.findCollisionsParallel((id1, id2) -> count.increment());
+		return count.sum();
+	}
+
+}
@@ -0,0 +1,208 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.geometry.d2.afp;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.geometry.d2.afp.AnalyticFlatteningPathVisitor2afp;
+import org.arakhne.afc.math.geometry.d2.afp.FlatteningPathVisitor2afp;
+import org.arakhne.afc.math.geometry.d2.afp.Path2afp;
+import org.arakhne.afc.math.geometry.d2.afp.PathIterator2afp;
+import org.arakhne.afc.math.geometry.d2.afp.PathVisitor2afp;
+import org.arakhne.afc.math.geometry.d2.d.Path2d;
+import org.arakhne.afc.math.geometry.d2.d.PathElement2d;
+
+/** Benchmark of the flattening of a curved path.
+ *
+ * <p>The recursive flattening of {@link Path2afp.FlatteningPathIterator} and {@link FlatteningPathVisitor2afp}
+ * is compared to the flattening that is cached by {@link Path2d}, and to the analytic flattening of
+ * {@link AnalyticFlatteningPathVisitor2afp}. Each benchmark replies the number of vertices of the flattened path.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PathFlatteningBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final double SIZE = 1000;
+
+	/** Number of curves in the path.
+	 */
+	@Param({"100", "10000"})
+	public int curveCount;
+
+	/** Maximum distance between the curves and the lines.
+	 */
+	@Param({"0.1", "0.01"})
+	public double flatness;
+
+	private Path2d path;
+
+	private final VertexCounter counter = new VertexCounter();
+
+	/** Build the path with quadratic and cubic curves.
+	 */
+	@Setup
+	public void setUp() {
+		final Random random = new Random(SEED);
+		this.path = new Path2d();
+		this.path.moveTo(random.nextDouble() * SIZE, random.nextDouble() * SIZE);
+		for (int i = 0; i < this.curveCount; ++i) {
+			if (i % 2 == 0) {
+				this.path.quadTo(random.nextDouble() * SIZE, random.nextDouble() * SIZE,
+						random.nextDouble() * SIZE, random.nextDouble() * SIZE);
+			} else {
+				this.path.curveTo(random.nextDouble() * SIZE, random.nextDouble() * SIZE,
+						random.nextDouble() * SIZE, random.nextDouble() * SIZE,
+						random.nextDouble() * SIZE, random.nextDouble() * SIZE);
+			}
+		}
+		this.path.closePath();
+	}
+
+	private static int count(PathIterator2afp<PathElement2d> iterator) {
+		int count = 0;
+		while (iterator.hasNext()) {
+			iterator.next();
+			++count;
+		}
+		return count;
+	}
+
+	/** Flattening with the recursive iterator, computed at each call.
+	 *
+	 * @return the number of vertices.
+	 */
+	@Benchmark
+	public int recursiveIterator() {
+		return count(new Path2afp.FlatteningPathIterator<>(this.path.getPathIterator(null), this.flatness,
+				Path2afp.DEFAULT_FLATTENING_LIMIT));
+	}
+
+	/** Flattening with the iterator on the cached flattening of the path.
+	 *
+	 * @return the number of vertices.
+	 */
+	@Benchmark
+	public int cachedIterator() {
+		return count(this.path.getPathIterator(this.flatness));
+	}
+
+	/** Flattening with the recursive visitor, computed at each call.
+	 *
+	 * @return the number of vertices.
+	 */
+	@Benchmark
+	public int recursiveVisitor() {
+		this.counter.count = 0;
+		this.path.visit(new FlatteningPathVisitor2afp(this.counter, this.flatness, Path2afp.DEFAULT_FLATTENING_LIMIT));
+		return this.counter.count;
+	}
+
+	/** Flattening with the visitor on the cached flattening of the path.
+	 *
+	 * @return the number of vertices.
+	 */
+	@Benchmark
+	public int cachedVisitor() {
+		this.counter.count = 0;
+		this.path.visit(this.counter, this.flatness);
+		return this.counter.count;
+	}
+
+	/** Flattening with the analytic visitor, computed at each call.
+	 *
+	 * @return the number of vertices.
+	 */
+	@Benchmark
+	public int analyticVisitor() {
+		this.counter.count = 0;
+		this.path.visit(new AnalyticFlatteningPathVisitor2afp(this.counter, this.flatness, Path2afp.DEFAULT_FLATTENING_LIMIT));
+		return this.counter.count;
+	}
+
+	/** Visitor that counts the vertices.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private static final class VertexCounter implements PathVisitor2afp {
+
+		int count;
+
+		VertexCounter() {
+			//
+		}
+
+		@Override
+		public void moveTo(double x, double y) {
+			++this.count;
+		}
+
+		@Override
+		public void lineTo(double x, double y) {
+			++this.count;
+		}
+
+		@Override
+		public void quadTo(double ctrlx, double ctrly, double x, double y) {
+			++this.count;
+		}
+
+		@Override
+		public void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double x, double y) {
+			++this.count;
+		}
+
+		@Override
+		public void closePath() {
+			//
+		}
+
+	}
+
+}
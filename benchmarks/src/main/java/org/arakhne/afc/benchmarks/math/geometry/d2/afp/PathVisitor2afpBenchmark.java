@@ -0,0 +1,181 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.geometry.d2.afp;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.MathConstants;
+import org.arakhne.afc.math.geometry.CrossingComputationType;
+import org.arakhne.afc.math.geometry.d2.afp.Path2afp;
+import org.arakhne.afc.math.geometry.d2.afp.PathVisitors2afp;
+import org.arakhne.afc.math.geometry.d2.d.Path2d;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+
+/** Benchmark of the path traversals with a {@link org.arakhne.afc.math.geometry.d2.afp.PathIterator2afp}
+ * and with a {@link org.arakhne.afc.math.geometry.d2.afp.PathVisitor2afp}.
+ *
+ * <p>The path is a closed polygon with the given number of vertices. The allocation rates
+ * are obtained by running the benchmark with the GC profiler ({@code -prof gc}).
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PathVisitor2afpBenchmark {
+
+	private static final double RADIUS = 100;
+
+	private static final double QUERY_X = 10;
+
+	private static final double QUERY_Y = -20;
+
+	/** Number of vertices of the polygon.
+	 */
+	@Param({"100", "10000", "1000000"})
+	public int vertexCount;
+
+	private Path2d path;
+
+	private final Point2d point = new Point2d();
+
+	private final Rectangle2d box = new Rectangle2d();
+
+	/** Build the polygon.
+	 */
+	@Setup
+	public void setUp() {
+		this.path = new Path2d();
+		for (int i = 0; i < this.vertexCount; ++i) {
+			final double angle = 2 * Math.PI * i / this.vertexCount;
+			final double radius = (i % 2 == 0) ? RADIUS : RADIUS / 2;
+			final double x = radius * Math.cos(angle);
+			final double y = radius * Math.sin(angle);
+			if (i == 0) {
+				this.path.moveTo(x, y);
+			} else {
+				this.path.lineTo(x, y);
+			}
+		}
+		this.path.closePath();
+	}
+
+	/** Crossings of a point shadow computed with the path iterator.
+	 *
+	 * @return the crossings.
+	 */
+	@Benchmark
+	public int crossingsIterator() {
+		return Path2afp.calculatesCrossingsPathIteratorPointShadow(0, this.path.getPathIterator(),
+				QUERY_X, QUERY_Y, CrossingComputationType.STANDARD);
+	}
+
+	/** Crossings of a point shadow computed with the path visitor.
+	 *
+	 * @return the crossings.
+	 */
+	@Benchmark
+	public int crossingsVisitor() {
+		return PathVisitors2afp.calculatesCrossingsPathPointShadow(0, this.path,
+				QUERY_X, QUERY_Y, CrossingComputationType.STANDARD);
+	}
+
+	/** Closest point computed with the path iterator.
+	 *
+	 * @return the closest point.
+	 */
+	@Benchmark
+	public Point2d closestPointIterator() {
+		Path2afp.findsClosestPointPathIteratorPoint(this.path.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
+				QUERY_X, QUERY_Y, this.point);
+		return this.point;
+	}
+
+	/** Closest point computed with the path visitor.
+	 *
+	 * @return the closest point.
+	 */
+	@Benchmark
+	public Point2d closestPointVisitor() {
+		PathVisitors2afp.findsClosestPointPathPoint(this.path, QUERY_X, QUERY_Y, this.point);
+		return this.point;
+	}
+
+	/** Bounding box computed with the path iterator.
+	 *
+	 * @return the bounding box.
+	 */
+	@Benchmark
+	public Rectangle2d boundingBoxIterator() {
+		Path2afp.calculatesDrawableElementBoundingBox(this.path.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
+				this.box);
+		return this.box;
+	}
+
+	/** Bounding box computed with the path visitor.
+	 *
+	 * @return the bounding box.
+	 */
+	@Benchmark
+	public Rectangle2d boundingBoxVisitor() {
+		PathVisitors2afp.calculatesDrawableElementBoundingBox(this.path, this.box);
+		return this.box;
+	}
+
+	/** Length computed with the path iterator.
+	 *
+	 * @return the length.
+	 */
+	@Benchmark
+	public double lengthIterator() {
+		return Path2afp.calculatesPathLength(this.path.getPathIterator());
+	}
+
+	/** Length computed with the path visitor.
+	 *
+	 * @return the length.
+	 */
+	@Benchmark
+	public double lengthVisitor() {
+		return PathVisitors2afp.calculatesPathLength(this.path);
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.geometry.d2.afp;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.geometry.d2.afp.PreparedPath2afp;
+import org.arakhne.afc.math.geometry.d2.d.Path2d;
+
+/** Benchmark of the point-containment queries on a {@link Path2d} and on a {@link PreparedPath2afp}.
+ *
+ * <p>The path is a closed star polygon with the given number of vertices. Each benchmark
+ * tests the same set of random points.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PreparedPath2afpBenchmark {
+
+	private static final long SEED = 1234;
+
+	private static final int QUERY_COUNT = 1000;
+
+	private static final double RADIUS = 100;
+
+	/** Number of vertices of the polygon.
+	 */
+	@Param({"100", "1000", "100000"})
+	public int vertexCount;
+
+	private Path2d path;
+
+	private PreparedPath2afp prepared;
+
+	private double[] queries;
+
+	/** Build the polygon, the prepared polygon and the query points.
+	 */
+	@Setup
+	public void setUp() {
+		this.path = new Path2d();
+		for (int i = 0; i < this.vertexCount; ++i) {
+			final double angle = 2 * Math.PI * i / this.vertexCount;
+			final double radius = (i % 2 == 0) ? RADIUS : RADIUS / 2;
+			final double x = radius * Math.cos(angle);
+			final double y = radius * Math.sin(angle);
+			if (i == 0) {
+				this.path.moveTo(x, y);
+			} else {
+				this.path.lineTo(x, y);
+			}
+		}
+		this.path.closePath();
+		this.prepared = new PreparedPath2afp(this.path);
+		final Random random = new Random(SEED);
+		this.queries = new double[QUERY_COUNT * 2];
+		for (int i = 0; i < this.queries.length; ++i) {
+			this.queries[i] = (random.nextDouble() * 2 - 1) * RADIUS;
+		}
+	}
+
+	/** Point containment on the path.
+	 *
+	 * @return the number of points inside the path.
+	 */
+	@Benchmark
+	public int containsPath() {
+		int count = 0;
+		for (int i = 0; i < this.queries.length; i += 2) {
+			if (this.path.contains(this.queries[i], this.queries[i + 1])) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/** Point containment on the prepared path.
+	 *
+	 * @return the number of points inside the path.
+	 */
+	@Benchmark
+	public int containsPreparedPath() {
+		int count = 0;
+		for (int i = 0; i < this.queries.length; i += 2) {
+			if (this.prepared.contains(this.queries[i], this.queries[i + 1])) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/** Construction of the prepared path.
+	 *
+	 * @return the prepared path.
+	 */
+	@Benchmark
+	public PreparedPath2afp prepare() {
+		return new PreparedPath2afp(this.path);
+	}
+
+}
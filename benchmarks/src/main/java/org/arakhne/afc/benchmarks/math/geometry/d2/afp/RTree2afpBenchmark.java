@@ -0,0 +1,109 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.geometry.d2.afp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.geometry.d2.afp.RTree2afp;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+
+/** Benchmark of the construction of a {@link RTree2afp}, with a bulk loading
+ * and with insertions one by one.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RTree2afpBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final double WORLD_SIZE = 10000;
+
+	private static final double SHAPE_SIZE = 20;
+
+	/** Number of shapes in the tree.
+	 */
+	@Param({"10000", "100000"})
+	public int shapeCount;
+
+	private List<Rectangle2d> shapes;
+
+	/** Build the shapes.
+	 */
+	@Setup
+	public void setUp() {
+		final Random random = new Random(SEED);
+		this.shapes = new ArrayList<>(this.shapeCount);
+		for (int i = 0; i < this.shapeCount; ++i) {
+			this.shapes.add(new Rectangle2d(random.nextDouble() * WORLD_SIZE, random.nextDouble() * WORLD_SIZE,
+					random.nextDouble() * SHAPE_SIZE, random.nextDouble() * SHAPE_SIZE));
+		}
+	}
+
+	/** Sort-Tile-Recursive bulk loading.
+	 *
+	 * @return the tree.
+	 */
+	@Benchmark
+	public RTree2afp<Rectangle2d> bulkLoad() {
+		final RTree2afp<Rectangle2d> tree = new RTree2afp<>();
+		tree.addAll(this.shapes);
+		return tree;
+	}
+
+	/** Insertions one by one.
+	 *
+	 * @return the tree.
+	 */
+	@Benchmark
+	public RTree2afp<Rectangle2d> insert() {
+		final RTree2afp<Rectangle2d> tree = new RTree2afp<>();
+		for (final Rectangle2d shape : this.shapes) {
+			tree.add(shape);
+		}
+		return tree;
+	}
+
+}
@@ -0,0 +1,168 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.geometry.d2.afp;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.geometry.d2.afp.Segment2afp;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
+
+/** Benchmark of the intersection and closest-point functions of {@link Segment2afp}.
+ *
+ * <p>Each invocation runs the function on a fixed set of random pairs of segments.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class Segment2afpBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final int PAIR_COUNT = 256;
+
+	private static final int COORDINATES_PER_PAIR = 8;
+
+	private static final double SIZE = 100;
+
+	private final Point2d result1 = new Point2d();
+
+	private final Point2d result2 = new Point2d();
+
+	private double[] coordinates;
+
+	/** Build the segments.
+	 */
+	@Setup
+	public void setUp() {
+		final Random random = new Random(SEED);
+		this.coordinates = new double[PAIR_COUNT * COORDINATES_PER_PAIR];
+		for (int i = 0; i < this.coordinates.length; ++i) {
+			this.coordinates[i] = random.nextDouble() * SIZE;
+		}
+	}
+
+	/** Test the intersections between the segments, including their ends.
+	 *
+	 * @return the number of intersecting pairs.
+	 */
+	@Benchmark
+	@SuppressWarnings("checkstyle:magicnumber")
+	public int intersectsSegmentSegmentWithEnds() {
+		final double[] c = this.coordinates;
+		int count = 0;
+		for (int i = 0; i < c.length; i += COORDINATES_PER_PAIR) {
+			if (Segment2afp.intersectsSegmentSegmentWithEnds(c[i], c[i + 1], c[i + 2], c[i + 3],
+					c[i + 4], c[i + 5], c[i + 6], c[i + 7])) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/** Compute the intersection points between the segments.
+	 *
+	 * @return the number of intersecting pairs.
+	 */
+	@Benchmark
+	@SuppressWarnings("checkstyle:magicnumber")
+	public int findsSegmentSegmentIntersection() {
+		final double[] c = this.coordinates;
+		int count = 0;
+		for (int i = 0; i < c.length; i += COORDINATES_PER_PAIR) {
+			if (Segment2afp.findsSegmentSegmentIntersection(c[i], c[i + 1], c[i + 2], c[i + 3],
+					c[i + 4], c[i + 5], c[i + 6], c[i + 7], this.result1)) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/** Compute the points of the segments that are the closest to a point.
+	 *
+	 * @return the sum of the coordinates of the closest points.
+	 */
+	@Benchmark
+	@SuppressWarnings("checkstyle:magicnumber")
+	public double findsClosestPointSegmentPoint() {
+		final double[] c = this.coordinates;
+		double sum = 0;
+		for (int i = 0; i < c.length; i += COORDINATES_PER_PAIR) {
+			Segment2afp.findsClosestPointSegmentPoint(c[i], c[i + 1], c[i + 2], c[i + 3],
+					c[i + 4], c[i + 5], this.result1);
+			sum += this.result1.getX() + this.result1.getY();
+		}
+		return sum;
+	}
+
+	/** Compute the closest points between the segments.
+	 *
+	 * @return the sum of the squared distances.
+	 */
+	@Benchmark
+	@SuppressWarnings("checkstyle:magicnumber")
+	public double findsClosestPointSegmentSegment() {
+		final double[] c = this.coordinates;
+		double sum = 0;
+		for (int i = 0; i < c.length; i += COORDINATES_PER_PAIR) {
+			sum += Segment2afp.findsClosestPointSegmentSegment(c[i], c[i + 1], c[i + 2], c[i + 3],
+					c[i + 4], c[i + 5], c[i + 6], c[i + 7], this.result1, this.result2);
+		}
+		return sum;
+	}
+
+	/** Compute the squared distances between the segments and a point.
+	 *
+	 * @return the sum of the squared distances.
+	 */
+	@Benchmark
+	@SuppressWarnings("checkstyle:magicnumber")
+	public double calculatesDistanceSquaredSegmentPoint() {
+		final double[] c = this.coordinates;
+		double sum = 0;
+		for (int i = 0; i < c.length; i += COORDINATES_PER_PAIR) {
+			sum += Segment2afp.calculatesDistanceSquaredSegmentPoint(c[i], c[i + 1], c[i + 2], c[i + 3],
+					c[i + 4], c[i + 5]);
+		}
+		return sum;
+	}
+
+}
@@ -0,0 +1,125 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.geometry.d2.afp;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.geometry.d2.afp.Segment2afp;
+import org.arakhne.afc.math.geometry.d2.afp.SegmentIntersectionSweep2afp;
+
+/** Benchmark of the search for all the intersections in a set of segments, with
+ * a pairwise scan and with a {@link SegmentIntersectionSweep2afp}.
+ *
+ * <p>The segments are short random segments in a square, as the edges of a road network.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SegmentIntersectionSweep2afpBenchmark {
+
+	private static final long SEED = 1234;
+
+	private static final double WORLD_SIZE = 10000;
+
+	private static final double SEGMENT_SIZE = 40;
+
+	/** Number of segments.
+	 */
+	@Param({"1000", "10000", "50000"})
+	public int segmentCount;
+
+	private SegmentIntersectionSweep2afp sweep;
+
+	private double[] coords;
+
+	/** Build the segments.
+	 */
+	@Setup
+	public void setUp() {
+		final Random random = new Random(SEED);
+		this.sweep = new SegmentIntersectionSweep2afp();
+		this.coords = new double[this.segmentCount * 4];
+		for (int i = 0; i < this.segmentCount; ++i) {
+			final double x = random.nextDouble() * WORLD_SIZE;
+			final double y = random.nextDouble() * WORLD_SIZE;
+			final double x2 = x + (random.nextDouble() - .5) * SEGMENT_SIZE;
+			final double y2 = y + (random.nextDouble() - .5) * SEGMENT_SIZE;
+			this.sweep.addSegment(x, y, x2, y2);
+			this.coords[i * 4] = x;
+			this.coords[i * 4 + 1] = y;
+			this.coords[i * 4 + 2] = x2;
+			this.coords[i * 4 + 3] = y2;
+		}
+	}
+
+	/** Pairwise scan of the segments.
+	 *
+	 * @return the number of intersections.
+	 */
+	@Benchmark
+	public int pairwise() {
+		final double[] c = this.coords;
+		int count = 0;
+		for (int i = 0; i < c.length; i += 4) {
+			for (int j = i + 4; j < c.length; j += 4) {
+				if (Segment2afp.intersectsSegmentSegmentWithEnds(c[i], c[i + 1], c[i + 2], c[i + 3],
+						c[j], c[j + 1], c[j + 2], c[j + 3])) {
+					++count;
+				}
+			}
+		}
+		return count;
+	}
+
+	/** Sweep of the segments.
+	 *
+	 * @return the number of intersections.
+	 */
+	@Benchmark
+	public int sweep() {
+		return this.sweep.findIntersections(true, (segment1, segment2, x, y) -> {
+			//
+		});
+	}
+
+}
@@ -0,0 +1,265 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.geometry.d2.afp;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.geometry.d2.Shape2D;
+import org.arakhne.afc.math.geometry.d2.afp.Circle2afp;
+import org.arakhne.afc.math.geometry.d2.afp.Ellipse2afp;
+import org.arakhne.afc.math.geometry.d2.afp.OrientedRectangle2afp;
+import org.arakhne.afc.math.geometry.d2.afp.Parallelogram2afp;
+import org.arakhne.afc.math.geometry.d2.afp.Path2afp;
+import org.arakhne.afc.math.geometry.d2.afp.Rectangle2afp;
+import org.arakhne.afc.math.geometry.d2.afp.RoundRectangle2afp;
+import org.arakhne.afc.math.geometry.d2.afp.Segment2afp;
+import org.arakhne.afc.math.geometry.d2.afp.Shape2afp;
+import org.arakhne.afc.math.geometry.d2.afp.Triangle2afp;
+import org.arakhne.afc.math.geometry.d2.d.Circle2d;
+import org.arakhne.afc.math.geometry.d2.d.Ellipse2d;
+import org.arakhne.afc.math.geometry.d2.d.OrientedRectangle2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.arakhne.afc.math.geometry.d2.d.RoundRectangle2d;
+import org.arakhne.afc.math.geometry.d2.d.Segment2d;
+import org.arakhne.afc.math.geometry.d2.d.Shape2d;
+import org.arakhne.afc.math.geometry.d2.d.Triangle2d;
+
+/** Benchmark of the generic functions of {@link Shape2afp} that are taking a {@link Shape2D}
+ * as argument, on a mixed set of shapes.
+ *
+ * <p>The functions, which are selecting the specialized routine with the
+ * {@link org.arakhne.afc.math.geometry.d2.ShapeKind2D kinds} of the shapes, are compared
+ * to the sequence of {@code instanceof} tests that was used before.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ShapeDispatch2afpBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final double SIZE = 100;
+
+	private static final double SHAPE_SIZE = 10;
+
+	private static final int KIND_COUNT = 7;
+
+	/** Number of pairs of shapes.
+	 */
+	@Param({"1000", "10000"})
+	public int pairCount;
+
+	private Shape2d<?>[] shapes1;
+
+	private Shape2d<?>[] shapes2;
+
+	/** Build the pairs of shapes.
+	 */
+	@Setup
+	public void setUp() {
+		final Random random = new Random(SEED);
+		this.shapes1 = new Shape2d<?>[this.pairCount];
+		this.shapes2 = new Shape2d<?>[this.pairCount];
+		for (int i = 0; i < this.pairCount; ++i) {
+			this.shapes1[i] = newShape(random);
+			this.shapes2[i] = newShape(random);
+		}
+	}
+
+	private static Shape2d<?> newShape(Random random) {
+		final double x = random.nextDouble() * SIZE;
+		final double y = random.nextDouble() * SIZE;
+		final double size = random.nextDouble() * SHAPE_SIZE + 1;
+		switch (random.nextInt(KIND_COUNT)) {
+		case 0:
+			return new Circle2d(x, y, size);
+		case 1:
+			return new Ellipse2d(x, y, size, size / 2);
+		case 2:
+			return new Rectangle2d(x, y, size, size);
+		case 3:
+			return new OrientedRectangle2d(x, y, Math.cos(size), Math.sin(size), size, size / 2);
+		case 4:
+			return new RoundRectangle2d(x, y, size + 2, size + 2, 1, 1);
+		case 5:
+			return new Segment2d(x, y, x + size, y - size);
+		default:
+			return new Triangle2d(x, y, x + size, y, x, y + size);
+		}
+	}
+
+	/** Replies if the two shapes are intersecting by testing the type of the second shape
+	 * with a sequence of {@code instanceof}.
+	 *
+	 * @param shape1 the first shape.
+	 * @param shape2 the second shape.
+	 * @return <code>true</code> if the shapes are intersecting.
+	 */
+	@SuppressWarnings("checkstyle:returncount")
+	private static boolean intersectsWithInstanceof(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		if (shape2 instanceof Circle2afp) {
+			return shape1.intersects((Circle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		if (shape2 instanceof Ellipse2afp) {
+			return shape1.intersects((Ellipse2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		if (shape2 instanceof OrientedRectangle2afp) {
+			return shape1.intersects((OrientedRectangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		if (shape2 instanceof Parallelogram2afp) {
+			return shape1.intersects((Parallelogram2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		if (shape2 instanceof Path2afp) {
+			return shape1.intersects((Path2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		if (shape2 instanceof Rectangle2afp) {
+			return shape1.intersects((Rectangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		if (shape2 instanceof RoundRectangle2afp) {
+			return shape1.intersects((RoundRectangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		if (shape2 instanceof Segment2afp) {
+			return shape1.intersects((Segment2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		if (shape2 instanceof Triangle2afp) {
+			return shape1.intersects((Triangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		return shape1.intersects(shape1.getPathIterator());
+	}
+
+	/** Replies the squared distance between the two shapes by testing the type of the second shape
+	 * with a sequence of {@code instanceof}.
+	 *
+	 * @param shape1 the first shape.
+	 * @param shape2 the second shape.
+	 * @return the squared distance.
+	 */
+	@SuppressWarnings("checkstyle:returncount")
+	private static double distanceWithInstanceof(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		if (shape2 instanceof Circle2afp) {
+			return shape1.getDistanceSquared((Circle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		if (shape2 instanceof Ellipse2afp) {
+			return shape1.getDistanceSquared((Ellipse2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		if (shape2 instanceof OrientedRectangle2afp) {
+			return shape1.getDistanceSquared((OrientedRectangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		if (shape2 instanceof Parallelogram2afp) {
+			return shape1.getDistanceSquared((Parallelogram2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		if (shape2 instanceof Path2afp) {
+			return shape1.getDistanceSquared((Path2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		if (shape2 instanceof Rectangle2afp) {
+			return shape1.getDistanceSquared((Rectangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		if (shape2 instanceof RoundRectangle2afp) {
+			return shape1.getDistanceSquared((RoundRectangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		if (shape2 instanceof Segment2afp) {
+			return shape1.getDistanceSquared((Segment2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		if (shape2 instanceof Triangle2afp) {
+			return shape1.getDistanceSquared((Triangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		}
+		throw new IllegalArgumentException();
+	}
+
+	/** Test the intersections with the dispatch table of the shapes.
+	 *
+	 * @return the number of intersecting pairs.
+	 */
+	@Benchmark
+	public int intersectsDispatchTable() {
+		int count = 0;
+		for (int i = 0; i < this.pairCount; ++i) {
+			if (this.shapes1[i].intersects((Shape2D<?, ?, ?, ?, ?, ?>) this.shapes2[i])) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/** Test the intersections with the sequence of {@code instanceof}.
+	 *
+	 * @return the number of intersecting pairs.
+	 */
+	@Benchmark
+	public int intersectsInstanceof() {
+		int count = 0;
+		for (int i = 0; i < this.pairCount; ++i) {
+			if (intersectsWithInstanceof(this.shapes1[i], this.shapes2[i])) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/** Compute the distances with the dispatch table of the shapes.
+	 *
+	 * @return the sum of the squared distances.
+	 */
+	@Benchmark
+	public double distanceDispatchTable() {
+		double sum = 0;
+		for (int i = 0; i < this.pairCount; ++i) {
+			sum += this.shapes1[i].getDistanceSquared((Shape2D<?, ?, ?, ?, ?, ?>) this.shapes2[i]);
+		}
+		return sum;
+	}
+
+	/** Compute the distances with the sequence of {@code instanceof}.
+	 *
+	 * @return the sum of the squared distances.
+	 */
+	@Benchmark
+	public double distanceInstanceof() {
+		double sum = 0;
+		for (int i = 0; i < this.pairCount; ++i) {
+			sum += distanceWithInstanceof(this.shapes1[i], this.shapes2[i]);
+		}
+		return sum;
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.geometry.d2.afp;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.geometry.d2.afp.SpatialHashGrid2afp;
+import org.arakhne.afc.math.geometry.d2.d.Circle2d;
+
+/** Benchmark of {@link SpatialHashGrid2afp} with uniformly distributed moving points.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SpatialHashGrid2afpBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final double SIZE = 10000;
+
+	private static final double CELL_SIZE = 10;
+
+	private static final double STEP = 2;
+
+	private static final double DISTANCE = 5;
+
+	private static final int QUERY_COUNT = 10000;
+
+	/** Number of points.
+	 */
+	@Param({"100000", "1000000"})
+	public int pointCount;
+
+	private final Random random = new Random(SEED);
+
+	private final Circle2d circle = new Circle2d();
+
+	private SpatialHashGrid2afp<Object> grid;
+
+	/** Build the grid.
+	 */
+	@Setup
+	public void setUp() {
+		this.grid = new SpatialHashGrid2afp<>(0, 0, SIZE, SIZE, CELL_SIZE);
+		for (int i = 0; i < this.pointCount; ++i) {
+			this.grid.add(this.random.nextDouble() * SIZE, this.random.nextDouble() * SIZE);
+		}
+	}
+
+	/** Move all the points with a small random step.
+	 *
+	 * @return the grid.
+	 */
+	@Benchmark
+	public SpatialHashGrid2afp<Object> tickMove() {
+		for (int id = 0; id < this.pointCount; ++id) {
+			this.grid.move(id,
+					Math.min(SIZE, Math.max(0, this.grid.getX(id) + (this.random.nextDouble() - .5) * STEP)),
+					Math.min(SIZE, Math.max(0, this.grid.getY(id) + (this.random.nextDouble() - .5) * STEP)));
+		}
+		return this.grid;
+	}
+
+	/** Count the points in circles around the first points.
+	 *
+	 * @return the number of found points.
+	 */
+	@Benchmark
+	public int circleQueries() {
+		final int[] count = new int[1];
+		for (int id = 0; id < QUERY_COUNT; ++id) {
+			this.circle.set(this.grid.getX(id), this.grid.getY(id), CELL_SIZE);
+			this.grid.visitInCircle(this.circle, it -> {
+				++count[0];
+				return true;
+			});
+		}
+		return count[0];
+	}
+
+	/** Count the pairs of neighbor points in a single thread.
+	 *
+	 * @return the number of pairs.
+	 */
+	@Benchmark
+	public long pairs() {
+		final long[] count = new long[1];
+		this.grid.visitPairs(DISTANCE, (id1, id2, distance) -> ++count[0]);
+		return count[0];
+	}
+
+	/** Count the pairs of neighbor points with the common fork-join pool.
+	 *
+	 * @return the number of pairs.
+	 */
+	@Benchmark
+	public long pairsParallel() {
+		final LongAdder count = new LongAdder();
+		this.grid.visitPairsParallel(DISTANCE, (id1, id2, distance) -> count.increment());
+		return count.sum();
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.geometry.d2.ai;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.geometry.d2.ai.Circle2ai;
+import org.arakhne.afc.math.geometry.d2.ai.Segment2ai;
+import org.arakhne.afc.math.geometry.d2.i.Circle2i;
+import org.arakhne.afc.math.geometry.d2.i.Point2i;
+import org.arakhne.afc.math.geometry.d2.i.Segment2i;
+
+/** Benchmark of the Bresenham iterators on the points of {@link Circle2ai} and {@link Segment2ai}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BresenhamIteratorBenchmark {
+
+	/** Radius of the circle, and length of the segment.
+	 */
+	@Param({"16", "256", "4096"})
+	public int size;
+
+	private Circle2i circle;
+
+	private Segment2i segment;
+
+	/** Build the shapes.
+	 */
+	@Setup
+	public void setUp() {
+		this.circle = new Circle2i(0, 0, this.size);
+		this.segment = new Segment2i(0, 0, this.size, this.size / 2 + 1);
+	}
+
+	private static long sum(Iterator<Point2i> iterator) {
+		long sum = 0;
+		while (iterator.hasNext()) {
+			final Point2i point = iterator.next();
+			sum += point.ix() + point.iy();
+		}
+		return sum;
+	}
+
+	/** Iterate on the points of the circle perimeter.
+	 *
+	 * @return the sum of the coordinates.
+	 */
+	@Benchmark
+	public long circlePoints() {
+		return sum(this.circle.getPointIterator());
+	}
+
+	/** Iterate on the points of the segment.
+	 *
+	 * @return the sum of the coordinates.
+	 */
+	@Benchmark
+	public long segmentPoints() {
+		return sum(this.segment.getPointIterator());
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.geometry.d2.d;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.arakhne.afc.math.geometry.d2.d.Circle2d;
+import org.arakhne.afc.math.geometry.d2.d.IndexedMultiShape2d;
+import org.arakhne.afc.math.geometry.d2.d.MultiShape2d;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.arakhne.afc.math.geometry.d2.d.Shape2d;
+
+/** Benchmark of the queries on a {@link MultiShape2d} with a linear scan of the shapes,
+ * and on a {@link IndexedMultiShape2d} with a R-tree.
+ *
+ * <p>The shapes are small rectangles and circles that are uniformly distributed.
+ * Each invocation runs a fixed set of random queries.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IndexedMultiShape2dBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final int QUERY_COUNT = 64;
+
+	private static final double WORLD_SIZE = 10000;
+
+	private static final double SHAPE_SIZE = 20;
+
+	private static final double QUERY_RADIUS = 50;
+
+	/** Number of shapes in the multishape.
+	 */
+	@Param({"1000", "10000", "100000"})
+	public int shapeCount;
+
+	/** Indicates if the multishape is indexed.
+	 */
+	@Param({"false", "true"})
+	public boolean indexed;
+
+	private MultiShape2d<Shape2d<?>> multishape;
+
+	private Point2d[] points;
+
+	private Circle2d[] circles;
+
+	/** Build the multishape and the queries.
+	 */
+	@Setup
+	public void setUp() {
+		final Random random = new Random(SEED);
+		this.multishape = this.indexed ? new IndexedMultiShape2d<>() : new MultiShape2d<>();
+		for (int i = 0; i < this.shapeCount; ++i) {
+			final double x = random.nextDouble() * WORLD_SIZE;
+			final double y = random.nextDouble() * WORLD_SIZE;
+			if (i % 2 == 0) {
+				this.multishape.add(new Rectangle2d(x, y, random.nextDouble() * SHAPE_SIZE, random.nextDouble() * SHAPE_SIZE));
+			} else {
+				this.multishape.add(new Circle2d(x, y, random.nextDouble() * SHAPE_SIZE / 2));
+			}
+		}
+		this.points = new Point2d[QUERY_COUNT];
+		this.circles = new Circle2d[QUERY_COUNT];
+		for (int i = 0; i < QUERY_COUNT; ++i) {
+			this.points[i] = new Point2d(random.nextDouble() * WORLD_SIZE, random.nextDouble() * WORLD_SIZE);
+			this.circles[i] = new Circle2d(this.points[i], QUERY_RADIUS);
+		}
+		// Build the index, if any, before the measurements.
+		this.multishape.contains(0, 0);
+	}
+
+	/** Point-containment queries.
+	 *
+	 * @param blackhole the consumer of the results.
+	 */
+	@Benchmark
+	public void containsPoints(Blackhole blackhole) {
+		for (final Point2d point : this.points) {
+			blackhole.consume(this.multishape.contains(point.getX(), point.getY()));
+		}
+	}
+
+	/** Queries of the shapes that are intersecting a circle.
+	 *
+	 * @param blackhole the consumer of the results.
+	 */
+	@Benchmark
+	public void getShapesIntersecting(Blackhole blackhole) {
+		for (final Circle2d circle : this.circles) {
+			blackhole.consume(this.multishape.getShapesIntersecting(circle));
+		}
+	}
+
+	/** Queries of the distance to the nearest shape.
+	 *
+	 * @param blackhole the consumer of the results.
+	 */
+	@Benchmark
+	public void getDistanceSquared(Blackhole blackhole) {
+		for (final Point2d point : this.points) {
+			blackhole.consume(this.multishape.getDistanceSquared(point));
+		}
+	}
+
+}
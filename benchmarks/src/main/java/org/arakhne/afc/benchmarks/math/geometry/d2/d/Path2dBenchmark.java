@@ -0,0 +1,158 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.geometry.d2.d;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.geometry.CrossingComputationType;
+import org.arakhne.afc.math.geometry.d2.afp.Path2afp;
+import org.arakhne.afc.math.geometry.d2.d.Path2d;
+import org.arakhne.afc.math.geometry.d2.d.Segment2d;
+
+/** Benchmark of the crossing and containment tests of {@link Path2d}.
+ *
+ * <p>The path is a closed star with straight, quadratic and cubic edges.
+ * Each invocation tests a fixed set of random points or segments.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class Path2dBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final int QUERY_COUNT = 64;
+
+	private static final double RADIUS = 100;
+
+	private static final int CURVE_FREQUENCY = 3;
+
+	/** Number of vertices of the path.
+	 */
+	@Param({"8", "64", "512"})
+	public int vertexCount;
+
+	private Path2d path;
+
+	private double[] queries;
+
+	private Segment2d[] segments;
+
+	/** Build the path and the queries.
+	 */
+	@Setup
+	public void setUp() {
+		this.path = new Path2d();
+		for (int i = 0; i < this.vertexCount; ++i) {
+			final double angle = 2 * Math.PI * i / this.vertexCount;
+			final double radius = (i % 2 == 0) ? RADIUS : RADIUS / 2;
+			final double x = radius * Math.cos(angle);
+			final double y = radius * Math.sin(angle);
+			if (i == 0) {
+				this.path.moveTo(x, y);
+			} else if (i % CURVE_FREQUENCY == 1) {
+				this.path.quadTo(x * 2 / CURVE_FREQUENCY, y * 2 / CURVE_FREQUENCY, x, y);
+			} else if (i % CURVE_FREQUENCY == 2) {
+				this.path.curveTo(x / 2, y, x, y / 2, x, y);
+			} else {
+				this.path.lineTo(x, y);
+			}
+		}
+		this.path.closePath();
+		final Random random = new Random(SEED);
+		this.queries = new double[QUERY_COUNT * 2];
+		for (int i = 0; i < this.queries.length; ++i) {
+			this.queries[i] = (random.nextDouble() * 2 - 1) * RADIUS;
+		}
+		this.segments = new Segment2d[QUERY_COUNT / 2];
+		for (int i = 0; i < this.segments.length; ++i) {
+			this.segments[i] = new Segment2d(this.queries[i * 4], this.queries[i * 4 + 1],
+					this.queries[i * 4 + 2], this.queries[i * 4 + 3]);
+		}
+	}
+
+	/** Compute the crossings of the path with the shadows of the points.
+	 *
+	 * @return the sum of the crossings.
+	 */
+	@Benchmark
+	public int crossingsFromPoints() {
+		int sum = 0;
+		for (int i = 0; i < this.queries.length; i += 2) {
+			sum += Path2afp.calculatesCrossingsPathIteratorPointShadow(0, this.path.getPathIterator(),
+					this.queries[i], this.queries[i + 1], CrossingComputationType.STANDARD);
+		}
+		return sum;
+	}
+
+	/** Test if the points are inside the path.
+	 *
+	 * @return the number of points inside the path.
+	 */
+	@Benchmark
+	public int containsPoints() {
+		int count = 0;
+		for (int i = 0; i < this.queries.length; i += 2) {
+			if (this.path.contains(this.queries[i], this.queries[i + 1])) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/** Test if the segments are intersecting the path.
+	 *
+	 * @return the number of segments that are intersecting the path.
+	 */
+	@Benchmark
+	public int intersectsSegments() {
+		int count = 0;
+		for (final Segment2d segment : this.segments) {
+			if (this.path.intersects(segment)) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+}
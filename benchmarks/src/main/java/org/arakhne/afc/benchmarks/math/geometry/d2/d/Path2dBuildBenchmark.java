@@ -0,0 +1,145 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.geometry.d2.d;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.geometry.d2.d.Path2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+
+/** Benchmark of the construction of large polylines with {@link Path2d}.
+ *
+ * <p>The polyline is built point by point, or with a bulk append. The last
+ * benchmark queries the bounds and the length while the path is growing.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class Path2dBuildBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final double SIZE = 1000;
+
+	private static final int QUERY_FREQUENCY = 64;
+
+	/** Number of points of the polyline.
+	 */
+	@Param({"1000", "100000"})
+	public int pointCount;
+
+	private final Rectangle2d box = new Rectangle2d();
+
+	private double[] coordinates;
+
+	private Path2d source;
+
+	/** Build the coordinates of the polyline.
+	 */
+	@Setup
+	public void setUp() {
+		final Random random = new Random(SEED);
+		this.coordinates = new double[this.pointCount * 2];
+		for (int i = 0; i < this.coordinates.length; ++i) {
+			this.coordinates[i] = random.nextDouble() * SIZE;
+		}
+		this.source = new Path2d();
+		this.source.appendPolyline(this.coordinates, 0, this.coordinates.length);
+	}
+
+	/** Build the polyline with a move-to and line-to elements.
+	 *
+	 * @return the path.
+	 */
+	@Benchmark
+	public Path2d lineTo() {
+		final Path2d path = new Path2d();
+		path.moveTo(this.coordinates[0], this.coordinates[1]);
+		for (int i = 2; i < this.coordinates.length; i += 2) {
+			path.lineTo(this.coordinates[i], this.coordinates[i + 1]);
+		}
+		return path;
+	}
+
+	/** Build the polyline with a bulk append.
+	 *
+	 * @return the path.
+	 */
+	@Benchmark
+	public Path2d appendPolyline() {
+		final Path2d path = new Path2d();
+		path.appendPolyline(this.coordinates, 0, this.coordinates.length);
+		return path;
+	}
+
+	/** Copy the polyline with a bulk append.
+	 *
+	 * @return the path.
+	 */
+	@Benchmark
+	public Path2d appendAll() {
+		final Path2d path = new Path2d();
+		path.appendAll(this.source);
+		return path;
+	}
+
+	/** Build the polyline and query its bounds and its length while it is growing.
+	 *
+	 * @return the sum of the lengths and of the bound sizes.
+	 */
+	@Benchmark
+	public double lineToWithQueries() {
+		final Path2d path = new Path2d();
+		path.moveTo(this.coordinates[0], this.coordinates[1]);
+		double sum = 0;
+		for (int i = 2, j = 1; i < this.coordinates.length; i += 2, ++j) {
+			path.lineTo(this.coordinates[i], this.coordinates[i + 1]);
+			if (j % QUERY_FREQUENCY == 0) {
+				path.toBoundingBox(this.box);
+				sum += path.getLength() + this.box.getWidth();
+			}
+		}
+		return sum;
+	}
+
+}
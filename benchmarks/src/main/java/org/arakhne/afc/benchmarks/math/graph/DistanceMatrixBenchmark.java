@@ -0,0 +1,152 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.graph.DistanceMatrixComputer;
+import org.arakhne.afc.math.graph.astar.AStar;
+import org.arakhne.afc.math.graph.astar.AStarListType;
+
+/** Compare the computation of a distance matrix with one A* search per pair of points
+ * and with one Dijkstra search per origin.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DistanceMatrixBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final int GRID_SIZE = 100;
+
+	private static final int PARALLELISM = 4;
+
+	/** Number of origins and of targets.
+	 */
+	@Param({"10", "50"})
+	public int pointCount;
+
+	private AStar<GridPath, GridSegment, GridPoint> astar;
+
+	private DistanceMatrixComputer<GridSegment, GridPoint> computer;
+
+	private DistanceMatrixComputer<GridSegment, GridPoint> parallelComputer;
+
+	private ExecutorService executor;
+
+	private final List<GridPoint> origins = new ArrayList<>();
+
+	private final List<GridPoint> targets = new ArrayList<>();
+
+	/** Build the grid, the points and the algorithms.
+	 */
+	@Setup
+	public void setUp() {
+		final GridGraph graph = new GridGraph(GRID_SIZE, GRID_SIZE, SEED);
+		final Random random = new Random(SEED);
+		for (int i = 0; i < this.pointCount; ++i) {
+			this.origins.add(graph.getPoint(random.nextInt(GRID_SIZE), random.nextInt(GRID_SIZE)));
+			this.targets.add(graph.getPoint(random.nextInt(GRID_SIZE), random.nextInt(GRID_SIZE)));
+		}
+		this.astar = new AStar<>(new GridHeuristic(), GridPath.class);
+		this.astar.setListType(AStarListType.INDEXED_HEAP);
+		this.computer = new DistanceMatrixComputer<>(graph);
+		this.executor = new ForkJoinPool(PARALLELISM);
+		this.parallelComputer = new DistanceMatrixComputer<>(graph);
+		this.parallelComputer.setExecutor(this.executor);
+		this.parallelComputer.setParallelism(PARALLELISM);
+		// Build the arcs outside of the measurements
+		this.computer.computeOneToMany(this.origins.get(0), this.targets);
+		this.parallelComputer.computeOneToMany(this.origins.get(0), this.targets);
+	}
+
+	/** Release the executor.
+	 */
+	@TearDown
+	public void tearDown() {
+		this.executor.shutdownNow();
+	}
+
+	/** Compute the matrix with one A* search per pair of points.
+	 *
+	 * @return the matrix.
+	 */
+	@Benchmark
+	public double[] astar() {
+		final double[] matrix = new double[this.origins.size() * this.targets.size()];
+		int i = 0;
+		for (final GridPoint origin : this.origins) {
+			for (final GridPoint target : this.targets) {
+				final GridPath path = this.astar.solve(origin, target);
+				matrix[i] = path == null ? 0 : path.getLength();
+				++i;
+			}
+		}
+		return matrix;
+	}
+
+	/** Compute the matrix with one Dijkstra search per origin.
+	 *
+	 * @return the matrix.
+	 */
+	@Benchmark
+	public double[] matrix() {
+		return this.computer.computeManyToMany(this.origins, this.targets);
+	}
+
+	/** Compute the matrix with one Dijkstra search per origin, in parallel.
+	 *
+	 * @return the matrix.
+	 */
+	@Benchmark
+	public double[] parallelMatrix() {
+		return this.parallelComputer.computeManyToMany(this.origins, this.targets);
+	}
+
+}
@@ -0,0 +1,178 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.arakhne.afc.math.graph.DepthGraphIterator;
+import org.arakhne.afc.math.graph.Graph;
+import org.arakhne.afc.math.graph.GraphIterator;
+
+/** Synthetic grid graph that is used by the graph benchmarks.
+ *
+ * <p>The points of the graph are located at the integer coordinates of
+ * a rectangular grid. Each point is connected to its right and bottom
+ * neighbours by a not-oriented segment. The length of each segment is
+ * randomly selected in {@code [1; 2)}, so that the Euclidean distance
+ * between two points is an admissible heuristic for the A* algorithm.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public class GridGraph implements Graph<GridSegment, GridPoint> {
+
+	private final int width;
+
+	private final int height;
+
+	private final GridPoint[] points;
+
+	private final List<GridSegment> segments;
+
+	/** Construct a grid.
+	 *
+	 * @param width the number of points along the x axis.
+	 * @param height the number of points along the y axis.
+	 * @param seed the seed of the random generator of the segment lengths.
+	 */
+	public GridGraph(int width, int height, long seed) {
+		assert width > 0 && height > 0;
+		this.width = width;
+		this.height = height;
+		this.points = new GridPoint[width * height];
+		this.segments = new ArrayList<>(2 * width * height);
+		for (int y = 0, i = 0; y < height; ++y) {
+			for (int x = 0; x < width; ++x, ++i) {
+				this.points[i] = new GridPoint(i, x, y);
+			}
+		}
+		final Random random = new Random(seed);
+		for (int y = 0; y < height; ++y) {
+			for (int x = 0; x < width; ++x) {
+				final GridPoint point = getPoint(x, y);
+				if (x + 1 < width) {
+					connect(point, getPoint(x + 1, y), 1. + random.nextDouble());
+				}
+				if (y + 1 < height) {
+					connect(point, getPoint(x, y + 1), 1. + random.nextDouble());
+				}
+			}
+		}
+	}
+
+	private void connect(GridPoint begin, GridPoint end, double length) {
+		final GridSegment segment = new GridSegment(begin, end, length);
+		begin.add(segment);
+		end.add(segment);
+		this.segments.add(segment);
+	}
+
+	/** Replies the number of points along the x axis.
+	 *
+	 * @return the width of the grid.
+	 */
+	public int getWidth() {
+		return this.width;
+	}
+
+	/** Replies the number of points along the y axis.
+	 *
+	 * @return the height of the grid.
+	 */
+	public int getHeight() {
+		return this.height;
+	}
+
+	/** Replies the point at the given grid coordinates.
+	 *
+	 * @param x the x coordinate.
+	 * @param y the y coordinate.
+	 * @return the point.
+	 */
+	public GridPoint getPoint(int x, int y) {
+		return this.points[y * this.width + x];
+	}
+
+	/** Replies the point with the given index.
+	 *
+	 * @param index the index of the point.
+	 * @return the point.
+	 */
+	public GridPoint getPointAt(int index) {
+		return this.points[index];
+	}
+
+	/** Replies the segment with the given index.
+	 *
+	 * @param index the index of the segment.
+	 * @return the segment.
+	 */
+	public GridSegment getSegmentAt(int index) {
+		return this.segments.get(index);
+	}
+
+	@Override
+	public Iterator<GridSegment> iterator() {
+		return Collections.unmodifiableList(this.segments).iterator();
+	}
+
+	@Override
+	public int getSegmentCount() {
+		return this.segments.size();
+	}
+
+	@Override
+	public int getPointCount() {
+		return this.points.length;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.segments.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object obj) {
+		return obj instanceof GridSegment && this.segments.contains(obj);
+	}
+
+	@Override
+	public GraphIterator<GridSegment, GridPoint> iterator(GridSegment startingSegment, GridPoint startingPoint,
+			boolean allowManyReplies, boolean assumeOrientedSegments) {
+		return new GraphIterator<>(this, startingSegment, startingPoint, allowManyReplies, assumeOrientedSegments, 0);
+	}
+
+	@Override
+	public GraphIterator<GridSegment, GridPoint> depthIterator(GridSegment startingSegment, double depth,
+			double positionFromStartingPoint, GridPoint startingPoint, boolean allowManyReplies,
+			boolean assumeOrientedSegments) {
+		return new DepthGraphIterator<>(this, depth, startingSegment, startingPoint, allowManyReplies,
+				assumeOrientedSegments);
+	}
+
+}
@@ -0,0 +1,182 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.arakhne.afc.math.graph.GraphPoint;
+
+/** Point of a {@link GridGraph}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public class GridPoint implements GraphPoint<GridPoint, GridSegment> {
+
+	private static final int DEFAULT_DEGREE = 4;
+
+	private final int index;
+
+	private final double x;
+
+	private final double y;
+
+	private final List<GridSegment> segments = new ArrayList<>(DEFAULT_DEGREE);
+
+	/** Construct a point.
+	 *
+	 * @param index the index of the point in the grid.
+	 * @param x the x coordinate.
+	 * @param y the y coordinate.
+	 */
+	GridPoint(int index, double x, double y) {
+		this.index = index;
+		this.x = x;
+		this.y = y;
+	}
+
+	/** Add a segment.
+	 *
+	 * @param segment the segment.
+	 */
+	void add(GridSegment segment) {
+		this.segments.add(segment);
+	}
+
+	/** Replies the index of the point in the grid.
+	 *
+	 * @return the index.
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
+	/** Replies the x coordinate.
+	 *
+	 * @return the x coordinate.
+	 */
+	public double getX() {
+		return this.x;
+	}
+
+	/** Replies the y coordinate.
+	 *
+	 * @return the y coordinate.
+	 */
+	public double getY() {
+		return this.y;
+	}
+
+	@Override
+	public int compareTo(GraphPoint<GridPoint, GridSegment> pt) {
+		if (pt == null) {
+			return 1;
+		}
+		return Integer.compare(this.index, ((GridPoint) pt).index);
+	}
+
+	@Override
+	public String toString() {
+		return "(" + this.x + ";" + this.y + ")"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	@Override
+	public int getConnectedSegmentCount() {
+		return this.segments.size();
+	}
+
+	@Override
+	public Iterable<GridSegment> getConnectedSegments() {
+		return Collections.unmodifiableList(this.segments);
+	}
+
+	@Override
+	public Iterable<GridSegment> getConnectedSegmentsStartingFrom(GridSegment startingPoint) {
+		return getConnectedSegments();
+	}
+
+	@Override
+	public Iterable<? extends GraphPointConnection<GridPoint, GridSegment>> getConnections() {
+		final List<Connection> connections = new ArrayList<>(this.segments.size());
+		for (final GridSegment segment : this.segments) {
+			connections.add(new Connection(segment));
+		}
+		return connections;
+	}
+
+	@Override
+	public Iterable<? extends GraphPointConnection<GridPoint, GridSegment>> getConnectionsStartingFrom(
+			GridSegment startingPoint) {
+		return getConnections();
+	}
+
+	@Override
+	public boolean isConnectedSegment(GridSegment segment) {
+		return this.segments.contains(segment);
+	}
+
+	@Override
+	public boolean isFinalConnectionPoint() {
+		return this.segments.size() <= 1;
+	}
+
+	/** Connection of a segment to the enclosing point.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private class Connection implements GraphPointConnection<GridPoint, GridSegment> {
+
+		private final GridSegment segment;
+
+		/**
+		 * @param segment the connected segment.
+		 */
+		Connection(GridSegment segment) {
+			this.segment = segment;
+		}
+
+		@Override
+		public GridSegment getGraphSegment() {
+			return this.segment;
+		}
+
+		@Override
+		public GridPoint getGraphPoint() {
+			return GridPoint.this;
+		}
+
+		@Override
+		public boolean isSegmentStartConnected() {
+			return this.segment.getBeginPoint() == GridPoint.this;
+		}
+
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.graph;
+
+import org.arakhne.afc.math.graph.GraphSegment;
+
+/** Segment of a {@link GridGraph}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public class GridSegment implements GraphSegment<GridSegment, GridPoint> {
+
+	private final GridPoint begin;
+
+	private final GridPoint end;
+
+	private final double length;
+
+	/** Construct a segment.
+	 *
+	 * @param begin the first point.
+	 * @param end the last point.
+	 * @param length the length of the segment.
+	 */
+	GridSegment(GridPoint begin, GridPoint end, double length) {
+		this.begin = begin;
+		this.end = end;
+		this.length = length;
+	}
+
+	@Override
+	public GridPoint getBeginPoint() {
+		return this.begin;
+	}
+
+	@Override
+	public GridPoint getEndPoint() {
+		return this.end;
+	}
+
+	@Override
+	public GridPoint getOtherSidePoint(GridPoint point) {
+		if (point == this.begin) {
+			return this.end;
+		}
+		if (point == this.end) {
+			return this.begin;
+		}
+		return null;
+	}
+
+	@Override
+	public double getLength() {
+		return this.length;
+	}
+
+	@Override
+	public String toString() {
+		return this.begin + "-" + this.end; //$NON-NLS-1$
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.graph.astar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.benchmarks.math.graph.GridGraph;
+import org.arakhne.afc.benchmarks.math.graph.GridHeuristic;
+import org.arakhne.afc.benchmarks.math.graph.GridPath;
+import org.arakhne.afc.benchmarks.math.graph.GridPoint;
+import org.arakhne.afc.benchmarks.math.graph.GridSegment;
+import org.arakhne.afc.math.graph.astar.AStar;
+import org.arakhne.afc.math.graph.astar.AStarBatchSolver;
+import org.arakhne.afc.math.graph.astar.AStarListType;
+
+/** Compare the sequential and parallel resolution of a batch of queries on a grid.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AStarBatchSolverBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final int GRID_SIZE = 200;
+
+	private static final int QUERY_COUNT = 256;
+
+	/** Number of parallel tasks.
+	 */
+	@Param({"1", "2", "4", "8"})
+	public int parallelism;
+
+	private AStar<GridPath, GridSegment, GridPoint> astar;
+
+	private AStarBatchSolver<GridPath, GridSegment, GridPoint> solver;
+
+	private ExecutorService executor;
+
+	private final List<GridPoint> startPoints = new ArrayList<>();
+
+	private final List<GridPoint> endPoints = new ArrayList<>();
+
+	private static AStar<GridPath, GridSegment, GridPoint> newAStar() {
+		final AStar<GridPath, GridSegment, GridPoint> astar = new AStar<>(new GridHeuristic(), GridPath.class);
+		astar.setListType(AStarListType.INDEXED_HEAP);
+		return astar;
+	}
+
+	/** Build the grid, the queries and the algorithms.
+	 */
+	@Setup
+	public void setUp() {
+		final GridGraph graph = new GridGraph(GRID_SIZE, GRID_SIZE, SEED);
+		final Random random = new Random(SEED);
+		for (int i = 0; i < QUERY_COUNT; ++i) {
+			this.startPoints.add(graph.getPoint(random.nextInt(GRID_SIZE), random.nextInt(GRID_SIZE)));
+			this.endPoints.add(graph.getPoint(random.nextInt(GRID_SIZE), random.nextInt(GRID_SIZE)));
+		}
+		this.astar = newAStar();
+		this.executor = new ForkJoinPool(this.parallelism);
+		this.solver = new AStarBatchSolver<>(AStarBatchSolverBenchmark::newAStar, this.executor);
+		this.solver.setParallelism(this.parallelism);
+	}
+
+	/** Release the executor.
+	 */
+	@TearDown
+	public void tearDown() {
+		this.executor.shutdownNow();
+	}
+
+	/** Solve the queries one after the other.
+	 *
+	 * @return the paths.
+	 */
+	@Benchmark
+	public List<GridPath> sequential() {
+		final List<GridPath> paths = new ArrayList<>(QUERY_COUNT);
+		for (int i = 0; i < QUERY_COUNT; ++i) {
+			paths.add(this.astar.solve(this.startPoints.get(i), this.endPoints.get(i)));
+		}
+		return paths;
+	}
+
+	/** Solve the queries with the batch solver.
+	 *
+	 * @return the paths.
+	 */
+	@Benchmark
+	public List<GridPath> batch() {
+		return this.solver.solve(this.startPoints, this.endPoints);
+	}
+
+}
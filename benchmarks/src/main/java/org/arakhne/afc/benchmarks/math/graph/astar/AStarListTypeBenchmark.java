@@ -0,0 +1,104 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.graph.astar;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.benchmarks.math.graph.GridGraph;
+import org.arakhne.afc.benchmarks.math.graph.GridHeuristic;
+import org.arakhne.afc.benchmarks.math.graph.GridPath;
+import org.arakhne.afc.benchmarks.math.graph.GridPoint;
+import org.arakhne.afc.benchmarks.math.graph.GridSegment;
+import org.arakhne.afc.math.graph.astar.AStar;
+import org.arakhne.afc.math.graph.astar.AStarListType;
+
+/** Compare the types of open and close lists of the A* algorithm on grids
+ * from 10k to 1M points.
+ *
+ * <p>The path is searched between two opposite corners of the grid.
+ * The sorted lists have a quadratic cost on the largest grids; the sizes
+ * could be restricted from the command line, e.g. {@code -p gridSize=100,316}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AStarListTypeBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	/** Number of points along each side of the grid.
+	 */
+	@Param({"100", "316", "1000"})
+	public int gridSize;
+
+	/** Type of the A* lists.
+	 */
+	@Param({"SORTED_LIST", "INDEXED_HEAP"})
+	public AStarListType listType;
+
+	private AStar<GridPath, GridSegment, GridPoint> astar;
+
+	private GridPoint start;
+
+	private GridPoint end;
+
+	/** Build the grid and the A* algorithm.
+	 */
+	@Setup
+	public void setUp() {
+		final GridGraph graph = new GridGraph(this.gridSize, this.gridSize, SEED);
+		this.start = graph.getPoint(0, 0);
+		this.end = graph.getPoint(this.gridSize - 1, this.gridSize - 1);
+		this.astar = new AStar<>(new GridHeuristic(), GridPath.class);
+		this.astar.setListType(this.listType);
+	}
+
+	/** Search the path between the corners of the grid.
+	 *
+	 * @return the path.
+	 */
+	@Benchmark
+	public GridPath solve() {
+		return this.astar.solve(this.start, this.end);
+	}
+
+}
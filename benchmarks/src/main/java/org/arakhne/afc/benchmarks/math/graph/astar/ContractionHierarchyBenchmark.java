@@ -0,0 +1,138 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.graph.astar;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.benchmarks.math.graph.GridGraph;
+import org.arakhne.afc.benchmarks.math.graph.GridHeuristic;
+import org.arakhne.afc.benchmarks.math.graph.GridPath;
+import org.arakhne.afc.benchmarks.math.graph.GridPoint;
+import org.arakhne.afc.benchmarks.math.graph.GridSegment;
+import org.arakhne.afc.math.graph.astar.AStar;
+import org.arakhne.afc.math.graph.astar.AStarListType;
+import org.arakhne.afc.math.graph.astar.ContractionHierarchy;
+import org.arakhne.afc.math.graph.astar.ContractionHierarchyQuery;
+
+/** Compare the A* algorithm and the queries in a contraction hierarchy on grids.
+ *
+ * <p>The paths are searched between random points of the grid. The hierarchy is built
+ * during the setup of the benchmark.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ContractionHierarchyBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final int QUERY_COUNT = 1024;
+
+	/** Number of points along each side of the grid.
+	 */
+	@Param({"100", "200"})
+	public int gridSize;
+
+	private AStar<GridPath, GridSegment, GridPoint> astar;
+
+	private ContractionHierarchyQuery<GridPath, GridSegment, GridPoint> query;
+
+	private GridPoint[] starts;
+
+	private GridPoint[] ends;
+
+	private int index;
+
+	/** Build the grid, the hierarchy and the queries.
+	 */
+	@Setup
+	public void setUp() {
+		final GridGraph graph = new GridGraph(this.gridSize, this.gridSize, SEED);
+		this.astar = new AStar<>(new GridHeuristic(), GridPath.class);
+		this.astar.setListType(AStarListType.INDEXED_HEAP);
+		this.query = new ContractionHierarchyQuery<>(ContractionHierarchy.build(graph, null), graph, GridPath.class);
+		final Random random = new Random(SEED);
+		this.starts = new GridPoint[QUERY_COUNT];
+		this.ends = new GridPoint[QUERY_COUNT];
+		for (int i = 0; i < QUERY_COUNT; ++i) {
+			this.starts[i] = graph.getPoint(random.nextInt(this.gridSize), random.nextInt(this.gridSize));
+			this.ends[i] = graph.getPoint(random.nextInt(this.gridSize), random.nextInt(this.gridSize));
+		}
+	}
+
+	private int nextQuery() {
+		this.index = (this.index + 1) % QUERY_COUNT;
+		return this.index;
+	}
+
+	/** Search a path with the A* algorithm.
+	 *
+	 * @return the path.
+	 */
+	@Benchmark
+	public GridPath astar() {
+		final int i = nextQuery();
+		return this.astar.solve(this.starts[i], this.ends[i]);
+	}
+
+	/** Search a path in the contraction hierarchy.
+	 *
+	 * @return the path.
+	 */
+	@Benchmark
+	public GridPath contractionHierarchy() {
+		final int i = nextQuery();
+		return this.query.solve(this.starts[i], this.ends[i]);
+	}
+
+	/** Compute the cost of a path in the contraction hierarchy, without unpacking the path.
+	 *
+	 * @return the cost.
+	 */
+	@Benchmark
+	public double contractionHierarchyCost() {
+		final int i = nextQuery();
+		return this.query.computeCost(this.starts[i], this.ends[i]);
+	}
+
+}
@@ -0,0 +1,162 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.graph.astar;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.benchmarks.math.graph.GridGraph;
+import org.arakhne.afc.benchmarks.math.graph.GridHeuristic;
+import org.arakhne.afc.benchmarks.math.graph.GridPath;
+import org.arakhne.afc.benchmarks.math.graph.GridPoint;
+import org.arakhne.afc.benchmarks.math.graph.GridSegment;
+import org.arakhne.afc.math.graph.astar.AStar;
+import org.arakhne.afc.math.graph.astar.AStarCostComputer;
+import org.arakhne.afc.math.graph.astar.AStarListType;
+import org.arakhne.afc.math.graph.astar.DStarLite;
+
+/** Compare the re-planning after localized cost changes with the D* Lite algorithm
+ * and with a full A* search.
+ *
+ * <p>At each invocation, the costs of the segments around the center of the grid
+ * are changed, and the path between two opposite corners is searched again.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DStarLiteBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final int CHANGE_RADIUS = 2;
+
+	private static final double CHANGED_WEIGHT = 4;
+
+	/** Number of points along each side of the grid.
+	 */
+	@Param({"100", "316"})
+	public int gridSize;
+
+	private final Map<GridSegment, Double> weights = new IdentityHashMap<>();
+
+	private final List<GridSegment> changedSegments = new ArrayList<>();
+
+	private AStar<GridPath, GridSegment, GridPoint> astar;
+
+	private DStarLite<GridPath, GridSegment, GridPoint> planner;
+
+	private GridPoint start;
+
+	private GridPoint end;
+
+	private boolean changed;
+
+	/** Build the grid and the algorithms.
+	 */
+	@Setup
+	public void setUp() {
+		final GridGraph graph = new GridGraph(this.gridSize, this.gridSize, SEED);
+		this.start = graph.getPoint(0, 0);
+		this.end = graph.getPoint(this.gridSize - 1, this.gridSize - 1);
+		final int center = this.gridSize / 2;
+		for (int x = center - CHANGE_RADIUS; x <= center + CHANGE_RADIUS; ++x) {
+			for (int y = center - CHANGE_RADIUS; y <= center + CHANGE_RADIUS; ++y) {
+				for (final GridSegment segment : graph.getPoint(x, y).getConnectedSegments()) {
+					if (!this.changedSegments.contains(segment)) {
+						this.changedSegments.add(segment);
+					}
+				}
+			}
+		}
+		final AStarCostComputer<GridSegment, GridPoint> costComputer = new AStarCostComputer<GridSegment, GridPoint>() {
+			@Override
+			public double computeCostFor(GridSegment segment) {
+				final Double weight = DStarLiteBenchmark.this.weights.get(segment);
+				return weight == null ? segment.getLength() : segment.getLength() * weight.doubleValue();
+			}
+		};
+		this.astar = new AStar<>(new GridHeuristic(), GridPath.class);
+		this.astar.setListType(AStarListType.INDEXED_HEAP);
+		this.astar.setCostComputer(costComputer);
+		this.planner = new DStarLite<>(graph, new GridHeuristic(), GridPath.class);
+		this.planner.setCostComputer(costComputer);
+		this.planner.solve(this.start, this.end);
+	}
+
+	private void changeCosts() {
+		this.changed = !this.changed;
+		for (final GridSegment segment : this.changedSegments) {
+			if (this.changed) {
+				this.weights.put(segment, Double.valueOf(CHANGED_WEIGHT));
+			} else {
+				this.weights.remove(segment);
+			}
+		}
+	}
+
+	/** Change the costs and search the path with the A* algorithm.
+	 *
+	 * @return the path.
+	 */
+	@Benchmark
+	public GridPath astar() {
+		changeCosts();
+		return this.astar.solve(this.start, this.end);
+	}
+
+	/** Change the costs and repair the path with the D* Lite algorithm.
+	 *
+	 * @return the path.
+	 */
+	@Benchmark
+	public GridPath dstarLite() {
+		changeCosts();
+		for (final GridSegment segment : this.changedSegments) {
+			this.planner.segmentCostChanged(segment);
+		}
+		return this.planner.solve(this.start, this.end);
+	}
+
+}
@@ -0,0 +1,202 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.graph.compact;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.graph.Graph;
+import org.arakhne.afc.math.graph.GraphIterator;
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphSegment;
+import org.arakhne.afc.math.graph.compact.CompactGraph;
+import org.arakhne.afc.math.graph.compact.CompactGraphSegment;
+import org.arakhne.afc.math.graph.simple.SGraph;
+import org.arakhne.afc.math.graph.simple.SGraphSegment;
+
+/** Compare the {@link SGraph} and the {@link CompactGraph}.
+ *
+ * <p>The graphs are chains of segments, because a {@link SGraph} is built by connecting
+ * the segments two by two. The construction benchmarks should be run with the
+ * allocation profiler ({@code -prof gc}) for comparing the memory footprints of the graphs,
+ * given by the {@code gc.alloc.rate.norm} metric.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CompactGraphBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	/** Number of segments in the graphs.
+	 */
+	@Param({"10000", "100000", "1000000"})
+	public int segmentCount;
+
+	private double[] lengths;
+
+	private SGraph sgraph;
+
+	private SGraphSegment sgraphStart;
+
+	private CompactGraph compactGraph;
+
+	/** Build the graphs.
+	 */
+	@Setup
+	public void setUp() {
+		final Random random = new Random(SEED);
+		this.lengths = new double[this.segmentCount];
+		for (int i = 0; i < this.segmentCount; ++i) {
+			this.lengths[i] = 1 + random.nextDouble();
+		}
+		this.sgraph = buildSGraph();
+		this.sgraphStart = this.sgraph.iterator().next();
+		this.compactGraph = buildCompactGraph();
+	}
+
+	/** Build a chain with a {@link SGraph}.
+	 *
+	 * @return the graph.
+	 */
+	@Benchmark
+	public SGraph buildSGraph() {
+		final SGraph graph = new SGraph();
+		SGraphSegment previous = null;
+		for (final double length : this.lengths) {
+			final SGraphSegment segment = new SGraphSegment(graph, length);
+			// Register the segment into its points
+			segment.disconnectBegin();
+			segment.disconnectEnd();
+			if (previous != null) {
+				previous.connectEndToBegin(segment);
+			}
+			previous = segment;
+		}
+		return graph;
+	}
+
+	/** Build a chain with a {@link CompactGraph}.
+	 *
+	 * @return the graph.
+	 */
+	@Benchmark
+	public CompactGraph buildCompactGraph() {
+		final int[] begins = new int[this.segmentCount];
+		final int[] ends = new int[this.segmentCount];
+		for (int i = 0; i < this.segmentCount; ++i) {
+			begins[i] = i;
+			ends[i] = i + 1;
+		}
+		return new CompactGraph(this.segmentCount + 1, begins, ends, this.lengths);
+	}
+
+	/** Traverse the {@link SGraph} with a graph iterator.
+	 *
+	 * @return the sum of the lengths of the segments.
+	 */
+	@Benchmark
+	public double iterateSGraph() {
+		return iterate(this.sgraph, this.sgraphStart, this.sgraphStart.getBeginPoint());
+	}
+
+	/** Traverse the {@link CompactGraph} with a graph iterator.
+	 *
+	 * @return the sum of the lengths of the segments.
+	 */
+	@Benchmark
+	public double iterateCompactGraph() {
+		final CompactGraphSegment start = this.compactGraph.getSegmentAt(0);
+		return iterate(this.compactGraph, start, start.getBeginPoint());
+	}
+
+	/** Traverse the {@link SGraph} by following the connections of the points.
+	 *
+	 * @return the sum of the lengths of the segments.
+	 */
+	@Benchmark
+	public double walkSGraph() {
+		return walk(this.sgraphStart, this.sgraphStart.getBeginPoint());
+	}
+
+	/** Traverse the {@link CompactGraph} by following the connections of the points.
+	 *
+	 * @return the sum of the lengths of the segments.
+	 */
+	@Benchmark
+	public double walkCompactGraph() {
+		final CompactGraphSegment start = this.compactGraph.getSegmentAt(0);
+		return walk(start, start.getBeginPoint());
+	}
+
+	private static <ST extends GraphSegment<ST, PT>, PT extends GraphPoint<PT, ST>> double iterate(
+			Graph<ST, PT> graph, ST startSegment, PT startPoint) {
+		final GraphIterator<ST, PT> iterator = graph.iterator(startSegment, startPoint, false, true);
+		double length = 0;
+		while (iterator.hasNext()) {
+			length += iterator.next().getLength();
+		}
+		return length;
+	}
+
+	private static <ST extends GraphSegment<ST, PT>, PT extends GraphPoint<PT, ST>> double walk(
+			ST startSegment, PT startPoint) {
+		double length = 0;
+		ST segment = startSegment;
+		PT point = segment.getOtherSidePoint(startPoint);
+		while (segment != null) {
+			length += segment.getLength();
+			ST next = null;
+			for (final ST candidate : point.getConnectedSegments()) {
+				if (!candidate.equals(segment)) {
+					next = candidate;
+				}
+			}
+			segment = next;
+			if (segment != null) {
+				point = segment.getOtherSidePoint(point);
+			}
+		}
+		return length;
+	}
+
+}
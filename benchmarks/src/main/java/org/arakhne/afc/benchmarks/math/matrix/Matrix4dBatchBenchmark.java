@@ -0,0 +1,151 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.matrix;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.matrix.Matrix4d;
+import org.arakhne.afc.math.matrix.MatrixKernels;
+
+/** Compare the products of {@link Matrix4d} objects, one after the other, with the products
+ * of the batches of packed matrices by the {@link MatrixKernels#getDefault() default kernels}.
+ *
+ * <p>The kernels are selected when the JVM is launched; the system property
+ * {@link MatrixKernels#KERNELS_PROPERTY} may be given to the forked JVM for comparing them.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@SuppressWarnings("checkstyle:magicnumber")
+public class Matrix4dBatchBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	/** Number of matrix products.
+	 */
+	@Param({"64", "65536"})
+	public int matrixCount;
+
+	private Matrix4d[] leftMatrices;
+
+	private Matrix4d[] rightMatrices;
+
+	private Matrix4d[] resultMatrices;
+
+	private double[] left;
+
+	private double[] right;
+
+	private double[] result;
+
+	private float[] floatLeft;
+
+	private float[] floatRight;
+
+	private float[] floatResult;
+
+	/** Build the matrices.
+	 */
+	@Setup
+	public void setUp() {
+		final Random random = new Random(SEED);
+		this.leftMatrices = new Matrix4d[this.matrixCount];
+		this.rightMatrices = new Matrix4d[this.matrixCount];
+		this.resultMatrices = new Matrix4d[this.matrixCount];
+		this.left = new double[16 * this.matrixCount];
+		this.right = new double[16 * this.matrixCount];
+		this.result = new double[16 * this.matrixCount];
+		this.floatLeft = new float[16 * this.matrixCount];
+		this.floatRight = new float[16 * this.matrixCount];
+		this.floatResult = new float[16 * this.matrixCount];
+		for (int i = 0; i < this.left.length; ++i) {
+			this.left[i] = random.nextDouble();
+			this.right[i] = random.nextDouble();
+			this.floatLeft[i] = (float) this.left[i];
+			this.floatRight[i] = (float) this.right[i];
+		}
+		final double[] elements = new double[16];
+		for (int i = 0; i < this.matrixCount; ++i) {
+			System.arraycopy(this.left, 16 * i, elements, 0, 16);
+			this.leftMatrices[i] = new Matrix4d();
+			this.leftMatrices[i].set(elements);
+			System.arraycopy(this.right, 16 * i, elements, 0, 16);
+			this.rightMatrices[i] = new Matrix4d();
+			this.rightMatrices[i].set(elements);
+			this.resultMatrices[i] = new Matrix4d();
+		}
+	}
+
+	/** Multiply the matrix objects one after the other.
+	 *
+	 * @return the products.
+	 */
+	@Benchmark
+	public Matrix4d[] perObject() {
+		for (int i = 0; i < this.matrixCount; ++i) {
+			this.resultMatrices[i].mul(this.leftMatrices[i], this.rightMatrices[i]);
+		}
+		return this.resultMatrices;
+	}
+
+	/** Multiply the batches of double matrices.
+	 *
+	 * @return the products.
+	 */
+	@Benchmark
+	public double[] doubleBatch() {
+		Matrix4d.batchMul(this.left, 0, this.right, 0, this.result, 0, this.matrixCount);
+		return this.result;
+	}
+
+	/** Multiply the batches of float matrices.
+	 *
+	 * @return the products.
+	 */
+	@Benchmark
+	public float[] floatBatch() {
+		Matrix4d.batchMul(this.floatLeft, 0, this.floatRight, 0, this.floatResult, 0, this.matrixCount);
+		return this.floatResult;
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.matrix;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.matrix.Matrix4d;
+
+/** Benchmark of the operations of {@link Matrix4d}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class Matrix4dBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final int SIZE = 4;
+
+	private final Matrix4d matrix1 = new Matrix4d();
+
+	private final Matrix4d matrix2 = new Matrix4d();
+
+	private final Matrix4d result = new Matrix4d();
+
+	/** Build the matrices.
+	 */
+	@Setup
+	public void setUp() {
+		final Random random = new Random(SEED);
+		for (int i = 0; i < SIZE; ++i) {
+			for (int j = 0; j < SIZE; ++j) {
+				this.matrix1.setElement(i, j, random.nextDouble());
+				this.matrix2.setElement(i, j, random.nextDouble());
+			}
+		}
+	}
+
+	/** Multiply two matrices.
+	 *
+	 * @return the result.
+	 */
+	@Benchmark
+	public Matrix4d mul() {
+		this.result.mul(this.matrix1, this.matrix2);
+		return this.result;
+	}
+
+	/** Multiply a matrix by another matrix in place.
+	 *
+	 * @return the result.
+	 */
+	@Benchmark
+	public Matrix4d mulInPlace() {
+		this.result.set(this.matrix1);
+		this.result.mul(this.matrix2);
+		return this.result;
+	}
+
+	/** Compute the determinant of a matrix.
+	 *
+	 * @return the determinant.
+	 */
+	@Benchmark
+	public double determinant() {
+		return this.matrix1.determinant();
+	}
+
+	/** Transpose a matrix.
+	 *
+	 * @return the result.
+	 */
+	@Benchmark
+	public Matrix4d transpose() {
+		this.result.transpose(this.matrix1);
+		return this.result;
+	}
+
+}
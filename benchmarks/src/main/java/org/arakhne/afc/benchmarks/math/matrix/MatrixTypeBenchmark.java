@@ -0,0 +1,204 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.matrix;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.matrix.Matrix3d;
+import org.arakhne.afc.math.matrix.Matrix4d;
+import org.arakhne.afc.math.matrix.MatrixType;
+
+/** Measure the operations on the matrices that are selecting their computation
+ * with the {@link MatrixType classification} of the matrices.
+ *
+ * <p>The {@code mixture} set contains identity, translation, rigid and affine transformations,
+ * as they are found in a scene graph. The {@code general} set contains the same number of
+ * {@link MatrixType#GENERAL general} matrices, which are always computed with the general
+ * arithmetic.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@SuppressWarnings("checkstyle:magicnumber")
+public class MatrixTypeBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final int MATRIX_COUNT = 1024;
+
+	private static final int POINT_COUNT = 16;
+
+	/** Set of matrices: {@code mixture} or {@code general}.
+	 */
+	@Param({"mixture", "general"})
+	public String matrices;
+
+	private Matrix3d[] matrices3;
+
+	private Matrix4d[] matrices4;
+
+	private final Matrix3d result3 = new Matrix3d();
+
+	private final Matrix4d result4 = new Matrix4d();
+
+	private double[] points;
+
+	private double[] resultPoints;
+
+	/** Build the matrices.
+	 */
+	@Setup
+	public void setUp() {
+		final Random random = new Random(SEED);
+		final boolean general = "general".equals(this.matrices);
+		this.matrices3 = new Matrix3d[MATRIX_COUNT];
+		this.matrices4 = new Matrix4d[MATRIX_COUNT];
+		for (int i = 0; i < MATRIX_COUNT; ++i) {
+			final double angle = random.nextDouble() * Math.PI * 2.;
+			final double cos = Math.cos(angle);
+			final double sin = Math.sin(angle);
+			final double tx = random.nextDouble() * 100.;
+			final double ty = random.nextDouble() * 100.;
+			final double tz = random.nextDouble() * 100.;
+			final Matrix3d m3 = new Matrix3d();
+			final Matrix4d m4 = new Matrix4d();
+			m3.setIdentity();
+			m4.setIdentity();
+			switch (general ? -1 : i % 4) {
+			case 0:
+				break;
+			case 1:
+				m3.set(1., 0., tx, 0., 1., ty, 0., 0., 1.);
+				m4.set(new double[] {1., 0., 0., tx, 0., 1., 0., ty, 0., 0., 1., tz, 0., 0., 0., 1.});
+				break;
+			case 2:
+				m3.set(cos, -sin, tx, sin, cos, ty, 0., 0., 1.);
+				m4.set(new double[] {cos, -sin, 0., tx, sin, cos, 0., ty, 0., 0., 1., tz, 0., 0., 0., 1.});
+				break;
+			case 3:
+				m3.set(2. * cos, -sin, tx, sin, 3. * cos, ty, 0., 0., 1.);
+				m4.set(new double[] {2. * cos, -sin, 0., tx, sin, 3. * cos, 0., ty, 0., 0., 4., tz, 0., 0., 0., 1.});
+				break;
+			default:
+				m3.set(2. * cos, -sin, tx, sin, 3. * cos, ty, 0.01, 0.02, 1.);
+				m4.set(new double[] {2. * cos, -sin, 0., tx, sin, 3. * cos, 0., ty, 0., 0., 4., tz, 0.01, 0.02, 0.03, 1.});
+				break;
+			}
+			this.matrices3[i] = m3;
+			this.matrices4[i] = m4;
+		}
+		this.points = new double[3 * POINT_COUNT];
+		for (int i = 0; i < this.points.length; ++i) {
+			this.points[i] = random.nextDouble() * 100.;
+		}
+		this.resultPoints = new double[3 * POINT_COUNT];
+	}
+
+	/** Multiply the 4x4 matrices two by two.
+	 *
+	 * @return a sum of elements of the products.
+	 */
+	@Benchmark
+	public double mul4() {
+		double sum = 0.;
+		for (int i = 0; i < MATRIX_COUNT; ++i) {
+			this.result4.mul(this.matrices4[i], this.matrices4[(i + 1) % MATRIX_COUNT]);
+			sum += this.result4.getM03();
+		}
+		return sum;
+	}
+
+	/** Multiply the 3x3 matrices two by two.
+	 *
+	 * @return a sum of elements of the products.
+	 */
+	@Benchmark
+	public double mul3() {
+		double sum = 0.;
+		for (int i = 0; i < MATRIX_COUNT; ++i) {
+			this.result3.mul(this.matrices3[i], this.matrices3[(i + 1) % MATRIX_COUNT]);
+			sum += this.result3.getM02();
+		}
+		return sum;
+	}
+
+	/** Compute the determinants of the 4x4 matrices.
+	 *
+	 * @return the sum of the determinants.
+	 */
+	@Benchmark
+	public double determinant4() {
+		double sum = 0.;
+		for (final Matrix4d matrix : this.matrices4) {
+			sum += matrix.determinant();
+		}
+		return sum;
+	}
+
+	/** Invert the 3x3 matrices.
+	 *
+	 * @return a sum of elements of the inverses.
+	 */
+	@Benchmark
+	public double invert3() {
+		double sum = 0.;
+		for (final Matrix3d matrix : this.matrices3) {
+			this.result3.invert(matrix);
+			sum += this.result3.getM02();
+		}
+		return sum;
+	}
+
+	/** Transform a small array of points by each 4x4 matrix.
+	 *
+	 * @return the transformed points.
+	 */
+	@Benchmark
+	public double[] transform4() {
+		for (final Matrix4d matrix : this.matrices4) {
+			matrix.transform(this.points, 0, this.resultPoints, 0, POINT_COUNT);
+		}
+		return this.resultPoints;
+	}
+
+}
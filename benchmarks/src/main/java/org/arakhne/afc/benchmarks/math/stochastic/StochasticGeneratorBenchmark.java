@@ -0,0 +1,170 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.stochastic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.stochastic.RandomStream;
+import org.arakhne.afc.math.stochastic.StochasticGenerator;
+import org.arakhne.afc.math.stochastic.StochasticLaw;
+import org.arakhne.afc.math.stochastic.UniformStochasticLaw;
+
+/** Compare the sampling throughput of a stochastic law when the threads share a single
+ * random number generator, and when each thread or task owns its own random stream.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StochasticGeneratorBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final int SAMPLE_COUNT = 1 << 20;
+
+	/** Number of sampling threads.
+	 */
+	@Param({"1", "4", "16", "64"})
+	public int threadCount;
+
+	private final StochasticLaw law = new UniformStochasticLaw(-10, 10);
+
+	private ExecutorService executor;
+
+	private Random sharedRandom;
+
+	/** Create the executor and the shared generator.
+	 */
+	@Setup
+	public void setUp() {
+		this.executor = Executors.newFixedThreadPool(this.threadCount);
+		this.sharedRandom = new Random(SEED);
+		StochasticGenerator.setSeed(SEED);
+	}
+
+	/** Release the executor.
+	 */
+	@TearDown
+	public void tearDown() {
+		this.executor.shutdownNow();
+	}
+
+	private double run(List<Callable<Double>> tasks) throws Exception {
+		double sum = 0;
+		for (final Future<Double> future : this.executor.invokeAll(tasks)) {
+			sum += future.get().doubleValue();
+		}
+		return sum;
+	}
+
+	/** Sample the law from all the threads with a single shared {@link Random}.
+	 *
+	 * @return the sum of the samples.
+	 * @throws Exception if a task has failed.
+	 */
+	@Benchmark
+	public double sharedRandom() throws Exception {
+		final int samples = SAMPLE_COUNT / this.threadCount;
+		final List<Callable<Double>> tasks = new ArrayList<>(this.threadCount);
+		for (int i = 0; i < this.threadCount; ++i) {
+			tasks.add(() -> {
+				double sum = 0;
+				for (int j = 0; j < samples; ++j) {
+					sum += this.law.inverseF(1. - this.sharedRandom.nextFloat());
+				}
+				return Double.valueOf(sum);
+			});
+		}
+		return run(tasks);
+	}
+
+	/** Sample the law from all the threads with the per-thread streams of {@link StochasticGenerator}.
+	 *
+	 * @return the sum of the samples.
+	 * @throws Exception if a task has failed.
+	 */
+	@Benchmark
+	public double threadStreams() throws Exception {
+		final int samples = SAMPLE_COUNT / this.threadCount;
+		final List<Callable<Double>> tasks = new ArrayList<>(this.threadCount);
+		for (int i = 0; i < this.threadCount; ++i) {
+			tasks.add(() -> {
+				double sum = 0;
+				for (int j = 0; j < samples; ++j) {
+					sum += this.law.generateRandomValue();
+				}
+				return Double.valueOf(sum);
+			});
+		}
+		return run(tasks);
+	}
+
+	/** Sample the law from all the threads with a stream split for each task, as an agent would do.
+	 *
+	 * @return the sum of the samples.
+	 * @throws Exception if a task has failed.
+	 */
+	@Benchmark
+	public double splitStreams() throws Exception {
+		final int samples = SAMPLE_COUNT / this.threadCount;
+		final List<Callable<Double>> tasks = new ArrayList<>(this.threadCount);
+		for (int i = 0; i < this.threadCount; ++i) {
+			final RandomStream stream = StochasticGenerator.newRandomStream();
+			tasks.add(() -> {
+				double sum = 0;
+				for (int j = 0; j < samples; ++j) {
+					sum += this.law.generateRandomValue(stream);
+				}
+				return Double.valueOf(sum);
+			});
+		}
+		return run(tasks);
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.stochastic;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.stochastic.ExponentialStochasticLaw;
+import org.arakhne.afc.math.stochastic.LogNormalStochasticLaw;
+import org.arakhne.afc.math.stochastic.MathException;
+import org.arakhne.afc.math.stochastic.ParetoStochasticLaw;
+import org.arakhne.afc.math.stochastic.RandomStream;
+import org.arakhne.afc.math.stochastic.StochasticLaw;
+import org.arakhne.afc.math.stochastic.TriangularStochasticLaw;
+
+/** Compare the per-call sampling of a stochastic law with the bulk sampling.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StochasticLawFillBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final int SAMPLE_COUNT = 1 << 20;
+
+	/** Name of the sampled law.
+	 */
+	@Param({"exponential", "lognormal", "triangular", "pareto"})
+	public String lawName;
+
+	private StochasticLaw law;
+
+	private RandomStream stream;
+
+	private final double[] values = new double[SAMPLE_COUNT];
+
+	/** Create the law and the stream.
+	 *
+	 * @throws MathException if the law cannot be created.
+	 */
+	@Setup
+	public void setUp() throws MathException {
+		switch (this.lawName) {
+		case "exponential":
+			this.law = new ExponentialStochasticLaw(.5, 0);
+			break;
+		case "lognormal":
+			this.law = new LogNormalStochasticLaw(1, .5);
+			break;
+		case "triangular":
+			this.law = new TriangularStochasticLaw(0, 2, 10);
+			break;
+		case "pareto":
+			this.law = new ParetoStochasticLaw(2.5, 1);
+			break;
+		default:
+			throw new IllegalArgumentException(this.lawName);
+		}
+		this.stream = new RandomStream(SEED);
+	}
+
+	/** Generate the values one after the other.
+	 *
+	 * @return the values.
+	 * @throws MathException if a value cannot be generated.
+	 */
+	@Benchmark
+	public double[] perCall() throws MathException {
+		for (int i = 0; i < SAMPLE_COUNT; ++i) {
+			this.values[i] = this.law.generateRandomValue(this.stream);
+		}
+		return this.values;
+	}
+
+	/** Generate the values with the bulk sampling.
+	 *
+	 * @return the values.
+	 * @throws MathException if a value cannot be generated.
+	 */
+	@Benchmark
+	public double[] fill() throws MathException {
+		this.law.fill(this.values, 0, SAMPLE_COUNT, this.stream);
+		return this.values;
+	}
+
+	/** Generate the values with the parallel bulk sampling.
+	 *
+	 * @return the values.
+	 * @throws MathException if a value cannot be generated.
+	 */
+	@Benchmark
+	public double[] parallelFill() throws MathException {
+		this.law.parallelFill(this.values, 0, SAMPLE_COUNT, this.stream);
+		return this.values;
+	}
+
+}
@@ -0,0 +1,188 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.math.tree.spatial;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.math.tree.spatial.SpatialQuadTree;
+
+/** Benchmark of the update and the queries of {@link SpatialQuadTree} with moving agents.
+ *
+ * <p>At each tick, all the agents move with a small random step. The tree is updated
+ * with incremental moves or with a bulk rebuild.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SpatialQuadTreeBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	private static final double SIZE = 10000;
+
+	private static final double STEP = 5;
+
+	private static final double QUERY_SIZE = 100;
+
+	private static final int QUERY_COUNT = 1000;
+
+	private static final int NEIGHBOR_COUNT = 8;
+
+	/** Number of agents.
+	 */
+	@Param({"10000", "100000"})
+	public int agentCount;
+
+	private final Random random = new Random(SEED);
+
+	private List<Agent> agents;
+
+	private SpatialQuadTree<Agent> tree;
+
+	/** Build the agents and the tree.
+	 */
+	@Setup
+	public void setUp() {
+		this.agents = new ArrayList<>(this.agentCount);
+		for (int i = 0; i < this.agentCount; ++i) {
+			this.agents.add(new Agent(this.random.nextDouble() * SIZE, this.random.nextDouble() * SIZE));
+		}
+		this.tree = new SpatialQuadTree<>(0, 0, SIZE, SIZE);
+		this.tree.addAll(this.agents, Agent::getBounds);
+	}
+
+	private void step() {
+		for (final Agent agent : this.agents) {
+			agent.x = Math.min(SIZE, Math.max(0, agent.x + (this.random.nextDouble() - .5) * STEP));
+			agent.y = Math.min(SIZE, Math.max(0, agent.y + (this.random.nextDouble() - .5) * STEP));
+		}
+	}
+
+	/** Move all the agents and update the tree with incremental moves.
+	 *
+	 * @return the tree.
+	 */
+	@Benchmark
+	public SpatialQuadTree<Agent> tickMove() {
+		step();
+		for (final Agent agent : this.agents) {
+			this.tree.move(agent, agent.x, agent.y);
+		}
+		return this.tree;
+	}
+
+	/** Move all the agents and rebuild the tree.
+	 *
+	 * @return the tree.
+	 */
+	@Benchmark
+	public SpatialQuadTree<Agent> tickRebuild() {
+		step();
+		this.tree.rebuild(Agent::getBounds);
+		return this.tree;
+	}
+
+	/** Count the agents in windows around the first agents.
+	 *
+	 * @return the number of found agents.
+	 */
+	@Benchmark
+	public int windowQueries() {
+		final int[] count = new int[1];
+		for (int i = 0; i < QUERY_COUNT; ++i) {
+			final Agent agent = this.agents.get(i);
+			this.tree.visitInWindow(agent.x - QUERY_SIZE, agent.y - QUERY_SIZE, agent.x + QUERY_SIZE,
+					agent.y + QUERY_SIZE, it -> {
+						++count[0];
+						return true;
+					});
+		}
+		return count[0];
+	}
+
+	/** Search the nearest neighbors of the first agents.
+	 *
+	 * @return the number of found agents.
+	 */
+	@Benchmark
+	public int nearestQueries() {
+		int count = 0;
+		for (int i = 0; i < QUERY_COUNT; ++i) {
+			final Agent agent = this.agents.get(i);
+			count += this.tree.getNearest(agent.x, agent.y, NEIGHBOR_COUNT).size();
+		}
+		return count;
+	}
+
+	/** Agent in the benchmark.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	static final class Agent {
+
+		double x;
+
+		double y;
+
+		Agent(double x, double y) {
+			this.x = x;
+			this.y = y;
+		}
+
+		@SuppressWarnings("checkstyle:magicnumber")
+		void getBounds(double[] bounds) {
+			bounds[0] = this.x;
+			bounds[1] = this.y;
+			bounds[2] = this.x;
+			bounds[3] = this.y;
+		}
+
+	}
+
+}
@@ -0,0 +1,154 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.benchmarks.util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.arakhne.afc.util.IntegerList;
+
+/** Benchmark of the operations of {@link IntegerList}.
+ *
+ * <p>The values are randomly chosen in a range that is twice the number of values,
+ * so that the list contains segments of consecutive values and holes.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IntegerListBenchmark {
+
+	private static final long SEED = 123456789L;
+
+	/** Number of values.
+	 */
+	@Param({"1000", "10000"})
+	public int valueCount;
+
+	private int[] values;
+
+	private IntegerList list;
+
+	/** Build the values and the list.
+	 */
+	@Setup
+	public void setUp() {
+		final Random random = new Random(SEED);
+		this.values = new int[this.valueCount];
+		for (int i = 0; i < this.valueCount; ++i) {
+			this.values[i] = random.nextInt(this.valueCount * 2);
+		}
+		this.list = fill();
+	}
+
+	private IntegerList fill() {
+		final IntegerList newList = new IntegerList();
+		for (final int value : this.values) {
+			newList.add(Integer.valueOf(value));
+		}
+		return newList;
+	}
+
+	/** Add the values into an empty list.
+	 *
+	 * @return the list.
+	 */
+	@Benchmark
+	public IntegerList add() {
+		return fill();
+	}
+
+	/** Add then remove the values.
+	 *
+	 * @return the list.
+	 */
+	@Benchmark
+	public IntegerList addRemove() {
+		final IntegerList newList = fill();
+		for (final int value : this.values) {
+			newList.remove(Integer.valueOf(value));
+		}
+		return newList;
+	}
+
+	/** Test if the values are inside the list.
+	 *
+	 * @return the number of values inside the list.
+	 */
+	@Benchmark
+	public int contains() {
+		int count = 0;
+		for (int i = 0; i < this.valueCount; ++i) {
+			if (this.list.contains(Integer.valueOf(i))) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/** Get the values by their indexes.
+	 *
+	 * @return the sum of the values.
+	 */
+	@Benchmark
+	public long get() {
+		long sum = 0;
+		final int size = this.list.size();
+		for (int i = 0; i < size; ++i) {
+			sum += this.list.get(i).intValue();
+		}
+		return sum;
+	}
+
+	/** Iterate on the values.
+	 *
+	 * @return the sum of the values.
+	 */
+	@Benchmark
+	public long iterate() {
+		long sum = 0;
+		for (final Integer value : this.list) {
+			sum += value.intValue();
+		}
+		return sum;
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry;
+
+/** Receives the pairs of neighbor points that are found by a spatial hash grid.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ * @see org.arakhne.afc.math.geometry.d2.afp.SpatialHashGrid2afp
+ * @see org.arakhne.afc.math.geometry.d3.SpatialHashGrid3D
+ */
+@FunctionalInterface
+public interface NeighborPairListener {
+
+    /** Invoked for each pair of points that are at the searched distance or closer.
+     *
+     * @param id1 the identifier of the first point. It is lower than {@code id2}.
+     * @param id2 the identifier of the second point.
+     * @param distanceSquared the squared distance between the two points.
+     */
+    void neighbors(int id1, int id2, double distanceSquared);
+
+}
@@ -0,0 +1,883 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
+/** Spatial index of 2D shapes that is based on a R-tree.
+ *
+ * <p>The shapes are indexed on their bounding boxes. The tree supports the insertion
+ * and the removal of a shape, the update of the index after a move of a shape, and
+ * a bulk loading with the Sort-Tile-Recursive (STR) algorithm when the tree is empty.
+ * The node splitting strategy is the quadratic split from Guttman.
+ *
+ * <p>The queries are answered with the bounding boxes for pruning the tree, and
+ * with the exact tests of the shapes ({@link Shape2D#contains(Point2D)},
+ * {@link Shape2D#intersects(Shape2D)}, {@link Shape2D#getDistanceSquared(Point2D)})
+ * on the candidates. The queries are not recursive.
+ *
+ * <p>The shapes are compared on their references, not with {@link Object#equals(Object)}.
+ * The index is not notified when a shape is moved; {@link #update(Shape2D)}
+ * must be invoked in this case. This index is not thread-safe for modifications;
+ * concurrent queries are supported when no modification is in progress.
+ *
+ * @param <T> the type of the indexed shapes.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public abstract class AbstractRTree2D<T extends Shape2D<?, ?, ?, ?, ?, ?>> implements Iterable<T> {
+
+	/** Default maximal number of children of a node.
+	 */
+	public static final int DEFAULT_NODE_CAPACITY = 16;
+
+	/** Minimal number of children of a node, relatively to the maximal number of children.
+	 */
+	private static final double MIN_FILL_RATIO = .4;
+
+	private static final int MIN_NODE_CAPACITY = 4;
+
+	private static final int BOUNDS_SIZE = 4;
+
+	private static final int MAX_X = 2;
+
+	private static final int MAX_Y = 3;
+
+	private static final Comparator<Box> X_ORDER = (box1, box2) ->
+			Double.compare(box1.minX + box1.maxX, box2.minX + box2.maxX);
+
+	private static final Comparator<Box> Y_ORDER = (box1, box2) ->
+			Double.compare(box1.minY + box1.maxY, box2.minY + box2.maxY);
+
+	private final int maxEntries;
+
+	private final int minEntries;
+
+	private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+
+	private final double[] bounds = new double[BOUNDS_SIZE];
+
+	private Node root;
+
+	private int height;
+
+	/** Construct an empty tree with the {@link #DEFAULT_NODE_CAPACITY default node capacity}.
+	 */
+	public AbstractRTree2D() {
+		this(DEFAULT_NODE_CAPACITY);
+	}
+
+	/** Construct an empty tree.
+	 *
+	 * @param nodeCapacity the maximal number of children of a node. It must be at least {@code 4}.
+	 */
+	public AbstractRTree2D(int nodeCapacity) {
+		assert nodeCapacity >= MIN_NODE_CAPACITY
+				: AssertMessages.outsideRangeInclusiveParameter(0, nodeCapacity, MIN_NODE_CAPACITY, Integer.MAX_VALUE);
+		this.maxEntries = nodeCapacity;
+		this.minEntries = Math.max(2, (int) (nodeCapacity * MIN_FILL_RATIO));
+	}
+
+	/** Compute the bounds of the given shape.
+	 *
+	 * @param shape the shape.
+	 * @param bounds the array that is filled with the minimal x, the minimal y, the maximal x,
+	 *     and the maximal y coordinates of the bounding box of the shape.
+	 */
+	protected abstract void computeBounds(Shape2D<?, ?, ?, ?, ?, ?> shape, double[] bounds);
+
+	/** Replies the maximal number of children of a node.
+	 *
+	 * @return the node capacity.
+	 */
+	@Pure
+	public int getNodeCapacity() {
+		return this.maxEntries;
+	}
+
+	/** Replies the number of levels in the tree.
+	 *
+	 * @return the height of the tree, {@code 0} if the tree is empty.
+	 */
+	@Pure
+	public int getHeight() {
+		return this.height;
+	}
+
+	/** Replies the number of indexed shapes.
+	 *
+	 * @return the number of shapes.
+	 */
+	@Pure
+	public int size() {
+		return this.entries.size();
+	}
+
+	/** Replies if the tree contains no shape.
+	 *
+	 * @return {@code true} if the tree is empty.
+	 */
+	@Pure
+	public boolean isEmpty() {
+		return this.entries.isEmpty();
+	}
+
+	/** Replies if the given shape is indexed in this tree.
+	 *
+	 * @param shape the shape.
+	 * @return {@code true} if the shape is indexed.
+	 */
+	@Pure
+	public boolean contains(T shape) {
+		return this.entries.containsKey(shape);
+	}
+
+	@Pure
+	@Override
+	public Iterator<T> iterator() {
+		return Collections.unmodifiableCollection(this.entries.keySet()).iterator();
+	}
+
+	/** Remove all the shapes from the tree.
+	 */
+	public void clear() {
+		this.entries.clear();
+		this.root = null;
+		this.height = 0;
+	}
+
+	/** Add the given shape into the tree.
+	 *
+	 * @param shape the shape to add.
+	 * @return {@code true} if the shape was added; {@code false} if it is already inside the tree.
+	 */
+	public boolean add(T shape) {
+		assert shape != null : AssertMessages.notNullParameter();
+		if (this.entries.containsKey(shape)) {
+			return false;
+		}
+		final Entry<T> entry = new Entry<>(shape);
+		computeBounds(shape, this.bounds);
+		entry.set(this.bounds);
+		this.entries.put(shape, entry);
+		insertEntry(entry);
+		return true;
+	}
+
+	/** Add the given shapes into the tree.
+	 *
+	 * <p>When the tree is empty, the tree is bulk loaded with the Sort-Tile-Recursive algorithm.
+	 * Otherwise, the shapes are inserted one by one.
+	 *
+	 * @param shapes the shapes to add.
+	 * @return {@code true} if at least one shape was added.
+	 */
+	public boolean addAll(Collection<? extends T> shapes) {
+		assert shapes != null : AssertMessages.notNullParameter();
+		if (this.root != null) {
+			boolean changed = false;
+			for (final T shape : shapes) {
+				changed |= add(shape);
+			}
+			return changed;
+		}
+		final List<Box> leaves = new ArrayList<>(shapes.size());
+		for (final T shape : shapes) {
+			assert shape != null : AssertMessages.notNullParameter();
+			if (!this.entries.containsKey(shape)) {
+				final Entry<T> entry = new Entry<>(shape);
+				computeBounds(shape, this.bounds);
+				entry.set(this.bounds);
+				this.entries.put(shape, entry);
+				leaves.add(entry);
+			}
+		}
+		if (leaves.isEmpty()) {
+			return false;
+		}
+		List<Box> level = leaves;
+		boolean isLeaf = true;
+		int levelCount = 0;
+		do {
+			level = packLevel(level, isLeaf);
+			isLeaf = false;
+			++levelCount;
+		}
+		while (level.size() > 1);
+		this.root = (Node) level.get(0);
+		this.height = levelCount;
+		return true;
+	}
+
+	/** Remove the given shape from the tree.
+	 *
+	 * @param shape the shape to remove.
+	 * @return {@code true} if the shape was removed; {@code false} if it is not inside the tree.
+	 */
+	public boolean remove(T shape) {
+		final Entry<T> entry = this.entries.remove(shape);
+		if (entry == null) {
+			return false;
+		}
+		removeEntry(entry);
+		return true;
+	}
+
+	/** Update the index of the given shape after a change of its geometry.
+	 *
+	 * <p>If the new bounding box of the shape is still inside the bounds of its leaf,
+	 * the tree is not restructured. Otherwise, the shape is removed and inserted again.
+	 *
+	 * @param shape the shape that has changed.
+	 * @return {@code true} if the shape was updated; {@code false} if it is not inside the tree.
+	 */
+	public boolean update(T shape) {
+		final Entry<T> entry = this.entries.get(shape);
+		if (entry == null) {
+			return false;
+		}
+		computeBounds(shape, this.bounds);
+		if (entry.parent.contains(this.bounds)) {
+			entry.set(this.bounds);
+		} else {
+			removeEntry(entry);
+			entry.set(this.bounds);
+			insertEntry(entry);
+		}
+		return true;
+	}
+
+	/** Visit the shapes with a bounding box that intersects the given window.
+	 *
+	 * <p>The visited shapes are the candidates for an intersection with the window;
+	 * the shapes themselves are not tested.
+	 *
+	 * @param minX the minimal x coordinate of the window.
+	 * @param minY the minimal y coordinate of the window.
+	 * @param maxX the maximal x coordinate of the window.
+	 * @param maxY the maximal y coordinate of the window.
+	 * @param visitor the visitor that is invoked on each candidate shape. It replies {@code false}
+	 *     for stopping the visit.
+	 * @return {@code true} if all the candidates were visited, {@code false} if the visitor stopped the visit.
+	 */
+	@Pure
+	@SuppressWarnings({"unchecked", "checkstyle:magicnumber"})
+	public boolean visitShapesInWindow(double minX, double minY, double maxX, double maxY,
+			Predicate<? super T> visitor) {
+		assert visitor != null : AssertMessages.notNullParameter(4);
+		final Node rootNode = this.root;
+		if (rootNode == null || !rootNode.intersects(minX, minY, maxX, maxY)) {
+			return true;
+		}
+		final Node[] stack = new Node[this.height * this.maxEntries + 1];
+		int top = 0;
+		stack[top++] = rootNode;
+		while (top > 0) {
+			final Node node = stack[--top];
+			stack[top] = null;
+			for (int i = 0; i < node.count; ++i) {
+				final Box child = node.children[i];
+				if (child.intersects(minX, minY, maxX, maxY)) {
+					if (node.leaf) {
+						if (!visitor.test(((Entry<T>) child).shape)) {
+							return false;
+						}
+					} else {
+						stack[top++] = (Node) child;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/** Replies the shapes with a bounding box that intersects the given window.
+	 *
+	 * @param minX the minimal x coordinate of the window.
+	 * @param minY the minimal y coordinate of the window.
+	 * @param maxX the maximal x coordinate of the window.
+	 * @param maxY the maximal y coordinate of the window.
+	 * @return the shapes with a bounding box intersecting the window.
+	 */
+	@Pure
+	public List<T> getShapesInWindow(double minX, double minY, double maxX, double maxY) {
+		final List<T> list = new ArrayList<>();
+		visitShapesInWindow(minX, minY, maxX, maxY, list::add);
+		return list;
+	}
+
+	/** Replies the first found shape that contains the given point.
+	 *
+	 * @param point the point.
+	 * @return the shape, or {@code null} if no shape contains the point.
+	 */
+	@Pure
+	public T getFirstShapeContaining(Point2D<?, ?> point) {
+		assert point != null : AssertMessages.notNullParameter();
+		final List<T> list = new ArrayList<>(1);
+		final double x = point.getX();
+		final double y = point.getY();
+		visitShapesInWindow(x, y, x, y, (shape) -> {
+			if (shape.contains(point)) {
+				list.add(shape);
+				return false;
+			}
+			return true;
+		});
+		return list.isEmpty() ? null : list.get(0);
+	}
+
+	/** Replies the shapes that contain the given point.
+	 *
+	 * @param point the point.
+	 * @return the shapes, or an empty list.
+	 */
+	@Pure
+	public List<T> getShapesContaining(Point2D<?, ?> point) {
+		assert point != null : AssertMessages.notNullParameter();
+		final List<T> list = new ArrayList<>();
+		final double x = point.getX();
+		final double y = point.getY();
+		visitShapesInWindow(x, y, x, y, (shape) -> {
+			if (shape.contains(point)) {
+				list.add(shape);
+			}
+			return true;
+		});
+		return list;
+	}
+
+	/** Replies the first found shape that intersects the given shape.
+	 *
+	 * @param shape the shape.
+	 * @return the indexed shape, or {@code null} if no indexed shape intersects the given shape.
+	 */
+	@Pure
+	public T getFirstShapeIntersecting(Shape2D<?, ?, ?, ?, ?, ?> shape) {
+		assert shape != null : AssertMessages.notNullParameter();
+		final double[] window = new double[BOUNDS_SIZE];
+		computeBounds(shape, window);
+		final List<T> list = new ArrayList<>(1);
+		visitShapesInWindow(window[0], window[1], window[MAX_X], window[MAX_Y], (candidate) -> {
+			if (candidate.intersects(shape)) {
+				list.add(candidate);
+				return false;
+			}
+			return true;
+		});
+		return list.isEmpty() ? null : list.get(0);
+	}
+
+	/** Replies the shapes that intersect the given shape.
+	 *
+	 * @param shape the shape.
+	 * @return the indexed shapes, or an empty list.
+	 */
+	@Pure
+	public List<T> getShapesIntersecting(Shape2D<?, ?, ?, ?, ?, ?> shape) {
+		assert shape != null : AssertMessages.notNullParameter();
+		final double[] window = new double[BOUNDS_SIZE];
+		computeBounds(shape, window);
+		final List<T> list = new ArrayList<>();
+		visitShapesInWindow(window[0], window[1], window[MAX_X], window[MAX_Y], (candidate) -> {
+			if (candidate.intersects(shape)) {
+				list.add(candidate);
+			}
+			return true;
+		});
+		return list;
+	}
+
+	/** Replies the shape that is the nearest to the given point.
+	 *
+	 * @param point the point.
+	 * @return the nearest shape, or {@code null} if the tree is empty.
+	 * @see Shape2D#getDistanceSquared(Point2D)
+	 */
+	@Pure
+	public T getNearestShape(Point2D<?, ?> point) {
+		final List<T> list = getNearestShapes(point, 1);
+		return list.isEmpty() ? null : list.get(0);
+	}
+
+	/** Replies the shapes that are the nearest to the given point.
+	 *
+	 * <p>The nodes of the tree are explored in the increasing order of the distances from
+	 * their bounds to the point, and the shapes are sorted on their exact distances to the point.
+	 *
+	 * @param point the point.
+	 * @param count the maximal number of shapes to reply.
+	 * @return the nearest shapes, sorted from the nearest to the farthest.
+	 * @see Shape2D#getDistanceSquared(Point2D)
+	 */
+	@Pure
+	@SuppressWarnings("unchecked")
+	public List<T> getNearestShapes(Point2D<?, ?> point, int count) {
+		assert point != null : AssertMessages.notNullParameter(0);
+		assert count >= 0 : AssertMessages.positiveOrZeroParameter(1);
+		final Node rootNode = this.root;
+		if (rootNode == null || count == 0) {
+			return Collections.emptyList();
+		}
+		final double x = point.getX();
+		final double y = point.getY();
+		final List<T> list = new ArrayList<>(Math.min(count, size()));
+		final PriorityQueue<Candidate> queue = new PriorityQueue<>();
+		queue.add(new Candidate(rootNode, rootNode.getDistanceSquared(x, y)));
+		while (!queue.isEmpty() && list.size() < count) {
+			final Box box = queue.poll().box;
+			if (box instanceof Node) {
+				final Node node = (Node) box;
+				for (int i = 0; i < node.count; ++i) {
+					final Box child = node.children[i];
+					final double distance;
+					if (node.leaf) {
+						distance = ((Entry<T>) child).shape.getDistanceSquared(point);
+					} else {
+						distance = child.getDistanceSquared(x, y);
+					}
+					queue.add(new Candidate(child, distance));
+				}
+			} else {
+				list.add(((Entry<T>) box).shape);
+			}
+		}
+		return list;
+	}
+
+	private List<Box> packLevel(List<Box> boxes, boolean isLeaf) {
+		final Box[] array = boxes.toArray(new Box[boxes.size()]);
+		final int size = array.length;
+		final int nodeCount = (size + this.maxEntries - 1) / this.maxEntries;
+		final int sliceCount = (int) Math.ceil(Math.sqrt(nodeCount));
+		final int sliceSize = sliceCount * this.maxEntries;
+		final List<Box> nodes = new ArrayList<>(nodeCount);
+		Arrays.sort(array, X_ORDER);
+		for (int slice = 0; slice < size; slice += sliceSize) {
+			final int sliceEnd = Math.min(size, slice + sliceSize);
+			Arrays.sort(array, slice, sliceEnd, Y_ORDER);
+			for (int i = slice; i < sliceEnd; i += this.maxEntries) {
+				final Node node = new Node(isLeaf, this.maxEntries);
+				final int end = Math.min(sliceEnd, i + this.maxEntries);
+				for (int j = i; j < end; ++j) {
+					node.add(array[j]);
+				}
+				nodes.add(node);
+			}
+		}
+		return nodes;
+	}
+
+	private void insertEntry(Entry<T> entry) {
+		if (this.root == null) {
+			this.root = new Node(true, this.maxEntries);
+			this.height = 1;
+		}
+		Node node = chooseLeaf(entry);
+		node.add(entry);
+		while (node != null) {
+			final Node parent = node.parent;
+			if (node.count > this.maxEntries) {
+				final Node sibling = split(node);
+				if (parent == null) {
+					final Node newRoot = new Node(false, this.maxEntries);
+					newRoot.add(node);
+					newRoot.add(sibling);
+					this.root = newRoot;
+					++this.height;
+					return;
+				}
+				parent.add(sibling);
+			}
+			if (parent != null) {
+				parent.include(entry);
+			}
+			node = parent;
+		}
+	}
+
+	private Node chooseLeaf(Box box) {
+		Node node = this.root;
+		while (!node.leaf) {
+			Box best = null;
+			double bestEnlargement = Double.POSITIVE_INFINITY;
+			double bestArea = Double.POSITIVE_INFINITY;
+			for (int i = 0; i < node.count; ++i) {
+				final Box child = node.children[i];
+				final double area = child.getArea();
+				final double enlargement = child.getUnionArea(box) - area;
+				if (enlargement < bestEnlargement || (enlargement == bestEnlargement && area < bestArea)) {
+					best = child;
+					bestEnlargement = enlargement;
+					bestArea = area;
+				}
+			}
+			node = (Node) best;
+		}
+		return node;
+	}
+
+	/** Quadratic split of Guttman.
+	 */
+	@SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:npathcomplexity"})
+	private Node split(Node node) {
+		final Box[] children = Arrays.copyOf(node.children, node.count);
+		final int size = children.length;
+		int seed1 = 0;
+		int seed2 = 1;
+		double worstWaste = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < size - 1; ++i) {
+			final double area = children[i].getArea();
+			for (int j = i + 1; j < size; ++j) {
+				final double waste = children[i].getUnionArea(children[j]) - area - children[j].getArea();
+				if (waste > worstWaste) {
+					worstWaste = waste;
+					seed1 = i;
+					seed2 = j;
+				}
+			}
+		}
+		node.clear();
+		final Node sibling = new Node(node.leaf, this.maxEntries);
+		node.add(children[seed1]);
+		sibling.add(children[seed2]);
+		children[seed1] = null;
+		children[seed2] = null;
+		int remaining = size - 2;
+		while (remaining > 0) {
+			if (node.count + remaining <= this.minEntries || sibling.count + remaining <= this.minEntries) {
+				final Node group = node.count < sibling.count ? node : sibling;
+				for (final Box child : children) {
+					if (child != null) {
+						group.add(child);
+					}
+				}
+				break;
+			}
+			int next = -1;
+			double bestDifference = Double.NEGATIVE_INFINITY;
+			double enlargement1 = 0;
+			double enlargement2 = 0;
+			for (int i = 0; i < size; ++i) {
+				final Box child = children[i];
+				if (child != null) {
+					final double e1 = node.getUnionArea(child) - node.getArea();
+					final double e2 = sibling.getUnionArea(child) - sibling.getArea();
+					final double difference = Math.abs(e1 - e2);
+					if (difference > bestDifference) {
+						bestDifference = difference;
+						next = i;
+						enlargement1 = e1;
+						enlargement2 = e2;
+					}
+				}
+			}
+			final Node group;
+			if (enlargement1 < enlargement2) {
+				group = node;
+			} else if (enlargement2 < enlargement1) {
+				group = sibling;
+			} else if (node.getArea() != sibling.getArea()) {
+				group = node.getArea() < sibling.getArea() ? node : sibling;
+			} else {
+				group = node.count <= sibling.count ? node : sibling;
+			}
+			group.add(children[next]);
+			children[next] = null;
+			--remaining;
+		}
+		return sibling;
+	}
+
+	@SuppressWarnings({"unchecked", "checkstyle:npathcomplexity"})
+	private void removeEntry(Entry<T> entry) {
+		Node node = entry.parent;
+		node.remove(entry);
+		List<Entry<T>> orphans = null;
+		while (node.parent != null) {
+			final Node parent = node.parent;
+			if (node.count < this.minEntries) {
+				parent.remove(node);
+				if (orphans == null) {
+					orphans = new ArrayList<>();
+				}
+				collectEntries(node, orphans);
+			} else {
+				node.computeBounds();
+			}
+			node = parent;
+		}
+		node.computeBounds();
+		while (this.root != null && !this.root.leaf && this.root.count <= 1) {
+			if (this.root.count == 0) {
+				this.root = null;
+			} else {
+				this.root = (Node) this.root.children[0];
+				this.root.parent = null;
+			}
+			--this.height;
+		}
+		if (this.root != null && this.root.count == 0) {
+			this.root = null;
+		}
+		if (this.root == null) {
+			this.height = 0;
+		}
+		if (orphans != null) {
+			for (final Entry<T> orphan : orphans) {
+				insertEntry(orphan);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void collectEntries(Node subtree, List<Entry<T>> list) {
+		final List<Node> stack = new ArrayList<>();
+		stack.add(subtree);
+		while (!stack.isEmpty()) {
+			final Node node = stack.remove(stack.size() - 1);
+			for (int i = 0; i < node.count; ++i) {
+				if (node.leaf) {
+					list.add((Entry<T>) node.children[i]);
+				} else {
+					stack.add((Node) node.children[i]);
+				}
+			}
+		}
+	}
+
+	/** Axis-aligned box in the tree.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private static class Box {
+
+		double minX = Double.POSITIVE_INFINITY;
+
+		double minY = Double.POSITIVE_INFINITY;
+
+		double maxX = Double.NEGATIVE_INFINITY;
+
+		double maxY = Double.NEGATIVE_INFINITY;
+
+		Node parent;
+
+		Box() {
+			//
+		}
+
+		void set(double[] bounds) {
+			this.minX = bounds[0];
+			this.minY = bounds[1];
+			this.maxX = bounds[MAX_X];
+			this.maxY = bounds[MAX_Y];
+		}
+
+		void include(Box box) {
+			if (box.minX < this.minX) {
+				this.minX = box.minX;
+			}
+			if (box.minY < this.minY) {
+				this.minY = box.minY;
+			}
+			if (box.maxX > this.maxX) {
+				this.maxX = box.maxX;
+			}
+			if (box.maxY > this.maxY) {
+				this.maxY = box.maxY;
+			}
+		}
+
+		boolean contains(double[] bounds) {
+			return this.minX <= bounds[0] && this.minY <= bounds[1]
+					&& this.maxX >= bounds[MAX_X] && this.maxY >= bounds[MAX_Y];
+		}
+
+		boolean intersects(double minx, double miny, double maxx, double maxy) {
+			return this.minX <= maxx && this.maxX >= minx && this.minY <= maxy && this.maxY >= miny;
+		}
+
+		double getArea() {
+			return (this.maxX - this.minX) * (this.maxY - this.minY);
+		}
+
+		double getUnionArea(Box box) {
+			return (Math.max(this.maxX, box.maxX) - Math.min(this.minX, box.minX))
+					* (Math.max(this.maxY, box.maxY) - Math.min(this.minY, box.minY));
+		}
+
+		double getDistanceSquared(double x, double y) {
+			final double dx;
+			if (x < this.minX) {
+				dx = this.minX - x;
+			} else if (x > this.maxX) {
+				dx = x - this.maxX;
+			} else {
+				dx = 0;
+			}
+			final double dy;
+			if (y < this.minY) {
+				dy = this.minY - y;
+			} else if (y > this.maxY) {
+				dy = y - this.maxY;
+			} else {
+				dy = 0;
+			}
+			return dx * dx + dy * dy;
+		}
+
+	}
+
+	/** Node of the tree.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private static final class Node extends Box {
+
+		final boolean leaf;
+
+		final Box[] children;
+
+		int count;
+
+		Node(boolean leaf, int capacity) {
+			this.leaf = leaf;
+			this.children = new Box[capacity + 1];
+		}
+
+		void add(Box child) {
+			this.children[this.count++] = child;
+			child.parent = this;
+			include(child);
+		}
+
+		void remove(Box child) {
+			for (int i = 0; i < this.count; ++i) {
+				if (this.children[i] == child) {
+					--this.count;
+					this.children[i] = this.children[this.count];
+					this.children[this.count] = null;
+					child.parent = null;
+					return;
+				}
+			}
+		}
+
+		void clear() {
+			Arrays.fill(this.children, 0, this.count, null);
+			this.count = 0;
+			this.minX = Double.POSITIVE_INFINITY;
+			this.minY = Double.POSITIVE_INFINITY;
+			this.maxX = Double.NEGATIVE_INFINITY;
+			this.maxY = Double.NEGATIVE_INFINITY;
+		}
+
+		void computeBounds() {
+			this.minX = Double.POSITIVE_INFINITY;
+			this.minY = Double.POSITIVE_INFINITY;
+			this.maxX = Double.NEGATIVE_INFINITY;
+			this.maxY = Double.NEGATIVE_INFINITY;
+			for (int i = 0; i < this.count; ++i) {
+				include(this.children[i]);
+			}
+		}
+
+	}
+
+	/** Leaf entry of the tree.
+	 *
+	 * @param <T> the type of the shape.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private static final class Entry<T> extends Box {
+
+		final T shape;
+
+		Entry(T shape) {
+			this.shape = shape;
+		}
+
+	}
+
+	/** Candidate of the nearest-neighbor search.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private static final class Candidate implements Comparable<Candidate> {
+
+		final Box box;
+
+		final double distance;
+
+		Candidate(Box box, double distance) {
+			this.box = box;
+			this.distance = distance;
+		}
+
+		@Override
+		public int compareTo(Candidate candidate) {
+			final int cmp = Double.compare(this.distance, candidate.distance);
+			if (cmp != 0) {
+				return cmp;
+			}
+			// Shapes before nodes at the same distance.
+			if (this.box instanceof Entry<?>) {
+				return candidate.box instanceof Entry<?> ? 0 : -1;
+			}
+			return candidate.box instanceof Entry<?> ? 1 : 0;
+		}
+
+	}
+
+}
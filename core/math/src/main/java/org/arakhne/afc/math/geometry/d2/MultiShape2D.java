@@ -128,6 +128,12 @@ public interface MultiShape2D<
 		//
 	}
 
+	@Pure
+	@Override
+	default ShapeKind2D getShapeKind() {
+		return ShapeKind2D.MULTISHAPE;
+	}
+
 	@Override
 	default void set(IT shape) {
 		assert shape != null : AssertMessages.notNullParameter();
@@ -63,6 +63,12 @@ public interface Path2D<
 	 */
 	void setWindingRule(PathWindingRule rule);
 
+	@Pure
+	@Override
+	default ShapeKind2D getShapeKind() {
+		return ShapeKind2D.PATH;
+	}
+
 	/** Replies the path is composed only by
 	 * one <code>MOVE_TO</code>, and a sequence of <code>LINE_TO</code>
 	 * primitives.
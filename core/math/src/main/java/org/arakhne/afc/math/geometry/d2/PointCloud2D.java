@@ -0,0 +1,539 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
+/** Set of 2D points with floating-point coordinates that are packed into arrays.
+ *
+ * <p>The x and y coordinates of the points are stored into two separate arrays of
+ * <code>double</code> (structure of arrays). The bulk operations of this class are
+ * tight loops over these arrays; they do not allocate any object and they do not invoke
+ * the virtual getters of {@link Tuple2D}. The JIT compiler is able to unroll and vectorize them.
+ *
+ * <p>The elements of the point cloud are available as {@link Point2D} through
+ * {@link #getPoint(int) flyweight views}. A view reads and writes the coordinates from
+ * the arrays of the point cloud; it may be passed to the existing API of the geometry.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public class PointCloud2D implements Serializable {
+
+	private static final long serialVersionUID = -2948610465932766931L;
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private double[] xs;
+
+	private double[] ys;
+
+	private int size;
+
+	/** Construct an empty point cloud.
+	 */
+	public PointCloud2D() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/** Construct an empty point cloud.
+	 *
+	 * @param capacity the initial capacity of the point cloud.
+	 */
+	public PointCloud2D(int capacity) {
+		assert capacity >= 0 : AssertMessages.positiveOrZeroParameter();
+		this.xs = new double[capacity];
+		this.ys = new double[capacity];
+	}
+
+	/** Construct a point cloud with the given coordinates. The arrays are copied.
+	 *
+	 * @param xs the x coordinates of the points.
+	 * @param ys the y coordinates of the points.
+	 */
+	public PointCloud2D(double[] xs, double[] ys) {
+		assert xs != null : AssertMessages.notNullParameter(0);
+		assert ys != null : AssertMessages.notNullParameter(1);
+		assert xs.length == ys.length : AssertMessages.invalidValue(1);
+		this.xs = xs.clone();
+		this.ys = ys.clone();
+		this.size = xs.length;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > this.xs.length) {
+			final int newCapacity = Math.max(capacity, Math.max(DEFAULT_CAPACITY, this.xs.length * 2));
+			this.xs = Arrays.copyOf(this.xs, newCapacity);
+			this.ys = Arrays.copyOf(this.ys, newCapacity);
+		}
+	}
+
+	/** Replies the number of points.
+	 *
+	 * @return the number of points.
+	 */
+	@Pure
+	public int size() {
+		return this.size;
+	}
+
+	/** Replies if the point cloud has no point.
+	 *
+	 * @return <code>true</code> if the point cloud is empty.
+	 */
+	@Pure
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/** Remove all the points.
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/** Add a point.
+	 *
+	 * @param x x coordinate of the point.
+	 * @param y y coordinate of the point.
+	 * @return the index of the point.
+	 */
+	public int add(double x, double y) {
+		ensureCapacity(this.size + 1);
+		this.xs[this.size] = x;
+		this.ys[this.size] = y;
+		return this.size++;
+	}
+
+	/** Add a point.
+	 *
+	 * @param point the point.
+	 * @return the index of the point.
+	 */
+	public int add(Tuple2D<?> point) {
+		assert point != null : AssertMessages.notNullParameter();
+		return add(point.getX(), point.getY());
+	}
+
+	/** Replies the x coordinate of the point at the given index.
+	 *
+	 * @param index the index of the point.
+	 * @return the x coordinate.
+	 */
+	@Pure
+	public double getX(int index) {
+		assert index >= 0 && index < this.size : AssertMessages.outsideRangeInclusiveParameter(index, 0, this.size - 1);
+		return this.xs[index];
+	}
+
+	/** Replies the y coordinate of the point at the given index.
+	 *
+	 * @param index the index of the point.
+	 * @return the y coordinate.
+	 */
+	@Pure
+	public double getY(int index) {
+		assert index >= 0 && index < this.size : AssertMessages.outsideRangeInclusiveParameter(index, 0, this.size - 1);
+		return this.ys[index];
+	}
+
+	/** Change the coordinates of the point at the given index.
+	 *
+	 * @param index the index of the point.
+	 * @param x the new x coordinate.
+	 * @param y the new y coordinate.
+	 */
+	public void set(int index, double x, double y) {
+		assert index >= 0 && index < this.size : AssertMessages.outsideRangeInclusiveParameter(index, 0, this.size - 1);
+		this.xs[index] = x;
+		this.ys[index] = y;
+	}
+
+	/** Replies a view on the point at the given index.
+	 *
+	 * <p>The view is a flyweight: its coordinates are read from and written into this point cloud.
+	 * The view may be moved to another point with {@link PointView#setIndex(int)}.
+	 *
+	 * @param index the index of the point.
+	 * @return the view on the point.
+	 */
+	@Pure
+	public PointView getPoint(int index) {
+		assert index >= 0 && index < this.size : AssertMessages.outsideRangeInclusiveParameter(index, 0, this.size - 1);
+		return new PointView(index);
+	}
+
+	/** Translate all the points.
+	 *
+	 * @param dx the translation along x.
+	 * @param dy the translation along y.
+	 */
+	public void translate(double dx, double dy) {
+		final double[] x = this.xs;
+		final double[] y = this.ys;
+		final int n = this.size;
+		for (int i = 0; i < n; ++i) {
+			x[i] += dx;
+		}
+		for (int i = 0; i < n; ++i) {
+			y[i] += dy;
+		}
+	}
+
+	/** Translate all the points.
+	 *
+	 * @param vector the translation vector.
+	 */
+	public void translate(Vector2D<?, ?> vector) {
+		assert vector != null : AssertMessages.notNullParameter();
+		translate(vector.getX(), vector.getY());
+	}
+
+	/** Apply the given transformation to all the points.
+	 *
+	 * @param transform the transformation.
+	 */
+	public void transform(Transform2D transform) {
+		assert transform != null : AssertMessages.notNullParameter();
+		transform(transform, this);
+	}
+
+	/** Apply the given transformation to all the points, and put the transformed points into the given point cloud.
+	 *
+	 * <p>The points of the result are replaced. The result may be this point cloud.
+	 *
+	 * @param transform the transformation.
+	 * @param result the point cloud that receives the transformed points.
+	 */
+	public void transform(Transform2D transform, PointCloud2D result) {
+		assert transform != null : AssertMessages.notNullParameter(0);
+		assert result != null : AssertMessages.notNullParameter(1);
+		final int n = this.size;
+		result.ensureCapacity(n);
+		result.size = n;
+		final double m00 = transform.getM00();
+		final double m01 = transform.getM01();
+		final double m02 = transform.getM02();
+		final double m10 = transform.getM10();
+		final double m11 = transform.getM11();
+		final double m12 = transform.getM12();
+		final double[] x = this.xs;
+		final double[] y = this.ys;
+		final double[] rx = result.xs;
+		final double[] ry = result.ys;
+		for (int i = 0; i < n; ++i) {
+			final double px = x[i];
+			final double py = y[i];
+			rx[i] = m00 * px + m01 * py + m02;
+			ry[i] = m10 * px + m11 * py + m12;
+		}
+	}
+
+	/** Compute the bounding box of the points.
+	 *
+	 * @param bounds the array that receives the bounds of the box: lower x, lower y, upper x and upper y.
+	 * @return <code>true</code> if the bounds are computed; <code>false</code> if the point cloud is empty.
+	 */
+	@SuppressWarnings("checkstyle:magicnumber")
+	public boolean toBoundingBox(double[] bounds) {
+		assert bounds != null && bounds.length >= 4 : AssertMessages.tooSmallArrayParameter(
+				bounds == null ? 0 : bounds.length, 4);
+		final int n = this.size;
+		if (n == 0) {
+			return false;
+		}
+		final double[] x = this.xs;
+		final double[] y = this.ys;
+		double minx = x[0];
+		double maxx = minx;
+		for (int i = 1; i < n; ++i) {
+			final double v = x[i];
+			minx = Math.min(minx, v);
+			maxx = Math.max(maxx, v);
+		}
+		double miny = y[0];
+		double maxy = miny;
+		for (int i = 1; i < n; ++i) {
+			final double v = y[i];
+			miny = Math.min(miny, v);
+			maxy = Math.max(maxy, v);
+		}
+		bounds[0] = minx;
+		bounds[1] = miny;
+		bounds[2] = maxx;
+		bounds[3] = maxy;
+		return true;
+	}
+
+	/** Compute the centroid of the points.
+	 *
+	 * @param result the tuple that receives the centroid.
+	 * @return <code>true</code> if the centroid is computed; <code>false</code> if the point cloud is empty.
+	 */
+	public boolean getCentroid(Tuple2D<?> result) {
+		assert result != null : AssertMessages.notNullParameter();
+		final int n = this.size;
+		if (n == 0) {
+			return false;
+		}
+		final double[] x = this.xs;
+		final double[] y = this.ys;
+		double sumx = 0;
+		for (int i = 0; i < n; ++i) {
+			sumx += x[i];
+		}
+		double sumy = 0;
+		for (int i = 0; i < n; ++i) {
+			sumy += y[i];
+		}
+		result.set(sumx / n, sumy / n);
+		return true;
+	}
+
+	/** Replies the index of the point that is the nearest to the given point.
+	 *
+	 * @param x x coordinate of the reference point.
+	 * @param y y coordinate of the reference point.
+	 * @return the index of the nearest point, or <code>-1</code> if the point cloud is empty.
+	 */
+	@Pure
+	public int findNearest(double x, double y) {
+		final double[] px = this.xs;
+		final double[] py = this.ys;
+		final int n = this.size;
+		int nearest = -1;
+		double min = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < n; ++i) {
+			final double dx = px[i] - x;
+			final double dy = py[i] - y;
+			final double distance = dx * dx + dy * dy;
+			if (distance < min) {
+				min = distance;
+				nearest = i;
+			}
+		}
+		return nearest;
+	}
+
+	/** Replies the index of the point that is the nearest to the given point.
+	 *
+	 * @param point the reference point.
+	 * @return the index of the nearest point, or <code>-1</code> if the point cloud is empty.
+	 */
+	@Pure
+	public int findNearest(Point2D<?, ?> point) {
+		assert point != null : AssertMessages.notNullParameter();
+		return findNearest(point.getX(), point.getY());
+	}
+
+	/** Compute the distances between the points and the given point.
+	 *
+	 * @param x x coordinate of the reference point.
+	 * @param y y coordinate of the reference point.
+	 * @param result the array that receives the distances. Its size must be at least {@link #size()}.
+	 */
+	public void getDistances(double x, double y, double[] result) {
+		assert result != null && result.length >= this.size : AssertMessages.tooSmallArrayParameter(
+				2, result == null ? 0 : result.length, this.size);
+		final double[] px = this.xs;
+		final double[] py = this.ys;
+		final int n = this.size;
+		for (int i = 0; i < n; ++i) {
+			final double dx = px[i] - x;
+			final double dy = py[i] - y;
+			result[i] = Math.sqrt(dx * dx + dy * dy);
+		}
+	}
+
+	/** Compute the distances between the points and the given shape.
+	 *
+	 * <p>The distance from a point inside the shape is zero. The shape is queried with a single
+	 * flyweight view that is moved along the points; no other object is allocated by this function.
+	 *
+	 * @param shape the shape, e.g. a {@code Shape2afp}.
+	 * @param result the array that receives the distances. Its size must be at least {@link #size()}.
+	 */
+	public void getDistances(Shape2D<?, ?, ?, ?, ?, ?> shape, double[] result) {
+		assert shape != null : AssertMessages.notNullParameter(0);
+		assert result != null && result.length >= this.size : AssertMessages.tooSmallArrayParameter(
+				1, result == null ? 0 : result.length, this.size);
+		final int n = this.size;
+		if (n > 0) {
+			final PointView view = new PointView(0);
+			for (int i = 0; i < n; ++i) {
+				view.index = i;
+				result[i] = shape.getDistance(view);
+			}
+		}
+	}
+
+	/** Flyweight view on a point of the point cloud.
+	 *
+	 * <p>The coordinates are read from and written into the arrays of the point cloud.
+	 * The points that are created by the operators of the view, and the copies of the view,
+	 * are immutable.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	public final class PointView implements Point2D<ImmutablePoint2D, ImmutableVector2D> {
+
+		private static final long serialVersionUID = 6251867213003911720L;
+
+		private int index;
+
+		/** Constructor.
+		 *
+		 * @param index the index of the point.
+		 */
+		PointView(int index) {
+			this.index = index;
+		}
+
+		/** Replies the index of the viewed point in the point cloud.
+		 *
+		 * @return the index.
+		 */
+		@Pure
+		public int getIndex() {
+			return this.index;
+		}
+
+		/** Change the viewed point.
+		 *
+		 * @param index the index of the point in the point cloud.
+		 */
+		public void setIndex(int index) {
+			assert index >= 0 && index < PointCloud2D.this.size : AssertMessages.outsideRangeInclusiveParameter(
+					index, 0, PointCloud2D.this.size - 1);
+			this.index = index;
+		}
+
+		@Override
+		public GeomFactory<ImmutableVector2D, ImmutablePoint2D> getGeomFactory() {
+			return ImmutableGeomFactory.SINGLETON;
+		}
+
+		@Pure
+		@Override
+		public UnmodifiablePoint2D<ImmutablePoint2D, ImmutableVector2D> toUnmodifiable() {
+			return new ImmutablePoint2D(getX(), getY());
+		}
+
+		@Pure
+		@Override
+		@SuppressWarnings("checkstyle:superclone")
+		public ImmutablePoint2D clone() {
+			return new ImmutablePoint2D(getX(), getY());
+		}
+
+		@Pure
+		@Override
+		public double getX() {
+			return PointCloud2D.this.xs[this.index];
+		}
+
+		@Pure
+		@Override
+		public int ix() {
+			return (int) getX();
+		}
+
+		@Override
+		public void setX(int x) {
+			PointCloud2D.this.xs[this.index] = x;
+		}
+
+		@Override
+		public void setX(double x) {
+			PointCloud2D.this.xs[this.index] = x;
+		}
+
+		@Pure
+		@Override
+		public double getY() {
+			return PointCloud2D.this.ys[this.index];
+		}
+
+		@Pure
+		@Override
+		public int iy() {
+			return (int) getY();
+		}
+
+		@Override
+		public void setY(int y) {
+			PointCloud2D.this.ys[this.index] = y;
+		}
+
+		@Override
+		public void setY(double y) {
+			PointCloud2D.this.ys[this.index] = y;
+		}
+
+		@Pure
+		@Override
+		public boolean equals(Object object) {
+			try {
+				final Tuple2D<?> tuple = (Tuple2D<?>) object;
+				return tuple.getX() == getX() && tuple.getY() == getY();
+			} catch (AssertionError e) {
+				throw e;
+			} catch (Throwable e2) {
+				return false;
+			}
+		}
+
+		@Pure
+		@Override
+		@SuppressWarnings("checkstyle:magicnumber")
+		public int hashCode() {
+			long bits = 1;
+			bits = 31 * bits + Double.hashCode(getX());
+			bits = 31 * bits + Double.hashCode(getY());
+			final int b = (int) bits;
+			return b ^ (b >> 31);
+		}
+
+		@Pure
+		@Override
+		public String toString() {
+			return "(" //$NON-NLS-1$
+					+ getX()
+					+ ", " //$NON-NLS-1$
+					+ getY()
+					+ ")"; //$NON-NLS-1$
+		}
+
+	}
+
+}
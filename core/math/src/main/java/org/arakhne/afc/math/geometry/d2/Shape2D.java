@@ -291,6 +291,19 @@ public interface Shape2D<
      */
     void toBoundingBox(B box);
 
+    /** Replies the kind of this shape.
+     *
+     * <p>The kind is used for selecting the specialized routines of the
+     * functions that are taking a {@link Shape2D} as argument, such as
+     * {@link #intersects(Shape2D)}, without testing the type of the shape.
+     *
+     * @return the kind of this shape, never <code>null</code>.
+     */
+    @Pure
+    default ShapeKind2D getShapeKind() {
+        return ShapeKind2D.OTHER;
+    }
+
     /** Replies if this shape is intersecting the given shape.
      *
      * <p>You must use the intersection functions with a specific parameter type in place of
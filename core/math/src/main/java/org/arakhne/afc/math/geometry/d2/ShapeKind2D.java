@@ -0,0 +1,81 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2;
+
+/** Kind of a 2D shape.
+ *
+ * <p>The kind is a tag that is replied by every {@link Shape2D} in order to
+ * select a specialized routine without testing the type of the shape
+ * against each of the shape interfaces. The kind is shared by the
+ * implementations with floating-point and integer coordinates.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ * @see Shape2D#getShapeKind()
+ */
+public enum ShapeKind2D {
+    /** The shape is a circle.
+     */
+    CIRCLE,
+
+    /** The shape is an ellipse.
+     */
+    ELLIPSE,
+
+    /** The shape is an axis-aligned rectangle.
+     */
+    RECTANGLE,
+
+    /** The shape is an oriented rectangle.
+     */
+    ORIENTED_RECTANGLE,
+
+    /** The shape is a parallelogram.
+     */
+    PARALLELOGRAM,
+
+    /** The shape is a rectangle with round corners.
+     */
+    ROUND_RECTANGLE,
+
+    /** The shape is a segment.
+     */
+    SEGMENT,
+
+    /** The shape is a triangle.
+     */
+    TRIANGLE,
+
+    /** The shape is a path.
+     */
+    PATH,
+
+    /** The shape is a collection of shapes.
+     */
+    MULTISHAPE,
+
+    /** The shape has no specific kind.
+     */
+    OTHER;
+}
@@ -20,10 +20,14 @@
 
 package org.arakhne.afc.math.geometry.d2;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 import org.eclipse.xtext.xbase.lib.Pure;
 
 import org.arakhne.afc.math.MathUtil;
 import org.arakhne.afc.math.matrix.Matrix3d;
+import org.arakhne.afc.math.matrix.MatrixType;
 import org.arakhne.afc.math.matrix.SingularMatrixException;
 import org.arakhne.afc.vmutil.asserts.AssertMessages;
 import org.arakhne.afc.vmutil.locale.Locale;
@@ -54,6 +58,10 @@ public class Transform2D extends Matrix3d {
 
 	private static final long serialVersionUID = -2858647743636794878L;
 
+	private static final int TASKS_PER_THREAD = 4;
+
+	private static final int MIN_TASK_SIZE = 16384;
+
 	/**
 	 * Constructs a new Transform2D object and sets it to the identity transformation.
 	 */
@@ -126,6 +134,9 @@ public class Transform2D extends Matrix3d {
 	public void setTranslation(double x, double y) {
 		this.m02 = x;
 		this.m12 = y;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Set the position.
@@ -149,6 +160,9 @@ public class Transform2D extends Matrix3d {
 		assert translation != null : AssertMessages.notNullParameter();
 		this.m02 = translation.getX();
 		this.m12 = translation.getY();
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Translate the position.
@@ -166,6 +180,9 @@ public class Transform2D extends Matrix3d {
 	public void translate(double dx, double dy) {
 		this.m02 = this.m00 * dx + this.m01 * dy + this.m02;
 		this.m12 = this.m10 * dx + this.m11 * dy + this.m12;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Translate the position.
@@ -246,6 +263,9 @@ public class Transform2D extends Matrix3d {
 				this.m11 = -sin * m0 + cos * m1;
 			}
 		}
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	private void rotate90() {
@@ -351,6 +371,9 @@ public class Transform2D extends Matrix3d {
 		//		this.m01 = tmp_scale[0] * -sin;
 		//		this.m10 = tmp_scale[1] * sin;
 		//		this.m11 = tmp_scale[1] * cos;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Concatenates this transform with a scaling transformation.
@@ -370,6 +393,9 @@ public class Transform2D extends Matrix3d {
 		this.m11 *= scaleY;
 		this.m01 *= scaleY;
 		this.m10 *= scaleX;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Concatenates this transform with a scaling transformation.
@@ -404,6 +430,9 @@ public class Transform2D extends Matrix3d {
 		this.m11 *= scale;
 		this.m01 *= scale;
 		this.m10 *= scale;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/**
@@ -481,6 +510,9 @@ public class Transform2D extends Matrix3d {
 		this.m01 = tmpRot[1] * scaleY;
 		this.m10 = tmpRot[3] * scaleX;
 		this.m11 = tmpRot[4] * scaleY;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Set the scale.
@@ -529,6 +561,9 @@ public class Transform2D extends Matrix3d {
 		m1 = this.m11;
 		this.m10 = m0 + m1 * shearY;
 		this.m11 = m0 * shearX + m1;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Concatenates this transform with a shearing transformation.
@@ -581,6 +616,9 @@ public class Transform2D extends Matrix3d {
 		this.m20 = 0.;
 		this.m21 = 0.;
 		this.m22 = 1.;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/**
@@ -614,6 +652,9 @@ public class Transform2D extends Matrix3d {
 		this.m20 = 0.;
 		this.m21 = 0.;
 		this.m22 = 1.;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/**
@@ -648,6 +689,9 @@ public class Transform2D extends Matrix3d {
 		this.m20 = 0.;
 		this.m21 = 0.;
 		this.m22 = 1.;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/**
@@ -688,6 +732,279 @@ public class Transform2D extends Matrix3d {
 				this.m10 * tuple.getX() + this.m11 * tuple.getY() + this.m12);
 	}
 
+	/**
+	 * Multiply this matrix by the 2D points that are stored in the source array, and place
+	 * the transformed points into the destination array (dst = this * src).
+	 *
+	 * <p>The coordinates of the points are stored in sequence: {@code x0, y0, x1, y1, ...}.
+	 *
+	 * <p>The kind of this transformation (translation or affine) is detected once, and the
+	 * points are transformed by a loop that is specialized to this kind. The two arrays may be the
+	 * same array, and the two ranges of coordinates may overlap.
+	 *
+	 * @param src the coordinates of the points to transform.
+	 * @param srcOff the index of the first coordinate in the source array.
+	 * @param dst the array that receives the coordinates of the transformed points.
+	 * @param dstOff the index of the first coordinate in the destination array.
+	 * @param count the number of points to transform.
+	 * @since 13.0
+	 * @see #transform(Tuple2D, Tuple2D)
+	 * @see #parallelTransform(double[], int, double[], int, int)
+	 */
+	@SuppressWarnings("checkstyle:magicnumber")
+	public void transform(double[] src, int srcOff, double[] dst, int dstOff, int count) {
+		assert src != null : AssertMessages.notNullParameter(0);
+		assert dst != null : AssertMessages.notNullParameter(2);
+		assert count >= 0 : AssertMessages.positiveOrZeroParameter(4);
+		assert srcOff >= 0 && srcOff + 2 * count <= src.length
+				: AssertMessages.tooSmallArrayParameter(0, src.length, srcOff + 2 * count);
+		assert dstOff >= 0 && dstOff + 2 * count <= dst.length
+				: AssertMessages.tooSmallArrayParameter(2, dst.length, dstOff + 2 * count);
+		int start = srcOff;
+		if (src == dst && srcOff != dstOff && Math.abs(srcOff - dstOff) < 2 * count) {
+			System.arraycopy(src, srcOff, dst, dstOff, 2 * count);
+			start = dstOff;
+		}
+		transform(isTranslationOnly(), src, start, dst, dstOff, 0, count);
+	}
+
+	/**
+	 * Multiply this matrix by the 2D points that are stored in the source array, and place
+	 * the transformed points into the destination array (dst = this * src).
+	 *
+	 * <p>The coordinates of the points are stored in sequence: {@code x0, y0, x1, y1, ...}.
+	 * The computation is done with a double precision.
+	 *
+	 * <p>The kind of this transformation (translation or affine) is detected once, and the
+	 * points are transformed by a loop that is specialized to this kind. The two arrays may be the
+	 * same array, and the two ranges of coordinates may overlap.
+	 *
+	 * @param src the coordinates of the points to transform.
+	 * @param srcOff the index of the first coordinate in the source array.
+	 * @param dst the array that receives the coordinates of the transformed points.
+	 * @param dstOff the index of the first coordinate in the destination array.
+	 * @param count the number of points to transform.
+	 * @since 13.0
+	 * @see #transform(Tuple2D, Tuple2D)
+	 * @see #parallelTransform(float[], int, float[], int, int)
+	 */
+	@SuppressWarnings("checkstyle:magicnumber")
+	public void transform(float[] src, int srcOff, float[] dst, int dstOff, int count) {
+		assert src != null : AssertMessages.notNullParameter(0);
+		assert dst != null : AssertMessages.notNullParameter(2);
+		assert count >= 0 : AssertMessages.positiveOrZeroParameter(4);
+		assert srcOff >= 0 && srcOff + 2 * count <= src.length
+				: AssertMessages.tooSmallArrayParameter(0, src.length, srcOff + 2 * count);
+		assert dstOff >= 0 && dstOff + 2 * count <= dst.length
+				: AssertMessages.tooSmallArrayParameter(2, dst.length, dstOff + 2 * count);
+		int start = srcOff;
+		if (src == dst && srcOff != dstOff && Math.abs(srcOff - dstOff) < 2 * count) {
+			System.arraycopy(src, srcOff, dst, dstOff, 2 * count);
+			start = dstOff;
+		}
+		transform(isTranslationOnly(), src, start, dst, dstOff, 0, count);
+	}
+
+	/** Transform the points with the indexes in {@code [from, to)}.
+	 *
+	 * @param translation indicates if this transformation is a translation.
+	 * @param src the coordinates of the points to transform.
+	 * @param srcOff the index of the first coordinate in the source array.
+	 * @param dst the array that receives the coordinates of the transformed points.
+	 * @param dstOff the index of the first coordinate in the destination array.
+	 * @param from the index of the first point to transform.
+	 * @param to the index after the last point to transform.
+	 */
+	@SuppressWarnings("checkstyle:parameternumber")
+	private void transform(boolean translation, double[] src, int srcOff, double[] dst, int dstOff, int from, int to) {
+		final double a00 = this.m00;
+		final double a01 = this.m01;
+		final double a02 = this.m02;
+		final double a10 = this.m10;
+		final double a11 = this.m11;
+		final double a12 = this.m12;
+		if (translation) {
+			for (int i = from; i < to; ++i) {
+				final int s = srcOff + 2 * i;
+				final int d = dstOff + 2 * i;
+				dst[d] = src[s] + a02;
+				dst[d + 1] = src[s + 1] + a12;
+			}
+		} else {
+			for (int i = from; i < to; ++i) {
+				final int s = srcOff + 2 * i;
+				final int d = dstOff + 2 * i;
+				final double x = src[s];
+				final double y = src[s + 1];
+				dst[d] = a00 * x + a01 * y + a02;
+				dst[d + 1] = a10 * x + a11 * y + a12;
+			}
+		}
+	}
+
+	/** Transform the points with the indexes in {@code [from, to)}.
+	 *
+	 * @param translation indicates if this transformation is a translation.
+	 * @param src the coordinates of the points to transform.
+	 * @param srcOff the index of the first coordinate in the source array.
+	 * @param dst the array that receives the coordinates of the transformed points.
+	 * @param dstOff the index of the first coordinate in the destination array.
+	 * @param from the index of the first point to transform.
+	 * @param to the index after the last point to transform.
+	 */
+	@SuppressWarnings("checkstyle:parameternumber")
+	private void transform(boolean translation, float[] src, int srcOff, float[] dst, int dstOff, int from, int to) {
+		final double a00 = this.m00;
+		final double a01 = this.m01;
+		final double a02 = this.m02;
+		final double a10 = this.m10;
+		final double a11 = this.m11;
+		final double a12 = this.m12;
+		if (translation) {
+			for (int i = from; i < to; ++i) {
+				final int s = srcOff + 2 * i;
+				final int d = dstOff + 2 * i;
+				dst[d] = (float) (src[s] + a02);
+				dst[d + 1] = (float) (src[s + 1] + a12);
+			}
+		} else {
+			for (int i = from; i < to; ++i) {
+				final int s = srcOff + 2 * i;
+				final int d = dstOff + 2 * i;
+				final double x = src[s];
+				final double y = src[s + 1];
+				dst[d] = (float) (a00 * x + a01 * y + a02);
+				dst[d + 1] = (float) (a10 * x + a11 * y + a12);
+			}
+		}
+	}
+
+	/** Replies if this transformation is a translation, for selecting the loop that
+	 * transforms the arrays of points.
+	 *
+	 * @return <code>true</code> if the linear part of this transformation is the identity.
+	 */
+	@Pure
+	private boolean isTranslationOnly() {
+		final MatrixType matrixType = getType();
+		if (matrixType.isAffine()) {
+			return matrixType == MatrixType.IDENTITY || matrixType == MatrixType.TRANSLATION;
+		}
+		return this.m00 == 1. && this.m01 == 0. && this.m10 == 0. && this.m11 == 1.;
+	}
+
+	/**
+	 * Multiply this matrix by the 2D points that are stored in the source array, and place
+	 * the transformed points into the destination array (dst = this * src); the points are
+	 * transformed in parallel by the {@link ForkJoinPool#commonPool() common pool}.
+	 *
+	 * @param src the coordinates of the points to transform.
+	 * @param srcOff the index of the first coordinate in the source array.
+	 * @param dst the array that receives the coordinates of the transformed points.
+	 * @param dstOff the index of the first coordinate in the destination array.
+	 * @param count the number of points to transform.
+	 * @since 13.0
+	 * @see #transform(double[], int, double[], int, int)
+	 * @see #parallelTransform(double[], int, double[], int, int, ForkJoinPool)
+	 */
+	public void parallelTransform(double[] src, int srcOff, double[] dst, int dstOff, int count) {
+		parallelTransform(src, srcOff, dst, dstOff, count, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Multiply this matrix by the 2D points that are stored in the source array, and place
+	 * the transformed points into the destination array (dst = this * src); the points are
+	 * transformed in parallel.
+	 *
+	 * <p>This transformation must not be changed until this function returns.
+	 *
+	 * @param src the coordinates of the points to transform.
+	 * @param srcOff the index of the first coordinate in the source array.
+	 * @param dst the array that receives the coordinates of the transformed points.
+	 * @param dstOff the index of the first coordinate in the destination array.
+	 * @param count the number of points to transform.
+	 * @param pool the pool that runs the tasks.
+	 * @since 13.0
+	 * @see #transform(double[], int, double[], int, int)
+	 */
+	@SuppressWarnings("checkstyle:magicnumber")
+	public void parallelTransform(double[] src, int srcOff, double[] dst, int dstOff, int count, ForkJoinPool pool) {
+		assert src != null : AssertMessages.notNullParameter(0);
+		assert dst != null : AssertMessages.notNullParameter(2);
+		assert count >= 0 : AssertMessages.positiveOrZeroParameter(4);
+		assert srcOff >= 0 && srcOff + 2 * count <= src.length
+				: AssertMessages.tooSmallArrayParameter(0, src.length, srcOff + 2 * count);
+		assert dstOff >= 0 && dstOff + 2 * count <= dst.length
+				: AssertMessages.tooSmallArrayParameter(2, dst.length, dstOff + 2 * count);
+		assert pool != null : AssertMessages.notNullParameter(5);
+		int start = srcOff;
+		if (src == dst && srcOff != dstOff && Math.abs(srcOff - dstOff) < 2 * count) {
+			System.arraycopy(src, srcOff, dst, dstOff, 2 * count);
+			start = dstOff;
+		}
+		final boolean translation = isTranslationOnly();
+		final int srcStart = start;
+		final int grain = Math.max(MIN_TASK_SIZE, count / (pool.getParallelism() * TASKS_PER_THREAD));
+		pool.invoke(new TransformTask(0, count, grain,
+			(from, to) -> transform(translation, src, srcStart, dst, dstOff, from, to)));
+	}
+
+	/**
+	 * Multiply this matrix by the 2D points that are stored in the source array, and place
+	 * the transformed points into the destination array (dst = this * src); the points are
+	 * transformed in parallel by the {@link ForkJoinPool#commonPool() common pool}.
+	 *
+	 * @param src the coordinates of the points to transform.
+	 * @param srcOff the index of the first coordinate in the source array.
+	 * @param dst the array that receives the coordinates of the transformed points.
+	 * @param dstOff the index of the first coordinate in the destination array.
+	 * @param count the number of points to transform.
+	 * @since 13.0
+	 * @see #transform(float[], int, float[], int, int)
+	 * @see #parallelTransform(float[], int, float[], int, int, ForkJoinPool)
+	 */
+	public void parallelTransform(float[] src, int srcOff, float[] dst, int dstOff, int count) {
+		parallelTransform(src, srcOff, dst, dstOff, count, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Multiply this matrix by the 2D points that are stored in the source array, and place
+	 * the transformed points into the destination array (dst = this * src); the points are
+	 * transformed in parallel.
+	 *
+	 * <p>This transformation must not be changed until this function returns.
+	 *
+	 * @param src the coordinates of the points to transform.
+	 * @param srcOff the index of the first coordinate in the source array.
+	 * @param dst the array that receives the coordinates of the transformed points.
+	 * @param dstOff the index of the first coordinate in the destination array.
+	 * @param count the number of points to transform.
+	 * @param pool the pool that runs the tasks.
+	 * @since 13.0
+	 * @see #transform(float[], int, float[], int, int)
+	 */
+	@SuppressWarnings("checkstyle:magicnumber")
+	public void parallelTransform(float[] src, int srcOff, float[] dst, int dstOff, int count, ForkJoinPool pool) {
+		assert src != null : AssertMessages.notNullParameter(0);
+		assert dst != null : AssertMessages.notNullParameter(2);
+		assert count >= 0 : AssertMessages.positiveOrZeroParameter(4);
+		assert srcOff >= 0 && srcOff + 2 * count <= src.length
+				: AssertMessages.tooSmallArrayParameter(0, src.length, srcOff + 2 * count);
+		assert dstOff >= 0 && dstOff + 2 * count <= dst.length
+				: AssertMessages.tooSmallArrayParameter(2, dst.length, dstOff + 2 * count);
+		assert pool != null : AssertMessages.notNullParameter(5);
+		int start = srcOff;
+		if (src == dst && srcOff != dstOff && Math.abs(srcOff - dstOff) < 2 * count) {
+			System.arraycopy(src, srcOff, dst, dstOff, 2 * count);
+			start = dstOff;
+		}
+		final boolean translation = isTranslationOnly();
+		final int srcStart = start;
+		final int grain = Math.max(MIN_TASK_SIZE, count / (pool.getParallelism() * TASKS_PER_THREAD));
+		pool.invoke(new TransformTask(0, count, grain,
+			(from, to) -> transform(translation, src, srcStart, dst, dstOff, from, to)));
+	}
+
 	/**
 	 * Returns an <code>Transform2D</code> object representing the
 	 * inverse transformation.
@@ -809,4 +1126,64 @@ public class Transform2D extends Matrix3d {
 				(matrix.getM10() * matrix.getM02() - matrix.getM00() * matrix.getM12()) / det);
 	}
 
+	/** Transformer of a range of points.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	@FunctionalInterface
+	private interface PointRangeTransformer {
+
+		/** Transform the points with the indexes in {@code [from, to)}.
+		 *
+		 * @param from the index of the first point to transform.
+		 * @param to the index after the last point to transform.
+		 */
+		void transform(int from, int to);
+
+	}
+
+	/** Task that transforms a range of points.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private static final class TransformTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 2748503159662018437L;
+
+		private final int from;
+
+		private final int to;
+
+		private final int grain;
+
+		private final transient PointRangeTransformer transformer;
+
+		TransformTask(int from, int to, int grain, PointRangeTransformer transformer) {
+			this.from = from;
+			this.to = to;
+			this.grain = grain;
+			this.transformer = transformer;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= this.grain) {
+				this.transformer.transform(this.from, this.to);
+			} else {
+				final int middle = (this.from + this.to) >>> 1;
+				invokeAll(new TransformTask(this.from, middle, this.grain, this.transformer),
+						new TransformTask(middle, this.to, this.grain, this.transformer));
+			}
+		}
+
+	}
+
 }
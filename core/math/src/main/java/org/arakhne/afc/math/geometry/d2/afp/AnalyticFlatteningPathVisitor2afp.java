@@ -0,0 +1,415 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import org.arakhne.afc.math.MathConstants;
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
+/** A path visitor that is flattening the curves of the path with an analytic, non-recursive algorithm before
+ * forwarding them to another visitor.
+ *
+ * <p>The moves, the lines and the closing elements are forwarded as-is. A quadratic curve is mapped to a
+ * segment of the parabola {@code y = x²}. The number of lines that is needed for the given tolerance is
+ * estimated from an approximation of the integral of the square root of the curvature along the curve, and
+ * the points are distributed along the curve such that each line has the same error. A cubic curve is first
+ * approximated by quadratic curves, with 10% of the tolerance, that are flattened with the remaining tolerance.
+ *
+ * <p>The tolerance is the maximum distance between the curve and the replied lines. Because the points are not
+ * placed at the subdivisions of the curve parameter, this visitor replies fewer points than
+ * {@link FlatteningPathVisitor2afp} for the same tolerance.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ * @see Path2afp#visit(PathVisitor2afp)
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+public class AnalyticFlatteningPathVisitor2afp implements PathVisitor2afp {
+
+	/** Part of the tolerance that is used for approximating a cubic curve by quadratic curves.
+	 */
+	private static final double QUAD_TOLERANCE_RATIO = .1;
+
+	/** Factor between the square of the tolerance and the squared error of the approximation of a cubic curve
+	 * by a single quadratic curve, which is {@code |p3 - 3 p2 + 3 p1 - p0| * sqrt(3) / 36}.
+	 */
+	private static final double QUAD_ERROR_FACTOR = 432.;
+
+	/** Constant of the approximation of the parabola integral.
+	 */
+	private static final double INTEGRAL_D = .67;
+
+	/** Fourth power of {@link #INTEGRAL_D}.
+	 */
+	private static final double INTEGRAL_D4 = INTEGRAL_D * INTEGRAL_D * INTEGRAL_D * INTEGRAL_D;
+
+	/** Constant of the approximation of the inverse of the parabola integral.
+	 */
+	private static final double INVERSE_INTEGRAL_B = .39;
+
+	/** Number of parameters of a quadratic curve: a0, a2, u0, the inverse of (u2 - u0),
+	 * the estimated number of lines, and the degeneracy flag.
+	 */
+	private static final int PARAMETERS = 6;
+
+	private static final int A0 = 0;
+
+	private static final int A2 = 1;
+
+	private static final int U0 = 2;
+
+	private static final int USCALE = 3;
+
+	private static final int VALUE = 4;
+
+	private static final int DEGENERATED = 5;
+
+	/** Number of coordinates of a quadratic curve.
+	 */
+	private static final int QUAD_COORDS = 6;
+
+	/** The visitor that is receiving the flattened elements.
+	 */
+	private final PathVisitor2afp visitor;
+
+	/** Square root of the tolerance for the quadratic curves.
+	 */
+	private final double sqrtTolerance;
+
+	/** Tolerance for approximating the cubic curves by quadratic curves.
+	 */
+	private final double quadTolerance;
+
+	/** Square root of the remaining tolerance for the quadratic curves approximating a cubic curve.
+	 */
+	private final double sqrtCubicTolerance;
+
+	/** Maximum number of lines for a curve.
+	 */
+	private final int maxSegments;
+
+	/** Coordinates of the quadratic curve to flatten.
+	 */
+	private final double[] quad = new double[QUAD_COORDS];
+
+	/** Parameters of the quadratic curve to flatten.
+	 */
+	private final double[] parameters = new double[PARAMETERS];
+
+	/** The ending x of the last segment.
+	 */
+	private double currentX;
+
+	/** The ending y of the last segment.
+	 */
+	private double currentY;
+
+	/** The x of the last move segment.
+	 */
+	private double moveX;
+
+	/** The y of the last move segment.
+	 */
+	private double moveY;
+
+	/** Constructor with the default tolerance and limit.
+	 *
+	 * @param visitor the visitor that is receiving the flattened elements.
+	 */
+	public AnalyticFlatteningPathVisitor2afp(PathVisitor2afp visitor) {
+		this(visitor, MathConstants.SPLINE_APPROXIMATION_RATIO, Path2afp.DEFAULT_FLATTENING_LIMIT);
+	}
+
+	/** Constructor.
+	 *
+	 * @param visitor the visitor that is receiving the flattened elements.
+	 * @param tolerance the maximum distance between the curves and the lines.
+	 * @param limit the limit of the number of lines for each curve, which is {@code 2^limit}. It is the
+	 *     maximum number of lines that is replied by {@link FlatteningPathVisitor2afp} with the same limit
+	 *     of recursive subdivisions.
+	 */
+	public AnalyticFlatteningPathVisitor2afp(PathVisitor2afp visitor, double tolerance, int limit) {
+		assert visitor != null : AssertMessages.notNullParameter(0);
+		assert tolerance > 0. : AssertMessages.positiveOrZeroParameter(1);
+		assert limit >= 0 && limit < Integer.SIZE - 1 : AssertMessages.outsideRangeInclusiveParameter(2, limit, 0,
+				Integer.SIZE - 2);
+		this.visitor = visitor;
+		this.sqrtTolerance = Math.sqrt(tolerance);
+		this.quadTolerance = tolerance * QUAD_TOLERANCE_RATIO;
+		this.sqrtCubicTolerance = Math.sqrt(tolerance - this.quadTolerance);
+		this.maxSegments = 1 << limit;
+	}
+
+	/** Approximation of the integral of the square root of the curvature of the parabola {@code y = x²}.
+	 *
+	 * @param x the position on the parabola.
+	 * @return the approximated integral.
+	 */
+	private static double integral(double x) {
+		return x / (1. - INTEGRAL_D + Math.sqrt(Math.sqrt(INTEGRAL_D4 + .25 * x * x)));
+	}
+
+	/** Approximation of the inverse of {@link #integral(double)}.
+	 *
+	 * @param x the value of the integral.
+	 * @return the position on the parabola.
+	 */
+	private static double inverseIntegral(double x) {
+		return x * (1. - INVERSE_INTEGRAL_B + Math.sqrt(INVERSE_INTEGRAL_B * INVERSE_INTEGRAL_B + .25 * x * x));
+	}
+
+	/** Compute the parameters of the mapping of the given quadratic curve to the parabola {@code y = x²}.
+	 *
+	 * @param x0 x coordinate of the first point.
+	 * @param y0 y coordinate of the first point.
+	 * @param x1 x coordinate of the control point.
+	 * @param y1 y coordinate of the control point.
+	 * @param x2 x coordinate of the last point.
+	 * @param y2 y coordinate of the last point.
+	 * @param sqrtTolerance the square root of the tolerance.
+	 * @param parameters the array that is receiving the parameters.
+	 */
+	@SuppressWarnings("checkstyle:parameternumber")
+	private static void computeParameters(double x0, double y0, double x1, double y1, double x2, double y2,
+			double sqrtTolerance, double[] parameters) {
+		final double d01x = x1 - x0;
+		final double d01y = y1 - y0;
+		final double d12x = x2 - x1;
+		final double d12y = y2 - y1;
+		final double ddx = d01x - d12x;
+		final double ddy = d01y - d12y;
+		final double cross = (x2 - x0) * ddy - (y2 - y0) * ddx;
+		final double px0 = (d01x * ddx + d01y * ddy) / cross;
+		final double px2 = (d12x * ddx + d12y * ddy) / cross;
+		final double scale = Math.abs(cross / (Math.sqrt(ddx * ddx + ddy * ddy) * (px2 - px0)));
+		if (!(scale > 0. && scale < Double.POSITIVE_INFINITY)) {
+			// The curve is a straight line, with or without a change of direction
+			parameters[VALUE] = 0.;
+			parameters[DEGENERATED] = 1.;
+			return;
+		}
+		final double a0 = integral(px0);
+		final double a2 = integral(px2);
+		final double sqrtScale = Math.sqrt(scale);
+		final double value;
+		if ((px0 < 0.) == (px2 < 0.)) {
+			value = Math.abs(a2 - a0) * sqrtScale;
+		} else {
+			// The curve contains the point of maximum curvature
+			value = sqrtTolerance * Math.abs(a2 - a0) / integral(sqrtTolerance / sqrtScale);
+		}
+		final double u0 = inverseIntegral(a0);
+		final double u2 = inverseIntegral(a2);
+		parameters[A0] = a0;
+		parameters[A2] = a2;
+		parameters[U0] = u0;
+		parameters[USCALE] = 1. / (u2 - u0);
+		parameters[VALUE] = value;
+		parameters[DEGENERATED] = 0.;
+	}
+
+	/** Replies the parameter of the quadratic curve for the given fraction of the estimated number of lines.
+	 *
+	 * @param parameters the parameters of the quadratic curve.
+	 * @param fraction the fraction of the number of lines.
+	 * @return the parameter of the curve in {@code [0; 1]}.
+	 */
+	private static double curveParameter(double[] parameters, double fraction) {
+		final double a0 = parameters[A0];
+		final double a = a0 + (parameters[A2] - a0) * fraction;
+		return (inverseIntegral(a) - parameters[U0]) * parameters[USCALE];
+	}
+
+	/** Replies the number of lines for the given estimation.
+	 *
+	 * @param estimation the estimated number of lines.
+	 * @param max the maximum number of lines.
+	 * @return the number of lines in {@code [1; max]}.
+	 */
+	private static int segmentCount(double estimation, int max) {
+		if (!(estimation > 1.)) {
+			return 1;
+		}
+		if (estimation >= max) {
+			return max;
+		}
+		return (int) Math.ceil(estimation);
+	}
+
+	/** Forward a line to the point of the quadratic curve at the given parameter.
+	 *
+	 * @param t the parameter of the point.
+	 */
+	private void lineToQuadPoint(double t) {
+		final double[] coords = this.quad;
+		final double mt = 1. - t;
+		final double c0 = mt * mt;
+		final double c1 = 2. * t * mt;
+		final double c2 = t * t;
+		this.visitor.lineTo(
+				c0 * coords[0] + c1 * coords[2] + c2 * coords[4],
+				c0 * coords[1] + c1 * coords[3] + c2 * coords[5]);
+	}
+
+	/** Forward the lines approximating the quadratic curve, except the line to the last point of the curve.
+	 *
+	 * @param x0 x coordinate of the first point.
+	 * @param y0 y coordinate of the first point.
+	 * @param x1 x coordinate of the control point.
+	 * @param y1 y coordinate of the control point.
+	 * @param x2 x coordinate of the last point.
+	 * @param y2 y coordinate of the last point.
+	 * @param sqrtTolerance the square root of the tolerance.
+	 * @param maxCount the maximum number of lines.
+	 */
+	@SuppressWarnings("checkstyle:parameternumber")
+	private void flattenQuad(double x0, double y0, double x1, double y1, double x2, double y2, double sqrtTolerance,
+			int maxCount) {
+		final double[] coords = this.quad;
+		final double[] params = this.parameters;
+		coords[0] = x0;
+		coords[1] = y0;
+		coords[2] = x1;
+		coords[3] = y1;
+		coords[4] = x2;
+		coords[5] = y2;
+		computeParameters(x0, y0, x1, y1, x2, y2, sqrtTolerance, params);
+		if (params[DEGENERATED] != 0.) {
+			// Forward a line to the point where the straight curve is changing of direction, if any
+			final double d01x = x1 - x0;
+			final double d01y = y1 - y0;
+			final double ddx = 2. * x1 - x0 - x2;
+			final double ddy = 2. * y1 - y0 - y2;
+			final double t = (d01x * ddx + d01y * ddy) / (ddx * ddx + ddy * ddy);
+			if (t > 0. && t < 1.) {
+				lineToQuadPoint(t);
+			}
+		} else {
+			final int count = segmentCount(.5 * params[VALUE] / sqrtTolerance, maxCount);
+			for (int i = 1; i < count; ++i) {
+				lineToQuadPoint(curveParameter(params, (double) i / count));
+			}
+		}
+	}
+
+	@Override
+	public void moveTo(double x, double y) {
+		this.visitor.moveTo(x, y);
+		this.currentX = x;
+		this.currentY = y;
+		this.moveX = x;
+		this.moveY = y;
+	}
+
+	@Override
+	public void lineTo(double x, double y) {
+		this.visitor.lineTo(x, y);
+		this.currentX = x;
+		this.currentY = y;
+	}
+
+	@Override
+	public void quadTo(double ctrlx, double ctrly, double x, double y) {
+		flattenQuad(this.currentX, this.currentY, ctrlx, ctrly, x, y, this.sqrtTolerance, this.maxSegments);
+		lineTo(x, y);
+	}
+
+	@Override
+	@SuppressWarnings("checkstyle:parameternumber")
+	public void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double x, double y) {
+		final double x0 = this.currentX;
+		final double y0 = this.currentY;
+		final double ex = 3. * (ctrlx2 - ctrlx1) - x + x0;
+		final double ey = 3. * (ctrly2 - ctrly1) - y + y0;
+		final int quadCount = segmentCount(Math.pow(
+				(ex * ex + ey * ey) / (QUAD_ERROR_FACTOR * this.quadTolerance * this.quadTolerance), 1. / 6.),
+				this.maxSegments);
+		final int maxCount = Math.max(1, this.maxSegments / quadCount);
+		// Coefficients of the polynomial form of the cubic curve
+		final double ax = x - 3. * ctrlx2 + 3. * ctrlx1 - x0;
+		final double ay = y - 3. * ctrly2 + 3. * ctrly1 - y0;
+		final double bx = 3. * (ctrlx2 - 2. * ctrlx1 + x0);
+		final double by = 3. * (ctrly2 - 2. * ctrly1 + y0);
+		final double cx = 3. * (ctrlx1 - x0);
+		final double cy = 3. * (ctrly1 - y0);
+		final double dt = 1. / quadCount;
+		final double h = dt / 3.;
+		double startX = x0;
+		double startY = y0;
+		double startDx = cx;
+		double startDy = cy;
+		for (int i = 1; i < quadCount; ++i) {
+			final double t = i * dt;
+			final double endX = ((ax * t + bx) * t + cx) * t + x0;
+			final double endY = ((ay * t + by) * t + cy) * t + y0;
+			final double endDx = (3. * ax * t + 2. * bx) * t + cx;
+			final double endDy = (3. * ay * t + 2. * by) * t + cy;
+			flattenSubCurve(startX, startY, startDx * h, startDy * h, endX, endY, endDx * h, endDy * h, maxCount);
+			this.visitor.lineTo(endX, endY);
+			startX = endX;
+			startY = endY;
+			startDx = endDx;
+			startDy = endDy;
+		}
+		flattenSubCurve(startX, startY, startDx * h, startDy * h, x, y, (x - ctrlx2) * 3. * h, (y - ctrly2) * 3. * h,
+				maxCount);
+		lineTo(x, y);
+	}
+
+	/** Forward the lines approximating a part of a cubic curve, except the line to the last point of the part.
+	 *
+	 * <p>The part of the cubic curve is approximated by the quadratic curve with the control point
+	 * {@code (3 (c1 + c2) - (p0 + p3)) / 4}, where {@code c1} and {@code c2} are the control points of the part.
+	 *
+	 * @param x0 x coordinate of the first point.
+	 * @param y0 y coordinate of the first point.
+	 * @param dx0 x coordinate of the vector from the first point to the first control point.
+	 * @param dy0 y coordinate of the vector from the first point to the first control point.
+	 * @param x3 x coordinate of the last point.
+	 * @param y3 y coordinate of the last point.
+	 * @param dx3 x coordinate of the vector from the second control point to the last point.
+	 * @param dy3 y coordinate of the vector from the second control point to the last point.
+	 * @param maxCount the maximum number of lines.
+	 */
+	@SuppressWarnings("checkstyle:parameternumber")
+	private void flattenSubCurve(double x0, double y0, double dx0, double dy0, double x3, double y3, double dx3, double dy3,
+			int maxCount) {
+		flattenQuad(x0, y0,
+				(3. * (x0 + dx0 + x3 - dx3) - x0 - x3) / 4.,
+				(3. * (y0 + dy0 + y3 - dy3) - y0 - y3) / 4.,
+				x3, y3, this.sqrtCubicTolerance, maxCount);
+	}
+
+	@Override
+	public void closePath() {
+		this.visitor.closePath();
+		this.currentX = this.moveX;
+		this.currentY = this.moveY;
+	}
+
+	@Override
+	public boolean isDone() {
+		return this.visitor.isDone();
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+/** Visitor on a path that computes the bounding box of the visited points.
+ *
+ * <p>The points that are included into the box are the ending points of the lines and
+ * of the curves, their starting points, and the control points of the curves.
+ * Consequently, this visitor computes the bounding box of the control points; and the bounding
+ * box of the drawable elements when the curves are flattened before reaching this visitor, e.g.
+ * with a {@link FlatteningPathVisitor2afp}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+class BoundingBoxPathVisitor2afp implements PathVisitor2afp {
+
+    private boolean found;
+
+    private double xmin = Double.POSITIVE_INFINITY;
+
+    private double ymin = Double.POSITIVE_INFINITY;
+
+    private double xmax = Double.NEGATIVE_INFINITY;
+
+    private double ymax = Double.NEGATIVE_INFINITY;
+
+    private double curx;
+
+    private double cury;
+
+    private double movx;
+
+    private double movy;
+
+    /** Constructor.
+     */
+    BoundingBoxPathVisitor2afp() {
+        //
+    }
+
+    private void add(double x, double y) {
+        if (x < this.xmin) {
+            this.xmin = x;
+        }
+        if (y < this.ymin) {
+            this.ymin = y;
+        }
+        if (x > this.xmax) {
+            this.xmax = x;
+        }
+        if (y > this.ymax) {
+            this.ymax = y;
+        }
+    }
+
+    @Override
+    public void moveTo(double x, double y) {
+        this.movx = x;
+        this.movy = y;
+        this.curx = x;
+        this.cury = y;
+    }
+
+    @Override
+    public void lineTo(double x, double y) {
+        add(this.curx, this.cury);
+        add(x, y);
+        this.curx = x;
+        this.cury = y;
+        this.found = true;
+    }
+
+    @Override
+    public void quadTo(double ctrlx, double ctrly, double x, double y) {
+        add(this.curx, this.cury);
+        add(ctrlx, ctrly);
+        add(x, y);
+        this.curx = x;
+        this.cury = y;
+        this.found = true;
+    }
+
+    @Override
+    public void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double x, double y) {
+        add(this.curx, this.cury);
+        add(ctrlx1, ctrly1);
+        add(ctrlx2, ctrly2);
+        add(x, y);
+        this.curx = x;
+        this.cury = y;
+        this.found = true;
+    }
+
+    @Override
+    public void closePath() {
+        this.curx = this.movx;
+        this.cury = this.movy;
+    }
+
+    /** Set the given box with the computed bounds.
+     *
+     * @param box the box to set.
+     * @return <code>true</code> if a point was found.
+     */
+    boolean toBoundingBox(Rectangle2afp<?, ?, ?, ?, ?, ?> box) {
+        if (this.found) {
+            box.setFromCorners(this.xmin, this.ymin, this.xmax, this.ymax);
+        } else {
+            box.clear();
+        }
+        return this.found;
+    }
+
+}
@@ -29,6 +29,7 @@ import org.arakhne.afc.math.MathUtil;
 import org.arakhne.afc.math.geometry.CrossingComputationType;
 import org.arakhne.afc.math.geometry.PathWindingRule;
 import org.arakhne.afc.math.geometry.d2.Point2D;
+import org.arakhne.afc.math.geometry.d2.ShapeKind2D;
 import org.arakhne.afc.math.geometry.d2.Transform2D;
 import org.arakhne.afc.math.geometry.d2.Vector2D;
 import org.arakhne.afc.vmutil.asserts.AssertMessages;
@@ -207,6 +208,12 @@ public interface Circle2afp<
         return d < (radius * radius);
     }
 
+    @Pure
+    @Override
+    default ShapeKind2D getShapeKind() {
+        return ShapeKind2D.CIRCLE;
+    }
+
     @Pure
     @Override
     default boolean equalsToShape(IT shape) {
@@ -0,0 +1,143 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import org.arakhne.afc.math.MathUtil;
+import org.arakhne.afc.math.geometry.PathElementType;
+import org.arakhne.afc.math.geometry.PathWindingRule;
+import org.arakhne.afc.math.geometry.d2.Point2D;
+
+/** Visitor on a path that computes the point of the path that is the closest to a given point.
+ *
+ * <p>This visitor supports only the moves, the straight lines and the closing elements.
+ * The curves must be flattened before reaching this visitor, e.g. with a
+ * {@link FlatteningPathVisitor2afp}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+class ClosestPointPathVisitor2afp implements PathVisitor2afp {
+
+    private final double x;
+
+    private final double y;
+
+    private final int mask;
+
+    private final Point2D<?, ?> result;
+
+    private double bestDist = Double.POSITIVE_INFINITY;
+
+    private int crossings;
+
+    private boolean done;
+
+    private double movx;
+
+    private double movy;
+
+    private double curx;
+
+    private double cury;
+
+    /** Constructor.
+     *
+     * @param rule the winding rule of the path.
+     * @param x x coordinate of the point.
+     * @param y y coordinate of the point.
+     * @param result the closest point on the shape; or the point itself if it is inside the shape.
+     */
+    ClosestPointPathVisitor2afp(PathWindingRule rule, double x, double y, Point2D<?, ?> result) {
+        this.mask = rule == PathWindingRule.NON_ZERO ? -1 : 1;
+        this.x = x;
+        this.y = y;
+        this.result = result;
+    }
+
+    private void candidate(double candidateX, double candidateY) {
+        final double d = Point2D.getDistanceSquaredPointPoint(this.x, this.y, candidateX, candidateY);
+        if (d < this.bestDist) {
+            this.bestDist = d;
+            this.result.set(candidateX, candidateY);
+        }
+    }
+
+    private void projection(double x0, double y0, double x1, double y1) {
+        double factor = Segment2afp.findsProjectedPointPointLine(this.x, this.y, x0, y0, x1, y1);
+        factor = MathUtil.clamp(factor, 0, 1);
+        candidate(x0 + (x1 - x0) * factor, y0 + (y1 - y0) * factor);
+    }
+
+    @Override
+    public void moveTo(double px, double py) {
+        this.crossings = 0;
+        this.movx = px;
+        this.movy = py;
+        this.curx = px;
+        this.cury = py;
+        candidate(px, py);
+    }
+
+    @Override
+    public void lineTo(double px, double py) {
+        projection(this.curx, this.cury, px, py);
+        this.crossings += Segment2afp.calculatesCrossingsPointShadowSegment(this.x, this.y,
+                this.curx, this.cury, px, py);
+        this.curx = px;
+        this.cury = py;
+    }
+
+    @Override
+    public void quadTo(double ctrlx, double ctrly, double px, double py) {
+        throw new IllegalStateException(PathElementType.QUAD_TO.toString());
+    }
+
+    @Override
+    public void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double px, double py) {
+        throw new IllegalStateException(PathElementType.CURVE_TO.toString());
+    }
+
+    @Override
+    public void closePath() {
+        this.crossings += Segment2afp.calculatesCrossingsPointShadowSegment(this.x, this.y,
+                this.curx, this.cury, this.movx, this.movy);
+        if ((this.crossings & this.mask) != 0) {
+            this.result.set(this.x, this.y);
+            this.done = true;
+            return;
+        }
+        if (!MathUtil.isEpsilonEqual(this.curx, this.movx) || !MathUtil.isEpsilonEqual(this.cury, this.movy)) {
+            projection(this.curx, this.cury, this.movx, this.movy);
+        }
+        this.crossings = 0;
+        this.curx = this.movx;
+        this.cury = this.movy;
+    }
+
+    @Override
+    public boolean isDone() {
+        return this.done;
+    }
+
+}
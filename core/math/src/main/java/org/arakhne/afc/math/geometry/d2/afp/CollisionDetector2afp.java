@@ -0,0 +1,429 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.geometry.d2.ShapeKind2D;
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
+/** Detects the collisions in a set of shapes.
+ *
+ * <p>The detection has two phases. The broad phase is a sweep-and-prune on the bounding boxes of
+ * the shapes: the shapes are sorted on the minimal x coordinates of their boxes, and only the shapes
+ * with overlapping boxes are candidate pairs. The order of the shapes is kept from one detection
+ * to the next one and it is restored with an insertion sort, which takes a linear time when the
+ * shapes have moved a little. The narrow phase runs the exact intersection functions of the shapes,
+ * such as {@link Shape2afp#intersects(Circle2afp)}, on the candidate pairs; it may be run in parallel
+ * by {@link #findCollisionsParallel(CollisionListener, ForkJoinPool)}.
+ *
+ * <p>The {@link ShapeKind2D kind} of each shape is read when the shape is added; the narrow phase
+ * selects the intersection function in the dispatch table of the shapes with these precomputed kinds.
+ *
+ * <p>Each shape receives an integer identifier when it is added; the identifiers of the removed
+ * shapes are reused. The bounding box of a shape is read when it is added and when
+ * {@link #update(int)} or {@link #updateAll()} is invoked; the shapes that were changed since
+ * must be updated before running a detection.
+ *
+ * <p>This detector is not thread-safe.
+ *
+ * @param <T> the type of the shapes.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public class CollisionDetector2afp<T extends Shape2afp<?, ?, ?, ?, ?, ?>> {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private static final int TASKS_PER_THREAD = 4;
+
+	private static final int MIN_TASK_SIZE = 64;
+
+	private Object[] shapes = new Object[DEFAULT_CAPACITY];
+
+	private Rectangle2afp<?, ?, ?, ?, ?, ?>[] boxes = new Rectangle2afp<?, ?, ?, ?, ?, ?>[DEFAULT_CAPACITY];
+
+	private ShapeKind2D[] kinds = new ShapeKind2D[DEFAULT_CAPACITY];
+
+	private double[] minXs = new double[DEFAULT_CAPACITY];
+
+	private double[] minYs = new double[DEFAULT_CAPACITY];
+
+	private double[] maxXs = new double[DEFAULT_CAPACITY];
+
+	private double[] maxYs = new double[DEFAULT_CAPACITY];
+
+	/** Identifiers of the shapes, sorted on the minimal x coordinates of their boxes.
+	 */
+	private int[] order = new int[DEFAULT_CAPACITY];
+
+	private int[] freeIds = new int[DEFAULT_CAPACITY];
+
+	private int freeIdCount;
+
+	private int idBound;
+
+	private int size;
+
+	/** Candidate pairs of the last broad phase, as consecutive identifiers.
+	 */
+	private int[] candidates = new int[DEFAULT_CAPACITY];
+
+	private int candidateCount;
+
+	/** Construct an empty detector.
+	 */
+	public CollisionDetector2afp() {
+		//
+	}
+
+	/** Replies the number of shapes in the detector.
+	 *
+	 * @return the number of shapes.
+	 */
+	@Pure
+	public int size() {
+		return this.size;
+	}
+
+	/** Replies if the detector contains no shape.
+	 *
+	 * @return {@code true} if the detector is empty.
+	 */
+	@Pure
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/** Replies if a shape with the given identifier is inside the detector.
+	 *
+	 * @param id the identifier.
+	 * @return {@code true} if the shape is inside the detector.
+	 */
+	@Pure
+	public boolean contains(int id) {
+		return id >= 0 && id < this.idBound && this.shapes[id] != null;
+	}
+
+	/** Replies the shape with the given identifier.
+	 *
+	 * @param id the identifier of the shape.
+	 * @return the shape.
+	 */
+	@Pure
+	@SuppressWarnings("unchecked")
+	public T getShape(int id) {
+		assert contains(id) : AssertMessages.invalidValue(0);
+		return (T) this.shapes[id];
+	}
+
+	/** Remove all the shapes from the detector.
+	 */
+	public void clear() {
+		Arrays.fill(this.shapes, 0, this.idBound, null);
+		Arrays.fill(this.boxes, 0, this.idBound, null);
+		this.idBound = 0;
+		this.freeIdCount = 0;
+		this.size = 0;
+		this.candidateCount = 0;
+	}
+
+	/** Add a shape into the detector.
+	 *
+	 * @param shape the shape.
+	 * @return the identifier of the shape.
+	 */
+	public int add(T shape) {
+		assert shape != null : AssertMessages.notNullParameter();
+		final int id = allocateId();
+		this.shapes[id] = shape;
+		this.kinds[id] = shape.getShapeKind();
+		this.boxes[id] = shape.toBoundingBox();
+		readBounds(id);
+		this.order[this.size++] = id;
+		return id;
+	}
+
+	/** Remove the shape with the given identifier from the detector.
+	 * The identifier may be reused by the next added shapes.
+	 *
+	 * <p>The removal takes a time that is linear in the number of shapes.
+	 *
+	 * @param id the identifier of the shape.
+	 * @return {@code true} if the shape was removed; {@code false} if it is not inside the detector.
+	 */
+	public boolean remove(int id) {
+		if (!contains(id)) {
+			return false;
+		}
+		int index = 0;
+		while (this.order[index] != id) {
+			++index;
+		}
+		--this.size;
+		System.arraycopy(this.order, index + 1, this.order, index, this.size - index);
+		this.shapes[id] = null;
+		this.boxes[id] = null;
+		if (this.freeIdCount == this.freeIds.length) {
+			this.freeIds = Arrays.copyOf(this.freeIds, this.freeIdCount * 2);
+		}
+		this.freeIds[this.freeIdCount++] = id;
+		return true;
+	}
+
+	/** Read again the bounding box of the shape with the given identifier.
+	 * This function must be invoked when the shape has changed.
+	 *
+	 * @param id the identifier of the shape.
+	 * @return {@code true} if the shape was updated; {@code false} if it is not inside the detector.
+	 */
+	public boolean update(int id) {
+		if (!contains(id)) {
+			return false;
+		}
+		readBounds(id);
+		return true;
+	}
+
+	/** Read again the bounding boxes of all the shapes.
+	 */
+	public void updateAll() {
+		for (int i = 0; i < this.size; ++i) {
+			readBounds(this.order[i]);
+		}
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private void readBounds(int id) {
+		final Rectangle2afp box = this.boxes[id];
+		((Shape2afp) this.shapes[id]).toBoundingBox(box);
+		this.minXs[id] = box.getMinX();
+		this.minYs[id] = box.getMinY();
+		this.maxXs[id] = box.getMaxX();
+		this.maxYs[id] = box.getMaxY();
+	}
+
+	private int allocateId() {
+		if (this.freeIdCount > 0) {
+			return this.freeIds[--this.freeIdCount];
+		}
+		if (this.idBound == this.shapes.length) {
+			final int capacity = this.idBound * 2;
+			this.shapes = Arrays.copyOf(this.shapes, capacity);
+			this.boxes = Arrays.copyOf(this.boxes, capacity);
+			this.kinds = Arrays.copyOf(this.kinds, capacity);
+			this.minXs = Arrays.copyOf(this.minXs, capacity);
+			this.minYs = Arrays.copyOf(this.minYs, capacity);
+			this.maxXs = Arrays.copyOf(this.maxXs, capacity);
+			this.maxYs = Arrays.copyOf(this.maxYs, capacity);
+			this.order = Arrays.copyOf(this.order, capacity);
+		}
+		return this.idBound++;
+	}
+
+	/** Run the exact intersection test between the two shapes.
+	 *
+	 * @param id1 the identifier of the first shape.
+	 * @param id2 the identifier of the second shape.
+	 * @return {@code true} if the shapes are intersecting.
+	 */
+	private boolean intersects(int id1, int id2) {
+		return ShapeDispatch2afp.intersects(
+				(Shape2afp<?, ?, ?, ?, ?, ?>) this.shapes[id1], this.kinds[id1],
+				(Shape2afp<?, ?, ?, ?, ?, ?>) this.shapes[id2], this.kinds[id2]);
+	}
+
+	/** Restore the order of the shapes on the minimal x coordinates of their boxes.
+	 * The insertion sort is linear when the order is almost preserved.
+	 */
+	private void sortOrder() {
+		final int[] ids = this.order;
+		final double[] mins = this.minXs;
+		for (int i = 1; i < this.size; ++i) {
+			final int id = ids[i];
+			final double min = mins[id];
+			int j = i - 1;
+			while (j >= 0 && mins[ids[j]] > min) {
+				ids[j + 1] = ids[j];
+				--j;
+			}
+			ids[j + 1] = id;
+		}
+	}
+
+	/** Run the broad phase and store the candidate pairs.
+	 */
+	private void sweep() {
+		sortOrder();
+		final int[] ids = this.order;
+		int count = 0;
+		for (int i = 0; i < this.size; ++i) {
+			final int id1 = ids[i];
+			final double maxX = this.maxXs[id1];
+			final double minY = this.minYs[id1];
+			final double maxY = this.maxYs[id1];
+			for (int j = i + 1; j < this.size; ++j) {
+				final int id2 = ids[j];
+				if (this.minXs[id2] > maxX) {
+					break;
+				}
+				if (this.minYs[id2] <= maxY && this.maxYs[id2] >= minY) {
+					if (count + 2 > this.candidates.length) {
+						this.candidates = Arrays.copyOf(this.candidates, this.candidates.length * 2);
+					}
+					if (id1 < id2) {
+						this.candidates[count] = id1;
+						this.candidates[count + 1] = id2;
+					} else {
+						this.candidates[count] = id2;
+						this.candidates[count + 1] = id1;
+					}
+					count += 2;
+				}
+			}
+		}
+		this.candidateCount = count / 2;
+	}
+
+	/** Find the pairs of shapes with intersecting bounding boxes. Only the broad phase is run.
+	 *
+	 * @param listener the listener that is invoked for each pair.
+	 * @return the number of pairs.
+	 */
+	public int findCandidatePairs(CollisionListener listener) {
+		assert listener != null : AssertMessages.notNullParameter();
+		sweep();
+		for (int i = 0; i < this.candidateCount; ++i) {
+			listener.collision(this.candidates[2 * i], this.candidates[2 * i + 1]);
+		}
+		return this.candidateCount;
+	}
+
+	/** Find the pairs of intersecting shapes.
+	 *
+	 * @param listener the listener that is invoked for each pair.
+	 * @return the number of pairs.
+	 */
+	public int findCollisions(CollisionListener listener) {
+		assert listener != null : AssertMessages.notNullParameter();
+		sweep();
+		return narrowPhase(0, this.candidateCount, listener);
+	}
+
+	/** Find the pairs of intersecting shapes; the narrow phase is run in parallel
+	 * by the {@link ForkJoinPool#commonPool() common pool}.
+	 *
+	 * @param listener the listener that is invoked for each pair. It is invoked concurrently
+	 *     by the threads of the pool.
+	 * @return the number of pairs.
+	 * @see #findCollisionsParallel(CollisionListener, ForkJoinPool)
+	 */
+	public int findCollisionsParallel(CollisionListener listener) {
+		return findCollisionsParallel(listener, ForkJoinPool.commonPool());
+	}
+
+	/** Find the pairs of intersecting shapes; the narrow phase is run in parallel.
+	 *
+	 * <p>The broad phase is run by the current thread. The candidate pairs are split into tasks
+	 * that are run by the given pool. The shapes must not be changed until this function returns.
+	 *
+	 * @param listener the listener that is invoked for each pair. It is invoked concurrently
+	 *     by the threads of the pool.
+	 * @param pool the pool that runs the tasks.
+	 * @return the number of pairs.
+	 */
+	public int findCollisionsParallel(CollisionListener listener, ForkJoinPool pool) {
+		assert listener != null : AssertMessages.notNullParameter(0);
+		assert pool != null : AssertMessages.notNullParameter(1);
+		sweep();
+		final int grain = Math.max(MIN_TASK_SIZE, this.candidateCount / (pool.getParallelism() * TASKS_PER_THREAD));
+		return pool.invoke(new NarrowPhaseTask(0, this.candidateCount, grain, listener)).intValue();
+	}
+
+	/** Run the narrow phase on the given range of candidate pairs.
+	 *
+	 * @param from the index of the first pair.
+	 * @param to the index after the last pair.
+	 * @param listener the listener that is invoked for each pair.
+	 * @return the number of intersecting pairs.
+	 */
+	private int narrowPhase(int from, int to, CollisionListener listener) {
+		int count = 0;
+		for (int i = from; i < to; ++i) {
+			final int id1 = this.candidates[2 * i];
+			final int id2 = this.candidates[2 * i + 1];
+			if (intersects(id1, id2)) {
+				listener.collision(id1, id2);
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/** Task that runs the narrow phase on a range of candidate pairs.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private final class NarrowPhaseTask extends RecursiveTask<Integer> {
+
+		private static final long serialVersionUID = -3015387623140296375L;
+
+		private final int from;
+
+		private final int to;
+
+		private final int grain;
+
+		private final CollisionListener listener;
+
+		NarrowPhaseTask(int from, int to, int grain, CollisionListener listener) {
+			this.from = from;
+			this.to = to;
+			this.grain = grain;
+			this.listener = listener;
+		}
+
+		@Override
+		protected Integer compute() {
+			if (this.to - this.from <= this.grain) {
+				return Integer.valueOf(narrowPhase(this.from, this.to, this.listener));
+			}
+			final int middle = (this.from + this.to) >>> 1;
+			final NarrowPhaseTask left = new NarrowPhaseTask(this.from, middle, this.grain, this.listener);
+			left.fork();
+			final int right = new NarrowPhaseTask(middle, this.to, this.grain, this.listener).compute().intValue();
+			return Integer.valueOf(left.join().intValue() + right);
+		}
+
+	}
+
+}
@@ -0,0 +1,496 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import org.arakhne.afc.math.MathConstants;
+import org.arakhne.afc.math.geometry.CrossingComputationType;
+import org.arakhne.afc.math.geometry.PathElementType;
+import org.arakhne.afc.vmutil.locale.Locale;
+
+/** Visitor on a path that computes the crossings between the path and the shadow of a shape.
+ *
+ * <p>This visitor supports only the moves, the straight lines and the closing elements.
+ * The curves must be flattened before reaching this visitor, e.g. with a
+ * {@link FlatteningPathVisitor2afp}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+abstract class CrossingsPathVisitor2afp implements PathVisitor2afp {
+
+    private final boolean stopOnClose;
+
+    private final int emptyCrossings;
+
+    private int crossings;
+
+    private boolean started;
+
+    private boolean done;
+
+    private double movx;
+
+    private double movy;
+
+    private double curx;
+
+    private double cury;
+
+    /** Constructor.
+     *
+     * @param crossings is the initial value for crossing.
+     * @param emptyCrossings is the value to reply when the path has no element.
+     * @param stopOnClose indicates if the traversal is stopped when a closing element
+     *     is reached and the crossings are not nul.
+     */
+    CrossingsPathVisitor2afp(int crossings, int emptyCrossings, boolean stopOnClose) {
+        this.crossings = crossings;
+        this.emptyCrossings = emptyCrossings;
+        this.stopOnClose = stopOnClose;
+    }
+
+    /** Compute the crossings between the shadow and the given segment.
+     *
+     * @param crossings is the initial value of the crossings.
+     * @param x0 is the first point of the segment.
+     * @param y0 is the first point of the segment.
+     * @param x1 is the second point of the segment.
+     * @param y1 is the second point of the segment.
+     * @return the crossings or {@link MathConstants#SHAPE_INTERSECTS}.
+     */
+    protected abstract int crosses(int crossings, double x0, double y0, double x1, double y1);
+
+    /** Replies if the given point of the path is touching the shape.
+     *
+     * @param x x coordinate of the point of the path.
+     * @param y y coordinate of the point of the path.
+     * @return <code>true</code> if the point is touching the shape.
+     */
+    protected boolean touches(double x, double y) {
+        return false;
+    }
+
+    private void ensureStarted() {
+        if (!this.started) {
+            throw new IllegalArgumentException(Locale.getString(Path2afp.class, "E1")); //$NON-NLS-1$
+        }
+    }
+
+    private void crossesTo(double x, double y) {
+        if (touches(x, y)) {
+            this.crossings = MathConstants.SHAPE_INTERSECTS;
+        } else {
+            this.crossings = crosses(this.crossings, this.curx, this.cury, x, y);
+        }
+        if (this.crossings == MathConstants.SHAPE_INTERSECTS) {
+            this.done = true;
+        }
+    }
+
+    @Override
+    public void moveTo(double x, double y) {
+        this.started = true;
+        this.movx = x;
+        this.movy = y;
+        this.curx = x;
+        this.cury = y;
+    }
+
+    @Override
+    public void lineTo(double x, double y) {
+        ensureStarted();
+        crossesTo(x, y);
+        this.curx = x;
+        this.cury = y;
+    }
+
+    @Override
+    public void quadTo(double ctrlx, double ctrly, double x, double y) {
+        throw new IllegalStateException(PathElementType.QUAD_TO.toString());
+    }
+
+    @Override
+    public void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double x, double y) {
+        throw new IllegalStateException(PathElementType.CURVE_TO.toString());
+    }
+
+    @Override
+    public void closePath() {
+        ensureStarted();
+        if (this.curx != this.movx || this.cury != this.movy) {
+            crossesTo(this.movx, this.movy);
+        }
+        if (this.stopOnClose && this.crossings != 0) {
+            this.done = true;
+        }
+        this.curx = this.movx;
+        this.cury = this.movy;
+    }
+
+    @Override
+    public boolean isDone() {
+        return this.done;
+    }
+
+    /** Replies the crossings for the visited path.
+     *
+     * @param type is the type of special computation to apply. If <code>null</code>, it
+     *     is equivalent to {@link CrossingComputationType#STANDARD}.
+     * @return the crossing or {@link MathConstants#SHAPE_INTERSECTS}
+     */
+    int getCrossings(CrossingComputationType type) {
+        if (!this.started) {
+            return this.emptyCrossings;
+        }
+        if (this.done) {
+            return this.crossings;
+        }
+        assert this.crossings != MathConstants.SHAPE_INTERSECTS;
+        final boolean isOpen = (this.curx != this.movx) || (this.cury != this.movy);
+        if (isOpen && type != null) {
+            switch (type) {
+            case AUTO_CLOSE:
+                crossesTo(this.movx, this.movy);
+                break;
+            case SIMPLE_INTERSECTION_WHEN_NOT_POLYGON:
+                // Assume that when is the path is open, only
+                // SHAPE_INTERSECTS may be return
+                this.crossings = 0;
+                break;
+            case STANDARD:
+            default:
+                break;
+            }
+        }
+        return this.crossings;
+    }
+
+    /** Crossings with the ray extending to the right from a point.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 13.0
+     */
+    static class PointShadow extends CrossingsPathVisitor2afp {
+
+        private final double px;
+
+        private final double py;
+
+        /** Constructor.
+         *
+         * @param crossings is the initial value for crossing.
+         * @param px is the reference point to test.
+         * @param py is the reference point to test.
+         */
+        PointShadow(int crossings, double px, double py) {
+            super(crossings, 0, false);
+            this.px = px;
+            this.py = py;
+        }
+
+        @Override
+        protected int crosses(int crossings, double x0, double y0, double x1, double y1) {
+            return crossings + Segment2afp.calculatesCrossingsPointShadowSegment(this.px, this.py, x0, y0, x1, y1);
+        }
+
+        @Override
+        protected boolean touches(double x, double y) {
+            return x == this.px && y == this.py;
+        }
+
+    }
+
+    /** Crossings with the shadow of an ellipse.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 13.0
+     */
+    static class EllipseShadow extends CrossingsPathVisitor2afp {
+
+        private final double ex;
+
+        private final double ey;
+
+        private final double ew;
+
+        private final double eh;
+
+        /** Constructor.
+         *
+         * @param crossings is the initial value for crossing.
+         * @param ex is the first point of the ellipse.
+         * @param ey is the first point of the ellipse.
+         * @param ew is the width of the ellipse.
+         * @param eh is the height of the ellipse.
+         */
+        EllipseShadow(int crossings, double ex, double ey, double ew, double eh) {
+            super(crossings, 0, false);
+            this.ex = ex;
+            this.ey = ey;
+            this.ew = ew;
+            this.eh = eh;
+        }
+
+        @Override
+        protected int crosses(int crossings, double x0, double y0, double x1, double y1) {
+            return Segment2afp.calculatesCrossingsEllipseShadowSegment(crossings,
+                    this.ex, this.ey, this.ew, this.eh, x0, y0, x1, y1);
+        }
+
+    }
+
+    /** Crossings with the shadow of a circle.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 13.0
+     */
+    static class CircleShadow extends CrossingsPathVisitor2afp {
+
+        private final double cx;
+
+        private final double cy;
+
+        private final double radius;
+
+        /** Constructor.
+         *
+         * @param crossings is the initial value for crossing.
+         * @param cx is the center of the circle.
+         * @param cy is the center of the circle.
+         * @param radius is the radius of the circle.
+         */
+        CircleShadow(int crossings, double cx, double cy, double radius) {
+            super(crossings, 0, false);
+            this.cx = cx;
+            this.cy = cy;
+            this.radius = radius;
+        }
+
+        @Override
+        protected int crosses(int crossings, double x0, double y0, double x1, double y1) {
+            return Segment2afp.calculatesCrossingsCircleShadowSegment(crossings,
+                    this.cx, this.cy, this.radius, x0, y0, x1, y1);
+        }
+
+    }
+
+    /** Crossings with the shadow of a rectangle.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 13.0
+     */
+    static class RectangleShadow extends CrossingsPathVisitor2afp {
+
+        private final double rxmin;
+
+        private final double rymin;
+
+        private final double rxmax;
+
+        private final double rymax;
+
+        /** Constructor.
+         *
+         * @param crossings is the initial value for crossing.
+         * @param rxmin is the first corner of the rectangle.
+         * @param rymin is the first corner of the rectangle.
+         * @param rxmax is the second corner of the rectangle.
+         * @param rymax is the second corner of the rectangle.
+         */
+        RectangleShadow(int crossings, double rxmin, double rymin, double rxmax, double rymax) {
+            super(crossings, 0, true);
+            this.rxmin = rxmin;
+            this.rymin = rymin;
+            this.rxmax = rxmax;
+            this.rymax = rymax;
+        }
+
+        @Override
+        protected int crosses(int crossings, double x0, double y0, double x1, double y1) {
+            return Segment2afp.calculatesCrossingsRectangleShadowSegment(crossings,
+                    this.rxmin, this.rymin, this.rxmax, this.rymax, x0, y0, x1, y1);
+        }
+
+    }
+
+    /** Crossings with the shadow of a round rectangle.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 13.0
+     */
+    static class RoundRectangleShadow extends CrossingsPathVisitor2afp {
+
+        private final double rxmin;
+
+        private final double rymin;
+
+        private final double rxmax;
+
+        private final double rymax;
+
+        private final double arcWidth;
+
+        private final double arcHeight;
+
+        /** Constructor.
+         *
+         * @param crossings is the initial value for crossing.
+         * @param rxmin is the first corner of the rectangle.
+         * @param rymin is the first corner of the rectangle.
+         * @param rxmax is the second corner of the rectangle.
+         * @param rymax is the second corner of the rectangle.
+         * @param arcWidth is the width of the arc.
+         * @param arcHeight is the height of the arc.
+         */
+        @SuppressWarnings("checkstyle:parameternumber")
+        RoundRectangleShadow(int crossings, double rxmin, double rymin, double rxmax, double rymax,
+                double arcWidth, double arcHeight) {
+            super(crossings, 0, true);
+            this.rxmin = rxmin;
+            this.rymin = rymin;
+            this.rxmax = rxmax;
+            this.rymax = rymax;
+            this.arcWidth = arcWidth;
+            this.arcHeight = arcHeight;
+        }
+
+        @Override
+        protected int crosses(int crossings, double x0, double y0, double x1, double y1) {
+            return Segment2afp.calculatesCrossingsRoundRectangleShadowSegment(crossings,
+                    this.rxmin, this.rymin, this.rxmax, this.rymax, this.arcWidth, this.arcHeight,
+                    x0, y0, x1, y1);
+        }
+
+    }
+
+    /** Crossings with the shadow of a segment.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 13.0
+     */
+    static class SegmentShadow extends CrossingsPathVisitor2afp {
+
+        private final double sx1;
+
+        private final double sy1;
+
+        private final double sx2;
+
+        private final double sy2;
+
+        /** Constructor.
+         *
+         * @param crossings is the initial value for crossing.
+         * @param sx1 is the first point of the segment.
+         * @param sy1 is the first point of the segment.
+         * @param sx2 is the second point of the segment.
+         * @param sy2 is the second point of the segment.
+         */
+        SegmentShadow(int crossings, double sx1, double sy1, double sx2, double sy2) {
+            super(crossings, crossings, true);
+            this.sx1 = sx1;
+            this.sy1 = sy1;
+            this.sx2 = sx2;
+            this.sy2 = sy2;
+        }
+
+        @Override
+        protected int crosses(int crossings, double x0, double y0, double x1, double y1) {
+            return Segment2afp.calculatesCrossingsSegmentShadowSegment(crossings,
+                    this.sx1, this.sy1, this.sx2, this.sy2, x0, y0, x1, y1);
+        }
+
+    }
+
+    /** Crossings with the shadow of a triangle.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 13.0
+     */
+    static class TriangleShadow extends CrossingsPathVisitor2afp {
+
+        private final double tx1;
+
+        private final double ty1;
+
+        private final double tx2;
+
+        private final double ty2;
+
+        private final double tx3;
+
+        private final double ty3;
+
+        /** Constructor.
+         *
+         * @param crossings is the initial value for crossing.
+         * @param tx1 is the first point of the triangle.
+         * @param ty1 is the first point of the triangle.
+         * @param tx2 is the second point of the triangle.
+         * @param ty2 is the second point of the triangle.
+         * @param tx3 is the third point of the triangle.
+         * @param ty3 is the third point of the triangle.
+         */
+        @SuppressWarnings("checkstyle:parameternumber")
+        TriangleShadow(int crossings, double tx1, double ty1, double tx2, double ty2, double tx3, double ty3) {
+            super(crossings, 0, true);
+            this.tx1 = tx1;
+            this.ty1 = ty1;
+            this.tx2 = tx2;
+            this.ty2 = ty2;
+            this.tx3 = tx3;
+            this.ty3 = ty3;
+        }
+
+        @Override
+        protected int crosses(int crossings, double x0, double y0, double x1, double y1) {
+            return Segment2afp.calculatesCrossingsTriangleShadowSegment(crossings,
+                    this.tx1, this.ty1, this.tx2, this.ty2, this.tx3, this.ty3,
+                    x0, y0, x1, y1);
+        }
+
+    }
+
+}
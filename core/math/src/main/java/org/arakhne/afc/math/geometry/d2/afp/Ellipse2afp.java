@@ -29,6 +29,7 @@ import org.arakhne.afc.math.Unefficient;
 import org.arakhne.afc.math.geometry.CrossingComputationType;
 import org.arakhne.afc.math.geometry.PathWindingRule;
 import org.arakhne.afc.math.geometry.d2.Point2D;
+import org.arakhne.afc.math.geometry.d2.ShapeKind2D;
 import org.arakhne.afc.math.geometry.d2.Transform2D;
 import org.arakhne.afc.math.geometry.d2.Vector2D;
 import org.arakhne.afc.math.geometry.d2.afp.Circle2afp.AbstractCirclePathIterator;
@@ -696,6 +697,12 @@ public interface Ellipse2afp<
         return (nearx * nearx + neary * neary) < 0.25;
     }
 
+    @Pure
+    @Override
+    default ShapeKind2D getShapeKind() {
+        return ShapeKind2D.ELLIPSE;
+    }
+
     @Pure
     @Override
     default boolean equalsToShape(IT shape) {
@@ -0,0 +1,109 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import org.arakhne.afc.math.geometry.PathElementType;
+import org.arakhne.afc.math.geometry.d2.Point2D;
+
+/** Visitor on a path that computes the point of the path that is the farthest to a given point.
+ *
+ * <p>This visitor supports only the moves, the straight lines and the closing elements.
+ * The curves must be flattened before reaching this visitor, e.g. with a
+ * {@link FlatteningPathVisitor2afp}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+class FarthestPointPathVisitor2afp implements PathVisitor2afp {
+
+    private final double x;
+
+    private final double y;
+
+    private final Point2D<?, ?> result;
+
+    private final Point2D<?, ?> point = new InnerComputationPoint2afp();
+
+    private double bestDist = Double.NEGATIVE_INFINITY;
+
+    private double movx;
+
+    private double movy;
+
+    private double curx;
+
+    private double cury;
+
+    /** Constructor.
+     *
+     * @param x x coordinate of the point.
+     * @param y y coordinate of the point.
+     * @param result the farthest point on the shape.
+     */
+    FarthestPointPathVisitor2afp(double x, double y, Point2D<?, ?> result) {
+        this.x = x;
+        this.y = y;
+        this.result = result;
+    }
+
+    private void farthest(double x1, double y1) {
+        Segment2afp.findsFarthestPointSegmentPoint(this.curx, this.cury, x1, y1, this.x, this.y, this.point);
+        final double d = Point2D.getDistanceSquaredPointPoint(this.x, this.y, this.point.getX(), this.point.getY());
+        if (d > this.bestDist) {
+            this.bestDist = d;
+            this.result.set(this.point.getX(), this.point.getY());
+        }
+        this.curx = x1;
+        this.cury = y1;
+    }
+
+    @Override
+    public void moveTo(double px, double py) {
+        this.movx = px;
+        this.movy = py;
+        this.curx = px;
+        this.cury = py;
+    }
+
+    @Override
+    public void lineTo(double px, double py) {
+        farthest(px, py);
+    }
+
+    @Override
+    public void quadTo(double ctrlx, double ctrly, double px, double py) {
+        throw new IllegalStateException(PathElementType.QUAD_TO.toString());
+    }
+
+    @Override
+    public void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double px, double py) {
+        throw new IllegalStateException(PathElementType.CURVE_TO.toString());
+    }
+
+    @Override
+    public void closePath() {
+        farthest(this.movx, this.movy);
+    }
+
+}
@@ -0,0 +1,240 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import org.arakhne.afc.math.MathConstants;
+import org.arakhne.afc.math.geometry.d2.afp.Path2afp.FlatteningPathIterator;
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
+/** A path visitor that is flattening the curves of the path before forwarding them to another visitor.
+ *
+ * <p>The moves, the lines and the closing elements are forwarded as-is. The quadratic and cubic curves
+ * are approximated by lines with the same algorithm as {@link FlatteningPathIterator}. The subdivision
+ * buffers are allocated once and reused for all the curves.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+public class FlatteningPathVisitor2afp implements PathVisitor2afp {
+
+    /** The visitor that is receiving the flattened elements.
+     */
+    private final PathVisitor2afp visitor;
+
+    /**
+     * Square of the flatness parameter for testing against squared lengths.
+     */
+    private final double squaredFlatness;
+
+    /**
+     * Maximum number of recursion levels.
+     */
+    private final int limit;
+
+    /** The recursion level at which each curve being held in storage was generated.
+     */
+    private final int[] levels;
+
+    /** The cache of interpolated coords.
+     */
+    private double[] hold = new double[14];
+
+    /** The index of the last curve segment being held for interpolation.
+     */
+    private int holdEnd;
+
+    /** The index of the curve segment that was last interpolated.
+     */
+    private int holdIndex;
+
+    /** The ending x of the last segment.
+     */
+    private double currentX;
+
+    /** The ending y of the last segment.
+     */
+    private double currentY;
+
+    /** The x of the last move segment.
+     */
+    private double moveX;
+
+    /** The y of the last move segment.
+     */
+    private double moveY;
+
+    /** Constructor with the default flatness and recursion limit.
+     *
+     * @param visitor the visitor that is receiving the flattened elements.
+     */
+    public FlatteningPathVisitor2afp(PathVisitor2afp visitor) {
+        this(visitor, MathConstants.SPLINE_APPROXIMATION_RATIO, Path2afp.DEFAULT_FLATTENING_LIMIT);
+    }
+
+    /** Constructor.
+     *
+     * @param visitor the visitor that is receiving the flattened elements.
+     * @param flatness the maximum allowable distance between the
+     *     control points and the flattened curve
+     * @param limit the maximum number of recursive subdivisions
+     *     allowed for any curved segment
+     */
+    public FlatteningPathVisitor2afp(PathVisitor2afp visitor, double flatness, int limit) {
+        assert visitor != null : AssertMessages.notNullParameter(0);
+        assert flatness >= 0. : AssertMessages.positiveOrZeroParameter(1);
+        assert limit >= 0 : AssertMessages.positiveOrZeroParameter(2);
+        this.visitor = visitor;
+        this.squaredFlatness = flatness * flatness;
+        this.limit = limit;
+        this.levels = new int[limit + 1];
+    }
+
+    /**
+     * Ensures that the hold array can hold up to (want) more values.
+     * It is currently holding (hold.length - holdIndex) values.
+     */
+    private void ensureHoldCapacity(int want) {
+        if (this.holdIndex - want < 0) {
+            final int have = this.hold.length - this.holdIndex;
+            final int newsize = this.hold.length + Path2afp.GROW_SIZE;
+            final double[] newhold = new double[newsize];
+            System.arraycopy(this.hold, this.holdIndex,
+                    newhold, this.holdIndex + Path2afp.GROW_SIZE,
+                    have);
+            this.hold = newhold;
+            this.holdIndex += Path2afp.GROW_SIZE;
+            this.holdEnd += Path2afp.GROW_SIZE;
+        }
+    }
+
+    @Override
+    public void moveTo(double x, double y) {
+        this.currentX = x;
+        this.currentY = y;
+        this.moveX = x;
+        this.moveY = y;
+        this.visitor.moveTo(x, y);
+    }
+
+    @Override
+    public void lineTo(double x, double y) {
+        this.currentX = x;
+        this.currentY = y;
+        this.visitor.lineTo(x, y);
+    }
+
+    @Override
+    public void quadTo(double ctrlx, double ctrly, double x, double y) {
+        // Move the coordinates to the end of the array.
+        this.holdIndex = this.hold.length - 6;
+        this.holdEnd = this.hold.length - 2;
+        this.hold[this.holdIndex + 0] = this.currentX;
+        this.hold[this.holdIndex + 1] = this.currentY;
+        this.hold[this.holdIndex + 2] = ctrlx;
+        this.hold[this.holdIndex + 3] = ctrly;
+        this.hold[this.holdIndex + 4] = x;
+        this.hold[this.holdIndex + 5] = y;
+        this.currentX = x;
+        this.currentY = y;
+        int levelIndex = 0;
+        this.levels[0] = 0;
+        do {
+            int level = this.levels[levelIndex];
+            while (level < this.limit) {
+                if (FlatteningPathIterator.getQuadSquaredFlatness(this.hold, this.holdIndex) < this.squaredFlatness) {
+                    break;
+                }
+                ensureHoldCapacity(4);
+                FlatteningPathIterator.subdivideQuad(
+                        this.hold, this.holdIndex,
+                        this.hold, this.holdIndex - 4,
+                        this.hold, this.holdIndex);
+                this.holdIndex -= 4;
+                level++;
+                this.levels[levelIndex] = level;
+                levelIndex++;
+                this.levels[levelIndex] = level;
+            }
+            this.holdIndex += 4;
+            levelIndex--;
+            this.visitor.lineTo(this.hold[this.holdIndex], this.hold[this.holdIndex + 1]);
+        }
+        while (this.holdIndex < this.holdEnd && !this.visitor.isDone());
+    }
+
+    @Override
+    public void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double x, double y) {
+        // Move the coordinates to the end of the array.
+        this.holdIndex = this.hold.length - 8;
+        this.holdEnd = this.hold.length - 2;
+        this.hold[this.holdIndex + 0] = this.currentX;
+        this.hold[this.holdIndex + 1] = this.currentY;
+        this.hold[this.holdIndex + 2] = ctrlx1;
+        this.hold[this.holdIndex + 3] = ctrly1;
+        this.hold[this.holdIndex + 4] = ctrlx2;
+        this.hold[this.holdIndex + 5] = ctrly2;
+        this.hold[this.holdIndex + 6] = x;
+        this.hold[this.holdIndex + 7] = y;
+        this.currentX = x;
+        this.currentY = y;
+        int levelIndex = 0;
+        this.levels[0] = 0;
+        do {
+            int level = this.levels[levelIndex];
+            while (level < this.limit) {
+                if (FlatteningPathIterator.getCurveSquaredFlatness(this.hold, this.holdIndex) < this.squaredFlatness) {
+                    break;
+                }
+                ensureHoldCapacity(6);
+                FlatteningPathIterator.subdivideCurve(
+                        this.hold, this.holdIndex,
+                        this.hold, this.holdIndex - 6,
+                        this.hold, this.holdIndex);
+                this.holdIndex -= 6;
+                level++;
+                this.levels[levelIndex] = level;
+                levelIndex++;
+                this.levels[levelIndex] = level;
+            }
+            this.holdIndex += 6;
+            levelIndex--;
+            this.visitor.lineTo(this.hold[this.holdIndex], this.hold[this.holdIndex + 1]);
+        }
+        while (this.holdIndex < this.holdEnd && !this.visitor.isDone());
+    }
+
+    @Override
+    public void closePath() {
+        this.currentX = this.moveX;
+        this.currentY = this.moveY;
+        this.visitor.closePath();
+    }
+
+    @Override
+    public boolean isDone() {
+        return this.visitor.isDone();
+    }
+
+}
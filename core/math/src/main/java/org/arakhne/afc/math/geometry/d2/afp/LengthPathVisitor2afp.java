@@ -0,0 +1,110 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import org.arakhne.afc.math.geometry.PathElementType;
+import org.arakhne.afc.math.geometry.d2.Point2D;
+import org.arakhne.afc.vmutil.locale.Locale;
+
+/** Visitor on a path that computes the length of the path.
+ *
+ * <p>This visitor supports only the moves, the straight lines and the closing elements.
+ * The curves must be flattened before reaching this visitor, e.g. with a
+ * {@link FlatteningPathVisitor2afp}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+class LengthPathVisitor2afp implements PathVisitor2afp {
+
+    private boolean started;
+
+    private double length;
+
+    private double movx;
+
+    private double movy;
+
+    private double curx;
+
+    private double cury;
+
+    /** Constructor.
+     */
+    LengthPathVisitor2afp() {
+        //
+    }
+
+    private void ensureStarted() {
+        if (!this.started) {
+            throw new IllegalArgumentException(Locale.getString(Path2afp.class, "E1")); //$NON-NLS-1$
+        }
+    }
+
+    @Override
+    public void moveTo(double x, double y) {
+        this.started = true;
+        this.movx = x;
+        this.movy = y;
+        this.curx = x;
+        this.cury = y;
+    }
+
+    @Override
+    public void lineTo(double x, double y) {
+        ensureStarted();
+        this.length += Point2D.getDistancePointPoint(this.curx, this.cury, x, y);
+        this.curx = x;
+        this.cury = y;
+    }
+
+    @Override
+    public void quadTo(double ctrlx, double ctrly, double x, double y) {
+        throw new IllegalStateException(PathElementType.QUAD_TO.toString());
+    }
+
+    @Override
+    public void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double x, double y) {
+        throw new IllegalStateException(PathElementType.CURVE_TO.toString());
+    }
+
+    @Override
+    public void closePath() {
+        ensureStarted();
+        if (this.curx != this.movx || this.cury != this.movy) {
+            this.length += Point2D.getDistancePointPoint(this.curx, this.cury, this.movx, this.movy);
+        }
+        this.curx = this.movx;
+        this.cury = this.movy;
+    }
+
+    /** Replies the computed length.
+     *
+     * @return the length of the visited path.
+     */
+    double getLength() {
+        return this.length;
+    }
+
+}
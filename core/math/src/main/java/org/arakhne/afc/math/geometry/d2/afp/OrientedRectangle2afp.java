@@ -30,6 +30,7 @@ import org.arakhne.afc.math.Unefficient;
 import org.arakhne.afc.math.geometry.CrossingComputationType;
 import org.arakhne.afc.math.geometry.PathWindingRule;
 import org.arakhne.afc.math.geometry.d2.Point2D;
+import org.arakhne.afc.math.geometry.d2.ShapeKind2D;
 import org.arakhne.afc.math.geometry.d2.Transform2D;
 import org.arakhne.afc.math.geometry.d2.Tuple2D;
 import org.arakhne.afc.math.geometry.d2.Vector2D;
@@ -1076,6 +1077,12 @@ public interface OrientedRectangle2afp<
                 || (crossings & mask) != 0;
     }
 
+    @Pure
+    @Override
+    default ShapeKind2D getShapeKind() {
+        return ShapeKind2D.ORIENTED_RECTANGLE;
+    }
+
     @Pure
     @Override
     @SuppressWarnings("checkstyle:booleanexpressioncomplexity")
@@ -420,10 +420,7 @@ public interface Path2afp<
     default P getClosestPointTo(Point2D<?, ?> pt) {
         assert pt != null : AssertMessages.notNullParameter();
         final P point = getGeomFactory().newPoint();
-        Path2afp.findsClosestPointPathIteratorPoint(
-                getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
-                pt.getX(), pt.getY(),
-                point);
+        PathVisitors2afp.findsClosestPointPathPoint(this, pt.getX(), pt.getY(), point);
         return point;
     }
 
@@ -567,10 +564,7 @@ public interface Path2afp<
     default P getFarthestPointTo(Point2D<?, ?> pt) {
         assert pt != null : AssertMessages.notNullParameter();
         final P point = getGeomFactory().newPoint();
-        Path2afp.findsFarthestPointPathIteratorPoint(
-                getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
-                pt.getX(), pt.getY(),
-                point);
+        PathVisitors2afp.findsFarthestPointPathPoint(this, pt.getX(), pt.getY(), point);
         return point;
     }
 
@@ -2830,13 +2824,13 @@ public interface Path2afp<
     @Pure
     @Override
     default boolean contains(double x, double y) {
-        return containsPoint(getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO), x, y);
+        return PathVisitors2afp.containsPoint(this, x, y);
     }
 
     @Override
     default boolean contains(Rectangle2afp<?, ?, ?, ?, ?, ?> rectangle) {
         assert rectangle != null : AssertMessages.notNullParameter();
-        return containsRectangle(getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
+        return PathVisitors2afp.containsRectangle(this,
                 rectangle.getMinX(), rectangle.getMinY(), rectangle.getWidth(), rectangle.getHeight());
     }
 
@@ -2849,8 +2843,8 @@ public interface Path2afp<
             return false;
         }
         final int mask = getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 2;
-        final int crossings = calculatesCrossingsPathIteratorRectangleShadow(
-                0, getPathIterator(),
+        final int crossings = PathVisitors2afp.calculatesCrossingsPathRectangleShadow(
+                0, this,
                 rectangle.getMinX(), rectangle.getMinY(), rectangle.getMaxX(), rectangle.getMaxY(),
                 CrossingComputationType.SIMPLE_INTERSECTION_WHEN_NOT_POLYGON);
         return crossings == MathConstants.SHAPE_INTERSECTS
@@ -2869,9 +2863,9 @@ public interface Path2afp<
     default boolean intersects(Ellipse2afp<?, ?, ?, ?, ?, ?> ellipse) {
         assert ellipse != null : AssertMessages.notNullParameter();
         final int mask = getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 2;
-        final int crossings = calculatesCrossingsPathIteratorEllipseShadow(
+        final int crossings = PathVisitors2afp.calculatesCrossingsPathEllipseShadow(
                 0,
-                getPathIterator(),
+                this,
                 ellipse.getMinX(), ellipse.getMinY(), ellipse.getWidth(), ellipse.getHeight(),
                 CrossingComputationType.SIMPLE_INTERSECTION_WHEN_NOT_POLYGON);
         return crossings == MathConstants.SHAPE_INTERSECTS
@@ -2883,9 +2877,9 @@ public interface Path2afp<
     default boolean intersects(Circle2afp<?, ?, ?, ?, ?, ?> circle) {
         assert circle != null : AssertMessages.notNullParameter();
         final int mask = getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 2;
-        final int crossings = calculatesCrossingsPathIteratorCircleShadow(
+        final int crossings = PathVisitors2afp.calculatesCrossingsPathCircleShadow(
                 0,
-                getPathIterator(),
+                this,
                 circle.getX(), circle.getY(), circle.getRadius(),
                 CrossingComputationType.SIMPLE_INTERSECTION_WHEN_NOT_POLYGON);
         return crossings == MathConstants.SHAPE_INTERSECTS
@@ -2897,9 +2891,9 @@ public interface Path2afp<
     default boolean intersects(Segment2afp<?, ?, ?, ?, ?, ?> segment) {
         assert segment != null : AssertMessages.notNullParameter();
         final int mask = getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 2;
-        final int crossings = calculatesCrossingsPathIteratorSegmentShadow(
+        final int crossings = PathVisitors2afp.calculatesCrossingsPathSegmentShadow(
                 0,
-                getPathIterator(),
+                this,
                 segment.getX1(), segment.getY1(), segment.getX2(), segment.getY2(),
                 CrossingComputationType.SIMPLE_INTERSECTION_WHEN_NOT_POLYGON);
         return crossings == MathConstants.SHAPE_INTERSECTS
@@ -2911,9 +2905,9 @@ public interface Path2afp<
     default boolean intersects(Triangle2afp<?, ?, ?, ?, ?, ?> triangle) {
         assert triangle != null : AssertMessages.notNullParameter();
         final int mask = getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 2;
-        final int crossings = calculatesCrossingsPathIteratorTriangleShadow(
+        final int crossings = PathVisitors2afp.calculatesCrossingsPathTriangleShadow(
                 0,
-                getPathIterator(),
+                this,
                 triangle.getX1(), triangle.getY1(), triangle.getX2(), triangle.getY2(), triangle.getX3(), triangle.getY3(),
                 CrossingComputationType.SIMPLE_INTERSECTION_WHEN_NOT_POLYGON);
         return crossings == MathConstants.SHAPE_INTERSECTS
@@ -2986,6 +2980,36 @@ public interface Path2afp<
     @Pure
     double getCoordAt(int index);
 
+    /** Visit the elements of this path with the given visitor, without allocating path elements.
+     *
+     * <p>The elements are replied in the same order as by {@link #getPathIterator()}: the curves are
+     * not flattened. Wrap the visitor into a {@link FlatteningPathVisitor2afp} for obtaining the flattened elements.
+     * The traversal is stopped as soon as {@link PathVisitor2afp#isDone()} replies <code>true</code>.
+     *
+     * @param visitor the visitor.
+     */
+    default void visit(PathVisitor2afp visitor) {
+        PathVisitors2afp.visitElements(this, visitor);
+    }
+
+    /** Visit the elements of this path with the given visitor after flattening the curves.
+     *
+     * <p>The visitor receives the same elements as the ones replied by {@link #getPathIterator(double)}.
+     * The implementations may reuse a flattening that was computed for a previous call.
+     *
+     * @param visitor the visitor that is receiving the moves, the lines and the closing elements.
+     * @param flatness the maximum allowable distance between the control points and the flattened curve.
+     */
+    default void visit(PathVisitor2afp visitor, double flatness) {
+        assert visitor != null : AssertMessages.notNullParameter(0);
+        assert flatness >= 0. : AssertMessages.positiveOrZeroParameter(1);
+        if (isCurved()) {
+            visit(new FlatteningPathVisitor2afp(visitor, flatness, DEFAULT_FLATTENING_LIMIT));
+        } else {
+            visit(visitor);
+        }
+    }
+
     /** Change the coordinates of the last inserted point.
      *
      * @param x the new x coordinate of the last point.
@@ -3009,7 +3033,7 @@ public interface Path2afp<
 
     @Override
     default double getLength() {
-        return calculatesPathLength(getPathIterator());
+        return PathVisitors2afp.calculatesPathLength(this);
     }
 
     @Override
@@ -3058,6 +3082,9 @@ public interface Path2afp<
      */
     @Pure
     default PathIterator2afp<IE> getPathIterator(Transform2D transform, double flatness) {
+        if (transform == null) {
+            return getPathIterator(flatness);
+        }
         return new FlatteningPathIterator<>(getPathIterator(transform), flatness, DEFAULT_FLATTENING_LIMIT);
     }
 
@@ -3070,10 +3097,7 @@ public interface Path2afp<
      */
     @Pure
     default PathIterator2afp<IE> getFlatteningPathIterator() {
-        return new FlatteningPathIterator<>(
-                getPathIterator(null),
-                MathConstants.SPLINE_APPROXIMATION_RATIO,
-                Path2afp.DEFAULT_FLATTENING_LIMIT);
+        return getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO);
     }
 
     /** Replies the x coordinate of the last point in the path.
@@ -3114,9 +3138,7 @@ public interface Path2afp<
     @Override
     default void toBoundingBox(B box) {
         assert box != null : AssertMessages.notNullParameter();
-        Path2afp.calculatesDrawableElementBoundingBox(
-                getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
-                box);
+        PathVisitors2afp.calculatesDrawableElementBoundingBox(this, box);
     }
 
     /** Abstract iterator on the path elements of the path.
@@ -3596,7 +3618,7 @@ public interface Path2afp<
          * @return the flatness of the quadratic curve that is defined by the
          *          values in the specified array at the specified index.
          */
-        private static double getQuadSquaredFlatness(double[] coords, int offset) {
+        static double getQuadSquaredFlatness(double[] coords, int offset) {
             return Segment2afp.calculatesDistanceSquaredLinePoint(
                     coords[offset + 0], coords[offset + 1],
                     coords[offset + 4], coords[offset + 5],
@@ -3630,7 +3652,7 @@ public interface Path2afp<
          * @param rightoff the offset into the array of the beginning of the
          *     the 6 right coordinates
          */
-        private static void subdivideQuad(double[] src, int srcoff,
+        static void subdivideQuad(double[] src, int srcoff,
                 double[] left, int leftoff,
                 double[] right, int rightoff) {
             double x1 = src[srcoff + 0];
@@ -3679,7 +3701,7 @@ public interface Path2afp<
          *          specified by the coordinates in <code>coords</code> at
          *          the specified offset.
          */
-        private static double getCurveSquaredFlatness(double[] coords, int offset) {
+        static double getCurveSquaredFlatness(double[] coords, int offset) {
             return Math.max(
                     Segment2afp.calculatesDistanceSquaredSegmentPoint(
                             coords[offset + 6],
@@ -3719,7 +3741,7 @@ public interface Path2afp<
          * @param right the array for storing the coordinates for the second half of the subdivided curve
          * @param rightoff the offset into the array of the beginning of the 6 right coordinates
          */
-        private static void subdivideCurve(
+        static void subdivideCurve(
                 double[] src, int srcoff,
                 double[] left, int leftoff,
                 double[] right, int rightoff) {
@@ -3975,6 +3997,4 @@ public interface Path2afp<
         }
 
     }
-
 }
-
@@ -0,0 +1,90 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+/** Visitor on the elements of a path that receives the coordinates as primitive values.
+ *
+ * <p>This interface is the allocation-free counterpart of {@link PathIterator2afp}: the path
+ * invokes the callbacks for each of its elements, in order, without creating any
+ * {@link PathElement2afp}. The starting point of a drawing element is the ending point of
+ * the previous element and must be tracked by the visitor if it is needed.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ * @see Path2afp#visit(PathVisitor2afp)
+ */
+public interface PathVisitor2afp {
+
+    /** Invoked for a move to the given point.
+     *
+     * @param x x coordinate of the target point.
+     * @param y y coordinate of the target point.
+     */
+    void moveTo(double x, double y);
+
+    /** Invoked for a straight line from the current point to the given point.
+     *
+     * @param x x coordinate of the target point.
+     * @param y y coordinate of the target point.
+     */
+    void lineTo(double x, double y);
+
+    /** Invoked for a quadratic curve from the current point to the given point.
+     *
+     * @param ctrlx x coordinate of the control point.
+     * @param ctrly y coordinate of the control point.
+     * @param x x coordinate of the target point.
+     * @param y y coordinate of the target point.
+     */
+    void quadTo(double ctrlx, double ctrly, double x, double y);
+
+    /** Invoked for a cubic curve from the current point to the given point.
+     *
+     * @param ctrlx1 x coordinate of the first control point.
+     * @param ctrly1 y coordinate of the first control point.
+     * @param ctrlx2 x coordinate of the second control point.
+     * @param ctrly2 y coordinate of the second control point.
+     * @param x x coordinate of the target point.
+     * @param y y coordinate of the target point.
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double x, double y);
+
+    /** Invoked for closing the current subpath, i.e. a straight line from the current point
+     * to the point of the last move.
+     */
+    void closePath();
+
+    /** Replies if the visitor does not need to receive more elements.
+     *
+     * <p>This function is invoked by the path after each element for stopping the traversal
+     * as soon as possible.
+     *
+     * @return <code>true</code> if the traversal could be stopped.
+     */
+    default boolean isDone() {
+        return false;
+    }
+
+}
@@ -0,0 +1,453 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import org.arakhne.afc.math.MathConstants;
+import org.arakhne.afc.math.geometry.CrossingComputationType;
+import org.arakhne.afc.math.geometry.PathWindingRule;
+import org.arakhne.afc.math.geometry.d2.Point2D;
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
+/** Functions on the paths that are computed by {@link PathVisitor2afp path visitors}.
+ *
+ * <p>The functions are the allocation-free equivalents of the functions of {@link Path2afp} that
+ * are taking a {@link PathIterator2afp}: the path elements are pushed to the visitors instead of
+ * being allocated by an iterator.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+public final class PathVisitors2afp {
+
+    private PathVisitors2afp() {
+        //
+    }
+
+    /** Visit the elements of the given path with the given visitor, without allocating path elements.
+     *
+     * <p>The elements are read one by one with {@link Path2afp#getPathElementTypeAt(int)} and
+     * {@link Path2afp#getCoordAt(int)}. It is the default implementation of {@link Path2afp#visit(PathVisitor2afp)}.
+     *
+     * @param path the path to visit.
+     * @param visitor the visitor.
+     */
+    public static void visitElements(Path2afp<?, ?, ?, ?, ?, ?> path, PathVisitor2afp visitor) {
+        assert path != null : AssertMessages.notNullParameter(0);
+        assert visitor != null : AssertMessages.notNullParameter(1);
+        final int count = path.getPathElementCount();
+        int coord = 0;
+        for (int i = 0; i < count && !visitor.isDone(); ++i) {
+            switch (path.getPathElementTypeAt(i)) {
+            case MOVE_TO:
+                visitor.moveTo(path.getCoordAt(coord), path.getCoordAt(coord + 1));
+                coord += 2;
+                break;
+            case LINE_TO:
+                visitor.lineTo(path.getCoordAt(coord), path.getCoordAt(coord + 1));
+                coord += 2;
+                break;
+            case QUAD_TO:
+                visitor.quadTo(path.getCoordAt(coord), path.getCoordAt(coord + 1),
+                        path.getCoordAt(coord + 2), path.getCoordAt(coord + 3));
+                coord += 4;
+                break;
+            case CURVE_TO:
+                visitor.curveTo(path.getCoordAt(coord), path.getCoordAt(coord + 1),
+                        path.getCoordAt(coord + 2), path.getCoordAt(coord + 3),
+                        path.getCoordAt(coord + 4), path.getCoordAt(coord + 5));
+                coord += 6;
+                break;
+            case CLOSE:
+                visitor.closePath();
+                break;
+            case ARC_TO:
+            default:
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    /** Visit the given path with the given visitor after flattening the curves of the path.
+     *
+     * @param path the path to visit.
+     * @param visitor the visitor that is receiving the moves, the lines and the closing elements.
+     */
+    public static void visitFlattened(Path2afp<?, ?, ?, ?, ?, ?> path, PathVisitor2afp visitor) {
+        assert path != null : AssertMessages.notNullParameter(0);
+        assert visitor != null : AssertMessages.notNullParameter(1);
+        path.visit(visitor, MathConstants.SPLINE_APPROXIMATION_RATIO);
+    }
+
+    /** Calculates the number of times the given path crosses the ray extending to the right from (px, py).
+     *
+     * <p>This function is the allocation-free equivalent of
+     * {@link Path2afp#calculatesCrossingsPathIteratorPointShadow(int, PathIterator2afp, double, double,
+     * CrossingComputationType)}.
+     *
+     * @param crossings is the initial value for crossing.
+     * @param path is the path.
+     * @param px is the reference point to test.
+     * @param py is the reference point to test.
+     * @param type is the type of special computation to apply. If <code>null</code>, it
+     *     is equivalent to {@link CrossingComputationType#STANDARD}.
+     * @return the crossing or {@link MathConstants#SHAPE_INTERSECTS}
+     */
+    public static int calculatesCrossingsPathPointShadow(int crossings, Path2afp<?, ?, ?, ?, ?, ?> path,
+            double px, double py, CrossingComputationType type) {
+        assert path != null : AssertMessages.notNullParameter(1);
+        final CrossingsPathVisitor2afp visitor = new CrossingsPathVisitor2afp.PointShadow(crossings, px, py);
+        visitFlattened(path, visitor);
+        return visitor.getCrossings(type);
+    }
+
+    /** Calculates the number of times the given path crosses the given ellipse extending to the right.
+     *
+     * <p>This function is the allocation-free equivalent of
+     * {@link Path2afp#calculatesCrossingsPathIteratorEllipseShadow(int, PathIterator2afp, double, double, double, double,
+     * CrossingComputationType)}.
+     *
+     * @param crossings is the initial value for crossing.
+     * @param path is the path.
+     * @param ex is the first point of the ellipse.
+     * @param ey is the first point of the ellipse.
+     * @param ew is the width of the ellipse.
+     * @param eh is the height of the ellipse.
+     * @param type is the type of special computation to apply. If <code>null</code>, it
+     *     is equivalent to {@link CrossingComputationType#STANDARD}.
+     * @return the crossing or {@link MathConstants#SHAPE_INTERSECTS}
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public static int calculatesCrossingsPathEllipseShadow(int crossings, Path2afp<?, ?, ?, ?, ?, ?> path,
+            double ex, double ey, double ew, double eh, CrossingComputationType type) {
+        assert path != null : AssertMessages.notNullParameter(1);
+        assert ew >= 0. : AssertMessages.positiveOrZeroParameter(4);
+        assert eh >= 0. : AssertMessages.positiveOrZeroParameter(5);
+        final CrossingsPathVisitor2afp visitor = new CrossingsPathVisitor2afp.EllipseShadow(crossings, ex, ey, ew, eh);
+        visitFlattened(path, visitor);
+        return visitor.getCrossings(type);
+    }
+
+    /** Calculates the number of times the given path crosses the given circle extending to the right.
+     *
+     * <p>This function is the allocation-free equivalent of
+     * {@link Path2afp#calculatesCrossingsPathIteratorCircleShadow(int, PathIterator2afp, double, double, double,
+     * CrossingComputationType)}.
+     *
+     * @param crossings is the initial value for crossing.
+     * @param path is the path.
+     * @param cx is the center of the circle.
+     * @param cy is the center of the circle.
+     * @param radius is the radius of the circle.
+     * @param type is the type of special computation to apply. If <code>null</code>, it
+     *     is equivalent to {@link CrossingComputationType#STANDARD}.
+     * @return the crossing or {@link MathConstants#SHAPE_INTERSECTS}
+     */
+    public static int calculatesCrossingsPathCircleShadow(int crossings, Path2afp<?, ?, ?, ?, ?, ?> path,
+            double cx, double cy, double radius, CrossingComputationType type) {
+        assert path != null : AssertMessages.notNullParameter(1);
+        assert radius >= 0. : AssertMessages.positiveOrZeroParameter(4);
+        final CrossingsPathVisitor2afp visitor = new CrossingsPathVisitor2afp.CircleShadow(crossings, cx, cy, radius);
+        visitFlattened(path, visitor);
+        return visitor.getCrossings(type);
+    }
+
+    /** Calculates the number of times the given path crosses the given rectangle extending to the right.
+     *
+     * <p>This function is the allocation-free equivalent of
+     * {@link Path2afp#calculatesCrossingsPathIteratorRectangleShadow(int, PathIterator2afp, double, double, double, double,
+     * CrossingComputationType)}.
+     *
+     * @param crossings is the initial value for crossing.
+     * @param path is the path.
+     * @param rxmin is the first corner of the rectangle.
+     * @param rymin is the first corner of the rectangle.
+     * @param rxmax is the second corner of the rectangle.
+     * @param rymax is the second corner of the rectangle.
+     * @param type is the type of special computation to apply. If <code>null</code>, it
+     *     is equivalent to {@link CrossingComputationType#STANDARD}.
+     * @return the crossing or {@link MathConstants#SHAPE_INTERSECTS}
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public static int calculatesCrossingsPathRectangleShadow(int crossings, Path2afp<?, ?, ?, ?, ?, ?> path,
+            double rxmin, double rymin, double rxmax, double rymax, CrossingComputationType type) {
+        assert path != null : AssertMessages.notNullParameter(1);
+        assert rxmin <= rxmax : AssertMessages.lowerEqualParameters(2, rxmin, 4, rxmax);
+        assert rymin <= rymax : AssertMessages.lowerEqualParameters(3, rymin, 5, rymax);
+        final CrossingsPathVisitor2afp visitor = new CrossingsPathVisitor2afp.RectangleShadow(
+                crossings, rxmin, rymin, rxmax, rymax);
+        visitFlattened(path, visitor);
+        return visitor.getCrossings(type);
+    }
+
+    /** Calculates the number of times the given path crosses the given round rectangle extending to the right.
+     *
+     * <p>This function is the allocation-free equivalent of
+     * {@link Path2afp#calculatesCrossingsPathIteratorRoundRectangleShadow(int, PathIterator2afp, double, double, double, double,
+     * double, double, CrossingComputationType)}.
+     *
+     * @param crossings is the initial value for crossing.
+     * @param path is the path.
+     * @param x1 is the first corner of the rectangle.
+     * @param y1 is the first corner of the rectangle.
+     * @param x2 is the second corner of the rectangle.
+     * @param y2 is the second corner of the rectangle.
+     * @param arcWidth is the width of the arc.
+     * @param arcHeight is the height of the arc.
+     * @param type is the type of special computation to apply. If <code>null</code>, it
+     *     is equivalent to {@link CrossingComputationType#STANDARD}.
+     * @return the crossing or {@link MathConstants#SHAPE_INTERSECTS}
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public static int calculatesCrossingsPathRoundRectangleShadow(int crossings, Path2afp<?, ?, ?, ?, ?, ?> path,
+            double x1, double y1, double x2, double y2, double arcWidth, double arcHeight,
+            CrossingComputationType type) {
+        assert path != null : AssertMessages.notNullParameter(1);
+        assert x1 <= x2 : AssertMessages.lowerEqualParameters(2, x1, 4, x2);
+        assert y1 <= y2 : AssertMessages.lowerEqualParameters(3, y1, 5, y2);
+        final CrossingsPathVisitor2afp visitor = new CrossingsPathVisitor2afp.RoundRectangleShadow(
+                crossings, x1, y1, x2, y2, arcWidth, arcHeight);
+        visitFlattened(path, visitor);
+        return visitor.getCrossings(type);
+    }
+
+    /** Calculates the number of times the given path crosses the given segment extending to the right.
+     *
+     * <p>This function is the allocation-free equivalent of
+     * {@link Path2afp#calculatesCrossingsPathIteratorSegmentShadow(int, PathIterator2afp, double, double, double, double,
+     * CrossingComputationType)}.
+     *
+     * @param crossings is the initial value for crossing.
+     * @param path is the path.
+     * @param x1 is the first point of the segment.
+     * @param y1 is the first point of the segment.
+     * @param x2 is the second point of the segment.
+     * @param y2 is the second point of the segment.
+     * @param type is the type of special computation to apply. If <code>null</code>, it
+     *     is equivalent to {@link CrossingComputationType#STANDARD}.
+     * @return the crossing or {@link MathConstants#SHAPE_INTERSECTS}
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public static int calculatesCrossingsPathSegmentShadow(int crossings, Path2afp<?, ?, ?, ?, ?, ?> path,
+            double x1, double y1, double x2, double y2, CrossingComputationType type) {
+        assert path != null : AssertMessages.notNullParameter(1);
+        if (crossings == MathConstants.SHAPE_INTERSECTS) {
+            return crossings;
+        }
+        final CrossingsPathVisitor2afp visitor = new CrossingsPathVisitor2afp.SegmentShadow(crossings, x1, y1, x2, y2);
+        visitFlattened(path, visitor);
+        return visitor.getCrossings(type);
+    }
+
+    /** Calculates the number of times the given path crosses the given triangle extending to the right.
+     *
+     * <p>This function is the allocation-free equivalent of
+     * {@link Path2afp#calculatesCrossingsPathIteratorTriangleShadow(int, PathIterator2afp, double, double, double, double,
+     * double, double, CrossingComputationType)}.
+     *
+     * @param crossings is the initial value for crossing.
+     * @param path is the path.
+     * @param x1 is the first point of the triangle.
+     * @param y1 is the first point of the triangle.
+     * @param x2 is the second point of the triangle.
+     * @param y2 is the second point of the triangle.
+     * @param x3 is the third point of the triangle.
+     * @param y3 is the third point of the triangle.
+     * @param type is the type of special computation to apply. If <code>null</code>, it
+     *     is equivalent to {@link CrossingComputationType#STANDARD}.
+     * @return the crossing or {@link MathConstants#SHAPE_INTERSECTS}
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public static int calculatesCrossingsPathTriangleShadow(int crossings, Path2afp<?, ?, ?, ?, ?, ?> path,
+            double x1, double y1, double x2, double y2, double x3, double y3, CrossingComputationType type) {
+        assert path != null : AssertMessages.notNullParameter(1);
+        final CrossingsPathVisitor2afp visitor = new CrossingsPathVisitor2afp.TriangleShadow(
+                crossings, x1, y1, x2, y2, x3, y3);
+        visitFlattened(path, visitor);
+        return visitor.getCrossings(type);
+    }
+
+    /** Tests if the specified coordinates are inside the closed boundary of the specified path.
+     *
+     * <p>This function is the allocation-free equivalent of {@link Path2afp#containsPoint(PathIterator2afp, double, double)}.
+     *
+     * @param path the path.
+     * @param x the specified X coordinate
+     * @param y the specified Y coordinate
+     * @return {@code true} if the specified coordinates are inside the specified path; {@code false} otherwise
+     */
+    public static boolean containsPoint(Path2afp<?, ?, ?, ?, ?, ?> path, double x, double y) {
+        assert path != null : AssertMessages.notNullParameter(0);
+        final int mask = path.getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 1;
+        final int cross = calculatesCrossingsPathPointShadow(0, path, x, y,
+                CrossingComputationType.SIMPLE_INTERSECTION_WHEN_NOT_POLYGON);
+        return (cross & mask) != 0;
+    }
+
+    /** Tests if the specified rectangle is inside the closed boundary of the specified path.
+     *
+     * <p>This function is the allocation-free equivalent of
+     * {@link Path2afp#containsRectangle(PathIterator2afp, double, double, double, double)}.
+     *
+     * @param path the path.
+     * @param rx the lowest corner of the rectangle.
+     * @param ry the lowest corner of the rectangle.
+     * @param rwidth is the width of the rectangle.
+     * @param rheight is the width of the rectangle.
+     * @return {@code true} if the specified rectangle is inside the specified path; {@code false} otherwise.
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    public static boolean containsRectangle(Path2afp<?, ?, ?, ?, ?, ?> path, double rx, double ry,
+            double rwidth, double rheight) {
+        assert path != null : AssertMessages.notNullParameter(0);
+        assert rwidth >= 0. : AssertMessages.positiveOrZeroParameter(3);
+        assert rheight >= 0. : AssertMessages.positiveOrZeroParameter(4);
+        if (rwidth <= 0 || rheight <= 0) {
+            return false;
+        }
+        final int mask = path.getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 2;
+        final int crossings = calculatesCrossingsPathRectangleShadow(
+                0, path, rx, ry, rx + rwidth, ry + rheight,
+                CrossingComputationType.AUTO_CLOSE);
+        return crossings != MathConstants.SHAPE_INTERSECTS
+                && (crossings & mask) != 0;
+    }
+
+    /** Tests if the interior of the specified path intersects the interior of a specified set of rectangular
+     * coordinates.
+     *
+     * <p>This function is the allocation-free equivalent of
+     * {@link Path2afp#intersectsPathIteratorRectangle(PathIterator2afp, double, double, double, double)}.
+     *
+     * @param path the path.
+     * @param x the specified X coordinate of the rectangle.
+     * @param y the specified Y coordinate of the rectangle.
+     * @param width the width of the specified rectangular coordinates.
+     * @param height the height of the specified rectangular coordinates.
+     * @return <code>true</code> if the specified path and the interior of the specified set of rectangular
+     *         coordinates intersect each other; <code>false</code> otherwise.
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    public static boolean intersectsPathRectangle(Path2afp<?, ?, ?, ?, ?, ?> path, double x, double y,
+            double width, double height) {
+        assert path != null : AssertMessages.notNullParameter(0);
+        assert width >= 0. : AssertMessages.positiveOrZeroParameter(3);
+        assert height >= 0. : AssertMessages.positiveOrZeroParameter(4);
+        if (width <= 0 || height <= 0) {
+            return false;
+        }
+        final int mask = path.getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 2;
+        final int crossings = calculatesCrossingsPathRectangleShadow(0, path, x, y, x + width, y + height,
+                CrossingComputationType.SIMPLE_INTERSECTION_WHEN_NOT_POLYGON);
+        return crossings == MathConstants.SHAPE_INTERSECTS
+                || (crossings & mask) != 0;
+    }
+
+    /** Replies the point on the path that is closest to the given point.
+     *
+     * <p>This function is the allocation-free equivalent of
+     * {@link Path2afp#findsClosestPointPathIteratorPoint(PathIterator2afp, double, double, Point2D)}. The curves
+     * of the path are flattened on the fly.
+     *
+     * @param path the path.
+     * @param x x coordinate of the point.
+     * @param y y coordinate of the point.
+     * @param result the closest point on the shape; or the point itself if it is inside the shape.
+     */
+    public static void findsClosestPointPathPoint(Path2afp<?, ?, ?, ?, ?, ?> path, double x, double y, Point2D<?, ?> result) {
+        assert path != null : AssertMessages.notNullParameter(0);
+        assert result != null : AssertMessages.notNullParameter(3);
+        visitFlattened(path, new ClosestPointPathVisitor2afp(path.getWindingRule(), x, y, result));
+    }
+
+    /** Replies the point on the path that is farthest to the given point.
+     *
+     * <p>This function is the allocation-free equivalent of
+     * {@link Path2afp#findsFarthestPointPathIteratorPoint(PathIterator2afp, double, double, Point2D)}. The curves
+     * of the path are flattened on the fly.
+     *
+     * @param path the path.
+     * @param x x coordinate of the point.
+     * @param y y coordinate of the point.
+     * @param result the farthest point on the shape.
+     */
+    public static void findsFarthestPointPathPoint(Path2afp<?, ?, ?, ?, ?, ?> path, double x, double y, Point2D<?, ?> result) {
+        assert path != null : AssertMessages.notNullParameter(0);
+        assert result != null : AssertMessages.notNullParameter(3);
+        visitFlattened(path, new FarthestPointPathVisitor2afp(x, y, result));
+    }
+
+    /** Compute the box that corresponds to the drawable elements of the path.
+     *
+     * <p>This function is the allocation-free equivalent of
+     * {@link Path2afp#calculatesDrawableElementBoundingBox(PathIterator2afp, Rectangle2afp)}.
+     *
+     * @param path the path.
+     * @param box the box to set.
+     * @return <code>true</code> if a drawable element was found.
+     * @see #calculatesControlPointBoundingBox(Path2afp, Rectangle2afp)
+     */
+    public static boolean calculatesDrawableElementBoundingBox(Path2afp<?, ?, ?, ?, ?, ?> path,
+            Rectangle2afp<?, ?, ?, ?, ?, ?> box) {
+        assert path != null : AssertMessages.notNullParameter(0);
+        assert box != null : AssertMessages.notNullParameter(1);
+        final BoundingBoxPathVisitor2afp visitor = new BoundingBoxPathVisitor2afp();
+        visitFlattened(path, visitor);
+        return visitor.toBoundingBox(box);
+    }
+
+    /** Compute the box that corresponds to the control points of the path.
+     *
+     * <p>This function is the allocation-free equivalent of
+     * {@link Path2afp#calculatesControlPointBoundingBox(PathIterator2afp, Rectangle2afp)}.
+     *
+     * @param path the path.
+     * @param box the box to set.
+     * @return <code>true</code> if a control point was found.
+     * @see #calculatesDrawableElementBoundingBox(Path2afp, Rectangle2afp)
+     */
+    public static boolean calculatesControlPointBoundingBox(Path2afp<?, ?, ?, ?, ?, ?> path,
+            Rectangle2afp<?, ?, ?, ?, ?, ?> box) {
+        assert path != null : AssertMessages.notNullParameter(0);
+        assert box != null : AssertMessages.notNullParameter(1);
+        final BoundingBoxPathVisitor2afp visitor = new BoundingBoxPathVisitor2afp();
+        path.visit(visitor);
+        return visitor.toBoundingBox(box);
+    }
+
+    /** Compute the total length of the path.
+     *
+     * <p>This function is the allocation-free equivalent of {@link Path2afp#calculatesPathLength(PathIterator2afp)}.
+     *
+     * @param path the path.
+     * @return the length of the path.
+     */
+    public static double calculatesPathLength(Path2afp<?, ?, ?, ?, ?, ?> path) {
+        assert path != null : AssertMessages.notNullParameter();
+        final LengthPathVisitor2afp visitor = new LengthPathVisitor2afp();
+        visitFlattened(path, visitor);
+        return visitor.getLength();
+    }
+
+}
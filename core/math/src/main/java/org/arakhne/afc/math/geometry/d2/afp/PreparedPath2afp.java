@@ -0,0 +1,509 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import java.util.Arrays;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.MathConstants;
+import org.arakhne.afc.math.geometry.CrossingComputationType;
+import org.arakhne.afc.math.geometry.PathElementType;
+import org.arakhne.afc.math.geometry.PathWindingRule;
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+import org.arakhne.afc.vmutil.locale.Locale;
+
+/** Path with floating-point coordinates that is prepared for repeated containment and intersection queries.
+ *
+ * <p>The prepared path is built once from a {@link Path2afp}. The curves of the path are flattened
+ * and the resulting segments are cached. The segments are indexed on their vertical extents with a
+ * static interval tree. A query retrieves only the segments that may cross the shadow of the queried
+ * shape, and then applies the same crossing rules as {@link Path2afp}. Consequently, a query costs
+ * {@code O(log n + k)}, where {@code n} is the number of segments and {@code k} is the number of segments
+ * overlapping the vertical extent of the queried shape; and the results are identical to the ones replied
+ * by the functions of {@link Path2afp} for the same {@link PathWindingRule winding rule}.
+ *
+ * <p>The prepared path is a snapshot: the changes applied to the original path after the construction
+ * of the prepared path are not reflected. A prepared path is immutable and it may be shared between threads.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public final class PreparedPath2afp {
+
+	private static final int COORDS_PER_SEGMENT = 4;
+
+	private static final int DEFAULT_CANDIDATE_CAPACITY = 16;
+
+	/** Size of the stack for traversing the interval tree. It is large enough for the
+	 * pending ranges of a tree with at most {@link Integer#MAX_VALUE} segments.
+	 */
+	private static final int STACK_SIZE = 4 * Integer.SIZE;
+
+	private final PathWindingRule windingRule;
+
+	private final boolean started;
+
+	private final double movx;
+
+	private final double movy;
+
+	private final double curx;
+
+	private final double cury;
+
+	private final int closeCount;
+
+	/** Coordinates of the segments: x0, y0, x1, y1.
+	 */
+	private final double[] segments;
+
+	/** Number of closing elements before each segment.
+	 */
+	private final int[] groups;
+
+	/** Indexes of the segments sorted by the lowest y coordinates.
+	 */
+	private final int[] order;
+
+	/** Lowest y coordinates of the segments in {@link #order}.
+	 */
+	private final double[] lows;
+
+	/** Highest y coordinates of the segments in {@link #order}.
+	 */
+	private final double[] highs;
+
+	/** Highest y coordinate in each subtree of the interval tree. The subtree rooted at the
+	 * position {@code m} covers the range of positions in {@link #order} for which {@code m}
+	 * is the middle.
+	 */
+	private final double[] subtreeHighs;
+
+	/** Construct a prepared path from the given path.
+	 *
+	 * @param path the path to prepare.
+	 * @throws IllegalArgumentException if the path is not starting with a {@link PathElementType#MOVE_TO}.
+	 */
+	@SuppressWarnings("checkstyle:magicnumber")
+	public PreparedPath2afp(Path2afp<?, ?, ?, ?, ?, ?> path) {
+		assert path != null : AssertMessages.notNullParameter();
+		this.windingRule = path.getWindingRule();
+		final SegmentCollector collector = new SegmentCollector();
+		PathVisitors2afp.visitFlattened(path, collector);
+		this.started = collector.started;
+		this.movx = collector.movx;
+		this.movy = collector.movy;
+		this.curx = collector.curx;
+		this.cury = collector.cury;
+		this.closeCount = collector.closeCount;
+		final int count = collector.size;
+		this.segments = Arrays.copyOf(collector.coords, count * COORDS_PER_SEGMENT);
+		this.groups = Arrays.copyOf(collector.groups, count);
+
+		final double[] rawLows = new double[count];
+		for (int i = 0; i < count; ++i) {
+			final int base = i * COORDS_PER_SEGMENT;
+			rawLows[i] = Math.min(this.segments[base + 1], this.segments[base + 3]);
+		}
+		final Integer[] sorted = new Integer[count];
+		for (int i = 0; i < count; ++i) {
+			sorted[i] = Integer.valueOf(i);
+		}
+		Arrays.sort(sorted, (id1, id2) -> Double.compare(rawLows[id1.intValue()], rawLows[id2.intValue()]));
+		this.order = new int[count];
+		this.lows = new double[count];
+		this.highs = new double[count];
+		for (int i = 0; i < count; ++i) {
+			final int id = sorted[i].intValue();
+			final int base = id * COORDS_PER_SEGMENT;
+			this.order[i] = id;
+			this.lows[i] = rawLows[id];
+			this.highs[i] = Math.max(this.segments[base + 1], this.segments[base + 3]);
+		}
+		this.subtreeHighs = new double[count];
+		buildSubtree(0, count);
+	}
+
+	private double buildSubtree(int start, int end) {
+		if (start >= end) {
+			return Double.NEGATIVE_INFINITY;
+		}
+		final int middle = (start + end) >>> 1;
+		final double high = Math.max(this.highs[middle],
+				Math.max(buildSubtree(start, middle), buildSubtree(middle + 1, end)));
+		this.subtreeHighs[middle] = high;
+		return high;
+	}
+
+	/** Replies the winding rule of the prepared path.
+	 *
+	 * @return the winding rule.
+	 */
+	@Pure
+	public PathWindingRule getWindingRule() {
+		return this.windingRule;
+	}
+
+	/** Replies the number of segments in the prepared path, after the flattening of the curves.
+	 *
+	 * @return the number of segments.
+	 */
+	@Pure
+	public int getSegmentCount() {
+		return this.groups.length;
+	}
+
+	/** Tests if the specified coordinates are inside the closed boundary of the prepared path.
+	 *
+	 * <p>This function replies the same value as {@link Path2afp#containsPoint(Path2afp, double, double)}
+	 * for the original path.
+	 *
+	 * @param x the specified X coordinate
+	 * @param y the specified Y coordinate
+	 * @return {@code true} if the specified coordinates are inside the path; {@code false} otherwise
+	 */
+	@Pure
+	public boolean contains(double x, double y) {
+		final int mask = this.windingRule == PathWindingRule.NON_ZERO ? -1 : 1;
+		final int crossings = calculatesCrossings(new CrossingsPathVisitor2afp.PointShadow(0, x, y), false,
+				y, y, CrossingComputationType.SIMPLE_INTERSECTION_WHEN_NOT_POLYGON);
+		return (crossings & mask) != 0;
+	}
+
+	/** Tests if the specified rectangle is inside the closed boundary of the prepared path.
+	 *
+	 * <p>This function replies the same value as
+	 * {@link Path2afp#containsRectangle(Path2afp, double, double, double, double)} for the original path.
+	 *
+	 * @param rx the lowest corner of the rectangle.
+	 * @param ry the lowest corner of the rectangle.
+	 * @param rwidth is the width of the rectangle.
+	 * @param rheight is the width of the rectangle.
+	 * @return {@code true} if the specified rectangle is inside the path; {@code false} otherwise.
+	 */
+	@Pure
+	@SuppressWarnings("checkstyle:magicnumber")
+	public boolean contains(double rx, double ry, double rwidth, double rheight) {
+		assert rwidth >= 0. : AssertMessages.positiveOrZeroParameter(2);
+		assert rheight >= 0. : AssertMessages.positiveOrZeroParameter(3);
+		if (rwidth <= 0 || rheight <= 0) {
+			return false;
+		}
+		final int mask = this.windingRule == PathWindingRule.NON_ZERO ? -1 : 2;
+		final double rymax = ry + rheight;
+		final int crossings = calculatesCrossings(
+				new CrossingsPathVisitor2afp.RectangleShadow(0, rx, ry, rx + rwidth, rymax), true,
+				ry, rymax, CrossingComputationType.AUTO_CLOSE);
+		return crossings != MathConstants.SHAPE_INTERSECTS
+				&& (crossings & mask) != 0;
+	}
+
+	/** Tests if the specified rectangle is inside the closed boundary of the prepared path.
+	 *
+	 * <p>This function replies the same value as {@link Path2afp#contains(Rectangle2afp)} for the original path.
+	 *
+	 * @param rectangle the rectangle.
+	 * @return {@code true} if the specified rectangle is inside the path; {@code false} otherwise.
+	 */
+	@Pure
+	public boolean contains(Rectangle2afp<?, ?, ?, ?, ?, ?> rectangle) {
+		assert rectangle != null : AssertMessages.notNullParameter();
+		return contains(rectangle.getMinX(), rectangle.getMinY(), rectangle.getWidth(), rectangle.getHeight());
+	}
+
+	/** Tests if the interior of the prepared path intersects the interior of the specified rectangle.
+	 *
+	 * <p>This function replies the same value as
+	 * {@link Path2afp#intersectsPathRectangle(Path2afp, double, double, double, double)} for the original path.
+	 *
+	 * @param x the specified X coordinate of the rectangle.
+	 * @param y the specified Y coordinate of the rectangle.
+	 * @param width the width of the specified rectangle.
+	 * @param height the height of the specified rectangle.
+	 * @return {@code true} if the path and the rectangle intersect each other; {@code false} otherwise.
+	 */
+	@Pure
+	@SuppressWarnings("checkstyle:magicnumber")
+	public boolean intersects(double x, double y, double width, double height) {
+		assert width >= 0. : AssertMessages.positiveOrZeroParameter(2);
+		assert height >= 0. : AssertMessages.positiveOrZeroParameter(3);
+		if (width <= 0 || height <= 0) {
+			return false;
+		}
+		final int mask = this.windingRule == PathWindingRule.NON_ZERO ? -1 : 2;
+		final double ymax = y + height;
+		final int crossings = calculatesCrossings(
+				new CrossingsPathVisitor2afp.RectangleShadow(0, x, y, x + width, ymax), true,
+				y, ymax, CrossingComputationType.SIMPLE_INTERSECTION_WHEN_NOT_POLYGON);
+		return crossings == MathConstants.SHAPE_INTERSECTS
+				|| (crossings & mask) != 0;
+	}
+
+	/** Tests if the interior of the prepared path intersects the interior of the specified rectangle.
+	 *
+	 * <p>This function replies the same value as {@link Path2afp#intersects(Rectangle2afp)} for the original path.
+	 *
+	 * @param rectangle the rectangle.
+	 * @return {@code true} if the path and the rectangle intersect each other; {@code false} otherwise.
+	 */
+	@Pure
+	public boolean intersects(Rectangle2afp<?, ?, ?, ?, ?, ?> rectangle) {
+		assert rectangle != null : AssertMessages.notNullParameter();
+		return intersects(rectangle.getMinX(), rectangle.getMinY(), rectangle.getWidth(), rectangle.getHeight());
+	}
+
+	/** Tests if the prepared path intersects the specified segment.
+	 *
+	 * <p>This function replies the same value as {@link Path2afp#intersects(Segment2afp)} for the original path.
+	 *
+	 * @param segment the segment.
+	 * @return {@code true} if the path and the segment intersect each other; {@code false} otherwise.
+	 */
+	@Pure
+	public boolean intersects(Segment2afp<?, ?, ?, ?, ?, ?> segment) {
+		assert segment != null : AssertMessages.notNullParameter();
+		return intersectsSegment(segment.getX1(), segment.getY1(), segment.getX2(), segment.getY2());
+	}
+
+	/** Tests if the prepared path intersects the specified segment.
+	 *
+	 * <p>This function replies the same value as {@link Path2afp#intersects(Segment2afp)} for the original path.
+	 *
+	 * @param x1 x coordinate of the first point of the segment.
+	 * @param y1 y coordinate of the first point of the segment.
+	 * @param x2 x coordinate of the second point of the segment.
+	 * @param y2 y coordinate of the second point of the segment.
+	 * @return {@code true} if the path and the segment intersect each other; {@code false} otherwise.
+	 */
+	@Pure
+	public boolean intersectsSegment(double x1, double y1, double x2, double y2) {
+		final int mask = this.windingRule == PathWindingRule.NON_ZERO ? -1 : 2;
+		final int crossings = calculatesCrossings(
+				new CrossingsPathVisitor2afp.SegmentShadow(0, x1, y1, x2, y2), true,
+				Math.min(y1, y2), Math.max(y1, y2), CrossingComputationType.SIMPLE_INTERSECTION_WHEN_NOT_POLYGON);
+		return crossings == MathConstants.SHAPE_INTERSECTS
+				|| (crossings & mask) != 0;
+	}
+
+	/** Compute the crossings between the prepared path and the given shadow.
+	 *
+	 * <p>The shadow functions of {@link Segment2afp} reply the given crossings unchanged when the segment
+	 * is entirely below or above the shadowed shape. Only the segments overlapping the vertical extent
+	 * of the shape are passed to the shadow, in the order of the original path, in order to reproduce the
+	 * result of a full traversal with the same shadow.
+	 *
+	 * @param shadow the shadow that is computing the crossings for a single segment.
+	 * @param stopOnClose indicates if the traversal is stopped when a closing element
+	 *     is reached and the crossings are not nul. It must be the same as the one of the shadow.
+	 * @param ymin the lowest vertical coordinate of the shadowed shape.
+	 * @param ymax the highest vertical coordinate of the shadowed shape.
+	 * @param type is the type of special computation to apply.
+	 * @return the crossing or {@link MathConstants#SHAPE_INTERSECTS}
+	 */
+	@SuppressWarnings({"checkstyle:magicnumber", "checkstyle:cyclomaticcomplexity", "checkstyle:npathcomplexity",
+			"checkstyle:returncount"})
+	private int calculatesCrossings(CrossingsPathVisitor2afp shadow, boolean stopOnClose,
+			double ymin, double ymax, CrossingComputationType type) {
+		if (!this.started) {
+			return 0;
+		}
+		final int[] candidates = findCandidates(ymin, ymax);
+		final int candidateCount = candidates[0];
+		Arrays.sort(candidates, 1, candidateCount + 1);
+		int crossings = 0;
+		int group = -1;
+		for (int i = 1; i <= candidateCount; ++i) {
+			final int id = candidates[i];
+			if (stopOnClose && crossings != 0 && this.groups[id] > group) {
+				// A closing element was reached with non-nul crossings.
+				return crossings;
+			}
+			group = this.groups[id];
+			final int base = id * COORDS_PER_SEGMENT;
+			final double x1 = this.segments[base + 2];
+			final double y1 = this.segments[base + 3];
+			if (shadow.touches(x1, y1)) {
+				return MathConstants.SHAPE_INTERSECTS;
+			}
+			crossings = shadow.crosses(crossings, this.segments[base], this.segments[base + 1], x1, y1);
+			if (crossings == MathConstants.SHAPE_INTERSECTS) {
+				return crossings;
+			}
+		}
+		if (stopOnClose && crossings != 0 && this.closeCount > group) {
+			return crossings;
+		}
+		if ((this.curx != this.movx || this.cury != this.movy) && type != null) {
+			switch (type) {
+			case AUTO_CLOSE:
+				if (shadow.touches(this.movx, this.movy)) {
+					return MathConstants.SHAPE_INTERSECTS;
+				}
+				return shadow.crosses(crossings, this.curx, this.cury, this.movx, this.movy);
+			case SIMPLE_INTERSECTION_WHEN_NOT_POLYGON:
+				return 0;
+			case STANDARD:
+			default:
+				break;
+			}
+		}
+		return crossings;
+	}
+
+	/** Replies the segments with a vertical extent that overlaps the given range.
+	 *
+	 * @param ymin the lowest coordinate of the range.
+	 * @param ymax the highest coordinate of the range.
+	 * @return the number of segments at index {@code 0}, followed by the indexes of the segments.
+	 */
+	private int[] findCandidates(double ymin, double ymax) {
+		int[] candidates = new int[DEFAULT_CANDIDATE_CAPACITY];
+		int count = 0;
+		final int[] stack = new int[STACK_SIZE];
+		int top = 0;
+		stack[top++] = 0;
+		stack[top++] = this.order.length;
+		while (top > 0) {
+			final int end = stack[--top];
+			final int start = stack[--top];
+			if (start >= end) {
+				continue;
+			}
+			final int middle = (start + end) >>> 1;
+			if (this.subtreeHighs[middle] < ymin) {
+				continue;
+			}
+			if (this.lows[middle] <= ymax) {
+				if (this.highs[middle] >= ymin) {
+					++count;
+					if (count >= candidates.length) {
+						candidates = Arrays.copyOf(candidates, candidates.length * 2);
+					}
+					candidates[count] = this.order[middle];
+				}
+				stack[top++] = middle + 1;
+				stack[top++] = end;
+			}
+			stack[top++] = start;
+			stack[top++] = middle;
+		}
+		candidates[0] = count;
+		return candidates;
+	}
+
+	/** Visitor that collects the segments of a flattened path.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private static class SegmentCollector implements PathVisitor2afp {
+
+		double[] coords = new double[DEFAULT_CANDIDATE_CAPACITY * COORDS_PER_SEGMENT];
+
+		int[] groups = new int[DEFAULT_CANDIDATE_CAPACITY];
+
+		int size;
+
+		int closeCount;
+
+		boolean started;
+
+		double movx;
+
+		double movy;
+
+		double curx;
+
+		double cury;
+
+		SegmentCollector() {
+			//
+		}
+
+		private void ensureStarted() {
+			if (!this.started) {
+				throw new IllegalArgumentException(Locale.getString(Path2afp.class, "E1")); //$NON-NLS-1$
+			}
+		}
+
+		@SuppressWarnings("checkstyle:magicnumber")
+		private void add(double x, double y) {
+			if (this.size >= this.groups.length) {
+				this.groups = Arrays.copyOf(this.groups, this.groups.length * 2);
+				this.coords = Arrays.copyOf(this.coords, this.groups.length * COORDS_PER_SEGMENT);
+			}
+			final int base = this.size * COORDS_PER_SEGMENT;
+			this.coords[base] = this.curx;
+			this.coords[base + 1] = this.cury;
+			this.coords[base + 2] = x;
+			this.coords[base + 3] = y;
+			this.groups[this.size] = this.closeCount;
+			++this.size;
+		}
+
+		@Override
+		public void moveTo(double x, double y) {
+			this.started = true;
+			this.movx = x;
+			this.movy = y;
+			this.curx = x;
+			this.cury = y;
+		}
+
+		@Override
+		public void lineTo(double x, double y) {
+			ensureStarted();
+			add(x, y);
+			this.curx = x;
+			this.cury = y;
+		}
+
+		@Override
+		public void quadTo(double ctrlx, double ctrly, double x, double y) {
+			throw new IllegalStateException(PathElementType.QUAD_TO.toString());
+		}
+
+		@Override
+		public void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double x, double y) {
+			throw new IllegalStateException(PathElementType.CURVE_TO.toString());
+		}
+
+		@Override
+		public void closePath() {
+			ensureStarted();
+			if (this.curx != this.movx || this.cury != this.movy) {
+				add(this.movx, this.movy);
+			}
+			++this.closeCount;
+			this.curx = this.movx;
+			this.cury = this.movy;
+		}
+
+	}
+
+}
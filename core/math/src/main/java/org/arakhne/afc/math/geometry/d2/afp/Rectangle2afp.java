@@ -30,6 +30,7 @@ import org.arakhne.afc.math.Unefficient;
 import org.arakhne.afc.math.geometry.CrossingComputationType;
 import org.arakhne.afc.math.geometry.PathWindingRule;
 import org.arakhne.afc.math.geometry.d2.Point2D;
+import org.arakhne.afc.math.geometry.d2.ShapeKind2D;
 import org.arakhne.afc.math.geometry.d2.Transform2D;
 import org.arakhne.afc.math.geometry.d2.Vector2D;
 import org.arakhne.afc.vmutil.asserts.AssertMessages;
@@ -750,6 +751,12 @@ public interface Rectangle2afp<
         return (px >= rx1 && px <= rx2) && (py >= ry1 && py <= ry2);
     }
 
+    @Pure
+    @Override
+    default ShapeKind2D getShapeKind() {
+        return ShapeKind2D.RECTANGLE;
+    }
+
     @Pure
     @Override
     default boolean equalsToShape(IT shape) {
@@ -32,6 +32,7 @@ import org.arakhne.afc.math.geometry.CrossingComputationType;
 import org.arakhne.afc.math.geometry.PathWindingRule;
 import org.arakhne.afc.math.geometry.d2.Point2D;
 import org.arakhne.afc.math.geometry.d2.Shape2D;
+import org.arakhne.afc.math.geometry.d2.ShapeKind2D;
 import org.arakhne.afc.math.geometry.d2.Transform2D;
 import org.arakhne.afc.math.geometry.d2.Vector2D;
 import org.arakhne.afc.vmutil.asserts.AssertMessages;
@@ -3009,6 +3010,12 @@ public interface Segment2afp<
         return calculatesDistanceSegmentPoint(x1, y1, x2, y2, x, y) < hitDistance;
     }
 
+    @Pure
+    @Override
+    default ShapeKind2D getShapeKind() {
+        return ShapeKind2D.SEGMENT;
+    }
+
     @Override
     default void clear() {
         set(0, 0, 0, 0);
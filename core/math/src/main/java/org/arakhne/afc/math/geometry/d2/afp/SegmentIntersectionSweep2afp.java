@@ -0,0 +1,561 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.geometry.PathElementType;
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+import org.arakhne.afc.vmutil.locale.Locale;
+
+/** Finds all the intersections in a set of segments with a sweep line.
+ *
+ * <p>The segments are added to the sweep, either one by one or as the edges of a path.
+ * Each added segment receives an identifier, which is its position in the order of addition.
+ * Then, {@link #findIntersections(boolean, SegmentIntersectionListener)} sweeps a vertical
+ * line from the left to the right. The status of the sweep line is the set of the segments
+ * crossing the line, indexed on their vertical extents. When a segment enters the sweep line,
+ * only the segments of the status that are overlapping its vertical extent are tested with
+ * {@link Segment2afp#intersectsSegmentSegmentWithEnds(double, double, double, double, double, double, double, double)}
+ * or {@link Segment2afp#intersectsSegmentSegmentWithoutEnds(double, double, double, double, double, double, double,
+ * double)}. The cost is {@code O((n + b) log n)}, where {@code n} is the number of segments and {@code b} is
+ * the number of pairs of segments with overlapping bounding boxes.
+ *
+ * <p>The tests are the ones of {@link Segment2afp}, and the pairs of intersecting segments are
+ * the ones that are found by a pairwise scan with the same functions. The sweep does not rely
+ * on the order of the segments along the sweep line; this order is not robust with floating-point
+ * coordinates, when segments are sharing ends or are colinear.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public class SegmentIntersectionSweep2afp {
+
+	private static final int COORDS_PER_SEGMENT = 4;
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private double[] coords = new double[DEFAULT_CAPACITY * COORDS_PER_SEGMENT];
+
+	private int size;
+
+	/** Construct an empty sweep.
+	 */
+	public SegmentIntersectionSweep2afp() {
+		//
+	}
+
+	/** Replies the number of segments in the sweep.
+	 *
+	 * @return the number of segments.
+	 */
+	@Pure
+	public int getSegmentCount() {
+		return this.size;
+	}
+
+	/** Remove all the segments from the sweep.
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/** Add a segment into the sweep.
+	 *
+	 * @param x1 x coordinate of the first point of the segment.
+	 * @param y1 y coordinate of the first point of the segment.
+	 * @param x2 x coordinate of the second point of the segment.
+	 * @param y2 y coordinate of the second point of the segment.
+	 * @return the identifier of the segment.
+	 */
+	@SuppressWarnings("checkstyle:magicnumber")
+	public int addSegment(double x1, double y1, double x2, double y2) {
+		final int base = this.size * COORDS_PER_SEGMENT;
+		if (base >= this.coords.length) {
+			this.coords = Arrays.copyOf(this.coords, this.coords.length * 2);
+		}
+		this.coords[base] = x1;
+		this.coords[base + 1] = y1;
+		this.coords[base + 2] = x2;
+		this.coords[base + 3] = y2;
+		return this.size++;
+	}
+
+	/** Add a segment into the sweep.
+	 *
+	 * @param segment the segment.
+	 * @return the identifier of the segment.
+	 */
+	public int addSegment(Segment2afp<?, ?, ?, ?, ?, ?> segment) {
+		assert segment != null : AssertMessages.notNullParameter();
+		return addSegment(segment.getX1(), segment.getY1(), segment.getX2(), segment.getY2());
+	}
+
+	/** Add the edges of the given path into the sweep. The curves of the path are flattened.
+	 *
+	 * <p>The identifiers of the added edges are consecutive. The first of them is the
+	 * {@link #getSegmentCount() number of segments} in the sweep before the call to this function.
+	 *
+	 * @param path the path.
+	 * @return the number of added edges.
+	 * @throws IllegalArgumentException if the path is not starting with a {@link PathElementType#MOVE_TO}.
+	 */
+	public int addPath(Path2afp<?, ?, ?, ?, ?, ?> path) {
+		assert path != null : AssertMessages.notNullParameter();
+		final int count = this.size;
+		PathVisitors2afp.visitFlattened(path, new EdgeCollector());
+		return this.size - count;
+	}
+
+	/** Replies the x coordinate of the first point of the given segment.
+	 *
+	 * @param segment the identifier of the segment.
+	 * @return the x coordinate.
+	 */
+	@Pure
+	public double getX1(int segment) {
+		assert segment >= 0 && segment < this.size : AssertMessages.outsideRangeInclusiveParameter(
+				segment, 0, this.size - 1);
+		return this.coords[segment * COORDS_PER_SEGMENT];
+	}
+
+	/** Replies the y coordinate of the first point of the given segment.
+	 *
+	 * @param segment the identifier of the segment.
+	 * @return the y coordinate.
+	 */
+	@Pure
+	public double getY1(int segment) {
+		assert segment >= 0 && segment < this.size : AssertMessages.outsideRangeInclusiveParameter(
+				segment, 0, this.size - 1);
+		return this.coords[segment * COORDS_PER_SEGMENT + 1];
+	}
+
+	/** Replies the x coordinate of the second point of the given segment.
+	 *
+	 * @param segment the identifier of the segment.
+	 * @return the x coordinate.
+	 */
+	@Pure
+	public double getX2(int segment) {
+		assert segment >= 0 && segment < this.size : AssertMessages.outsideRangeInclusiveParameter(
+				segment, 0, this.size - 1);
+		return this.coords[segment * COORDS_PER_SEGMENT + 2];
+	}
+
+	/** Replies the y coordinate of the second point of the given segment.
+	 *
+	 * @param segment the identifier of the segment.
+	 * @return the y coordinate.
+	 */
+	@Pure
+	@SuppressWarnings("checkstyle:magicnumber")
+	public double getY2(int segment) {
+		assert segment >= 0 && segment < this.size : AssertMessages.outsideRangeInclusiveParameter(
+				segment, 0, this.size - 1);
+		return this.coords[segment * COORDS_PER_SEGMENT + 3];
+	}
+
+	/** Find all the intersections between the segments of the sweep.
+	 *
+	 * <p>The listener is invoked once for each pair of intersecting segments, in the order of the sweep.
+	 * The intersection point is the one computed by
+	 * {@link Segment2afp#calculatesSegmentSegmentIntersectionFactor(double, double, double, double, double, double,
+	 * double, double)}. When this function cannot compute a point, e.g. for colinear segments, the intersection point
+	 * is the end of a segment that is the closest to the other segment.
+	 *
+	 * @param withEnds indicates if the ends of the segments are considered as intersecting, as in
+	 *     {@link Segment2afp#intersectsSegmentSegmentWithEnds(double, double, double, double, double, double, double,
+	 *     double)}; or not, as in {@link Segment2afp#intersectsSegmentSegmentWithoutEnds(double, double, double, double,
+	 *     double, double, double, double)}.
+	 * @param listener the listener on the intersections.
+	 * @return the number of intersections.
+	 */
+	public int findIntersections(boolean withEnds, SegmentIntersectionListener listener) {
+		assert listener != null : AssertMessages.notNullParameter(1);
+		if (this.size < 2) {
+			return 0;
+		}
+		return new Sweep(withEnds, listener).run();
+	}
+
+	private static int[] sortIndexes(double[] keys) {
+		final Integer[] indexes = new Integer[keys.length];
+		for (int i = 0; i < indexes.length; ++i) {
+			indexes[i] = Integer.valueOf(i);
+		}
+		Arrays.sort(indexes, (id1, id2) -> Double.compare(keys[id1.intValue()], keys[id2.intValue()]));
+		final int[] sorted = new int[indexes.length];
+		for (int i = 0; i < sorted.length; ++i) {
+			sorted[i] = indexes[i].intValue();
+		}
+		return sorted;
+	}
+
+	/** State of a sweep.
+	 *
+	 * <p>The status of the sweep line is split in two parts. A segment tree on the y coordinates
+	 * replies the segments that contain the lowest y coordinate of the entering segment. A bit set,
+	 * ordered by the lowest y coordinates of the segments, replies the segments that start within
+	 * the vertical extent of the entering segment. These two sets are disjoint.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private class Sweep {
+
+		private final boolean withEnds;
+
+		private final SegmentIntersectionListener listener;
+
+		private final double[] ymins;
+
+		private final double[] ymaxs;
+
+		/** Distinct y coordinates of the ends of the segments.
+		 */
+		private final double[] ys;
+
+		/** Position of each segment in the order of the lowest y coordinates.
+		 */
+		private final int[] ranks;
+
+		/** Segments in the order of the lowest y coordinates.
+		 */
+		private final int[] byRank;
+
+		/** Lowest y coordinates of the segments, sorted.
+		 */
+		private final double[] sortedYmins;
+
+		/** The segments in the status, identified by their ranks.
+		 */
+		private final BitSet activeRanks;
+
+		private final boolean[] active;
+
+		private final int[][] nodes;
+
+		private final int[] nodeSizes;
+
+		private int count;
+
+		@SuppressWarnings("checkstyle:magicnumber")
+		Sweep(boolean withEnds, SegmentIntersectionListener listener) {
+			this.withEnds = withEnds;
+			this.listener = listener;
+			final int n = SegmentIntersectionSweep2afp.this.size;
+			this.ymins = new double[n];
+			this.ymaxs = new double[n];
+			final double[] allYs = new double[n * 2];
+			for (int i = 0; i < n; ++i) {
+				final double y1 = getY1(i);
+				final double y2 = getY2(i);
+				this.ymins[i] = Math.min(y1, y2);
+				this.ymaxs[i] = Math.max(y1, y2);
+				allYs[i * 2] = y1;
+				allYs[i * 2 + 1] = y2;
+			}
+			Arrays.sort(allYs);
+			int distinct = 0;
+			for (int i = 0; i < allYs.length; ++i) {
+				if (i == 0 || Double.compare(allYs[i], allYs[distinct - 1]) != 0) {
+					allYs[distinct] = allYs[i];
+					++distinct;
+				}
+			}
+			this.ys = Arrays.copyOf(allYs, distinct);
+			this.byRank = sortIndexes(this.ymins);
+			this.ranks = new int[n];
+			this.sortedYmins = new double[n];
+			for (int i = 0; i < n; ++i) {
+				this.ranks[this.byRank[i]] = i;
+				this.sortedYmins[i] = this.ymins[this.byRank[i]];
+			}
+			this.activeRanks = new BitSet(n);
+			this.active = new boolean[n];
+			this.nodes = new int[this.ys.length * 4][];
+			this.nodeSizes = new int[this.nodes.length];
+		}
+
+		int run() {
+			final int n = SegmentIntersectionSweep2afp.this.size;
+			final double[] xmins = new double[n];
+			final double[] xmaxs = new double[n];
+			for (int i = 0; i < n; ++i) {
+				final double x1 = getX1(i);
+				final double x2 = getX2(i);
+				xmins[i] = Math.min(x1, x2);
+				xmaxs[i] = Math.max(x1, x2);
+			}
+			final int[] starts = sortIndexes(xmins);
+			final int[] ends = sortIndexes(xmaxs);
+			int j = 0;
+			for (int i = 0; i < n; ++i) {
+				final int entering = starts[i];
+				final double x = xmins[entering];
+				while (j < n && xmaxs[ends[j]] < x) {
+					leave(ends[j]);
+					++j;
+				}
+				enter(entering);
+			}
+			return this.count;
+		}
+
+		private int indexOf(double y) {
+			return Arrays.binarySearch(this.ys, y);
+		}
+
+		private void enter(int segment) {
+			final double ymin = this.ymins[segment];
+			final double ymax = this.ymaxs[segment];
+			final int yminIndex = indexOf(ymin);
+
+			// Segments that contain ymin, and that are starting below ymin.
+			int node = 1;
+			int left = 0;
+			int right = this.ys.length - 1;
+			while (true) {
+				final int[] list = this.nodes[node];
+				if (list != null) {
+					final int listSize = this.nodeSizes[node];
+					int kept = 0;
+					for (int k = 0; k < listSize; ++k) {
+						final int candidate = list[k];
+						if (this.active[candidate]) {
+							list[kept] = candidate;
+							++kept;
+							if (this.ymins[candidate] < ymin) {
+								test(candidate, segment);
+							}
+						}
+					}
+					this.nodeSizes[node] = kept;
+				}
+				if (left == right) {
+					break;
+				}
+				final int middle = (left + right) >>> 1;
+				if (yminIndex <= middle) {
+					node = node * 2;
+					right = middle;
+				} else {
+					node = node * 2 + 1;
+					left = middle + 1;
+				}
+			}
+
+			// Segments that are starting within [ymin; ymax]
+			int rank = this.activeRanks.nextSetBit(lowerBound(ymin));
+			while (rank >= 0 && this.sortedYmins[rank] <= ymax) {
+				test(this.byRank[rank], segment);
+				rank = this.activeRanks.nextSetBit(rank + 1);
+			}
+
+			insert(1, 0, this.ys.length - 1, yminIndex, indexOf(ymax), segment);
+			this.active[segment] = true;
+			this.activeRanks.set(this.ranks[segment]);
+		}
+
+		/** Replies the first rank with a lowest y coordinate that is greater than or equal to the given value.
+		 *
+		 * @param y the value.
+		 * @return the rank.
+		 */
+		private int lowerBound(double y) {
+			int low = 0;
+			int high = this.sortedYmins.length;
+			while (low < high) {
+				final int middle = (low + high) >>> 1;
+				if (this.sortedYmins[middle] < y) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+
+		private void leave(int segment) {
+			this.active[segment] = false;
+			this.activeRanks.clear(this.ranks[segment]);
+		}
+
+		private void insert(int node, int left, int right, int lower, int upper, int segment) {
+			if (lower <= left && right <= upper) {
+				int[] list = this.nodes[node];
+				final int listSize = this.nodeSizes[node];
+				if (list == null) {
+					list = new int[2];
+					this.nodes[node] = list;
+				} else if (listSize >= list.length) {
+					list = Arrays.copyOf(list, list.length * 2);
+					this.nodes[node] = list;
+				}
+				list[listSize] = segment;
+				this.nodeSizes[node] = listSize + 1;
+				return;
+			}
+			final int middle = (left + right) >>> 1;
+			if (lower <= middle) {
+				insert(node * 2, left, middle, lower, upper, segment);
+			}
+			if (upper > middle) {
+				insert(node * 2 + 1, middle + 1, right, lower, upper, segment);
+			}
+		}
+
+		@SuppressWarnings("checkstyle:magicnumber")
+		private void test(int segment1, int segment2) {
+			final int first = Math.min(segment1, segment2);
+			final int second = Math.max(segment1, segment2);
+			final double[] coords = SegmentIntersectionSweep2afp.this.coords;
+			final int base1 = first * COORDS_PER_SEGMENT;
+			final int base2 = second * COORDS_PER_SEGMENT;
+			final double x1 = coords[base1];
+			final double y1 = coords[base1 + 1];
+			final double x2 = coords[base1 + 2];
+			final double y2 = coords[base1 + 3];
+			final double x3 = coords[base2];
+			final double y3 = coords[base2 + 1];
+			final double x4 = coords[base2 + 2];
+			final double y4 = coords[base2 + 3];
+			final boolean intersects;
+			if (this.withEnds) {
+				intersects = Segment2afp.intersectsSegmentSegmentWithEnds(x1, y1, x2, y2, x3, y3, x4, y4);
+			} else {
+				intersects = Segment2afp.intersectsSegmentSegmentWithoutEnds(x1, y1, x2, y2, x3, y3, x4, y4);
+			}
+			if (intersects) {
+				++this.count;
+				final double factor = Segment2afp.calculatesSegmentSegmentIntersectionFactor(
+						x1, y1, x2, y2, x3, y3, x4, y4);
+				if (!Double.isNaN(factor)) {
+					this.listener.intersection(first, second, x1 + factor * (x2 - x1), y1 + factor * (y2 - y1));
+					return;
+				}
+				// Colinear segments: reply the closest end.
+				double px = x3;
+				double py = y3;
+				double min = Segment2afp.calculatesDistanceSquaredSegmentPoint(x1, y1, x2, y2, x3, y3);
+				double distance = Segment2afp.calculatesDistanceSquaredSegmentPoint(x1, y1, x2, y2, x4, y4);
+				if (distance < min) {
+					min = distance;
+					px = x4;
+					py = y4;
+				}
+				distance = Segment2afp.calculatesDistanceSquaredSegmentPoint(x3, y3, x4, y4, x1, y1);
+				if (distance < min) {
+					min = distance;
+					px = x1;
+					py = y1;
+				}
+				distance = Segment2afp.calculatesDistanceSquaredSegmentPoint(x3, y3, x4, y4, x2, y2);
+				if (distance < min) {
+					px = x2;
+					py = y2;
+				}
+				this.listener.intersection(first, second, px, py);
+			}
+		}
+
+	}
+
+	/** Visitor that adds the edges of a flattened path into the sweep.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private class EdgeCollector implements PathVisitor2afp {
+
+		private boolean started;
+
+		private double movx;
+
+		private double movy;
+
+		private double curx;
+
+		private double cury;
+
+		EdgeCollector() {
+			//
+		}
+
+		private void ensureStarted() {
+			if (!this.started) {
+				throw new IllegalArgumentException(Locale.getString(Path2afp.class, "E1")); //$NON-NLS-1$
+			}
+		}
+
+		@Override
+		public void moveTo(double x, double y) {
+			this.started = true;
+			this.movx = x;
+			this.movy = y;
+			this.curx = x;
+			this.cury = y;
+		}
+
+		@Override
+		public void lineTo(double x, double y) {
+			ensureStarted();
+			addSegment(this.curx, this.cury, x, y);
+			this.curx = x;
+			this.cury = y;
+		}
+
+		@Override
+		public void quadTo(double ctrlx, double ctrly, double x, double y) {
+			throw new IllegalStateException(PathElementType.QUAD_TO.toString());
+		}
+
+		@Override
+		public void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double x, double y) {
+			throw new IllegalStateException(PathElementType.CURVE_TO.toString());
+		}
+
+		@Override
+		public void closePath() {
+			ensureStarted();
+			if (this.curx != this.movx || this.cury != this.movy) {
+				addSegment(this.curx, this.cury, this.movx, this.movy);
+			}
+			this.curx = this.movx;
+			this.cury = this.movy;
+		}
+
+	}
+
+}
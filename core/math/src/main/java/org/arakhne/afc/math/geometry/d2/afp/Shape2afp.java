@@ -180,44 +180,9 @@ public interface Shape2afp<
 	}
 
 	@Pure
-	@Unefficient
 	@Override
-	@SuppressWarnings({"checkstyle:returncount", "checkstyle:npathcomplexity"})
 	default boolean intersects(Shape2D<?, ?, ?, ?, ?, ?> shape) {
-		if (shape instanceof Circle2afp) {
-			return intersects((Circle2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof Ellipse2afp) {
-			return intersects((Ellipse2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof MultiShape2afp) {
-			return intersects((MultiShape2afp<?, ?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof OrientedRectangle2afp) {
-			return intersects((OrientedRectangle2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof Parallelogram2afp) {
-			return intersects((Parallelogram2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof Path2afp) {
-			return intersects((Path2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof PathIterator2afp) {
-			return intersects((PathIterator2afp<?>) shape);
-		}
-		if (shape instanceof Rectangle2afp) {
-			return intersects((Rectangle2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof RoundRectangle2afp) {
-			return intersects((RoundRectangle2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof Segment2afp) {
-			return intersects((Segment2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof Triangle2afp) {
-			return intersects((Triangle2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		return intersects(getPathIterator());
+		return ShapeDispatch2afp.intersects(this, shape);
 	}
 
 	/** Replies if this shape is intersecting the given ellipse.
@@ -323,41 +288,9 @@ public interface Shape2afp<
 	boolean intersects(MultiShape2afp<?, ?, ?, ?, ?, ?, ?> multishape);
 
 	@Pure
-	@Unefficient
 	@Override
-	@SuppressWarnings({"checkstyle:returncount", "checkstyle:npathcomplexity"})
 	default double getDistanceSquared(Shape2D<?, ?, ?, ?, ?, ?> shape) {
-		if (shape instanceof Circle2afp) {
-			return getDistanceSquared((Circle2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof Ellipse2afp) {
-			return getDistanceSquared((Ellipse2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof MultiShape2afp) {
-			return getDistanceSquared((MultiShape2afp<?, ?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof OrientedRectangle2afp) {
-			return getDistanceSquared((OrientedRectangle2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof Parallelogram2afp) {
-			return getDistanceSquared((Parallelogram2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof Path2afp) {
-			return getDistanceSquared((Path2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof Rectangle2afp) {
-			return getDistanceSquared((Rectangle2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof RoundRectangle2afp) {
-			return getDistanceSquared((RoundRectangle2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof Segment2afp) {
-			return getDistanceSquared((Segment2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof Triangle2afp) {
-			return getDistanceSquared((Triangle2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		throw new IllegalArgumentException();
+		return ShapeDispatch2afp.getDistanceSquared(this, shape);
 	}
 
 	/** Replies the minimum distance between this shape and the given ellipse.
@@ -479,41 +412,10 @@ public interface Shape2afp<
 	}
 
 	@Pure
-	@Unefficient
 	@Override
-	@SuppressWarnings({"checkstyle:returncount", "checkstyle:npathcomplexity"})
+	@SuppressWarnings("unchecked")
 	default P getClosestPointTo(Shape2D<?, ?, ?, ?, ?, ?> shape) {
-		if (shape instanceof Circle2afp) {
-			return getClosestPointTo((Circle2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof Ellipse2afp) {
-			return getClosestPointTo((Ellipse2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof MultiShape2afp) {
-			return getClosestPointTo((MultiShape2afp<?, ?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof OrientedRectangle2afp) {
-			return getClosestPointTo((OrientedRectangle2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof Parallelogram2afp) {
-			return getClosestPointTo((Parallelogram2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof Path2afp) {
-			return getClosestPointTo((Path2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof Rectangle2afp) {
-			return getClosestPointTo((Rectangle2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof RoundRectangle2afp) {
-			return getClosestPointTo((RoundRectangle2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof Segment2afp) {
-			return getClosestPointTo((Segment2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		if (shape instanceof Triangle2afp) {
-			return getClosestPointTo((Triangle2afp<?, ?, ?, ?, ?, ?>) shape);
-		}
-		throw new IllegalArgumentException();
+		return (P) ShapeDispatch2afp.getClosestPointTo(this, shape);
 	}
 
 	/** Replies the closest point on this shape to the given ellipse.
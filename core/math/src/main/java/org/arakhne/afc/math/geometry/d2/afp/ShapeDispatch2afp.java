@@ -0,0 +1,466 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.geometry.d2.Point2D;
+import org.arakhne.afc.math.geometry.d2.Shape2D;
+import org.arakhne.afc.math.geometry.d2.ShapeKind2D;
+
+/** Dispatch table of the functions of {@link Shape2afp} that are taking a {@link Shape2D} as argument.
+ *
+ * <p>The tables are indexed by the {@link ShapeKind2D kinds} of the two shapes. Each entry is
+ * a routine that is specialized for the two kinds. When there is no dedicated routine for a pair of
+ * kinds, the entry casts the second shape to its type and invokes the typed function of the first
+ * shape, e.g. {@link Shape2afp#intersects(Circle2afp)}. The dispatch costs two reads of the shape
+ * kinds and an array access instead of a sequence of {@code instanceof} tests; and the tables are
+ * shared by all the implementations of the shapes with floating-point coordinates.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+final class ShapeDispatch2afp {
+
+	private static final ShapeKind2D[] KINDS = ShapeKind2D.values();
+
+	private static final int KIND_COUNT = KINDS.length;
+
+	private static final IntersectionRoutine[] INTERSECTIONS = new IntersectionRoutine[KIND_COUNT * KIND_COUNT];
+
+	private static final DistanceRoutine[] DISTANCES = new DistanceRoutine[KIND_COUNT * KIND_COUNT];
+
+	private static final ClosestPointRoutine[] CLOSEST_POINTS = new ClosestPointRoutine[KIND_COUNT * KIND_COUNT];
+
+	static {
+		for (final ShapeKind2D kind2 : KINDS) {
+			final IntersectionRoutine intersection = typedIntersection(kind2);
+			final DistanceRoutine distance = typedDistance(kind2);
+			final ClosestPointRoutine closestPoint = typedClosestPoint(kind2);
+			for (final ShapeKind2D kind1 : KINDS) {
+				final int index = index(kind1, kind2);
+				INTERSECTIONS[index] = intersection;
+				DISTANCES[index] = distance;
+				CLOSEST_POINTS[index] = closestPoint;
+			}
+		}
+		INTERSECTIONS[index(ShapeKind2D.CIRCLE, ShapeKind2D.CIRCLE)] = ShapeDispatch2afp::intersectsCircleCircle;
+		INTERSECTIONS[index(ShapeKind2D.CIRCLE, ShapeKind2D.RECTANGLE)] = ShapeDispatch2afp::intersectsCircleRectangle;
+		INTERSECTIONS[index(ShapeKind2D.RECTANGLE, ShapeKind2D.CIRCLE)] = ShapeDispatch2afp::intersectsRectangleCircle;
+		INTERSECTIONS[index(ShapeKind2D.CIRCLE, ShapeKind2D.SEGMENT)] = ShapeDispatch2afp::intersectsCircleSegment;
+		INTERSECTIONS[index(ShapeKind2D.SEGMENT, ShapeKind2D.CIRCLE)] = ShapeDispatch2afp::intersectsSegmentCircle;
+		INTERSECTIONS[index(ShapeKind2D.CIRCLE, ShapeKind2D.TRIANGLE)] = ShapeDispatch2afp::intersectsCircleTriangle;
+		INTERSECTIONS[index(ShapeKind2D.TRIANGLE, ShapeKind2D.CIRCLE)] = ShapeDispatch2afp::intersectsTriangleCircle;
+		INTERSECTIONS[index(ShapeKind2D.RECTANGLE, ShapeKind2D.RECTANGLE)] = ShapeDispatch2afp::intersectsRectangleRectangle;
+		INTERSECTIONS[index(ShapeKind2D.RECTANGLE, ShapeKind2D.SEGMENT)] = ShapeDispatch2afp::intersectsRectangleSegment;
+		INTERSECTIONS[index(ShapeKind2D.SEGMENT, ShapeKind2D.RECTANGLE)] = ShapeDispatch2afp::intersectsSegmentRectangle;
+		INTERSECTIONS[index(ShapeKind2D.RECTANGLE, ShapeKind2D.TRIANGLE)] = ShapeDispatch2afp::intersectsRectangleTriangle;
+		INTERSECTIONS[index(ShapeKind2D.TRIANGLE, ShapeKind2D.RECTANGLE)] = ShapeDispatch2afp::intersectsTriangleRectangle;
+		INTERSECTIONS[index(ShapeKind2D.SEGMENT, ShapeKind2D.SEGMENT)] = ShapeDispatch2afp::intersectsSegmentSegment;
+		INTERSECTIONS[index(ShapeKind2D.SEGMENT, ShapeKind2D.TRIANGLE)] = ShapeDispatch2afp::intersectsSegmentTriangle;
+		INTERSECTIONS[index(ShapeKind2D.TRIANGLE, ShapeKind2D.SEGMENT)] = ShapeDispatch2afp::intersectsTriangleSegment;
+	}
+
+	private ShapeDispatch2afp() {
+		//
+	}
+
+	/** Replies the index of the entry for the given kinds in the tables.
+	 *
+	 * @param kind1 the kind of the first shape.
+	 * @param kind2 the kind of the second shape.
+	 * @return the index.
+	 */
+	@Pure
+	private static int index(ShapeKind2D kind1, ShapeKind2D kind2) {
+		return kind1.ordinal() * KIND_COUNT + kind2.ordinal();
+	}
+
+	/** Replies the kind of the given shape. The shapes with integer coordinates
+	 * have no specific kind for the shapes with floating-point coordinates.
+	 *
+	 * @param shape the shape.
+	 * @return the kind.
+	 */
+	@Pure
+	private static ShapeKind2D kindOf(Shape2D<?, ?, ?, ?, ?, ?> shape) {
+		return shape instanceof Shape2afp ? shape.getShapeKind() : ShapeKind2D.OTHER;
+	}
+
+	/** Replies if the two shapes are intersecting.
+	 *
+	 * @param shape1 the first shape.
+	 * @param shape2 the second shape.
+	 * @return <code>true</code> if the two shapes are intersecting.
+	 * @see Shape2afp#intersects(Shape2D)
+	 */
+	@Pure
+	static boolean intersects(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		return INTERSECTIONS[index(shape1.getShapeKind(), kindOf(shape2))].intersects(shape1, shape2);
+	}
+
+	/** Replies if the two shapes are intersecting when their kinds are already known.
+	 *
+	 * @param shape1 the first shape.
+	 * @param kind1 the kind of the first shape.
+	 * @param shape2 the second shape.
+	 * @param kind2 the kind of the second shape.
+	 * @return <code>true</code> if the two shapes are intersecting.
+	 */
+	@Pure
+	static boolean intersects(Shape2afp<?, ?, ?, ?, ?, ?> shape1, ShapeKind2D kind1,
+			Shape2afp<?, ?, ?, ?, ?, ?> shape2, ShapeKind2D kind2) {
+		return INTERSECTIONS[index(kind1, kind2)].intersects(shape1, shape2);
+	}
+
+	/** Replies the squared value of the minimal distance between the two shapes.
+	 *
+	 * @param shape1 the first shape.
+	 * @param shape2 the second shape.
+	 * @return the squared value of the distance.
+	 * @throws IllegalArgumentException if the second shape has no kind with floating-point coordinates.
+	 * @see Shape2afp#getDistanceSquared(Shape2D)
+	 */
+	@Pure
+	static double getDistanceSquared(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		return DISTANCES[index(shape1.getShapeKind(), kindOf(shape2))].getDistanceSquared(shape1, shape2);
+	}
+
+	/** Replies the closest point on the first shape to the second shape.
+	 *
+	 * @param shape1 the first shape.
+	 * @param shape2 the second shape.
+	 * @return the closest point.
+	 * @throws IllegalArgumentException if the second shape has no kind with floating-point coordinates.
+	 * @see Shape2afp#getClosestPointTo(Shape2D)
+	 */
+	@Pure
+	static Point2D<?, ?> getClosestPointTo(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		return CLOSEST_POINTS[index(shape1.getShapeKind(), kindOf(shape2))].getClosestPointTo(shape1, shape2);
+	}
+
+	/** Replies the routine that invokes the typed intersection function of the first shape.
+	 *
+	 * @param kind the kind of the second shape.
+	 * @return the routine.
+	 */
+	@SuppressWarnings({"checkstyle:returncount", "checkstyle:cyclomaticcomplexity"})
+	private static IntersectionRoutine typedIntersection(ShapeKind2D kind) {
+		switch (kind) {
+		case CIRCLE:
+			return (shape1, shape2) -> shape1.intersects((Circle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case ELLIPSE:
+			return (shape1, shape2) -> shape1.intersects((Ellipse2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case RECTANGLE:
+			return (shape1, shape2) -> shape1.intersects((Rectangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case ORIENTED_RECTANGLE:
+			return (shape1, shape2) -> shape1.intersects((OrientedRectangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case PARALLELOGRAM:
+			return (shape1, shape2) -> shape1.intersects((Parallelogram2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case ROUND_RECTANGLE:
+			return (shape1, shape2) -> shape1.intersects((RoundRectangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case SEGMENT:
+			return (shape1, shape2) -> shape1.intersects((Segment2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case TRIANGLE:
+			return (shape1, shape2) -> shape1.intersects((Triangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case PATH:
+			return (shape1, shape2) -> shape1.intersects((Path2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case MULTISHAPE:
+			return (shape1, shape2) -> shape1.intersects((MultiShape2afp<?, ?, ?, ?, ?, ?, ?>) shape2);
+		case OTHER:
+		default:
+			return (shape1, shape2) -> {
+				if (shape2 instanceof PathIterator2afp) {
+					return shape1.intersects((PathIterator2afp<?>) shape2);
+				}
+				return shape1.intersects(shape1.getGeomFactory().convert(shape2.getPathIterator()));
+			};
+		}
+	}
+
+	/** Replies the routine that invokes the typed distance function of the first shape.
+	 *
+	 * @param kind the kind of the second shape.
+	 * @return the routine.
+	 */
+	@SuppressWarnings({"checkstyle:returncount", "checkstyle:cyclomaticcomplexity"})
+	private static DistanceRoutine typedDistance(ShapeKind2D kind) {
+		switch (kind) {
+		case CIRCLE:
+			return (shape1, shape2) -> shape1.getDistanceSquared((Circle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case ELLIPSE:
+			return (shape1, shape2) -> shape1.getDistanceSquared((Ellipse2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case RECTANGLE:
+			return (shape1, shape2) -> shape1.getDistanceSquared((Rectangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case ORIENTED_RECTANGLE:
+			return (shape1, shape2) -> shape1.getDistanceSquared((OrientedRectangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case PARALLELOGRAM:
+			return (shape1, shape2) -> shape1.getDistanceSquared((Parallelogram2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case ROUND_RECTANGLE:
+			return (shape1, shape2) -> shape1.getDistanceSquared((RoundRectangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case SEGMENT:
+			return (shape1, shape2) -> shape1.getDistanceSquared((Segment2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case TRIANGLE:
+			return (shape1, shape2) -> shape1.getDistanceSquared((Triangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case PATH:
+			return (shape1, shape2) -> shape1.getDistanceSquared((Path2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case MULTISHAPE:
+			return (shape1, shape2) -> shape1.getDistanceSquared((MultiShape2afp<?, ?, ?, ?, ?, ?, ?>) shape2);
+		case OTHER:
+		default:
+			return (shape1, shape2) -> {
+				throw new IllegalArgumentException();
+			};
+		}
+	}
+
+	/** Replies the routine that invokes the typed closest-point function of the first shape.
+	 *
+	 * @param kind the kind of the second shape.
+	 * @return the routine.
+	 */
+	@SuppressWarnings({"checkstyle:returncount", "checkstyle:cyclomaticcomplexity"})
+	private static ClosestPointRoutine typedClosestPoint(ShapeKind2D kind) {
+		switch (kind) {
+		case CIRCLE:
+			return (shape1, shape2) -> shape1.getClosestPointTo((Circle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case ELLIPSE:
+			return (shape1, shape2) -> shape1.getClosestPointTo((Ellipse2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case RECTANGLE:
+			return (shape1, shape2) -> shape1.getClosestPointTo((Rectangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case ORIENTED_RECTANGLE:
+			return (shape1, shape2) -> shape1.getClosestPointTo((OrientedRectangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case PARALLELOGRAM:
+			return (shape1, shape2) -> shape1.getClosestPointTo((Parallelogram2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case ROUND_RECTANGLE:
+			return (shape1, shape2) -> shape1.getClosestPointTo((RoundRectangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case SEGMENT:
+			return (shape1, shape2) -> shape1.getClosestPointTo((Segment2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case TRIANGLE:
+			return (shape1, shape2) -> shape1.getClosestPointTo((Triangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case PATH:
+			return (shape1, shape2) -> shape1.getClosestPointTo((Path2afp<?, ?, ?, ?, ?, ?>) shape2);
+		case MULTISHAPE:
+			return (shape1, shape2) -> shape1.getClosestPointTo((MultiShape2afp<?, ?, ?, ?, ?, ?, ?>) shape2);
+		case OTHER:
+		default:
+			return (shape1, shape2) -> {
+				throw new IllegalArgumentException();
+			};
+		}
+	}
+
+	private static boolean intersectsCircleCircle(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		final Circle2afp<?, ?, ?, ?, ?, ?> circle1 = (Circle2afp<?, ?, ?, ?, ?, ?>) shape1;
+		final Circle2afp<?, ?, ?, ?, ?, ?> circle2 = (Circle2afp<?, ?, ?, ?, ?, ?>) shape2;
+		return Circle2afp.intersectsCircleCircle(
+				circle1.getX(), circle1.getY(), circle1.getRadius(),
+				circle2.getX(), circle2.getY(), circle2.getRadius());
+	}
+
+	private static boolean intersectsCircleRectangle(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		return intersectsCircleRectangle(
+				(Circle2afp<?, ?, ?, ?, ?, ?>) shape1, (Rectangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+	}
+
+	private static boolean intersectsCircleRectangle(Circle2afp<?, ?, ?, ?, ?, ?> circle,
+			Rectangle2afp<?, ?, ?, ?, ?, ?> rectangle) {
+		return Circle2afp.intersectsCircleRectangle(
+				circle.getX(), circle.getY(), circle.getRadius(),
+				rectangle.getMinX(), rectangle.getMinY(), rectangle.getMaxX(), rectangle.getMaxY());
+	}
+
+	private static boolean intersectsRectangleCircle(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		return intersectsCircleRectangle(
+				(Circle2afp<?, ?, ?, ?, ?, ?>) shape2, (Rectangle2afp<?, ?, ?, ?, ?, ?>) shape1);
+	}
+
+	private static boolean intersectsCircleSegment(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		return intersectsCircleSegment(
+				(Circle2afp<?, ?, ?, ?, ?, ?>) shape1, (Segment2afp<?, ?, ?, ?, ?, ?>) shape2);
+	}
+
+	private static boolean intersectsCircleSegment(Circle2afp<?, ?, ?, ?, ?, ?> circle,
+			Segment2afp<?, ?, ?, ?, ?, ?> segment) {
+		return Circle2afp.intersectsCircleSegment(
+				circle.getX(), circle.getY(), circle.getRadius(),
+				segment.getX1(), segment.getY1(), segment.getX2(), segment.getY2());
+	}
+
+	private static boolean intersectsSegmentCircle(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		return intersectsCircleSegment(
+				(Circle2afp<?, ?, ?, ?, ?, ?>) shape2, (Segment2afp<?, ?, ?, ?, ?, ?>) shape1);
+	}
+
+	private static boolean intersectsCircleTriangle(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		return intersectsTriangleCircle(
+				(Triangle2afp<?, ?, ?, ?, ?, ?>) shape2, (Circle2afp<?, ?, ?, ?, ?, ?>) shape1);
+	}
+
+	private static boolean intersectsTriangleCircle(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		return intersectsTriangleCircle(
+				(Triangle2afp<?, ?, ?, ?, ?, ?>) shape1, (Circle2afp<?, ?, ?, ?, ?, ?>) shape2);
+	}
+
+	private static boolean intersectsTriangleCircle(Triangle2afp<?, ?, ?, ?, ?, ?> triangle,
+			Circle2afp<?, ?, ?, ?, ?, ?> circle) {
+		return Triangle2afp.intersectsTriangleCircle(
+				triangle.getX1(), triangle.getY1(), triangle.getX2(), triangle.getY2(), triangle.getX3(), triangle.getY3(),
+				circle.getX(), circle.getY(), circle.getRadius());
+	}
+
+	private static boolean intersectsRectangleRectangle(Shape2afp<?, ?, ?, ?, ?, ?> shape1,
+			Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		final Rectangle2afp<?, ?, ?, ?, ?, ?> rectangle1 = (Rectangle2afp<?, ?, ?, ?, ?, ?>) shape1;
+		final Rectangle2afp<?, ?, ?, ?, ?, ?> rectangle2 = (Rectangle2afp<?, ?, ?, ?, ?, ?>) shape2;
+		return Rectangle2afp.intersectsRectangleRectangle(
+				rectangle1.getMinX(), rectangle1.getMinY(), rectangle1.getMaxX(), rectangle1.getMaxY(),
+				rectangle2.getMinX(), rectangle2.getMinY(), rectangle2.getMaxX(), rectangle2.getMaxY());
+	}
+
+	private static boolean intersectsRectangleSegment(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		return intersectsRectangleSegment(
+				(Rectangle2afp<?, ?, ?, ?, ?, ?>) shape1, (Segment2afp<?, ?, ?, ?, ?, ?>) shape2);
+	}
+
+	private static boolean intersectsRectangleSegment(Rectangle2afp<?, ?, ?, ?, ?, ?> rectangle,
+			Segment2afp<?, ?, ?, ?, ?, ?> segment) {
+		return Rectangle2afp.intersectsRectangleSegment(
+				rectangle.getMinX(), rectangle.getMinY(), rectangle.getMaxX(), rectangle.getMaxY(),
+				segment.getX1(), segment.getY1(), segment.getX2(), segment.getY2());
+	}
+
+	private static boolean intersectsSegmentRectangle(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		return intersectsRectangleSegment(
+				(Rectangle2afp<?, ?, ?, ?, ?, ?>) shape2, (Segment2afp<?, ?, ?, ?, ?, ?>) shape1);
+	}
+
+	private static boolean intersectsRectangleTriangle(Shape2afp<?, ?, ?, ?, ?, ?> shape1,
+			Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		return intersectsTriangleRectangle(
+				(Triangle2afp<?, ?, ?, ?, ?, ?>) shape2, (Rectangle2afp<?, ?, ?, ?, ?, ?>) shape1);
+	}
+
+	private static boolean intersectsTriangleRectangle(Shape2afp<?, ?, ?, ?, ?, ?> shape1,
+			Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		return intersectsTriangleRectangle(
+				(Triangle2afp<?, ?, ?, ?, ?, ?>) shape1, (Rectangle2afp<?, ?, ?, ?, ?, ?>) shape2);
+	}
+
+	private static boolean intersectsTriangleRectangle(Triangle2afp<?, ?, ?, ?, ?, ?> triangle,
+			Rectangle2afp<?, ?, ?, ?, ?, ?> rectangle) {
+		return Triangle2afp.intersectsTriangleRectangle(
+				triangle.getX1(), triangle.getY1(), triangle.getX2(), triangle.getY2(), triangle.getX3(), triangle.getY3(),
+				rectangle.getMinX(), rectangle.getMinY(), rectangle.getWidth(), rectangle.getHeight());
+	}
+
+	private static boolean intersectsSegmentSegment(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		final Segment2afp<?, ?, ?, ?, ?, ?> segment1 = (Segment2afp<?, ?, ?, ?, ?, ?>) shape1;
+		final Segment2afp<?, ?, ?, ?, ?, ?> segment2 = (Segment2afp<?, ?, ?, ?, ?, ?>) shape2;
+		return Segment2afp.intersectsSegmentSegmentWithEnds(
+				segment1.getX1(), segment1.getY1(), segment1.getX2(), segment1.getY2(),
+				segment2.getX1(), segment2.getY1(), segment2.getX2(), segment2.getY2());
+	}
+
+	private static boolean intersectsSegmentTriangle(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		return intersectsTriangleSegment(
+				(Triangle2afp<?, ?, ?, ?, ?, ?>) shape2, (Segment2afp<?, ?, ?, ?, ?, ?>) shape1);
+	}
+
+	private static boolean intersectsTriangleSegment(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+		return intersectsTriangleSegment(
+				(Triangle2afp<?, ?, ?, ?, ?, ?>) shape1, (Segment2afp<?, ?, ?, ?, ?, ?>) shape2);
+	}
+
+	private static boolean intersectsTriangleSegment(Triangle2afp<?, ?, ?, ?, ?, ?> triangle,
+			Segment2afp<?, ?, ?, ?, ?, ?> segment) {
+		return Triangle2afp.intersectsTriangleSegment(
+				triangle.getX1(), triangle.getY1(), triangle.getX2(), triangle.getY2(), triangle.getX3(), triangle.getY3(),
+				segment.getX1(), segment.getY1(), segment.getX2(), segment.getY2());
+	}
+
+	/** Routine that replies if two shapes are intersecting.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	@FunctionalInterface
+	private interface IntersectionRoutine {
+
+		/** Replies if the two shapes are intersecting.
+		 *
+		 * @param shape1 the first shape.
+		 * @param shape2 the second shape.
+		 * @return <code>true</code> if the two shapes are intersecting.
+		 */
+		boolean intersects(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2);
+
+	}
+
+	/** Routine that replies the squared distance between two shapes.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	@FunctionalInterface
+	private interface DistanceRoutine {
+
+		/** Replies the squared value of the minimal distance between the two shapes.
+		 *
+		 * @param shape1 the first shape.
+		 * @param shape2 the second shape.
+		 * @return the squared value of the distance.
+		 */
+		double getDistanceSquared(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2);
+
+	}
+
+	/** Routine that replies the closest point on a shape to another shape.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	@FunctionalInterface
+	private interface ClosestPointRoutine {
+
+		/** Replies the closest point on the first shape to the second shape.
+		 *
+		 * @param shape1 the first shape.
+		 * @param shape2 the second shape.
+		 * @return the closest point.
+		 */
+		Point2D<?, ?> getClosestPointTo(Shape2afp<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2);
+
+	}
+
+}
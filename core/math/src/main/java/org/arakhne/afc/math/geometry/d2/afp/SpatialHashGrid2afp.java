@@ -0,0 +1,678 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntPredicate;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.geometry.NeighborPairListener;
+import org.arakhne.afc.math.geometry.d2.Point2D;
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
+/** Spatial index of 2D points that is based on a uniform grid of square cells.
+ *
+ * <p>The grid covers a fixed rectangular area with cells of the same size. The points outside
+ * this area are stored in the cells at the border of the grid, so that they are still found
+ * by the queries. Each point receives an integer identifier when it is added; the identifiers
+ * of the removed points are reused. The coordinates of the points are stored in arrays
+ * indexed by the identifiers, and each cell stores the identifiers of its points in an array.
+ * A point may be associated to an object of type {@code T}, which is replied by {@link #getData(int)}.
+ *
+ * <p>Adding, removing and {@link #move(int, double, double) moving} a point take a constant time.
+ * The rectangle and circle queries only scan the cells that are overlapping the query area.
+ * {@link #visitPairs(double, NeighborPairListener)} enumerates the pairs of points that are
+ * close to each other by comparing the points of each cell with the points of the same cell and
+ * of the next cells; {@link #visitPairsParallel(double, NeighborPairListener, ForkJoinPool)}
+ * distributes the rows of cells on the threads of a fork-join pool.
+ *
+ * <p>This grid is efficient for points that are evenly distributed over the area, and with a cell
+ * size that is close to the distance of the queries. For points that are clustered, a tree index
+ * such as {@link org.arakhne.afc.math.tree.spatial.SpatialQuadTree} is more appropriate.
+ *
+ * <p>This grid is not thread-safe for modifications; concurrent queries are supported when
+ * no modification is in progress.
+ *
+ * @param <T> the type of the objects that are associated to the points.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public class SpatialHashGrid2afp<T> {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private static final int DEFAULT_CELL_CAPACITY = 4;
+
+	private static final int TASKS_PER_THREAD = 4;
+
+	private final double minX;
+
+	private final double minY;
+
+	private final double cellSize;
+
+	private final double invCellSize;
+
+	private final int columns;
+
+	private final int rows;
+
+	private final int[][] cells;
+
+	private final int[] cellCounts;
+
+	private double[] xs = new double[DEFAULT_CAPACITY];
+
+	private double[] ys = new double[DEFAULT_CAPACITY];
+
+	/** Index of the cell of each point, or {@code -1} if the identifier is not used.
+	 */
+	private int[] cellIndexes = new int[DEFAULT_CAPACITY];
+
+	/** Index of each point in the array of its cell.
+	 */
+	private int[] slots = new int[DEFAULT_CAPACITY];
+
+	private Object[] data = new Object[DEFAULT_CAPACITY];
+
+	private int[] freeIds = new int[DEFAULT_CAPACITY];
+
+	private int freeIdCount;
+
+	private int idBound;
+
+	private int size;
+
+	/** Construct an empty grid.
+	 *
+	 * @param minX the minimal x coordinate of the area covered by the grid.
+	 * @param minY the minimal y coordinate of the area covered by the grid.
+	 * @param maxX the maximal x coordinate of the area covered by the grid.
+	 * @param maxY the maximal y coordinate of the area covered by the grid.
+	 * @param cellSize the size of the cells.
+	 */
+	@SuppressWarnings("checkstyle:magicnumber")
+	public SpatialHashGrid2afp(double minX, double minY, double maxX, double maxY, double cellSize) {
+		assert minX <= maxX : AssertMessages.lowerEqualParameters(0, minX, 2, maxX);
+		assert minY <= maxY : AssertMessages.lowerEqualParameters(1, minY, 3, maxY);
+		assert cellSize > 0. : AssertMessages.invalidValue(4);
+		this.minX = minX;
+		this.minY = minY;
+		this.cellSize = cellSize;
+		this.invCellSize = 1. / cellSize;
+		this.columns = Math.max(1, (int) Math.ceil((maxX - minX) * this.invCellSize));
+		this.rows = Math.max(1, (int) Math.ceil((maxY - minY) * this.invCellSize));
+		assert (long) this.columns * this.rows <= Integer.MAX_VALUE : AssertMessages.invalidValue(4);
+		this.cells = new int[this.columns * this.rows][];
+		this.cellCounts = new int[this.columns * this.rows];
+	}
+
+	/** Construct an empty grid.
+	 *
+	 * @param bounds the area covered by the grid.
+	 * @param cellSize the size of the cells.
+	 */
+	public SpatialHashGrid2afp(Rectangle2afp<?, ?, ?, ?, ?, ?> bounds, double cellSize) {
+		this(bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY(), cellSize);
+	}
+
+	/** Replies the size of the cells.
+	 *
+	 * @return the size of the cells.
+	 */
+	@Pure
+	public double getCellSize() {
+		return this.cellSize;
+	}
+
+	/** Replies the number of columns of cells.
+	 *
+	 * @return the number of columns.
+	 */
+	@Pure
+	public int getColumnCount() {
+		return this.columns;
+	}
+
+	/** Replies the number of rows of cells.
+	 *
+	 * @return the number of rows.
+	 */
+	@Pure
+	public int getRowCount() {
+		return this.rows;
+	}
+
+	/** Replies the number of points in the grid.
+	 *
+	 * @return the number of points.
+	 */
+	@Pure
+	public int size() {
+		return this.size;
+	}
+
+	/** Replies if the grid contains no point.
+	 *
+	 * @return {@code true} if the grid is empty.
+	 */
+	@Pure
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/** Replies the upper bound of the identifiers of the points. All the identifiers
+	 * are lower than this bound.
+	 *
+	 * @return the upper bound of the identifiers.
+	 */
+	@Pure
+	public int getIdBound() {
+		return this.idBound;
+	}
+
+	/** Replies if a point with the given identifier is inside the grid.
+	 *
+	 * @param id the identifier.
+	 * @return {@code true} if the point is inside the grid.
+	 */
+	@Pure
+	public boolean contains(int id) {
+		return id >= 0 && id < this.idBound && this.cellIndexes[id] >= 0;
+	}
+
+	/** Replies the x coordinate of the point with the given identifier.
+	 *
+	 * @param id the identifier of the point.
+	 * @return the x coordinate.
+	 */
+	@Pure
+	public double getX(int id) {
+		assert contains(id) : AssertMessages.invalidValue(0);
+		return this.xs[id];
+	}
+
+	/** Replies the y coordinate of the point with the given identifier.
+	 *
+	 * @param id the identifier of the point.
+	 * @return the y coordinate.
+	 */
+	@Pure
+	public double getY(int id) {
+		assert contains(id) : AssertMessages.invalidValue(0);
+		return this.ys[id];
+	}
+
+	/** Replies the object that is associated to the point with the given identifier.
+	 *
+	 * @param id the identifier of the point.
+	 * @return the object, or {@code null} if no object is associated to the point.
+	 */
+	@Pure
+	@SuppressWarnings("unchecked")
+	public T getData(int id) {
+		assert contains(id) : AssertMessages.invalidValue(0);
+		return (T) this.data[id];
+	}
+
+	/** Remove all the points from the grid.
+	 */
+	public void clear() {
+		Arrays.fill(this.cellCounts, 0);
+		Arrays.fill(this.data, 0, this.idBound, null);
+		this.idBound = 0;
+		this.freeIdCount = 0;
+		this.size = 0;
+	}
+
+	/** Add a point into the grid.
+	 *
+	 * @param x the x coordinate of the point.
+	 * @param y the y coordinate of the point.
+	 * @return the identifier of the point.
+	 */
+	public int add(double x, double y) {
+		return add(null, x, y);
+	}
+
+	/** Add a point into the grid.
+	 *
+	 * @param position the position of the point.
+	 * @return the identifier of the point.
+	 */
+	public int add(Point2D<?, ?> position) {
+		return add(null, position);
+	}
+
+	/** Add a point into the grid.
+	 *
+	 * @param object the object that is associated to the point, or {@code null}.
+	 * @param position the position of the point.
+	 * @return the identifier of the point.
+	 */
+	public int add(T object, Point2D<?, ?> position) {
+		assert position != null : AssertMessages.notNullParameter(1);
+		return add(object, position.getX(), position.getY());
+	}
+
+	/** Add a point into the grid.
+	 *
+	 * @param object the object that is associated to the point, or {@code null}.
+	 * @param x the x coordinate of the point.
+	 * @param y the y coordinate of the point.
+	 * @return the identifier of the point.
+	 */
+	public int add(T object, double x, double y) {
+		final int id = allocateId();
+		this.xs[id] = x;
+		this.ys[id] = y;
+		this.data[id] = object;
+		insert(id, cellOf(x, y));
+		++this.size;
+		return id;
+	}
+
+	/** Remove the point with the given identifier from the grid.
+	 * The identifier may be reused by the next added points.
+	 *
+	 * @param id the identifier of the point.
+	 * @return {@code true} if the point was removed; {@code false} if it is not inside the grid.
+	 */
+	public boolean remove(int id) {
+		if (!contains(id)) {
+			return false;
+		}
+		extract(id);
+		this.cellIndexes[id] = -1;
+		this.data[id] = null;
+		if (this.freeIdCount == this.freeIds.length) {
+			this.freeIds = Arrays.copyOf(this.freeIds, this.freeIdCount * 2);
+		}
+		this.freeIds[this.freeIdCount++] = id;
+		--this.size;
+		return true;
+	}
+
+	/** Move the point with the given identifier.
+	 *
+	 * @param id the identifier of the point.
+	 * @param position the new position of the point.
+	 * @return {@code true} if the point was moved; {@code false} if it is not inside the grid.
+	 */
+	public boolean move(int id, Point2D<?, ?> position) {
+		assert position != null : AssertMessages.notNullParameter(1);
+		return move(id, position.getX(), position.getY());
+	}
+
+	/** Move the point with the given identifier.
+	 *
+	 * @param id the identifier of the point.
+	 * @param x the new x coordinate of the point.
+	 * @param y the new y coordinate of the point.
+	 * @return {@code true} if the point was moved; {@code false} if it is not inside the grid.
+	 */
+	public boolean move(int id, double x, double y) {
+		if (!contains(id)) {
+			return false;
+		}
+		this.xs[id] = x;
+		this.ys[id] = y;
+		final int cell = cellOf(x, y);
+		if (cell != this.cellIndexes[id]) {
+			extract(id);
+			insert(id, cell);
+		}
+		return true;
+	}
+
+	private int allocateId() {
+		if (this.freeIdCount > 0) {
+			return this.freeIds[--this.freeIdCount];
+		}
+		if (this.idBound == this.xs.length) {
+			final int capacity = this.idBound * 2;
+			this.xs = Arrays.copyOf(this.xs, capacity);
+			this.ys = Arrays.copyOf(this.ys, capacity);
+			this.cellIndexes = Arrays.copyOf(this.cellIndexes, capacity);
+			this.slots = Arrays.copyOf(this.slots, capacity);
+			this.data = Arrays.copyOf(this.data, capacity);
+		}
+		return this.idBound++;
+	}
+
+	private void insert(int id, int cell) {
+		int[] bucket = this.cells[cell];
+		final int count = this.cellCounts[cell];
+		if (bucket == null) {
+			bucket = new int[DEFAULT_CELL_CAPACITY];
+			this.cells[cell] = bucket;
+		} else if (count == bucket.length) {
+			bucket = Arrays.copyOf(bucket, count * 2);
+			this.cells[cell] = bucket;
+		}
+		bucket[count] = id;
+		this.cellCounts[cell] = count + 1;
+		this.cellIndexes[id] = cell;
+		this.slots[id] = count;
+	}
+
+	/** Remove the point from its cell. The last point of the cell takes its place.
+	 *
+	 * @param id the identifier of the point.
+	 */
+	private void extract(int id) {
+		final int cell = this.cellIndexes[id];
+		final int[] bucket = this.cells[cell];
+		final int last = --this.cellCounts[cell];
+		final int slot = this.slots[id];
+		if (slot != last) {
+			final int moved = bucket[last];
+			bucket[slot] = moved;
+			this.slots[moved] = slot;
+		}
+	}
+
+	/** Replies the column of cells for the given coordinate. The coordinates
+	 * outside the grid are mapped to the first or the last column.
+	 *
+	 * @param x the x coordinate.
+	 * @return the column.
+	 */
+	private int column(double x) {
+		final int column = (int) ((x - this.minX) * this.invCellSize);
+		if (column < 0) {
+			return 0;
+		}
+		return column >= this.columns ? this.columns - 1 : column;
+	}
+
+	/** Replies the row of cells for the given coordinate. The coordinates
+	 * outside the grid are mapped to the first or the last row.
+	 *
+	 * @param y the y coordinate.
+	 * @return the row.
+	 */
+	private int row(double y) {
+		final int row = (int) ((y - this.minY) * this.invCellSize);
+		if (row < 0) {
+			return 0;
+		}
+		return row >= this.rows ? this.rows - 1 : row;
+	}
+
+	private int cellOf(double x, double y) {
+		return row(y) * this.columns + column(x);
+	}
+
+	/** Visit the points that are inside the given rectangle.
+	 *
+	 * @param rectangle the rectangle.
+	 * @param visitor the visitor that is invoked with the identifier of each point. It replies {@code false}
+	 *     for stopping the visit.
+	 * @return {@code true} if all the points were visited, {@code false} if the visitor stopped the visit.
+	 */
+	@Pure
+	public boolean visitInRectangle(Rectangle2afp<?, ?, ?, ?, ?, ?> rectangle, IntPredicate visitor) {
+		assert rectangle != null : AssertMessages.notNullParameter(0);
+		return visitInRectangle(rectangle.getMinX(), rectangle.getMinY(), rectangle.getMaxX(), rectangle.getMaxY(),
+				visitor);
+	}
+
+	/** Visit the points that are inside the given rectangle.
+	 *
+	 * @param x1 the minimal x coordinate of the rectangle.
+	 * @param y1 the minimal y coordinate of the rectangle.
+	 * @param x2 the maximal x coordinate of the rectangle.
+	 * @param y2 the maximal y coordinate of the rectangle.
+	 * @param visitor the visitor that is invoked with the identifier of each point. It replies {@code false}
+	 *     for stopping the visit.
+	 * @return {@code true} if all the points were visited, {@code false} if the visitor stopped the visit.
+	 */
+	@Pure
+	@SuppressWarnings("checkstyle:magicnumber")
+	public boolean visitInRectangle(double x1, double y1, double x2, double y2, IntPredicate visitor) {
+		assert visitor != null : AssertMessages.notNullParameter(4);
+		final int column1 = column(x1);
+		final int column2 = column(x2);
+		final int row2 = row(y2);
+		for (int row = row(y1); row <= row2; ++row) {
+			int cell = row * this.columns + column1;
+			for (int column = column1; column <= column2; ++column, ++cell) {
+				final int[] bucket = this.cells[cell];
+				final int count = this.cellCounts[cell];
+				for (int i = 0; i < count; ++i) {
+					final int id = bucket[i];
+					final double x = this.xs[id];
+					final double y = this.ys[id];
+					if (x >= x1 && x <= x2 && y >= y1 && y <= y2 && !visitor.test(id)) {
+						return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/** Visit the points that are inside the given circle.
+	 *
+	 * @param circle the circle.
+	 * @param visitor the visitor that is invoked with the identifier of each point. It replies {@code false}
+	 *     for stopping the visit.
+	 * @return {@code true} if all the points were visited, {@code false} if the visitor stopped the visit.
+	 */
+	@Pure
+	public boolean visitInCircle(Circle2afp<?, ?, ?, ?, ?, ?> circle, IntPredicate visitor) {
+		assert circle != null : AssertMessages.notNullParameter(0);
+		return visitInCircle(circle.getX(), circle.getY(), circle.getRadius(), visitor);
+	}
+
+	/** Visit the points that are inside the given circle.
+	 *
+	 * @param cx the x coordinate of the center of the circle.
+	 * @param cy the y coordinate of the center of the circle.
+	 * @param radius the radius of the circle.
+	 * @param visitor the visitor that is invoked with the identifier of each point. It replies {@code false}
+	 *     for stopping the visit.
+	 * @return {@code true} if all the points were visited, {@code false} if the visitor stopped the visit.
+	 */
+	@Pure
+	@SuppressWarnings("checkstyle:magicnumber")
+	public boolean visitInCircle(double cx, double cy, double radius, IntPredicate visitor) {
+		assert radius >= 0. : AssertMessages.positiveOrZeroParameter(2);
+		assert visitor != null : AssertMessages.notNullParameter(3);
+		final double squaredRadius = radius * radius;
+		final int column1 = column(cx - radius);
+		final int column2 = column(cx + radius);
+		final int row2 = row(cy + radius);
+		for (int row = row(cy - radius); row <= row2; ++row) {
+			int cell = row * this.columns + column1;
+			for (int column = column1; column <= column2; ++column, ++cell) {
+				final int[] bucket = this.cells[cell];
+				final int count = this.cellCounts[cell];
+				for (int i = 0; i < count; ++i) {
+					final int id = bucket[i];
+					final double dx = this.xs[id] - cx;
+					final double dy = this.ys[id] - cy;
+					if (dx * dx + dy * dy <= squaredRadius && !visitor.test(id)) {
+						return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/** Enumerate the pairs of points that are at the given distance or closer.
+	 * Each pair is reported once.
+	 *
+	 * @param distance the maximal distance between the points of a pair.
+	 * @param listener the listener that is invoked for each pair.
+	 */
+	public void visitPairs(double distance, NeighborPairListener listener) {
+		assert distance >= 0. : AssertMessages.positiveOrZeroParameter(0);
+		assert listener != null : AssertMessages.notNullParameter(1);
+		visitPairs(0, this.rows, distance, listener);
+	}
+
+	/** Enumerate the pairs of points with a first point in the given rows of cells.
+	 * The points of a cell are compared to the points of the same cell, of the next cells
+	 * in the same row and of the cells of the next rows.
+	 *
+	 * @param fromRow the first row.
+	 * @param toRow the row after the last row.
+	 * @param distance the maximal distance between the points of a pair.
+	 * @param listener the listener that is invoked for each pair.
+	 */
+	private void visitPairs(int fromRow, int toRow, double distance, NeighborPairListener listener) {
+		final double squaredDistance = distance * distance;
+		final int range = (int) Math.min(Math.ceil(distance * this.invCellSize), Math.max(this.columns, this.rows));
+		for (int row = fromRow; row < toRow; ++row) {
+			final int lastRow = Math.min(this.rows - 1, row + range);
+			for (int column = 0; column < this.columns; ++column) {
+				final int cell = row * this.columns + column;
+				final int count = this.cellCounts[cell];
+				if (count > 0) {
+					final int[] bucket = this.cells[cell];
+					for (int i = 0; i < count; ++i) {
+						visitPairs(bucket[i], bucket, i + 1, count, squaredDistance, listener);
+					}
+					final int lastColumn = Math.min(this.columns - 1, column + range);
+					for (int row2 = row; row2 <= lastRow; ++row2) {
+						// The minimal distance between the points of the two cells
+						final double gapY = Math.max(0, row2 - row - 1) * this.cellSize;
+						final int firstColumn = row2 == row ? column + 1 : Math.max(0, column - range);
+						for (int column2 = firstColumn; column2 <= lastColumn; ++column2) {
+							final double gapX = Math.max(0, Math.abs(column2 - column) - 1) * this.cellSize;
+							final int cell2 = row2 * this.columns + column2;
+							final int count2 = this.cellCounts[cell2];
+							if (count2 > 0 && gapX * gapX + gapY * gapY <= squaredDistance) {
+								final int[] bucket2 = this.cells[cell2];
+								for (int i = 0; i < count; ++i) {
+									visitPairs(bucket[i], bucket2, 0, count2, squaredDistance, listener);
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void visitPairs(int id, int[] bucket, int from, int to, double squaredDistance,
+			NeighborPairListener listener) {
+		final double x = this.xs[id];
+		final double y = this.ys[id];
+		for (int i = from; i < to; ++i) {
+			final int id2 = bucket[i];
+			final double dx = this.xs[id2] - x;
+			final double dy = this.ys[id2] - y;
+			final double squared = dx * dx + dy * dy;
+			if (squared <= squaredDistance) {
+				if (id < id2) {
+					listener.neighbors(id, id2, squared);
+				} else {
+					listener.neighbors(id2, id, squared);
+				}
+			}
+		}
+	}
+
+	/** Enumerate in parallel the pairs of points that are at the given distance or closer.
+	 * Each pair is reported once. The tasks are run by the {@link ForkJoinPool#commonPool() common pool}.
+	 *
+	 * @param distance the maximal distance between the points of a pair.
+	 * @param listener the listener that is invoked for each pair. It is invoked concurrently
+	 *     by the threads of the pool.
+	 * @see #visitPairsParallel(double, NeighborPairListener, ForkJoinPool)
+	 */
+	public void visitPairsParallel(double distance, NeighborPairListener listener) {
+		visitPairsParallel(distance, listener, ForkJoinPool.commonPool());
+	}
+
+	/** Enumerate in parallel the pairs of points that are at the given distance or closer.
+	 * Each pair is reported once.
+	 *
+	 * <p>The rows of cells are split into tasks that are run by the given pool. The grid must not
+	 * be changed until this function returns.
+	 *
+	 * @param distance the maximal distance between the points of a pair.
+	 * @param listener the listener that is invoked for each pair. It is invoked concurrently
+	 *     by the threads of the pool.
+	 * @param pool the pool that runs the tasks.
+	 */
+	public void visitPairsParallel(double distance, NeighborPairListener listener, ForkJoinPool pool) {
+		assert distance >= 0. : AssertMessages.positiveOrZeroParameter(0);
+		assert listener != null : AssertMessages.notNullParameter(1);
+		assert pool != null : AssertMessages.notNullParameter(2);
+		final int grain = Math.max(1, this.rows / (pool.getParallelism() * TASKS_PER_THREAD));
+		pool.invoke(new PairTask(0, this.rows, grain, distance, listener));
+	}
+
+	/** Task that enumerates the pairs of points in a range of rows of cells.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private final class PairTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 4319217094637015848L;
+
+		private final int fromRow;
+
+		private final int toRow;
+
+		private final int grain;
+
+		private final double distance;
+
+		private final NeighborPairListener listener;
+
+		PairTask(int fromRow, int toRow, int grain, double distance, NeighborPairListener listener) {
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+			this.grain = grain;
+			this.distance = distance;
+			this.listener = listener;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.toRow - this.fromRow <= this.grain) {
+				visitPairs(this.fromRow, this.toRow, this.distance, this.listener);
+			} else {
+				final int middle = (this.fromRow + this.toRow) >>> 1;
+				invokeAll(new PairTask(this.fromRow, middle, this.grain, this.distance, this.listener),
+						new PairTask(middle, this.toRow, this.grain, this.distance, this.listener));
+			}
+		}
+
+	}
+
+}
@@ -29,6 +29,7 @@ import org.arakhne.afc.math.Unefficient;
 import org.arakhne.afc.math.geometry.CrossingComputationType;
 import org.arakhne.afc.math.geometry.PathWindingRule;
 import org.arakhne.afc.math.geometry.d2.Point2D;
+import org.arakhne.afc.math.geometry.d2.ShapeKind2D;
 import org.arakhne.afc.math.geometry.d2.Transform2D;
 import org.arakhne.afc.math.geometry.d2.Vector2D;
 import org.arakhne.afc.vmutil.asserts.AssertMessages;
@@ -655,6 +656,12 @@ public interface Triangle2afp<
         return containsTriangleRectangle(tx1, ty1, tx2, ty2, tx3, ty3, rx, ry, rwidth, rheight);
     }
 
+    @Pure
+    @Override
+    default ShapeKind2D getShapeKind() {
+        return ShapeKind2D.TRIANGLE;
+    }
+
     @Pure
     @Override
     default boolean equalsToShape(IT shape) {
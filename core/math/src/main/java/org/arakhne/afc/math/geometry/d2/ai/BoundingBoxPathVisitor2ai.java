@@ -0,0 +1,125 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.ai;
+
+import org.arakhne.afc.math.geometry.PathElementType;
+
+/** Visitor on a flattened path that computes the bounding box of the drawn lines.
+ *
+ * <p>This visitor supports only the moves, the straight lines and the closing elements.
+ * The curves must be flattened before reaching this visitor, e.g. with a
+ * {@link FlatteningPathVisitor2ai}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+class BoundingBoxPathVisitor2ai implements PathVisitor2ai {
+
+    private boolean found;
+
+    private int xmin = Integer.MAX_VALUE;
+
+    private int ymin = Integer.MAX_VALUE;
+
+    private int xmax = Integer.MIN_VALUE;
+
+    private int ymax = Integer.MIN_VALUE;
+
+    private int curx;
+
+    private int cury;
+
+    private int movx;
+
+    private int movy;
+
+    /** Constructor.
+     */
+    BoundingBoxPathVisitor2ai() {
+        //
+    }
+
+    private void add(int x, int y) {
+        if (x < this.xmin) {
+            this.xmin = x;
+        }
+        if (y < this.ymin) {
+            this.ymin = y;
+        }
+        if (x > this.xmax) {
+            this.xmax = x;
+        }
+        if (y > this.ymax) {
+            this.ymax = y;
+        }
+    }
+
+    @Override
+    public void moveTo(int x, int y) {
+        this.movx = x;
+        this.movy = y;
+        this.curx = x;
+        this.cury = y;
+    }
+
+    @Override
+    public void lineTo(int x, int y) {
+        add(this.curx, this.cury);
+        add(x, y);
+        this.curx = x;
+        this.cury = y;
+        this.found = true;
+    }
+
+    @Override
+    public void quadTo(int ctrlx, int ctrly, int x, int y) {
+        throw new IllegalStateException(PathElementType.QUAD_TO.toString());
+    }
+
+    @Override
+    public void curveTo(int ctrlx1, int ctrly1, int ctrlx2, int ctrly2, int x, int y) {
+        throw new IllegalStateException(PathElementType.CURVE_TO.toString());
+    }
+
+    @Override
+    public void closePath() {
+        this.curx = this.movx;
+        this.cury = this.movy;
+    }
+
+    /** Set the given box with the computed bounds.
+     *
+     * @param box the box to set.
+     * @return <code>true</code> if a line was found.
+     */
+    boolean toBoundingBox(Rectangle2ai<?, ?, ?, ?, ?, ?> box) {
+        if (this.found) {
+            box.setFromCorners(this.xmin, this.ymin, this.xmax, this.ymax);
+        } else {
+            box.clear();
+        }
+        return this.found;
+    }
+
+}
@@ -32,6 +32,7 @@ import org.arakhne.afc.math.geometry.CrossingComputationType;
 import org.arakhne.afc.math.geometry.PathWindingRule;
 import org.arakhne.afc.math.geometry.d2.GeomFactory;
 import org.arakhne.afc.math.geometry.d2.Point2D;
+import org.arakhne.afc.math.geometry.d2.ShapeKind2D;
 import org.arakhne.afc.math.geometry.d2.Transform2D;
 import org.arakhne.afc.math.geometry.d2.Tuple2iComparator;
 import org.arakhne.afc.math.geometry.d2.Vector2D;
@@ -647,6 +648,12 @@ public interface Circle2ai<
         return getRadius() <= 0;
     }
 
+    @Pure
+    @Override
+    default ShapeKind2D getShapeKind() {
+        return ShapeKind2D.CIRCLE;
+    }
+
     /** Change the circle.
      *
      * @param x the x coordinate of the center.
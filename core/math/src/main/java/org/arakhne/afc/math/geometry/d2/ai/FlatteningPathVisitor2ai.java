@@ -0,0 +1,285 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.ai;
+
+import org.arakhne.afc.math.MathConstants;
+import org.arakhne.afc.math.geometry.PathElementType;
+import org.arakhne.afc.math.geometry.d2.ai.Path2ai.FlatteningPathIterator;
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
+/** A path visitor that is flattening the curves of the path before forwarding them to another visitor.
+ *
+ * <p>The elements are forwarded with the same algorithm as {@link FlatteningPathIterator}: the curves
+ * are approximated by lines, the coordinates are rounded, and the elements that are not moving the current
+ * point are skipped. The subdivision buffers are allocated once and reused for all the curves.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+public class FlatteningPathVisitor2ai implements PathVisitor2ai {
+
+    /** The visitor that is receiving the flattened elements.
+     */
+    private final PathVisitor2ai visitor;
+
+    /**
+     * Square of the flatness parameter for testing against squared lengths.
+     */
+    private final double squaredFlatness;
+
+    /**
+     * Maximum number of recursion levels.
+     */
+    private final int limit;
+
+    /** The recursion level at which each curve being held in storage was generated.
+     */
+    private final int[] levels;
+
+    /** The cache of interpolated coords.
+     */
+    private double[] hold = new double[14];
+
+    /** The index of the last curve segment being held for interpolation.
+     */
+    private int holdEnd;
+
+    /** The index of the curve segment that was last interpolated.
+     */
+    private int holdIndex;
+
+    /** The ending x of the last segment.
+     */
+    private double currentX;
+
+    /** The ending y of the last segment.
+     */
+    private double currentY;
+
+    /** The x of the last move segment.
+     */
+    private double moveX;
+
+    /** The y of the last move segment.
+     */
+    private double moveY;
+
+    /** Indicates if an element was already forwarded.
+     */
+    private boolean started;
+
+    /** The x of the last forwarded point.
+     */
+    private int lastNextX;
+
+    /** The y of the last forwarded point.
+     */
+    private int lastNextY;
+
+    /** Constructor with the default flatness and recursion limit.
+     *
+     * @param visitor the visitor that is receiving the flattened elements.
+     */
+    public FlatteningPathVisitor2ai(PathVisitor2ai visitor) {
+        this(visitor, MathConstants.SPLINE_APPROXIMATION_RATIO, Path2ai.DEFAULT_FLATTENING_LIMIT);
+    }
+
+    /** Constructor.
+     *
+     * @param visitor the visitor that is receiving the flattened elements.
+     * @param flatness the maximum allowable distance between the
+     *     control points and the flattened curve
+     * @param limit the maximum number of recursive subdivisions
+     *     allowed for any curved segment
+     */
+    public FlatteningPathVisitor2ai(PathVisitor2ai visitor, double flatness, int limit) {
+        assert visitor != null : AssertMessages.notNullParameter(0);
+        assert flatness > 0f : AssertMessages.positiveOrZeroParameter(1);
+        assert limit >= 0 : AssertMessages.positiveOrZeroParameter(2);
+        this.visitor = visitor;
+        this.squaredFlatness = flatness * flatness;
+        this.limit = limit;
+        this.levels = new int[limit + 1];
+    }
+
+    /**
+     * Ensures that the hold array can hold up to (want) more values.
+     * It is currently holding (hold.length - holdIndex) values.
+     */
+    private void ensureHoldCapacity(int want) {
+        if (this.holdIndex - want < 0) {
+            final int have = this.hold.length - this.holdIndex;
+            final int newsize = this.hold.length + Path2ai.GROW_SIZE;
+            final double[] newhold = new double[newsize];
+            System.arraycopy(this.hold, this.holdIndex,
+                    newhold, this.holdIndex + Path2ai.GROW_SIZE,
+                    have);
+            this.hold = newhold;
+            this.holdIndex += Path2ai.GROW_SIZE;
+            this.holdEnd += Path2ai.GROW_SIZE;
+        }
+    }
+
+    /** Forward an element to the visitor if it is moving the current point.
+     *
+     * @param type the type of the element.
+     * @param x the x coordinate of the element's target point.
+     * @param y the y coordinate of the element's target point.
+     */
+    private void forward(PathElementType type, double x, double y) {
+        final int ix = (int) Math.round(x);
+        final int iy = (int) Math.round(y);
+        if (this.started && ix == this.lastNextX && iy == this.lastNextY) {
+            return;
+        }
+        this.started = true;
+        this.lastNextX = ix;
+        this.lastNextY = iy;
+        switch (type) {
+        case MOVE_TO:
+            this.visitor.moveTo(ix, iy);
+            break;
+        case CLOSE:
+            this.visitor.closePath();
+            break;
+        case LINE_TO:
+        case QUAD_TO:
+        case CURVE_TO:
+        case ARC_TO:
+        default:
+            this.visitor.lineTo(ix, iy);
+            break;
+        }
+    }
+
+    @Override
+    public void moveTo(int x, int y) {
+        this.currentX = x;
+        this.currentY = y;
+        this.moveX = x;
+        this.moveY = y;
+        forward(PathElementType.MOVE_TO, x, y);
+    }
+
+    @Override
+    public void lineTo(int x, int y) {
+        this.currentX = x;
+        this.currentY = y;
+        forward(PathElementType.LINE_TO, x, y);
+    }
+
+    @Override
+    public void quadTo(int ctrlx, int ctrly, int x, int y) {
+        // Move the coordinates to the end of the array.
+        this.holdIndex = this.hold.length - 6;
+        this.holdEnd = this.hold.length - 2;
+        this.hold[this.holdIndex + 0] = this.currentX;
+        this.hold[this.holdIndex + 1] = this.currentY;
+        this.hold[this.holdIndex + 2] = ctrlx;
+        this.hold[this.holdIndex + 3] = ctrly;
+        this.hold[this.holdIndex + 4] = x;
+        this.hold[this.holdIndex + 5] = y;
+        this.currentX = x;
+        this.currentY = y;
+        int levelIndex = 0;
+        this.levels[0] = 0;
+        do {
+            int level = this.levels[levelIndex];
+            while (level < this.limit) {
+                if (FlatteningPathIterator.getQuadSquaredFlatness(this.hold, this.holdIndex) < this.squaredFlatness) {
+                    break;
+                }
+                ensureHoldCapacity(4);
+                FlatteningPathIterator.subdivideQuad(
+                        this.hold, this.holdIndex,
+                        this.hold, this.holdIndex - 4,
+                        this.hold, this.holdIndex);
+                this.holdIndex -= 4;
+                level++;
+                this.levels[levelIndex] = level;
+                levelIndex++;
+                this.levels[levelIndex] = level;
+            }
+            this.holdIndex += 4;
+            levelIndex--;
+            forward(PathElementType.LINE_TO, this.hold[this.holdIndex], this.hold[this.holdIndex + 1]);
+        }
+        while (this.holdIndex < this.holdEnd && !this.visitor.isDone());
+    }
+
+    @Override
+    public void curveTo(int ctrlx1, int ctrly1, int ctrlx2, int ctrly2, int x, int y) {
+        // Move the coordinates to the end of the array.
+        this.holdIndex = this.hold.length - 8;
+        this.holdEnd = this.hold.length - 2;
+        this.hold[this.holdIndex + 0] = this.currentX;
+        this.hold[this.holdIndex + 1] = this.currentY;
+        this.hold[this.holdIndex + 2] = ctrlx1;
+        this.hold[this.holdIndex + 3] = ctrly1;
+        this.hold[this.holdIndex + 4] = ctrlx2;
+        this.hold[this.holdIndex + 5] = ctrly2;
+        this.hold[this.holdIndex + 6] = x;
+        this.hold[this.holdIndex + 7] = y;
+        this.currentX = x;
+        this.currentY = y;
+        int levelIndex = 0;
+        this.levels[0] = 0;
+        do {
+            int level = this.levels[levelIndex];
+            while (level < this.limit) {
+                if (FlatteningPathIterator.getCurveSquaredFlatness(this.hold, this.holdIndex) < this.squaredFlatness) {
+                    break;
+                }
+                ensureHoldCapacity(6);
+                FlatteningPathIterator.subdivideCurve(
+                        this.hold, this.holdIndex,
+                        this.hold, this.holdIndex - 6,
+                        this.hold, this.holdIndex);
+                this.holdIndex -= 6;
+                level++;
+                this.levels[levelIndex] = level;
+                levelIndex++;
+                this.levels[levelIndex] = level;
+            }
+            this.holdIndex += 6;
+            levelIndex--;
+            forward(PathElementType.LINE_TO, this.hold[this.holdIndex], this.hold[this.holdIndex + 1]);
+        }
+        while (this.holdIndex < this.holdEnd && !this.visitor.isDone());
+    }
+
+    @Override
+    public void closePath() {
+        this.currentX = this.moveX;
+        this.currentY = this.moveY;
+        forward(PathElementType.CLOSE, this.moveX, this.moveY);
+    }
+
+    @Override
+    public boolean isDone() {
+        return this.visitor.isDone();
+    }
+
+}
@@ -232,6 +232,25 @@ public interface Path2ai<
         return foundOneLine;
     }
 
+    /** Compute the box that corresponds to the drawable elements of the path.
+     *
+     * <p>This function is the allocation-free equivalent of
+     * {@link #calculatesDrawableElementBoundingBox(PathIterator2ai, Rectangle2ai)} when it is invoked
+     * on the flattened path.
+     *
+     * @param path the path.
+     * @param box the box to set.
+     * @return <code>true</code> if a drawable element was found.
+     */
+    static boolean calculatesDrawableElementBoundingBox(Path2ai<?, ?, ?, ?, ?, ?> path,
+            Rectangle2ai<?, ?, ?, ?, ?, ?> box) {
+        assert path != null : AssertMessages.notNullParameter(0);
+        assert box != null : AssertMessages.notNullParameter(1);
+        final BoundingBoxPathVisitor2ai visitor = new BoundingBoxPathVisitor2ai();
+        path.visit(new FlatteningPathVisitor2ai(visitor));
+        return visitor.toBoundingBox(box);
+    }
+
     /** Compute the box that corresponds to the control points of the path.
      *
      * <p>An element is drawable if it is a line, a curve, or a closing path element.
@@ -1009,6 +1028,27 @@ public interface Path2ai<
         return numCrossings;
     }
 
+    /** Calculates the number of times the given path crosses the ray extending to the right from (px, py).
+     *
+     * <p>This function is the allocation-free equivalent of
+     * {@link #calculatesCrossingsPathIteratorPointShadow(int, PathIterator2ai, int, int, CrossingComputationType)}.
+     *
+     * @param crossings is the initial value for crossing.
+     * @param path is the path.
+     * @param px is the reference point to test.
+     * @param py is the reference point to test.
+     * @param type is the type of special computation to apply. If <code>null</code>, it
+     *     is equivalent to {@link CrossingComputationType#STANDARD}.
+     * @return the crossing or {@link MathConstants#SHAPE_INTERSECTS}
+     */
+    static int calculatesCrossingsPathPointShadow(int crossings, Path2ai<?, ?, ?, ?, ?, ?> path, int px, int py,
+            CrossingComputationType type) {
+        assert path != null : AssertMessages.notNullParameter(1);
+        final PointCrossingsPathVisitor2ai visitor = new PointCrossingsPathVisitor2ai(crossings, px, py);
+        path.visit(visitor);
+        return visitor.getCrossings(type);
+    }
+
     /**
      * Accumulate the number of times the path crosses the shadow
      * extending to the right of the second path.  See the comment
@@ -1242,6 +1282,23 @@ public interface Path2ai<
         return (cross & mask) != 0;
     }
 
+    /** Tests if the specified coordinates are inside the closed boundary of the specified path.
+     *
+     * <p>This function is the allocation-free equivalent of {@link #containsPoint(PathIterator2ai, int, int)}.
+     *
+     * @param path the path.
+     * @param x the specified X coordinate
+     * @param y the specified Y coordinate
+     * @return {@code true} if the specified coordinates are inside the specified path; {@code false} otherwise
+     */
+    static boolean containsPoint(Path2ai<?, ?, ?, ?, ?, ?> path, int x, int y) {
+        assert path != null : AssertMessages.notNullParameter(0);
+        final int mask = path.getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 1;
+        final int cross = calculatesCrossingsPathPointShadow(0, path, x, y,
+                CrossingComputationType.SIMPLE_INTERSECTION_WHEN_NOT_POLYGON);
+        return (cross & mask) != 0;
+    }
+
     /**
      * Tests if the specified rectangle is inside the closed
      * boundary of the specified {@link PathIterator2ai}.
@@ -1326,7 +1383,7 @@ public interface Path2ai<
 
     @Override
     default boolean contains(int x, int y) {
-        return containsPoint(getPathIterator(), x, y);
+        return containsPoint(this, x, y);
     }
 
     /**
@@ -2598,6 +2655,48 @@ public interface Path2ai<
     @Pure
     int getCoordAt(int index);
 
+    /** Visit the elements of this path with the given visitor, without allocating path elements.
+     *
+     * <p>The elements are replied in the same order as by {@link #getPathIterator()}: the curves are
+     * not flattened. Wrap the visitor into a {@link FlatteningPathVisitor2ai} for obtaining the flattened elements.
+     * The traversal is stopped as soon as {@link PathVisitor2ai#isDone()} replies <code>true</code>.
+     *
+     * @param visitor the visitor.
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    default void visit(PathVisitor2ai visitor) {
+        assert visitor != null : AssertMessages.notNullParameter();
+        final int count = getPathElementCount();
+        int coord = 0;
+        for (int i = 0; i < count && !visitor.isDone(); ++i) {
+            switch (getPathElementTypeAt(i)) {
+            case MOVE_TO:
+                visitor.moveTo(getCoordAt(coord), getCoordAt(coord + 1));
+                coord += 2;
+                break;
+            case LINE_TO:
+                visitor.lineTo(getCoordAt(coord), getCoordAt(coord + 1));
+                coord += 2;
+                break;
+            case QUAD_TO:
+                visitor.quadTo(getCoordAt(coord), getCoordAt(coord + 1), getCoordAt(coord + 2), getCoordAt(coord + 3));
+                coord += 4;
+                break;
+            case CURVE_TO:
+                visitor.curveTo(getCoordAt(coord), getCoordAt(coord + 1), getCoordAt(coord + 2), getCoordAt(coord + 3),
+                        getCoordAt(coord + 4), getCoordAt(coord + 5));
+                coord += 6;
+                break;
+            case CLOSE:
+                visitor.closePath();
+                break;
+            case ARC_TO:
+            default:
+                throw new IllegalStateException();
+            }
+        }
+    }
+
     /** Change the coordinates of the last inserted point.
      *
      * @param x the new x coordinate of the last point.
@@ -3285,7 +3384,7 @@ public interface Path2ai<
          * @return the flatness of the quadratic curve that is defined by the
          *          values in the specified array at the specified index.
          */
-        private static double getQuadSquaredFlatness(double[] coords, int offset) {
+        static double getQuadSquaredFlatness(double[] coords, int offset) {
             return Segment2afp.calculatesDistanceSquaredLinePoint(
                     coords[offset + 0], coords[offset + 1],
                     coords[offset + 4], coords[offset + 5],
@@ -3319,7 +3418,7 @@ public interface Path2ai<
          * @param rightoff the offset into the array of the beginning of the
          *     the 6 right coordinates
          */
-        private static void subdivideQuad(double[] src, int srcoff,
+        static void subdivideQuad(double[] src, int srcoff,
                 double[] left, int leftoff,
                 double[] right, int rightoff) {
             double x1 = src[srcoff + 0];
@@ -3368,7 +3467,7 @@ public interface Path2ai<
          *          specified by the coordinates in <code>coords</code> at
          *          the specified offset.
          */
-        private static double getCurveSquaredFlatness(double[] coords, int offset) {
+        static double getCurveSquaredFlatness(double[] coords, int offset) {
             return Math.max(
                     Segment2afp.calculatesDistanceSquaredSegmentPoint(
                             coords[offset + 6],
@@ -3413,7 +3512,7 @@ public interface Path2ai<
          * @param rightoff the offset into the array of the beginning of the
          *     the 6 right coordinates
          */
-        private static void subdivideCurve(
+        static void subdivideCurve(
                 double[] src, int srcoff,
                 double[] left, int leftoff,
                 double[] right, int rightoff) {
@@ -3699,5 +3798,4 @@ public interface Path2ai<
         }
 
     }
-
 }
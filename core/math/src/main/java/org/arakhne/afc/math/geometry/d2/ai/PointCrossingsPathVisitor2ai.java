@@ -0,0 +1,220 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.ai;
+
+import org.arakhne.afc.math.MathConstants;
+import org.arakhne.afc.math.geometry.CrossingComputationType;
+import org.arakhne.afc.vmutil.locale.Locale;
+
+/** Visitor on a path that computes the crossings between the path and the ray extending to the right
+ * of a point.
+ *
+ * <p>The curves are flattened on the fly, each one as a separate subpath, as in
+ * {@link Path2ai#calculatesCrossingsPathIteratorPointShadow(int, PathIterator2ai, int, int, CrossingComputationType)}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+class PointCrossingsPathVisitor2ai implements PathVisitor2ai {
+
+    private final int px;
+
+    private final int py;
+
+    private final FlatteningPathVisitor2ai flattener;
+
+    private int crossings;
+
+    private boolean started;
+
+    private boolean done;
+
+    private int movx;
+
+    private int movy;
+
+    private int curx;
+
+    private int cury;
+
+    /** Constructor.
+     *
+     * @param crossings is the initial value for crossing.
+     * @param px is the reference point to test.
+     * @param py is the reference point to test.
+     */
+    PointCrossingsPathVisitor2ai(int crossings, int px, int py) {
+        this.crossings = crossings;
+        this.px = px;
+        this.py = py;
+        this.flattener = new FlatteningPathVisitor2ai(new CurveVisitor());
+    }
+
+    private void ensureStarted() {
+        if (!this.started) {
+            throw new IllegalArgumentException(Locale.getString(Path2ai.class, "E1")); //$NON-NLS-1$
+        }
+    }
+
+    private void crossesTo(int x, int y) {
+        this.crossings = Segment2ai.calculatesCrossingsPointShadowSegment(this.crossings,
+                this.px, this.py, this.curx, this.cury, x, y);
+        if (this.crossings == MathConstants.SHAPE_INTERSECTS) {
+            this.done = true;
+        }
+        this.curx = x;
+        this.cury = y;
+    }
+
+    @Override
+    public void moveTo(int x, int y) {
+        this.started = true;
+        this.movx = x;
+        this.movy = y;
+        this.curx = x;
+        this.cury = y;
+    }
+
+    @Override
+    public void lineTo(int x, int y) {
+        ensureStarted();
+        crossesTo(x, y);
+    }
+
+    @Override
+    public void quadTo(int ctrlx, int ctrly, int x, int y) {
+        ensureStarted();
+        this.flattener.moveTo(this.curx, this.cury);
+        this.flattener.quadTo(ctrlx, ctrly, x, y);
+        this.curx = x;
+        this.cury = y;
+    }
+
+    @Override
+    public void curveTo(int ctrlx1, int ctrly1, int ctrlx2, int ctrly2, int x, int y) {
+        ensureStarted();
+        this.flattener.moveTo(this.curx, this.cury);
+        this.flattener.curveTo(ctrlx1, ctrly1, ctrlx2, ctrly2, x, y);
+        this.curx = x;
+        this.cury = y;
+    }
+
+    @Override
+    public void closePath() {
+        ensureStarted();
+        if (this.cury != this.movy || this.curx != this.movx) {
+            crossesTo(this.movx, this.movy);
+        }
+        this.curx = this.movx;
+        this.cury = this.movy;
+    }
+
+    @Override
+    public boolean isDone() {
+        return this.done;
+    }
+
+    /** Replies the crossings for the visited path.
+     *
+     * @param type is the type of special computation to apply. If <code>null</code>, it
+     *     is equivalent to {@link CrossingComputationType#STANDARD}.
+     * @return the crossing or {@link MathConstants#SHAPE_INTERSECTS}
+     */
+    int getCrossings(CrossingComputationType type) {
+        if (!this.started) {
+            return 0;
+        }
+        if (this.done) {
+            return this.crossings;
+        }
+        final boolean isOpen = (this.curx != this.movx) || (this.cury != this.movy);
+        if (isOpen && type != null) {
+            switch (type) {
+            case AUTO_CLOSE:
+                // Not closed
+                if (this.movx == this.px && this.movy == this.py) {
+                    return MathConstants.SHAPE_INTERSECTS;
+                }
+                crossesTo(this.movx, this.movy);
+                break;
+            case SIMPLE_INTERSECTION_WHEN_NOT_POLYGON:
+                // Assume that when is the path is open, only
+                // SHAPE_INTERSECTS may be return
+                this.crossings = 0;
+                break;
+            case STANDARD:
+            default:
+                break;
+            }
+        }
+        return this.crossings;
+    }
+
+    /** Receiver of the flattened curves.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 13.0
+     */
+    private class CurveVisitor implements PathVisitor2ai {
+
+        CurveVisitor() {
+            //
+        }
+
+        @Override
+        public void moveTo(int x, int y) {
+            // The curve starts from the current point
+        }
+
+        @Override
+        public void lineTo(int x, int y) {
+            crossesTo(x, y);
+        }
+
+        @Override
+        public void quadTo(int ctrlx, int ctrly, int x, int y) {
+            throw new IllegalStateException();
+        }
+
+        @Override
+        public void curveTo(int ctrlx1, int ctrly1, int ctrlx2, int ctrly2, int x, int y) {
+            throw new IllegalStateException();
+        }
+
+        @Override
+        public void closePath() {
+            throw new IllegalStateException();
+        }
+
+        @Override
+        public boolean isDone() {
+            return PointCrossingsPathVisitor2ai.this.done;
+        }
+
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.ai;
+
+import java.util.List;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.geometry.d2.AbstractRTree2D;
+import org.arakhne.afc.math.geometry.d2.Shape2D;
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
+/** Spatial index of 2D shapes with integer coordinates that is based on a R-tree.
+ *
+ * @param <T> the type of the indexed shapes.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public class RTree2ai<T extends Shape2ai<?, ?, ?, ?, ?, ?>> extends AbstractRTree2D<T> {
+
+	/** Construct an empty tree with the {@link #DEFAULT_NODE_CAPACITY default node capacity}.
+	 */
+	public RTree2ai() {
+		super();
+	}
+
+	/** Construct an empty tree.
+	 *
+	 * @param nodeCapacity the maximal number of children of a node. It must be at least {@code 4}.
+	 */
+	public RTree2ai(int nodeCapacity) {
+		super(nodeCapacity);
+	}
+
+	@Override
+	protected void computeBounds(Shape2D<?, ?, ?, ?, ?, ?> shape, double[] bounds) {
+		assert shape instanceof Shape2ai<?, ?, ?, ?, ?, ?> : AssertMessages.invalidValue(0);
+		final Rectangle2ai<?, ?, ?, ?, ?, ?> box = ((Shape2ai<?, ?, ?, ?, ?, ?>) shape).toBoundingBox();
+		bounds[0] = box.getMinX();
+		bounds[1] = box.getMinY();
+		bounds[2] = box.getMaxX();
+		bounds[3] = box.getMaxY();
+	}
+
+	/** Replies the shapes with a bounding box that intersects the given window.
+	 *
+	 * @param window the window.
+	 * @return the shapes with a bounding box intersecting the window.
+	 */
+	@Pure
+	public List<T> getShapesInWindow(Rectangle2ai<?, ?, ?, ?, ?, ?> window) {
+		assert window != null : AssertMessages.notNullParameter();
+		return getShapesInWindow(window.getMinX(), window.getMinY(), window.getMaxX(), window.getMaxY());
+	}
+
+}
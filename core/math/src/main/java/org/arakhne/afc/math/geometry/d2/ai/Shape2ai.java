@@ -174,25 +174,9 @@ public interface Shape2ai<
     }
 
     @Pure
-    @Unefficient
     @Override
     default boolean intersects(Shape2D<?, ?, ?, ?, ?, ?> shape) {
-        if (shape instanceof Circle2ai) {
-            return intersects((Circle2ai<?, ?, ?, ?, ?, ?>) shape);
-        }
-        if (shape instanceof Path2ai) {
-            return intersects((Path2ai<?, ?, ?, ?, ?, ?>) shape);
-        }
-        if (shape instanceof PathIterator2ai) {
-            return intersects((PathIterator2ai<?>) shape);
-        }
-        if (shape instanceof Rectangle2ai) {
-            return intersects((Rectangle2ai<?, ?, ?, ?, ?, ?>) shape);
-        }
-        if (shape instanceof Segment2ai) {
-            return intersects((Segment2ai<?, ?, ?, ?, ?, ?>) shape);
-        }
-        return intersects(getPathIterator());
+        return ShapeDispatch2ai.intersects(this, shape);
     }
 
     /** Replies if this shape is intersecting the given rectangle.
@@ -252,22 +236,9 @@ public interface Shape2ai<
     boolean intersects(PathIterator2ai<?> iterator);
 
     @Pure
-    @Unefficient
     @Override
     default double getDistanceSquared(Shape2D<?, ?, ?, ?, ?, ?> shape) {
-        if (shape instanceof Circle2ai) {
-            return getDistanceSquared((Circle2ai<?, ?, ?, ?, ?, ?>) shape);
-        }
-        if (shape instanceof Path2ai) {
-            return getDistanceSquared((Path2ai<?, ?, ?, ?, ?, ?>) shape);
-        }
-        if (shape instanceof Rectangle2ai) {
-            return getDistanceSquared((Rectangle2ai<?, ?, ?, ?, ?, ?>) shape);
-        }
-        if (shape instanceof Segment2ai) {
-            return getDistanceSquared((Segment2ai<?, ?, ?, ?, ?, ?>) shape);
-        }
-        throw new IllegalArgumentException();
+        return ShapeDispatch2ai.getDistanceSquared(this, shape);
     }
 
     /** Replies the minimum distance between this shape and the given rectangle.
@@ -334,25 +305,10 @@ public interface Shape2ai<
     }
 
     @Pure
-    @Unefficient
     @Override
+    @SuppressWarnings("unchecked")
     default P getClosestPointTo(Shape2D<?, ?, ?, ?, ?, ?> shape) {
-        if (shape instanceof Circle2ai) {
-            return getClosestPointTo((Circle2ai<?, ?, ?, ?, ?, ?>) shape);
-        }
-        if (shape instanceof MultiShape2ai) {
-            return getClosestPointTo((MultiShape2ai<?, ?, ?, ?, ?, ?, ?>) shape);
-        }
-        if (shape instanceof Path2ai) {
-            return getClosestPointTo((Path2ai<?, ?, ?, ?, ?, ?>) shape);
-        }
-        if (shape instanceof Rectangle2ai) {
-            return getClosestPointTo((Rectangle2ai<?, ?, ?, ?, ?, ?>) shape);
-        }
-        if (shape instanceof Segment2ai) {
-            return getClosestPointTo((Segment2ai<?, ?, ?, ?, ?, ?>) shape);
-        }
-        throw new IllegalArgumentException();
+        return (P) ShapeDispatch2ai.getClosestPointTo(this, shape);
     }
 
     /** Replies the closest point on this shape to the given rectangle.
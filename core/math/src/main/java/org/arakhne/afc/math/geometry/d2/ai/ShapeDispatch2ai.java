@@ -0,0 +1,359 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.ai;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.geometry.d2.Point2D;
+import org.arakhne.afc.math.geometry.d2.Shape2D;
+import org.arakhne.afc.math.geometry.d2.ShapeKind2D;
+
+/** Dispatch table of the functions of {@link Shape2ai} that are taking a {@link Shape2D} as argument.
+ *
+ * <p>The tables are indexed by the {@link ShapeKind2D kinds} of the two shapes. Each entry is
+ * a routine that is specialized for the two kinds. When there is no dedicated routine for a pair of
+ * kinds, the entry casts the second shape to its type and invokes the typed function of the first
+ * shape, e.g. {@link Shape2ai#intersects(Circle2ai)}. The tables are shared by all the
+ * implementations of the shapes with integer coordinates.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+final class ShapeDispatch2ai {
+
+    private static final ShapeKind2D[] KINDS = ShapeKind2D.values();
+
+    private static final int KIND_COUNT = KINDS.length;
+
+    private static final IntersectionRoutine[] INTERSECTIONS = new IntersectionRoutine[KIND_COUNT * KIND_COUNT];
+
+    private static final DistanceRoutine[] DISTANCES = new DistanceRoutine[KIND_COUNT * KIND_COUNT];
+
+    private static final ClosestPointRoutine[] CLOSEST_POINTS = new ClosestPointRoutine[KIND_COUNT * KIND_COUNT];
+
+    static {
+        for (final ShapeKind2D kind2 : KINDS) {
+            final IntersectionRoutine intersection = typedIntersection(kind2);
+            final DistanceRoutine distance = typedDistance(kind2);
+            final ClosestPointRoutine closestPoint = typedClosestPoint(kind2);
+            for (final ShapeKind2D kind1 : KINDS) {
+                final int index = index(kind1, kind2);
+                INTERSECTIONS[index] = intersection;
+                DISTANCES[index] = distance;
+                CLOSEST_POINTS[index] = closestPoint;
+            }
+        }
+        INTERSECTIONS[index(ShapeKind2D.CIRCLE, ShapeKind2D.CIRCLE)] = ShapeDispatch2ai::intersectsCircleCircle;
+        INTERSECTIONS[index(ShapeKind2D.CIRCLE, ShapeKind2D.RECTANGLE)] = ShapeDispatch2ai::intersectsCircleRectangle;
+        INTERSECTIONS[index(ShapeKind2D.RECTANGLE, ShapeKind2D.CIRCLE)] = ShapeDispatch2ai::intersectsRectangleCircle;
+        INTERSECTIONS[index(ShapeKind2D.CIRCLE, ShapeKind2D.SEGMENT)] = ShapeDispatch2ai::intersectsCircleSegment;
+        INTERSECTIONS[index(ShapeKind2D.SEGMENT, ShapeKind2D.CIRCLE)] = ShapeDispatch2ai::intersectsSegmentCircle;
+        INTERSECTIONS[index(ShapeKind2D.RECTANGLE, ShapeKind2D.RECTANGLE)] = ShapeDispatch2ai::intersectsRectangleRectangle;
+        INTERSECTIONS[index(ShapeKind2D.RECTANGLE, ShapeKind2D.SEGMENT)] = ShapeDispatch2ai::intersectsRectangleSegment;
+        INTERSECTIONS[index(ShapeKind2D.SEGMENT, ShapeKind2D.RECTANGLE)] = ShapeDispatch2ai::intersectsSegmentRectangle;
+        INTERSECTIONS[index(ShapeKind2D.SEGMENT, ShapeKind2D.SEGMENT)] = ShapeDispatch2ai::intersectsSegmentSegment;
+    }
+
+    private ShapeDispatch2ai() {
+        //
+    }
+
+    /** Replies the index of the entry for the given kinds in the tables.
+     *
+     * @param kind1 the kind of the first shape.
+     * @param kind2 the kind of the second shape.
+     * @return the index.
+     */
+    @Pure
+    private static int index(ShapeKind2D kind1, ShapeKind2D kind2) {
+        return kind1.ordinal() * KIND_COUNT + kind2.ordinal();
+    }
+
+    /** Replies the kind of the given shape. The shapes with floating-point coordinates
+     * have no specific kind for the shapes with integer coordinates.
+     *
+     * @param shape the shape.
+     * @return the kind.
+     */
+    @Pure
+    private static ShapeKind2D kindOf(Shape2D<?, ?, ?, ?, ?, ?> shape) {
+        return shape instanceof Shape2ai ? shape.getShapeKind() : ShapeKind2D.OTHER;
+    }
+
+    /** Replies if the two shapes are intersecting.
+     *
+     * @param shape1 the first shape.
+     * @param shape2 the second shape.
+     * @return <code>true</code> if the two shapes are intersecting.
+     * @see Shape2ai#intersects(Shape2D)
+     */
+    @Pure
+    static boolean intersects(Shape2ai<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+        return INTERSECTIONS[index(shape1.getShapeKind(), kindOf(shape2))].intersects(shape1, shape2);
+    }
+
+    /** Replies the squared value of the minimal distance between the two shapes.
+     *
+     * @param shape1 the first shape.
+     * @param shape2 the second shape.
+     * @return the squared value of the distance.
+     * @throws IllegalArgumentException if the second shape has no kind with integer coordinates.
+     * @see Shape2ai#getDistanceSquared(Shape2D)
+     */
+    @Pure
+    static double getDistanceSquared(Shape2ai<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+        return DISTANCES[index(shape1.getShapeKind(), kindOf(shape2))].getDistanceSquared(shape1, shape2);
+    }
+
+    /** Replies the closest point on the first shape to the second shape.
+     *
+     * @param shape1 the first shape.
+     * @param shape2 the second shape.
+     * @return the closest point.
+     * @throws IllegalArgumentException if the second shape has no kind with integer coordinates.
+     * @see Shape2ai#getClosestPointTo(Shape2D)
+     */
+    @Pure
+    static Point2D<?, ?> getClosestPointTo(Shape2ai<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+        return CLOSEST_POINTS[index(shape1.getShapeKind(), kindOf(shape2))].getClosestPointTo(shape1, shape2);
+    }
+
+    /** Replies the routine that invokes the typed intersection function of the first shape.
+     *
+     * @param kind the kind of the second shape.
+     * @return the routine.
+     */
+    @SuppressWarnings("checkstyle:returncount")
+    private static IntersectionRoutine typedIntersection(ShapeKind2D kind) {
+        switch (kind) {
+        case CIRCLE:
+            return (shape1, shape2) -> shape1.intersects((Circle2ai<?, ?, ?, ?, ?, ?>) shape2);
+        case RECTANGLE:
+            return (shape1, shape2) -> shape1.intersects((Rectangle2ai<?, ?, ?, ?, ?, ?>) shape2);
+        case SEGMENT:
+            return (shape1, shape2) -> shape1.intersects((Segment2ai<?, ?, ?, ?, ?, ?>) shape2);
+        case PATH:
+            return (shape1, shape2) -> shape1.intersects((Path2ai<?, ?, ?, ?, ?, ?>) shape2);
+        case MULTISHAPE:
+            return (shape1, shape2) -> shape1.intersects((MultiShape2ai<?, ?, ?, ?, ?, ?, ?>) shape2);
+        default:
+            return (shape1, shape2) -> {
+                if (shape2 instanceof PathIterator2ai) {
+                    return shape1.intersects((PathIterator2ai<?>) shape2);
+                }
+                return shape1.intersects(shape1.getGeomFactory().convert(shape2.getPathIterator()));
+            };
+        }
+    }
+
+    /** Replies the routine that invokes the typed distance function of the first shape.
+     *
+     * @param kind the kind of the second shape.
+     * @return the routine.
+     */
+    @SuppressWarnings("checkstyle:returncount")
+    private static DistanceRoutine typedDistance(ShapeKind2D kind) {
+        switch (kind) {
+        case CIRCLE:
+            return (shape1, shape2) -> shape1.getDistanceSquared((Circle2ai<?, ?, ?, ?, ?, ?>) shape2);
+        case RECTANGLE:
+            return (shape1, shape2) -> shape1.getDistanceSquared((Rectangle2ai<?, ?, ?, ?, ?, ?>) shape2);
+        case SEGMENT:
+            return (shape1, shape2) -> shape1.getDistanceSquared((Segment2ai<?, ?, ?, ?, ?, ?>) shape2);
+        case PATH:
+            return (shape1, shape2) -> shape1.getDistanceSquared((Path2ai<?, ?, ?, ?, ?, ?>) shape2);
+        case MULTISHAPE:
+            return (shape1, shape2) -> shape1.getDistanceSquared((MultiShape2ai<?, ?, ?, ?, ?, ?, ?>) shape2);
+        default:
+            return (shape1, shape2) -> {
+                throw new IllegalArgumentException();
+            };
+        }
+    }
+
+    /** Replies the routine that invokes the typed closest-point function of the first shape.
+     *
+     * @param kind the kind of the second shape.
+     * @return the routine.
+     */
+    @SuppressWarnings("checkstyle:returncount")
+    private static ClosestPointRoutine typedClosestPoint(ShapeKind2D kind) {
+        switch (kind) {
+        case CIRCLE:
+            return (shape1, shape2) -> shape1.getClosestPointTo((Circle2ai<?, ?, ?, ?, ?, ?>) shape2);
+        case RECTANGLE:
+            return (shape1, shape2) -> shape1.getClosestPointTo((Rectangle2ai<?, ?, ?, ?, ?, ?>) shape2);
+        case SEGMENT:
+            return (shape1, shape2) -> shape1.getClosestPointTo((Segment2ai<?, ?, ?, ?, ?, ?>) shape2);
+        case PATH:
+            return (shape1, shape2) -> shape1.getClosestPointTo((Path2ai<?, ?, ?, ?, ?, ?>) shape2);
+        case MULTISHAPE:
+            return (shape1, shape2) -> shape1.getClosestPointTo((MultiShape2ai<?, ?, ?, ?, ?, ?, ?>) shape2);
+        default:
+            return (shape1, shape2) -> {
+                throw new IllegalArgumentException();
+            };
+        }
+    }
+
+    private static boolean intersectsCircleCircle(Shape2ai<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+        final Circle2ai<?, ?, ?, ?, ?, ?> circle1 = (Circle2ai<?, ?, ?, ?, ?, ?>) shape1;
+        final Circle2ai<?, ?, ?, ?, ?, ?> circle2 = (Circle2ai<?, ?, ?, ?, ?, ?>) shape2;
+        return Circle2ai.intersectsCircleCircle(
+                circle1.getX(), circle1.getY(), circle1.getRadius(),
+                circle2.getX(), circle2.getY(), circle2.getRadius());
+    }
+
+    private static boolean intersectsCircleRectangle(Shape2ai<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+        return intersectsCircleRectangle(
+                (Circle2ai<?, ?, ?, ?, ?, ?>) shape1, (Rectangle2ai<?, ?, ?, ?, ?, ?>) shape2);
+    }
+
+    private static boolean intersectsCircleRectangle(Circle2ai<?, ?, ?, ?, ?, ?> circle,
+            Rectangle2ai<?, ?, ?, ?, ?, ?> rectangle) {
+        return Circle2ai.intersectsCircleRectangle(
+                circle.getX(), circle.getY(), circle.getRadius(),
+                rectangle.getMinX(), rectangle.getMinY(), rectangle.getMaxX(), rectangle.getMaxY());
+    }
+
+    private static boolean intersectsRectangleCircle(Shape2ai<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+        return intersectsCircleRectangle(
+                (Circle2ai<?, ?, ?, ?, ?, ?>) shape2, (Rectangle2ai<?, ?, ?, ?, ?, ?>) shape1);
+    }
+
+    private static boolean intersectsCircleSegment(Shape2ai<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+        return intersectsCircleSegment(
+                (Circle2ai<?, ?, ?, ?, ?, ?>) shape1, (Segment2ai<?, ?, ?, ?, ?, ?>) shape2);
+    }
+
+    private static boolean intersectsCircleSegment(Circle2ai<?, ?, ?, ?, ?, ?> circle,
+            Segment2ai<?, ?, ?, ?, ?, ?> segment) {
+        return Circle2ai.intersectsCircleSegment(
+                circle.getX(), circle.getY(), circle.getRadius(),
+                segment.getX1(), segment.getY1(), segment.getX2(), segment.getY2());
+    }
+
+    private static boolean intersectsSegmentCircle(Shape2ai<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+        return intersectsCircleSegment(
+                (Circle2ai<?, ?, ?, ?, ?, ?>) shape2, (Segment2ai<?, ?, ?, ?, ?, ?>) shape1);
+    }
+
+    private static boolean intersectsRectangleRectangle(Shape2ai<?, ?, ?, ?, ?, ?> shape1,
+            Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+        final Rectangle2ai<?, ?, ?, ?, ?, ?> rectangle1 = (Rectangle2ai<?, ?, ?, ?, ?, ?>) shape1;
+        final Rectangle2ai<?, ?, ?, ?, ?, ?> rectangle2 = (Rectangle2ai<?, ?, ?, ?, ?, ?>) shape2;
+        return Rectangle2ai.intersectsRectangleRectangle(
+                rectangle1.getMinX(), rectangle1.getMinY(), rectangle1.getMaxX(), rectangle1.getMaxY(),
+                rectangle2.getMinX(), rectangle2.getMinY(), rectangle2.getMaxX(), rectangle2.getMaxY());
+    }
+
+    private static boolean intersectsRectangleSegment(Shape2ai<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+        return intersectsRectangleSegment(
+                (Rectangle2ai<?, ?, ?, ?, ?, ?>) shape1, (Segment2ai<?, ?, ?, ?, ?, ?>) shape2);
+    }
+
+    private static boolean intersectsRectangleSegment(Rectangle2ai<?, ?, ?, ?, ?, ?> rectangle,
+            Segment2ai<?, ?, ?, ?, ?, ?> segment) {
+        return Rectangle2ai.intersectsRectangleSegment(
+                rectangle.getMinX(), rectangle.getMinY(), rectangle.getMaxX(), rectangle.getMaxY(),
+                segment.getX1(), segment.getY1(), segment.getX2(), segment.getY2());
+    }
+
+    private static boolean intersectsSegmentRectangle(Shape2ai<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+        return intersectsRectangleSegment(
+                (Rectangle2ai<?, ?, ?, ?, ?, ?>) shape2, (Segment2ai<?, ?, ?, ?, ?, ?>) shape1);
+    }
+
+    private static boolean intersectsSegmentSegment(Shape2ai<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2) {
+        final Segment2ai<?, ?, ?, ?, ?, ?> segment1 = (Segment2ai<?, ?, ?, ?, ?, ?>) shape1;
+        final Segment2ai<?, ?, ?, ?, ?, ?> segment2 = (Segment2ai<?, ?, ?, ?, ?, ?>) shape2;
+        return Segment2ai.intersectsSegmentSegment(
+                segment1.getX1(), segment1.getY1(), segment1.getX2(), segment1.getY2(),
+                segment2.getX1(), segment2.getY1(), segment2.getX2(), segment2.getY2());
+    }
+
+    /** Routine that replies if two shapes are intersecting.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 13.0
+     */
+    @FunctionalInterface
+    private interface IntersectionRoutine {
+
+        /** Replies if the two shapes are intersecting.
+         *
+         * @param shape1 the first shape.
+         * @param shape2 the second shape.
+         * @return <code>true</code> if the two shapes are intersecting.
+         */
+        boolean intersects(Shape2ai<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2);
+
+    }
+
+    /** Routine that replies the squared distance between two shapes.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 13.0
+     */
+    @FunctionalInterface
+    private interface DistanceRoutine {
+
+        /** Replies the squared value of the minimal distance between the two shapes.
+         *
+         * @param shape1 the first shape.
+         * @param shape2 the second shape.
+         * @return the squared value of the distance.
+         */
+        double getDistanceSquared(Shape2ai<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2);
+
+    }
+
+    /** Routine that replies the closest point on a shape to another shape.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 13.0
+     */
+    @FunctionalInterface
+    private interface ClosestPointRoutine {
+
+        /** Replies the closest point on the first shape to the second shape.
+         *
+         * @param shape1 the first shape.
+         * @param shape2 the second shape.
+         * @return the closest point.
+         */
+        Point2D<?, ?> getClosestPointTo(Shape2ai<?, ?, ?, ?, ?, ?> shape1, Shape2D<?, ?, ?, ?, ?, ?> shape2);
+
+    }
+
+}
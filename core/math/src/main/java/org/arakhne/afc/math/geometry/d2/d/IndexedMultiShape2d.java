@@ -0,0 +1,288 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.d;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.geometry.d2.Point2D;
+import org.arakhne.afc.math.geometry.d2.afp.Circle2afp;
+import org.arakhne.afc.math.geometry.d2.afp.Ellipse2afp;
+import org.arakhne.afc.math.geometry.d2.afp.OrientedRectangle2afp;
+import org.arakhne.afc.math.geometry.d2.afp.Parallelogram2afp;
+import org.arakhne.afc.math.geometry.d2.afp.RTree2afp;
+import org.arakhne.afc.math.geometry.d2.afp.Rectangle2afp;
+import org.arakhne.afc.math.geometry.d2.afp.RoundRectangle2afp;
+import org.arakhne.afc.math.geometry.d2.afp.Segment2afp;
+import org.arakhne.afc.math.geometry.d2.afp.Shape2afp;
+import org.arakhne.afc.math.geometry.d2.afp.Triangle2afp;
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
+/** Container for grouping of shapes that is indexed with a R-tree.
+ *
+ * <p>The containment, intersection and distance queries are answered with a
+ * {@link RTree2afp R-tree} on the bounding boxes of the shapes, instead of a linear scan
+ * of the shapes.
+ *
+ * <p>The index is built with a bulk loading on the first query that follows a change of the
+ * list of the shapes. When a shape inside the multishape is moved, the index is
+ * updated incrementally.
+ *
+ * @param <T> the type of the shapes inside the multishape.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public class IndexedMultiShape2d<T extends Shape2d<?>> extends MultiShape2d<T> {
+
+	private static final long serialVersionUID = 2606463734522599548L;
+
+	private transient RTree2afp<T> index;
+
+	/**
+	 * Construct an empty multishape.
+	 */
+	public IndexedMultiShape2d() {
+		//
+	}
+
+	/** Construct a multishape with shapes inside.
+	 *
+	 * @param shapes the shapes to add into the multishape.
+	 */
+	public IndexedMultiShape2d(@SuppressWarnings("unchecked") T... shapes) {
+		assert shapes != null : AssertMessages.notNullParameter();
+		addAll(Arrays.asList(shapes));
+	}
+
+	/** Construct a multishape with shapes inside.
+	 *
+	 * @param shapes the shapes to add into the multishape.
+	 */
+	public IndexedMultiShape2d(Iterable<? extends T> shapes) {
+		assert shapes != null : AssertMessages.notNullParameter();
+		for (final T element : shapes) {
+			add(element);
+		}
+	}
+
+	@Override
+	@Pure
+	public IndexedMultiShape2d<T> clone() {
+		final IndexedMultiShape2d<T> clone = (IndexedMultiShape2d<T>) super.clone();
+		clone.index = null;
+		return clone;
+	}
+
+	/** Replies the spatial index of the shapes.
+	 *
+	 * <p>The index is built if it is not yet available.
+	 *
+	 * @return the spatial index.
+	 */
+	protected RTree2afp<T> getIndex() {
+		if (this.index == null) {
+			final RTree2afp<T> tree = new RTree2afp<>();
+			tree.addAll(getBackendDataList());
+			this.index = tree;
+		}
+		return this.index;
+	}
+
+	@Override
+	public void onBackendDataChange() {
+		this.index = null;
+		super.onBackendDataChange();
+	}
+
+	@Override
+	protected void onContentGeometryChange(T shape) {
+		if (this.index != null) {
+			this.index.update(shape);
+		}
+		super.onContentGeometryChange(shape);
+	}
+
+	@Override
+	public void translate(double dx, double dy) {
+		if (dx != 0 || dy != 0) {
+			this.index = null;
+		}
+		super.translate(dx, dy);
+	}
+
+	/** Replies the shape of this multishape that is the nearest to the given point.
+	 *
+	 * @param point the point.
+	 * @return the nearest shape, or {@code null} if this multishape is empty.
+	 */
+	@Pure
+	public T getNearestShape(Point2D<?, ?> point) {
+		return getIndex().getNearestShape(point);
+	}
+
+	/** Replies the shapes of this multishape that are the nearest to the given point.
+	 *
+	 * @param point the point.
+	 * @param count the maximal number of shapes to reply.
+	 * @return the nearest shapes, sorted from the nearest to the farthest.
+	 */
+	@Pure
+	public List<T> getNearestShapes(Point2D<?, ?> point, int count) {
+		return getIndex().getNearestShapes(point, count);
+	}
+
+	/** Replies the shapes of this multishape with a bounding box that intersects the given window.
+	 *
+	 * @param window the window.
+	 * @return the shapes with a bounding box intersecting the window.
+	 */
+	@Pure
+	public List<T> getShapesInWindow(Rectangle2afp<?, ?, ?, ?, ?, ?> window) {
+		return getIndex().getShapesInWindow(window);
+	}
+
+	@Pure
+	@Override
+	public T getFirstShapeContaining(Point2D<?, ?> point) {
+		return getIndex().getFirstShapeContaining(point);
+	}
+
+	@Pure
+	@Override
+	public List<T> getShapesContaining(Point2D<?, ?> point) {
+		return getIndex().getShapesContaining(point);
+	}
+
+	@Pure
+	@Override
+	public T getFirstShapeIntersecting(Shape2d<?> shape) {
+		return getIndex().getFirstShapeIntersecting(shape);
+	}
+
+	@Pure
+	@Override
+	public List<T> getShapesIntersecting(Shape2d<?> shape) {
+		return getIndex().getShapesIntersecting(shape);
+	}
+
+	@Pure
+	@Override
+	public Point2d getClosestPointTo(Point2D<?, ?> point) {
+		final T shape = getIndex().getNearestShape(point);
+		return shape == null ? null : shape.getClosestPointTo(point);
+	}
+
+	@Pure
+	@Override
+	public double getDistanceSquared(Point2D<?, ?> point) {
+		final T shape = getIndex().getNearestShape(point);
+		return shape == null ? Double.POSITIVE_INFINITY : shape.getDistanceSquared(point);
+	}
+
+	@Pure
+	@Override
+	public boolean contains(double x, double y) {
+		return !getIndex().visitShapesInWindow(x, y, x, y, (shape) -> !shape.contains(x, y));
+	}
+
+	@Pure
+	@Override
+	public boolean contains(Rectangle2afp<?, ?, ?, ?, ?, ?> rectangle) {
+		assert rectangle != null : AssertMessages.notNullParameter();
+		return existsInBoundsOf(rectangle, (shape) -> shape.contains(rectangle));
+	}
+
+	@Pure
+	@Override
+	public boolean intersects(Ellipse2afp<?, ?, ?, ?, ?, ?> ellipse) {
+		assert ellipse != null : AssertMessages.notNullParameter();
+		return existsInBoundsOf(ellipse, (shape) -> shape.intersects(ellipse));
+	}
+
+	@Pure
+	@Override
+	public boolean intersects(Circle2afp<?, ?, ?, ?, ?, ?> circle) {
+		assert circle != null : AssertMessages.notNullParameter();
+		return existsInBoundsOf(circle, (shape) -> shape.intersects(circle));
+	}
+
+	@Pure
+	@Override
+	public boolean intersects(Rectangle2afp<?, ?, ?, ?, ?, ?> rectangle) {
+		assert rectangle != null : AssertMessages.notNullParameter();
+		return existsInBoundsOf(rectangle, (shape) -> shape.intersects(rectangle));
+	}
+
+	@Pure
+	@Override
+	public boolean intersects(Segment2afp<?, ?, ?, ?, ?, ?> segment) {
+		assert segment != null : AssertMessages.notNullParameter();
+		return existsInBoundsOf(segment, (shape) -> shape.intersects(segment));
+	}
+
+	@Pure
+	@Override
+	public boolean intersects(Triangle2afp<?, ?, ?, ?, ?, ?> triangle) {
+		assert triangle != null : AssertMessages.notNullParameter();
+		return existsInBoundsOf(triangle, (shape) -> shape.intersects(triangle));
+	}
+
+	@Pure
+	@Override
+	public boolean intersects(OrientedRectangle2afp<?, ?, ?, ?, ?, ?> orientedRectangle) {
+		assert orientedRectangle != null : AssertMessages.notNullParameter();
+		return existsInBoundsOf(orientedRectangle, (shape) -> shape.intersects(orientedRectangle));
+	}
+
+	@Pure
+	@Override
+	public boolean intersects(Parallelogram2afp<?, ?, ?, ?, ?, ?> parallelogram) {
+		assert parallelogram != null : AssertMessages.notNullParameter();
+		return existsInBoundsOf(parallelogram, (shape) -> shape.intersects(parallelogram));
+	}
+
+	@Pure
+	@Override
+	public boolean intersects(RoundRectangle2afp<?, ?, ?, ?, ?, ?> roundRectangle) {
+		assert roundRectangle != null : AssertMessages.notNullParameter();
+		return existsInBoundsOf(roundRectangle, (shape) -> shape.intersects(roundRectangle));
+	}
+
+	/** Replies if a shape, with a bounding box intersecting the bounding box of the given area,
+	 * is satisfying the given test.
+	 *
+	 * @param area the area.
+	 * @param test the test on the shapes.
+	 * @return {@code true} if a shape is satisfying the test.
+	 */
+	private boolean existsInBoundsOf(Shape2afp<?, ?, ?, ?, ?, ?> area, Predicate<? super T> test) {
+		final Rectangle2afp<?, ?, ?, ?, ?, ?> box = area.toBoundingBox();
+		return !getIndex().visitShapesInWindow(box.getMinX(), box.getMinY(), box.getMaxX(), box.getMaxY(),
+			(shape) -> !test.test(shape));
+	}
+
+}
@@ -118,6 +118,14 @@ public class MultiShape2d<T extends Shape2d<?>> extends AbstractShape2d<MultiSha
 		fireGeometryChange();
 	}
 
+	/** Invoked when the geometry of a shape of the content has changed.
+	 *
+	 * @param shape the shape that has changed.
+	 */
+	protected void onContentGeometryChange(T shape) {
+		onContentGeometryChange();
+	}
+
 	@Pure
 	@Override
 	public List<T> getBackendDataList() {
@@ -217,9 +225,10 @@ public class MultiShape2d<T extends Shape2d<?>> extends AbstractShape2d<MultiSha
 			return this.delegate.size();
 		}
 
+		@SuppressWarnings("unchecked")
 		@Override
 		public void shapeGeometryChange(Shape2d<?> shape) {
-			onContentGeometryChange();
+			onContentGeometryChange((T) shape);
 		}
 
 	}
@@ -20,24 +20,37 @@
 
 package org.arakhne.afc.math.geometry.d2.d;
 
-import java.lang.ref.SoftReference;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import org.eclipse.xtext.xbase.lib.Pure;
 
-import org.arakhne.afc.math.MathConstants;
+import org.arakhne.afc.math.MathUtil;
 import org.arakhne.afc.math.geometry.PathElementType;
 import org.arakhne.afc.math.geometry.PathWindingRule;
 import org.arakhne.afc.math.geometry.d2.Point2D;
 import org.arakhne.afc.math.geometry.d2.Transform2D;
+import org.arakhne.afc.math.geometry.d2.afp.FlatteningPathVisitor2afp;
+import org.arakhne.afc.math.geometry.d2.afp.GeomFactory2afp;
 import org.arakhne.afc.math.geometry.d2.afp.InnerComputationPoint2afp;
 import org.arakhne.afc.math.geometry.d2.afp.Path2afp;
 import org.arakhne.afc.math.geometry.d2.afp.PathIterator2afp;
+import org.arakhne.afc.math.geometry.d2.afp.PathVisitor2afp;
+import org.arakhne.afc.math.geometry.d2.afp.PathVisitors2afp;
 import org.arakhne.afc.vmutil.asserts.AssertMessages;
 import org.arakhne.afc.vmutil.locale.Locale;
 
 /** Path with 2 double precision floating-point numbers.
+ *
+ * <p>The types of the elements are stored as byte codes. The derived properties of the path
+ * (bounds, length, and the polyline, polygon, curved, multipart and empty flags) are cached
+ * as primitive values. They are updated incrementally when elements are appended, and
+ * invalidated when the path is changed in another way.
+ *
+ * <p>The flattening of a curved path is cached. It is reused by {@link #getPathIterator(double)}
+ * and {@link #visit(PathVisitor2afp, double)} as long as the path is not changed and the
+ * same flatness is requested.
  *
  * @author $Author: sgalland$
  * @author $Author: hjaffali$
@@ -53,9 +66,51 @@ public class Path2d
 
 	private static final long serialVersionUID = 4567950736238157802L;
 
-	/** Array of types.
+	/** Code of {@link PathElementType#MOVE_TO}; it is the ordinal of the type.
+	 */
+	private static final byte MOVE_TO = 0;
+
+	/** Code of {@link PathElementType#LINE_TO}; it is the ordinal of the type.
+	 */
+	private static final byte LINE_TO = 1;
+
+	/** Code of {@link PathElementType#QUAD_TO}; it is the ordinal of the type.
 	 */
-	private PathElementType[] types;
+	private static final byte QUAD_TO = 2;
+
+	/** Code of {@link PathElementType#CURVE_TO}; it is the ordinal of the type.
+	 */
+	private static final byte CURVE_TO = 3;
+
+	/** Code of {@link PathElementType#CLOSE}; it is the ordinal of the type.
+	 */
+	private static final byte CLOSE = 5;
+
+	/** Types of the elements, indexed by their codes.
+	 */
+	private static final PathElementType[] TYPES = PathElementType.values();
+
+	private static final int EMPTY_FLAG = 0x01;
+
+	private static final int POLYLINE_FLAG = 0x02;
+
+	private static final int CURVED_FLAG = 0x04;
+
+	private static final int POLYGON_FLAG = 0x08;
+
+	private static final int MULTIPART_FLAG = 0x10;
+
+	private static final int LENGTH_FLAG = 0x20;
+
+	private static final int GRAPHICAL_BOUNDS_FLAG = 0x40;
+
+	private static final int LOGICAL_BOUNDS_FLAG = 0x80;
+
+	private static final int ALL_FLAGS = 0xFF;
+
+	/** Array of type codes.
+	 */
+	private byte[] types;
 
 	/** Array of coords.
 	 */
@@ -73,45 +128,56 @@ public class Path2d
 	 */
 	private PathWindingRule windingRule;
 
-	/** Indicates if the path is empty.
-	 * The path is empty when there is no point inside, or
+	/** Flags of the cached properties that are up-to-date.
+	 */
+	private int validFlags;
+
+	/** Values of the cached boolean properties.
+	 *
+	 * <p>The path is empty when there is no point inside, or
 	 * all the points are at the same coordinate, or
 	 * when the path does not represents a drawable path
 	 * (a path with a line or a curve).
 	 */
-	private Boolean isEmpty = Boolean.TRUE;
+	private int flagValues;
 
-	/** Indicates if the path is a polyline.
+	/** Bounds of the path that corresponds
+	 * to the points really on the path (eg, the pixels
+	 * drawn). The control points of the curves are
+	 * not considered in this bounds.
+	 * The minimum is greater than the maximum when nothing is drawn.
 	 */
-	private Boolean isPolyline = Boolean.FALSE;
+	private double graphicalMinX;
 
-	/** Indicates if the path is curved.
-	 */
-	private Boolean isCurved = Boolean.FALSE;
+	private double graphicalMinY;
 
-	/** Indicates if the path is a polygon.
-	 */
-	private Boolean isPolygon = Boolean.FALSE;
+	private double graphicalMaxX;
+
+	private double graphicalMaxY;
 
-	/** Indicates if the path is multipart.
+	/** Bounds of the path that corresponds
+	 * to all the points added in the path.
+	 * The minimum is greater than the maximum when nothing is drawn.
 	 */
-	private Boolean isMultipart = Boolean.FALSE;
+	private double logicalMinX;
 
-	/** Buffer for the bounds of the path that corresponds
-	 * to the points really on the path (eg, the pixels
-	 * drawn). The control points of the curves are
-	 * not considered in this bounds.
+	private double logicalMinY;
+
+	private double logicalMaxX;
+
+	private double logicalMaxY;
+
+	/** Buffer for the length of the path.
 	 */
-	private SoftReference<Rectangle2d> graphicalBounds;
+	private double length;
 
-	/** Buffer for the bounds of the path that corresponds
-	 * to all the points added in the path.
+	/** Number of changes of the geometry. It is the key of the flattening cache.
 	 */
-	private SoftReference<Rectangle2d> logicalBounds;
+	private transient int version;
 
-	/** Buffer for the length of the path.
+	/** Last flattening of the path, or <code>null</code>.
 	 */
-	private Double length;
+	private transient FlatteningCache flatteningCache;
 
 	/** Construct an empty path.
 	 */
@@ -131,9 +197,10 @@ public class Path2d
 	 */
 	public Path2d(PathWindingRule windingRule) {
 		assert windingRule != null : AssertMessages.notNullParameter();
-		this.types = new PathElementType[GROW_SIZE];
+		this.types = new byte[GROW_SIZE];
 		this.coords = new double[GROW_SIZE];
 		this.windingRule = windingRule;
+		resetProperties();
 	}
 
 	/** Create an empty path with the given path winding rule, and by copying the given elements.
@@ -143,9 +210,10 @@ public class Path2d
 	public Path2d(PathWindingRule windingRule, Iterator<PathElement2d> iterator) {
 		assert windingRule != null : AssertMessages.notNullParameter(0);
 		assert iterator != null : AssertMessages.notNullParameter(1);
-		this.types = new PathElementType[GROW_SIZE];
+		this.types = new byte[GROW_SIZE];
 		this.coords = new double[GROW_SIZE];
 		this.windingRule = windingRule;
+		resetProperties();
 		add(iterator);
 	}
 
@@ -156,16 +224,277 @@ public class Path2d
 		set(path);
 	}
 
+	private static int grow(int capacity, int minCapacity) {
+		return Math.max(minCapacity, capacity + Math.max(GROW_SIZE, capacity >> 1));
+	}
+
+	private void ensureCapacity(int nbTypes, int nbCoords) {
+		final int typeCount = this.numTypes + nbTypes;
+		if (typeCount > this.types.length) {
+			this.types = Arrays.copyOf(this.types, grow(this.types.length, typeCount));
+		}
+		final int coordCount = this.numCoords + nbCoords;
+		if (coordCount > this.coords.length) {
+			this.coords = Arrays.copyOf(this.coords, grow(this.coords.length, coordCount));
+		}
+	}
+
 	private void ensureSlots(boolean needMove, int nbSlots) {
 		if (needMove && this.numTypes == 0) {
 			throw new IllegalStateException(Locale.getString("E1")); //$NON-NLS-1$
 		}
-		if (this.types.length == this.numTypes) {
-			this.types = Arrays.copyOf(this.types, this.types.length + GROW_SIZE);
+		ensureCapacity(1, nbSlots);
+	}
+
+	@Pure
+	private boolean isValid(int flag) {
+		return (this.validFlags & flag) != 0;
+	}
+
+	@Pure
+	private boolean isSet(int flag) {
+		return (this.flagValues & flag) != 0;
+	}
+
+	private void setFlag(int flag, boolean value) {
+		this.validFlags |= flag;
+		if (value) {
+			this.flagValues |= flag;
+		} else {
+			this.flagValues &= ~flag;
+		}
+	}
+
+	private void invalidate(int flags) {
+		this.validFlags &= ~flags;
+	}
+
+	/** Set the cached properties to the ones of an empty path.
+	 */
+	private void resetProperties() {
+		this.validFlags = ALL_FLAGS;
+		this.flagValues = EMPTY_FLAG;
+		this.length = 0;
+		setGraphicalBounds(
+				Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+				Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+		setLogicalBounds(
+				Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+				Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+	}
+
+	private void setGraphicalBounds(double minx, double miny, double maxx, double maxy) {
+		this.graphicalMinX = minx;
+		this.graphicalMinY = miny;
+		this.graphicalMaxX = maxx;
+		this.graphicalMaxY = maxy;
+	}
+
+	private void setLogicalBounds(double minx, double miny, double maxx, double maxy) {
+		this.logicalMinX = minx;
+		this.logicalMinY = miny;
+		this.logicalMaxX = maxx;
+		this.logicalMaxY = maxy;
+	}
+
+	private void addGraphicalPoint(double x, double y) {
+		if (x < this.graphicalMinX) {
+			this.graphicalMinX = x;
+		}
+		if (y < this.graphicalMinY) {
+			this.graphicalMinY = y;
+		}
+		if (x > this.graphicalMaxX) {
+			this.graphicalMaxX = x;
+		}
+		if (y > this.graphicalMaxY) {
+			this.graphicalMaxY = y;
+		}
+	}
+
+	private void addLogicalPoint(double x, double y) {
+		if (x < this.logicalMinX) {
+			this.logicalMinX = x;
+		}
+		if (y < this.logicalMinY) {
+			this.logicalMinY = y;
+		}
+		if (x > this.logicalMaxX) {
+			this.logicalMaxX = x;
+		}
+		if (y > this.logicalMaxY) {
+			this.logicalMaxY = y;
+		}
+	}
+
+	/** Add a move-to element without firing any change event.
+	 *
+	 * @param x the x coordinate of the target point.
+	 * @param y the y coordinate of the target point.
+	 */
+	private void appendMove(double x, double y) {
+		if (this.numTypes > 0 && this.types[this.numTypes - 1] == MOVE_TO) {
+			// The replaced point was not drawn: the bounds and the length are not changed.
+			this.coords[this.numCoords - 2] = x;
+			this.coords[this.numCoords - 1] = y;
+		} else {
+			ensureSlots(false, 2);
+			if (this.numTypes == 0) {
+				resetProperties();
+			} else if (this.types[0] == MOVE_TO) {
+				setFlag(MULTIPART_FLAG, true);
+			} else if (!isValid(MULTIPART_FLAG) || !isSet(MULTIPART_FLAG)) {
+				invalidate(MULTIPART_FLAG);
+			}
+			this.types[this.numTypes++] = MOVE_TO;
+			this.coords[this.numCoords++] = x;
+			this.coords[this.numCoords++] = y;
+		}
+		setFlag(POLYLINE_FLAG, false);
+		setFlag(POLYGON_FLAG, false);
+	}
+
+	/** Add a line-to element without firing any change event.
+	 *
+	 * @param x the x coordinate of the target point.
+	 * @param y the y coordinate of the target point.
+	 */
+	private void appendLine(double x, double y) {
+		ensureSlots(true, 2);
+		final byte last = this.types[this.numTypes - 1];
+		if (last == MOVE_TO || last == LINE_TO) {
+			// The current point is the last point of the path, before and after flattening.
+			final double px = this.coords[this.numCoords - 2];
+			final double py = this.coords[this.numCoords - 1];
+			if (isValid(EMPTY_FLAG) && isSet(EMPTY_FLAG)
+					&& (!MathUtil.isEpsilonEqual(px, x) || !MathUtil.isEpsilonEqual(py, y))) {
+				setFlag(EMPTY_FLAG, false);
+			}
+			if (isValid(LENGTH_FLAG)) {
+				this.length += Point2D.getDistancePointPoint(px, py, x, y);
+			}
+			if (isValid(GRAPHICAL_BOUNDS_FLAG)) {
+				addGraphicalPoint(px, py);
+				addGraphicalPoint(x, y);
+			}
+		} else {
+			if (!isValid(EMPTY_FLAG) || isSet(EMPTY_FLAG)) {
+				invalidate(EMPTY_FLAG);
+			}
+			invalidate(LENGTH_FLAG | GRAPHICAL_BOUNDS_FLAG);
+		}
+		updateLogicalBounds(last);
+		if (isValid(LOGICAL_BOUNDS_FLAG)) {
+			addLogicalPoint(x, y);
+		}
+		if (isValid(POLYLINE_FLAG) && !isSet(POLYLINE_FLAG)) {
+			setFlag(POLYLINE_FLAG, this.numTypes == 1 && last == MOVE_TO);
+		}
+		setFlag(POLYGON_FLAG, false);
+		this.types[this.numTypes++] = LINE_TO;
+		this.coords[this.numCoords++] = x;
+		this.coords[this.numCoords++] = y;
+	}
+
+	/** Update the cached properties before the addition of a curve.
+	 */
+	private void updateBeforeCurve() {
+		if (!isValid(EMPTY_FLAG) || isSet(EMPTY_FLAG)) {
+			invalidate(EMPTY_FLAG);
+		}
+		invalidate(LENGTH_FLAG | GRAPHICAL_BOUNDS_FLAG);
+		updateLogicalBounds(this.types[this.numTypes - 1]);
+		setFlag(POLYLINE_FLAG, false);
+		setFlag(POLYGON_FLAG, false);
+		setFlag(CURVED_FLAG, true);
+	}
+
+	/** Add the current point to the control point bounds if it is known,
+	 * or invalidate these bounds.
+	 *
+	 * @param last the code of the last element of the path.
+	 */
+	private void updateLogicalBounds(byte last) {
+		if (last == CLOSE) {
+			invalidate(LOGICAL_BOUNDS_FLAG);
+		} else if (isValid(LOGICAL_BOUNDS_FLAG)) {
+			addLogicalPoint(this.coords[this.numCoords - 2], this.coords[this.numCoords - 1]);
+		}
+	}
+
+	/** Add a quad-to element without firing any change event.
+	 *
+	 * @param x1 the x coordinate of the control point.
+	 * @param y1 the y coordinate of the control point.
+	 * @param x2 the x coordinate of the target point.
+	 * @param y2 the y coordinate of the target point.
+	 */
+	@SuppressWarnings("checkstyle:magicnumber")
+	private void appendQuad(double x1, double y1, double x2, double y2) {
+		ensureSlots(true, 4);
+		updateBeforeCurve();
+		if (isValid(LOGICAL_BOUNDS_FLAG)) {
+			addLogicalPoint(x1, y1);
+			addLogicalPoint(x2, y2);
+		}
+		this.types[this.numTypes++] = QUAD_TO;
+		this.coords[this.numCoords++] = x1;
+		this.coords[this.numCoords++] = y1;
+		this.coords[this.numCoords++] = x2;
+		this.coords[this.numCoords++] = y2;
+	}
+
+	/** Add a curve-to element without firing any change event.
+	 *
+	 * @param x1 the x coordinate of the first control point.
+	 * @param y1 the y coordinate of the first control point.
+	 * @param x2 the x coordinate of the second control point.
+	 * @param y2 the y coordinate of the second control point.
+	 * @param x3 the x coordinate of the target point.
+	 * @param y3 the y coordinate of the target point.
+	 */
+	@SuppressWarnings("checkstyle:magicnumber")
+	private void appendCurve(double x1, double y1, double x2, double y2, double x3, double y3) {
+		ensureSlots(true, 6);
+		updateBeforeCurve();
+		if (isValid(LOGICAL_BOUNDS_FLAG)) {
+			addLogicalPoint(x1, y1);
+			addLogicalPoint(x2, y2);
+			addLogicalPoint(x3, y3);
 		}
-		while ((this.numCoords + nbSlots) >= this.coords.length) {
-			this.coords = Arrays.copyOf(this.coords, this.coords.length + GROW_SIZE);
+		this.types[this.numTypes++] = CURVE_TO;
+		this.coords[this.numCoords++] = x1;
+		this.coords[this.numCoords++] = y1;
+		this.coords[this.numCoords++] = x2;
+		this.coords[this.numCoords++] = y2;
+		this.coords[this.numCoords++] = x3;
+		this.coords[this.numCoords++] = y3;
+	}
+
+	/** Add a close element without firing any change event.
+	 *
+	 * @return <code>true</code> if the element was added.
+	 */
+	private boolean appendClose() {
+		if (this.numTypes <= 0
+				|| (this.types[this.numTypes - 1] != CLOSE
+				&& this.types[this.numTypes - 1] != MOVE_TO)) {
+			ensureSlots(true, 0);
+			// The closing segment does not change the bounds, since its ends are already inside.
+			if (!isValid(EMPTY_FLAG) || isSet(EMPTY_FLAG)) {
+				invalidate(EMPTY_FLAG);
+			}
+			invalidate(LENGTH_FLAG);
+			setFlag(POLYLINE_FLAG, false);
+			if (isValid(MULTIPART_FLAG) && this.types[0] == MOVE_TO) {
+				setFlag(POLYGON_FLAG, !isSet(MULTIPART_FLAG));
+			} else {
+				invalidate(POLYGON_FLAG);
+			}
+			this.types[this.numTypes++] = CLOSE;
+			return true;
 		}
+		return false;
 	}
 
 	@Pure
@@ -184,21 +513,21 @@ public class Path2d
 
 	@Override
 	public void clear() {
-		this.types = new PathElementType[GROW_SIZE];
+		this.types = new byte[GROW_SIZE];
 		this.coords = new double[GROW_SIZE];
 		this.windingRule = PathWindingRule.NON_ZERO;
 		this.numCoords = 0;
 		this.numTypes = 0;
-		this.isEmpty = Boolean.TRUE;
-		this.isPolyline = Boolean.FALSE;
-		this.isPolygon = Boolean.FALSE;
-		this.isCurved = Boolean.FALSE;
-		this.graphicalBounds = null;
-		this.logicalBounds = null;
-		this.length = null;
+		resetProperties();
 		fireGeometryChange();
 	}
 
+	@Override
+	protected void fireGeometryChange() {
+		++this.version;
+		super.fireGeometryChange();
+	}
+
 	@Pure
 	@Override
 	public Path2d clone() {
@@ -243,14 +572,13 @@ public class Path2d
 			this.coords[i] += dx;
 			this.coords[i + 1] += dy;
 		}
-		Rectangle2d bb;
-		bb = this.logicalBounds == null ? null : this.logicalBounds.get();
-		if (bb != null) {
-			bb.translate(dx, dy);
+		if (isValid(LOGICAL_BOUNDS_FLAG)) {
+			setLogicalBounds(this.logicalMinX + dx, this.logicalMinY + dy,
+					this.logicalMaxX + dx, this.logicalMaxY + dy);
 		}
-		bb = this.graphicalBounds == null ? null : this.graphicalBounds.get();
-		if (bb != null) {
-			bb.translate(dx, dy);
+		if (isValid(GRAPHICAL_BOUNDS_FLAG)) {
+			setGraphicalBounds(this.graphicalMinX + dx, this.graphicalMinY + dy,
+					this.graphicalMaxX + dx, this.graphicalMaxY + dy);
 		}
 		fireGeometryChange();
 	}
@@ -265,53 +593,50 @@ public class Path2d
 			this.coords[i] = p.getX();
 			this.coords[i + 1] = p.getY();
 		}
-		this.graphicalBounds = null;
-		this.logicalBounds = null;
-		this.length = null;
+		invalidate(GRAPHICAL_BOUNDS_FLAG | LOGICAL_BOUNDS_FLAG | LENGTH_FLAG | EMPTY_FLAG | POLYLINE_FLAG | POLYGON_FLAG);
 		fireGeometryChange();
 	}
 
 	@Override
 	public boolean isEmpty() {
-		if (this.isEmpty == null) {
-			this.isEmpty = Boolean.TRUE;
+		if (!isValid(EMPTY_FLAG)) {
+			boolean empty = true;
 			final PathIterator2afp<PathElement2d> pi = getPathIterator();
-			while (this.isEmpty == Boolean.TRUE && pi.hasNext()) {
+			while (empty && pi.hasNext()) {
 				final PathElement2d pe = pi.next();
 				if (pe.isDrawable()) {
-					this.isEmpty = Boolean.FALSE;
+					empty = false;
 				}
 			}
+			setFlag(EMPTY_FLAG, empty);
 		}
-		return this.isEmpty.booleanValue();
+		return isSet(EMPTY_FLAG);
 	}
 
 	@Override
 	public Rectangle2d toBoundingBox() {
-		Rectangle2d bb = this.graphicalBounds == null ? null : this.graphicalBounds.get();
-		if (bb == null) {
-			bb = getGeomFactory().newBox();
-			Path2afp.calculatesDrawableElementBoundingBox(
-					getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
-					bb);
-			this.graphicalBounds = new SoftReference<>(bb);
-		}
+		final Rectangle2d bb = getGeomFactory().newBox();
+		toBoundingBox(bb);
 		return bb;
-
 	}
 
 	@Override
 	public void toBoundingBox(Rectangle2d box) {
 		assert box != null : AssertMessages.notNullParameter();
-		Rectangle2d bb = this.graphicalBounds == null ? null : this.graphicalBounds.get();
-		if (bb == null) {
-			bb = getGeomFactory().newBox();
-			Path2afp.calculatesDrawableElementBoundingBox(
-					getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
-					bb);
-			this.graphicalBounds = new SoftReference<>(bb);
+		if (!isValid(GRAPHICAL_BOUNDS_FLAG)) {
+			if (PathVisitors2afp.calculatesDrawableElementBoundingBox(this, box)) {
+				setGraphicalBounds(box.getMinX(), box.getMinY(), box.getMaxX(), box.getMaxY());
+			} else {
+				setGraphicalBounds(
+						Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+						Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+			}
+			setFlag(GRAPHICAL_BOUNDS_FLAG, true);
+		} else if (this.graphicalMinX <= this.graphicalMaxX) {
+			box.setFromCorners(this.graphicalMinX, this.graphicalMinY, this.graphicalMaxX, this.graphicalMaxY);
+		} else {
+			box.clear();
 		}
-		box.set(bb);
 	}
 
 	@Override
@@ -321,107 +646,82 @@ public class Path2d
 
 	@Override
 	public boolean isPolyline() {
-		if (this.isPolyline == null) {
+		if (!isValid(POLYLINE_FLAG)) {
 			final PathIterator2afp<PathElement2d> pi = getPathIterator();
 			boolean first = true;
 			boolean hasOneLine = false;
-			while (this.isPolyline == null && pi.hasNext()) {
+			boolean polyline = true;
+			while (polyline && pi.hasNext()) {
 				final PathElement2d pe = pi.next();
 				final PathElementType t = pe.getType();
 				if (first) {
 					if (t != PathElementType.MOVE_TO) {
-						this.isPolyline = Boolean.FALSE;
+						polyline = false;
 					} else {
 						first = false;
 					}
 				} else if (t != PathElementType.LINE_TO) {
-					this.isPolyline = Boolean.FALSE;
+					polyline = false;
 				} else {
 					hasOneLine = true;
 				}
 			}
-			if (this.isPolyline == null) {
-				this.isPolyline = hasOneLine;
-			}
+			setFlag(POLYLINE_FLAG, polyline && hasOneLine);
 		}
-		return this.isPolyline.booleanValue();
+		return isSet(POLYLINE_FLAG);
 	}
 
 	@Override
 	public boolean isCurved() {
-		if (this.isCurved == null) {
-			this.isCurved = Boolean.FALSE;
-			final PathIterator2afp<PathElement2d> pi = getPathIterator();
-			while (this.isCurved == Boolean.FALSE && pi.hasNext()) {
-				final PathElement2d pe = pi.next();
-				final PathElementType t = pe.getType();
-				if (t == PathElementType.CURVE_TO || t == PathElementType.QUAD_TO) {
-					this.isCurved = Boolean.TRUE;
+		if (!isValid(CURVED_FLAG)) {
+			boolean curved = false;
+			for (int i = 0; !curved && i < this.numTypes; ++i) {
+				final byte t = this.types[i];
+				if (t == CURVE_TO || t == QUAD_TO) {
+					curved = true;
 				}
 			}
+			setFlag(CURVED_FLAG, curved);
 		}
-		return this.isCurved.booleanValue();
+		return isSet(CURVED_FLAG);
 	}
 
 	@Override
 	public boolean isMultiParts() {
-		if (this.isMultipart == null) {
-			this.isMultipart = Boolean.FALSE;
-			final PathIterator2afp<PathElement2d> pi = getPathIterator();
+		if (!isValid(MULTIPART_FLAG)) {
+			boolean multipart = false;
 			boolean foundOne = false;
-			while (this.isMultipart == Boolean.FALSE && pi.hasNext()) {
-				final PathElement2d pe = pi.next();
-				final PathElementType t = pe.getType();
-				if (t == PathElementType.MOVE_TO) {
+			for (int i = 0; !multipart && i < this.numTypes; ++i) {
+				if (this.types[i] == MOVE_TO) {
 					if (foundOne) {
-						this.isMultipart = Boolean.TRUE;
+						multipart = true;
 					} else {
 						foundOne = true;
 					}
 				}
 			}
+			setFlag(MULTIPART_FLAG, multipart);
 		}
-		return this.isMultipart.booleanValue();
+		return isSet(MULTIPART_FLAG);
 	}
 
 	@Override
 	public boolean isPolygon() {
-		if (this.isPolygon == null) {
-			final PathIterator2afp<PathElement2d> pi = getPathIterator();
-			boolean first = true;
-			boolean lastIsClose = false;
-			while (this.isPolygon == null && pi.hasNext()) {
-				final PathElement2d pe = pi.next();
-				final PathElementType t = pe.getType();
-				lastIsClose = false;
-				if (first) {
-					if (t != PathElementType.MOVE_TO) {
-						this.isPolygon = Boolean.FALSE;
-					} else {
-						first = false;
-					}
-				} else if (t == PathElementType.MOVE_TO) {
-					this.isPolygon = Boolean.FALSE;
-				} else if (t == PathElementType.CLOSE) {
-					lastIsClose = true;
+		if (!isValid(POLYGON_FLAG)) {
+			boolean polygon = this.numTypes > 0 && this.types[0] == MOVE_TO;
+			for (int i = 1; polygon && i < this.numTypes; ++i) {
+				if (this.types[i] == MOVE_TO) {
+					polygon = false;
 				}
 			}
-			if (this.isPolygon == null) {
-				this.isPolygon = Boolean.valueOf(lastIsClose);
-			}
+			setFlag(POLYGON_FLAG, polygon && this.types[this.numTypes - 1] == CLOSE);
 		}
-		return this.isPolygon.booleanValue();
+		return isSet(POLYGON_FLAG);
 	}
 
 	@Override
 	public void closePath() {
-		if (this.numTypes <= 0
-				|| (this.types[this.numTypes - 1] != PathElementType.CLOSE
-				&& this.types[this.numTypes - 1] != PathElementType.MOVE_TO)) {
-			ensureSlots(true, 0);
-			this.types[this.numTypes++] = PathElementType.CLOSE;
-			this.isPolyline = false;
-			this.isPolygon = null;
+		if (appendClose()) {
 			fireGeometryChange();
 		}
 	}
@@ -429,14 +729,8 @@ public class Path2d
 	@Override
 	@Pure
 	public Rectangle2d toBoundingBoxWithCtrlPoints() {
-		Rectangle2d bb = this.logicalBounds == null ? null : this.logicalBounds.get();
-		if (bb == null) {
-			bb = getGeomFactory().newBox();
-			Path2afp.calculatesControlPointBoundingBox(
-					getPathIterator(),
-					bb);
-			this.logicalBounds = new SoftReference<>(bb);
-		}
+		final Rectangle2d bb = getGeomFactory().newBox();
+		toBoundingBoxWithCtrlPoints(bb);
 		return bb;
 	}
 
@@ -444,15 +738,20 @@ public class Path2d
 	@Pure
 	public void toBoundingBoxWithCtrlPoints(Rectangle2d box) {
 		assert box != null : AssertMessages.notNullParameter();
-		Rectangle2d bb = this.logicalBounds == null ? null : this.logicalBounds.get();
-		if (bb == null) {
-			bb = getGeomFactory().newBox();
-			Path2afp.calculatesControlPointBoundingBox(
-					getPathIterator(),
-					bb);
-			this.logicalBounds = new SoftReference<>(bb);
+		if (!isValid(LOGICAL_BOUNDS_FLAG)) {
+			if (PathVisitors2afp.calculatesControlPointBoundingBox(this, box)) {
+				setLogicalBounds(box.getMinX(), box.getMinY(), box.getMaxX(), box.getMaxY());
+			} else {
+				setLogicalBounds(
+						Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+						Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+			}
+			setFlag(LOGICAL_BOUNDS_FLAG, true);
+		} else if (this.logicalMinX <= this.logicalMaxX) {
+			box.setFromCorners(this.logicalMinX, this.logicalMinY, this.logicalMaxX, this.logicalMaxY);
+		} else {
+			box.clear();
 		}
-		box.set(bb);
 	}
 
 	@Override
@@ -567,37 +866,28 @@ public class Path2d
 			switch (this.types[this.numTypes - 1]) {
 			case CLOSE:
 				// no coord to remove
-				this.isPolygon = null;
-				this.isPolyline = null;
 				break;
 			case MOVE_TO:
 				this.numCoords -= 2;
-				this.isPolyline = null;
-				this.isMultipart = null;
+				invalidate(MULTIPART_FLAG);
 				break;
 			case LINE_TO:
 				this.numCoords -= 2;
-				this.isPolyline = null;
 				break;
 			case CURVE_TO:
 				this.numCoords -= 6;
-				this.isPolyline = null;
-				this.isCurved = null;
+				invalidate(CURVED_FLAG);
 				break;
 			case QUAD_TO:
 				this.numCoords -= 4;
-				this.isPolyline = null;
-				this.isCurved = null;
+				invalidate(CURVED_FLAG);
 				break;
-			case ARC_TO:
 			default:
 				throw new IllegalStateException();
 			}
 			--this.numTypes;
-			this.isEmpty = null;
-			this.graphicalBounds = null;
-			this.logicalBounds = null;
-			this.length = null;
+			invalidate(EMPTY_FLAG | POLYLINE_FLAG | POLYGON_FLAG
+					| GRAPHICAL_BOUNDS_FLAG | LOGICAL_BOUNDS_FLAG | LENGTH_FLAG);
 			fireGeometryChange();
 		} else {
 			throw new IllegalStateException();
@@ -606,96 +896,166 @@ public class Path2d
 
 	@Override
 	public void moveTo(double x, double y) {
-		if (this.numTypes != 0) {
-			this.isPolyline = Boolean.FALSE;
-			this.isPolygon = Boolean.FALSE;
-		}
-		if (this.isMultipart != null && this.isMultipart != Boolean.TRUE) {
-			this.isMultipart = null;
-		}
-		if (this.numTypes > 0 && this.types[this.numTypes - 1] == PathElementType.MOVE_TO) {
-			this.coords[this.numCoords - 2] = x;
-			this.coords[this.numCoords - 1] = y;
-		} else {
-			ensureSlots(false, 2);
-			this.types[this.numTypes++] = PathElementType.MOVE_TO;
-			this.coords[this.numCoords++] = x;
-			this.coords[this.numCoords++] = y;
-		}
-		this.graphicalBounds = null;
-		this.logicalBounds = null;
-		this.length = null;
+		appendMove(x, y);
 		fireGeometryChange();
 	}
 
 	@Override
 	public void lineTo(double x, double y) {
-		ensureSlots(true, 2);
-		this.types[this.numTypes++] = PathElementType.LINE_TO;
-		this.coords[this.numCoords++] = x;
-		this.coords[this.numCoords++] = y;
-		this.isEmpty = null;
-		if (this.isPolyline != null && this.isPolyline == Boolean.FALSE) {
-			this.isPolyline = null;
-		}
-		this.graphicalBounds = null;
-		this.logicalBounds = null;
-		this.length = null;
+		appendLine(x, y);
 		fireGeometryChange();
 	}
 
 	@Override
-	@SuppressWarnings("checkstyle:magicnumber")
 	public void quadTo(double x1, double y1, double x2, double y2) {
-		ensureSlots(true, 4);
-		this.types[this.numTypes++] = PathElementType.QUAD_TO;
-		this.coords[this.numCoords++] = x1;
-		this.coords[this.numCoords++] = y1;
-		this.coords[this.numCoords++] = x2;
-		this.coords[this.numCoords++] = y2;
-		this.isEmpty = null;
-		this.isPolyline = Boolean.FALSE;
-		this.isCurved = Boolean.TRUE;
-		this.graphicalBounds = null;
-		this.logicalBounds = null;
-		this.length = null;
+		appendQuad(x1, y1, x2, y2);
 		fireGeometryChange();
 	}
 
 	@Override
-	@SuppressWarnings("checkstyle:magicnumber")
 	public void curveTo(double x1, double y1, double x2, double y2, double x3, double y3) {
-		ensureSlots(true, 6);
-		this.types[this.numTypes++] = PathElementType.CURVE_TO;
-		this.coords[this.numCoords++] = x1;
-		this.coords[this.numCoords++] = y1;
-		this.coords[this.numCoords++] = x2;
-		this.coords[this.numCoords++] = y2;
-		this.coords[this.numCoords++] = x3;
-		this.coords[this.numCoords++] = y3;
-		this.isEmpty = null;
-		this.isPolyline = Boolean.FALSE;
-		this.isCurved = Boolean.TRUE;
-		this.graphicalBounds = null;
-		this.logicalBounds = null;
-		this.length = null;
+		appendCurve(x1, y1, x2, y2, x3, y3);
 		fireGeometryChange();
 	}
 
+	/** Append the given points to the path as a polyline.
+	 *
+	 * <p>If the path has no element, the first point is added with a move-to element.
+	 * Otherwise, it is linked to the current point with a line-to element.
+	 * All the other points are added with line-to elements.
+	 * This function has the same effect as the equivalent sequence of calls to
+	 * {@link #moveTo(double, double)} and {@link #lineTo(double, double)}, except
+	 * that the storage is grown once, and a single geometry change is fired.
+	 *
+	 * @param xy the coordinates of the points, in the form {@code x1, y1, x2, y2, ...}
+	 * @param off the index of the first coordinate to append.
+	 * @param len the number of coordinates to append. It must be even.
+	 */
+	public void appendPolyline(double[] xy, int off, int len) {
+		assert xy != null : AssertMessages.notNullParameter(0);
+		assert off >= 0 : AssertMessages.positiveOrZeroParameter(1);
+		assert len >= 0 && (len % 2) == 0 : AssertMessages.invalidValue(2);
+		assert off + len <= xy.length : AssertMessages.tooSmallArrayParameter(0, xy.length, off + len);
+		if (len > 0) {
+			ensureCapacity(len / 2, len);
+			int i = off;
+			final int end = off + len;
+			if (this.numTypes == 0) {
+				appendMove(xy[i], xy[i + 1]);
+				i += 2;
+			}
+			for (; i < end; i += 2) {
+				appendLine(xy[i], xy[i + 1]);
+			}
+			fireGeometryChange();
+		}
+	}
+
+	/** Append all the elements of the given path to this path.
+	 *
+	 * <p>This function has the same effect as {@link #add(Iterator)} with the path iterator
+	 * of the given path, except that no path element is allocated, the storage is grown once,
+	 * and a single geometry change is fired.
+	 *
+	 * @param path the path to append.
+	 */
+	public void appendAll(Path2afp<?, ?, ?, ?, ?, ?> path) {
+		assert path != null : AssertMessages.notNullParameter();
+		final Path2afp<?, ?, ?, ?, ?, ?> source = path == this ? clone() : path;
+		if (source.getPathElementCount() > 0) {
+			ensureCapacity(source.getPathElementCount(), source.size() * 2);
+			source.visit(new ElementAppender());
+			fireGeometryChange();
+		}
+	}
+
 	@Override
 	@Pure
 	public double getCoordAt(int index) {
 		return this.coords[index];
 	}
 
+	@Override
+	@SuppressWarnings("checkstyle:magicnumber")
+	public void visit(PathVisitor2afp visitor) {
+		assert visitor != null : AssertMessages.notNullParameter();
+		final byte[] elementTypes = this.types;
+		final double[] elementCoords = this.coords;
+		int coord = 0;
+		for (int i = 0; i < this.numTypes && !visitor.isDone(); ++i) {
+			switch (elementTypes[i]) {
+			case MOVE_TO:
+				visitor.moveTo(elementCoords[coord], elementCoords[coord + 1]);
+				coord += 2;
+				break;
+			case LINE_TO:
+				visitor.lineTo(elementCoords[coord], elementCoords[coord + 1]);
+				coord += 2;
+				break;
+			case QUAD_TO:
+				visitor.quadTo(elementCoords[coord], elementCoords[coord + 1],
+						elementCoords[coord + 2], elementCoords[coord + 3]);
+				coord += 4;
+				break;
+			case CURVE_TO:
+				visitor.curveTo(elementCoords[coord], elementCoords[coord + 1],
+						elementCoords[coord + 2], elementCoords[coord + 3],
+						elementCoords[coord + 4], elementCoords[coord + 5]);
+				coord += 6;
+				break;
+			case CLOSE:
+				visitor.closePath();
+				break;
+			default:
+				throw new IllegalStateException();
+			}
+		}
+	}
+
+	@Override
+	public void visit(PathVisitor2afp visitor, double flatness) {
+		assert visitor != null : AssertMessages.notNullParameter(0);
+		assert flatness >= 0. : AssertMessages.positiveOrZeroParameter(1);
+		if (isCurved()) {
+			getFlatteningCache(flatness).visit(visitor);
+		} else {
+			visit(visitor);
+		}
+	}
+
+	@Pure
+	@Override
+	public PathIterator2afp<PathElement2d> getPathIterator(double flatness) {
+		if (isCurved()) {
+			return new FlatteningCacheIterator(this, getFlatteningCache(flatness));
+		}
+		return Path2afp.super.getPathIterator(flatness);
+	}
+
+	/** Replies the flattening of this path for the given flatness.
+	 *
+	 * <p>The flattening is computed again only if the path has changed, or if the flatness
+	 * is not the same as the one of the cached flattening.
+	 *
+	 * @param flatness the maximum allowable distance between the control points and the flattened curve.
+	 * @return the flattening.
+	 */
+	private FlatteningCache getFlatteningCache(double flatness) {
+		FlatteningCache cache = this.flatteningCache;
+		if (cache == null || cache.version != this.version || cache.flatness != flatness) {
+			cache = new FlatteningCache(this.version, flatness, this.numTypes, this.numCoords);
+			visit(new FlatteningPathVisitor2afp(cache, flatness, DEFAULT_FLATTENING_LIMIT));
+			this.flatteningCache = cache;
+		}
+		return cache;
+	}
+
 	@Override
 	public void setLastPoint(double x, double y) {
 		if (this.numCoords >= 2) {
 			this.coords[this.numCoords - 2] = x;
 			this.coords[this.numCoords - 1] = y;
-			this.graphicalBounds = null;
-			this.logicalBounds = null;
-			this.length = null;
+			invalidate(GRAPHICAL_BOUNDS_FLAG | LOGICAL_BOUNDS_FLAG | LENGTH_FLAG | EMPTY_FLAG | POLYLINE_FLAG | POLYGON_FLAG);
 			fireGeometryChange();
 		} else {
 			throw new IllegalStateException();
@@ -708,6 +1068,22 @@ public class Path2d
 		this.windingRule = rule;
 	}
 
+	/** Remove the element at the given indexes.
+	 *
+	 * @param typeIndex the index of the element.
+	 * @param coordIndex the index of the first coordinate of the element.
+	 * @param coordCount the number of coordinates of the element.
+	 */
+	private void removeElement(int typeIndex, int coordIndex, int coordCount) {
+		this.numCoords -= coordCount;
+		--this.numTypes;
+		System.arraycopy(this.coords, coordIndex + coordCount, this.coords, coordIndex, this.numCoords - coordIndex);
+		System.arraycopy(this.types, typeIndex + 1, this.types, typeIndex, this.numTypes - typeIndex);
+		invalidate(EMPTY_FLAG | POLYLINE_FLAG | POLYGON_FLAG
+				| GRAPHICAL_BOUNDS_FLAG | LOGICAL_BOUNDS_FLAG | LENGTH_FLAG);
+		fireGeometryChange();
+	}
+
 	@Override
 	@SuppressWarnings({"checkstyle:magicnumber", "checkstyle:fallthrough",
 			"checkstyle:cyclomaticcomplexity"})
@@ -715,19 +1091,11 @@ public class Path2d
 		for (int i = 0, j = 0; i < this.numCoords && j < this.numTypes;) {
 			switch (this.types[j]) {
 			case MOVE_TO:
-				this.isMultipart = null;
+				invalidate(MULTIPART_FLAG);
 				//$FALL-THROUGH$
 			case LINE_TO:
 				if (x == this.coords[i] && y == this.coords[i + 1]) {
-					this.numCoords -= 2;
-					--this.numTypes;
-					System.arraycopy(this.coords, i + 2, this.coords, i, this.numCoords);
-					System.arraycopy(this.types, j + 1, this.types, j, this.numTypes);
-					this.isEmpty = null;
-					this.length = null;
-					this.graphicalBounds = null;
-					this.logicalBounds = null;
-					fireGeometryChange();
+					removeElement(j, i, 2);
 					return true;
 				}
 				i += 2;
@@ -737,16 +1105,8 @@ public class Path2d
 				if ((x == this.coords[i] && y == this.coords[i + 1])
 						|| (x == this.coords[i + 2] && y == this.coords[i + 3])
 						|| (x == this.coords[i + 4] && y == this.coords[i + 5])) {
-					this.numCoords -= 6;
-					--this.numTypes;
-					System.arraycopy(this.coords, i + 6, this.coords, i, this.numCoords);
-					System.arraycopy(this.types, j + 1, this.types, j, this.numTypes);
-					this.isEmpty = null;
-					this.isPolyline = null;
-					this.length = null;
-					this.graphicalBounds = null;
-					this.logicalBounds = null;
-					fireGeometryChange();
+					invalidate(CURVED_FLAG);
+					removeElement(j, i, 6);
 					return true;
 				}
 				i += 6;
@@ -755,16 +1115,8 @@ public class Path2d
 			case QUAD_TO:
 				if ((x == this.coords[i] && y == this.coords[i + 1])
 						|| (x == this.coords[i + 2] && y == this.coords[i + 3])) {
-					this.numCoords -= 4;
-					--this.numTypes;
-					System.arraycopy(this.coords, i + 4, this.coords, i, this.numCoords);
-					System.arraycopy(this.types, j + 1, this.types, j, this.numTypes);
-					this.isEmpty = null;
-					this.isPolyline = null;
-					this.length = null;
-					this.graphicalBounds = null;
-					this.logicalBounds = null;
-					fireGeometryChange();
+					invalidate(CURVED_FLAG);
+					removeElement(j, i, 4);
 					return true;
 				}
 				i += 4;
@@ -773,7 +1125,6 @@ public class Path2d
 			case CLOSE:
 				++j;
 				break;
-			case ARC_TO:
 			default:
 				throw new IllegalStateException();
 			}
@@ -797,16 +1148,301 @@ public class Path2d
 	@Override
 	@Pure
 	public PathElementType getPathElementTypeAt(int index) {
-		return this.types[index];
+		return TYPES[this.types[index]];
 	}
 
 	@Override
 	@Pure
 	public double getLength() {
-		if (this.length == null) {
-			this.length = Double.valueOf(Path2afp.calculatesPathLength(getPathIterator()));
+		if (!isValid(LENGTH_FLAG)) {
+			this.length = PathVisitors2afp.calculatesPathLength(this);
+			setFlag(LENGTH_FLAG, true);
 		}
-		return this.length.doubleValue();
+		return this.length;
+	}
+
+	/** Visitor that appends the visited elements to this path.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private class ElementAppender implements PathVisitor2afp {
+
+		/** Constructor.
+		 */
+		ElementAppender() {
+			//
+		}
+
+		@Override
+		public void moveTo(double x, double y) {
+			appendMove(x, y);
+		}
+
+		@Override
+		public void lineTo(double x, double y) {
+			appendLine(x, y);
+		}
+
+		@Override
+		public void quadTo(double ctrlx, double ctrly, double x, double y) {
+			appendQuad(ctrlx, ctrly, x, y);
+		}
+
+		@Override
+		public void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double x, double y) {
+			appendCurve(ctrlx1, ctrly1, ctrlx2, ctrly2, x, y);
+		}
+
+		@Override
+		public void closePath() {
+			appendClose();
+		}
+
+	}
+
+	/** Flattened elements of a path for a given version of the path and a given flatness.
+	 *
+	 * <p>The content of the cache is never changed after its construction: the iterators that are
+	 * reading it are not disturbed when the path is changed.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private static final class FlatteningCache implements PathVisitor2afp {
+
+		/** Version of the path.
+		 */
+		final int version;
+
+		/** Flatness of the flattening.
+		 */
+		final double flatness;
+
+		/** Type codes of the flattened elements.
+		 */
+		byte[] types;
+
+		/** Coordinates of the flattened elements.
+		 */
+		double[] coords;
+
+		/** Number of flattened elements.
+		 */
+		int numTypes;
+
+		/** Number of coordinates.
+		 */
+		int numCoords;
+
+		/** Constructor.
+		 *
+		 * @param version the version of the path.
+		 * @param flatness the flatness of the flattening.
+		 * @param typeCapacity the initial capacity for the element types.
+		 * @param coordCapacity the initial capacity for the coordinates.
+		 */
+		FlatteningCache(int version, double flatness, int typeCapacity, int coordCapacity) {
+			this.version = version;
+			this.flatness = flatness;
+			this.types = new byte[Math.max(GROW_SIZE, typeCapacity)];
+			this.coords = new double[Math.max(GROW_SIZE, coordCapacity)];
+		}
+
+		private void add(byte type, double x, double y) {
+			if (this.numTypes >= this.types.length) {
+				this.types = Arrays.copyOf(this.types, grow(this.types.length, this.numTypes + 1));
+			}
+			if (this.numCoords + 2 > this.coords.length) {
+				this.coords = Arrays.copyOf(this.coords, grow(this.coords.length, this.numCoords + 2));
+			}
+			this.types[this.numTypes++] = type;
+			this.coords[this.numCoords++] = x;
+			this.coords[this.numCoords++] = y;
+		}
+
+		@Override
+		public void moveTo(double x, double y) {
+			add(MOVE_TO, x, y);
+		}
+
+		@Override
+		public void lineTo(double x, double y) {
+			add(LINE_TO, x, y);
+		}
+
+		@Override
+		public void quadTo(double ctrlx, double ctrly, double x, double y) {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double x, double y) {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public void closePath() {
+			if (this.numTypes >= this.types.length) {
+				this.types = Arrays.copyOf(this.types, grow(this.types.length, this.numTypes + 1));
+			}
+			this.types[this.numTypes++] = CLOSE;
+		}
+
+		/** Visit the flattened elements.
+		 *
+		 * @param visitor the visitor.
+		 */
+		void visit(PathVisitor2afp visitor) {
+			int coord = 0;
+			for (int i = 0; i < this.numTypes && !visitor.isDone(); ++i) {
+				switch (this.types[i]) {
+				case MOVE_TO:
+					visitor.moveTo(this.coords[coord], this.coords[coord + 1]);
+					coord += 2;
+					break;
+				case LINE_TO:
+					visitor.lineTo(this.coords[coord], this.coords[coord + 1]);
+					coord += 2;
+					break;
+				case CLOSE:
+					visitor.closePath();
+					break;
+				default:
+					throw new IllegalStateException();
+				}
+			}
+		}
+
+	}
+
+	/** Iterator on the elements of a {@link FlatteningCache}.
+	 *
+	 * <p>The replied elements and properties are the same as the ones of a
+	 * {@link org.arakhne.afc.math.geometry.d2.afp.Path2afp.FlatteningPathIterator FlatteningPathIterator}
+	 * on the path.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private static final class FlatteningCacheIterator implements PathIterator2afp<PathElement2d> {
+
+		private final Path2d path;
+
+		private final FlatteningCache cache;
+
+		private int typeIndex;
+
+		private int coordIndex;
+
+		private double lastX;
+
+		private double lastY;
+
+		private double moveX;
+
+		private double moveY;
+
+		/** Constructor.
+		 *
+		 * @param path the flattened path.
+		 * @param cache the flattening of the path.
+		 */
+		FlatteningCacheIterator(Path2d path, FlatteningCache cache) {
+			this.path = path;
+			this.cache = cache;
+		}
+
+		@Pure
+		@Override
+		public boolean hasNext() {
+			return this.typeIndex < this.cache.numTypes;
+		}
+
+		@Override
+		public PathElement2d next() {
+			if (this.typeIndex >= this.cache.numTypes) {
+				throw new NoSuchElementException();
+			}
+			final GeomFactory2d factory = this.path.getGeomFactory();
+			final PathElement2d element;
+			if (this.cache.types[this.typeIndex] == CLOSE) {
+				element = factory.newClosePathElement(this.lastX, this.lastY, this.moveX, this.moveY);
+				this.lastX = this.moveX;
+				this.lastY = this.moveY;
+			} else {
+				final double x = this.cache.coords[this.coordIndex];
+				final double y = this.cache.coords[this.coordIndex + 1];
+				this.coordIndex += 2;
+				if (this.cache.types[this.typeIndex] == MOVE_TO) {
+					element = factory.newMovePathElement(x, y);
+					this.moveX = x;
+					this.moveY = y;
+				} else {
+					element = factory.newLinePathElement(this.lastX, this.lastY, x, y);
+				}
+				this.lastX = x;
+				this.lastY = y;
+			}
+			++this.typeIndex;
+			return element;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public PathIterator2afp<PathElement2d> restartIterations() {
+			return this.path.getPathIterator(this.cache.flatness);
+		}
+
+		@Pure
+		@Override
+		public PathWindingRule getWindingRule() {
+			return this.path.getWindingRule();
+		}
+
+		@Pure
+		@Override
+		public boolean isPolyline() {
+			return this.path.isPolyline() || (!this.path.isMultiParts() && !this.path.isPolygon());
+		}
+
+		@Pure
+		@Override
+		public boolean isCurved() {
+			return false;
+		}
+
+		@Pure
+		@Override
+		public boolean isPolygon() {
+			return this.path.isPolygon();
+		}
+
+		@Pure
+		@Override
+		public boolean isMultiParts() {
+			return this.path.isMultiParts();
+		}
+
+		@Pure
+		@Override
+		public GeomFactory2afp<PathElement2d, ?, ?, ?> getGeomFactory() {
+			return this.path.getGeomFactory();
+		}
+
 	}
 
 }
@@ -20,13 +20,11 @@
 
 package org.arakhne.afc.math.geometry.d2.i;
 
-import java.lang.ref.SoftReference;
 import java.util.Arrays;
 import java.util.Iterator;
 
 import org.eclipse.xtext.xbase.lib.Pure;
 
-import org.arakhne.afc.math.MathConstants;
 import org.arakhne.afc.math.geometry.PathElementType;
 import org.arakhne.afc.math.geometry.PathWindingRule;
 import org.arakhne.afc.math.geometry.d2.Point2D;
@@ -34,10 +32,16 @@ import org.arakhne.afc.math.geometry.d2.Transform2D;
 import org.arakhne.afc.math.geometry.d2.ai.InnerComputationPoint2ai;
 import org.arakhne.afc.math.geometry.d2.ai.Path2ai;
 import org.arakhne.afc.math.geometry.d2.ai.PathIterator2ai;
+import org.arakhne.afc.math.geometry.d2.ai.PathVisitor2ai;
 import org.arakhne.afc.vmutil.asserts.AssertMessages;
 import org.arakhne.afc.vmutil.locale.Locale;
 
 /** Path with 2 integer numbers.
+ *
+ * <p>The types of the elements are stored as byte codes. The derived properties of the path
+ * (bounds, and the polyline, polygon, curved, multipart and empty flags) are cached
+ * as primitive values. They are updated incrementally when elements are appended, and
+ * invalidated when the path is changed in another way.
  *
  * @author $Author: sgalland$
  * @version $FullVersion$
@@ -51,9 +55,49 @@ public class Path2i extends AbstractShape2i<Path2i>
 
 	private static final long serialVersionUID = 2542453596839860853L;
 
-	/** Array of types.
+	/** Code of {@link PathElementType#MOVE_TO}; it is the ordinal of the type.
+	 */
+	private static final byte MOVE_TO = 0;
+
+	/** Code of {@link PathElementType#LINE_TO}; it is the ordinal of the type.
+	 */
+	private static final byte LINE_TO = 1;
+
+	/** Code of {@link PathElementType#QUAD_TO}; it is the ordinal of the type.
+	 */
+	private static final byte QUAD_TO = 2;
+
+	/** Code of {@link PathElementType#CURVE_TO}; it is the ordinal of the type.
+	 */
+	private static final byte CURVE_TO = 3;
+
+	/** Code of {@link PathElementType#CLOSE}; it is the ordinal of the type.
+	 */
+	private static final byte CLOSE = 5;
+
+	/** Types of the elements, indexed by their codes.
+	 */
+	private static final PathElementType[] TYPES = PathElementType.values();
+
+	private static final int EMPTY_FLAG = 0x01;
+
+	private static final int POLYLINE_FLAG = 0x02;
+
+	private static final int CURVED_FLAG = 0x04;
+
+	private static final int POLYGON_FLAG = 0x08;
+
+	private static final int MULTIPART_FLAG = 0x10;
+
+	private static final int GRAPHICAL_BOUNDS_FLAG = 0x20;
+
+	private static final int LOGICAL_BOUNDS_FLAG = 0x40;
+
+	private static final int ALL_FLAGS = 0x7F;
+
+	/** Array of type codes.
 	 */
-	private PathElementType[] types;
+	private byte[] types;
 
 	/** Array of coords.
 	 */
@@ -71,41 +115,44 @@ public class Path2i extends AbstractShape2i<Path2i>
 	 */
 	private PathWindingRule windingRule;
 
-	/** Indicates if the path is empty.
-	 * The path is empty when there is no point inside, or
+	/** Flags of the cached properties that are up-to-date.
+	 */
+	private int validFlags;
+
+	/** Values of the cached boolean properties.
+	 *
+	 * <p>The path is empty when there is no point inside, or
 	 * all the points are at the same coordinate, or
 	 * when the path does not represents a drawable path
 	 * (a path with a line or a curve).
 	 */
-	private Boolean isEmpty = Boolean.TRUE;
+	private int flagValues;
 
-	/** Indicates if the path is a polyline.
-	 */
-	private Boolean isPolyline = Boolean.FALSE;
-
-	/** Indicates if the path is curved.
-	 */
-	private Boolean isCurved = Boolean.FALSE;
-
-	/** Indicates if the path is a polygon.
-	 */
-	private Boolean isPolygon = Boolean.FALSE;
-
-	/** Indicates if the path is multipart.
-	 */
-	private Boolean isMultipart = Boolean.FALSE;
-
-	/** Buffer for the bounds of the path that corresponds
+	/** Bounds of the path that corresponds
 	 * to the points really on the path (eg, the pixels
 	 * drawn). The control points of the curves are
 	 * not considered in this bounds.
+	 * The minimum is greater than the maximum when nothing is drawn.
 	 */
-	private SoftReference<Rectangle2i> graphicalBounds;
+	private int graphicalMinX;
+
+	private int graphicalMinY;
+
+	private int graphicalMaxX;
+
+	private int graphicalMaxY;
 
-	/** Buffer for the bounds of the path that corresponds
+	/** Bounds of the path that corresponds
 	 * to all the points added in the path.
+	 * The minimum is greater than the maximum when the path has no point.
 	 */
-	private SoftReference<Rectangle2i> logicalBounds;
+	private int logicalMinX;
+
+	private int logicalMinY;
+
+	private int logicalMaxX;
+
+	private int logicalMaxY;
 
 	/** Construct an empty path.
 	 */
@@ -125,9 +172,10 @@ public class Path2i extends AbstractShape2i<Path2i>
 	 */
 	public Path2i(PathWindingRule windingRule) {
 		assert windingRule != null : AssertMessages.notNullParameter();
-		this.types = new PathElementType[GROW_SIZE];
+		this.types = new byte[GROW_SIZE];
 		this.coords = new int[GROW_SIZE];
 		this.windingRule = windingRule;
+		resetProperties();
 	}
 
 	/** Construct a path with the given path winding rule and by copying the given elements.
@@ -137,9 +185,10 @@ public class Path2i extends AbstractShape2i<Path2i>
 	public Path2i(PathWindingRule windingRule, Iterator<PathElement2i> iterator) {
 		assert windingRule != null : AssertMessages.notNullParameter(0);
 		assert iterator != null : AssertMessages.notNullParameter(1);
-		this.types = new PathElementType[GROW_SIZE];
+		this.types = new byte[GROW_SIZE];
 		this.coords = new int[GROW_SIZE];
 		this.windingRule = windingRule;
+		resetProperties();
 		add(iterator);
 	}
 
@@ -150,42 +199,232 @@ public class Path2i extends AbstractShape2i<Path2i>
 		set(path);
 	}
 
-	private boolean buildLogicalBoundingBox(Rectangle2i box) {
-		if (this.numCoords > 0) {
-			int xmin = this.coords[0];
-			int ymin = this.coords[1];
-			int xmax = xmin;
-			int ymax = ymin;
-			for (int i = 2; i < this.numCoords; i += 2) {
-				if (this.coords[i] < xmin) {
-					xmin = this.coords[i];
-				}
-				if (this.coords[i + 1] < ymin) {
-					ymin = this.coords[i + 1];
-				}
-				if (this.coords[i] > xmax) {
-					xmax = this.coords[i];
-				}
-				if (this.coords[i + 1] > ymax) {
-					ymax = this.coords[i + 1];
-				}
-			}
-			box.setFromCorners(xmin,  ymin, xmax, ymax);
-			return true;
+	private static int grow(int capacity, int minCapacity) {
+		return Math.max(minCapacity, capacity + Math.max(GROW_SIZE, capacity >> 1));
+	}
+
+	private void ensureCapacity(int nbTypes, int nbCoords) {
+		final int typeCount = this.numTypes + nbTypes;
+		if (typeCount > this.types.length) {
+			this.types = Arrays.copyOf(this.types, grow(this.types.length, typeCount));
+		}
+		final int coordCount = this.numCoords + nbCoords;
+		if (coordCount > this.coords.length) {
+			this.coords = Arrays.copyOf(this.coords, grow(this.coords.length, coordCount));
 		}
-		return false;
 	}
 
 	private void ensureSlots(boolean needMove, int nbSlots) {
 		if (needMove && this.numTypes == 0) {
 			throw new IllegalStateException(Locale.getString("E1")); //$NON-NLS-1$
 		}
-		if (this.types.length == this.numTypes) {
-			this.types = Arrays.copyOf(this.types, this.types.length + GROW_SIZE);
+		ensureCapacity(1, nbSlots);
+	}
+
+	@Pure
+	private boolean isValid(int flag) {
+		return (this.validFlags & flag) != 0;
+	}
+
+	@Pure
+	private boolean isSet(int flag) {
+		return (this.flagValues & flag) != 0;
+	}
+
+	private void setFlag(int flag, boolean value) {
+		this.validFlags |= flag;
+		if (value) {
+			this.flagValues |= flag;
+		} else {
+			this.flagValues &= ~flag;
 		}
-		while ((this.numCoords + nbSlots) >= this.coords.length) {
-			this.coords = Arrays.copyOf(this.coords, this.coords.length + GROW_SIZE);
+	}
+
+	private void invalidate(int flags) {
+		this.validFlags &= ~flags;
+	}
+
+	/** Set the cached properties to the ones of an empty path.
+	 */
+	private void resetProperties() {
+		this.validFlags = ALL_FLAGS;
+		this.flagValues = EMPTY_FLAG;
+		setGraphicalBounds(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE);
+		setLogicalBounds(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE);
+	}
+
+	private void setGraphicalBounds(int minx, int miny, int maxx, int maxy) {
+		this.graphicalMinX = minx;
+		this.graphicalMinY = miny;
+		this.graphicalMaxX = maxx;
+		this.graphicalMaxY = maxy;
+	}
+
+	private void setLogicalBounds(int minx, int miny, int maxx, int maxy) {
+		this.logicalMinX = minx;
+		this.logicalMinY = miny;
+		this.logicalMaxX = maxx;
+		this.logicalMaxY = maxy;
+	}
+
+	private void addLogicalPoint(int x, int y) {
+		if (x < this.logicalMinX) {
+			this.logicalMinX = x;
+		}
+		if (y < this.logicalMinY) {
+			this.logicalMinY = y;
+		}
+		if (x > this.logicalMaxX) {
+			this.logicalMaxX = x;
+		}
+		if (y > this.logicalMaxY) {
+			this.logicalMaxY = y;
+		}
+	}
+
+	/** Add a move-to element without firing any change event.
+	 *
+	 * @param x the x coordinate of the target point.
+	 * @param y the y coordinate of the target point.
+	 */
+	private void appendMove(int x, int y) {
+		if (this.numTypes > 0 && this.types[this.numTypes - 1] == MOVE_TO) {
+			// The replaced point was not drawn: the drawable bounds are not changed.
+			this.coords[this.numCoords - 2] = x;
+			this.coords[this.numCoords - 1] = y;
+			invalidate(LOGICAL_BOUNDS_FLAG);
+		} else {
+			ensureSlots(false, 2);
+			if (this.numTypes == 0) {
+				resetProperties();
+			} else if (this.types[0] == MOVE_TO) {
+				setFlag(MULTIPART_FLAG, true);
+			} else if (!isValid(MULTIPART_FLAG) || !isSet(MULTIPART_FLAG)) {
+				invalidate(MULTIPART_FLAG);
+			}
+			if (isValid(LOGICAL_BOUNDS_FLAG)) {
+				addLogicalPoint(x, y);
+			}
+			this.types[this.numTypes++] = MOVE_TO;
+			this.coords[this.numCoords++] = x;
+			this.coords[this.numCoords++] = y;
+		}
+		setFlag(POLYLINE_FLAG, false);
+		setFlag(POLYGON_FLAG, false);
+	}
+
+	/** Add a line-to element without firing any change event.
+	 *
+	 * @param x the x coordinate of the target point.
+	 * @param y the y coordinate of the target point.
+	 */
+	private void appendLine(int x, int y) {
+		ensureSlots(true, 2);
+		final byte last = this.types[this.numTypes - 1];
+		if (isValid(EMPTY_FLAG) && isSet(EMPTY_FLAG)) {
+			if (last == CLOSE) {
+				invalidate(EMPTY_FLAG);
+			} else if (this.coords[this.numCoords - 2] != x || this.coords[this.numCoords - 1] != y) {
+				setFlag(EMPTY_FLAG, false);
+			}
+		}
+		// The flattening of the path is skipping the duplicate points:
+		// the drawable bounds are not updated incrementally.
+		invalidate(GRAPHICAL_BOUNDS_FLAG);
+		if (isValid(LOGICAL_BOUNDS_FLAG)) {
+			addLogicalPoint(x, y);
 		}
+		if (isValid(POLYLINE_FLAG) && !isSet(POLYLINE_FLAG)) {
+			setFlag(POLYLINE_FLAG, this.numTypes == 1 && last == MOVE_TO);
+		}
+		setFlag(POLYGON_FLAG, false);
+		this.types[this.numTypes++] = LINE_TO;
+		this.coords[this.numCoords++] = x;
+		this.coords[this.numCoords++] = y;
+	}
+
+	/** Update the cached properties before the addition of a curve.
+	 */
+	private void updateBeforeCurve() {
+		if (!isValid(EMPTY_FLAG) || isSet(EMPTY_FLAG)) {
+			invalidate(EMPTY_FLAG);
+		}
+		invalidate(GRAPHICAL_BOUNDS_FLAG);
+		setFlag(POLYLINE_FLAG, false);
+		setFlag(POLYGON_FLAG, false);
+		setFlag(CURVED_FLAG, true);
+	}
+
+	/** Add a quad-to element without firing any change event.
+	 *
+	 * @param x1 the x coordinate of the control point.
+	 * @param y1 the y coordinate of the control point.
+	 * @param x2 the x coordinate of the target point.
+	 * @param y2 the y coordinate of the target point.
+	 */
+	private void appendQuad(int x1, int y1, int x2, int y2) {
+		ensureSlots(true, 4);
+		updateBeforeCurve();
+		if (isValid(LOGICAL_BOUNDS_FLAG)) {
+			addLogicalPoint(x1, y1);
+			addLogicalPoint(x2, y2);
+		}
+		this.types[this.numTypes++] = QUAD_TO;
+		this.coords[this.numCoords++] = x1;
+		this.coords[this.numCoords++] = y1;
+		this.coords[this.numCoords++] = x2;
+		this.coords[this.numCoords++] = y2;
+	}
+
+	/** Add a curve-to element without firing any change event.
+	 *
+	 * @param x1 the x coordinate of the first control point.
+	 * @param y1 the y coordinate of the first control point.
+	 * @param x2 the x coordinate of the second control point.
+	 * @param y2 the y coordinate of the second control point.
+	 * @param x3 the x coordinate of the target point.
+	 * @param y3 the y coordinate of the target point.
+	 */
+	private void appendCurve(int x1, int y1, int x2, int y2, int x3, int y3) {
+		ensureSlots(true, 6);
+		updateBeforeCurve();
+		if (isValid(LOGICAL_BOUNDS_FLAG)) {
+			addLogicalPoint(x1, y1);
+			addLogicalPoint(x2, y2);
+			addLogicalPoint(x3, y3);
+		}
+		this.types[this.numTypes++] = CURVE_TO;
+		this.coords[this.numCoords++] = x1;
+		this.coords[this.numCoords++] = y1;
+		this.coords[this.numCoords++] = x2;
+		this.coords[this.numCoords++] = y2;
+		this.coords[this.numCoords++] = x3;
+		this.coords[this.numCoords++] = y3;
+	}
+
+	/** Add a close element without firing any change event.
+	 *
+	 * @return <code>true</code> if the element was added.
+	 */
+	private boolean appendClose() {
+		if (this.numTypes <= 0
+				|| (this.types[this.numTypes - 1] != CLOSE
+				&& this.types[this.numTypes - 1] != MOVE_TO)) {
+			ensureSlots(true, 0);
+			// The closing segment does not change the bounds, since its ends are already inside.
+			if (!isValid(EMPTY_FLAG) || isSet(EMPTY_FLAG)) {
+				invalidate(EMPTY_FLAG);
+			}
+			setFlag(POLYLINE_FLAG, false);
+			if (isValid(MULTIPART_FLAG) && this.types[0] == MOVE_TO) {
+				setFlag(POLYGON_FLAG, !isSet(MULTIPART_FLAG));
+			} else {
+				invalidate(POLYGON_FLAG);
+			}
+			this.types[this.numTypes++] = CLOSE;
+			return true;
+		}
+		return false;
 	}
 
 	@Pure
@@ -206,17 +445,12 @@ public class Path2i extends AbstractShape2i<Path2i>
 
 	@Override
 	public void clear() {
-		this.types = new PathElementType[GROW_SIZE];
+		this.types = new byte[GROW_SIZE];
 		this.coords = new int[GROW_SIZE];
 		this.windingRule = PathWindingRule.NON_ZERO;
 		this.numCoords = 0;
 		this.numTypes = 0;
-		this.isEmpty = Boolean.TRUE;
-		this.isPolyline = Boolean.FALSE;
-		this.isPolygon = Boolean.FALSE;
-		this.isCurved = Boolean.FALSE;
-		this.graphicalBounds = null;
-		this.logicalBounds = null;
+		resetProperties();
 		fireGeometryChange();
 	}
 
@@ -264,14 +498,13 @@ public class Path2i extends AbstractShape2i<Path2i>
 			this.coords[i] += dx;
 			this.coords[i + 1] += dy;
 		}
-		Rectangle2i bb;
-		bb = this.logicalBounds == null ? null : this.logicalBounds.get();
-		if (bb != null) {
-			bb.translate(dx, dy);
+		if (isValid(LOGICAL_BOUNDS_FLAG) && this.logicalMinX <= this.logicalMaxX) {
+			setLogicalBounds(this.logicalMinX + dx, this.logicalMinY + dy,
+					this.logicalMaxX + dx, this.logicalMaxY + dy);
 		}
-		bb = this.graphicalBounds == null ? null : this.graphicalBounds.get();
-		if (bb != null) {
-			bb.translate(dx, dy);
+		if (isValid(GRAPHICAL_BOUNDS_FLAG) && this.graphicalMinX <= this.graphicalMaxX) {
+			setGraphicalBounds(this.graphicalMinX + dx, this.graphicalMinY + dy,
+					this.graphicalMaxX + dx, this.graphicalMaxY + dy);
 		}
 		fireGeometryChange();
 	}
@@ -286,55 +519,51 @@ public class Path2i extends AbstractShape2i<Path2i>
 			this.coords[i] = p.ix();
 			this.coords[i + 1] = p.iy();
 		}
-		this.graphicalBounds = null;
-		this.logicalBounds = null;
+		invalidate(GRAPHICAL_BOUNDS_FLAG | LOGICAL_BOUNDS_FLAG | EMPTY_FLAG | POLYLINE_FLAG | POLYGON_FLAG);
 		fireGeometryChange();
 	}
 
 	@Override
 	@Pure
 	public boolean isEmpty() {
-		if (this.isEmpty == null) {
-			this.isEmpty = Boolean.TRUE;
+		if (!isValid(EMPTY_FLAG)) {
+			boolean empty = true;
 			final PathIterator2ai<PathElement2i> pi = getPathIterator();
-			while (this.isEmpty == Boolean.TRUE && pi.hasNext()) {
+			while (empty && pi.hasNext()) {
 				final PathElement2i pe = pi.next();
 				if (pe.isDrawable()) {
-					this.isEmpty = Boolean.FALSE;
+					empty = false;
 				}
 			}
+			setFlag(EMPTY_FLAG, empty);
 		}
-		return this.isEmpty.booleanValue();
+		return isSet(EMPTY_FLAG);
 	}
 
 	@Override
 	@Pure
 	public Rectangle2i toBoundingBox() {
-		Rectangle2i bb = this.graphicalBounds == null ? null : this.graphicalBounds.get();
-		if (bb == null) {
-			bb = getGeomFactory().newBox();
-			Path2ai.calculatesDrawableElementBoundingBox(
-					getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
-					bb);
-			this.graphicalBounds = new SoftReference<>(bb);
-		}
+		final Rectangle2i bb = getGeomFactory().newBox();
+		toBoundingBox(bb);
 		return bb;
-
 	}
 
 	@Override
 	@Pure
 	public void toBoundingBox(Rectangle2i box) {
 		assert box != null : AssertMessages.notNullParameter();
-		Rectangle2i bb = this.graphicalBounds == null ? null : this.graphicalBounds.get();
-		if (bb == null) {
-			bb = getGeomFactory().newBox();
-			Path2ai.calculatesDrawableElementBoundingBox(
-					getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
-					bb);
-			this.graphicalBounds = new SoftReference<>(bb);
+		if (!isValid(GRAPHICAL_BOUNDS_FLAG)) {
+			if (Path2ai.calculatesDrawableElementBoundingBox(this, box)) {
+				setGraphicalBounds(box.getMinX(), box.getMinY(), box.getMaxX(), box.getMaxY());
+			} else {
+				setGraphicalBounds(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE);
+			}
+			setFlag(GRAPHICAL_BOUNDS_FLAG, true);
+		} else if (this.graphicalMinX <= this.graphicalMaxX) {
+			box.setFromCorners(this.graphicalMinX, this.graphicalMinY, this.graphicalMaxX, this.graphicalMaxY);
+		} else {
+			box.clear();
 		}
-		box.set(bb);
 	}
 
 	@Override
@@ -346,110 +575,85 @@ public class Path2i extends AbstractShape2i<Path2i>
 	@Override
 	@Pure
 	public boolean isPolyline() {
-		if (this.isPolyline == null) {
+		if (!isValid(POLYLINE_FLAG)) {
 			final PathIterator2ai<PathElement2i> pi = getPathIterator();
 			boolean first = true;
 			boolean hasOneLine = false;
-			while (this.isPolyline == null && pi.hasNext()) {
+			boolean polyline = true;
+			while (polyline && pi.hasNext()) {
 				final PathElement2i pe = pi.next();
 				final PathElementType t = pe.getType();
 				if (first) {
 					if (t != PathElementType.MOVE_TO) {
-						this.isPolyline = Boolean.FALSE;
+						polyline = false;
 					} else {
 						first = false;
 					}
 				} else if (t != PathElementType.LINE_TO) {
-					this.isPolyline = Boolean.FALSE;
+					polyline = false;
 				} else {
 					hasOneLine = true;
 				}
 			}
-			if (this.isPolyline == null) {
-				this.isPolyline = hasOneLine;
-			}
+			setFlag(POLYLINE_FLAG, polyline && hasOneLine);
 		}
-		return this.isPolyline.booleanValue();
+		return isSet(POLYLINE_FLAG);
 	}
 
 	@Override
 	@Pure
 	public boolean isCurved() {
-		if (this.isCurved == null) {
-			this.isCurved = Boolean.FALSE;
-			final PathIterator2ai<PathElement2i> pi = getPathIterator();
-			while (this.isCurved == Boolean.FALSE && pi.hasNext()) {
-				final PathElement2i pe = pi.next();
-				final PathElementType t = pe.getType();
-				if (t == PathElementType.CURVE_TO || t == PathElementType.QUAD_TO) {
-					this.isCurved = Boolean.TRUE;
+		if (!isValid(CURVED_FLAG)) {
+			boolean curved = false;
+			for (int i = 0; !curved && i < this.numTypes; ++i) {
+				final byte t = this.types[i];
+				if (t == CURVE_TO || t == QUAD_TO) {
+					curved = true;
 				}
 			}
+			setFlag(CURVED_FLAG, curved);
 		}
-		return this.isCurved.booleanValue();
+		return isSet(CURVED_FLAG);
 	}
 
 	@Override
 	@Pure
 	public boolean isMultiParts() {
-		if (this.isMultipart == null) {
-			this.isMultipart = Boolean.FALSE;
-			final PathIterator2ai<PathElement2i> pi = getPathIterator();
+		if (!isValid(MULTIPART_FLAG)) {
+			boolean multipart = false;
 			boolean foundOne = false;
-			while (this.isMultipart == Boolean.FALSE && pi.hasNext()) {
-				final PathElement2i pe = pi.next();
-				final PathElementType t = pe.getType();
-				if (t == PathElementType.MOVE_TO) {
+			for (int i = 0; !multipart && i < this.numTypes; ++i) {
+				if (this.types[i] == MOVE_TO) {
 					if (foundOne) {
-						this.isMultipart = Boolean.TRUE;
+						multipart = true;
 					} else {
 						foundOne = true;
 					}
 				}
 			}
+			setFlag(MULTIPART_FLAG, multipart);
 		}
-		return this.isMultipart.booleanValue();
+		return isSet(MULTIPART_FLAG);
 	}
 
 	@Override
 	@Pure
 	public boolean isPolygon() {
-		if (this.isPolygon == null) {
-			final PathIterator2ai<PathElement2i> pi = getPathIterator();
-			boolean first = true;
-			boolean lastIsClose = false;
-			while (this.isPolygon == null && pi.hasNext()) {
-				final PathElement2i pe = pi.next();
-				final PathElementType t = pe.getType();
-				lastIsClose = false;
-				if (first) {
-					if (t != PathElementType.MOVE_TO) {
-						this.isPolygon = Boolean.FALSE;
-					} else {
-						first = false;
-					}
-				} else if (t == PathElementType.MOVE_TO) {
-					this.isPolygon = Boolean.FALSE;
-				} else if (t == PathElementType.CLOSE) {
-					lastIsClose = true;
+		if (!isValid(POLYGON_FLAG)) {
+			boolean polygon = this.numTypes > 0 && this.types[0] == MOVE_TO;
+			for (int i = 1; polygon && i < this.numTypes; ++i) {
+				if (this.types[i] == MOVE_TO) {
+					polygon = false;
 				}
 			}
-			if (this.isPolygon == null) {
-				this.isPolygon = Boolean.valueOf(lastIsClose);
-			}
+			setFlag(POLYGON_FLAG, polygon && this.types[this.numTypes - 1] == CLOSE);
 		}
-		return this.isPolygon.booleanValue();
+		return isSet(POLYGON_FLAG);
 	}
 
 	@Override
 	public void closePath() {
-		if (this.numTypes <= 0
-				|| (this.types[this.numTypes - 1] != PathElementType.CLOSE
-				&& this.types[this.numTypes - 1] != PathElementType.MOVE_TO)) {
-			ensureSlots(true, 0);
-			this.types[this.numTypes++] = PathElementType.CLOSE;
-			this.isPolyline = false;
-			this.isPolygon = null;
+		if (appendClose()) {
 			fireGeometryChange();
 		}
 	}
@@ -457,12 +661,8 @@ public class Path2i extends AbstractShape2i<Path2i>
 	@Override
 	@Pure
 	public Rectangle2i toBoundingBoxWithCtrlPoints() {
-		Rectangle2i bb = this.logicalBounds == null ? null : this.logicalBounds.get();
-		if (bb == null) {
-			bb = getGeomFactory().newBox();
-			buildLogicalBoundingBox(bb);
-			this.logicalBounds = new SoftReference<>(bb);
-		}
+		final Rectangle2i bb = getGeomFactory().newBox();
+		toBoundingBoxWithCtrlPoints(bb);
 		return bb;
 	}
 
@@ -470,13 +670,18 @@ public class Path2i extends AbstractShape2i<Path2i>
 	@Pure
 	public void toBoundingBoxWithCtrlPoints(Rectangle2i box) {
 		assert box != null : AssertMessages.notNullParameter();
-		Rectangle2i bb = this.logicalBounds == null ? null : this.logicalBounds.get();
-		if (bb == null) {
-			bb = getGeomFactory().newBox();
-			buildLogicalBoundingBox(bb);
-			this.logicalBounds = new SoftReference<>(bb);
+		if (!isValid(LOGICAL_BOUNDS_FLAG)) {
+			setLogicalBounds(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE);
+			for (int i = 0; i < this.numCoords; i += 2) {
+				addLogicalPoint(this.coords[i], this.coords[i + 1]);
+			}
+			setFlag(LOGICAL_BOUNDS_FLAG, true);
+		}
+		if (this.logicalMinX <= this.logicalMaxX) {
+			box.setFromCorners(this.logicalMinX, this.logicalMinY, this.logicalMaxX, this.logicalMaxY);
+		} else {
+			box.clear();
 		}
-		box.set(bb);
 	}
 
 	@Override
@@ -590,36 +795,27 @@ public class Path2i extends AbstractShape2i<Path2i>
 			switch (this.types[this.numTypes - 1]) {
 			case CLOSE:
 				// no coord to remove
-				this.isPolygon = null;
-				this.isPolyline = null;
 				break;
 			case MOVE_TO:
 				this.numCoords -= 2;
-				this.isPolyline = null;
-				this.isMultipart = null;
+				invalidate(MULTIPART_FLAG);
 				break;
 			case LINE_TO:
 				this.numCoords -= 2;
-				this.isPolyline = null;
 				break;
 			case CURVE_TO:
 				this.numCoords -= 6;
-				this.isPolyline = null;
-				this.isCurved = null;
+				invalidate(CURVED_FLAG);
 				break;
 			case QUAD_TO:
 				this.numCoords -= 4;
-				this.isPolyline = null;
-				this.isCurved = null;
+				invalidate(CURVED_FLAG);
 				break;
-			case ARC_TO:
 			default:
 				throw new IllegalStateException();
 			}
 			--this.numTypes;
-			this.isEmpty = null;
-			this.graphicalBounds = null;
-			this.logicalBounds = null;
+			invalidate(EMPTY_FLAG | POLYLINE_FLAG | POLYGON_FLAG | GRAPHICAL_BOUNDS_FLAG | LOGICAL_BOUNDS_FLAG);
 			fireGeometryChange();
 		} else {
 			throw new IllegalStateException();
@@ -628,89 +824,127 @@ public class Path2i extends AbstractShape2i<Path2i>
 
 	@Override
 	public void moveTo(int x, int y) {
-		if (this.numTypes != 0) {
-			this.isPolyline = Boolean.FALSE;
-			this.isPolygon = Boolean.FALSE;
-		}
-		if (this.isMultipart != null && this.isMultipart != Boolean.TRUE) {
-			this.isMultipart = null;
-		}
-		if (this.numTypes > 0 && this.types[this.numTypes - 1] == PathElementType.MOVE_TO) {
-			this.coords[this.numCoords - 2] = x;
-			this.coords[this.numCoords - 1] = y;
-		} else {
-			ensureSlots(false, 2);
-			this.types[this.numTypes++] = PathElementType.MOVE_TO;
-			this.coords[this.numCoords++] = x;
-			this.coords[this.numCoords++] = y;
-		}
-		this.graphicalBounds = null;
-		this.logicalBounds = null;
+		appendMove(x, y);
 		fireGeometryChange();
 	}
 
 	@Override
 	public void lineTo(int x, int y) {
-		ensureSlots(true, 2);
-		this.types[this.numTypes++] = PathElementType.LINE_TO;
-		this.coords[this.numCoords++] = x;
-		this.coords[this.numCoords++] = y;
-		this.isEmpty = null;
-		if (this.isPolyline != null && this.isPolyline == Boolean.FALSE) {
-			this.isPolyline = null;
-		}
-		this.graphicalBounds = null;
-		this.logicalBounds = null;
+		appendLine(x, y);
 		fireGeometryChange();
 	}
 
 	@Override
 	public void quadTo(int x1, int y1, int x2, int y2) {
-		ensureSlots(true, 4);
-		this.types[this.numTypes++] = PathElementType.QUAD_TO;
-		this.coords[this.numCoords++] = x1;
-		this.coords[this.numCoords++] = y1;
-		this.coords[this.numCoords++] = x2;
-		this.coords[this.numCoords++] = y2;
-		this.isEmpty = null;
-		this.isPolyline = Boolean.FALSE;
-		this.isCurved = Boolean.TRUE;
-		this.graphicalBounds = null;
-		this.logicalBounds = null;
+		appendQuad(x1, y1, x2, y2);
 		fireGeometryChange();
 	}
 
 	@Override
 	public void curveTo(int x1, int y1, int x2, int y2, int x3, int y3) {
-		ensureSlots(true, 6);
-		this.types[this.numTypes++] = PathElementType.CURVE_TO;
-		this.coords[this.numCoords++] = x1;
-		this.coords[this.numCoords++] = y1;
-		this.coords[this.numCoords++] = x2;
-		this.coords[this.numCoords++] = y2;
-		this.coords[this.numCoords++] = x3;
-		this.coords[this.numCoords++] = y3;
-		this.isEmpty = null;
-		this.isPolyline = Boolean.FALSE;
-		this.isCurved = Boolean.TRUE;
-		this.graphicalBounds = null;
-		this.logicalBounds = null;
+		appendCurve(x1, y1, x2, y2, x3, y3);
 		fireGeometryChange();
 	}
 
+	/** Append the given points to the path as a polyline.
+	 *
+	 * <p>If the path has no element, the first point is added with a move-to element.
+	 * Otherwise, it is linked to the current point with a line-to element.
+	 * All the other points are added with line-to elements.
+	 * This function has the same effect as the equivalent sequence of calls to
+	 * {@link #moveTo(int, int)} and {@link #lineTo(int, int)}, except
+	 * that the storage is grown once, and a single geometry change is fired.
+	 *
+	 * @param xy the coordinates of the points, in the form {@code x1, y1, x2, y2, ...}
+	 * @param off the index of the first coordinate to append.
+	 * @param len the number of coordinates to append. It must be even.
+	 */
+	public void appendPolyline(int[] xy, int off, int len) {
+		assert xy != null : AssertMessages.notNullParameter(0);
+		assert off >= 0 : AssertMessages.positiveOrZeroParameter(1);
+		assert len >= 0 && (len % 2) == 0 : AssertMessages.invalidValue(2);
+		assert off + len <= xy.length : AssertMessages.tooSmallArrayParameter(0, xy.length, off + len);
+		if (len > 0) {
+			ensureCapacity(len / 2, len);
+			int i = off;
+			final int end = off + len;
+			if (this.numTypes == 0) {
+				appendMove(xy[i], xy[i + 1]);
+				i += 2;
+			}
+			for (; i < end; i += 2) {
+				appendLine(xy[i], xy[i + 1]);
+			}
+			fireGeometryChange();
+		}
+	}
+
+	/** Append all the elements of the given path to this path.
+	 *
+	 * <p>This function has the same effect as {@link #add(Iterator)} with the path iterator
+	 * of the given path, except that no path element is allocated, the storage is grown once,
+	 * and a single geometry change is fired.
+	 *
+	 * @param path the path to append.
+	 */
+	public void appendAll(Path2ai<?, ?, ?, ?, ?, ?> path) {
+		assert path != null : AssertMessages.notNullParameter();
+		final Path2ai<?, ?, ?, ?, ?, ?> source = path == this ? clone() : path;
+		if (source.getPathElementCount() > 0) {
+			ensureCapacity(source.getPathElementCount(), source.size() * 2);
+			source.visit(new ElementAppender());
+			fireGeometryChange();
+		}
+	}
+
 	@Override
 	@Pure
 	public int getCoordAt(int index) {
 		return this.coords[index];
 	}
 
+	@Override
+	public void visit(PathVisitor2ai visitor) {
+		assert visitor != null : AssertMessages.notNullParameter();
+		final byte[] elementTypes = this.types;
+		final int[] elementCoords = this.coords;
+		int coord = 0;
+		for (int i = 0; i < this.numTypes && !visitor.isDone(); ++i) {
+			switch (elementTypes[i]) {
+			case MOVE_TO:
+				visitor.moveTo(elementCoords[coord], elementCoords[coord + 1]);
+				coord += 2;
+				break;
+			case LINE_TO:
+				visitor.lineTo(elementCoords[coord], elementCoords[coord + 1]);
+				coord += 2;
+				break;
+			case QUAD_TO:
+				visitor.quadTo(elementCoords[coord], elementCoords[coord + 1],
+						elementCoords[coord + 2], elementCoords[coord + 3]);
+				coord += 4;
+				break;
+			case CURVE_TO:
+				visitor.curveTo(elementCoords[coord], elementCoords[coord + 1],
+						elementCoords[coord + 2], elementCoords[coord + 3],
+						elementCoords[coord + 4], elementCoords[coord + 5]);
+				coord += 6;
+				break;
+			case CLOSE:
+				visitor.closePath();
+				break;
+			default:
+				throw new IllegalStateException();
+			}
+		}
+	}
+
 	@Override
 	public void setLastPoint(int x, int y) {
 		if (this.numCoords >= 2) {
 			this.coords[this.numCoords - 2] = x;
 			this.coords[this.numCoords - 1] = y;
-			this.graphicalBounds = null;
-			this.logicalBounds = null;
+			invalidate(GRAPHICAL_BOUNDS_FLAG | LOGICAL_BOUNDS_FLAG | EMPTY_FLAG | POLYLINE_FLAG | POLYGON_FLAG);
 			fireGeometryChange();
 		} else {
 			throw new IllegalStateException();
@@ -723,22 +957,32 @@ public class Path2i extends AbstractShape2i<Path2i>
 		this.windingRule = rule;
 	}
 
+	/** Remove the element at the given indexes.
+	 *
+	 * @param typeIndex the index of the element.
+	 * @param coordIndex the index of the first coordinate of the element.
+	 * @param coordCount the number of coordinates of the element.
+	 */
+	private void removeElement(int typeIndex, int coordIndex, int coordCount) {
+		this.numCoords -= coordCount;
+		--this.numTypes;
+		System.arraycopy(this.coords, coordIndex + coordCount, this.coords, coordIndex, this.numCoords - coordIndex);
+		System.arraycopy(this.types, typeIndex + 1, this.types, typeIndex, this.numTypes - typeIndex);
+		invalidate(EMPTY_FLAG | POLYLINE_FLAG | POLYGON_FLAG | GRAPHICAL_BOUNDS_FLAG | LOGICAL_BOUNDS_FLAG);
+		fireGeometryChange();
+	}
+
 	@Override
 	@SuppressWarnings({"checkstyle:fallthrough", "checkstyle:cyclomaticcomplexity"})
 	public boolean remove(int x, int y) {
 		for (int i = 0, j = 0; i < this.numCoords && j < this.numTypes;) {
 			switch (this.types[j]) {
 			case MOVE_TO:
-				this.isMultipart = null;
+				invalidate(MULTIPART_FLAG);
 				//$FALL-THROUGH$
 			case LINE_TO:
 				if (x == this.coords[i] && y == this.coords[i + 1]) {
-					this.numCoords -= 2;
-					--this.numTypes;
-					System.arraycopy(this.coords, i + 2, this.coords, i, this.numCoords);
-					System.arraycopy(this.types, j + 1, this.types, j, this.numTypes);
-					this.isEmpty = null;
-					fireGeometryChange();
+					removeElement(j, i, 2);
 					return true;
 				}
 				i += 2;
@@ -748,13 +992,8 @@ public class Path2i extends AbstractShape2i<Path2i>
 				if ((x == this.coords[i] && y == this.coords[i + 1])
 						|| (x == this.coords[i + 2] && y == this.coords[i + 3])
 						|| (x == this.coords[i + 4] && y == this.coords[i + 5])) {
-					this.numCoords -= 6;
-					--this.numTypes;
-					System.arraycopy(this.coords, i + 6, this.coords, i, this.numCoords);
-					System.arraycopy(this.types, j + 1, this.types, j, this.numTypes);
-					this.isEmpty = null;
-					this.isPolyline = null;
-					fireGeometryChange();
+					invalidate(CURVED_FLAG);
+					removeElement(j, i, 6);
 					return true;
 				}
 				i += 6;
@@ -763,13 +1002,8 @@ public class Path2i extends AbstractShape2i<Path2i>
 			case QUAD_TO:
 				if ((x == this.coords[i] && y == this.coords[i + 1])
 						|| (x == this.coords[i + 2] && y == this.coords[i + 3])) {
-					this.numCoords -= 4;
-					--this.numTypes;
-					System.arraycopy(this.coords, i + 4, this.coords, i, this.numCoords);
-					System.arraycopy(this.types, j + 1, this.types, j, this.numTypes);
-					this.isEmpty = null;
-					this.isPolyline = null;
-					fireGeometryChange();
+					invalidate(CURVED_FLAG);
+					removeElement(j, i, 4);
 					return true;
 				}
 				i += 4;
@@ -778,10 +1012,8 @@ public class Path2i extends AbstractShape2i<Path2i>
 			case CLOSE:
 				++j;
 				break;
-			case ARC_TO:
-				throw new IllegalStateException();
 			default:
-				break;
+				throw new IllegalStateException();
 			}
 		}
 		return false;
@@ -803,7 +1035,50 @@ public class Path2i extends AbstractShape2i<Path2i>
 	@Override
 	@Pure
 	public PathElementType getPathElementTypeAt(int index) {
-		return this.types[index];
+		return TYPES[this.types[index]];
+	}
+
+	/** Visitor that appends the visited elements to this path.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private class ElementAppender implements PathVisitor2ai {
+
+		/** Constructor.
+		 */
+		ElementAppender() {
+			//
+		}
+
+		@Override
+		public void moveTo(int x, int y) {
+			appendMove(x, y);
+		}
+
+		@Override
+		public void lineTo(int x, int y) {
+			appendLine(x, y);
+		}
+
+		@Override
+		public void quadTo(int ctrlx, int ctrly, int x, int y) {
+			appendQuad(ctrlx, ctrly, x, y);
+		}
+
+		@Override
+		public void curveTo(int ctrlx1, int ctrly1, int ctrlx2, int ctrly2, int x, int y) {
+			appendCurve(ctrlx1, ctrly1, ctrlx2, ctrly2, x, y);
+		}
+
+		@Override
+		public void closePath() {
+			appendClose();
+		}
+
 	}
 
 }
@@ -0,0 +1,567 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.graph.GraphPoint.GraphPointConnection;
+import org.arakhne.afc.math.graph.astar.AStarCostComputer;
+import org.arakhne.afc.math.graph.astar.AStarSegmentOrientation;
+import org.arakhne.afc.math.graph.astar.GraphIndex;
+import org.arakhne.afc.math.graph.astar.PointIndexHeap;
+import org.arakhne.afc.vmutil.ThreadServiceFinder;
+
+/** This class computes the costs of the shortest paths from origin points to target points.
+ *
+ * <p>For each origin, a single Dijkstra search computes the costs to all the targets,
+ * instead of one search per pair of points. The costs are written in a matrix of
+ * primitive values in which the row {@code i} contains the costs from the
+ * origin {@code i}, and the column {@code j} contains the costs to the target {@code j}.
+ * When no path exists, the cost is {@link Double#POSITIVE_INFINITY}.
+ *
+ * <p>The costs are computed in the same way as the {@link org.arakhne.afc.math.graph.astar.AStar A* algorithm}:
+ * the cost of a step is the cost of the traversed point plus the cost of the traversed segment.
+ * Because the costs are independent of the path that is followed, the
+ * orientation tool is invoked with a <code>null</code> entry segment.
+ *
+ * <p>The origins may be spread over many tasks run in parallel on an {@link Executor}.
+ * By default, the origins are treated sequentially. The graph must not be changed
+ * while the costs are computed.
+ *
+ * @param <PT> is the type of node in the graph
+ * @param <ST> is the type of edge in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public class DistanceMatrixComputer<ST extends GraphSegment<ST, PT>, PT extends GraphPoint<PT, ST>> {
+
+	private final Graph<ST, PT> graph;
+
+	private final Queue<Search> searches = new ConcurrentLinkedQueue<>();
+
+	private AStarCostComputer<? super ST, ? super PT> costComputer;
+
+	private AStarSegmentOrientation<ST, PT> segmentOrientation;
+
+	private boolean earlyTermination = true;
+
+	private int parallelism = 1;
+
+	private Executor executor;
+
+	private Arcs<ST, PT> arcs;
+
+	/**
+	 * @param graph is the graph to explore.
+	 */
+	public DistanceMatrixComputer(Graph<ST, PT> graph) {
+		assert graph != null;
+		this.graph = graph;
+	}
+
+	/** Replies the explored graph.
+	 *
+	 * @return the graph.
+	 */
+	@Pure
+	public Graph<ST, PT> getGraph() {
+		return this.graph;
+	}
+
+	/** Set the tool that permits to compute the costs of the points and the segments.
+	 *
+	 * @param costComputer1 is the tool, or <code>null</code> for using the lengths of the segments.
+	 * @return the old tool.
+	 */
+	public AStarCostComputer<? super ST, ? super PT> setCostComputer(
+			AStarCostComputer<? super ST, ? super PT> costComputer1) {
+		final AStarCostComputer<? super ST, ? super PT> old = this.costComputer;
+		this.costComputer = costComputer1;
+		this.arcs = null;
+		return old;
+	}
+
+	/** Replies the tool that permits to compute the costs of the points and the segments.
+	 *
+	 * @return the tool, or <code>null</code> if the lengths of the segments are used.
+	 */
+	@Pure
+	public AStarCostComputer<? super ST, ? super PT> getCostComputer() {
+		return this.costComputer;
+	}
+
+	/** Set the tool that permits to retreive the orientation of the segments.
+	 *
+	 * @param tool the tool, or <code>null</code> if the segments are traversable in the two directions.
+	 * @return the old tool.
+	 */
+	public AStarSegmentOrientation<ST, PT> setSegmentOrientationTool(AStarSegmentOrientation<ST, PT> tool) {
+		final AStarSegmentOrientation<ST, PT> old = this.segmentOrientation;
+		this.segmentOrientation = tool;
+		this.arcs = null;
+		return old;
+	}
+
+	/** Replies the tool that permits to retreive the orientation of the segments.
+	 *
+	 * @return the tool, or <code>null</code> if the segments are traversable in the two directions.
+	 */
+	@Pure
+	public AStarSegmentOrientation<ST, PT> getSegmentOrientationTool() {
+		return this.segmentOrientation;
+	}
+
+	/** Set if the search from an origin is stopped as soon as the costs to all the targets are known.
+	 *
+	 * @param enable is <code>true</code> for stopping the search early.
+	 * @return the old value.
+	 */
+	public boolean setEarlyTermination(boolean enable) {
+		final boolean old = this.earlyTermination;
+		this.earlyTermination = enable;
+		return old;
+	}
+
+	/** Replies if the search from an origin is stopped as soon as the costs to all the targets are known.
+	 *
+	 * @return <code>true</code> if the search is stopped early.
+	 */
+	@Pure
+	public boolean isEarlyTermination() {
+		return this.earlyTermination;
+	}
+
+	/** Set the maximal number of tasks that are run in parallel for computing a matrix.
+	 *
+	 * <p>By default, it is {@code 1}, i.e. the origins are treated sequentially
+	 * in the calling thread.
+	 *
+	 * @param parallelism1 is the number of tasks.
+	 * @return the old number of tasks.
+	 */
+	public int setParallelism(int parallelism1) {
+		final int old = this.parallelism;
+		this.parallelism = Math.max(1, parallelism1);
+		return old;
+	}
+
+	/** Replies the maximal number of tasks that are run in parallel for computing a matrix.
+	 *
+	 * @return the number of tasks.
+	 */
+	@Pure
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/** Set the executor of the parallel tasks.
+	 *
+	 * @param executor1 is the executor, or <code>null</code> for using the default executor.
+	 * @return the old executor.
+	 */
+	public Executor setExecutor(Executor executor1) {
+		final Executor old = this.executor;
+		this.executor = executor1;
+		return old;
+	}
+
+	/** Replies the executor of the parallel tasks.
+	 *
+	 * @return the executor.
+	 */
+	@Pure
+	public Executor getExecutor() {
+		if (this.executor == null) {
+			return ThreadServiceFinder.getProvider().getExecutorService();
+		}
+		return this.executor;
+	}
+
+	/** Compute the costs of the shortest paths from the given origin to the given targets.
+	 *
+	 * @param origin is the origin of the paths.
+	 * @param targets are the targets of the paths.
+	 * @return the costs to the targets, in the order of the targets.
+	 */
+	public double[] computeOneToMany(PT origin, List<? extends PT> targets) {
+		final double[] costs = new double[targets.size()];
+		computeOneToMany(origin, targets, costs, 0);
+		return costs;
+	}
+
+	/** Compute the costs of the shortest paths from the given origin to the given targets.
+	 *
+	 * @param origin is the origin of the paths.
+	 * @param targets are the targets of the paths.
+	 * @param costs is the array that is filled with the costs to the targets, in the order of the targets.
+	 * @param offset is the index in {@code costs} of the cost to the first target.
+	 */
+	public void computeOneToMany(PT origin, List<? extends PT> targets, double[] costs, int offset) {
+		final Arcs<ST, PT> arcs = ensureArcs();
+		final int[] targetIndexes = arcs.indexesOf(targets);
+		final Search search = borrowSearch(arcs);
+		try {
+			search.run(arcs, arcs.index.indexOf(origin), targetIndexes, costs, offset);
+		} finally {
+			this.searches.offer(search);
+		}
+	}
+
+	/** Compute the costs of the shortest paths from the given origins to the given targets.
+	 *
+	 * @param origins are the origins of the paths.
+	 * @param targets are the targets of the paths.
+	 * @return the matrix of the costs, row by row; the cost from the origin {@code i} to the
+	 *     target {@code j} is at index {@code i * targets.size() + j}.
+	 */
+	public double[] computeManyToMany(List<? extends PT> origins, List<? extends PT> targets) {
+		final double[] costs = new double[origins.size() * targets.size()];
+		computeManyToMany(origins, targets, costs);
+		return costs;
+	}
+
+	/** Compute the costs of the shortest paths from the given origins to the given targets.
+	 *
+	 * @param origins are the origins of the paths.
+	 * @param targets are the targets of the paths.
+	 * @param costs is the matrix that is filled with the costs, row by row; the cost from the origin {@code i} to the
+	 *     target {@code j} is at index {@code i * targets.size() + j}.
+	 * @throws IllegalArgumentException if the matrix is too small.
+	 */
+	public void computeManyToMany(List<? extends PT> origins, List<? extends PT> targets, double[] costs) {
+		final int rowCount = origins.size();
+		final int columnCount = targets.size();
+		if (costs.length < rowCount * columnCount) {
+			throw new IllegalArgumentException();
+		}
+		final Arcs<ST, PT> arcs = ensureArcs();
+		final int[] originIndexes = arcs.indexesOf(origins);
+		final int[] targetIndexes = arcs.indexesOf(targets);
+		final AtomicInteger nextRow = new AtomicInteger();
+		final int taskCount = Math.min(this.parallelism, rowCount);
+		if (taskCount <= 1) {
+			run(arcs, originIndexes, targetIndexes, costs, nextRow);
+		} else {
+			final CompletableFuture<?>[] tasks = new CompletableFuture<?>[taskCount];
+			final Executor exec = getExecutor();
+			for (int i = 0; i < taskCount; ++i) {
+				tasks[i] = CompletableFuture.runAsync(() -> run(arcs, originIndexes, targetIndexes, costs, nextRow), exec);
+			}
+			try {
+				CompletableFuture.allOf(tasks).join();
+			} catch (CompletionException exception) {
+				final Throwable cause = exception.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw exception;
+			}
+		}
+	}
+
+	/** Compute the rows of the matrix until all the rows are computed.
+	 *
+	 * @param arcs the arcs of the graph.
+	 * @param origins the indexes of the origins.
+	 * @param targets the indexes of the targets.
+	 * @param costs the matrix.
+	 * @param nextRow the index of the next row to compute.
+	 */
+	private void run(Arcs<ST, PT> arcs, int[] origins, int[] targets, double[] costs, AtomicInteger nextRow) {
+		final Search search = borrowSearch(arcs);
+		try {
+			int row = nextRow.getAndIncrement();
+			while (row < origins.length) {
+				search.run(arcs, origins[row], targets, costs, row * targets.length);
+				row = nextRow.getAndIncrement();
+			}
+		} catch (Throwable exception) {
+			// Stop the other tasks
+			nextRow.set(origins.length);
+			throw exception;
+		} finally {
+			this.searches.offer(search);
+		}
+	}
+
+	private Search borrowSearch(Arcs<ST, PT> arcs) {
+		Search search = this.searches.poll();
+		while (search != null && search.getCapacity() != arcs.getPointCount()) {
+			search = this.searches.poll();
+		}
+		if (search == null) {
+			search = new Search(arcs.getPointCount(), this.earlyTermination);
+		} else {
+			search.earlyTermination = this.earlyTermination;
+		}
+		return search;
+	}
+
+	private Arcs<ST, PT> ensureArcs() {
+		Arcs<ST, PT> arcs = this.arcs;
+		if (arcs == null) {
+			arcs = new Arcs<ST, PT>(this.graph, this.costComputer, this.segmentOrientation);
+			this.arcs = arcs;
+		}
+		return arcs;
+	}
+
+	/** Arcs of the graph, grouped by the points from which they are starting.
+	 *
+	 * @param <PT> is the type of node in the graph
+	 * @param <ST> is the type of edge in the graph
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private static final class Arcs<ST extends GraphSegment<ST, PT>, PT extends GraphPoint<PT, ST>> {
+
+		final GraphIndex<ST, PT> index;
+
+		final int[] offsets;
+
+		final int[] targets;
+
+		final double[] costs;
+
+		/**
+		 * @param graph the graph.
+		 * @param costComputer the tool for computing the costs, or <code>null</code>.
+		 * @param orientationTool the tool for retreiving the orientation of the segments, or <code>null</code>.
+		 */
+		Arcs(Graph<ST, PT> graph, AStarCostComputer<? super ST, ? super PT> costComputer,
+				AStarSegmentOrientation<ST, PT> orientationTool) {
+			this.index = new GraphIndex<>(graph);
+			final int pointCount = this.index.getPointCount();
+			final int segmentCount = this.index.getSegmentCount();
+			final int[] begins = new int[segmentCount * 2];
+			final int[] ends = new int[segmentCount * 2];
+			final double[] arcCosts = new double[segmentCount * 2];
+			this.offsets = new int[pointCount + 1];
+			int arcCount = 0;
+			for (int i = 0; i < segmentCount; ++i) {
+				final int begin = this.index.getBeginPointIndex(i);
+				final int end = this.index.getEndPointIndex(i);
+				if (begin != end) {
+					final ST segment = this.index.getSegment(i);
+					final double segmentCost = costComputer == null ? segment.getLength() : costComputer.computeCostFor(segment);
+					final PT beginPoint = this.index.getPoint(begin);
+					final PT endPoint = this.index.getPoint(end);
+					if (isTraversable(orientationTool, segment, beginPoint)) {
+						begins[arcCount] = begin;
+						ends[arcCount] = end;
+						arcCosts[arcCount] = cost(costComputer, beginPoint) + segmentCost;
+						++this.offsets[begin + 1];
+						++arcCount;
+					}
+					if (isTraversable(orientationTool, segment, endPoint)) {
+						begins[arcCount] = end;
+						ends[arcCount] = begin;
+						arcCosts[arcCount] = cost(costComputer, endPoint) + segmentCost;
+						++this.offsets[end + 1];
+						++arcCount;
+					}
+				}
+			}
+			for (int i = 0; i < pointCount; ++i) {
+				this.offsets[i + 1] += this.offsets[i];
+			}
+			this.targets = new int[arcCount];
+			this.costs = new double[arcCount];
+			final int[] positions = Arrays.copyOf(this.offsets, pointCount);
+			for (int i = 0; i < arcCount; ++i) {
+				final int position = positions[begins[i]]++;
+				this.targets[position] = ends[i];
+				this.costs[position] = arcCosts[i];
+			}
+		}
+
+		private static <PT> double cost(AStarCostComputer<?, ? super PT> costComputer, PT point) {
+			return costComputer == null ? 0 : costComputer.computeCostFor(point);
+		}
+
+		private static <ST extends GraphSegment<ST, PT>, PT extends GraphPoint<PT, ST>> boolean isTraversable(
+				AStarSegmentOrientation<ST, PT> orientationTool, ST segment, PT point) {
+			if (orientationTool == null) {
+				return true;
+			}
+			for (final GraphPointConnection<PT, ST> connection : point.getConnections()) {
+				if (segment.equals(connection.getGraphSegment())) {
+					return orientationTool.isTraversable(null, connection);
+				}
+			}
+			return false;
+		}
+
+		/** Replies the number of points.
+		 *
+		 * @return the number of points.
+		 */
+		@Pure
+		int getPointCount() {
+			return this.offsets.length - 1;
+		}
+
+		/** Replies the indexes of the given points.
+		 *
+		 * @param points the points.
+		 * @return the indexes, or <code>-1</code> for the points that are not in the graph.
+		 */
+		@Pure
+		int[] indexesOf(List<? extends PT> points) {
+			final int[] indexes = new int[points.size()];
+			int i = 0;
+			for (final PT point : points) {
+				indexes[i] = this.index.indexOf(point);
+				++i;
+			}
+			return indexes;
+		}
+
+	}
+
+	/** State of a one-to-many search that is reused from one origin to another.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private static final class Search {
+
+		final PointIndexHeap heap;
+
+		final double[] distances;
+
+		final int[] visits;
+
+		final int[] targetMarks;
+
+		boolean earlyTermination;
+
+		private int stamp;
+
+		/**
+		 * @param capacity the number of points.
+		 * @param earlyTermination indicates if the search stops when the targets are reached.
+		 */
+		Search(int capacity, boolean earlyTermination) {
+			this.heap = new PointIndexHeap(capacity);
+			this.distances = new double[capacity];
+			this.visits = new int[capacity];
+			this.targetMarks = new int[capacity];
+			this.earlyTermination = earlyTermination;
+		}
+
+		/** Replies the number of points.
+		 *
+		 * @return the number of points.
+		 */
+		@Pure
+		int getCapacity() {
+			return this.distances.length;
+		}
+
+		private int nextStamp() {
+			++this.stamp;
+			if (this.stamp == Integer.MAX_VALUE) {
+				Arrays.fill(this.visits, 0);
+				Arrays.fill(this.targetMarks, 0);
+				this.stamp = 1;
+			}
+			return this.stamp;
+		}
+
+		/** Compute the costs from the given origin.
+		 *
+		 * @param arcs the arcs of the graph.
+		 * @param origin the index of the origin.
+		 * @param targets the indexes of the targets.
+		 * @param costs the array to fill.
+		 * @param offset the index of the cost to the first target.
+		 */
+		@SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:npathcomplexity"})
+		void run(Arcs<?, ?> arcs, int origin, int[] targets, double[] costs, int offset) {
+			if (origin < 0) {
+				Arrays.fill(costs, offset, offset + targets.length, Double.POSITIVE_INFINITY);
+				return;
+			}
+			final int currentStamp = nextStamp();
+			// Count the distinct targets that are not yet settled
+			int remainingTargets = 0;
+			for (final int target : targets) {
+				if (target >= 0 && this.targetMarks[target] != currentStamp) {
+					this.targetMarks[target] = currentStamp;
+					++remainingTargets;
+				}
+			}
+			final PointIndexHeap heap = this.heap;
+			heap.clear();
+			this.visits[origin] = currentStamp;
+			this.distances[origin] = 0.;
+			heap.offer(origin, 0.);
+			while (!heap.isEmpty() && (remainingTargets > 0 || !this.earlyTermination)) {
+				final double distance = heap.peekKey();
+				final int point = heap.poll();
+				if (this.targetMarks[point] == currentStamp) {
+					--remainingTargets;
+				}
+				for (int i = arcs.offsets[point]; i < arcs.offsets[point + 1]; ++i) {
+					final int next = arcs.targets[i];
+					final double candidate = distance + arcs.costs[i];
+					if (this.visits[next] != currentStamp) {
+						this.visits[next] = currentStamp;
+						this.distances[next] = candidate;
+						heap.offer(next, candidate);
+					} else if (candidate < this.distances[next] && heap.contains(next)) {
+						this.distances[next] = candidate;
+						heap.offer(next, candidate);
+					}
+				}
+			}
+			for (int i = 0; i < targets.length; ++i) {
+				final int target = targets[i];
+				costs[offset + i] = target >= 0 && this.visits[target] == currentStamp && !heap.contains(target)
+						? this.distances[target] : Double.POSITIVE_INFINITY;
+			}
+		}
+
+	}
+
+}
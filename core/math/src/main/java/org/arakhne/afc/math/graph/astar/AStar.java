@@ -66,6 +66,8 @@ public class AStar<GP extends GraphPath<GP, ST, PT>, ST extends GraphSegment<ST,
 
 	private boolean enableClosedNodeReopening = true;
 
+	private AStarListType listType = AStarListType.SORTED_LIST;
+
 	/**
 	 * @param heuristic is the heuristic to use by the A* algorithm.
 	 * @param pathFactory1 is the factory to create new paths.
@@ -175,6 +177,29 @@ public class AStar<GP extends GraphPath<GP, ST, PT>, ST extends GraphSegment<ST,
 		return this.enableClosedNodeReopening;
 	}
 
+	/** Change the type of the data structures that are used for storing
+	 * the open and close lists of the A* algorithm.
+	 *
+	 * @param type is the type of the lists. If <code>null</code>, the
+	 *     {@link AStarListType#SORTED_LIST default type} is used.
+	 * @return the old type.
+	 */
+	public AStarListType setListType(AStarListType type) {
+		final AStarListType old = this.listType;
+		this.listType = type == null ? AStarListType.SORTED_LIST : type;
+		return old;
+	}
+
+	/** Replies the type of the data structures that are used for storing
+	 * the open and close lists of the A* algorithm.
+	 *
+	 * @return the type of the lists.
+	 */
+	@Pure
+	public AStarListType getListType() {
+		return this.listType;
+	}
+
 	/** Set the path factory used by the A* algorithm.
 	 *
 	 * @param factory is the new factory.
@@ -446,6 +471,35 @@ public class AStar<GP extends GraphPath<GP, ST, PT>, ST extends GraphSegment<ST,
 		return createPath(startPoint, endPoint, closeList);
 	}
 
+	/** Run the A* algorithm with the given search context, assuming that the graph is oriented if
+	 * an orientation tool was passed to the constructor.
+	 *
+	 * <p>The state of the search is stored in the primitive arrays of the context, that are
+	 * reused from one search to another. No {@link AStarNode A* node} is created.
+	 * Consequently, the {@link AStarListener listeners} are not notified, and the functions
+	 * {@link #newAStarNode(GraphPoint, double, double, GraphSegment)} and
+	 * {@link #translateCandidate(GraphPoint, AStarNode)} are not invoked.
+	 * The {@link #setListType(AStarListType) type of the lists} is ignored.
+	 *
+	 * @param startPoint is the starting point.
+	 * @param endPoint is the point to reach.
+	 * @param context is the search context that was created for the explored graph.
+	 * @return the found path, or <code>null</code> if none found.
+	 * @see AStarSearchContext
+	 */
+	public final GP solve(PT startPoint, PT endPoint, AStarSearchContext<ST, PT> context) {
+		assert context != null;
+		final int start = context.indexOf(startPoint);
+		final int end = context.indexOf(endPoint);
+		if (start < 0 || end < 0 || start == end) {
+			return null;
+		}
+		if (!findPath(context, start, end, estimate(startPoint, endPoint))) {
+			return null;
+		}
+		return createPath(context, startPoint, start, end);
+	}
+
 	/** Create a instance of {@link AStarNode A* node}.
 	 *
 	 * @param node is the node of the graph to put in the A* node.
@@ -489,10 +543,91 @@ public class AStar<GP extends GraphPath<GP, ST, PT>, ST extends GraphSegment<ST,
 	 * @param startPoint is the starting point.
 	 * @param endPoint is the point to reach.
 	 * @return the close list of the A* algorithm.
+	 * @see #setListType(AStarListType)
 	 */
 	@Pure
-	@SuppressWarnings("checkstyle:nestedifdepth")
 	List<AStarNode<ST, PT>> findPath(AStarNode<ST, PT> startPoint, PT endPoint) {
+		if (getListType() == AStarListType.INDEXED_HEAP) {
+			return findPathWithIndexedHeap(startPoint, endPoint);
+		}
+		return findPathWithSortedLists(startPoint, endPoint);
+	}
+
+	/** Run the A* algorithm with the given search context.
+	 *
+	 * @param context is the search context.
+	 * @param start is the index of the starting point.
+	 * @param end is the index of the point to reach.
+	 * @param startEstimate is the estimated cost from the starting point to the point to reach.
+	 * @return <code>true</code> if the point to reach was reached.
+	 */
+	@SuppressWarnings("checkstyle:nestedifdepth")
+	private boolean findPath(AStarSearchContext<ST, PT> context, int start, int end, double startEstimate) {
+		final int search = context.startSearch();
+		final PointIndexHeap openList = context.openList;
+		final double[] costs = context.costs;
+		final double[] estimates = context.estimates;
+		final int[] arrivals = context.arrivals;
+		final int[] visits = context.visits;
+		final boolean[] closed = context.closed;
+		final int[] offsets = context.connectionOffsets;
+		final AStarSegmentOrientation<ST, PT> orientation = getSegmentOrientationTool();
+		final boolean reopening = isClosedNodeReopeningEnabled();
+		final PT endPoint = context.getPoint(end);
+
+		visits[start] = search;
+		closed[start] = false;
+		costs[start] = 0;
+		estimates[start] = startEstimate;
+		arrivals[start] = -1;
+		openList.offer(start, startEstimate);
+
+		while (!openList.isEmpty()) {
+			final int point = openList.poll();
+			closed[point] = true;
+			if (point == end) {
+				return true;
+			}
+			final double pointCost = costs[point] + computeCostFor(context.getPoint(point));
+			final ST entry = arrivals[point] < 0 ? null : context.getSegment(arrivals[point]);
+			// Update the nodes that are reachable from the current point.
+			for (int i = offsets[point]; i < offsets[point + 1]; ++i) {
+				if (orientation == null || orientation.isTraversable(entry, context.getConnection(i))) {
+					final int next = context.connectionPoints[i];
+					final int segment = context.connectionSegments[i];
+					final double gCost = pointCost + computeCostFor(context.getSegment(segment));
+					if (visits[next] != search) {
+						// Node was neither treated nor seen, add it
+						visits[next] = search;
+						closed[next] = false;
+						costs[next] = gCost;
+						estimates[next] = estimate(context.getPoint(next), endPoint);
+						arrivals[next] = segment;
+						openList.offer(next, gCost + estimates[next]);
+					} else if (gCost < costs[next] && (reopening || !closed[next])) {
+						// Reopen the node, or decrease its key in the open list
+						closed[next] = false;
+						costs[next] = gCost;
+						arrivals[next] = segment;
+						openList.offer(next, gCost + estimates[next]);
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/** Run the A* algorithm with sorted lists, and tries to find a path from
+	 *  the startPoint to the endPoint.
+	 *
+	 * @param startPoint is the starting point.
+	 * @param endPoint is the point to reach.
+	 * @return the close list of the A* algorithm.
+	 * @see AStarListType#SORTED_LIST
+	 */
+	@Pure
+	@SuppressWarnings("checkstyle:nestedifdepth")
+	private List<AStarNode<ST, PT>> findPathWithSortedLists(AStarNode<ST, PT> startPoint, PT endPoint) {
 		final CloseComparator<ST, PT> cComparator = new CloseComparator<>();
 		final OpenComparator<ST, PT> oComparatorWithoutRef = new OpenComparator<>();
 		final List<AStarNode<ST, PT>> openList = new ArrayList<>();
@@ -598,6 +733,127 @@ public class AStar<GP extends GraphPath<GP, ST, PT>, ST extends GraphSegment<ST,
 		return closeList;
 	}
 
+	/** Run the A* algorithm with an indexed binary heap, and tries to find a path from
+	 *  the startPoint to the endPoint.
+	 *
+	 * <p>If the reopening of the closed nodes is disabled, the closed nodes are ignored
+	 * when they are reached again.
+	 *
+	 * @param startPoint is the starting point.
+	 * @param endPoint is the point to reach.
+	 * @return the close list of the A* algorithm.
+	 * @see AStarListType#INDEXED_HEAP
+	 */
+	@Pure
+	@SuppressWarnings("checkstyle:nestedifdepth")
+	private List<AStarNode<ST, PT>> findPathWithIndexedHeap(AStarNode<ST, PT> startPoint, PT endPoint) {
+		final AStarOpenHeap<ST, PT> openList = new AStarOpenHeap<>(new OpenComparator<ST, PT>());
+		final AStarCloseSet<ST, PT> closeList = new AStarCloseSet<>();
+
+		openList.offer(startPoint);
+		fireNodeOpened(startPoint, openList);
+
+		int idx;
+		AStarNode<ST, PT> candidate;
+		AStarNode<ST, PT> ocandidate;
+		AStarNode<ST, PT> reachedCandidate;
+		PT reachableNode;
+		PT node;
+		double gCost;
+		double h1;
+		boolean foundTarget = false;
+
+		while (!foundTarget && !openList.isEmpty()) {
+
+			ocandidate = openList.poll();
+			fireNodeConsumed(ocandidate, openList);
+
+			candidate = translateCandidate(endPoint, ocandidate);
+			foundTarget = candidate == null;
+
+			if (!foundTarget) {
+				assert candidate != null;
+				node = candidate.getGraphPoint();
+				// Update the nodes that are reachable from the current candidate.
+				for (final ST segment : candidate.getGraphSegments()) {
+					reachableNode = segment.getOtherSidePoint(node);
+					if (reachableNode != null && !reachableNode.equals(node)) {
+						idx = closeList.indexOf(reachableNode);
+						if (idx >= 0) {
+							// Reopen node if better cost
+							if (isClosedNodeReopeningEnabled()) {
+								gCost = candidate.getCost()
+										+ computeCostFor(node)
+										+ computeCostFor(segment);
+								reachedCandidate = closeList.get(idx);
+								if (gCost < reachedCandidate.getCost()) {
+									closeList.remove(idx);
+									final AStarNode<ST, PT> nn = node(
+											reachableNode,
+											gCost,
+											estimate(reachableNode, endPoint),
+											segment);
+									openList.offer(nn);
+									fireNodeOpened(nn, openList);
+								}
+							}
+						} else {
+							gCost = candidate.getCost()
+									+ computeCostFor(node)
+									+ computeCostFor(segment);
+							h1 = estimate(reachableNode, endPoint);
+							idx = openList.indexOf(reachableNode);
+							if (idx >= 0) {
+								// Decrease the key in the open list if better cost
+								reachedCandidate = openList.get(idx);
+								if ((gCost + h1) < reachedCandidate.getPathCost()) {
+									final AStarNode<ST, PT> nn = node(
+											reachableNode,
+											gCost,
+											h1,
+											segment);
+									openList.update(idx, nn);
+									fireNodeReopened(nn, openList);
+								}
+							} else {
+								// Node was neither treated nor seen, add it
+								final AStarNode<ST, PT> nn = node(
+										reachableNode,
+										gCost,
+										h1,
+										segment);
+								openList.offer(nn);
+								fireNodeOpened(nn, openList);
+							}
+						}
+					}
+				}
+			}
+
+			// Refresh the close list
+			closeList.put(ocandidate);
+			fireNodeClosed(ocandidate, closeList);
+		}
+
+		return closeList;
+	}
+
+	/** Replies the index of the given node in the close list.
+	 *
+	 * @param closeList the close list.
+	 * @param comparator the comparator of the nodes in the close list.
+	 * @param node the node to search for.
+	 * @return the index of the node in the close list, or <code>-1</code> if not found.
+	 */
+	@Pure
+	private int indexOfClosedNode(List<AStarNode<ST, PT>> closeList, CloseComparator<ST, PT> comparator,
+			AStarNode<ST, PT> node) {
+		if ((Object) closeList instanceof AStarCloseSet<?, ?>) {
+			return closeList.indexOf(node);
+		}
+		return ListUtil.indexOf(closeList, comparator, node);
+	}
+
 	/** Create the path from the given close list.
 	 *
 	 * @param startPoint is the starting point.
@@ -615,7 +871,7 @@ public class AStar<GP extends GraphPath<GP, ST, PT>, ST extends GraphSegment<ST,
 		final CloseComparator<ST, PT> cComparator = new CloseComparator<>();
 
 		node = newAStarNode(endPoint, Double.NaN, Double.NaN, null);
-		idx = ListUtil.indexOf(closeList, cComparator, node);
+		idx = indexOfClosedNode(closeList, cComparator, node);
 
 		if (idx >= 0) {
 			node = closeList.remove(idx);
@@ -627,7 +883,7 @@ public class AStar<GP extends GraphPath<GP, ST, PT>, ST extends GraphSegment<ST,
 				do {
 					point = segment.getOtherSidePoint(point);
 					node = newAStarNode(point, Double.NaN, Double.NaN, null);
-					idx = ListUtil.indexOf(closeList, cComparator, node);
+					idx = indexOfClosedNode(closeList, cComparator, node);
 					if (idx >= 0) {
 						node = closeList.remove(idx);
 						segment = node.getArrivalConnection();
@@ -663,6 +919,39 @@ public class AStar<GP extends GraphPath<GP, ST, PT>, ST extends GraphSegment<ST,
 		return path;
 	}
 
+	/** Create the path from the arrival segments that are stored in the given search context.
+	 *
+	 * @param context is the search context.
+	 * @param startPoint is the starting point.
+	 * @param start is the index of the starting point.
+	 * @param end is the index of the ending point.
+	 * @return the path, or <code>null</code> if no path found.
+	 */
+	private GP createPath(AStarSearchContext<ST, PT> context, PT startPoint, int start, int end) {
+		final int[] segments = context.pathBuffer;
+		int size = 0;
+		int point = end;
+		while (point != start && context.arrivals[point] >= 0 && size < segments.length) {
+			segments[size] = context.arrivals[point];
+			point = context.getOtherSidePoint(segments[size], point);
+			++size;
+		}
+		if (size == 0 || point != start) {
+			return null;
+		}
+		--size;
+		final ST first = context.getSegment(segments[size]);
+		if (!startPoint.isConnectedSegment(first)) {
+			return null;
+		}
+		final GP path = newPath(startPoint, first);
+		while (size > 0) {
+			--size;
+			addToPath(path, context.getSegment(segments[size]));
+		}
+		return path;
+	}
+
 	/** Invoked to replace a segment before adding it to the shortest path.
 	 *
 	 * <p>* By default, this function invoked the {@link AStarSegmentReplacer}
@@ -998,7 +1287,8 @@ public class AStar<GP extends GraphPath<GP, ST, PT>, ST extends GraphSegment<ST,
 
 	}
 
-	/**
+	/** Path factory that is creating the paths by reflection.
+	 *
 	 * @param <GP> is the type of the graph graph itself.
 	 * @param <PT> is the type of node in the graph
 	 * @param <ST> is the type of edge in the graph
@@ -1008,7 +1298,7 @@ public class AStar<GP extends GraphPath<GP, ST, PT>, ST extends GraphSegment<ST,
 	 * @mavenartifactid $ArtifactId$
 	 * @since 13.0
 	 */
-	private static class AStarReflectionPathFactory<GP extends GraphPath<GP, ST, PT>, ST extends GraphSegment<ST, PT>,
+	static class AStarReflectionPathFactory<GP extends GraphPath<GP, ST, PT>, ST extends GraphSegment<ST, PT>,
 			PT extends GraphPoint<PT, ST>> implements AStarPathFactory<GP, ST, PT> {
 
 		private final Class<? extends GP> type;
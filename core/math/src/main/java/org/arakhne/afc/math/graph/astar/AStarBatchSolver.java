@@ -0,0 +1,234 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.graph.GraphPath;
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphSegment;
+import org.arakhne.afc.vmutil.ThreadServiceFinder;
+
+/** This class solves batches of path queries in parallel with the A* algorithm.
+ *
+ * <p>Because an {@link AStar} instance is configured by mutable attributes, each task of
+ * a batch borrows its own instance from a pool. The instances are created by the factory that
+ * is given to the constructor, and they are reused by the following batches.
+ *
+ * <p>The tasks are run on an {@link Executor}. By default, it is the executor service of the
+ * {@link ThreadServiceFinder thread service provider}. Any other executor could be used,
+ * e.g. a fork-join pool or an executor of virtual threads when they are provided by the
+ * virtual machine. The queries are dispatched dynamically to the tasks, so that the
+ * load is balanced when the queries have different costs.
+ *
+ * <p>The graph must not be changed during a batch. The graph points must not
+ * implement {@link AStarNode}, because the A* algorithm is storing its search state inside
+ * such points.
+ *
+ * @param <GP> is the type of the graph graph itself.
+ * @param <PT> is the type of node in the graph
+ * @param <ST> is the type of edge in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ * @see AStar
+ */
+public class AStarBatchSolver<GP extends GraphPath<GP, ST, PT>, ST extends GraphSegment<ST, PT>,
+		PT extends GraphPoint<PT, ST>> {
+
+	private final Supplier<? extends AStar<GP, ST, PT>> factory;
+
+	private final Queue<AStar<GP, ST, PT>> pool = new ConcurrentLinkedQueue<>();
+
+	private Executor executor;
+
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * @param factory1 is the factory of the A* algorithms that are solving the queries.
+	 */
+	public AStarBatchSolver(Supplier<? extends AStar<GP, ST, PT>> factory1) {
+		this(factory1, null);
+	}
+
+	/**
+	 * @param factory1 is the factory of the A* algorithms that are solving the queries.
+	 * @param executor1 is the executor of the tasks, or <code>null</code> for using the default executor.
+	 */
+	public AStarBatchSolver(Supplier<? extends AStar<GP, ST, PT>> factory1, Executor executor1) {
+		assert factory1 != null;
+		this.factory = factory1;
+		this.executor = executor1;
+	}
+
+	/** Set the executor of the tasks.
+	 *
+	 * @param executor1 is the executor, or <code>null</code> for using the default executor.
+	 * @return the old executor.
+	 */
+	public Executor setExecutor(Executor executor1) {
+		final Executor old = this.executor;
+		this.executor = executor1;
+		return old;
+	}
+
+	/** Replies the executor of the tasks.
+	 *
+	 * @return the executor.
+	 */
+	@Pure
+	public Executor getExecutor() {
+		if (this.executor == null) {
+			return ThreadServiceFinder.getProvider().getExecutorService();
+		}
+		return this.executor;
+	}
+
+	/** Set the maximal number of tasks that are run in parallel for a batch.
+	 *
+	 * <p>By default, it is the number of available processors.
+	 *
+	 * @param parallelism1 is the number of tasks.
+	 * @return the old number of tasks.
+	 */
+	public int setParallelism(int parallelism1) {
+		final int old = this.parallelism;
+		this.parallelism = Math.max(1, parallelism1);
+		return old;
+	}
+
+	/** Replies the maximal number of tasks that are run in parallel for a batch.
+	 *
+	 * @return the number of tasks.
+	 */
+	@Pure
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/** Replies the number of A* algorithms that are available in the pool.
+	 *
+	 * @return the number of algorithms.
+	 */
+	@Pure
+	public int getPoolSize() {
+		return this.pool.size();
+	}
+
+	/** Solve the given queries.
+	 *
+	 * @param queries are the pairs of starting point and point to reach.
+	 * @return the found paths in the order of the queries. A path is <code>null</code>
+	 *     if no path was found for the corresponding query.
+	 */
+	public List<GP> solve(Collection<? extends Entry<? extends PT, ? extends PT>> queries) {
+		final List<PT> startPoints = new ArrayList<>(queries.size());
+		final List<PT> endPoints = new ArrayList<>(queries.size());
+		for (final Entry<? extends PT, ? extends PT> query : queries) {
+			startPoints.add(query.getKey());
+			endPoints.add(query.getValue());
+		}
+		return solve(startPoints, endPoints);
+	}
+
+	/** Solve the given queries.
+	 *
+	 * @param startPoints are the starting points.
+	 * @param endPoints are the points to reach, in the same order as the starting points.
+	 * @return the found paths in the order of the queries. A path is <code>null</code>
+	 *     if no path was found for the corresponding query.
+	 * @throws IllegalArgumentException if the two lists have not the same size.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<GP> solve(List<? extends PT> startPoints, List<? extends PT> endPoints) {
+		if (startPoints.size() != endPoints.size()) {
+			throw new IllegalArgumentException();
+		}
+		final int count = startPoints.size();
+		final Object[] paths = new Object[count];
+		final int taskCount = Math.min(this.parallelism, count);
+		if (taskCount > 0) {
+			final AtomicInteger nextQuery = new AtomicInteger();
+			final CompletableFuture<?>[] tasks = new CompletableFuture<?>[taskCount];
+			final Executor exec = getExecutor();
+			for (int i = 0; i < taskCount; ++i) {
+				tasks[i] = CompletableFuture.runAsync(() -> run(startPoints, endPoints, paths, nextQuery), exec);
+			}
+			try {
+				CompletableFuture.allOf(tasks).join();
+			} catch (CompletionException exception) {
+				final Throwable cause = exception.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw exception;
+			}
+		}
+		return (List<GP>) (List<?>) Arrays.asList(paths);
+	}
+
+	/** Solve queries until all the queries of the batch are solved.
+	 *
+	 * @param startPoints are the starting points.
+	 * @param endPoints are the points to reach.
+	 * @param paths are the found paths.
+	 * @param nextQuery is the index of the next query to solve.
+	 */
+	private void run(List<? extends PT> startPoints, List<? extends PT> endPoints, Object[] paths,
+			AtomicInteger nextQuery) {
+		AStar<GP, ST, PT> astar = this.pool.poll();
+		if (astar == null) {
+			astar = this.factory.get();
+		}
+		try {
+			int query = nextQuery.getAndIncrement();
+			while (query < paths.length) {
+				paths[query] = astar.solve(startPoints.get(query), endPoints.get(query));
+				query = nextQuery.getAndIncrement();
+			}
+		} catch (Throwable exception) {
+			// Stop the other tasks
+			nextQuery.set(paths.length);
+			throw exception;
+		} finally {
+			this.pool.offer(astar);
+		}
+	}
+
+}
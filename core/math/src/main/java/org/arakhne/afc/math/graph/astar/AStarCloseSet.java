@@ -0,0 +1,152 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphSegment;
+
+/** Close list of the A* algorithm that is hashed on the graph points.
+ *
+ * <p>Searching, adding and removing a node have a constant cost.
+ * The removal of an element moves the last element of the list
+ * at the position of the removed element. Consequently, this list
+ * is not sorted.
+ *
+ * @param <ST> is the type of edge in the graph
+ * @param <PT> is the type of node in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ * @see AStarListType#INDEXED_HEAP
+ */
+final class AStarCloseSet<ST extends GraphSegment<ST, PT>, PT extends GraphPoint<PT, ST>>
+		extends AbstractList<AStarNode<ST, PT>> implements RandomAccess {
+
+	private final List<AStarNode<ST, PT>> nodes = new ArrayList<>();
+
+	private final Map<PT, Integer> positions = new HashMap<>();
+
+	/** Construct an empty set.
+	 */
+	AStarCloseSet() {
+		//
+	}
+
+	@Pure
+	@Override
+	public AStarNode<ST, PT> get(int index) {
+		return this.nodes.get(index);
+	}
+
+	@Pure
+	@Override
+	public int size() {
+		return this.nodes.size();
+	}
+
+	@Pure
+	@Override
+	public int indexOf(Object obj) {
+		final Integer index;
+		if (obj instanceof AStarNode<?, ?>) {
+			index = this.positions.get(((AStarNode<?, ?>) obj).getGraphPoint());
+		} else if (obj instanceof GraphPoint<?, ?>) {
+			index = this.positions.get(obj);
+		} else {
+			index = null;
+		}
+		return index == null ? -1 : index.intValue();
+	}
+
+	@Pure
+	@Override
+	public int lastIndexOf(Object obj) {
+		return indexOf(obj);
+	}
+
+	@Pure
+	@Override
+	public boolean contains(Object obj) {
+		return indexOf(obj) >= 0;
+	}
+
+	@Override
+	public void clear() {
+		this.nodes.clear();
+		this.positions.clear();
+		++this.modCount;
+	}
+
+	/** Add the given node in the set. If a node with the same graph
+	 * point is already inside the set, it is replaced.
+	 *
+	 * @param node the node to add.
+	 */
+	void put(AStarNode<ST, PT> node) {
+		assert node != null;
+		final PT point = node.getGraphPoint();
+		final Integer index = this.positions.get(point);
+		if (index != null) {
+			this.nodes.set(index.intValue(), node);
+		} else {
+			this.positions.put(point, Integer.valueOf(this.nodes.size()));
+			this.nodes.add(node);
+		}
+		++this.modCount;
+	}
+
+	/** Remove the node at the given position.
+	 * The last node of the list is moved at the given position.
+	 *
+	 * @param index the position of the node to remove.
+	 * @return the removed node.
+	 */
+	@Override
+	public AStarNode<ST, PT> remove(int index) {
+		final int last = this.nodes.size() - 1;
+		if (index < 0 || index > last) {
+			throw new IndexOutOfBoundsException();
+		}
+		final AStarNode<ST, PT> lastNode = this.nodes.remove(last);
+		final AStarNode<ST, PT> removed;
+		if (index != last) {
+			removed = this.nodes.set(index, lastNode);
+			this.positions.put(lastNode.getGraphPoint(), Integer.valueOf(index));
+		} else {
+			removed = lastNode;
+		}
+		this.positions.remove(removed.getGraphPoint());
+		++this.modCount;
+		return removed;
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+/** Type of the data structures that are used by the {@link AStar A* algorithm}
+ * for storing the open and the close lists.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ * @see AStar#setListType(AStarListType)
+ */
+public enum AStarListType {
+
+	/** The open and close lists are array lists that are kept sorted.
+	 * Each insertion or search into the lists has a linear cost.
+	 * The lists that are given to the {@link AStarListener listeners} are sorted:
+	 * the open list by path cost, and the close list by graph point.
+	 */
+	SORTED_LIST,
+
+	/** The open list is an indexed binary heap that supports the decrease-key operation,
+	 * and the close list is hashed on the graph points.
+	 * Each insertion into the open list has a logarithmic cost, and each search into
+	 * one of the lists has a constant cost.
+	 *
+	 * <p>The graph points must provide {@link Object#equals(Object)} and {@link Object#hashCode()}
+	 * functions that are consistent with their {@link Comparable#compareTo(Object)} function.
+	 *
+	 * <p>The open list that is given to the {@link AStarListener listeners} is in heap order,
+	 * i.e. only its first element is the node with the lowest path cost.
+	 * The close list that is given to the listeners is not sorted.
+	 */
+	INDEXED_HEAP;
+
+}
@@ -0,0 +1,230 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphSegment;
+
+/** Open list of the A* algorithm that is implemented with an indexed binary heap.
+ *
+ * <p>The position of each node in the heap is indexed by its graph point. In this way,
+ * searching a node has a constant cost, and the decrease of the cost of a node has
+ * a logarithmic cost.
+ *
+ * <p>This list is a read-only view on the heap: the elements are not sorted, except
+ * the first one that is the node with the lowest cost.
+ *
+ * @param <ST> is the type of edge in the graph
+ * @param <PT> is the type of node in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ * @see AStarListType#INDEXED_HEAP
+ */
+final class AStarOpenHeap<ST extends GraphSegment<ST, PT>, PT extends GraphPoint<PT, ST>>
+		extends AbstractList<AStarNode<ST, PT>> implements RandomAccess {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private final Comparator<? super AStarNode<ST, PT>> comparator;
+
+	private final Map<PT, Integer> positions = new HashMap<>();
+
+	private Object[] heap = new Object[DEFAULT_CAPACITY];
+
+	private int size;
+
+	/** Construct an empty heap.
+	 *
+	 * @param comparator the comparator of the nodes.
+	 */
+	AStarOpenHeap(Comparator<? super AStarNode<ST, PT>> comparator) {
+		assert comparator != null;
+		this.comparator = comparator;
+	}
+
+	@Pure
+	@Override
+	public AStarNode<ST, PT> get(int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException();
+		}
+		return elementAt(index);
+	}
+
+	@Pure
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Pure
+	@Override
+	public int indexOf(Object obj) {
+		final Integer index;
+		if (obj instanceof AStarNode<?, ?>) {
+			index = this.positions.get(((AStarNode<?, ?>) obj).getGraphPoint());
+		} else if (obj instanceof GraphPoint<?, ?>) {
+			index = this.positions.get(obj);
+		} else {
+			index = null;
+		}
+		return index == null ? -1 : index.intValue();
+	}
+
+	@Pure
+	@Override
+	public int lastIndexOf(Object obj) {
+		return indexOf(obj);
+	}
+
+	@Pure
+	@Override
+	public boolean contains(Object obj) {
+		return indexOf(obj) >= 0;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(this.heap, 0, this.size, null);
+		this.positions.clear();
+		this.size = 0;
+	}
+
+	/** Add the given node in the heap.
+	 * The graph point of the node must not be already inside the heap.
+	 *
+	 * @param node the node to add.
+	 */
+	void offer(AStarNode<ST, PT> node) {
+		assert node != null;
+		assert !this.positions.containsKey(node.getGraphPoint());
+		if (this.size >= this.heap.length) {
+			this.heap = Arrays.copyOf(this.heap, this.heap.length * 2);
+		}
+		final int index = this.size;
+		++this.size;
+		siftUp(index, node);
+		++this.modCount;
+	}
+
+	/** Remove and reply the node with the lowest cost.
+	 *
+	 * @return the node with the lowest cost.
+	 * @throws NoSuchElementException if the heap is empty.
+	 */
+	AStarNode<ST, PT> poll() {
+		if (this.size == 0) {
+			throw new NoSuchElementException();
+		}
+		final AStarNode<ST, PT> first = elementAt(0);
+		this.positions.remove(first.getGraphPoint());
+		--this.size;
+		final AStarNode<ST, PT> last = elementAt(this.size);
+		this.heap[this.size] = null;
+		if (this.size > 0) {
+			siftDown(0, last);
+		}
+		++this.modCount;
+		return first;
+	}
+
+	/** Replace the node at the given index by the given node, and
+	 * restore the heap property.
+	 *
+	 * <p>This function is used for the decrease-key operation: the given node
+	 * must have the same graph point as the replaced node.
+	 *
+	 * @param index the index of the node to replace.
+	 * @param node the new node.
+	 */
+	void update(int index, AStarNode<ST, PT> node) {
+		assert node != null;
+		assert index >= 0 && index < this.size;
+		assert elementAt(index).getGraphPoint().equals(node.getGraphPoint());
+		if (index > 0 && this.comparator.compare(node, elementAt((index - 1) >>> 1)) < 0) {
+			siftUp(index, node);
+		} else {
+			siftDown(index, node);
+		}
+		++this.modCount;
+	}
+
+	@SuppressWarnings("unchecked")
+	private AStarNode<ST, PT> elementAt(int index) {
+		return (AStarNode<ST, PT>) this.heap[index];
+	}
+
+	private void place(int index, AStarNode<ST, PT> node) {
+		this.heap[index] = node;
+		this.positions.put(node.getGraphPoint(), Integer.valueOf(index));
+	}
+
+	private void siftUp(int index, AStarNode<ST, PT> node) {
+		int current = index;
+		while (current > 0) {
+			final int parent = (current - 1) >>> 1;
+			final AStarNode<ST, PT> parentNode = elementAt(parent);
+			if (this.comparator.compare(node, parentNode) >= 0) {
+				break;
+			}
+			place(current, parentNode);
+			current = parent;
+		}
+		place(current, node);
+	}
+
+	private void siftDown(int index, AStarNode<ST, PT> node) {
+		int current = index;
+		final int half = this.size >>> 1;
+		while (current < half) {
+			int child = (current << 1) + 1;
+			AStarNode<ST, PT> childNode = elementAt(child);
+			final int right = child + 1;
+			if (right < this.size) {
+				final AStarNode<ST, PT> rightNode = elementAt(right);
+				if (this.comparator.compare(rightNode, childNode) < 0) {
+					child = right;
+					childNode = rightNode;
+				}
+			}
+			if (this.comparator.compare(node, childNode) <= 0) {
+				break;
+			}
+			place(current, childNode);
+			current = child;
+		}
+		place(current, node);
+	}
+
+}
@@ -0,0 +1,241 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.graph.Graph;
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphPoint.GraphPointConnection;
+import org.arakhne.afc.math.graph.GraphSegment;
+
+/** Search state of the {@link AStar A* algorithm} that may be reused from one search to another.
+ *
+ * <p>The points and the segments of the graph are numbered when the context is created,
+ * and the connections of each point are stored in arrays. During a search, the costs, the
+ * estimated costs and the arrival segments of the points are stored in primitive arrays
+ * that are indexed by the point numbers. The arrays are not cleared between two searches:
+ * a search number is used for detecting the values from the previous searches.
+ * Consequently, a search with this context does not allocate memory, except for
+ * the returned path.
+ *
+ * <p>The graph must not be changed while the context is used. A context must
+ * not be used by two searches at the same time.
+ *
+ * @param <ST> is the type of edge in the graph
+ * @param <PT> is the type of node in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ * @see AStar#solve(GraphPoint, GraphPoint, AStarSearchContext)
+ */
+public final class AStarSearchContext<ST extends GraphSegment<ST, PT>, PT extends GraphPoint<PT, ST>> {
+
+	/** Index of the first connection of each point. */
+	final int[] connectionOffsets;
+
+	/** Index of the segment of each connection. */
+	final int[] connectionSegments;
+
+	/** Index of the point at the other side of each connection. */
+	final int[] connectionPoints;
+
+	/** Connections of the points. */
+	final Object[] connections;
+
+	/** Costs to reach the points. */
+	final double[] costs;
+
+	/** Estimated costs from the points to the target. */
+	final double[] estimates;
+
+	/** Index of the arrival segment of each point, or <code>-1</code>. */
+	final int[] arrivals;
+
+	/** Search number in which each point was reached. */
+	final int[] visits;
+
+	/** Indicates if each point was closed during the current search. */
+	final boolean[] closed;
+
+	/** Open list of the search. */
+	final PointIndexHeap openList;
+
+	/** Buffer for building the paths. */
+	final int[] pathBuffer;
+
+	private final Graph<ST, PT> graph;
+
+	private final GraphIndex<ST, PT> index;
+
+	private int stamp;
+
+	/**
+	 * @param graph the graph to explore.
+	 */
+	public AStarSearchContext(Graph<ST, PT> graph) {
+		assert graph != null;
+		this.graph = graph;
+		this.index = new GraphIndex<>(graph);
+		final int pointCount = this.index.getPointCount();
+		final int segmentCount = this.index.getSegmentCount();
+		final Map<ST, Integer> segmentIndexes = new HashMap<>();
+		for (int i = 0; i < segmentCount; ++i) {
+			segmentIndexes.put(this.index.getSegment(i), Integer.valueOf(i));
+		}
+		this.connectionOffsets = new int[pointCount + 1];
+		final List<GraphPointConnection<PT, ST>> allConnections = new ArrayList<>(segmentCount * 2);
+		final List<Integer> segments = new ArrayList<>(segmentCount * 2);
+		final List<Integer> points = new ArrayList<>(segmentCount * 2);
+		for (int i = 0; i < pointCount; ++i) {
+			final PT point = this.index.getPoint(i);
+			for (final GraphPointConnection<PT, ST> connection : point.getConnections()) {
+				final ST segment = connection.getGraphSegment();
+				final Integer segmentIndex = segmentIndexes.get(segment);
+				final int otherSide = this.index.indexOf(segment.getOtherSidePoint(point));
+				if (segmentIndex != null && otherSide >= 0 && otherSide != i) {
+					allConnections.add(connection);
+					segments.add(segmentIndex);
+					points.add(Integer.valueOf(otherSide));
+				}
+			}
+			this.connectionOffsets[i + 1] = allConnections.size();
+		}
+		final int connectionCount = allConnections.size();
+		this.connections = allConnections.toArray();
+		this.connectionSegments = new int[connectionCount];
+		this.connectionPoints = new int[connectionCount];
+		for (int i = 0; i < connectionCount; ++i) {
+			this.connectionSegments[i] = segments.get(i).intValue();
+			this.connectionPoints[i] = points.get(i).intValue();
+		}
+		this.costs = new double[pointCount];
+		this.estimates = new double[pointCount];
+		this.arrivals = new int[pointCount];
+		this.visits = new int[pointCount];
+		this.closed = new boolean[pointCount];
+		this.openList = new PointIndexHeap(pointCount);
+		this.pathBuffer = new int[pointCount];
+	}
+
+	/** Replies the graph that is explored with this context.
+	 *
+	 * @return the graph.
+	 */
+	@Pure
+	public Graph<ST, PT> getGraph() {
+		return this.graph;
+	}
+
+	/** Replies the number of points in the graph.
+	 *
+	 * @return the number of points.
+	 */
+	@Pure
+	public int getPointCount() {
+		return this.index.getPointCount();
+	}
+
+	/** Replies the number of segments in the graph.
+	 *
+	 * @return the number of segments.
+	 */
+	@Pure
+	public int getSegmentCount() {
+		return this.index.getSegmentCount();
+	}
+
+	/** Replies the index of the given point.
+	 *
+	 * @param point the point.
+	 * @return the index, or <code>-1</code> if the point is not in the graph.
+	 */
+	@Pure
+	int indexOf(PT point) {
+		return this.index.indexOf(point);
+	}
+
+	/** Replies the point with the given index.
+	 *
+	 * @param point the index of the point.
+	 * @return the point.
+	 */
+	@Pure
+	PT getPoint(int point) {
+		return this.index.getPoint(point);
+	}
+
+	/** Replies the segment with the given index.
+	 *
+	 * @param segment the index of the segment.
+	 * @return the segment.
+	 */
+	@Pure
+	ST getSegment(int segment) {
+		return this.index.getSegment(segment);
+	}
+
+	/** Replies the index of the point at the other side of the given segment.
+	 *
+	 * @param segment the index of the segment.
+	 * @param point the index of the point at one side of the segment.
+	 * @return the index of the point at the other side.
+	 */
+	@Pure
+	int getOtherSidePoint(int segment, int point) {
+		final int begin = this.index.getBeginPointIndex(segment);
+		return begin == point ? this.index.getEndPointIndex(segment) : begin;
+	}
+
+	/** Replies the connection with the given index.
+	 *
+	 * @param connection the index of the connection.
+	 * @return the connection.
+	 */
+	@Pure
+	@SuppressWarnings("unchecked")
+	GraphPointConnection<PT, ST> getConnection(int connection) {
+		return (GraphPointConnection<PT, ST>) this.connections[connection];
+	}
+
+	/** Start a new search.
+	 *
+	 * @return the number of the search.
+	 */
+	int startSearch() {
+		this.openList.clear();
+		++this.stamp;
+		if (this.stamp == Integer.MAX_VALUE) {
+			Arrays.fill(this.visits, 0);
+			this.stamp = 1;
+		}
+		return this.stamp;
+	}
+
+}
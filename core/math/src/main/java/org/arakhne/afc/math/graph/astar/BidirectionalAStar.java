@@ -0,0 +1,705 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.graph.GraphPath;
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphPoint.GraphPointConnection;
+import org.arakhne.afc.math.graph.GraphSegment;
+import org.arakhne.afc.vmutil.locale.Locale;
+
+/** This class provides an implementation of the bidirectional
+ * A* algorithm.
+ *
+ * <p>Two searches are run at the same time: a forward search from the starting
+ * point, and a backward search from the target point. The algorithm stops
+ * when no path that is shorter than the best path found at the meeting points
+ * of the two searches could be found.
+ *
+ * <p>If no heuristic is given, the algorithm is a bidirectional Dijkstra algorithm.
+ * Otherwise, the forward search is guided by the estimated cost to the target point,
+ * and the backward search by the estimated cost from the starting point.
+ *
+ * <p>The graph points must reply all their connected segments, including the
+ * segments that could not be traversed from them: the backward search follows
+ * the segments that are entering into the points. The orientation of the segments
+ * is given by the {@link #setSegmentOrientationTool(AStarSegmentOrientation) orientation tool}.
+ * Because the backward search does not know the segment that is used for
+ * entering a point, the orientation tool is invoked with a <code>null</code>
+ * entry segment by the backward search.
+ *
+ * <p>The numbers of points that are expanded by each search could be
+ * retreived after each call to {@link #solve(GraphPoint, GraphPoint)}.
+ *
+ * @param <GP> is the type of the graph graph itself.
+ * @param <PT> is the type of node in the graph
+ * @param <ST> is the type of edge in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ * @see AStar
+ */
+public class BidirectionalAStar<GP extends GraphPath<GP, ST, PT>, ST extends GraphSegment<ST, PT>,
+		PT extends GraphPoint<PT, ST>> {
+
+	private AStarHeuristic<? super PT> heuristic;
+
+	private AStarPathFactory<GP, ST, PT> pathFactory;
+
+	private AStarSegmentOrientation<ST, PT> segmentOrientation;
+
+	private AStarCostComputer<? super ST, ? super PT> costComputer;
+
+	private int forwardExpansionCount;
+
+	private int backwardExpansionCount;
+
+	/**
+	 * @param heuristic is the heuristic to use by the A* algorithm, or <code>null</code>
+	 *     for running a bidirectional Dijkstra algorithm.
+	 * @param pathFactory1 is the factory to create new paths.
+	 */
+	public BidirectionalAStar(AStarHeuristic<? super PT> heuristic, AStarPathFactory<GP, ST, PT> pathFactory1) {
+		this.heuristic = heuristic;
+		this.pathFactory = pathFactory1;
+	}
+
+	/**
+	 * @param heuristic is the heuristic to use by the A* algorithm, or <code>null</code>
+	 *     for running a bidirectional Dijkstra algorithm.
+	 * @param pathType is the type of the path to create.
+	 */
+	public BidirectionalAStar(AStarHeuristic<? super PT> heuristic, Class<? extends GP> pathType) {
+		this(heuristic, new AStar.AStarReflectionPathFactory<>(pathType));
+	}
+
+	/** Set the path factory used by the algorithm.
+	 *
+	 * @param factory is the new factory.
+	 * @return the old factory
+	 * @see #setPathType(Class)
+	 */
+	public AStarPathFactory<GP, ST, PT> setPathFactory(AStarPathFactory<GP, ST, PT> factory) {
+		final AStarPathFactory<GP, ST, PT> old = this.pathFactory;
+		this.pathFactory = factory;
+		return old;
+	}
+
+	/** Set the path factory used by the algorithm.
+	 *
+	 * @param type is the type of path to instance with a reflection-based factory.
+	 * @return the old factory
+	 * @see #setPathFactory(AStarPathFactory)
+	 */
+	public AStarPathFactory<GP, ST, PT> setPathType(Class<? extends GP> type) {
+		final AStarPathFactory<GP, ST, PT> old = this.pathFactory;
+		this.pathFactory = new AStar.AStarReflectionPathFactory<>(type);
+		return old;
+	}
+
+	/** Replies the path factory used by the algorithm.
+	 *
+	 * @return the factory
+	 */
+	@Pure
+	public AStarPathFactory<GP, ST, PT> getPathFactory() {
+		return this.pathFactory;
+	}
+
+	/** Set the evaluation heuristic used by the algorithm.
+	 *
+	 * @param heuristic is the evaluation heuristic, or <code>null</code>
+	 *     for running a bidirectional Dijkstra algorithm.
+	 * @return the old heurisstic.
+	 */
+	public AStarHeuristic<? super PT> setEvaluationHeuristic(AStarHeuristic<? super PT> heuristic) {
+		final AStarHeuristic<? super PT> old = this.heuristic;
+		this.heuristic = heuristic;
+		return old;
+	}
+
+	/** Replies the evaluation heuristic used by the algorithm.
+	 *
+	 * @return the heurisstic, or <code>null</code> if the algorithm is a
+	 *     bidirectional Dijkstra algorithm.
+	 */
+	@Pure
+	public AStarHeuristic<? super PT> getEvaluationHeuristic() {
+		return this.heuristic;
+	}
+
+	/** Set the tool that permits to retreive the orinetation of the segments.
+	 *
+	 * @param tool the tool for retreiving the orientation of the segments.
+	 * @return the old tool.
+	 */
+	public AStarSegmentOrientation<ST, PT> setSegmentOrientationTool(AStarSegmentOrientation<ST, PT> tool) {
+		final AStarSegmentOrientation<ST, PT> old = this.segmentOrientation;
+		this.segmentOrientation = tool;
+		return old;
+	}
+
+	/** Replies the tool that permits to retreive the orinetation of the segments..
+	 *
+	 * @return the tool.
+	 */
+	@Pure
+	public AStarSegmentOrientation<ST, PT> getSegmentOrientationTool() {
+		return this.segmentOrientation;
+	}
+
+	/** Set the tool that permits to compute the costs of the nodes and the edges.
+	 *
+	 * @param costComputer is the object that permits to compute the costs.
+	 * @return the old cost computer.
+	 */
+	public AStarCostComputer<? super ST, ? super PT> setCostComputer(AStarCostComputer<? super ST, ? super PT> costComputer) {
+		final AStarCostComputer<? super ST, ? super PT> old = this.costComputer;
+		this.costComputer = costComputer;
+		return old;
+	}
+
+	/** Replies the tool that permits to compute the costs of the nodes and edges.
+	 *
+	 * @return the cost computer
+	 */
+	@Pure
+	public AStarCostComputer<? super ST, ? super PT> getCostComputer() {
+		return this.costComputer;
+	}
+
+	/** Replies the number of points that were expanded by the forward search
+	 * during the last call to {@link #solve(GraphPoint, GraphPoint)}.
+	 *
+	 * @return the number of expanded points.
+	 */
+	@Pure
+	public int getForwardExpansionCount() {
+		return this.forwardExpansionCount;
+	}
+
+	/** Replies the number of points that were expanded by the backward search
+	 * during the last call to {@link #solve(GraphPoint, GraphPoint)}.
+	 *
+	 * @return the number of expanded points.
+	 */
+	@Pure
+	public int getBackwardExpansionCount() {
+		return this.backwardExpansionCount;
+	}
+
+	/** Replies the number of points that were expanded by the two searches
+	 * during the last call to {@link #solve(GraphPoint, GraphPoint)}.
+	 *
+	 * @return the number of expanded points.
+	 */
+	@Pure
+	public int getExpansionCount() {
+		return this.forwardExpansionCount + this.backwardExpansionCount;
+	}
+
+	/** Evaluate the distance between two points in the graph.
+	 *
+	 * <p>By default, this function uses the heuristic passed as parameter
+	 * of the constructor, or replies zero if there is no heuristic.
+	 *
+	 * @param p1 the first point.
+	 * @param p2 the second point.
+	 * @return the evaluated distance between {@code p1} and {@code p2}.
+	 */
+	@Pure
+	protected double estimate(PT p1, PT p2) {
+		assert p1 != null && p2 != null;
+		if (this.heuristic == null) {
+			return 0;
+		}
+		return this.heuristic.evaluate(p1, p2);
+	}
+
+	/** Compute and replies the cost to traverse the given graph point.
+	 *
+	 * @param pt the point.
+	 * @return the cost to traverse the point.
+	 */
+	@Pure
+	protected double computeCostFor(PT pt) {
+		if (this.costComputer != null) {
+			return this.costComputer.computeCostFor(pt);
+		}
+		return 0;
+	}
+
+	/** Compute and replies the cost to traverse the given graph segment.
+	 *
+	 * @param segment the segment.
+	 * @return the cost to traverse the segment.
+	 */
+	@Pure
+	protected double computeCostFor(ST segment) {
+		if (this.costComputer != null) {
+			return this.costComputer.computeCostFor(segment);
+		}
+		return segment.getLength();
+	}
+
+	/** Create an empty path.
+	 *
+	 * <p>By default this function invokes the path factory
+	 * passed as parameter of the constructor.
+	 *
+	 * @param startPoint is the first point in the path.
+	 * @param segment is the first connection to follow.
+	 * @return the path instance.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Pure
+	protected GP newPath(PT startPoint, ST segment) {
+		if (this.pathFactory != null) {
+			return this.pathFactory.newPath(startPoint, segment);
+		}
+		try {
+			return (GP) new GraphPath(segment, startPoint);
+		} catch (Throwable e) {
+			throw new IllegalStateException(Locale.getString(AStar.class, "E2"), e); //$NON-NLS-1$
+		}
+	}
+
+	/** Add the given segment into the given path.
+	 *
+	 * <p>By default this function invokes the path factory
+	 * passed as parameter of the constructor.
+	 *
+	 * @param path is the path to build.
+	 * @param segment is the segment to add.
+	 * @return <code>true</code> if the segment was added;
+	 *     otherwise <code>false</code>.
+	 */
+	protected boolean addToPath(GP path, ST segment) {
+		if (this.pathFactory != null) {
+			return this.pathFactory.addToPath(path, segment);
+		}
+		assert path != null;
+		assert segment != null;
+		return path.add(segment);
+	}
+
+	/** Run the bidirectional algorithm.
+	 *
+	 * @param startPoint is the starting point.
+	 * @param endPoint is the point to reach.
+	 * @return the found path, or <code>null</code> if none found.
+	 */
+	public GP solve(PT startPoint, PT endPoint) {
+		assert startPoint != null && endPoint != null;
+		this.forwardExpansionCount = 0;
+		this.backwardExpansionCount = 0;
+		if (startPoint.equals(endPoint)) {
+			return null;
+		}
+
+		final boolean hasHeuristic = this.heuristic != null;
+		final Search<ST, PT> forward = new Search<>();
+		final Search<ST, PT> backward = new Search<>();
+		forward.open(new Label<>(startPoint, 0, estimate(startPoint, endPoint), null, null));
+		backward.open(new Label<>(endPoint, 0, estimate(startPoint, endPoint), null, null));
+
+		final Meeting<ST, PT> meeting = new Meeting<>();
+
+		while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+			final double topForward = forward.heap.get(0).getPathCost();
+			final double topBackward = backward.heap.get(0).getPathCost();
+			// With an heuristic, the first cost of each heap is a lower bound of the
+			// cost of the paths through the open points (symmetric approach).
+			// Without heuristic, the sum of the first costs is a lower bound.
+			if (hasHeuristic ? Math.max(topForward, topBackward) >= meeting.cost
+					: topForward + topBackward >= meeting.cost) {
+				break;
+			}
+			if (forward.heap.size() <= backward.heap.size()) {
+				expandForward(forward, backward, endPoint, meeting);
+				++this.forwardExpansionCount;
+			} else {
+				expandBackward(backward, forward, startPoint, meeting);
+				++this.backwardExpansionCount;
+			}
+		}
+
+		if (meeting.point == null) {
+			return null;
+		}
+		return createPath(startPoint, forward.labels.get(meeting.point), backward.labels.get(meeting.point));
+	}
+
+	private void expandForward(Search<ST, PT> search, Search<ST, PT> opposite, PT endPoint, Meeting<ST, PT> meeting) {
+		final Label<ST, PT> label = search.poll();
+		final PT point = label.getGraphPoint();
+		final double pointCost = label.cost + computeCostFor(point);
+		for (final ST segment : getForwardSegments(label)) {
+			final PT reachedPoint = segment.getOtherSidePoint(point);
+			if (reachedPoint != null && !reachedPoint.equals(point)) {
+				final double cost = pointCost + computeCostFor(segment);
+				final Label<ST, PT> reached = search.relax(reachedPoint, cost, segment, label, this, endPoint, true);
+				if (reached != null) {
+					meeting.update(reached, opposite.labels.get(reachedPoint));
+				}
+			}
+		}
+	}
+
+	private void expandBackward(Search<ST, PT> search, Search<ST, PT> opposite, PT startPoint, Meeting<ST, PT> meeting) {
+		final Label<ST, PT> label = search.poll();
+		final PT point = label.getGraphPoint();
+		for (final ST segment : getBackwardSegments(point)) {
+			final PT reachedPoint = segment.getOtherSidePoint(point);
+			if (reachedPoint != null && !reachedPoint.equals(point)) {
+				final double cost = label.cost + computeCostFor(segment) + computeCostFor(reachedPoint);
+				final Label<ST, PT> reached = search.relax(reachedPoint, cost, segment, label, this, startPoint, false);
+				if (reached != null) {
+					meeting.update(opposite.labels.get(reachedPoint), reached);
+				}
+			}
+		}
+	}
+
+	/** Replies the segments that could be traversed from the point of the given label.
+	 *
+	 * @param label the label of the point.
+	 * @return the segments.
+	 */
+	private Iterable<ST> getForwardSegments(Label<ST, PT> label) {
+		final PT point = label.getGraphPoint();
+		final AStarSegmentOrientation<ST, PT> tool = getSegmentOrientationTool();
+		if (tool == null) {
+			return point.getConnectedSegments();
+		}
+		final List<ST> segments = new ArrayList<>(point.getConnectedSegmentCount());
+		for (final GraphPointConnection<PT, ST> connection : point.getConnections()) {
+			if (tool.isTraversable(label.arrival, connection)) {
+				segments.add(connection.getGraphSegment());
+			}
+		}
+		return segments;
+	}
+
+	/** Replies the segments that could be traversed for reaching the given point.
+	 *
+	 * @param point the point.
+	 * @return the segments.
+	 */
+	private Iterable<ST> getBackwardSegments(PT point) {
+		final AStarSegmentOrientation<ST, PT> tool = getSegmentOrientationTool();
+		if (tool == null) {
+			return point.getConnectedSegments();
+		}
+		final List<ST> segments = new ArrayList<>(point.getConnectedSegmentCount());
+		for (final ST segment : point.getConnectedSegments()) {
+			final PT otherPoint = segment.getOtherSidePoint(point);
+			if (otherPoint != null) {
+				for (final GraphPointConnection<PT, ST> connection : otherPoint.getConnections()) {
+					if (segment.equals(connection.getGraphSegment())) {
+						if (tool.isTraversable(null, connection)) {
+							segments.add(segment);
+						}
+						break;
+					}
+				}
+			}
+		}
+		return segments;
+	}
+
+	/** Create the path that is passing through the meeting point of the two searches.
+	 *
+	 * @param startPoint is the starting point.
+	 * @param forward is the label of the meeting point in the forward search.
+	 * @param backward is the label of the meeting point in the backward search.
+	 * @return the path, or <code>null</code> if no path found.
+	 */
+	private GP createPath(PT startPoint, Label<ST, PT> forward, Label<ST, PT> backward) {
+		final List<ST> segments = new ArrayList<>();
+		Label<ST, PT> label = forward;
+		while (label != null && label.arrival != null) {
+			segments.add(label.arrival);
+			label = label.previous;
+		}
+		Collections.reverse(segments);
+		label = backward;
+		while (label != null && label.arrival != null) {
+			segments.add(label.arrival);
+			label = label.previous;
+		}
+		if (segments.isEmpty()) {
+			return null;
+		}
+		final ST first = segments.get(0);
+		if (!startPoint.isConnectedSegment(first)) {
+			return null;
+		}
+		final GP path = newPath(startPoint, first);
+		for (int i = 1; i < segments.size(); ++i) {
+			addToPath(path, segments.get(i));
+		}
+		return path;
+	}
+
+	/** Label of a point in one of the searches.
+	 *
+	 * @param <ST> is the type of edge in the graph
+	 * @param <PT> is the type of node in the graph
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private static class Label<ST extends GraphSegment<ST, PT>, PT extends GraphPoint<PT, ST>>
+			implements AStarNode<ST, PT> {
+
+		/** Cost from the origin of the search.
+		 */
+		double cost;
+
+		/** Estimated cost to the end of the search.
+		 */
+		double estimatedCost;
+
+		/** Segment that is used for reaching the point from the previous label.
+		 */
+		ST arrival;
+
+		/** Previous label in the search.
+		 */
+		Label<ST, PT> previous;
+
+		/** Indicates if the point was expanded.
+		 */
+		boolean closed;
+
+		private final PT point;
+
+		/**
+		 * @param point the point.
+		 * @param cost the cost from the origin of the search.
+		 * @param estimatedCost the estimated cost to the end of the search.
+		 * @param arrival the segment used for reaching the point.
+		 * @param previous the previous label.
+		 */
+		Label(PT point, double cost, double estimatedCost, ST arrival, Label<ST, PT> previous) {
+			this.point = point;
+			this.cost = cost;
+			this.estimatedCost = estimatedCost;
+			this.arrival = arrival;
+			this.previous = previous;
+		}
+
+		@Pure
+		@Override
+		public PT getGraphPoint() {
+			return this.point;
+		}
+
+		@Pure
+		@Override
+		public Iterable<ST> getGraphSegments() {
+			return this.point.getConnectedSegments();
+		}
+
+		@Pure
+		@Override
+		public ST getArrivalConnection() {
+			return this.arrival;
+		}
+
+		@Override
+		public ST setArrivalConnection(ST connection) {
+			this.arrival = connection;
+			return this.arrival;
+		}
+
+		@Pure
+		@Override
+		public double getCost() {
+			return this.cost;
+		}
+
+		@Override
+		public double setCost(double cost) {
+			this.cost = cost;
+			return this.cost;
+		}
+
+		@Pure
+		@Override
+		public double getEstimatedCost() {
+			return this.estimatedCost;
+		}
+
+		@Override
+		public double setEstimatedCost(double cost) {
+			this.estimatedCost = cost;
+			return this.estimatedCost;
+		}
+
+		@Pure
+		@Override
+		public double getPathCost() {
+			return this.cost + this.estimatedCost;
+		}
+
+	}
+
+	/** State of one of the searches.
+	 *
+	 * @param <ST> is the type of edge in the graph
+	 * @param <PT> is the type of node in the graph
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private static class Search<ST extends GraphSegment<ST, PT>, PT extends GraphPoint<PT, ST>> {
+
+		/** Open points of the search.
+		 */
+		final AStarOpenHeap<ST, PT> heap = new AStarOpenHeap<>(new AStar.OpenComparator<ST, PT>());
+
+		/** Labels of the reached points.
+		 */
+		final Map<PT, Label<ST, PT>> labels = new HashMap<>();
+
+		/** Construct the search.
+		 */
+		Search() {
+			//
+		}
+
+		/** Open the given label.
+		 *
+		 * @param label the label.
+		 */
+		void open(Label<ST, PT> label) {
+			this.labels.put(label.getGraphPoint(), label);
+			this.heap.offer(label);
+		}
+
+		/** Remove the label with the lowest cost from the open points, and close it.
+		 *
+		 * @return the label.
+		 */
+		@SuppressWarnings("unchecked")
+		Label<ST, PT> poll() {
+			final Label<ST, PT> label = (Label<ST, PT>) this.heap.poll();
+			label.closed = true;
+			return label;
+		}
+
+		/** Update the label of the given point if the given cost is lower than its current cost.
+		 *
+		 * @param point the reached point.
+		 * @param cost the cost for reaching the point.
+		 * @param segment the segment used for reaching the point.
+		 * @param previous the label from which the point is reached.
+		 * @param algo the algorithm.
+		 * @param end the end of the search, used for the estimation of the costs.
+		 * @param isForward indicates if the search is forward.
+		 * @return the label of the point if it was updated, or <code>null</code>.
+		 */
+		Label<ST, PT> relax(PT point, double cost, ST segment, Label<ST, PT> previous,
+				BidirectionalAStar<?, ST, PT> algo, PT end, boolean isForward) {
+			Label<ST, PT> label = this.labels.get(point);
+			if (label == null) {
+				final double estimation = isForward ? algo.estimate(point, end) : algo.estimate(end, point);
+				label = new Label<>(point, cost, estimation, segment, previous);
+				open(label);
+				return label;
+			}
+			if (cost < label.cost) {
+				label.cost = cost;
+				label.arrival = segment;
+				label.previous = previous;
+				if (label.closed) {
+					label.closed = false;
+					this.heap.offer(label);
+				} else {
+					this.heap.update(this.heap.indexOf(point), label);
+				}
+				return label;
+			}
+			return null;
+		}
+
+	}
+
+	/** Best meeting point of the two searches.
+	 *
+	 * @param <ST> is the type of edge in the graph
+	 * @param <PT> is the type of node in the graph
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private static class Meeting<ST extends GraphSegment<ST, PT>, PT extends GraphPoint<PT, ST>> {
+
+		/** Meeting point.
+		 */
+		PT point;
+
+		/** Cost of the path through the meeting point.
+		 */
+		double cost = Double.POSITIVE_INFINITY;
+
+		/** Construct the meeting.
+		 */
+		Meeting() {
+			//
+		}
+
+		/** Update the meeting point if the path through the given labels is shorter.
+		 *
+		 * @param forward the label in the forward search.
+		 * @param backward the label in the backward search.
+		 */
+		void update(Label<ST, PT> forward, Label<ST, PT> backward) {
+			if (forward != null && backward != null) {
+				final double pathCost = forward.cost + backward.cost;
+				if (pathCost < this.cost) {
+					this.cost = pathCost;
+					this.point = forward.getGraphPoint();
+				}
+			}
+		}
+
+	}
+
+}
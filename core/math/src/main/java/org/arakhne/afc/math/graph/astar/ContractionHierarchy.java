@@ -0,0 +1,293 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.graph.Graph;
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphPoint.GraphPointConnection;
+import org.arakhne.afc.math.graph.GraphSegment;
+
+/** Contraction hierarchy of a static graph.
+ *
+ * <p>The points of the graph are ordered by importance, and contracted
+ * from the least important to the most important. When a point is contracted,
+ * shortcut segments are added between its neighbors to preserve the shortest paths
+ * that are passing through it. The shortest paths are then computed by a
+ * {@link ContractionHierarchyQuery query} that explores only the segments and
+ * shortcuts to more important points, from the start and from the end point.
+ *
+ * <p>The hierarchy does not store the points and the segments. It is based
+ * on the numbering of the points and segments that is given by the iteration
+ * order of the graph. Consequently, the hierarchy could be serialized, and
+ * reused with any graph that is built in the same way as the graph
+ * from which the hierarchy was computed. The topology and the lengths of the segments
+ * of the graph are checked when the hierarchy is used; the costs that were given by an
+ * {@link AStarCostComputer} are not checked.
+ *
+ * <p>The cost model is the same as the one of the {@link AStar A* algorithm}:
+ * the cost for traversing a segment is the cost of the segment plus the cost of the
+ * point from which the segment is entered. The costs must be positive or zero.
+ *
+ * <p>A hierarchy is immutable and could be shared between threads.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ * @see ContractionHierarchyQuery
+ */
+public final class ContractionHierarchy implements Serializable {
+
+	/** Number of integers that are describing an arc in {@link #arcs}.
+	 */
+	static final int ARC_SIZE = 3;
+
+	/** Number of integers that are describing an edge in the upward graphs.
+	 */
+	static final int EDGE_SIZE = 2;
+
+	private static final long serialVersionUID = 3187920453602715311L;
+
+	/** Number of segments in the graph.
+	 */
+	final int segmentCount;
+
+	/** Signature of the topology of the graph.
+	 */
+	final int signature;
+
+	/** Description of the arcs. For each arc, three values are stored: the index of the segment,
+	 * or <code>-1</code> if the arc is a shortcut; the indexes of the two arcs that are
+	 * replaced by the shortcut.
+	 */
+	final int[] arcs;
+
+	/** Index of the first edge of each point in the upward forward graph.
+	 */
+	final int[] forwardOffsets;
+
+	/** Edges of the upward forward graph. For each edge, two values are stored:
+	 * the index of the target point, and the index of the arc.
+	 */
+	final int[] forwardEdges;
+
+	/** Costs of the edges of the upward forward graph.
+	 */
+	final double[] forwardCosts;
+
+	/** Index of the first edge of each point in the upward backward graph.
+	 */
+	final int[] backwardOffsets;
+
+	/** Edges of the upward backward graph. For each edge, two values are stored:
+	 * the index of the source point, and the index of the arc.
+	 */
+	final int[] backwardEdges;
+
+	/** Costs of the edges of the upward backward graph.
+	 */
+	final double[] backwardCosts;
+
+	/** Constructor.
+	 *
+	 * @param segmentCount the number of segments in the graph.
+	 * @param signature the signature of the topology of the graph.
+	 * @param arcs the description of the arcs.
+	 * @param forwardOffsets the index of the first edge of each point in the upward forward graph.
+	 * @param forwardEdges the edges of the upward forward graph.
+	 * @param forwardCosts the costs of the edges of the upward forward graph.
+	 * @param backwardOffsets the index of the first edge of each point in the upward backward graph.
+	 * @param backwardEdges the edges of the upward backward graph.
+	 * @param backwardCosts the costs of the edges of the upward backward graph.
+	 */
+	@SuppressWarnings("checkstyle:parameternumber")
+	ContractionHierarchy(int segmentCount, int signature, int[] arcs,
+			int[] forwardOffsets, int[] forwardEdges, double[] forwardCosts,
+			int[] backwardOffsets, int[] backwardEdges, double[] backwardCosts) {
+		this.segmentCount = segmentCount;
+		this.signature = signature;
+		this.arcs = arcs;
+		this.forwardOffsets = forwardOffsets;
+		this.forwardEdges = forwardEdges;
+		this.forwardCosts = forwardCosts;
+		this.backwardOffsets = backwardOffsets;
+		this.backwardEdges = backwardEdges;
+		this.backwardCosts = backwardCosts;
+	}
+
+	/** Build the contraction hierarchy of the given graph.
+	 *
+	 * <p>The segments are considered as traversable in the two directions.
+	 *
+	 * @param <ST> is the type of edge in the graph
+	 * @param <PT> is the type of node in the graph
+	 * @param graph the graph.
+	 * @param costComputer the tool for computing the costs of the points and the segments,
+	 *     or <code>null</code> for using the lengths of the segments.
+	 * @return the hierarchy.
+	 */
+	public static <ST extends GraphSegment<ST, PT>, PT extends GraphPoint<PT, ST>> ContractionHierarchy build(
+			Graph<ST, PT> graph, AStarCostComputer<? super ST, ? super PT> costComputer) {
+		return ContractionHierarchy.<ST, PT>build(graph, costComputer, null);
+	}
+
+	/** Build the contraction hierarchy of the given graph.
+	 *
+	 * <p>Because the hierarchy is independent of the path that is followed, the
+	 * orientation tool is invoked with a <code>null</code> entry segment.
+	 *
+	 * @param <ST> is the type of edge in the graph
+	 * @param <PT> is the type of node in the graph
+	 * @param graph the graph.
+	 * @param costComputer the tool for computing the costs of the points and the segments,
+	 *     or <code>null</code> for using the lengths of the segments.
+	 * @param orientationTool the tool for retreiving the orientation of the segments,
+	 *     or <code>null</code> if the segments are traversable in the two directions.
+	 * @return the hierarchy.
+	 */
+	public static <ST extends GraphSegment<ST, PT>, PT extends GraphPoint<PT, ST>> ContractionHierarchy build(
+			Graph<ST, PT> graph, AStarCostComputer<? super ST, ? super PT> costComputer,
+			AStarSegmentOrientation<ST, PT> orientationTool) {
+		assert graph != null;
+		final GraphIndex<ST, PT> index = new GraphIndex<>(graph);
+		final ContractionHierarchyBuilder builder = new ContractionHierarchyBuilder(
+				index.getPointCount(), index.getSegmentCount(), index.getSignature());
+		for (int i = 0; i < index.getSegmentCount(); ++i) {
+			final ST segment = index.getSegment(i);
+			final int begin = index.getBeginPointIndex(i);
+			final int end = index.getEndPointIndex(i);
+			if (begin != end) {
+				final double segmentCost = costComputer == null ? segment.getLength() : costComputer.computeCostFor(segment);
+				final PT beginPoint = index.getPoint(begin);
+				final PT endPoint = index.getPoint(end);
+				if (isTraversable(orientationTool, segment, beginPoint)) {
+					builder.addArc(begin, end, cost(costComputer, beginPoint) + segmentCost, i);
+				}
+				if (isTraversable(orientationTool, segment, endPoint)) {
+					builder.addArc(end, begin, cost(costComputer, endPoint) + segmentCost, i);
+				}
+			}
+		}
+		return builder.build();
+	}
+
+	private static <PT> double cost(AStarCostComputer<?, ? super PT> costComputer, PT point) {
+		return costComputer == null ? 0 : costComputer.computeCostFor(point);
+	}
+
+	private static <ST extends GraphSegment<ST, PT>, PT extends GraphPoint<PT, ST>> boolean isTraversable(
+			AStarSegmentOrientation<ST, PT> orientationTool, ST segment, PT point) {
+		if (orientationTool == null) {
+			return true;
+		}
+		for (final GraphPointConnection<PT, ST> connection : point.getConnections()) {
+			if (segment.equals(connection.getGraphSegment())) {
+				return orientationTool.isTraversable(null, connection);
+			}
+		}
+		return false;
+	}
+
+	/** Read a hierarchy from the given stream.
+	 *
+	 * @param stream the stream.
+	 * @return the hierarchy.
+	 * @throws IOException if the stream does not contain a hierarchy.
+	 * @see #writeTo(OutputStream)
+	 */
+	public static ContractionHierarchy readFrom(InputStream stream) throws IOException {
+		final ObjectInputStream input = new ObjectInputStream(stream);
+		try {
+			return (ContractionHierarchy) input.readObject();
+		} catch (ClassNotFoundException | ClassCastException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/** Write this hierarchy into the given stream.
+	 *
+	 * @param stream the stream.
+	 * @throws IOException if the hierarchy cannot be written.
+	 * @see #readFrom(InputStream)
+	 */
+	public void writeTo(OutputStream stream) throws IOException {
+		final ObjectOutputStream output = new ObjectOutputStream(stream);
+		output.writeObject(this);
+		output.flush();
+	}
+
+	/** Replies the number of points in the graph.
+	 *
+	 * @return the number of points.
+	 */
+	@Pure
+	public int getPointCount() {
+		return this.forwardOffsets.length - 1;
+	}
+
+	/** Replies the number of segments in the graph.
+	 *
+	 * @return the number of segments.
+	 */
+	@Pure
+	public int getSegmentCount() {
+		return this.segmentCount;
+	}
+
+	/** Replies the number of shortcuts that were added to the graph.
+	 *
+	 * @return the number of shortcuts.
+	 */
+	@Pure
+	public int getShortcutCount() {
+		int count = 0;
+		for (int i = 0; i < this.arcs.length; i += ARC_SIZE) {
+			if (this.arcs[i] < 0) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/** Replies if the hierarchy was computed from a graph with the same topology
+	 * as the given graph.
+	 *
+	 * @param index the numbering of the graph.
+	 * @return <code>true</code> if the hierarchy could be used with the graph.
+	 */
+	@Pure
+	boolean isCompatible(GraphIndex<?, ?> index) {
+		return index.getPointCount() == getPointCount()
+				&& index.getSegmentCount() == this.segmentCount
+				&& index.getSignature() == this.signature;
+	}
+
+}
@@ -0,0 +1,387 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.Arrays;
+
+/** Builder of a {@link ContractionHierarchy}.
+ *
+ * <p>The points are ordered with a lazy-updated priority that is the difference
+ * between the number of shortcuts to add and the number of removed arcs, plus the number
+ * of already contracted neighbors. The shortcuts are not added when a
+ * witness path, that is not passing through the contracted point, is found by a local
+ * and bounded Dijkstra search.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+final class ContractionHierarchyBuilder {
+
+	/** Maximal number of points that are settled by a witness search when a point is contracted.
+	 */
+	private static final int WITNESS_SEARCH_LIMIT = 500;
+
+	/** Maximal number of points that are settled by a witness search when the contraction of
+	 * a point is simulated for computing its priority.
+	 */
+	private static final int SIMULATION_WITNESS_SEARCH_LIMIT = 50;
+
+	private static final int DEFAULT_CAPACITY = 4;
+
+	private final int pointCount;
+
+	private final int segmentCount;
+
+	private final int signature;
+
+	private int arcCount;
+
+	private int[] arcSources = new int[DEFAULT_CAPACITY];
+
+	private int[] arcTargets = new int[DEFAULT_CAPACITY];
+
+	private double[] arcCosts = new double[DEFAULT_CAPACITY];
+
+	private int[] arcDescriptions = new int[DEFAULT_CAPACITY * ContractionHierarchy.ARC_SIZE];
+
+	private final int[][] outArcs;
+
+	private final int[] outArcCounts;
+
+	private final int[][] inArcs;
+
+	private final int[] inArcCounts;
+
+	private final boolean[] contracted;
+
+	private final int[] contractedNeighbors;
+
+	private final int[] ranks;
+
+	private final int[] updateMarks;
+
+	private final double[] witnessCosts;
+
+	private final int[] witnessStamps;
+
+	private int witnessStamp;
+
+	private final PointIndexHeap witnessHeap;
+
+	/** Constructor.
+	 *
+	 * @param pointCount the number of points.
+	 * @param segmentCount the number of segments.
+	 * @param signature the signature of the topology of the graph.
+	 */
+	ContractionHierarchyBuilder(int pointCount, int segmentCount, int signature) {
+		this.pointCount = pointCount;
+		this.segmentCount = segmentCount;
+		this.signature = signature;
+		this.outArcs = new int[pointCount][];
+		this.outArcCounts = new int[pointCount];
+		this.inArcs = new int[pointCount][];
+		this.inArcCounts = new int[pointCount];
+		this.contracted = new boolean[pointCount];
+		this.contractedNeighbors = new int[pointCount];
+		this.ranks = new int[pointCount];
+		this.updateMarks = new int[pointCount];
+		this.witnessCosts = new double[pointCount];
+		this.witnessStamps = new int[pointCount];
+		this.witnessHeap = new PointIndexHeap(pointCount);
+	}
+
+	/** Add an arc that corresponds to a segment of the graph.
+	 *
+	 * @param source the index of the point from which the segment is traversed.
+	 * @param target the index of the point to which the segment is traversed.
+	 * @param cost the cost of the traversal.
+	 * @param segment the index of the segment.
+	 */
+	void addArc(int source, int target, double cost, int segment) {
+		final int arc = newArc(source, target, cost);
+		final int offset = arc * ContractionHierarchy.ARC_SIZE;
+		this.arcDescriptions[offset] = segment;
+		this.arcDescriptions[offset + 1] = -1;
+		this.arcDescriptions[offset + 2] = -1;
+	}
+
+	private void addShortcut(int source, int target, double cost, int first, int second) {
+		final int arc = newArc(source, target, cost);
+		final int offset = arc * ContractionHierarchy.ARC_SIZE;
+		this.arcDescriptions[offset] = -1;
+		this.arcDescriptions[offset + 1] = first;
+		this.arcDescriptions[offset + 2] = second;
+	}
+
+	private int newArc(int source, int target, double cost) {
+		assert cost >= 0;
+		final int arc = this.arcCount;
+		if (arc == this.arcSources.length) {
+			final int capacity = arc * 2;
+			this.arcSources = Arrays.copyOf(this.arcSources, capacity);
+			this.arcTargets = Arrays.copyOf(this.arcTargets, capacity);
+			this.arcCosts = Arrays.copyOf(this.arcCosts, capacity);
+			this.arcDescriptions = Arrays.copyOf(this.arcDescriptions, capacity * ContractionHierarchy.ARC_SIZE);
+		}
+		this.arcSources[arc] = source;
+		this.arcTargets[arc] = target;
+		this.arcCosts[arc] = cost;
+		++this.arcCount;
+		this.outArcCounts[source] = append(this.outArcs, this.outArcCounts[source], source, arc);
+		this.inArcCounts[target] = append(this.inArcs, this.inArcCounts[target], target, arc);
+		return arc;
+	}
+
+	private static int append(int[][] lists, int size, int point, int arc) {
+		int[] list = lists[point];
+		if (list == null) {
+			list = new int[DEFAULT_CAPACITY];
+			lists[point] = list;
+		} else if (size == list.length) {
+			list = Arrays.copyOf(list, size * 2);
+			lists[point] = list;
+		}
+		list[size] = arc;
+		return size + 1;
+	}
+
+	/** Contract the points and build the hierarchy.
+	 *
+	 * @return the hierarchy.
+	 */
+	ContractionHierarchy build() {
+		final PointIndexHeap queue = new PointIndexHeap(this.pointCount);
+		for (int point = 0; point < this.pointCount; ++point) {
+			queue.offer(point, contract(point, true));
+		}
+		int rank = 0;
+		while (!queue.isEmpty()) {
+			final int point = queue.poll();
+			final double priority = contract(point, true);
+			if (priority > queue.peekKey()) {
+				queue.offer(point, priority);
+			} else {
+				contract(point, false);
+				this.contracted[point] = true;
+				this.ranks[point] = rank;
+				++rank;
+				updateNeighbors(point, queue);
+			}
+		}
+		return createHierarchy();
+	}
+
+	/** Update the priorities of the neighbors of the contracted point.
+	 *
+	 * @param point the contracted point.
+	 * @param queue the queue of the points to contract.
+	 */
+	private void updateNeighbors(int point, PointIndexHeap queue) {
+		final int[] outs = this.outArcs[point];
+		// The mark is the rank plus one for distinguishing the initial marks
+		final int mark = this.ranks[point] + 1;
+		for (int i = 0; i < this.outArcCounts[point]; ++i) {
+			updateNeighbor(this.arcTargets[outs[i]], queue, mark);
+		}
+		final int[] ins = this.inArcs[point];
+		for (int i = 0; i < this.inArcCounts[point]; ++i) {
+			updateNeighbor(this.arcSources[ins[i]], queue, mark);
+		}
+	}
+
+	private void updateNeighbor(int neighbor, PointIndexHeap queue, int mark) {
+		if (!this.contracted[neighbor] && this.updateMarks[neighbor] != mark) {
+			this.updateMarks[neighbor] = mark;
+			++this.contractedNeighbors[neighbor];
+			this.outArcCounts[neighbor] = removeContractedArcs(this.outArcs[neighbor], this.outArcCounts[neighbor],
+					this.arcTargets);
+			this.inArcCounts[neighbor] = removeContractedArcs(this.inArcs[neighbor], this.inArcCounts[neighbor],
+					this.arcSources);
+			queue.update(neighbor, contract(neighbor, true));
+		}
+	}
+
+	/** Remove from the given list the arcs that are connected to contracted points.
+	 *
+	 * @param arcs the list of arcs.
+	 * @param size the size of the list.
+	 * @param points the points at the other ends of the arcs.
+	 * @return the new size of the list.
+	 */
+	private int removeContractedArcs(int[] arcs, int size, int[] points) {
+		int newSize = 0;
+		for (int i = 0; i < size; ++i) {
+			final int arc = arcs[i];
+			if (!this.contracted[points[arc]]) {
+				arcs[newSize] = arc;
+				++newSize;
+			}
+		}
+		return newSize;
+	}
+
+	/** Contract the given point.
+	 *
+	 * @param point the point to contract.
+	 * @param simulate indicates if the shortcuts are only counted, or added.
+	 * @return the priority of the point.
+	 */
+	private double contract(int point, boolean simulate) {
+		final int[] ins = this.inArcs[point];
+		final int[] outs = this.outArcs[point];
+		final int inCount = this.inArcCounts[point];
+		final int outCount = this.outArcCounts[point];
+		int shortcuts = 0;
+		int removedArcs = 0;
+		for (int i = 0; i < inCount; ++i) {
+			final int inArc = ins[i];
+			final int source = this.arcSources[inArc];
+			if (!this.contracted[source]) {
+				++removedArcs;
+				final double inCost = this.arcCosts[inArc];
+				double maxCost = Double.NEGATIVE_INFINITY;
+				for (int j = 0; j < outCount; ++j) {
+					final int target = this.arcTargets[outs[j]];
+					if (!this.contracted[target] && target != source) {
+						maxCost = Math.max(maxCost, inCost + this.arcCosts[outs[j]]);
+					}
+				}
+				if (maxCost >= 0) {
+					searchWitnesses(source, point, maxCost,
+							simulate ? SIMULATION_WITNESS_SEARCH_LIMIT : WITNESS_SEARCH_LIMIT);
+					for (int j = 0; j < outCount; ++j) {
+						final int outArc = outs[j];
+						final int target = this.arcTargets[outArc];
+						final double cost = inCost + this.arcCosts[outArc];
+						if (!this.contracted[target] && target != source && getWitnessCost(target) > cost) {
+							++shortcuts;
+							if (!simulate) {
+								addShortcut(source, target, cost, inArc, outArc);
+							}
+						}
+					}
+				}
+			}
+		}
+		for (int j = 0; j < outCount; ++j) {
+			if (!this.contracted[this.arcTargets[outs[j]]]) {
+				++removedArcs;
+			}
+		}
+		return shortcuts - removedArcs + this.contractedNeighbors[point];
+	}
+
+	private double getWitnessCost(int point) {
+		return this.witnessStamps[point] == this.witnessStamp ? this.witnessCosts[point] : Double.POSITIVE_INFINITY;
+	}
+
+	/** Run a bounded Dijkstra search from the given source, that ignores the contracted points
+	 * and the given point.
+	 *
+	 * @param source the source of the search.
+	 * @param ignoredPoint the point to ignore.
+	 * @param maxCost the maximal cost to search for.
+	 * @param maxSettled the maximal number of points to settle.
+	 */
+	private void searchWitnesses(int source, int ignoredPoint, double maxCost, int maxSettled) {
+		++this.witnessStamp;
+		if (this.witnessStamp == Integer.MAX_VALUE) {
+			Arrays.fill(this.witnessStamps, 0);
+			this.witnessStamp = 1;
+		}
+		final PointIndexHeap heap = this.witnessHeap;
+		heap.clear();
+		this.witnessStamps[source] = this.witnessStamp;
+		this.witnessCosts[source] = 0;
+		heap.offer(source, 0);
+		int settled = 0;
+		while (!heap.isEmpty() && heap.peekKey() <= maxCost && settled < maxSettled) {
+			final int point = heap.poll();
+			++settled;
+			final double pointCost = this.witnessCosts[point];
+			final int[] outs = this.outArcs[point];
+			for (int i = 0; i < this.outArcCounts[point]; ++i) {
+				final int arc = outs[i];
+				final int target = this.arcTargets[arc];
+				if (target != ignoredPoint && !this.contracted[target]) {
+					final double cost = pointCost + this.arcCosts[arc];
+					if (cost < getWitnessCost(target)) {
+						this.witnessStamps[target] = this.witnessStamp;
+						this.witnessCosts[target] = cost;
+						heap.offer(target, cost);
+					}
+				}
+			}
+		}
+	}
+
+	/** Create the upward graphs from the arcs and the ranks of the points.
+	 *
+	 * @return the hierarchy.
+	 */
+	private ContractionHierarchy createHierarchy() {
+		final int[] forwardOffsets = new int[this.pointCount + 1];
+		final int[] backwardOffsets = new int[this.pointCount + 1];
+		for (int arc = 0; arc < this.arcCount; ++arc) {
+			final int source = this.arcSources[arc];
+			final int target = this.arcTargets[arc];
+			if (this.ranks[source] < this.ranks[target]) {
+				++forwardOffsets[source + 1];
+			} else {
+				++backwardOffsets[target + 1];
+			}
+		}
+		for (int point = 0; point < this.pointCount; ++point) {
+			forwardOffsets[point + 1] += forwardOffsets[point];
+			backwardOffsets[point + 1] += backwardOffsets[point];
+		}
+		final int[] forwardEdges = new int[forwardOffsets[this.pointCount] * ContractionHierarchy.EDGE_SIZE];
+		final double[] forwardCosts = new double[forwardOffsets[this.pointCount]];
+		final int[] backwardEdges = new int[backwardOffsets[this.pointCount] * ContractionHierarchy.EDGE_SIZE];
+		final double[] backwardCosts = new double[backwardOffsets[this.pointCount]];
+		final int[] forwardFill = Arrays.copyOf(forwardOffsets, this.pointCount);
+		final int[] backwardFill = Arrays.copyOf(backwardOffsets, this.pointCount);
+		for (int arc = 0; arc < this.arcCount; ++arc) {
+			final int source = this.arcSources[arc];
+			final int target = this.arcTargets[arc];
+			if (this.ranks[source] < this.ranks[target]) {
+				final int edge = forwardFill[source]++;
+				forwardEdges[edge * ContractionHierarchy.EDGE_SIZE] = target;
+				forwardEdges[edge * ContractionHierarchy.EDGE_SIZE + 1] = arc;
+				forwardCosts[edge] = this.arcCosts[arc];
+			} else {
+				final int edge = backwardFill[target]++;
+				backwardEdges[edge * ContractionHierarchy.EDGE_SIZE] = source;
+				backwardEdges[edge * ContractionHierarchy.EDGE_SIZE + 1] = arc;
+				backwardCosts[edge] = this.arcCosts[arc];
+			}
+		}
+		return new ContractionHierarchy(this.segmentCount, this.signature,
+				Arrays.copyOf(this.arcDescriptions, this.arcCount * ContractionHierarchy.ARC_SIZE),
+				forwardOffsets, forwardEdges, forwardCosts,
+				backwardOffsets, backwardEdges, backwardCosts);
+	}
+
+}
@@ -0,0 +1,463 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.Arrays;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.graph.Graph;
+import org.arakhne.afc.math.graph.GraphPath;
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphSegment;
+import org.arakhne.afc.vmutil.locale.Locale;
+
+/** Query engine for the shortest paths in a {@link ContractionHierarchy contraction hierarchy}.
+ *
+ * <p>A bidirectional Dijkstra search is run on the upward graphs of the hierarchy,
+ * with the stall-on-demand pruning. The shortcuts of the found path are unpacked into the
+ * segments of the graph.
+ *
+ * <p>The query engine keeps its buffers between two searches, and no array is allocated during
+ * a search. Consequently, a query engine is not thread-safe: each thread should have its
+ * own engine. The hierarchy may be shared by the engines.
+ *
+ * @param <GP> is the type of the graph graph itself.
+ * @param <PT> is the type of node in the graph
+ * @param <ST> is the type of edge in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ * @see ContractionHierarchy
+ */
+public class ContractionHierarchyQuery<GP extends GraphPath<GP, ST, PT>, ST extends GraphSegment<ST, PT>,
+		PT extends GraphPoint<PT, ST>> {
+
+	private final ContractionHierarchy hierarchy;
+
+	private final GraphIndex<ST, PT> index;
+
+	private AStarPathFactory<GP, ST, PT> pathFactory;
+
+	private final Search forward;
+
+	private final Search backward;
+
+	private int meetingPoint;
+
+	private double meetingCost;
+
+	private int[] segments = new int[ContractionHierarchy.EDGE_SIZE];
+
+	private int[] arcStack = new int[ContractionHierarchy.EDGE_SIZE];
+
+	/**
+	 * @param hierarchy the contraction hierarchy.
+	 * @param graph the graph from which the hierarchy was computed.
+	 * @param pathFactory1 is the factory to create new paths.
+	 * @throws IllegalArgumentException if the graph does not correspond to the hierarchy.
+	 */
+	public ContractionHierarchyQuery(ContractionHierarchy hierarchy, Graph<ST, PT> graph,
+			AStarPathFactory<GP, ST, PT> pathFactory1) {
+		assert hierarchy != null;
+		this.hierarchy = hierarchy;
+		this.index = new GraphIndex<>(graph);
+		if (!hierarchy.isCompatible(this.index)) {
+			throw new IllegalArgumentException(Locale.getString("E1")); //$NON-NLS-1$
+		}
+		this.pathFactory = pathFactory1;
+		final int pointCount = hierarchy.getPointCount();
+		this.forward = new Search(pointCount, hierarchy.forwardOffsets, hierarchy.forwardEdges, hierarchy.forwardCosts);
+		this.backward = new Search(pointCount, hierarchy.backwardOffsets, hierarchy.backwardEdges, hierarchy.backwardCosts);
+	}
+
+	/**
+	 * @param hierarchy the contraction hierarchy.
+	 * @param graph the graph from which the hierarchy was computed.
+	 * @param pathType is the type of the path to create.
+	 * @throws IllegalArgumentException if the graph does not correspond to the hierarchy.
+	 */
+	public ContractionHierarchyQuery(ContractionHierarchy hierarchy, Graph<ST, PT> graph,
+			Class<? extends GP> pathType) {
+		this(hierarchy, graph, new AStar.AStarReflectionPathFactory<>(pathType));
+	}
+
+	/** Replies the contraction hierarchy used by this query engine.
+	 *
+	 * @return the hierarchy.
+	 */
+	@Pure
+	public ContractionHierarchy getHierarchy() {
+		return this.hierarchy;
+	}
+
+	/** Set the path factory used by the query engine.
+	 *
+	 * @param factory is the new factory.
+	 * @return the old factory
+	 */
+	public AStarPathFactory<GP, ST, PT> setPathFactory(AStarPathFactory<GP, ST, PT> factory) {
+		final AStarPathFactory<GP, ST, PT> old = this.pathFactory;
+		this.pathFactory = factory;
+		return old;
+	}
+
+	/** Replies the path factory used by the query engine.
+	 *
+	 * @return the factory
+	 */
+	@Pure
+	public AStarPathFactory<GP, ST, PT> getPathFactory() {
+		return this.pathFactory;
+	}
+
+	/** Create an empty path.
+	 *
+	 * <p>By default this function invokes the path factory
+	 * passed as parameter of the constructor.
+	 *
+	 * @param startPoint is the first point in the path.
+	 * @param segment is the first connection to follow.
+	 * @return the path instance.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Pure
+	protected GP newPath(PT startPoint, ST segment) {
+		if (this.pathFactory != null) {
+			return this.pathFactory.newPath(startPoint, segment);
+		}
+		try {
+			return (GP) new GraphPath(segment, startPoint);
+		} catch (Throwable e) {
+			throw new IllegalStateException(Locale.getString(AStar.class, "E2"), e); //$NON-NLS-1$
+		}
+	}
+
+	/** Add the given segment into the given path.
+	 *
+	 * <p>By default this function invokes the path factory
+	 * passed as parameter of the constructor.
+	 *
+	 * @param path is the path to build.
+	 * @param segment is the segment to add.
+	 * @return <code>true</code> if the segment was added;
+	 *     otherwise <code>false</code>.
+	 */
+	protected boolean addToPath(GP path, ST segment) {
+		if (this.pathFactory != null) {
+			return this.pathFactory.addToPath(path, segment);
+		}
+		assert path != null;
+		assert segment != null;
+		return path.add(segment);
+	}
+
+	/** Compute the cost of the shortest path between the given points.
+	 *
+	 * @param startPoint is the starting point.
+	 * @param endPoint is the point to reach.
+	 * @return the cost of the shortest path, or {@link Double#POSITIVE_INFINITY}
+	 *     if there is no path.
+	 */
+	public double computeCost(PT startPoint, PT endPoint) {
+		if (search(startPoint, endPoint)) {
+			return this.meetingCost;
+		}
+		return Double.POSITIVE_INFINITY;
+	}
+
+	/** Compute the shortest path between the given points.
+	 *
+	 * @param startPoint is the starting point.
+	 * @param endPoint is the point to reach.
+	 * @return the found path, or <code>null</code> if none found.
+	 */
+	public GP solve(PT startPoint, PT endPoint) {
+		if (!search(startPoint, endPoint)) {
+			return null;
+		}
+		final int count = unpackPath();
+		if (count == 0) {
+			return null;
+		}
+		final GP path = newPath(startPoint, this.index.getSegment(this.segments[0]));
+		for (int i = 1; i < count; ++i) {
+			addToPath(path, this.index.getSegment(this.segments[i]));
+		}
+		return path;
+	}
+
+	/** Run the bidirectional search.
+	 *
+	 * @param startPoint is the starting point.
+	 * @param endPoint is the point to reach.
+	 * @return <code>true</code> if a path was found.
+	 */
+	private boolean search(PT startPoint, PT endPoint) {
+		assert startPoint != null && endPoint != null;
+		final int start = this.index.indexOf(startPoint);
+		final int end = this.index.indexOf(endPoint);
+		if (start < 0 || end < 0) {
+			return false;
+		}
+		this.forward.reset(start);
+		this.backward.reset(end);
+		this.meetingPoint = start == end ? start : -1;
+		this.meetingCost = start == end ? 0 : Double.POSITIVE_INFINITY;
+		while (Math.min(this.forward.heap.peekKey(), this.backward.heap.peekKey()) < this.meetingCost) {
+			if (this.forward.heap.peekKey() <= this.backward.heap.peekKey()) {
+				settle(this.forward, this.backward);
+			} else {
+				settle(this.backward, this.forward);
+			}
+		}
+		return this.meetingPoint >= 0;
+	}
+
+	private void settle(Search search, Search opposite) {
+		final int point = search.heap.poll();
+		final double cost = search.getCost(point);
+		updateMeeting(point, cost + opposite.getCost(point));
+		if (!search.isStalled(point, cost, opposite)) {
+			for (int edge = search.offsets[point]; edge < search.offsets[point + 1]; ++edge) {
+				final int target = search.edges[edge * ContractionHierarchy.EDGE_SIZE];
+				final double targetCost = cost + search.costs[edge];
+				if (targetCost < search.getCost(target)) {
+					search.reach(target, targetCost, point, search.edges[edge * ContractionHierarchy.EDGE_SIZE + 1]);
+					updateMeeting(target, targetCost + opposite.getCost(target));
+				}
+			}
+		}
+	}
+
+	private void updateMeeting(int point, double cost) {
+		if (cost < this.meetingCost) {
+			this.meetingCost = cost;
+			this.meetingPoint = point;
+		}
+	}
+
+	/** Unpack the arcs of the path that was found by the last search into segments.
+	 *
+	 * @return the number of segments.
+	 */
+	private int unpackPath() {
+		int count = 0;
+		// The forward arcs are unpacked from the meeting point to the start point.
+		int point = this.meetingPoint;
+		int arc = this.forward.getArc(point);
+		while (arc >= 0) {
+			count = unpackArc(arc, count, true);
+			point = this.forward.getParent(point);
+			arc = this.forward.getArc(point);
+		}
+		reverse(this.segments, count);
+		point = this.meetingPoint;
+		arc = this.backward.getArc(point);
+		while (arc >= 0) {
+			count = unpackArc(arc, count, false);
+			point = this.backward.getParent(point);
+			arc = this.backward.getArc(point);
+		}
+		return count;
+	}
+
+	/** Unpack the given arc into segments.
+	 *
+	 * @param arc the arc to unpack.
+	 * @param count the number of segments already unpacked.
+	 * @param reversed indicates if the segments are unpacked in the reverse order.
+	 * @return the new number of segments.
+	 */
+	private int unpackArc(int arc, int count, boolean reversed) {
+		final int[] arcs = this.hierarchy.arcs;
+		int newCount = count;
+		int stackSize = 0;
+		this.arcStack[stackSize++] = arc;
+		while (stackSize > 0) {
+			final int current = this.arcStack[--stackSize];
+			final int offset = current * ContractionHierarchy.ARC_SIZE;
+			final int segment = arcs[offset];
+			if (segment >= 0) {
+				if (newCount == this.segments.length) {
+					this.segments = Arrays.copyOf(this.segments, newCount * 2);
+				}
+				this.segments[newCount++] = segment;
+			} else {
+				if (stackSize + 2 > this.arcStack.length) {
+					this.arcStack = Arrays.copyOf(this.arcStack, this.arcStack.length * 2);
+				}
+				// The last pushed arc is unpacked first.
+				final int first = arcs[offset + 1];
+				final int second = arcs[offset + 2];
+				this.arcStack[stackSize++] = reversed ? first : second;
+				this.arcStack[stackSize++] = reversed ? second : first;
+			}
+		}
+		return newCount;
+	}
+
+	private static void reverse(int[] array, int count) {
+		for (int i = 0, j = count - 1; i < j; ++i, --j) {
+			final int tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/** State of the search in one direction.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private static class Search {
+
+		/** Open points.
+		 */
+		final PointIndexHeap heap;
+
+		/** Index of the first edge of each point in the upward graph.
+		 */
+		final int[] offsets;
+
+		/** Edges of the upward graph.
+		 */
+		final int[] edges;
+
+		/** Costs of the edges of the upward graph.
+		 */
+		final double[] costs;
+
+		private final double[] pointCosts;
+
+		private final int[] parents;
+
+		private final int[] arcs;
+
+		private final int[] stamps;
+
+		private int stamp;
+
+		/** Constructor.
+		 *
+		 * @param pointCount the number of points.
+		 * @param offsets the index of the first edge of each point in the upward graph.
+		 * @param edges the edges of the upward graph.
+		 * @param costs the costs of the edges of the upward graph.
+		 */
+		Search(int pointCount, int[] offsets, int[] edges, double[] costs) {
+			this.heap = new PointIndexHeap(pointCount);
+			this.offsets = offsets;
+			this.edges = edges;
+			this.costs = costs;
+			this.pointCosts = new double[pointCount];
+			this.parents = new int[pointCount];
+			this.arcs = new int[pointCount];
+			this.stamps = new int[pointCount];
+		}
+
+		/** Reset the search.
+		 *
+		 * @param origin the index of the origin of the search.
+		 */
+		void reset(int origin) {
+			++this.stamp;
+			if (this.stamp == Integer.MAX_VALUE) {
+				Arrays.fill(this.stamps, 0);
+				this.stamp = 1;
+			}
+			this.heap.clear();
+			reach(origin, 0, -1, -1);
+		}
+
+		/** Reach the given point.
+		 *
+		 * @param point the index of the point.
+		 * @param cost the cost from the origin of the search.
+		 * @param parent the index of the previous point.
+		 * @param arc the index of the arc from the previous point.
+		 */
+		void reach(int point, double cost, int parent, int arc) {
+			this.stamps[point] = this.stamp;
+			this.pointCosts[point] = cost;
+			this.parents[point] = parent;
+			this.arcs[point] = arc;
+			this.heap.offer(point, cost);
+		}
+
+		/** Replies the cost from the origin of the search to the given point.
+		 *
+		 * @param point the index of the point.
+		 * @return the cost, or {@link Double#POSITIVE_INFINITY} if the point was not reached.
+		 */
+		@Pure
+		double getCost(int point) {
+			return this.stamps[point] == this.stamp ? this.pointCosts[point] : Double.POSITIVE_INFINITY;
+		}
+
+		/** Replies the previous point of the given point.
+		 *
+		 * @param point the index of the point.
+		 * @return the index of the previous point.
+		 */
+		@Pure
+		int getParent(int point) {
+			return this.parents[point];
+		}
+
+		/** Replies the arc that is used for reaching the given point.
+		 *
+		 * @param point the index of the point.
+		 * @return the index of the arc, or <code>-1</code>.
+		 */
+		@Pure
+		int getArc(int point) {
+			return this.stamps[point] == this.stamp ? this.arcs[point] : -1;
+		}
+
+		/** Replies if the given point could be reached with a lower cost from a more important
+		 * point. In this case, the point is not on a shortest path, and its edges are not followed.
+		 *
+		 * @param point the index of the point.
+		 * @param cost the cost of the point.
+		 * @param opposite the search in the opposite direction, that contains the edges that are
+		 *     entering into the point in this search.
+		 * @return <code>true</code> if the point is stalled.
+		 */
+		@Pure
+		boolean isStalled(int point, double cost, Search opposite) {
+			for (int edge = opposite.offsets[point]; edge < opposite.offsets[point + 1]; ++edge) {
+				final int source = opposite.edges[edge * ContractionHierarchy.EDGE_SIZE];
+				if (getCost(source) + opposite.costs[edge] < cost) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+}
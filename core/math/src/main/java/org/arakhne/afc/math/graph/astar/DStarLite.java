@@ -0,0 +1,604 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.graph.Graph;
+import org.arakhne.afc.math.graph.GraphPath;
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphPoint.GraphPointConnection;
+import org.arakhne.afc.math.graph.GraphSegment;
+import org.arakhne.afc.vmutil.locale.Locale;
+
+/** This class provides an implementation of the D* Lite algorithm, an incremental
+ * version of the A* algorithm.
+ *
+ * <p>The search is run backward, from the point to reach to the starting point, and
+ * its state is kept from one call to {@link #solve(GraphPoint, GraphPoint)} to another.
+ * When the costs of some segments or points are changed, the planner must be notified with
+ * {@link #segmentCostChanged(GraphSegment)} or {@link #pointCostChanged(GraphPoint)}; only the part of
+ * the search that depends on the changed costs is repaired during the next call to
+ * {@link #solve(GraphPoint, GraphPoint)}. The starting point may also move between two calls,
+ * e.g. when an agent is following the path, without restarting the search.
+ * When the point to reach is changed, the search is restarted.
+ *
+ * <p>The costs are computed in the same way as the {@link AStar A* algorithm}:
+ * the cost of a step is the cost of the point that is left plus the cost of the traversed segment.
+ * The heuristic must be consistent, i.e. it must never overestimate the cost between two points.
+ * Because the search is not following a path, the orientation tool is invoked with a
+ * <code>null</code> entry segment.
+ *
+ * <p>The points and the segments of the graph are numbered when the planner is created.
+ * The topology of the graph must not be changed after.
+ *
+ * @param <GP> is the type of the graph graph itself.
+ * @param <PT> is the type of node in the graph
+ * @param <ST> is the type of edge in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ * @see AStar
+ */
+public class DStarLite<GP extends GraphPath<GP, ST, PT>, ST extends GraphSegment<ST, PT>,
+		PT extends GraphPoint<PT, ST>> {
+
+	private final GraphIndex<ST, PT> index;
+
+	private final Map<ST, Integer> segmentIndexes = new HashMap<>();
+
+	private final AStarHeuristic<? super PT> heuristic;
+
+	private AStarPathFactory<GP, ST, PT> pathFactory;
+
+	private AStarSegmentOrientation<ST, PT> segmentOrientation;
+
+	private AStarCostComputer<? super ST, ? super PT> costComputer;
+
+	/** Point at the beginning of each arc. */
+	private int[] arcBegins;
+
+	/** Point at the end of each arc. */
+	private int[] arcEnds;
+
+	/** Segment of each arc. */
+	private int[] arcSegments;
+
+	/** Cost of each arc. */
+	private double[] arcCosts;
+
+	/** Index of the first outgoing arc of each point in {@link #outArcs}. */
+	private int[] outOffsets;
+
+	private int[] outArcs;
+
+	/** Index of the first incoming arc of each point in {@link #inArcs}. */
+	private int[] inOffsets;
+
+	private int[] inArcs;
+
+	/** Arcs of each segment, or <code>-1</code>. */
+	private int[] segmentArcs;
+
+	private final double[] costs;
+
+	private final double[] lookaheads;
+
+	private final PointIndexHeap openList;
+
+	private int start = -1;
+
+	private int goal = -1;
+
+	private double keyModifier;
+
+	private int expansionCount;
+
+	/**
+	 * @param graph is the graph to explore.
+	 * @param heuristic is the heuristic to use by the algorithm.
+	 * @param pathFactory1 is the factory to create new paths.
+	 */
+	public DStarLite(Graph<ST, PT> graph, AStarHeuristic<? super PT> heuristic, AStarPathFactory<GP, ST, PT> pathFactory1) {
+		assert graph != null;
+		assert heuristic != null;
+		this.heuristic = heuristic;
+		this.pathFactory = pathFactory1;
+		this.index = new GraphIndex<>(graph);
+		for (int i = 0; i < this.index.getSegmentCount(); ++i) {
+			this.segmentIndexes.put(this.index.getSegment(i), Integer.valueOf(i));
+		}
+		final int pointCount = this.index.getPointCount();
+		this.costs = new double[pointCount];
+		this.lookaheads = new double[pointCount];
+		this.openList = new PointIndexHeap(pointCount);
+		buildArcs();
+	}
+
+	/**
+	 * @param graph is the graph to explore.
+	 * @param heuristic is the heuristic to use by the algorithm.
+	 * @param pathType is the type of the path to create.
+	 */
+	public DStarLite(Graph<ST, PT> graph, AStarHeuristic<? super PT> heuristic, Class<? extends GP> pathType) {
+		this(graph, heuristic, new AStar.AStarReflectionPathFactory<>(pathType));
+	}
+
+	/** Build the arcs of the graph.
+	 */
+	private void buildArcs() {
+		final int pointCount = this.index.getPointCount();
+		final int segmentCount = this.index.getSegmentCount();
+		this.arcBegins = new int[segmentCount * 2];
+		this.arcEnds = new int[segmentCount * 2];
+		this.arcSegments = new int[segmentCount * 2];
+		this.segmentArcs = new int[segmentCount * 2];
+		Arrays.fill(this.segmentArcs, -1);
+		this.outOffsets = new int[pointCount + 1];
+		this.inOffsets = new int[pointCount + 1];
+		int arcCount = 0;
+		for (int i = 0; i < segmentCount; ++i) {
+			final int begin = this.index.getBeginPointIndex(i);
+			final int end = this.index.getEndPointIndex(i);
+			if (begin != end) {
+				final ST segment = this.index.getSegment(i);
+				if (isTraversable(segment, this.index.getPoint(begin))) {
+					arcCount = addArc(arcCount, begin, end, i);
+				}
+				if (isTraversable(segment, this.index.getPoint(end))) {
+					arcCount = addArc(arcCount, end, begin, i);
+				}
+			}
+		}
+		for (int i = 0; i < pointCount; ++i) {
+			this.outOffsets[i + 1] += this.outOffsets[i];
+			this.inOffsets[i + 1] += this.inOffsets[i];
+		}
+		this.outArcs = new int[arcCount];
+		this.inArcs = new int[arcCount];
+		final int[] outPositions = Arrays.copyOf(this.outOffsets, pointCount);
+		final int[] inPositions = Arrays.copyOf(this.inOffsets, pointCount);
+		for (int i = 0; i < arcCount; ++i) {
+			this.outArcs[outPositions[this.arcBegins[i]]++] = i;
+			this.inArcs[inPositions[this.arcEnds[i]]++] = i;
+		}
+		this.arcCosts = new double[arcCount];
+		for (int i = 0; i < arcCount; ++i) {
+			this.arcCosts[i] = computeArcCost(i);
+		}
+		reset();
+	}
+
+	private int addArc(int arc, int begin, int end, int segment) {
+		this.arcBegins[arc] = begin;
+		this.arcEnds[arc] = end;
+		this.arcSegments[arc] = segment;
+		this.segmentArcs[this.segmentArcs[segment * 2] < 0 ? segment * 2 : segment * 2 + 1] = arc;
+		++this.outOffsets[begin + 1];
+		++this.inOffsets[end + 1];
+		return arc + 1;
+	}
+
+	private boolean isTraversable(ST segment, PT point) {
+		if (this.segmentOrientation == null) {
+			return true;
+		}
+		for (final GraphPointConnection<PT, ST> connection : point.getConnections()) {
+			if (segment.equals(connection.getGraphSegment())) {
+				return this.segmentOrientation.isTraversable(null, connection);
+			}
+		}
+		return false;
+	}
+
+	/** Set the path factory used by the algorithm.
+	 *
+	 * @param factory is the new factory.
+	 * @return the old factory
+	 * @see #setPathType(Class)
+	 */
+	public AStarPathFactory<GP, ST, PT> setPathFactory(AStarPathFactory<GP, ST, PT> factory) {
+		final AStarPathFactory<GP, ST, PT> old = this.pathFactory;
+		this.pathFactory = factory;
+		return old;
+	}
+
+	/** Set the path factory used by the algorithm.
+	 *
+	 * @param type is the type of path to instance with a reflection-based factory.
+	 * @return the old factory
+	 * @see #setPathFactory(AStarPathFactory)
+	 */
+	public AStarPathFactory<GP, ST, PT> setPathType(Class<? extends GP> type) {
+		final AStarPathFactory<GP, ST, PT> old = this.pathFactory;
+		this.pathFactory = new AStar.AStarReflectionPathFactory<>(type);
+		return old;
+	}
+
+	/** Replies the path factory used by the algorithm.
+	 *
+	 * @return the factory
+	 */
+	@Pure
+	public AStarPathFactory<GP, ST, PT> getPathFactory() {
+		return this.pathFactory;
+	}
+
+	/** Replies the evaluation heuristic used by the algorithm.
+	 *
+	 * @return the evaluation heuristic.
+	 */
+	@Pure
+	public AStarHeuristic<? super PT> getEvaluationHeuristic() {
+		return this.heuristic;
+	}
+
+	/** Set the tool that permits to retreive the orinetation of the segments.
+	 *
+	 * <p>The search is restarted.
+	 *
+	 * @param tool the tool.
+	 * @return the old tool.
+	 */
+	public AStarSegmentOrientation<ST, PT> setSegmentOrientationTool(AStarSegmentOrientation<ST, PT> tool) {
+		final AStarSegmentOrientation<ST, PT> old = this.segmentOrientation;
+		this.segmentOrientation = tool;
+		buildArcs();
+		return old;
+	}
+
+	/** Replies the tool that permits to retreive the orinetation of the segments.
+	 *
+	 * @return the tool.
+	 */
+	@Pure
+	public AStarSegmentOrientation<ST, PT> getSegmentOrientationTool() {
+		return this.segmentOrientation;
+	}
+
+	/** Set the tool that permits to compute the costs of the nodes and the edges.
+	 *
+	 * <p>The search is restarted.
+	 *
+	 * @param costComputer is the object that permits to compute the costs.
+	 * @return the old cost computer.
+	 */
+	public AStarCostComputer<? super ST, ? super PT> setCostComputer(AStarCostComputer<? super ST, ? super PT> costComputer) {
+		final AStarCostComputer<? super ST, ? super PT> old = this.costComputer;
+		this.costComputer = costComputer;
+		for (int i = 0; i < this.arcCosts.length; ++i) {
+			this.arcCosts[i] = computeArcCost(i);
+		}
+		reset();
+		return old;
+	}
+
+	/** Replies the tool that permits to compute the costs of the nodes and the edges.
+	 *
+	 * @return the object that permits to compute the costs.
+	 */
+	@Pure
+	public AStarCostComputer<? super ST, ? super PT> getCostComputer() {
+		return this.costComputer;
+	}
+
+	/** Replies the number of points that were expanded during the last call to
+	 * {@link #solve(GraphPoint, GraphPoint)}.
+	 *
+	 * @return the number of expanded points.
+	 */
+	@Pure
+	public int getExpansionCount() {
+		return this.expansionCount;
+	}
+
+	/** Evaluate the distance between two points in the graph.
+	 *
+	 * <p>By default, this function uses the heuristic passed as parameter
+	 * of the constructor.
+	 *
+	 * @param p1 the first point.
+	 * @param p2 the second point.
+	 * @return the evaluated distance between {@code p1} and {@code p2}.
+	 */
+	@Pure
+	protected double estimate(PT p1, PT p2) {
+		assert p1 != null && p2 != null;
+		return this.heuristic.evaluate(p1, p2);
+	}
+
+	/** Compute and replies the cost to traverse the given graph point.
+	 *
+	 * @param pt the point.
+	 * @return the cost to traverse the point.
+	 */
+	@Pure
+	protected double computeCostFor(PT pt) {
+		if (this.costComputer != null) {
+			return this.costComputer.computeCostFor(pt);
+		}
+		return 0;
+	}
+
+	/** Compute and replies the cost to traverse the given graph segment.
+	 *
+	 * @param segment the segment.
+	 * @return the cost to traverse the segment.
+	 */
+	@Pure
+	protected double computeCostFor(ST segment) {
+		if (this.costComputer != null) {
+			return this.costComputer.computeCostFor(segment);
+		}
+		return segment.getLength();
+	}
+
+	/** Create an empty path.
+	 *
+	 * <p>By default this function invokes the path factory
+	 * passed as parameter of the constructor.
+	 *
+	 * @param startPoint is the first point in the path.
+	 * @param segment is the first connection to follow.
+	 * @return the path instance.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Pure
+	protected GP newPath(PT startPoint, ST segment) {
+		if (this.pathFactory != null) {
+			return this.pathFactory.newPath(startPoint, segment);
+		}
+		try {
+			return (GP) new GraphPath(segment, startPoint);
+		} catch (Throwable e) {
+			throw new IllegalStateException(Locale.getString(AStar.class, "E2"), e); //$NON-NLS-1$
+		}
+	}
+
+	/** Add the given segment into the given path.
+	 *
+	 * <p>By default this function invokes the path factory
+	 * passed as parameter of the constructor.
+	 *
+	 * @param path is the path to build.
+	 * @param segment is the segment to add.
+	 * @return <code>true</code> if the segment was added;
+	 *     otherwise <code>false</code>.
+	 */
+	protected boolean addToPath(GP path, ST segment) {
+		if (this.pathFactory != null) {
+			return this.pathFactory.addToPath(path, segment);
+		}
+		assert path != null;
+		assert segment != null;
+		return path.add(segment);
+	}
+
+	private double computeArcCost(int arc) {
+		return computeCostFor(this.index.getPoint(this.arcBegins[arc]))
+				+ computeCostFor(this.index.getSegment(this.arcSegments[arc]));
+	}
+
+	/** Forget the state of the search. The next search will start from scratch.
+	 */
+	public void reset() {
+		this.openList.clear();
+		Arrays.fill(this.costs, Double.POSITIVE_INFINITY);
+		Arrays.fill(this.lookaheads, Double.POSITIVE_INFINITY);
+		this.start = -1;
+		this.goal = -1;
+		this.keyModifier = 0;
+	}
+
+	/** Notify the planner that the cost of the given segment has changed.
+	 *
+	 * @param segment the segment.
+	 */
+	public void segmentCostChanged(ST segment) {
+		final Integer segmentIndex = this.segmentIndexes.get(segment);
+		if (segmentIndex != null) {
+			final int first = segmentIndex.intValue() * 2;
+			for (int i = first; i < first + 2; ++i) {
+				final int arc = this.segmentArcs[i];
+				if (arc >= 0) {
+					arcCostChanged(arc);
+				}
+			}
+		}
+	}
+
+	/** Notify the planner that the cost of the given point has changed.
+	 *
+	 * @param point the point.
+	 */
+	public void pointCostChanged(PT point) {
+		final int pointIndex = this.index.indexOf(point);
+		if (pointIndex >= 0) {
+			for (int i = this.outOffsets[pointIndex]; i < this.outOffsets[pointIndex + 1]; ++i) {
+				arcCostChanged(this.outArcs[i]);
+			}
+		}
+	}
+
+	private void arcCostChanged(int arc) {
+		final double oldCost = this.arcCosts[arc];
+		final double newCost = computeArcCost(arc);
+		this.arcCosts[arc] = newCost;
+		if (this.goal < 0 || oldCost == newCost) {
+			return;
+		}
+		final int begin = this.arcBegins[arc];
+		if (begin != this.goal) {
+			final double viaArc = oldCost + this.costs[this.arcEnds[arc]];
+			if (newCost < oldCost) {
+				this.lookaheads[begin] = Math.min(this.lookaheads[begin], newCost + this.costs[this.arcEnds[arc]]);
+			} else if (this.lookaheads[begin] == viaArc) {
+				this.lookaheads[begin] = computeLookahead(begin);
+			}
+			updatePoint(begin);
+		}
+	}
+
+	/** Run the algorithm from the given starting point.
+	 *
+	 * @param startPoint is the starting point.
+	 * @param endPoint is the point to reach.
+	 * @return the found path, or <code>null</code> if none found.
+	 */
+	public GP solve(PT startPoint, PT endPoint) {
+		this.expansionCount = 0;
+		final int newStart = this.index.indexOf(startPoint);
+		final int newGoal = this.index.indexOf(endPoint);
+		if (newStart < 0 || newGoal < 0 || newStart == newGoal) {
+			return null;
+		}
+		if (newGoal != this.goal) {
+			reset();
+			this.start = newStart;
+			this.goal = newGoal;
+			this.lookaheads[newGoal] = 0;
+			this.openList.update(newGoal, estimate(startPoint, endPoint), 0);
+		} else if (newStart != this.start) {
+			this.keyModifier += estimate(this.index.getPoint(this.start), startPoint);
+			this.start = newStart;
+		}
+		computeShortestPath();
+		return createPath(startPoint);
+	}
+
+	private double computeLookahead(int point) {
+		double lookahead = Double.POSITIVE_INFINITY;
+		for (int i = this.outOffsets[point]; i < this.outOffsets[point + 1]; ++i) {
+			final int arc = this.outArcs[i];
+			lookahead = Math.min(lookahead, this.arcCosts[arc] + this.costs[this.arcEnds[arc]]);
+		}
+		return lookahead;
+	}
+
+	private double primaryKey(int point) {
+		return Math.min(this.costs[point], this.lookaheads[point])
+				+ estimate(this.index.getPoint(this.start), this.index.getPoint(point)) + this.keyModifier;
+	}
+
+	private void updatePoint(int point) {
+		if (this.costs[point] != this.lookaheads[point]) {
+			this.openList.update(point, primaryKey(point), Math.min(this.costs[point], this.lookaheads[point]));
+		} else {
+			this.openList.remove(point);
+		}
+	}
+
+	private boolean isBeforeStart(double key, double secondaryKey) {
+		final double startSecondaryKey = Math.min(this.costs[this.start], this.lookaheads[this.start]);
+		final double startKey = primaryKey(this.start);
+		return key < startKey || (key == startKey && secondaryKey < startSecondaryKey);
+	}
+
+	private void computeShortestPath() {
+		final PointIndexHeap heap = this.openList;
+		while (!heap.isEmpty()
+				&& (isBeforeStart(heap.peekKey(), heap.peekSecondaryKey())
+				|| this.lookaheads[this.start] > this.costs[this.start])) {
+			final int point = heap.peek();
+			final double oldKey = heap.peekKey();
+			final double oldSecondaryKey = heap.peekSecondaryKey();
+			final double secondaryKey = Math.min(this.costs[point], this.lookaheads[point]);
+			final double key = primaryKey(point);
+			if (oldKey < key || (oldKey == key && oldSecondaryKey < secondaryKey)) {
+				heap.update(point, key, secondaryKey);
+			} else if (this.costs[point] > this.lookaheads[point]) {
+				++this.expansionCount;
+				this.costs[point] = this.lookaheads[point];
+				heap.remove(point);
+				for (int i = this.inOffsets[point]; i < this.inOffsets[point + 1]; ++i) {
+					final int arc = this.inArcs[i];
+					final int predecessor = this.arcBegins[arc];
+					if (predecessor != this.goal) {
+						this.lookaheads[predecessor] = Math.min(this.lookaheads[predecessor],
+								this.arcCosts[arc] + this.costs[point]);
+						updatePoint(predecessor);
+					}
+				}
+			} else {
+				++this.expansionCount;
+				final double oldCost = this.costs[point];
+				this.costs[point] = Double.POSITIVE_INFINITY;
+				for (int i = this.inOffsets[point]; i < this.inOffsets[point + 1]; ++i) {
+					final int arc = this.inArcs[i];
+					final int predecessor = this.arcBegins[arc];
+					if (predecessor != this.goal && this.lookaheads[predecessor] == this.arcCosts[arc] + oldCost) {
+						this.lookaheads[predecessor] = computeLookahead(predecessor);
+					}
+					updatePoint(predecessor);
+				}
+				if (point != this.goal) {
+					this.lookaheads[point] = computeLookahead(point);
+				}
+				updatePoint(point);
+			}
+		}
+	}
+
+	/** Create the path by following the best successors from the starting point.
+	 *
+	 * @param startPoint is the starting point.
+	 * @return the path, or <code>null</code> if the point to reach cannot be reached.
+	 */
+	private GP createPath(PT startPoint) {
+		if (Double.isInfinite(this.lookaheads[this.start])) {
+			return null;
+		}
+		GP path = null;
+		int point = this.start;
+		int remainingSteps = this.costs.length;
+		while (point != this.goal && remainingSteps > 0) {
+			int bestArc = -1;
+			double bestCost = Double.POSITIVE_INFINITY;
+			for (int i = this.outOffsets[point]; i < this.outOffsets[point + 1]; ++i) {
+				final int arc = this.outArcs[i];
+				final double cost = this.arcCosts[arc] + this.costs[this.arcEnds[arc]];
+				if (cost < bestCost) {
+					bestCost = cost;
+					bestArc = arc;
+				}
+			}
+			if (bestArc < 0) {
+				return null;
+			}
+			final ST segment = this.index.getSegment(this.arcSegments[bestArc]);
+			if (path == null) {
+				path = newPath(startPoint, segment);
+			} else {
+				addToPath(path, segment);
+			}
+			point = this.arcEnds[bestArc];
+			--remainingSteps;
+		}
+		return point == this.goal ? path : null;
+	}
+
+}
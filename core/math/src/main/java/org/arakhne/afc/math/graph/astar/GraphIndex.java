@@ -0,0 +1,180 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.graph.Graph;
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphSegment;
+
+/** Numbering of the points and the segments of a graph.
+ *
+ * <p>The segments are numbered in the iteration order of the graph.
+ * The points are numbered in the order they are encountered as begin or end point
+ * of the segments. Consequently, two graphs that are built in the same way have
+ * the same numbering.
+ *
+ * @param <ST> is the type of edge in the graph
+ * @param <PT> is the type of node in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public final class GraphIndex<ST extends GraphSegment<ST, PT>, PT extends GraphPoint<PT, ST>> {
+
+	private static final int SIGNATURE_PRIME = 31;
+
+	private final List<ST> segments = new ArrayList<>();
+
+	private final List<PT> points = new ArrayList<>();
+
+	private final Map<PT, Integer> pointIndexes = new HashMap<>();
+
+	private final int[] segmentPoints;
+
+	private final int signature;
+
+	/** Number the elements of the given graph.
+	 *
+	 * @param graph the graph.
+	 */
+	public GraphIndex(Graph<ST, PT> graph) {
+		assert graph != null;
+		for (final ST segment : graph) {
+			this.segments.add(segment);
+		}
+		this.segmentPoints = new int[this.segments.size() * 2];
+		int hash = 1;
+		int i = 0;
+		for (final ST segment : this.segments) {
+			final int begin = index(segment.getBeginPoint());
+			final int end = index(segment.getEndPoint());
+			this.segmentPoints[i] = begin;
+			this.segmentPoints[i + 1] = end;
+			hash = SIGNATURE_PRIME * hash + begin;
+			hash = SIGNATURE_PRIME * hash + end;
+			hash = SIGNATURE_PRIME * hash + Double.hashCode(segment.getLength());
+			i += 2;
+		}
+		this.signature = hash;
+	}
+
+	private int index(PT point) {
+		final Integer index = this.pointIndexes.get(point);
+		if (index != null) {
+			return index.intValue();
+		}
+		final int newIndex = this.points.size();
+		this.points.add(point);
+		this.pointIndexes.put(point, Integer.valueOf(newIndex));
+		return newIndex;
+	}
+
+	/** Replies the number of points.
+	 *
+	 * @return the number of points.
+	 */
+	@Pure
+	public int getPointCount() {
+		return this.points.size();
+	}
+
+	/** Replies the number of segments.
+	 *
+	 * @return the number of segments.
+	 */
+	@Pure
+	public int getSegmentCount() {
+		return this.segments.size();
+	}
+
+	/** Replies a signature of the topology of the graph, and of the lengths of its segments.
+	 *
+	 * <p>The costs that are computed by an {@link AStarCostComputer} are not part of the signature:
+	 * they cannot be checked when a hierarchy is used with a graph.
+	 *
+	 * @return the signature.
+	 */
+	@Pure
+	public int getSignature() {
+		return this.signature;
+	}
+
+	/** Replies the point with the given index.
+	 *
+	 * @param index the index.
+	 * @return the point.
+	 */
+	@Pure
+	public PT getPoint(int index) {
+		return this.points.get(index);
+	}
+
+	/** Replies the index of the given point.
+	 *
+	 * @param point the point.
+	 * @return the index, or <code>-1</code> if the point is not in the graph.
+	 */
+	@Pure
+	public int indexOf(PT point) {
+		final Integer index = this.pointIndexes.get(point);
+		return index == null ? -1 : index.intValue();
+	}
+
+	/** Replies the segment with the given index.
+	 *
+	 * @param index the index.
+	 * @return the segment.
+	 */
+	@Pure
+	public ST getSegment(int index) {
+		return this.segments.get(index);
+	}
+
+	/** Replies the index of the begin point of the segment with the given index.
+	 *
+	 * @param index the index of the segment.
+	 * @return the index of the begin point.
+	 */
+	@Pure
+	public int getBeginPointIndex(int index) {
+		return this.segmentPoints[index * 2];
+	}
+
+	/** Replies the index of the end point of the segment with the given index.
+	 *
+	 * @param index the index of the segment.
+	 * @return the index of the end point.
+	 */
+	@Pure
+	public int getEndPointIndex(int index) {
+		return this.segmentPoints[index * 2 + 1];
+	}
+
+}
@@ -0,0 +1,261 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.Arrays;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/** Binary min-heap of point indexes that supports the decrease of the keys.
+ *
+ * <p>The points are identified by their indexes in <code>[0;capacity)</code>.
+ * The position of each point in the heap is stored in an array, so that
+ * the tests for membership and the decrease of the keys have respectively
+ * a constant and a logarithmic cost, without allocation.
+ *
+ * <p>Each point may have a secondary key, that is used for sorting the points
+ * with the same key. By default, the secondary key is zero.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public final class PointIndexHeap {
+
+	private final int[] heap;
+
+	private final double[] keys;
+
+	private final double[] secondaryKeys;
+
+	private final int[] positions;
+
+	private int size;
+
+	/** Construct an empty heap.
+	 *
+	 * @param capacity the number of points.
+	 */
+	public PointIndexHeap(int capacity) {
+		this.heap = new int[capacity];
+		this.keys = new double[capacity];
+		this.secondaryKeys = new double[capacity];
+		this.positions = new int[capacity];
+		Arrays.fill(this.positions, -1);
+	}
+
+	/** Replies if the heap is empty.
+	 *
+	 * @return <code>true</code> if the heap is empty.
+	 */
+	@Pure
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/** Replies the number of points in the heap.
+	 *
+	 * @return the number of points.
+	 */
+	@Pure
+	public int size() {
+		return this.size;
+	}
+
+	/** Replies if the given point is inside the heap.
+	 *
+	 * @param point the index of the point.
+	 * @return <code>true</code> if the point is inside the heap.
+	 */
+	@Pure
+	public boolean contains(int point) {
+		return this.positions[point] >= 0;
+	}
+
+	/** Replies the lowest key in the heap.
+	 *
+	 * @return the lowest key, or {@link Double#POSITIVE_INFINITY} if the heap is empty.
+	 */
+	@Pure
+	public double peekKey() {
+		return this.size == 0 ? Double.POSITIVE_INFINITY : this.keys[0];
+	}
+
+	/** Replies the secondary key of the point with the lowest key in the heap.
+	 *
+	 * @return the secondary key, or {@link Double#POSITIVE_INFINITY} if the heap is empty.
+	 */
+	@Pure
+	public double peekSecondaryKey() {
+		return this.size == 0 ? Double.POSITIVE_INFINITY : this.secondaryKeys[0];
+	}
+
+	/** Replies the point with the lowest key in the heap.
+	 *
+	 * @return the index of the point, or <code>-1</code> if the heap is empty.
+	 */
+	@Pure
+	public int peek() {
+		return this.size == 0 ? -1 : this.heap[0];
+	}
+
+	/** Remove all the points from the heap.
+	 */
+	public void clear() {
+		for (int i = 0; i < this.size; ++i) {
+			this.positions[this.heap[i]] = -1;
+		}
+		this.size = 0;
+	}
+
+	/** Add the given point, or decrease its key if it is already inside the heap.
+	 *
+	 * <p>If the point is already inside the heap with a lower key, the heap is not changed.
+	 *
+	 * @param point the index of the point.
+	 * @param key the key of the point.
+	 */
+	public void offer(int point, double key) {
+		final int position = this.positions[point];
+		if (position < 0) {
+			siftUp(this.size, point, key, 0);
+			++this.size;
+		} else if (key < this.keys[position]) {
+			siftUp(position, point, key, 0);
+		}
+	}
+
+	/** Add the given point, or change its key if it is already inside the heap.
+	 *
+	 * @param point the index of the point.
+	 * @param key the new key of the point.
+	 */
+	public void update(int point, double key) {
+		update(point, key, 0);
+	}
+
+	/** Add the given point, or change its keys if it is already inside the heap.
+	 *
+	 * @param point the index of the point.
+	 * @param key the new key of the point.
+	 * @param secondaryKey the new secondary key of the point.
+	 */
+	public void update(int point, double key, double secondaryKey) {
+		final int position = this.positions[point];
+		if (position < 0) {
+			siftUp(this.size, point, key, secondaryKey);
+			++this.size;
+		} else if (less(key, secondaryKey, position)) {
+			siftUp(position, point, key, secondaryKey);
+		} else {
+			siftDown(position, point, key, secondaryKey);
+		}
+	}
+
+	/** Remove the point with the lowest key.
+	 *
+	 * @return the index of the removed point.
+	 */
+	public int poll() {
+		assert this.size > 0;
+		final int point = this.heap[0];
+		removeAt(0);
+		return point;
+	}
+
+	/** Remove the given point from the heap.
+	 *
+	 * @param point the index of the point.
+	 * @return <code>true</code> if the point was inside the heap.
+	 */
+	public boolean remove(int point) {
+		final int position = this.positions[point];
+		if (position < 0) {
+			return false;
+		}
+		removeAt(position);
+		return true;
+	}
+
+	private void removeAt(int position) {
+		this.positions[this.heap[position]] = -1;
+		--this.size;
+		if (position < this.size) {
+			final int last = this.heap[this.size];
+			final double key = this.keys[this.size];
+			final double secondaryKey = this.secondaryKeys[this.size];
+			if (position > 0 && less(key, secondaryKey, (position - 1) >>> 1)) {
+				siftUp(position, last, key, secondaryKey);
+			} else {
+				siftDown(position, last, key, secondaryKey);
+			}
+		}
+	}
+
+	private boolean less(double key, double secondaryKey, int index) {
+		return lessThan(key, secondaryKey, this.keys[index], this.secondaryKeys[index]);
+	}
+
+	private static boolean lessThan(double key1, double secondaryKey1, double key2, double secondaryKey2) {
+		return key1 < key2 || (key1 == key2 && secondaryKey1 < secondaryKey2);
+	}
+
+	private void siftUp(int index, int point, double key, double secondaryKey) {
+		int current = index;
+		while (current > 0) {
+			final int parent = (current - 1) >>> 1;
+			if (!less(key, secondaryKey, parent)) {
+				break;
+			}
+			place(current, this.heap[parent], this.keys[parent], this.secondaryKeys[parent]);
+			current = parent;
+		}
+		place(current, point, key, secondaryKey);
+	}
+
+	private void siftDown(int index, int point, double key, double secondaryKey) {
+		int current = index;
+		final int half = this.size >>> 1;
+		while (current < half) {
+			int child = (current << 1) + 1;
+			final int right = child + 1;
+			if (right < this.size && less(this.keys[right], this.secondaryKeys[right], child)) {
+				child = right;
+			}
+			if (!lessThan(this.keys[child], this.secondaryKeys[child], key, secondaryKey)) {
+				break;
+			}
+			place(current, this.heap[child], this.keys[child], this.secondaryKeys[child]);
+			current = child;
+		}
+		place(current, point, key, secondaryKey);
+	}
+
+	private void place(int index, int point, double key, double secondaryKey) {
+		this.heap[index] = point;
+		this.keys[index] = key;
+		this.secondaryKeys[index] = secondaryKey;
+		this.positions[point] = index;
+	}
+
+}
@@ -0,0 +1,355 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.compact;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.graph.DepthGraphIterator;
+import org.arakhne.afc.math.graph.Graph;
+import org.arakhne.afc.math.graph.GraphIterator;
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphSegment;
+
+/** This class provides an immutable implementation of a graph that is stored
+ * in compressed sparse rows.
+ *
+ * <p>The topology of the graph is stored in arrays of primitive values: the begin and end
+ * points and the length of each segment; and, for each point, the indexes of the
+ * connected segments in a single array. The points and the segments are views on these
+ * arrays, which are created when they are accessed for the first time. In this way, the
+ * memory footprint of the graph is a few tens of bytes by segment, and the views are stable
+ * for the tools that are keeping references on them, such as the {@link org.arakhne.afc.math.graph.SubGraph}.
+ *
+ * <p>The segments of a point are ordered by increasing index of segment.
+ *
+ * <p>The graph cannot be changed after its creation. It could be read by several threads.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public class CompactGraph implements Graph<CompactGraphSegment, CompactGraphPoint> {
+
+	private final int[] segmentPoints;
+
+	private final double[] lengths;
+
+	private final int[] offsets;
+
+	private final int[] incidences;
+
+	private final CompactGraphPoint[] points;
+
+	private final CompactGraphSegment[] segments;
+
+	/** Construct a graph from a list of segments.
+	 *
+	 * <p>The segment at index {@code i} is going from the point {@code begins[i]} to the
+	 * point {@code ends[i]}. The points are identified by their indexes, from {@code 0}
+	 * to {@code pointCount - 1}. The given arrays are copied.
+	 *
+	 * @param pointCount is the number of points in the graph.
+	 * @param begins are the indexes of the begin points of the segments.
+	 * @param ends are the indexes of the end points of the segments.
+	 * @param lengths are the lengths of the segments.
+	 * @throws IllegalArgumentException if the arrays have not the same size, or if a point index
+	 *     is invalid.
+	 */
+	@SuppressWarnings("checkstyle:npathcomplexity")
+	public CompactGraph(int pointCount, int[] begins, int[] ends, double[] lengths) {
+		if (pointCount < 0 || begins.length != ends.length || begins.length != lengths.length) {
+			throw new IllegalArgumentException();
+		}
+		final int segmentCount = begins.length;
+		this.segmentPoints = new int[segmentCount * 2];
+		for (int i = 0; i < segmentCount; ++i) {
+			final int begin = begins[i];
+			final int end = ends[i];
+			if (begin < 0 || begin >= pointCount || end < 0 || end >= pointCount) {
+				throw new IllegalArgumentException();
+			}
+			this.segmentPoints[i * 2] = begin;
+			this.segmentPoints[i * 2 + 1] = end;
+		}
+		this.lengths = lengths.clone();
+		this.offsets = new int[pointCount + 1];
+		for (int i = 0; i < segmentCount; ++i) {
+			++this.offsets[begins[i] + 1];
+			if (begins[i] != ends[i]) {
+				++this.offsets[ends[i] + 1];
+			}
+		}
+		for (int i = 0; i < pointCount; ++i) {
+			this.offsets[i + 1] += this.offsets[i];
+		}
+		this.incidences = new int[this.offsets[pointCount]];
+		final int[] fill = new int[pointCount];
+		System.arraycopy(this.offsets, 0, fill, 0, pointCount);
+		for (int i = 0; i < segmentCount; ++i) {
+			this.incidences[fill[begins[i]]++] = i;
+			if (begins[i] != ends[i]) {
+				this.incidences[fill[ends[i]]++] = i;
+			}
+		}
+		this.points = new CompactGraphPoint[pointCount];
+		this.segments = new CompactGraphSegment[segmentCount];
+	}
+
+	/** Create a compact copy of the given graph.
+	 *
+	 * <p>The segments are numbered in the iteration order of the given graph.
+	 * The points are numbered in the order they are encountered as begin or end point
+	 * of the segments.
+	 *
+	 * @param <ST> is the type of edge in the graph
+	 * @param <PT> is the type of node in the graph
+	 * @param graph the graph to copy.
+	 * @return the compact graph.
+	 */
+	public static <ST extends GraphSegment<ST, PT>, PT extends GraphPoint<PT, ST>> CompactGraph copyOf(
+			Graph<ST, PT> graph) {
+		final int segmentCount = graph.getSegmentCount();
+		final int[] begins = new int[segmentCount];
+		final int[] ends = new int[segmentCount];
+		final double[] lengths = new double[segmentCount];
+		final Map<PT, Integer> pointIndexes = new HashMap<>();
+		int i = 0;
+		for (final ST segment : graph) {
+			begins[i] = indexOf(pointIndexes, segment.getBeginPoint());
+			ends[i] = indexOf(pointIndexes, segment.getEndPoint());
+			lengths[i] = segment.getLength();
+			++i;
+		}
+		assert i == segmentCount;
+		return new CompactGraph(pointIndexes.size(), begins, ends, lengths);
+	}
+
+	private static <PT> int indexOf(Map<PT, Integer> pointIndexes, PT point) {
+		final Integer index = pointIndexes.get(point);
+		if (index != null) {
+			return index.intValue();
+		}
+		final int newIndex = pointIndexes.size();
+		pointIndexes.put(point, Integer.valueOf(newIndex));
+		return newIndex;
+	}
+
+	@Pure
+	@Override
+	public Iterator<CompactGraphSegment> iterator() {
+		return new SegmentIterator();
+	}
+
+	@Pure
+	@Override
+	public GraphIterator<CompactGraphSegment, CompactGraphPoint> iterator(
+			CompactGraphSegment starting_segment, CompactGraphPoint starting_point,
+			boolean allowManyReplies, boolean assumeOrientedSegments) {
+		if (starting_segment.getGraph() != this
+				|| starting_point.getGraph() != this) {
+			throw new IllegalArgumentException();
+		}
+		return new GraphIterator<>(
+				this,
+				starting_segment,
+				starting_point,
+				allowManyReplies,
+				assumeOrientedSegments,
+				0);
+	}
+
+	@Pure
+	@Override
+	public GraphIterator<CompactGraphSegment, CompactGraphPoint> depthIterator(
+			CompactGraphSegment startingSegment, double depth,
+			double position_from_starting_point, CompactGraphPoint startingPoint,
+			boolean allowManyReplies, boolean assumeOrientedSegments) {
+		if (startingSegment.getGraph() != this
+				|| startingPoint.getGraph() != this) {
+			throw new IllegalArgumentException();
+		}
+		return new DepthGraphIterator<>(
+				this,
+				depth,
+				startingSegment,
+				startingPoint,
+				allowManyReplies,
+				assumeOrientedSegments);
+	}
+
+	@Pure
+	@Override
+	public int getSegmentCount() {
+		return this.segments.length;
+	}
+
+	@Pure
+	@Override
+	public int getPointCount() {
+		return this.points.length;
+	}
+
+	@Pure
+	@Override
+	public boolean isEmpty() {
+		return this.segments.length == 0;
+	}
+
+	@Pure
+	@Override
+	public boolean contains(Object obj) {
+		return obj instanceof CompactGraphSegment && ((CompactGraphSegment) obj).getGraph() == this;
+	}
+
+	/** Replies the point at the given index.
+	 *
+	 * @param index the index of the point.
+	 * @return the point.
+	 */
+	@Pure
+	public CompactGraphPoint getPointAt(int index) {
+		CompactGraphPoint point = this.points[index];
+		if (point == null) {
+			point = new CompactGraphPoint(this, index);
+			this.points[index] = point;
+		}
+		return point;
+	}
+
+	/** Replies the segment at the given index.
+	 *
+	 * @param index the index of the segment.
+	 * @return the segment.
+	 */
+	@Pure
+	public CompactGraphSegment getSegmentAt(int index) {
+		CompactGraphSegment segment = this.segments[index];
+		if (segment == null) {
+			segment = new CompactGraphSegment(this, index);
+			this.segments[index] = segment;
+		}
+		return segment;
+	}
+
+	/** Replies the index of the begin point of the given segment.
+	 *
+	 * @param segment the index of the segment.
+	 * @return the index of the begin point.
+	 */
+	@Pure
+	int getBeginPointIndex(int segment) {
+		return this.segmentPoints[segment * 2];
+	}
+
+	/** Replies the index of the end point of the given segment.
+	 *
+	 * @param segment the index of the segment.
+	 * @return the index of the end point.
+	 */
+	@Pure
+	int getEndPointIndex(int segment) {
+		return this.segmentPoints[segment * 2 + 1];
+	}
+
+	/** Replies the length of the given segment.
+	 *
+	 * @param segment the index of the segment.
+	 * @return the length.
+	 */
+	@Pure
+	double getLength(int segment) {
+		return this.lengths[segment];
+	}
+
+	/** Replies the position of the first segment of the given point in the incidence array.
+	 *
+	 * @param point the index of the point.
+	 * @return the position of the first segment.
+	 */
+	@Pure
+	int getFirstIncidence(int point) {
+		return this.offsets[point];
+	}
+
+	/** Replies the position after the last segment of the given point in the incidence array.
+	 *
+	 * @param point the index of the point.
+	 * @return the position after the last segment.
+	 */
+	@Pure
+	int getLastIncidence(int point) {
+		return this.offsets[point + 1];
+	}
+
+	/** Replies the index of the segment at the given position in the incidence array.
+	 *
+	 * @param incidence the position in the incidence array.
+	 * @return the index of the segment.
+	 */
+	@Pure
+	int getIncidentSegment(int incidence) {
+		return this.incidences[incidence];
+	}
+
+	/** Iterator on the segments of the graph.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private class SegmentIterator implements Iterator<CompactGraphSegment> {
+
+		private int index;
+
+		/** Constructor.
+		 */
+		SegmentIterator() {
+			//
+		}
+
+		@Pure
+		@Override
+		public boolean hasNext() {
+			return this.index < getSegmentCount();
+		}
+
+		@Override
+		public CompactGraphSegment next() {
+			if (this.index >= getSegmentCount()) {
+				throw new NoSuchElementException();
+			}
+			final CompactGraphSegment segment = getSegmentAt(this.index);
+			++this.index;
+			return segment;
+		}
+
+	}
+
+}
@@ -0,0 +1,322 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.compact;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.graph.GraphPoint;
+
+/** This class provides a view on a point of a {@link CompactGraph}.
+ *
+ * <p>Two views are equal if they are referring to the same point of the same graph.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public final class CompactGraphPoint implements GraphPoint<CompactGraphPoint, CompactGraphSegment> {
+
+	private final CompactGraph graph;
+
+	private final int index;
+
+	/**
+	 * @param graph1 is the graph in which the point is.
+	 * @param index1 is the index of the point in the graph.
+	 */
+	CompactGraphPoint(CompactGraph graph1, int index1) {
+		this.graph = graph1;
+		this.index = index1;
+	}
+
+	/** Replies the graph in which this point is.
+	 *
+	 * @return the graph in which this point is.
+	 */
+	@Pure
+	public CompactGraph getGraph() {
+		return this.graph;
+	}
+
+	/** Replies the index of this point in the graph.
+	 *
+	 * @return the index of this point.
+	 */
+	@Pure
+	public int getIndex() {
+		return this.index;
+	}
+
+	@Pure
+	@Override
+	public int getConnectedSegmentCount() {
+		return this.graph.getLastIncidence(this.index) - this.graph.getFirstIncidence(this.index);
+	}
+
+	@Pure
+	@Override
+	public Iterable<CompactGraphSegment> getConnectedSegments() {
+		final int first = this.graph.getFirstIncidence(this.index);
+		return () -> new SegmentIterator(first);
+	}
+
+	@Pure
+	@Override
+	public Iterable<CompactGraphSegment> getConnectedSegmentsStartingFrom(CompactGraphSegment startingPoint) {
+		final int first = indexOf(startingPoint);
+		return () -> new SegmentIterator(first);
+	}
+
+	@Pure
+	@Override
+	public Iterable<PointConnection> getConnections() {
+		final int first = this.graph.getFirstIncidence(this.index);
+		return () -> new ConnectionIterator(first);
+	}
+
+	@Pure
+	@Override
+	public Iterable<PointConnection> getConnectionsStartingFrom(CompactGraphSegment startingPoint) {
+		final int first = indexOf(startingPoint);
+		return () -> new ConnectionIterator(first);
+	}
+
+	/** Replies the position of the given segment in the incidence array of the graph.
+	 *
+	 * @param segment the segment.
+	 * @return the position of the segment, or the position of the first segment of this
+	 *     point if the given segment is not connected to this point.
+	 */
+	@Pure
+	private int indexOf(CompactGraphSegment segment) {
+		final int first = this.graph.getFirstIncidence(this.index);
+		if (segment != null && segment.getGraph() == this.graph) {
+			final int last = this.graph.getLastIncidence(this.index);
+			for (int i = first; i < last; ++i) {
+				if (this.graph.getIncidentSegment(i) == segment.getIndex()) {
+					return i;
+				}
+			}
+		}
+		return first;
+	}
+
+	@Pure
+	@Override
+	public boolean isConnectedSegment(CompactGraphSegment segment) {
+		return segment != null && segment.getGraph() == this.graph
+				&& (this.graph.getBeginPointIndex(segment.getIndex()) == this.index
+				|| this.graph.getEndPointIndex(segment.getIndex()) == this.index);
+	}
+
+	@Pure
+	@Override
+	public boolean isFinalConnectionPoint() {
+		return getConnectedSegmentCount() <= 1;
+	}
+
+	@Pure
+	@Override
+	public int compareTo(GraphPoint<CompactGraphPoint, CompactGraphSegment> pt) {
+		if (pt == null) {
+			return Integer.MAX_VALUE;
+		}
+		return hashCode() - pt.hashCode();
+	}
+
+	@Pure
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (obj instanceof CompactGraphPoint) {
+			final CompactGraphPoint point = (CompactGraphPoint) obj;
+			return point.graph == this.graph && point.index == this.index;
+		}
+		return false;
+	}
+
+	@Pure
+	@Override
+	public int hashCode() {
+		return this.index;
+	}
+
+	@Pure
+	@Override
+	public String toString() {
+		return "p" + this.index; //$NON-NLS-1$
+	}
+
+	/** Iterator on the positions of the segments of the point in the incidence array of the graph.
+	 * The iteration starts at the given position, and continues from the first position of
+	 * the point when the last position is reached.
+	 *
+	 * @param <T> the type of the replied elements.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private abstract class IncidenceIterator<T> implements Iterator<T> {
+
+		private final int first;
+
+		private final int last;
+
+		private int current;
+
+		private int remaining;
+
+		/**
+		 * @param start the first position to reply.
+		 */
+		IncidenceIterator(int start) {
+			this.first = CompactGraphPoint.this.graph.getFirstIncidence(CompactGraphPoint.this.index);
+			this.last = CompactGraphPoint.this.graph.getLastIncidence(CompactGraphPoint.this.index);
+			this.current = start;
+			this.remaining = this.last - this.first;
+		}
+
+		@Pure
+		@Override
+		public boolean hasNext() {
+			return this.remaining > 0;
+		}
+
+		@Override
+		public T next() {
+			if (this.remaining <= 0) {
+				throw new NoSuchElementException();
+			}
+			final int segment = CompactGraphPoint.this.graph.getIncidentSegment(this.current);
+			++this.current;
+			if (this.current >= this.last) {
+				this.current = this.first;
+			}
+			--this.remaining;
+			return get(segment);
+		}
+
+		/** Replies the element for the given segment.
+		 *
+		 * @param segment the index of the segment.
+		 * @return the element.
+		 */
+		protected abstract T get(int segment);
+
+	}
+
+	/** Iterator on the segments of the point.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private class SegmentIterator extends IncidenceIterator<CompactGraphSegment> {
+
+		/**
+		 * @param start the first position to reply.
+		 */
+		SegmentIterator(int start) {
+			super(start);
+		}
+
+		@Override
+		protected CompactGraphSegment get(int segment) {
+			return CompactGraphPoint.this.graph.getSegmentAt(segment);
+		}
+
+	}
+
+	/** Iterator on the connections of the point.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private class ConnectionIterator extends IncidenceIterator<PointConnection> {
+
+		/**
+		 * @param start the first position to reply.
+		 */
+		ConnectionIterator(int start) {
+			super(start);
+		}
+
+		@Override
+		protected PointConnection get(int segment) {
+			return new PointConnection(segment);
+		}
+
+	}
+
+	/** Connection of a segment to the point.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	public final class PointConnection implements GraphPointConnection<CompactGraphPoint, CompactGraphSegment> {
+
+		private final int segment;
+
+		/**
+		 * @param segment1 is the index of the connected segment.
+		 */
+		PointConnection(int segment1) {
+			this.segment = segment1;
+		}
+
+		@Pure
+		@Override
+		public CompactGraphSegment getGraphSegment() {
+			return CompactGraphPoint.this.graph.getSegmentAt(this.segment);
+		}
+
+		@Pure
+		@Override
+		public CompactGraphPoint getGraphPoint() {
+			return CompactGraphPoint.this;
+		}
+
+		@Pure
+		@Override
+		public boolean isSegmentStartConnected() {
+			return CompactGraphPoint.this.graph.getBeginPointIndex(this.segment) == CompactGraphPoint.this.index;
+		}
+
+	}
+
+}
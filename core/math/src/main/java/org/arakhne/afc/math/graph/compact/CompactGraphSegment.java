@@ -0,0 +1,129 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.compact;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.graph.GraphSegment;
+
+/** This class provides a view on a segment of a {@link CompactGraph}.
+ *
+ * <p>Two views are equal if they are referring to the same segment of the same graph.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public final class CompactGraphSegment implements GraphSegment<CompactGraphSegment, CompactGraphPoint> {
+
+	private final CompactGraph graph;
+
+	private final int index;
+
+	/**
+	 * @param graph1 is the graph in which the segment is.
+	 * @param index1 is the index of the segment in the graph.
+	 */
+	CompactGraphSegment(CompactGraph graph1, int index1) {
+		this.graph = graph1;
+		this.index = index1;
+	}
+
+	/** Replies the graph in which this segment is.
+	 *
+	 * @return the graph in which this segment is.
+	 */
+	@Pure
+	public CompactGraph getGraph() {
+		return this.graph;
+	}
+
+	/** Replies the index of this segment in the graph.
+	 *
+	 * @return the index of this segment.
+	 */
+	@Pure
+	public int getIndex() {
+		return this.index;
+	}
+
+	@Pure
+	@Override
+	public CompactGraphPoint getBeginPoint() {
+		return this.graph.getPointAt(this.graph.getBeginPointIndex(this.index));
+	}
+
+	@Pure
+	@Override
+	public CompactGraphPoint getEndPoint() {
+		return this.graph.getPointAt(this.graph.getEndPointIndex(this.index));
+	}
+
+	@Pure
+	@Override
+	public CompactGraphPoint getOtherSidePoint(CompactGraphPoint point) {
+		if (point != null && point.getGraph() == this.graph) {
+			final int begin = this.graph.getBeginPointIndex(this.index);
+			final int end = this.graph.getEndPointIndex(this.index);
+			if (point.getIndex() == begin) {
+				return this.graph.getPointAt(end);
+			}
+			if (point.getIndex() == end) {
+				return this.graph.getPointAt(begin);
+			}
+		}
+		return null;
+	}
+
+	@Pure
+	@Override
+	public double getLength() {
+		return this.graph.getLength(this.index);
+	}
+
+	@Pure
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (obj instanceof CompactGraphSegment) {
+			final CompactGraphSegment segment = (CompactGraphSegment) obj;
+			return segment.graph == this.graph && segment.index == this.index;
+		}
+		return false;
+	}
+
+	@Pure
+	@Override
+	public int hashCode() {
+		return this.index;
+	}
+
+	@Pure
+	@Override
+	public String toString() {
+		return "s" + this.index; //$NON-NLS-1$
+	}
+
+}
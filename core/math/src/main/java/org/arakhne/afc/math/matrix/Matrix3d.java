@@ -51,6 +51,10 @@ public class Matrix3d implements Serializable, Cloneable {
 
     private static final long serialVersionUID = -7386754038391115819L;
 
+    /** Maximal error on the products of the columns of the linear part of a {@link MatrixType#RIGID rigid} matrix.
+     */
+    private static final double RIGID_EPSILON = 1e-14;
+
     /**
      * The first matrix element in the first row.
      */
@@ -101,6 +105,12 @@ public class Matrix3d implements Serializable, Cloneable {
      */
     protected Boolean isIdentity;
 
+    /** Classification of the matrix.
+     * If <code>null</code> the classification must be determined.
+     * The subclasses that are changing the elements of the matrix must reset it to <code>null</code>.
+     */
+    protected MatrixType type;
+
     /**
      * Constructs and initializes a Matrix3f from the specified nine values.
      *
@@ -223,6 +233,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = 1.;
 
         this.isIdentity = Boolean.TRUE;
+        this.type = MatrixType.IDENTITY;
     }
 
     /**
@@ -289,6 +300,7 @@ public class Matrix3d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -484,6 +496,7 @@ public class Matrix3d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -519,6 +532,7 @@ public class Matrix3d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -555,6 +569,7 @@ public class Matrix3d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -591,6 +606,7 @@ public class Matrix3d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -626,6 +642,7 @@ public class Matrix3d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -662,6 +679,7 @@ public class Matrix3d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -683,6 +701,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 += scalar;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -707,6 +726,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = matrix.m22 + scalar;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -731,6 +751,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = matrix1.m22 + matrix2.m22;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -753,6 +774,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 += matrix.m22;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -778,6 +800,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = matrix1.m22 - matrix2.m22;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -801,6 +824,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 -= matrix.m22;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -822,6 +846,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m12 = temp;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -845,6 +870,7 @@ public class Matrix3d implements Serializable, Cloneable {
             this.m22 = matrix.m22;
 
             this.isIdentity = null;
+            this.type = null;
         } else {
             this.transpose();
         }
@@ -871,6 +897,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = matrix.m22;
 
         this.isIdentity = matrix.isIdentity;
+        this.type = matrix.type;
     }
 
     /**
@@ -896,6 +923,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = matrix[8];
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -926,6 +954,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = m22;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -936,14 +965,94 @@ public class Matrix3d implements Serializable, Cloneable {
      */
     public void invert(Matrix3d matrix) {
         assert matrix != null : AssertMessages.notNullParameter();
-        invertGeneral(matrix);
+        final MatrixType matrixType = matrix.getType();
+        switch (matrixType) {
+        case IDENTITY:
+            setIdentity();
+            break;
+        case GENERAL:
+            invertGeneral(matrix);
+            break;
+        case TRANSLATION:
+        case SCALE:
+        case RIGID:
+        case AFFINE:
+        default:
+            invertAffine(matrix, matrixType);
+            break;
+        }
     }
 
     /**
      * Inverts this matrix in place.
      */
     public void invert() {
-        invertGeneral(this);
+        invert(this);
+    }
+
+    /**
+     * Invert routine for the affine matrices. Inverts m1 and places the result in "this".
+     * The linear part is inverted according to the classification of the matrix,
+     * and the translation is <code>-inverse(linear part) * translation</code>.
+     */
+    private void invertAffine(Matrix3d matrix, MatrixType matrixType) {
+        final double a00;
+        final double a01;
+        final double a10;
+        final double a11;
+        switch (matrixType) {
+        case TRANSLATION:
+            a00 = 1.;
+            a01 = 0.;
+            a10 = 0.;
+            a11 = 1.;
+            break;
+        case SCALE:
+            if (matrix.m00 == 0. || matrix.m11 == 0.) {
+                throw new SingularMatrixException(Locale.getString("NOT_INVERTABLE_MATRIX")); //$NON-NLS-1$
+            }
+            a00 = 1. / matrix.m00;
+            a01 = 0.;
+            a10 = 0.;
+            a11 = 1. / matrix.m11;
+            break;
+        case RIGID:
+            a00 = matrix.m00;
+            a01 = matrix.m10;
+            a10 = matrix.m01;
+            a11 = matrix.m11;
+            break;
+        case IDENTITY:
+        case AFFINE:
+        case GENERAL:
+        default:
+            final double det = matrix.m00 * matrix.m11 - matrix.m01 * matrix.m10;
+            if (det == 0.) {
+                throw new SingularMatrixException(Locale.getString("NOT_INVERTABLE_MATRIX")); //$NON-NLS-1$
+            }
+            a00 = matrix.m11 / det;
+            a01 = -matrix.m01 / det;
+            a10 = -matrix.m10 / det;
+            a11 = matrix.m00 / det;
+            break;
+        }
+        final double tx = matrix.m02;
+        final double ty = matrix.m12;
+
+        this.m00 = a00;
+        this.m01 = a01;
+        this.m02 = -(a00 * tx + a01 * ty);
+
+        this.m10 = a10;
+        this.m11 = a11;
+        this.m12 = -(a10 * tx + a11 * ty);
+
+        this.m20 = 0.;
+        this.m21 = 0.;
+        this.m22 = 1.;
+
+        this.isIdentity = null;
+        this.type = matrixType == MatrixType.TRANSLATION || matrixType == MatrixType.SCALE ? matrixType : null;
     }
 
     /**
@@ -974,7 +1083,7 @@ public class Matrix3d implements Serializable, Cloneable {
 
         // Calculate LU decomposition: Is the matrix singular?
         final int[] rowPerm = new int[3];
-        if (!luDecomposition(tmp, rowPerm)) {
+        if (!Matrix3dLUDecomposition.luDecomposition(tmp, rowPerm)) {
             throw new SingularMatrixException(Locale.getString("NOT_INVERTABLE_MATRIX")); //$NON-NLS-1$
         }
 
@@ -986,7 +1095,7 @@ public class Matrix3d implements Serializable, Cloneable {
         result[0] = 1.;
         result[4] = 1.;
         result[8] = 1.;
-        luBacksubstitution(tmp, rowPerm, result);
+        Matrix3dLUDecomposition.luBacksubstitution(tmp, rowPerm, result);
 
         this.m00 = result[0];
         this.m01 = result[1];
@@ -1001,213 +1110,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = result[8];
 
         this.isIdentity = null;
-    }
-
-    /**
-     * Given a 3x3 array "matrix0", this function replaces it with the LU
-     * decomposition of a row-wise permutation of itself. The input parameters
-     * are "matrix0" and "dimen". The array "matrix0" is also an output
-     * parameter. The vector "row_perm[3]" is an output parameter that contains
-     * the row permutations resulting from partial pivoting. The output
-     * parameter "even_row_xchg" is 1 when the number of row exchanges is even,
-     * or -1 otherwise. Assumes data type is always double.
-     *
-     * <p>This function is similar to luDecomposition, except that it is tuned
-     * specifically for 3x3 matrices.
-     *
-     * @return true if the matrix is nonsingular, or false otherwise.
-     */
-    @SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:npathcomplexity"})
-    private static boolean luDecomposition(double[] matrix0, int[] row_perm) {
-        //
-        // Reference: Press, Flannery, Teukolsky, Vetterling,
-        // _Numerical_Recipes_in_C_, Cambridge University Press,
-        // 1988, pp 40-45.
-        //
-
-        // Determine implicit scaling information by looping over rows
-        //double big, temp;
-
-        int ptr = 0;
-        int rs = 0;
-
-        // For each row ...
-        final double[] rowScale = new double[3];
-        int i = 3;
-        while (i-- != 0) {
-            double big = 0.;
-
-            // For each column, find the largest element in the row
-            int j = 3;
-            while (j-- != 0) {
-                double temp = matrix0[ptr++];
-                temp = Math.abs(temp);
-                if (temp > big) {
-                    big = temp;
-                }
-            }
-
-            // Is the matrix singular?
-            if (big == 0.) {
-                return false;
-            }
-            rowScale[rs++] = 1. / big;
-        }
-
-        final int mtx = 0;
-
-        // For all columns, execute Crout's method
-        for (int j = 0; j < 3; ++j) {
-            int imax;
-
-            // Determine elements of upper diagonal matrix U
-            for (i = 0; i < j; ++i) {
-                final int target = mtx + (3 * i) + j;
-                double sum = matrix0[target];
-                int k = i;
-                int p1 = mtx + (3 * i);
-                int p2 = mtx + j;
-                while (k-- != 0) {
-                    sum -= matrix0[p1] * matrix0[p2];
-                    ++p1;
-                    p2 += 3;
-                }
-                matrix0[target] = sum;
-            }
-
-            // Search for largest pivot element and calculate
-            // intermediate elements of lower diagonal matrix L.
-            double big = 0.;
-            imax = -1;
-            for (i = j; i < 3; ++i) {
-                final int target = mtx + (3 * i) + j;
-                double sum = matrix0[target];
-                int k = j;
-                int p1 = mtx + (3 * i);
-                int p2 = mtx + j;
-                while (k-- != 0) {
-                    sum -= matrix0[p1] * matrix0[p2];
-                    ++p1;
-                    p2 += 3;
-                }
-                matrix0[target] = sum;
-
-                // Is this the best pivot so far?
-                final double temp = rowScale[i] * Math.abs(sum);
-                if (temp >= big) {
-                    big = temp;
-                    imax = i;
-                }
-            }
-
-            if (imax < 0) {
-                throw new RuntimeException();
-            }
-
-            // Is a row exchange necessary?
-            if (j != imax) {
-                // Yes: exchange rows
-                int k = 3;
-                int p1 = mtx + (3 * imax);
-                int p2 = mtx + (3 * j);
-                while (k-- != 0) {
-                    final double temp = matrix0[p1];
-                    matrix0[p1++] = matrix0[p2];
-                    matrix0[p2++] = temp;
-                }
-
-                // Record change in scale factor
-                rowScale[imax] = rowScale[j];
-            }
-
-            // Record row permutation
-            row_perm[j] = imax;
-
-            // Is the matrix singular
-            if (matrix0[mtx + 3 * j + j] == 0.) {
-                return false;
-            }
-
-            // Divide elements of lower diagonal matrix L by pivot
-            if (j != (3 - 1)) {
-                final double temp = 1. / (matrix0[mtx + 3 * j + j]);
-                int target = mtx + 3 * (j + 1) + j;
-                i = 2 - j;
-                while (i-- != 0) {
-                    matrix0[target] *= temp;
-                    target += 3;
-                }
-            }
-        }
-
-        return true;
-    }
-
-    /**
-     * Solves a set of linear equations. The input parameters "matrix1", and
-     * "row_perm" come from luDecompostionD3x3 and do not change here. The
-     * parameter "matrix2" is a set of column vectors assembled into a 3x3
-     * matrix of floating-point values. The procedure takes each column of
-     * "matrix2" in turn and treats it as the right-hand side of the matrix
-     * equation Ax = LUx = b. The solution vector replaces the original column
-     * of the matrix.
-     *
-     * <p>If "matrix2" is the identity matrix, the procedure replaces its contents
-     * with the inverse of the matrix from which "matrix1" was originally
-     * derived.
-     */
-    @Pure
-    private static void luBacksubstitution(double[] matrix1, int[] row_perm,
-            double[] matrix2) {
-        //
-        // Reference: Press, Flannery, Teukolsky, Vetterling,
-        // _Numerical_Recipes_in_C_, Cambridge University Press,
-        // 1988, pp 44-45.
-        //
-
-        // rp = row_perm;
-        final int rp = 0;
-
-        // For each column vector of matrix2 ...
-        for (int k = 0; k < 3; ++k) {
-            // cv = &(matrix2[0][k]);
-            final int cv = k;
-            int ii = -1;
-
-            // Forward substitution
-            for (int i = 0; i < 3; ++i) {
-                final int ip = row_perm[rp + i];
-                double sum = matrix2[cv + 3 * ip];
-                matrix2[cv + 3 * ip] = matrix2[cv + 3 * i];
-                if (ii >= 0) {
-                    // rv = &(matrix1[i][0]);
-                    final int rv = i * 3;
-                    for (int j = ii; j <= i - 1; ++j) {
-                        sum -= matrix1[rv + j] * matrix2[cv + 3 * j];
-                    }
-                } else if (sum != 0.) {
-                    ii = i;
-                }
-                matrix2[cv + 3 * i] = sum;
-            }
-
-            // Backsubstitution
-            // rv = &(matrix1[3][0]);
-            int rv = 2 * 3;
-            matrix2[cv + 3 * 2] /= matrix1[rv + 2];
-
-            rv -= 3;
-            matrix2[cv + 3 * 1] = (matrix2[cv + 3 * 1] - matrix1[rv + 2]
-                    * matrix2[cv + 3 * 2])
-                    / matrix1[rv + 1];
-
-            rv -= 3;
-            matrix2[cv + 4 * 0] = (matrix2[cv + 3 * 0] - matrix1[rv + 1]
-                    * matrix2[cv + 3 * 1] - matrix1[rv + 2]
-                            * matrix2[cv + 3 * 2])
-                    / matrix1[rv + 0];
-
-        }
+        this.type = null;
     }
 
     /**
@@ -1217,6 +1120,19 @@ public class Matrix3d implements Serializable, Cloneable {
      */
     @Pure
     public double determinant() {
+        switch (getType()) {
+        case IDENTITY:
+        case TRANSLATION:
+            return 1.;
+        case SCALE:
+            return this.m00 * this.m11;
+        case RIGID:
+        case AFFINE:
+            return this.m00 * this.m11 - this.m10 * this.m01;
+        case GENERAL:
+        default:
+            break;
+        }
         /* det(A, B, C) = det( [ x1 x2 x3 ]
          *                   [ y1 y2 y3 ]
          *                   [ z1 z2 z3 ] )
@@ -1246,6 +1162,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 *= scalar;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1270,6 +1187,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = scalar * matrix.m22;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1280,6 +1198,17 @@ public class Matrix3d implements Serializable, Cloneable {
      */
     public void mul(Matrix3d matrix) {
         assert matrix != null : AssertMessages.notNullParameter();
+        if (matrix.type == MatrixType.IDENTITY) {
+            return;
+        }
+        if (this.type == MatrixType.IDENTITY) {
+            set(matrix);
+            return;
+        }
+        if (isAffineMatrix() && matrix.isAffineMatrix()) {
+            mulAffine(this, matrix);
+            return;
+        }
 
         final double m00 = this.m00 * matrix.m00 + this.m01 * matrix.m10 + this.m02 * matrix.m20;
         final double m01 = this.m00 * matrix.m01 + this.m01 * matrix.m11 + this.m02 * matrix.m21;
@@ -1304,6 +1233,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = m22;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1316,6 +1246,18 @@ public class Matrix3d implements Serializable, Cloneable {
     public void mul(Matrix3d matrix1, Matrix3d matrix2) {
         assert matrix1 != null : AssertMessages.notNullParameter(0);
         assert matrix2 != null : AssertMessages.notNullParameter(1);
+        if (matrix1.type == MatrixType.IDENTITY) {
+            set(matrix2);
+            return;
+        }
+        if (matrix2.type == MatrixType.IDENTITY) {
+            set(matrix1);
+            return;
+        }
+        if (matrix1.isAffineMatrix() && matrix2.isAffineMatrix()) {
+            mulAffine(matrix1, matrix2);
+            return;
+        }
         if (this != matrix1 && this != matrix2) {
             this.m00 = matrix1.m00 * matrix2.m00 + matrix1.m01 * matrix2.m10 + matrix1.m02 * matrix2.m20;
             this.m01 = matrix1.m00 * matrix2.m01 + matrix1.m01 * matrix2.m11 + matrix1.m02 * matrix2.m21;
@@ -1353,6 +1295,7 @@ public class Matrix3d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /** Multiply this matrix by the given vector v and set the result..
@@ -1370,6 +1313,34 @@ public class Matrix3d implements Serializable, Cloneable {
                 this.m20 * vector.getX() + this.m21 * vector.getY() + this.m22 * vector.getZ());
     }
 
+    /**
+     * Sets the value of this matrix to the result of multiplying the two
+     * argument matrices together, when their last rows are <code>[0, 0, 1]</code>.
+     * The last row of the result is also <code>[0, 0, 1]</code>.
+     */
+    private void mulAffine(Matrix3d matrix1, Matrix3d matrix2) {
+        final double m00 = matrix1.m00 * matrix2.m00 + matrix1.m01 * matrix2.m10;
+        final double m01 = matrix1.m00 * matrix2.m01 + matrix1.m01 * matrix2.m11;
+        final double m02 = matrix1.m00 * matrix2.m02 + matrix1.m01 * matrix2.m12 + matrix1.m02;
+
+        final double m10 = matrix1.m10 * matrix2.m00 + matrix1.m11 * matrix2.m10;
+        final double m11 = matrix1.m10 * matrix2.m01 + matrix1.m11 * matrix2.m11;
+        final double m12 = matrix1.m10 * matrix2.m02 + matrix1.m11 * matrix2.m12 + matrix1.m12;
+
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+        this.m20 = 0.;
+        this.m21 = 0.;
+        this.m22 = 1.;
+
+        this.isIdentity = null;
+        this.type = null;
+    }
+
     /** Multiply the transposing of this matrix by the given vector.
      *
      * @param vector the vector.
@@ -1432,6 +1403,7 @@ public class Matrix3d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1475,6 +1447,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = tmpRot[8];
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1519,6 +1492,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = tmpRot[8];
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1568,6 +1542,7 @@ public class Matrix3d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1617,6 +1592,7 @@ public class Matrix3d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1659,6 +1635,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = tmpRot[8];
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1683,6 +1660,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = tmpRot[8];
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1705,6 +1683,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = this.m00 * this.m11 - this.m01 * this.m10;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1732,6 +1711,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = this.m00 * this.m11 - this.m01 * this.m10;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1887,6 +1867,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = 0.;
 
         this.isIdentity = Boolean.FALSE;
+        this.type = MatrixType.GENERAL;
     }
 
     /**
@@ -1908,6 +1889,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = m22;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1927,6 +1909,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = -this.m22;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1950,6 +1933,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 = -matrix.m22;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /** Compute the SVD of a matrix m.
@@ -2987,6 +2971,7 @@ public class Matrix3d implements Serializable, Cloneable {
     public void setM00(double m00) {
         this.m00 = m00;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -3007,6 +2992,7 @@ public class Matrix3d implements Serializable, Cloneable {
     public void setM01(double m01) {
         this.m01 = m01;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -3027,6 +3013,7 @@ public class Matrix3d implements Serializable, Cloneable {
     public void setM02(double m02) {
         this.m02 = m02;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -3047,6 +3034,7 @@ public class Matrix3d implements Serializable, Cloneable {
     public void setM10(double m10) {
         this.m10 = m10;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -3067,6 +3055,7 @@ public class Matrix3d implements Serializable, Cloneable {
     public void setM11(double m11) {
         this.m11 = m11;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -3087,6 +3076,7 @@ public class Matrix3d implements Serializable, Cloneable {
     public void setM12(double m11) {
         this.m12 = m11;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -3107,6 +3097,7 @@ public class Matrix3d implements Serializable, Cloneable {
     public void setM20(double m20) {
         this.m20 = m20;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -3127,6 +3118,7 @@ public class Matrix3d implements Serializable, Cloneable {
     public void setM21(double m21) {
         this.m21 = m21;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -3147,6 +3139,7 @@ public class Matrix3d implements Serializable, Cloneable {
     public void setM22(double m22) {
         this.m22 = m22;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -3251,6 +3244,7 @@ public class Matrix3d implements Serializable, Cloneable {
         this.m22 /= count;
 
         this.isIdentity = null;
+        this.type = null;
 
         return true;
     }
@@ -3500,6 +3494,60 @@ public class Matrix3d implements Serializable, Cloneable {
         return this.isIdentity.booleanValue();
     }
 
+    /** Replies the classification of this matrix, as a transformation of the 2D homogeneous points.
+     *
+     * <p>The classification is computed when it is needed, and it is kept until this matrix is changed.
+     * Except for {@link MatrixType#RIGID}, it is based on the exact values of the elements.
+     * The linear part of a rigid matrix is orthonormal up to the rounding errors.
+     *
+     * <p>The classification is used for selecting the faster computation of the determinant,
+     * the inverse and the products of the matrices.
+     *
+     * @return the classification of this matrix.
+     * @since 13.0
+     */
+    @Pure
+    public MatrixType getType() {
+        MatrixType matrixType = this.type;
+        if (matrixType == null) {
+            matrixType = computeType();
+            this.type = matrixType;
+        }
+        return matrixType;
+    }
+
+    @Pure
+    @SuppressWarnings("checkstyle:returncount")
+    private MatrixType computeType() {
+        if (!isAffineMatrix()) {
+            return MatrixType.GENERAL;
+        }
+        if (this.m01 == 0. && this.m10 == 0.) {
+            if (this.m00 == 1. && this.m11 == 1.) {
+                return this.m02 == 0. && this.m12 == 0. ? MatrixType.IDENTITY : MatrixType.TRANSLATION;
+            }
+            return MatrixType.SCALE;
+        }
+        if (Math.abs(this.m00 * this.m00 + this.m10 * this.m10 - 1.) <= RIGID_EPSILON
+                && Math.abs(this.m01 * this.m01 + this.m11 * this.m11 - 1.) <= RIGID_EPSILON
+                && Math.abs(this.m00 * this.m01 + this.m10 * this.m11) <= RIGID_EPSILON) {
+            return MatrixType.RIGID;
+        }
+        return MatrixType.AFFINE;
+    }
+
+    /** Replies if the last row of this matrix is <code>[0, 0, 1]</code>, with the cached
+     * classification when it is known.
+     */
+    @Pure
+    private boolean isAffineMatrix() {
+        final MatrixType matrixType = this.type;
+        if (matrixType != null) {
+            return matrixType.isAffine();
+        }
+        return this.m20 == 0. && this.m21 == 0. && this.m22 == 1.;
+    }
+
     /** Add the given matrix to this matrix: {@code this += matrix}.
      *
      * <p>This function is an implementation of the operator for
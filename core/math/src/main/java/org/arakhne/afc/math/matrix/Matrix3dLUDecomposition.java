@@ -0,0 +1,253 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.matrix;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/** LU decomposition and back substitution that are tuned for the 3x3 matrices of {@link Matrix3d}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+final class Matrix3dLUDecomposition {
+
+	private Matrix3dLUDecomposition() {
+		//
+	}
+
+	/**
+	 * Given a 3x3 array "matrix0", this function replaces it with the LU
+	 * decomposition of a row-wise permutation of itself. The input parameters
+	 * are "matrix0" and "dimen". The array "matrix0" is also an output
+	 * parameter. The vector "row_perm[3]" is an output parameter that contains
+	 * the row permutations resulting from partial pivoting. The output
+	 * parameter "even_row_xchg" is 1 when the number of row exchanges is even,
+	 * or -1 otherwise. Assumes data type is always double.
+	 *
+	 * <p>This function is similar to luDecomposition, except that it is tuned
+	 * specifically for 3x3 matrices.
+	 *
+	 * @param matrix0 the matrix to decompose, replaced by its decomposition.
+	 * @param row_perm the array that receives the row permutations.
+	 * @return true if the matrix is nonsingular, or false otherwise.
+	 */
+	@SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:npathcomplexity"})
+	static boolean luDecomposition(double[] matrix0, int[] row_perm) {
+		//
+		// Reference: Press, Flannery, Teukolsky, Vetterling,
+		// _Numerical_Recipes_in_C_, Cambridge University Press,
+		// 1988, pp 40-45.
+		//
+
+		// Determine implicit scaling information by looping over rows
+		//double big, temp;
+
+		int ptr = 0;
+		int rs = 0;
+
+		// For each row ...
+		final double[] rowScale = new double[3];
+		int i = 3;
+		while (i-- != 0) {
+			double big = 0.;
+
+			// For each column, find the largest element in the row
+			int j = 3;
+			while (j-- != 0) {
+				double temp = matrix0[ptr++];
+				temp = Math.abs(temp);
+				if (temp > big) {
+					big = temp;
+				}
+			}
+
+			// Is the matrix singular?
+			if (big == 0.) {
+				return false;
+			}
+			rowScale[rs++] = 1. / big;
+		}
+
+		final int mtx = 0;
+
+		// For all columns, execute Crout's method
+		for (int j = 0; j < 3; ++j) {
+			int imax;
+
+			// Determine elements of upper diagonal matrix U
+			for (i = 0; i < j; ++i) {
+				final int target = mtx + (3 * i) + j;
+				double sum = matrix0[target];
+				int k = i;
+				int p1 = mtx + (3 * i);
+				int p2 = mtx + j;
+				while (k-- != 0) {
+					sum -= matrix0[p1] * matrix0[p2];
+					++p1;
+					p2 += 3;
+				}
+				matrix0[target] = sum;
+			}
+
+			// Search for largest pivot element and calculate
+			// intermediate elements of lower diagonal matrix L.
+			double big = 0.;
+			imax = -1;
+			for (i = j; i < 3; ++i) {
+				final int target = mtx + (3 * i) + j;
+				double sum = matrix0[target];
+				int k = j;
+				int p1 = mtx + (3 * i);
+				int p2 = mtx + j;
+				while (k-- != 0) {
+					sum -= matrix0[p1] * matrix0[p2];
+					++p1;
+					p2 += 3;
+				}
+				matrix0[target] = sum;
+
+				// Is this the best pivot so far?
+				final double temp = rowScale[i] * Math.abs(sum);
+				if (temp >= big) {
+					big = temp;
+					imax = i;
+				}
+			}
+
+			if (imax < 0) {
+				throw new RuntimeException();
+			}
+
+			// Is a row exchange necessary?
+			if (j != imax) {
+				// Yes: exchange rows
+				int k = 3;
+				int p1 = mtx + (3 * imax);
+				int p2 = mtx + (3 * j);
+				while (k-- != 0) {
+					final double temp = matrix0[p1];
+					matrix0[p1++] = matrix0[p2];
+					matrix0[p2++] = temp;
+				}
+
+				// Record change in scale factor
+				rowScale[imax] = rowScale[j];
+			}
+
+			// Record row permutation
+			row_perm[j] = imax;
+
+			// Is the matrix singular
+			if (matrix0[mtx + 3 * j + j] == 0.) {
+				return false;
+			}
+
+			// Divide elements of lower diagonal matrix L by pivot
+			if (j != (3 - 1)) {
+				final double temp = 1. / (matrix0[mtx + 3 * j + j]);
+				int target = mtx + 3 * (j + 1) + j;
+				i = 2 - j;
+				while (i-- != 0) {
+					matrix0[target] *= temp;
+					target += 3;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Solves a set of linear equations. The input parameters "matrix1", and
+	 * "row_perm" come from luDecompostionD3x3 and do not change here. The
+	 * parameter "matrix2" is a set of column vectors assembled into a 3x3
+	 * matrix of floating-point values. The procedure takes each column of
+	 * "matrix2" in turn and treats it as the right-hand side of the matrix
+	 * equation Ax = LUx = b. The solution vector replaces the original column
+	 * of the matrix.
+	 *
+	 * <p>If "matrix2" is the identity matrix, the procedure replaces its contents
+	 * with the inverse of the matrix from which "matrix1" was originally
+	 * derived.
+	 *
+	 * @param matrix1 the LU decomposition of the matrix.
+	 * @param row_perm the row permutations of the decomposition.
+	 * @param matrix2 the column vectors, replaced by the solution vectors.
+	 */
+	@Pure
+	static void luBacksubstitution(double[] matrix1, int[] row_perm,
+			double[] matrix2) {
+		//
+		// Reference: Press, Flannery, Teukolsky, Vetterling,
+		// _Numerical_Recipes_in_C_, Cambridge University Press,
+		// 1988, pp 44-45.
+		//
+
+		// rp = row_perm;
+		final int rp = 0;
+
+		// For each column vector of matrix2 ...
+		for (int k = 0; k < 3; ++k) {
+			// cv = &(matrix2[0][k]);
+			final int cv = k;
+			int ii = -1;
+
+			// Forward substitution
+			for (int i = 0; i < 3; ++i) {
+				final int ip = row_perm[rp + i];
+				double sum = matrix2[cv + 3 * ip];
+				matrix2[cv + 3 * ip] = matrix2[cv + 3 * i];
+				if (ii >= 0) {
+					// rv = &(matrix1[i][0]);
+					final int rv = i * 3;
+					for (int j = ii; j <= i - 1; ++j) {
+						sum -= matrix1[rv + j] * matrix2[cv + 3 * j];
+					}
+				} else if (sum != 0.) {
+					ii = i;
+				}
+				matrix2[cv + 3 * i] = sum;
+			}
+
+			// Backsubstitution
+			// rv = &(matrix1[3][0]);
+			int rv = 2 * 3;
+			matrix2[cv + 3 * 2] /= matrix1[rv + 2];
+
+			rv -= 3;
+			matrix2[cv + 3 * 1] = (matrix2[cv + 3 * 1] - matrix1[rv + 2]
+					* matrix2[cv + 3 * 2])
+					/ matrix1[rv + 1];
+
+			rv -= 3;
+			matrix2[cv + 4 * 0] = (matrix2[cv + 3 * 0] - matrix1[rv + 1]
+					* matrix2[cv + 3 * 1] - matrix1[rv + 2]
+							* matrix2[cv + 3 * 2])
+					/ matrix1[rv + 0];
+
+		}
+	}
+
+}
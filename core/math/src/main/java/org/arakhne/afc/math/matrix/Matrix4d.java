@@ -21,6 +21,8 @@
 package org.arakhne.afc.math.matrix;
 
 import java.io.Serializable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.eclipse.xtext.xbase.lib.Pure;
 
@@ -44,6 +46,14 @@ public class Matrix4d implements Serializable, Cloneable {
 
     private static final long serialVersionUID = 7216873052550769543L;
 
+    /** Maximal error on the products of the columns of the linear part of a {@link MatrixType#RIGID rigid} matrix.
+     */
+    private static final double RIGID_EPSILON = 1e-14;
+
+    private static final int TRANSFORM_TASKS_PER_THREAD = 4;
+
+    private static final int MIN_TRANSFORM_TASK_SIZE = 1 << 14;
+
     /**
      * The first matrix element in the first row.
      */
@@ -129,6 +139,12 @@ public class Matrix4d implements Serializable, Cloneable {
      */
     protected Boolean isIdentity;
 
+    /** Classification of the matrix.
+     * If <code>null</code> the classification must be determined.
+     * The subclasses that are changing the elements of the matrix must reset it to <code>null</code>.
+     */
+    protected MatrixType type;
+
     /**
      * Constructs and initializes a Matrix4f from the specified nine values.
      *
@@ -327,6 +343,7 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m33 = 1.;
 
         this.isIdentity = Boolean.TRUE;
+        this.type = MatrixType.IDENTITY;
     }
 
     /**
@@ -425,6 +442,7 @@ public class Matrix4d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -636,6 +654,7 @@ public class Matrix4d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -684,6 +703,7 @@ public class Matrix4d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -736,6 +756,7 @@ public class Matrix4d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -784,6 +805,7 @@ public class Matrix4d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -814,6 +836,7 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m33 += scalar;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -848,6 +871,7 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m33 = matrix.m33 + scalar;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -882,6 +906,7 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m33 = matrix1.m33 + matrix2.m33;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -913,6 +938,7 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m33 += matrix.m33;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -948,6 +974,7 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m33 = matrix1.m33 - matrix2.m33;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -980,6 +1007,7 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m33 -= matrix.m33;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1013,6 +1041,7 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m32 = temp;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1047,6 +1076,7 @@ public class Matrix4d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1078,7 +1108,8 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m32 = matrix.m32;
         this.m33 = matrix.m33;
 
-        this.isIdentity = null;
+        this.isIdentity = matrix.isIdentity;
+        this.type = matrix.type;
     }
 
     /**
@@ -1113,6 +1144,7 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m33 = matrix[15];
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1177,6 +1209,7 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m33 = m33;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1186,6 +1219,21 @@ public class Matrix4d implements Serializable, Cloneable {
      */
     @Pure
     public final double determinant() {
+        switch (getType()) {
+        case IDENTITY:
+        case TRANSLATION:
+            return 1.;
+        case SCALE:
+            return this.m00 * this.m11 * this.m22;
+        case RIGID:
+        case AFFINE:
+            return this.m00 * (this.m11 * this.m22 - this.m21 * this.m12)
+                    - this.m10 * (this.m01 * this.m22 - this.m21 * this.m02)
+                    + this.m20 * (this.m01 * this.m12 - this.m11 * this.m02);
+        case GENERAL:
+        default:
+            break;
+        }
         final double det1 = this.m22 * this.m33 - this.m23 * this.m32;
         final double det2 = this.m12 * this.m33 - this.m13 * this.m32;
         final double det3 = this.m12 * this.m23 - this.m13 * this.m22;
@@ -1243,6 +1291,7 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m33 *= scalar;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1277,6 +1326,7 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m33 = scalar * matrix.m33;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1288,6 +1338,17 @@ public class Matrix4d implements Serializable, Cloneable {
      */
     public final void mul(Matrix4d matrix) {
         assert matrix != null : AssertMessages.notNullParameter();
+        if (matrix.type == MatrixType.IDENTITY) {
+            return;
+        }
+        if (this.type == MatrixType.IDENTITY) {
+            set(matrix);
+            return;
+        }
+        if (isAffineMatrix() && matrix.isAffineMatrix()) {
+            mulAffine(this, matrix);
+            return;
+        }
         final double m00 = this.m00 * matrix.m00 + this.m01 * matrix.m10 + this.m02 * matrix.m20 + this.m03 * matrix.m30;
         final double m01 = this.m00 * matrix.m01 + this.m01 * matrix.m11 + this.m02 * matrix.m21 + this.m03 * matrix.m31;
         final double m02 = this.m00 * matrix.m02 + this.m01 * matrix.m12 + this.m02 * matrix.m22 + this.m03 * matrix.m32;
@@ -1326,6 +1387,7 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m33 = m33;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1340,6 +1402,18 @@ public class Matrix4d implements Serializable, Cloneable {
     public final void mul(Matrix4d matrix1, Matrix4d matrix2) {
         assert matrix1 != null : AssertMessages.notNullParameter(0);
         assert matrix2 != null : AssertMessages.notNullParameter(1);
+        if (matrix1.type == MatrixType.IDENTITY) {
+            set(matrix2);
+            return;
+        }
+        if (matrix2.type == MatrixType.IDENTITY) {
+            set(matrix1);
+            return;
+        }
+        if (matrix1.isAffineMatrix() && matrix2.isAffineMatrix()) {
+            mulAffine(matrix1, matrix2);
+            return;
+        }
         if (this != matrix1 && this != matrix2) {
             this.m00 = matrix1.m00 * matrix2.m00 + matrix1.m01 * matrix2.m10
                     + matrix1.m02 * matrix2.m20 + matrix1.m03 * matrix2.m30;
@@ -1432,6 +1506,49 @@ public class Matrix4d implements Serializable, Cloneable {
         }
 
         this.isIdentity = null;
+        this.type = null;
+    }
+
+    /**
+     * Sets the value of this matrix to the result of multiplying the two
+     * argument matrices together, when their last rows are <code>[0, 0, 0, 1]</code>.
+     * The last row of the result is also <code>[0, 0, 0, 1]</code>.
+     */
+    private void mulAffine(Matrix4d matrix1, Matrix4d matrix2) {
+        final double m00 = matrix1.m00 * matrix2.m00 + matrix1.m01 * matrix2.m10 + matrix1.m02 * matrix2.m20;
+        final double m01 = matrix1.m00 * matrix2.m01 + matrix1.m01 * matrix2.m11 + matrix1.m02 * matrix2.m21;
+        final double m02 = matrix1.m00 * matrix2.m02 + matrix1.m01 * matrix2.m12 + matrix1.m02 * matrix2.m22;
+        final double m03 = matrix1.m00 * matrix2.m03 + matrix1.m01 * matrix2.m13 + matrix1.m02 * matrix2.m23 + matrix1.m03;
+
+        final double m10 = matrix1.m10 * matrix2.m00 + matrix1.m11 * matrix2.m10 + matrix1.m12 * matrix2.m20;
+        final double m11 = matrix1.m10 * matrix2.m01 + matrix1.m11 * matrix2.m11 + matrix1.m12 * matrix2.m21;
+        final double m12 = matrix1.m10 * matrix2.m02 + matrix1.m11 * matrix2.m12 + matrix1.m12 * matrix2.m22;
+        final double m13 = matrix1.m10 * matrix2.m03 + matrix1.m11 * matrix2.m13 + matrix1.m12 * matrix2.m23 + matrix1.m13;
+
+        final double m20 = matrix1.m20 * matrix2.m00 + matrix1.m21 * matrix2.m10 + matrix1.m22 * matrix2.m20;
+        final double m21 = matrix1.m20 * matrix2.m01 + matrix1.m21 * matrix2.m11 + matrix1.m22 * matrix2.m21;
+        final double m22 = matrix1.m20 * matrix2.m02 + matrix1.m21 * matrix2.m12 + matrix1.m22 * matrix2.m22;
+        final double m23 = matrix1.m20 * matrix2.m03 + matrix1.m21 * matrix2.m13 + matrix1.m22 * matrix2.m23 + matrix1.m23;
+
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m03 = m03;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+        this.m13 = m13;
+        this.m20 = m20;
+        this.m21 = m21;
+        this.m22 = m22;
+        this.m23 = m23;
+        this.m30 = 0.;
+        this.m31 = 0.;
+        this.m32 = 0.;
+        this.m33 = 1.;
+
+        this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1658,6 +1775,7 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m33 = 0.;
 
         this.isIdentity = Boolean.FALSE;
+        this.type = MatrixType.GENERAL;
     }
 
     /**
@@ -1691,6 +1809,7 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m33 = m33;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1718,6 +1837,7 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m33 = -this.m33;
 
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1750,6 +1870,398 @@ public class Matrix4d implements Serializable, Cloneable {
         this.m33 = -matrix.m33;
 
         this.isIdentity = null;
+        this.type = null;
+    }
+
+    /**
+     * Multiply this matrix by the 3D points that are stored in the source array, and place
+     * the transformed points into the destination array (dst = this * src).
+     *
+     * <p>The coordinates of the points are stored in sequence: {@code x0, y0, z0, x1, y1, z1, ...}.
+     * The points have an implicit {@code w} coordinate equal to {@code 1}. When the last row of
+     * this matrix is not {@code [0, 0, 0, 1]}, the transformed coordinates are divided by the
+     * transformed {@code w} coordinate.
+     *
+     * <p>The points are transformed by a loop that is specialized to the {@link #getType() classification}
+     * of this matrix. The two arrays may be the same array, and the two ranges of coordinates may overlap.
+     *
+     * @param src the coordinates of the points to transform.
+     * @param srcOff the index of the first coordinate in the source array.
+     * @param dst the array that receives the coordinates of the transformed points.
+     * @param dstOff the index of the first coordinate in the destination array.
+     * @param count the number of points to transform.
+     * @since 13.0
+     * @see #parallelTransform(double[], int, double[], int, int)
+     */
+    public void transform(double[] src, int srcOff, double[] dst, int dstOff, int count) {
+        assert src != null : AssertMessages.notNullParameter(0);
+        assert dst != null : AssertMessages.notNullParameter(2);
+        assert count >= 0 : AssertMessages.positiveOrZeroParameter(4);
+        assert srcOff >= 0 && srcOff + 3 * count <= src.length
+                : AssertMessages.tooSmallArrayParameter(0, src.length, srcOff + 3 * count);
+        assert dstOff >= 0 && dstOff + 3 * count <= dst.length
+                : AssertMessages.tooSmallArrayParameter(2, dst.length, dstOff + 3 * count);
+        int start = srcOff;
+        if (src == dst && srcOff != dstOff && Math.abs(srcOff - dstOff) < 3 * count) {
+            System.arraycopy(src, srcOff, dst, dstOff, 3 * count);
+            start = dstOff;
+        }
+        transform(getType(), src, start, dst, dstOff, 0, count);
+    }
+
+    /**
+     * Multiply this matrix by the 3D points that are stored in the source array, and place
+     * the transformed points into the destination array (dst = this * src).
+     *
+     * <p>The coordinates of the points are stored in sequence: {@code x0, y0, z0, x1, y1, z1, ...}.
+     * The points have an implicit {@code w} coordinate equal to {@code 1}. When the last row of
+     * this matrix is not {@code [0, 0, 0, 1]}, the transformed coordinates are divided by the
+     * transformed {@code w} coordinate. The computation is done with a double precision.
+     *
+     * <p>The points are transformed by a loop that is specialized to the {@link #getType() classification}
+     * of this matrix. The two arrays may be the same array, and the two ranges of coordinates may overlap.
+     *
+     * @param src the coordinates of the points to transform.
+     * @param srcOff the index of the first coordinate in the source array.
+     * @param dst the array that receives the coordinates of the transformed points.
+     * @param dstOff the index of the first coordinate in the destination array.
+     * @param count the number of points to transform.
+     * @since 13.0
+     * @see #parallelTransform(float[], int, float[], int, int)
+     */
+    public void transform(float[] src, int srcOff, float[] dst, int dstOff, int count) {
+        assert src != null : AssertMessages.notNullParameter(0);
+        assert dst != null : AssertMessages.notNullParameter(2);
+        assert count >= 0 : AssertMessages.positiveOrZeroParameter(4);
+        assert srcOff >= 0 && srcOff + 3 * count <= src.length
+                : AssertMessages.tooSmallArrayParameter(0, src.length, srcOff + 3 * count);
+        assert dstOff >= 0 && dstOff + 3 * count <= dst.length
+                : AssertMessages.tooSmallArrayParameter(2, dst.length, dstOff + 3 * count);
+        int start = srcOff;
+        if (src == dst && srcOff != dstOff && Math.abs(srcOff - dstOff) < 3 * count) {
+            System.arraycopy(src, srcOff, dst, dstOff, 3 * count);
+            start = dstOff;
+        }
+        transform(getType(), src, start, dst, dstOff, 0, count);
+    }
+
+    /** Transform the points with the indexes in {@code [from, to)}.
+     *
+     * @param matrixType the classification of this matrix.
+     * @param src the coordinates of the points to transform.
+     * @param srcOff the index of the first coordinate in the source array.
+     * @param dst the array that receives the coordinates of the transformed points.
+     * @param dstOff the index of the first coordinate in the destination array.
+     * @param from the index of the first point to transform.
+     * @param to the index after the last point to transform.
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    private void transform(MatrixType matrixType, double[] src, int srcOff, double[] dst, int dstOff, int from, int to) {
+        final double a00 = this.m00;
+        final double a01 = this.m01;
+        final double a02 = this.m02;
+        final double a03 = this.m03;
+        final double a10 = this.m10;
+        final double a11 = this.m11;
+        final double a12 = this.m12;
+        final double a13 = this.m13;
+        final double a20 = this.m20;
+        final double a21 = this.m21;
+        final double a22 = this.m22;
+        final double a23 = this.m23;
+        final double a30 = this.m30;
+        final double a31 = this.m31;
+        final double a32 = this.m32;
+        final double a33 = this.m33;
+        switch (matrixType) {
+        case IDENTITY:
+            if (src != dst || srcOff != dstOff) {
+                System.arraycopy(src, srcOff + 3 * from, dst, dstOff + 3 * from, 3 * (to - from));
+            }
+            break;
+        case TRANSLATION:
+            for (int i = from; i < to; ++i) {
+                final int s = srcOff + 3 * i;
+                final int d = dstOff + 3 * i;
+                dst[d] = src[s] + a03;
+                dst[d + 1] = src[s + 1] + a13;
+                dst[d + 2] = src[s + 2] + a23;
+            }
+            break;
+        case SCALE:
+            for (int i = from; i < to; ++i) {
+                final int s = srcOff + 3 * i;
+                final int d = dstOff + 3 * i;
+                dst[d] = a00 * src[s] + a03;
+                dst[d + 1] = a11 * src[s + 1] + a13;
+                dst[d + 2] = a22 * src[s + 2] + a23;
+            }
+            break;
+        case RIGID:
+        case AFFINE:
+            MatrixKernels.getDefault().transformAffine(this, src, srcOff + 3 * from, dst, dstOff + 3 * from, to - from);
+            break;
+        case GENERAL:
+        default:
+            for (int i = from; i < to; ++i) {
+                final int s = srcOff + 3 * i;
+                final int d = dstOff + 3 * i;
+                final double x = src[s];
+                final double y = src[s + 1];
+                final double z = src[s + 2];
+                final double w = a30 * x + a31 * y + a32 * z + a33;
+                dst[d] = (a00 * x + a01 * y + a02 * z + a03) / w;
+                dst[d + 1] = (a10 * x + a11 * y + a12 * z + a13) / w;
+                dst[d + 2] = (a20 * x + a21 * y + a22 * z + a23) / w;
+            }
+            break;
+        }
+    }
+
+    /** Transform the points with the indexes in {@code [from, to)}.
+     *
+     * @param matrixType the classification of this matrix.
+     * @param src the coordinates of the points to transform.
+     * @param srcOff the index of the first coordinate in the source array.
+     * @param dst the array that receives the coordinates of the transformed points.
+     * @param dstOff the index of the first coordinate in the destination array.
+     * @param from the index of the first point to transform.
+     * @param to the index after the last point to transform.
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    private void transform(MatrixType matrixType, float[] src, int srcOff, float[] dst, int dstOff, int from, int to) {
+        final double a00 = this.m00;
+        final double a01 = this.m01;
+        final double a02 = this.m02;
+        final double a03 = this.m03;
+        final double a10 = this.m10;
+        final double a11 = this.m11;
+        final double a12 = this.m12;
+        final double a13 = this.m13;
+        final double a20 = this.m20;
+        final double a21 = this.m21;
+        final double a22 = this.m22;
+        final double a23 = this.m23;
+        final double a30 = this.m30;
+        final double a31 = this.m31;
+        final double a32 = this.m32;
+        final double a33 = this.m33;
+        switch (matrixType) {
+        case IDENTITY:
+            if (src != dst || srcOff != dstOff) {
+                System.arraycopy(src, srcOff + 3 * from, dst, dstOff + 3 * from, 3 * (to - from));
+            }
+            break;
+        case TRANSLATION:
+            for (int i = from; i < to; ++i) {
+                final int s = srcOff + 3 * i;
+                final int d = dstOff + 3 * i;
+                dst[d] = (float) (src[s] + a03);
+                dst[d + 1] = (float) (src[s + 1] + a13);
+                dst[d + 2] = (float) (src[s + 2] + a23);
+            }
+            break;
+        case SCALE:
+            for (int i = from; i < to; ++i) {
+                final int s = srcOff + 3 * i;
+                final int d = dstOff + 3 * i;
+                dst[d] = (float) (a00 * src[s] + a03);
+                dst[d + 1] = (float) (a11 * src[s + 1] + a13);
+                dst[d + 2] = (float) (a22 * src[s + 2] + a23);
+            }
+            break;
+        case RIGID:
+        case AFFINE:
+            MatrixKernels.getDefault().transformAffine(this, src, srcOff + 3 * from, dst, dstOff + 3 * from, to - from);
+            break;
+        case GENERAL:
+        default:
+            for (int i = from; i < to; ++i) {
+                final int s = srcOff + 3 * i;
+                final int d = dstOff + 3 * i;
+                final double x = src[s];
+                final double y = src[s + 1];
+                final double z = src[s + 2];
+                final double w = a30 * x + a31 * y + a32 * z + a33;
+                dst[d] = (float) ((a00 * x + a01 * y + a02 * z + a03) / w);
+                dst[d + 1] = (float) ((a10 * x + a11 * y + a12 * z + a13) / w);
+                dst[d + 2] = (float) ((a20 * x + a21 * y + a22 * z + a23) / w);
+            }
+            break;
+        }
+    }
+
+    /**
+     * Multiply this matrix by the 3D points that are stored in the source array, and place
+     * the transformed points into the destination array (dst = this * src); the points are
+     * transformed in parallel by the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param src the coordinates of the points to transform.
+     * @param srcOff the index of the first coordinate in the source array.
+     * @param dst the array that receives the coordinates of the transformed points.
+     * @param dstOff the index of the first coordinate in the destination array.
+     * @param count the number of points to transform.
+     * @since 13.0
+     * @see #transform(double[], int, double[], int, int)
+     * @see #parallelTransform(double[], int, double[], int, int, ForkJoinPool)
+     */
+    public void parallelTransform(double[] src, int srcOff, double[] dst, int dstOff, int count) {
+        parallelTransform(src, srcOff, dst, dstOff, count, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Multiply this matrix by the 3D points that are stored in the source array, and place
+     * the transformed points into the destination array (dst = this * src); the points are
+     * transformed in parallel.
+     *
+     * <p>This matrix must not be changed until this function returns.
+     *
+     * @param src the coordinates of the points to transform.
+     * @param srcOff the index of the first coordinate in the source array.
+     * @param dst the array that receives the coordinates of the transformed points.
+     * @param dstOff the index of the first coordinate in the destination array.
+     * @param count the number of points to transform.
+     * @param pool the pool that runs the tasks.
+     * @since 13.0
+     * @see #transform(double[], int, double[], int, int)
+     */
+    public void parallelTransform(double[] src, int srcOff, double[] dst, int dstOff, int count, ForkJoinPool pool) {
+        assert src != null : AssertMessages.notNullParameter(0);
+        assert dst != null : AssertMessages.notNullParameter(2);
+        assert count >= 0 : AssertMessages.positiveOrZeroParameter(4);
+        assert srcOff >= 0 && srcOff + 3 * count <= src.length
+                : AssertMessages.tooSmallArrayParameter(0, src.length, srcOff + 3 * count);
+        assert dstOff >= 0 && dstOff + 3 * count <= dst.length
+                : AssertMessages.tooSmallArrayParameter(2, dst.length, dstOff + 3 * count);
+        assert pool != null : AssertMessages.notNullParameter(5);
+        int start = srcOff;
+        if (src == dst && srcOff != dstOff && Math.abs(srcOff - dstOff) < 3 * count) {
+            System.arraycopy(src, srcOff, dst, dstOff, 3 * count);
+            start = dstOff;
+        }
+        final MatrixType matrixType = getType();
+        final int srcStart = start;
+        final int grain = Math.max(MIN_TRANSFORM_TASK_SIZE, count / (pool.getParallelism() * TRANSFORM_TASKS_PER_THREAD));
+        final PointRangeTransformer transformer = (from, to) -> transform(matrixType, src, srcStart, dst, dstOff, from, to);
+        pool.invoke(new TransformTask(0, count, grain, transformer));
+    }
+
+    /**
+     * Multiply this matrix by the 3D points that are stored in the source array, and place
+     * the transformed points into the destination array (dst = this * src); the points are
+     * transformed in parallel by the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param src the coordinates of the points to transform.
+     * @param srcOff the index of the first coordinate in the source array.
+     * @param dst the array that receives the coordinates of the transformed points.
+     * @param dstOff the index of the first coordinate in the destination array.
+     * @param count the number of points to transform.
+     * @since 13.0
+     * @see #transform(float[], int, float[], int, int)
+     * @see #parallelTransform(float[], int, float[], int, int, ForkJoinPool)
+     */
+    public void parallelTransform(float[] src, int srcOff, float[] dst, int dstOff, int count) {
+        parallelTransform(src, srcOff, dst, dstOff, count, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Multiply this matrix by the 3D points that are stored in the source array, and place
+     * the transformed points into the destination array (dst = this * src); the points are
+     * transformed in parallel.
+     *
+     * <p>This matrix must not be changed until this function returns.
+     *
+     * @param src the coordinates of the points to transform.
+     * @param srcOff the index of the first coordinate in the source array.
+     * @param dst the array that receives the coordinates of the transformed points.
+     * @param dstOff the index of the first coordinate in the destination array.
+     * @param count the number of points to transform.
+     * @param pool the pool that runs the tasks.
+     * @since 13.0
+     * @see #transform(float[], int, float[], int, int)
+     */
+    public void parallelTransform(float[] src, int srcOff, float[] dst, int dstOff, int count, ForkJoinPool pool) {
+        assert src != null : AssertMessages.notNullParameter(0);
+        assert dst != null : AssertMessages.notNullParameter(2);
+        assert count >= 0 : AssertMessages.positiveOrZeroParameter(4);
+        assert srcOff >= 0 && srcOff + 3 * count <= src.length
+                : AssertMessages.tooSmallArrayParameter(0, src.length, srcOff + 3 * count);
+        assert dstOff >= 0 && dstOff + 3 * count <= dst.length
+                : AssertMessages.tooSmallArrayParameter(2, dst.length, dstOff + 3 * count);
+        assert pool != null : AssertMessages.notNullParameter(5);
+        int start = srcOff;
+        if (src == dst && srcOff != dstOff && Math.abs(srcOff - dstOff) < 3 * count) {
+            System.arraycopy(src, srcOff, dst, dstOff, 3 * count);
+            start = dstOff;
+        }
+        final MatrixType matrixType = getType();
+        final int srcStart = start;
+        final int grain = Math.max(MIN_TRANSFORM_TASK_SIZE, count / (pool.getParallelism() * TRANSFORM_TASKS_PER_THREAD));
+        final PointRangeTransformer transformer = (from, to) -> transform(matrixType, src, srcStart, dst, dstOff, from, to);
+        pool.invoke(new TransformTask(0, count, grain, transformer));
+    }
+
+    /**
+     * Multiply the 4x4 matrices of two batches, two by two: {@code dst[i] = left[i] * right[i]}.
+     *
+     * <p>Each matrix is stored with 16 consecutive elements, row after row, as in {@link #set(double[])}.
+     * The products are computed by the {@link MatrixKernels#getDefault() default kernels}, which
+     * may use the SIMD instructions of the processor.
+     *
+     * @param left the left operands.
+     * @param leftOff the index of the first element of the left operands.
+     * @param right the right operands.
+     * @param rightOff the index of the first element of the right operands.
+     * @param dst the array that receives the products. It may be one of the operand arrays, with the same offset.
+     * @param dstOff the index of the first element of the products.
+     * @param count the number of matrices to multiply.
+     * @since 13.0
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public static void batchMul(double[] left, int leftOff, double[] right, int rightOff, double[] dst, int dstOff, int count) {
+        assert left != null : AssertMessages.notNullParameter(0);
+        assert right != null : AssertMessages.notNullParameter(2);
+        assert dst != null : AssertMessages.notNullParameter(4);
+        assert count >= 0 : AssertMessages.positiveOrZeroParameter(6);
+        assert leftOff >= 0 && leftOff + 16 * count <= left.length
+                : AssertMessages.tooSmallArrayParameter(0, left.length, leftOff + 16 * count);
+        assert rightOff >= 0 && rightOff + 16 * count <= right.length
+                : AssertMessages.tooSmallArrayParameter(2, right.length, rightOff + 16 * count);
+        assert dstOff >= 0 && dstOff + 16 * count <= dst.length
+                : AssertMessages.tooSmallArrayParameter(4, dst.length, dstOff + 16 * count);
+        MatrixKernels.getDefault().mul(left, leftOff, right, rightOff, dst, dstOff, count);
+    }
+
+    /**
+     * Multiply the 4x4 matrices of two batches, two by two, with a single precision:
+     * {@code dst[i] = left[i] * right[i]}.
+     *
+     * <p>Each matrix is stored with 16 consecutive elements, row after row, as in {@link #set(double[])}.
+     * The products are computed by the {@link MatrixKernels#getDefault() default kernels}, which
+     * may use the SIMD instructions of the processor.
+     *
+     * @param left the left operands.
+     * @param leftOff the index of the first element of the left operands.
+     * @param right the right operands.
+     * @param rightOff the index of the first element of the right operands.
+     * @param dst the array that receives the products. It may be one of the operand arrays, with the same offset.
+     * @param dstOff the index of the first element of the products.
+     * @param count the number of matrices to multiply.
+     * @since 13.0
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public static void batchMul(float[] left, int leftOff, float[] right, int rightOff, float[] dst, int dstOff, int count) {
+        assert left != null : AssertMessages.notNullParameter(0);
+        assert right != null : AssertMessages.notNullParameter(2);
+        assert dst != null : AssertMessages.notNullParameter(4);
+        assert count >= 0 : AssertMessages.positiveOrZeroParameter(6);
+        assert leftOff >= 0 && leftOff + 16 * count <= left.length
+                : AssertMessages.tooSmallArrayParameter(0, left.length, leftOff + 16 * count);
+        assert rightOff >= 0 && rightOff + 16 * count <= right.length
+                : AssertMessages.tooSmallArrayParameter(2, right.length, rightOff + 16 * count);
+        assert dstOff >= 0 && dstOff + 16 * count <= dst.length
+                : AssertMessages.tooSmallArrayParameter(4, dst.length, dstOff + 16 * count);
+        MatrixKernels.getDefault().mul(left, leftOff, right, rightOff, dst, dstOff, count);
     }
 
     /**
@@ -1790,6 +2302,7 @@ public class Matrix4d implements Serializable, Cloneable {
     public final void setM00(double m00) {
         this.m00 = m00;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1811,6 +2324,7 @@ public class Matrix4d implements Serializable, Cloneable {
     public final void setM01(double m01) {
         this.m01 = m01;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1832,6 +2346,7 @@ public class Matrix4d implements Serializable, Cloneable {
     public final void setM02(double m02) {
         this.m02 = m02;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1853,6 +2368,7 @@ public class Matrix4d implements Serializable, Cloneable {
     public final void setM03(double m03) {
         this.m03 = m03;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1874,6 +2390,7 @@ public class Matrix4d implements Serializable, Cloneable {
     public final void setM10(double m10) {
         this.m10 = m10;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1895,6 +2412,7 @@ public class Matrix4d implements Serializable, Cloneable {
     public final void setM11(double m11) {
         this.m11 = m11;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1916,6 +2434,7 @@ public class Matrix4d implements Serializable, Cloneable {
     public final void setM12(double m12) {
         this.m12 = m12;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1937,6 +2456,7 @@ public class Matrix4d implements Serializable, Cloneable {
     public final void setM13(double m13) {
         this.m13 = m13;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1958,6 +2478,7 @@ public class Matrix4d implements Serializable, Cloneable {
     public final void setM20(double m20) {
         this.m20 = m20;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -1979,6 +2500,7 @@ public class Matrix4d implements Serializable, Cloneable {
     public final void setM21(double m21) {
         this.m21 = m21;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -2000,6 +2522,7 @@ public class Matrix4d implements Serializable, Cloneable {
     public final void setM22(double m22) {
         this.m22 = m22;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -2021,6 +2544,7 @@ public class Matrix4d implements Serializable, Cloneable {
     public final void setM23(double m23) {
         this.m23 = m23;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -2042,6 +2566,7 @@ public class Matrix4d implements Serializable, Cloneable {
     public final void setM30(double m30) {
         this.m30 = m30;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -2063,6 +2588,7 @@ public class Matrix4d implements Serializable, Cloneable {
     public final void setM31(double m31) {
         this.m31 = m31;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -2084,6 +2610,7 @@ public class Matrix4d implements Serializable, Cloneable {
     public final void setM32(double m32) {
         this.m32 = m32;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /**
@@ -2105,6 +2632,7 @@ public class Matrix4d implements Serializable, Cloneable {
     public final void setM33(double m33) {
         this.m33 = m33;
         this.isIdentity = null;
+        this.type = null;
     }
 
     /** Replies if the matrix is symmetric.
@@ -2122,6 +2650,65 @@ public class Matrix4d implements Serializable, Cloneable {
                 &&	this.m23 == this.m32;
     }
 
+    /** Replies the classification of this matrix, as a transformation of the 3D homogeneous points.
+     *
+     * <p>The classification is computed when it is needed, and it is kept until this matrix is changed.
+     * Except for {@link MatrixType#RIGID}, it is based on the exact values of the elements.
+     * The linear part of a rigid matrix is orthonormal up to the rounding errors.
+     *
+     * <p>The classification is used for selecting the faster computation of the determinant,
+     * the products of the matrices, and the transformations of the arrays of points.
+     *
+     * @return the classification of this matrix.
+     * @since 13.0
+     */
+    @Pure
+    public MatrixType getType() {
+        MatrixType matrixType = this.type;
+        if (matrixType == null) {
+            matrixType = computeType();
+            this.type = matrixType;
+        }
+        return matrixType;
+    }
+
+    @Pure
+    @SuppressWarnings({"checkstyle:returncount", "checkstyle:booleanexpressioncomplexity",
+            "checkstyle:cyclomaticcomplexity"})
+    private MatrixType computeType() {
+        if (!isAffineMatrix()) {
+            return MatrixType.GENERAL;
+        }
+        if (this.m01 == 0. && this.m02 == 0. && this.m10 == 0.
+                && this.m12 == 0. && this.m20 == 0. && this.m21 == 0.) {
+            if (this.m00 == 1. && this.m11 == 1. && this.m22 == 1.) {
+                return this.m03 == 0. && this.m13 == 0. && this.m23 == 0. ? MatrixType.IDENTITY : MatrixType.TRANSLATION;
+            }
+            return MatrixType.SCALE;
+        }
+        if (Math.abs(this.m00 * this.m00 + this.m10 * this.m10 + this.m20 * this.m20 - 1.) <= RIGID_EPSILON
+                && Math.abs(this.m01 * this.m01 + this.m11 * this.m11 + this.m21 * this.m21 - 1.) <= RIGID_EPSILON
+                && Math.abs(this.m02 * this.m02 + this.m12 * this.m12 + this.m22 * this.m22 - 1.) <= RIGID_EPSILON
+                && Math.abs(this.m00 * this.m01 + this.m10 * this.m11 + this.m20 * this.m21) <= RIGID_EPSILON
+                && Math.abs(this.m00 * this.m02 + this.m10 * this.m12 + this.m20 * this.m22) <= RIGID_EPSILON
+                && Math.abs(this.m01 * this.m02 + this.m11 * this.m12 + this.m21 * this.m22) <= RIGID_EPSILON) {
+            return MatrixType.RIGID;
+        }
+        return MatrixType.AFFINE;
+    }
+
+    /** Replies if the last row of this matrix is <code>[0, 0, 0, 1]</code>, with the cached
+     * classification when it is known.
+     */
+    @Pure
+    private boolean isAffineMatrix() {
+        final MatrixType matrixType = this.type;
+        if (matrixType != null) {
+            return matrixType.isAffine();
+        }
+        return this.m30 == 0. && this.m31 == 0. && this.m32 == 0. && this.m33 == 1.;
+    }
+
     /** Replies if the matrix is identity.
      *
      * <p>This function uses the equal-to-zero test with the error {@link Math#ulp(double)}.
@@ -2556,4 +3143,64 @@ public class Matrix4d implements Serializable, Cloneable {
         return operator_not();
     }
 
+    /** Transformer of a range of points.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 13.0
+     */
+    @FunctionalInterface
+    private interface PointRangeTransformer {
+
+        /** Transform the points with the indexes in {@code [from, to)}.
+         *
+         * @param from the index of the first point to transform.
+         * @param to the index after the last point to transform.
+         */
+        void transform(int from, int to);
+
+    }
+
+    /** Task that transforms a range of points.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 13.0
+     */
+    private static final class TransformTask extends RecursiveAction {
+
+        private static final long serialVersionUID = -6104418763225793512L;
+
+        private final int from;
+
+        private final int to;
+
+        private final int grain;
+
+        private final transient PointRangeTransformer transformer;
+
+        TransformTask(int from, int to, int grain, PointRangeTransformer transformer) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.transformer = transformer;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= this.grain) {
+                this.transformer.transform(this.from, this.to);
+            } else {
+                final int middle = (this.from + this.to) >>> 1;
+                invokeAll(new TransformTask(this.from, middle, this.grain, this.transformer),
+                        new TransformTask(middle, this.to, this.grain, this.transformer));
+            }
+        }
+
+    }
+
 }
@@ -0,0 +1,127 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.matrix;
+
+/** Computation kernels for the batches of 4x4 matrices and of 3D points.
+ *
+ * <p>The matrices of a batch are packed in an array of numbers: each matrix is stored with 16 consecutive
+ * numbers, row after row, as in {@link Matrix4d#set(double[])}. The points of a batch are stored with 3
+ * consecutive coordinates: {@code x0, y0, z0, x1, y1, z1, ...}.
+ *
+ * <p>The kernels that are used by {@link Matrix4d} are selected when the class {@link MatrixKernels} is initialized;
+ * see {@link #getDefault()}. The default kernels are scalar. A kernel that is using the SIMD instructions, e.g. with
+ * the {@code jdk.incubator.vector} module, may be provided on the class path; it is used only if it
+ * is loaded by the virtual machine, and if it replies the same results as the scalar kernels.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public interface MatrixKernels {
+
+	/** Name of the system property that contains the fully qualified name of the class of the kernels to use.
+	 * The value {@code scalar} forces the use of the scalar kernels.
+	 */
+	String KERNELS_PROPERTY = "org.arakhne.afc.math.matrix.kernels"; //$NON-NLS-1$
+
+	/** Fully qualified name of the class of the kernels that are using the {@code jdk.incubator.vector} module.
+	 * These kernels are used by default when they are available. They are provided by the module
+	 * {@code org.arakhne.afc.core:mathvector}, which needs Java 16 or higher.
+	 */
+	String VECTOR_KERNELS = "org.arakhne.afc.math.matrix.vector.VectorMatrixKernels"; //$NON-NLS-1$
+
+	/** Replies the kernels that are used by the matrices.
+	 *
+	 * @return the kernels, never <code>null</code>.
+	 */
+	static MatrixKernels getDefault() {
+		return MatrixKernelsLoader.KERNELS;
+	}
+
+	/** Replies the name of these kernels.
+	 *
+	 * @return the name.
+	 */
+	String getName();
+
+	/** Multiply the matrices of two batches, two by two: {@code dst[i] = left[i] * right[i]}.
+	 *
+	 * <p>The destination batch must not overlap the two other batches, except if it is the same range of
+	 * matrices as one of them.
+	 *
+	 * @param left the left operands.
+	 * @param leftOff the index of the first element of the left operands.
+	 * @param right the right operands.
+	 * @param rightOff the index of the first element of the right operands.
+	 * @param dst the array that receives the products.
+	 * @param dstOff the index of the first element of the products.
+	 * @param count the number of matrices to multiply.
+	 */
+	@SuppressWarnings("checkstyle:parameternumber")
+	void mul(double[] left, int leftOff, double[] right, int rightOff, double[] dst, int dstOff, int count);
+
+	/** Multiply the matrices of two batches, two by two, with a single precision: {@code dst[i] = left[i] * right[i]}.
+	 *
+	 * <p>The destination batch must not overlap the two other batches, except if it is the same range of
+	 * matrices as one of them.
+	 *
+	 * @param left the left operands.
+	 * @param leftOff the index of the first element of the left operands.
+	 * @param right the right operands.
+	 * @param rightOff the index of the first element of the right operands.
+	 * @param dst the array that receives the products.
+	 * @param dstOff the index of the first element of the products.
+	 * @param count the number of matrices to multiply.
+	 */
+	@SuppressWarnings("checkstyle:parameternumber")
+	void mul(float[] left, int leftOff, float[] right, int rightOff, float[] dst, int dstOff, int count);
+
+	/** Transform the 3D points by an affine matrix: {@code dst = matrix * src}.
+	 * The last row of the matrix is assumed to be {@code [0, 0, 0, 1]}.
+	 *
+	 * <p>The destination range must not overlap the source range, except if it is the same range.
+	 *
+	 * @param matrix the transformation matrix.
+	 * @param src the coordinates of the points to transform.
+	 * @param srcOff the index of the first coordinate in the source array.
+	 * @param dst the array that receives the coordinates of the transformed points.
+	 * @param dstOff the index of the first coordinate in the destination array.
+	 * @param count the number of points to transform.
+	 */
+	void transformAffine(Matrix4d matrix, double[] src, int srcOff, double[] dst, int dstOff, int count);
+
+	/** Transform the 3D points by an affine matrix: {@code dst = matrix * src}.
+	 * The last row of the matrix is assumed to be {@code [0, 0, 0, 1]}.
+	 *
+	 * <p>The destination range must not overlap the source range, except if it is the same range.
+	 *
+	 * @param matrix the transformation matrix.
+	 * @param src the coordinates of the points to transform.
+	 * @param srcOff the index of the first coordinate in the source array.
+	 * @param dst the array that receives the coordinates of the transformed points.
+	 * @param dstOff the index of the first coordinate in the destination array.
+	 * @param count the number of points to transform.
+	 */
+	void transformAffine(Matrix4d matrix, float[] src, int srcOff, float[] dst, int dstOff, int count);
+
+}
@@ -0,0 +1,160 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.matrix;
+
+import java.util.Random;
+
+import org.arakhne.afc.vmutil.ClassLoaderFinder;
+
+/** Select the computation kernels of the matrices when this class is initialized.
+ *
+ * <p>The kernels that are named by the system property {@link MatrixKernels#KERNELS_PROPERTY},
+ * or by default the {@link MatrixKernels#VECTOR_KERNELS vector kernels}, are loaded. They are
+ * used only if they are replying the same results as the {@link ScalarMatrixKernels scalar kernels}
+ * on a sample of matrices and points. Otherwise, the scalar kernels are used.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+final class MatrixKernelsLoader {
+
+	/** The selected kernels.
+	 */
+	static final MatrixKernels KERNELS = select(
+			System.getProperty(MatrixKernels.KERNELS_PROPERTY, MatrixKernels.VECTOR_KERNELS), new ScalarMatrixKernels());
+
+	private static final long SEED = 2654435769L;
+
+	private static final int SAMPLE_SIZE = 37;
+
+	private static final double DOUBLE_PRECISION = 1e-12;
+
+	private static final double FLOAT_PRECISION = 1e-5;
+
+	private MatrixKernelsLoader() {
+		//
+	}
+
+	/** Load the named kernels, and check them against the given scalar kernels.
+	 *
+	 * @param classname the fully qualified name of the class of the kernels.
+	 * @param scalar the scalar kernels.
+	 * @return the named kernels if they can be loaded and they are consistent with the scalar kernels;
+	 *     otherwise the scalar kernels.
+	 */
+	static MatrixKernels select(String classname, MatrixKernels scalar) {
+		if (classname == null || classname.isEmpty() || scalar.getName().equals(classname)) {
+			return scalar;
+		}
+		try {
+			final ClassLoader loader = ClassLoaderFinder.findClassLoader();
+			final Class<?> type = Class.forName(classname, true, loader);
+			final MatrixKernels kernels = (MatrixKernels) type.getDeclaredConstructor().newInstance();
+			if (isConsistent(kernels, scalar)) {
+				return kernels;
+			}
+		} catch (LinkageError | ReflectiveOperationException | ClassCastException exception) {
+			// The kernels are not available, e.g. the jdk.incubator.vector module is not loaded.
+		}
+		return scalar;
+	}
+
+	/** Replies if the given kernels are computing the same results as the reference kernels.
+	 *
+	 * <p>The kernels are run on a batch of random matrices and points, which size is not
+	 * a multiple of the usual lengths of the SIMD registers.
+	 *
+	 * @param kernels the kernels to check.
+	 * @param reference the reference kernels.
+	 * @return <code>true</code> if the results are the same, with the precision of the rounding errors.
+	 */
+	@SuppressWarnings("checkstyle:magicnumber")
+	static boolean isConsistent(MatrixKernels kernels, MatrixKernels reference) {
+		final Random random = new Random(SEED);
+		final double[] left = new double[16 * SAMPLE_SIZE];
+		final double[] right = new double[16 * SAMPLE_SIZE];
+		final double[] points = new double[3 * SAMPLE_SIZE];
+		final float[] leftf = new float[left.length];
+		final float[] rightf = new float[right.length];
+		final float[] pointsf = new float[points.length];
+		for (int i = 0; i < left.length; ++i) {
+			left[i] = random.nextDouble() * 2. - 1.;
+			right[i] = random.nextDouble() * 2. - 1.;
+			leftf[i] = (float) left[i];
+			rightf[i] = (float) right[i];
+		}
+		for (int i = 0; i < points.length; ++i) {
+			points[i] = random.nextDouble() * 2. - 1.;
+			pointsf[i] = (float) points[i];
+		}
+		final Matrix4d matrix = new Matrix4d();
+		matrix.set(left);
+		matrix.setRow(3, 0., 0., 0., 1.);
+
+		final double[] expected = new double[left.length];
+		final double[] actual = new double[left.length];
+		reference.mul(left, 0, right, 0, expected, 0, SAMPLE_SIZE);
+		kernels.mul(left, 0, right, 0, actual, 0, SAMPLE_SIZE);
+		if (!isEpsilonEqual(expected, actual, DOUBLE_PRECISION)) {
+			return false;
+		}
+
+		final float[] expectedf = new float[leftf.length];
+		final float[] actualf = new float[leftf.length];
+		reference.mul(leftf, 0, rightf, 0, expectedf, 0, SAMPLE_SIZE);
+		kernels.mul(leftf, 0, rightf, 0, actualf, 0, SAMPLE_SIZE);
+		if (!isEpsilonEqual(expectedf, actualf, FLOAT_PRECISION)) {
+			return false;
+		}
+
+		reference.transformAffine(matrix, points, 0, expected, 0, SAMPLE_SIZE);
+		kernels.transformAffine(matrix, points, 0, actual, 0, SAMPLE_SIZE);
+		if (!isEpsilonEqual(expected, actual, DOUBLE_PRECISION)) {
+			return false;
+		}
+
+		reference.transformAffine(matrix, pointsf, 0, expectedf, 0, SAMPLE_SIZE);
+		kernels.transformAffine(matrix, pointsf, 0, actualf, 0, SAMPLE_SIZE);
+		return isEpsilonEqual(expectedf, actualf, FLOAT_PRECISION);
+	}
+
+	private static boolean isEpsilonEqual(double[] expected, double[] actual, double precision) {
+		for (int i = 0; i < expected.length; ++i) {
+			if (!(Math.abs(expected[i] - actual[i]) <= precision * Math.max(1., Math.abs(expected[i])))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isEpsilonEqual(float[] expected, float[] actual, double precision) {
+		for (int i = 0; i < expected.length; ++i) {
+			if (!(Math.abs(expected[i] - actual[i]) <= precision * Math.max(1., Math.abs(expected[i])))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.matrix;
+
+/** Classification of the transformation matrices.
+ *
+ * <p>The 3x3 matrices are classified as transformations of the 2D homogeneous points;
+ * the 4x4 matrices as transformations of the 3D homogeneous points. The constants are declared
+ * from the most specific to the least specific classification; a matrix is given the most
+ * specific classification that it satisfies. Except {@link #GENERAL}, the last row of a
+ * matrix of every classification is {@code [0, ..., 0, 1]}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ * @see Matrix3d#getType()
+ * @see Matrix4d#getType()
+ */
+public enum MatrixType {
+
+	/** The matrix is the identity matrix.
+	 */
+	IDENTITY,
+
+	/** The matrix is a translation: its linear part is the identity.
+	 */
+	TRANSLATION,
+
+	/** The linear part of the matrix is diagonal: the matrix is a scaling along the axes,
+	 * followed by a translation.
+	 */
+	SCALE,
+
+	/** The linear part of the matrix is orthonormal: the matrix is a rotation, or a reflection,
+	 * followed by a translation.
+	 */
+	RIGID,
+
+	/** The matrix is an affine transformation.
+	 */
+	AFFINE,
+
+	/** The matrix is a general matrix; it may be a projective transformation.
+	 */
+	GENERAL;
+
+	/** Replies if the last row of the matrices of this classification is {@code [0, ..., 0, 1]}.
+	 *
+	 * @return <code>true</code> if the matrices are affine transformations.
+	 */
+	public boolean isAffine() {
+		return this != GENERAL;
+	}
+
+}
@@ -0,0 +1,238 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.matrix;
+
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
+/** Scalar implementation of the computation kernels for the batches of matrices and of points.
+ *
+ * <p>The elements of each matrix are loaded in local variables before the products are
+ * computed; the destination may therefore be one of the operands.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+final class ScalarMatrixKernels implements MatrixKernels {
+
+	/** Construct the scalar kernels.
+	 */
+	ScalarMatrixKernels() {
+		//
+	}
+
+	@Override
+	public String getName() {
+		return "scalar"; //$NON-NLS-1$
+	}
+
+	@Override
+	@SuppressWarnings("checkstyle:parameternumber")
+	public void mul(double[] left, int leftOff, double[] right, int rightOff, double[] dst, int dstOff, int count) {
+		assert left != null : AssertMessages.notNullParameter(0);
+		assert right != null : AssertMessages.notNullParameter(2);
+		assert dst != null : AssertMessages.notNullParameter(4);
+		assert count >= 0 : AssertMessages.positiveOrZeroParameter(6);
+		for (int i = 0; i < count; ++i) {
+			final int l = leftOff + 16 * i;
+			final int r = rightOff + 16 * i;
+			final int d = dstOff + 16 * i;
+			final double a00 = left[l];
+			final double a01 = left[l + 1];
+			final double a02 = left[l + 2];
+			final double a03 = left[l + 3];
+			final double a10 = left[l + 4];
+			final double a11 = left[l + 5];
+			final double a12 = left[l + 6];
+			final double a13 = left[l + 7];
+			final double a20 = left[l + 8];
+			final double a21 = left[l + 9];
+			final double a22 = left[l + 10];
+			final double a23 = left[l + 11];
+			final double a30 = left[l + 12];
+			final double a31 = left[l + 13];
+			final double a32 = left[l + 14];
+			final double a33 = left[l + 15];
+
+			final double b00 = right[r];
+			final double b01 = right[r + 1];
+			final double b02 = right[r + 2];
+			final double b03 = right[r + 3];
+			final double b10 = right[r + 4];
+			final double b11 = right[r + 5];
+			final double b12 = right[r + 6];
+			final double b13 = right[r + 7];
+			final double b20 = right[r + 8];
+			final double b21 = right[r + 9];
+			final double b22 = right[r + 10];
+			final double b23 = right[r + 11];
+			final double b30 = right[r + 12];
+			final double b31 = right[r + 13];
+			final double b32 = right[r + 14];
+			final double b33 = right[r + 15];
+
+			dst[d] = a00 * b00 + a01 * b10 + a02 * b20 + a03 * b30;
+			dst[d + 1] = a00 * b01 + a01 * b11 + a02 * b21 + a03 * b31;
+			dst[d + 2] = a00 * b02 + a01 * b12 + a02 * b22 + a03 * b32;
+			dst[d + 3] = a00 * b03 + a01 * b13 + a02 * b23 + a03 * b33;
+			dst[d + 4] = a10 * b00 + a11 * b10 + a12 * b20 + a13 * b30;
+			dst[d + 5] = a10 * b01 + a11 * b11 + a12 * b21 + a13 * b31;
+			dst[d + 6] = a10 * b02 + a11 * b12 + a12 * b22 + a13 * b32;
+			dst[d + 7] = a10 * b03 + a11 * b13 + a12 * b23 + a13 * b33;
+			dst[d + 8] = a20 * b00 + a21 * b10 + a22 * b20 + a23 * b30;
+			dst[d + 9] = a20 * b01 + a21 * b11 + a22 * b21 + a23 * b31;
+			dst[d + 10] = a20 * b02 + a21 * b12 + a22 * b22 + a23 * b32;
+			dst[d + 11] = a20 * b03 + a21 * b13 + a22 * b23 + a23 * b33;
+			dst[d + 12] = a30 * b00 + a31 * b10 + a32 * b20 + a33 * b30;
+			dst[d + 13] = a30 * b01 + a31 * b11 + a32 * b21 + a33 * b31;
+			dst[d + 14] = a30 * b02 + a31 * b12 + a32 * b22 + a33 * b32;
+			dst[d + 15] = a30 * b03 + a31 * b13 + a32 * b23 + a33 * b33;
+		}
+	}
+
+	@Override
+	@SuppressWarnings("checkstyle:parameternumber")
+	public void mul(float[] left, int leftOff, float[] right, int rightOff, float[] dst, int dstOff, int count) {
+		assert left != null : AssertMessages.notNullParameter(0);
+		assert right != null : AssertMessages.notNullParameter(2);
+		assert dst != null : AssertMessages.notNullParameter(4);
+		assert count >= 0 : AssertMessages.positiveOrZeroParameter(6);
+		for (int i = 0; i < count; ++i) {
+			final int l = leftOff + 16 * i;
+			final int r = rightOff + 16 * i;
+			final int d = dstOff + 16 * i;
+			final float a00 = left[l];
+			final float a01 = left[l + 1];
+			final float a02 = left[l + 2];
+			final float a03 = left[l + 3];
+			final float a10 = left[l + 4];
+			final float a11 = left[l + 5];
+			final float a12 = left[l + 6];
+			final float a13 = left[l + 7];
+			final float a20 = left[l + 8];
+			final float a21 = left[l + 9];
+			final float a22 = left[l + 10];
+			final float a23 = left[l + 11];
+			final float a30 = left[l + 12];
+			final float a31 = left[l + 13];
+			final float a32 = left[l + 14];
+			final float a33 = left[l + 15];
+
+			final float b00 = right[r];
+			final float b01 = right[r + 1];
+			final float b02 = right[r + 2];
+			final float b03 = right[r + 3];
+			final float b10 = right[r + 4];
+			final float b11 = right[r + 5];
+			final float b12 = right[r + 6];
+			final float b13 = right[r + 7];
+			final float b20 = right[r + 8];
+			final float b21 = right[r + 9];
+			final float b22 = right[r + 10];
+			final float b23 = right[r + 11];
+			final float b30 = right[r + 12];
+			final float b31 = right[r + 13];
+			final float b32 = right[r + 14];
+			final float b33 = right[r + 15];
+
+			dst[d] = a00 * b00 + a01 * b10 + a02 * b20 + a03 * b30;
+			dst[d + 1] = a00 * b01 + a01 * b11 + a02 * b21 + a03 * b31;
+			dst[d + 2] = a00 * b02 + a01 * b12 + a02 * b22 + a03 * b32;
+			dst[d + 3] = a00 * b03 + a01 * b13 + a02 * b23 + a03 * b33;
+			dst[d + 4] = a10 * b00 + a11 * b10 + a12 * b20 + a13 * b30;
+			dst[d + 5] = a10 * b01 + a11 * b11 + a12 * b21 + a13 * b31;
+			dst[d + 6] = a10 * b02 + a11 * b12 + a12 * b22 + a13 * b32;
+			dst[d + 7] = a10 * b03 + a11 * b13 + a12 * b23 + a13 * b33;
+			dst[d + 8] = a20 * b00 + a21 * b10 + a22 * b20 + a23 * b30;
+			dst[d + 9] = a20 * b01 + a21 * b11 + a22 * b21 + a23 * b31;
+			dst[d + 10] = a20 * b02 + a21 * b12 + a22 * b22 + a23 * b32;
+			dst[d + 11] = a20 * b03 + a21 * b13 + a22 * b23 + a23 * b33;
+			dst[d + 12] = a30 * b00 + a31 * b10 + a32 * b20 + a33 * b30;
+			dst[d + 13] = a30 * b01 + a31 * b11 + a32 * b21 + a33 * b31;
+			dst[d + 14] = a30 * b02 + a31 * b12 + a32 * b22 + a33 * b32;
+			dst[d + 15] = a30 * b03 + a31 * b13 + a32 * b23 + a33 * b33;
+		}
+	}
+
+	@Override
+	public void transformAffine(Matrix4d matrix, double[] src, int srcOff, double[] dst, int dstOff, int count) {
+		assert matrix != null : AssertMessages.notNullParameter(0);
+		assert src != null : AssertMessages.notNullParameter(1);
+		assert dst != null : AssertMessages.notNullParameter(3);
+		assert count >= 0 : AssertMessages.positiveOrZeroParameter(5);
+		final double a00 = matrix.m00;
+		final double a01 = matrix.m01;
+		final double a02 = matrix.m02;
+		final double a03 = matrix.m03;
+		final double a10 = matrix.m10;
+		final double a11 = matrix.m11;
+		final double a12 = matrix.m12;
+		final double a13 = matrix.m13;
+		final double a20 = matrix.m20;
+		final double a21 = matrix.m21;
+		final double a22 = matrix.m22;
+		final double a23 = matrix.m23;
+		for (int i = 0; i < count; ++i) {
+			final int s = srcOff + 3 * i;
+			final int d = dstOff + 3 * i;
+			final double x = src[s];
+			final double y = src[s + 1];
+			final double z = src[s + 2];
+			dst[d] = a00 * x + a01 * y + a02 * z + a03;
+			dst[d + 1] = a10 * x + a11 * y + a12 * z + a13;
+			dst[d + 2] = a20 * x + a21 * y + a22 * z + a23;
+		}
+	}
+
+	@Override
+	public void transformAffine(Matrix4d matrix, float[] src, int srcOff, float[] dst, int dstOff, int count) {
+		assert matrix != null : AssertMessages.notNullParameter(0);
+		assert src != null : AssertMessages.notNullParameter(1);
+		assert dst != null : AssertMessages.notNullParameter(3);
+		assert count >= 0 : AssertMessages.positiveOrZeroParameter(5);
+		final double a00 = matrix.m00;
+		final double a01 = matrix.m01;
+		final double a02 = matrix.m02;
+		final double a03 = matrix.m03;
+		final double a10 = matrix.m10;
+		final double a11 = matrix.m11;
+		final double a12 = matrix.m12;
+		final double a13 = matrix.m13;
+		final double a20 = matrix.m20;
+		final double a21 = matrix.m21;
+		final double a22 = matrix.m22;
+		final double a23 = matrix.m23;
+		for (int i = 0; i < count; ++i) {
+			final int s = srcOff + 3 * i;
+			final int d = dstOff + 3 * i;
+			final double x = src[s];
+			final double y = src[s + 1];
+			final double z = src[s + 2];
+			dst[d] = (float) (a00 * x + a01 * y + a02 * z + a03);
+			dst[d + 1] = (float) (a10 * x + a11 * y + a12 * z + a13);
+			dst[d + 2] = (float) (a20 * x + a21 * y + a22 * z + a23);
+		}
+	}
+
+}
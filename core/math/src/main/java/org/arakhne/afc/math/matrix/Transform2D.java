@@ -120,6 +120,9 @@ public class Transform2D extends Matrix3d {
 	public void setTranslation(float x, float y) {
 		this.m02 = x;
 		this.m12 = y;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Set the position.
@@ -142,6 +145,9 @@ public class Transform2D extends Matrix3d {
 	public void setTranslation(Tuple2D<?> t) {
 		this.m02 = t.getX();
 		this.m12 = t.getY();
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Translate the position.
@@ -159,6 +165,9 @@ public class Transform2D extends Matrix3d {
 	public void translate(float dx, float dy) {
 		this.m02 = this.m00 * dx + this.m01 * dy + this.m02;
 		this.m12 = this.m10 * dx + this.m11 * dy + this.m12;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Translate the position.
@@ -236,6 +245,9 @@ public class Transform2D extends Matrix3d {
 		this.m01 = -sinTheta;
 		this.m10 = sinTheta;
 		this.m11 = cosTheta;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/**
@@ -276,6 +288,9 @@ public class Transform2D extends Matrix3d {
 				this.m11 = -sin * M0 + cos * M1;
 			}
 		}
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	private final void rotate90() {
@@ -329,6 +344,9 @@ public class Transform2D extends Matrix3d {
 	public void setScale(float sx, float sy) {
 		this.m00 = sx;
 		this.m11 = sy;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Set the scale.
@@ -351,6 +369,9 @@ public class Transform2D extends Matrix3d {
 	public void setScale(Tuple2D<?> t) {
 		this.m00 = t.getX();
 		this.m11 = t.getY();
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Concatenates this transform with a scaling transformation.
@@ -370,6 +391,9 @@ public class Transform2D extends Matrix3d {
         this.m11 *= sy;
         this.m01 *= sy;
         this.m10 *= sx;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Concatenates this transform with a scaling transformation.
@@ -450,6 +474,9 @@ public class Transform2D extends Matrix3d {
 	public void setShear(float shx,  float shy) {
 		this.m01 = shx;
 		this.m10 = shy;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Set the shearing elements.
@@ -472,6 +499,9 @@ public class Transform2D extends Matrix3d {
 	public void setShear(Tuple2D<?> t) {
 		this.m01 = t.getX();
 		this.m10 = t.getY();
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Concatenates this transform with a shearing transformation.
@@ -498,6 +528,9 @@ public class Transform2D extends Matrix3d {
 		M1 = (float)this.m11;
 		this.m10 = M0 + M1 * shy;
 		this.m11 = M0 * shx + M1;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Concatenates this transform with a shearing transformation.
@@ -593,6 +626,9 @@ public class Transform2D extends Matrix3d {
 		this.m20 = 0f;
 		this.m21 = 0f;
 		this.m22 = 1f;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/**
@@ -626,6 +662,9 @@ public class Transform2D extends Matrix3d {
 		this.m20 = 0f;
 		this.m21 = 0f;
 		this.m22 = 1f;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/**
@@ -660,6 +699,9 @@ public class Transform2D extends Matrix3d {
 		this.m20 = 0f;
 		this.m21 = 0f;
 		this.m22 = 1f;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/**
@@ -694,6 +736,9 @@ public class Transform2D extends Matrix3d {
 		this.m20 = 0f;
 		this.m21 = 0f;
 		this.m22 = 1f;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/**
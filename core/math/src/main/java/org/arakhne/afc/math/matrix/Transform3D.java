@@ -139,6 +139,9 @@ public class Transform3D extends Matrix4d {
 		this.m03 = x;
 		this.m13 = y;
 		this.m23 = z;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Set the position.
@@ -163,6 +166,9 @@ public class Transform3D extends Matrix4d {
 		this.m03 = t.getX();
 		this.m13 = t.getY();
 		this.m23 = t.getZ();
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Translate the position.
@@ -183,6 +189,9 @@ public class Transform3D extends Matrix4d {
 		this.m03 += dx;
 		this.m13 += dy;
 		this.m23 += dz;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Translate the position.
@@ -201,6 +210,9 @@ public class Transform3D extends Matrix4d {
 		this.m03 += t.getX();
 		this.m13 += t.getY();
 		this.m23 += t.getZ();
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/** Replies the X translation.
@@ -278,6 +290,9 @@ public class Transform3D extends Matrix4d {
         this.m02 = (2.0f*(rotation.getX()*rotation.getZ() + rotation.getW()*rotation.getY()));
         this.m12 = (2.0f*(rotation.getY()*rotation.getZ() - rotation.getW()*rotation.getX()));
         this.m22 = (1.0f - 2.0f*rotation.getX()*rotation.getX() - 2.0f*rotation.getY()*rotation.getY());
+
+		this.isIdentity = null;
+		this.type = null;
     }
 
     /**
@@ -340,6 +355,9 @@ public class Transform3D extends Matrix4d {
         this.m31 = (float) 0.0;
         this.m32 = (float) 0.0;
         this.m33 = (float) 1.0;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
     /**
@@ -383,6 +401,9 @@ public class Transform3D extends Matrix4d {
 		this.m31 = 0f;
 		this.m32 = 0f;
 		this.m33 = 1f;
+
+		this.isIdentity = null;
+		this.type = null;
 	}
 
 	/**
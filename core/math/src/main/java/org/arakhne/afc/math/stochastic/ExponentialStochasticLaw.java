@@ -25,6 +25,8 @@ import java.util.Random;
 
 import org.eclipse.xtext.xbase.lib.Pure;
 
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
 /**
  * Law that representes a triangular density.
  *
@@ -129,4 +131,22 @@ public class ExponentialStochasticLaw extends StochasticLaw {
         return this.xmin - (Math.log(u) / this.lambda);
     }
 
+    /** {@inheritDoc}
+     *
+     * <p>The values are generated with the ziggurat method, which avoids the logarithm
+     * of the inversion of the distribution function for most of the values.
+     */
+    @Override
+    public void fill(double[] out, int off, int len, Random stream) {
+        assert out != null : AssertMessages.notNullParameter(0);
+        assert off >= 0 && len >= 0 && off + len <= out.length
+                : AssertMessages.tooSmallArrayParameter(0, out.length, off + len);
+        assert stream != null : AssertMessages.notNullParameter(3);
+        final double scale = 1. / this.lambda;
+        final int end = off + len;
+        for (int i = off; i < end; ++i) {
+            out[i] = this.xmin + scale * Ziggurat.nextExponential(stream);
+        }
+    }
+
 }
@@ -25,6 +25,8 @@ import java.util.Random;
 
 import org.eclipse.xtext.xbase.lib.Pure;
 
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
 /**
  * Law that representes a gaussian density.
  *
@@ -145,4 +147,23 @@ public class GaussianStochasticLaw extends StochasticLaw {
         return inverseF(u);
     }
 
+    /** {@inheritDoc}
+     *
+     * <p>The gaussian values are generated with the ziggurat method, which is faster
+     * than the polar method of {@link Random#nextGaussian()}.
+     */
+    @Override
+    public void fill(double[] out, int off, int len, Random stream) {
+        assert out != null : AssertMessages.notNullParameter(0);
+        assert off >= 0 && len >= 0 && off + len <= out.length
+                : AssertMessages.tooSmallArrayParameter(0, out.length, off + len);
+        assert stream != null : AssertMessages.notNullParameter(3);
+        final double scale = this.standardDeviation / 2.;
+        final double shift = scale + this.mean;
+        final int end = off + len;
+        for (int i = off; i < end; ++i) {
+            out[i] = scale * Ziggurat.nextGaussian(stream) + shift;
+        }
+    }
+
 }
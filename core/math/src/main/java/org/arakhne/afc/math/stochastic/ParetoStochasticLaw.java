@@ -25,6 +25,8 @@ import java.util.Random;
 
 import org.eclipse.xtext.xbase.lib.Pure;
 
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
 /**
  * Law that representes a Pareto density.
  *
@@ -136,4 +138,23 @@ public class ParetoStochasticLaw extends StochasticLaw {
         return this.xmin / Math.pow(u, 1. / this.k);
     }
 
+    /** {@inheritDoc}
+     *
+     * <p>The values are computed from the exponential values {@code E} that are generated
+     * with the ziggurat method, with {@code xmin * exp(E / k)}, which avoids the power function of
+     * the inversion of the distribution function.
+     */
+    @Override
+    public void fill(double[] out, int off, int len, Random stream) {
+        assert out != null : AssertMessages.notNullParameter(0);
+        assert off >= 0 && len >= 0 && off + len <= out.length
+                : AssertMessages.tooSmallArrayParameter(0, out.length, off + len);
+        assert stream != null : AssertMessages.notNullParameter(3);
+        final double scale = 1. / this.k;
+        final int end = off + len;
+        for (int i = off; i < end; ++i) {
+            out[i] = this.xmin * Math.exp(scale * Ziggurat.nextExponential(stream));
+        }
+    }
+
 }
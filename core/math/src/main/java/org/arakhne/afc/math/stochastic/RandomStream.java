@@ -0,0 +1,219 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.stochastic;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
+/**
+ * Splittable stream of pseudo-random numbers.
+ *
+ * <p>The stream is a {@link Random} that is generating the numbers with the SplitMix64 algorithm,
+ * i.e. the algorithm of {@link java.util.SplittableRandom}. Contrary to {@link Random}, the stream
+ * has no synchronization: it must be used by one thread at a time. Independent streams are created
+ * with {@link #split()}; each thread, or each agent of a simulation, should use its own stream.
+ *
+ * <p>Two streams that are created with the same seed, and then split in the same way, are
+ * replying the same sequences of numbers, which makes the simulations reproducible.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ * @see StochasticGenerator
+ */
+public class RandomStream extends Random {
+
+	private static final long serialVersionUID = 2958323620539137487L;
+
+	@SuppressWarnings("checkstyle:magicnumber")
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	@SuppressWarnings("checkstyle:magicnumber")
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+	@SuppressWarnings("checkstyle:magicnumber")
+	private static final float FLOAT_UNIT = 0x1.0p-24f;
+
+	private static final AtomicLong SEEDER = new AtomicLong(
+			mix64(System.currentTimeMillis()) ^ mix64(System.nanoTime()));
+
+	private long state;
+
+	private long gamma;
+
+	private double nextNextGaussian;
+
+	private boolean haveNextNextGaussian;
+
+	/** Construct a stream with a seed that is unique for each invocation of this constructor.
+	 */
+	public RandomStream() {
+		super(0);
+		final long seed = SEEDER.getAndAdd(2 * GOLDEN_GAMMA);
+		this.state = mix64(seed);
+		this.gamma = mixGamma(seed + GOLDEN_GAMMA);
+	}
+
+	/** Construct a stream with the given seed.
+	 *
+	 * @param seed the seed.
+	 */
+	public RandomStream(long seed) {
+		super(seed);
+	}
+
+	private RandomStream(long seed, long gamma) {
+		super(seed);
+		this.gamma = gamma;
+	}
+
+	@SuppressWarnings("checkstyle:magicnumber")
+	private static long mix64(long value) {
+		long z = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	@SuppressWarnings("checkstyle:magicnumber")
+	private static int mix32(long value) {
+		final long z = (value ^ (value >>> 33)) * 0x62a9d9ed799705f5L;
+		return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+	}
+
+	@SuppressWarnings("checkstyle:magicnumber")
+	private static long mixGamma(long value) {
+		long z = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		z = (z ^ (z >>> 33)) | 1L;
+		final int n = Long.bitCount(z ^ (z >>> 1));
+		return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+	}
+
+	private long nextState() {
+		this.state += this.gamma;
+		return this.state;
+	}
+
+	/** Create a new stream that is independent of this stream.
+	 *
+	 * <p>The seed of the new stream is taken from this stream; so that the
+	 * streams that are split from a seeded stream are also reproducible.
+	 *
+	 * @return the new stream.
+	 */
+	public RandomStream split() {
+		return new RandomStream(nextLong(), mixGamma(nextState()));
+	}
+
+	/** {@inheritDoc}
+	 *
+	 * <p>Contrary to {@link Random#setSeed(long)}, this function is not synchronized.
+	 */
+	@Override
+	public void setSeed(long seed) {
+		this.state = seed;
+		this.gamma = GOLDEN_GAMMA;
+		this.haveNextNextGaussian = false;
+	}
+
+	@Override
+	@SuppressWarnings("checkstyle:magicnumber")
+	protected int next(int bits) {
+		return mix32(nextState()) >>> (32 - bits);
+	}
+
+	@Override
+	public int nextInt() {
+		return mix32(nextState());
+	}
+
+	@Override
+	public int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException(AssertMessages.invalidValue(0));
+		}
+		int value = mix32(nextState());
+		final int mask = bound - 1;
+		if ((bound & mask) == 0) {
+			value &= mask;
+		} else {
+			int bits = value >>> 1;
+			value = bits % bound;
+			while (bits + mask - value < 0) {
+				bits = mix32(nextState()) >>> 1;
+				value = bits % bound;
+			}
+		}
+		return value;
+	}
+
+	@Override
+	public long nextLong() {
+		return mix64(nextState());
+	}
+
+	@Override
+	public boolean nextBoolean() {
+		return mix32(nextState()) < 0;
+	}
+
+	@Override
+	@SuppressWarnings("checkstyle:magicnumber")
+	public float nextFloat() {
+		return (mix32(nextState()) >>> 8) * FLOAT_UNIT;
+	}
+
+	@Override
+	@SuppressWarnings("checkstyle:magicnumber")
+	public double nextDouble() {
+		return (mix64(nextState()) >>> 11) * DOUBLE_UNIT;
+	}
+
+	/** {@inheritDoc}
+	 *
+	 * <p>Contrary to {@link Random#nextGaussian()}, this function is not synchronized.
+	 */
+	@Override
+	@SuppressWarnings("checkstyle:magicnumber")
+	public double nextGaussian() {
+		if (this.haveNextNextGaussian) {
+			this.haveNextNextGaussian = false;
+			return this.nextNextGaussian;
+		}
+		double v1;
+		double v2;
+		double squaredNorm;
+		do {
+			v1 = 2 * nextDouble() - 1;
+			v2 = 2 * nextDouble() - 1;
+			squaredNorm = v1 * v1 + v2 * v2;
+		} while (squaredNorm >= 1 || squaredNorm == 0);
+		final double multiplier = StrictMath.sqrt(-2 * StrictMath.log(squaredNorm) / squaredNorm);
+		this.nextNextGaussian = v2 * multiplier;
+		this.haveNextNextGaussian = true;
+		return v1 * multiplier;
+	}
+
+}
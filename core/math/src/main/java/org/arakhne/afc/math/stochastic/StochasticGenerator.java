@@ -24,9 +24,20 @@ import java.util.Random;
 
 import org.eclipse.xtext.xbase.lib.Pure;
 
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
 /**
  * Generator of random values according to stochastic laws.
  *
+ * <p>The values are generated with {@link RandomStream random streams}. Each thread
+ * has its own stream, which is split from a root stream; so that the threads are
+ * not sharing a generator. The root stream may be seeded with {@link #setSeed(long)}
+ * for reproducing the runs of a simulation. Because the order in which the threads are
+ * obtaining their streams may change from one run to another, the reproducible
+ * simulations with several threads should give its own stream to each agent, with
+ * {@link #newRandomStream()} invoked in a deterministic order, and use the functions
+ * that are taking a stream as argument.
+ *
  * @author $Author: cbohrhauer$
  * @version $FullVersion$
  * @mavengroupid $GroupId$
@@ -35,25 +46,65 @@ import org.eclipse.xtext.xbase.lib.Pure;
  */
 public final class StochasticGenerator {
 
-    private static Random uniformRandomVariableList;
+    private static final ThreadLocal<ThreadStream> THREAD_STREAMS = new ThreadLocal<>();
+
+    private static RandomStream rootStream = new RandomStream();
+
+    private static volatile int generation;
 
     private StochasticGenerator() {
         //
     }
 
-    private static void initRandomNumberList() {
-        if (uniformRandomVariableList == null) {
-            uniformRandomVariableList = new Random();
+    /** Change the seed of the root stream.
+     *
+     * <p>The streams of the threads are split again from the root stream the next time they are used.
+     *
+     * @param seed the seed.
+     */
+    public static void setSeed(long seed) {
+        synchronized (StochasticGenerator.class) {
+            rootStream = new RandomStream(seed);
+            ++generation;
         }
     }
 
+    /** Create a new stream that is split from the root stream.
+     *
+     * <p>The replied stream is not shared; it may be given to a thread or to an agent of a simulation.
+     *
+     * @return the new stream.
+     */
+    public static RandomStream newRandomStream() {
+        synchronized (StochasticGenerator.class) {
+            return rootStream.split();
+        }
+    }
+
+    /** Replies the stream of the current thread.
+     *
+     * <p>The replied stream must not be given to another thread.
+     *
+     * @return the stream of the current thread.
+     */
+    public static RandomStream getRandomStream() {
+        final int currentGeneration = generation;
+        ThreadStream stream = THREAD_STREAMS.get();
+        if (stream == null || stream.generation != currentGeneration) {
+            stream = new ThreadStream(newRandomStream(), currentGeneration);
+            THREAD_STREAMS.set(stream);
+        }
+        return stream.stream;
+    }
+
     /** Generate a stochastic value according to the given law.
      *
      * <p>A probability {@code p} is randomly selected using the specified random number list.
      * The returned value
      * is when a randomly selected value inside the set of available values.
      *
-     * <p>This method uses a {@link UniformStochasticLaw uniform distribution random number generation}.
+     * <p>This method uses a {@link UniformStochasticLaw uniform distribution random number generation},
+     * which is provided by the {@link #getRandomStream() stream of the current thread}.
      *
      * @param law is the stochastic law to use.
      * @return a value which was randomly selected according to a stochastic law.
@@ -61,8 +112,21 @@ public final class StochasticGenerator {
      */
     @Pure
     public static double generateRandomValue(StochasticLaw law) throws MathException {
-        initRandomNumberList();
-        return law.inverseF(uniformRandomVariableList);
+        return law.inverseF(getRandomStream());
+    }
+
+    /** Generate a stochastic value according to the given law and with the given stream.
+     *
+     * @param law is the stochastic law to use.
+     * @param stream is the uniform random number generator, usually a {@link RandomStream}.
+     * @return a value which was randomly selected according to a stochastic law.
+     * @throws MathException in case the value could not be computed.
+     * @see #generateRandomValue(StochasticLaw)
+     */
+    @Pure
+    public static double generateRandomValue(StochasticLaw law, Random stream) throws MathException {
+        assert stream != null : AssertMessages.notNullParameter(1);
+        return law.inverseF(stream);
     }
 
     /** Add a noise to the specified value.
@@ -73,7 +137,8 @@ public final class StochasticGenerator {
      * The {@code noise} is randomly selected according to the
      * given random number list.
      *
-     * <p>This method uses a {@link UniformStochasticLaw uniform distribution random number generation}.
+     * <p>This method uses a {@link UniformStochasticLaw uniform distribution random number generation},
+     * which is provided by the {@link #getRandomStream() stream of the current thread}.
      *
      * @param value is the value to noise
      * @param noiseLaw is the law used to selected tyhe noise amount.
@@ -82,11 +147,25 @@ public final class StochasticGenerator {
      */
     @Pure
     public static double noiseValue(double value, MathFunction noiseLaw) throws MathException {
+        return noiseValue(value, noiseLaw, getRandomStream());
+    }
+
+    /** Add a noise to the specified value with the given stream.
+     *
+     * @param value is the value to noise
+     * @param noiseLaw is the law used to selected tyhe noise amount.
+     * @param stream is the uniform random number generator, usually a {@link RandomStream}.
+     * @return the value
+     * @throws MathException is case the value is not valid
+     * @see #noiseValue(double, MathFunction)
+     */
+    @Pure
+    public static double noiseValue(double value, MathFunction noiseLaw, Random stream) throws MathException {
+        assert stream != null : AssertMessages.notNullParameter(2);
         try {
             double noise = Math.abs(noiseLaw.f(value));
-            initRandomNumberList();
-            noise *= uniformRandomVariableList.nextFloat();
-            if (uniformRandomVariableList.nextBoolean()) {
+            noise *= stream.nextFloat();
+            if (stream.nextBoolean()) {
                 noise = -noise;
             }
             return value + noise;
@@ -95,4 +174,25 @@ public final class StochasticGenerator {
         }
     }
 
+    /** Stream of a thread.
+     *
+     * @author $Author: sgalland$
+     * @version $FullVersion$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 13.0
+     */
+    private static final class ThreadStream {
+
+        final RandomStream stream;
+
+        final int generation;
+
+        ThreadStream(RandomStream stream, int generation) {
+            this.stream = stream;
+            this.generation = generation;
+        }
+
+    }
+
 }
@@ -22,9 +22,14 @@ package org.arakhne.afc.math.stochastic;
 
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.xtext.xbase.lib.Pure;
 
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
 /**
  * Abstract implementation of a stochastic law that
  * provides the bounds of a law.
@@ -37,6 +42,10 @@ import org.eclipse.xtext.xbase.lib.Pure;
  */
 public abstract class StochasticLaw implements MathInversableFunction {
 
+	/** Number of values that are generated by a task of {@link #parallelFill(double[], int, int, RandomStream)}.
+	 */
+	private static final int FILL_CHUNK_SIZE = 16384;
+
 	/** Construct a stochastic law.
 	 */
 	public StochasticLaw() {
@@ -99,6 +108,104 @@ public abstract class StochasticLaw implements MathInversableFunction {
 		return StochasticGenerator.generateRandomValue(this);
 	}
 
+	/** Replies a random value that respect
+	 * the current stochastic law, with the given uniform random number generator.
+	 *
+	 * @param stream is the uniform random number generator, usually a {@link RandomStream}.
+	 * @return a value depending of the stochastic law parameters
+	 * @throws MathException when error in math definition.
+	 * @see StochasticGenerator#newRandomStream()
+	 */
+	public double generateRandomValue(Random stream) throws MathException {
+		return StochasticGenerator.generateRandomValue(this, stream);
+	}
+
+	/** Fill the given array with random values that respect the current stochastic law,
+	 * with the uniform random number generator of the current thread.
+	 *
+	 * @param out is the array to fill.
+	 * @param off is the index of the first value to set in the array.
+	 * @param len is the number of values to set in the array.
+	 * @throws MathException when error in math definition.
+	 * @see #fill(double[], int, int, Random)
+	 */
+	public void fill(double[] out, int off, int len) throws MathException {
+		fill(out, off, len, StochasticGenerator.getRandomStream());
+	}
+
+	/** Fill the given array with random values that respect the current stochastic law,
+	 * with the given uniform random number generator.
+	 *
+	 * <p>The values are following the same distribution as the values replied by
+	 * {@link #generateRandomValue(Random)}; but the subclasses may override this function
+	 * for using a faster algorithm, which is consuming the random numbers in a different way.
+	 *
+	 * @param out is the array to fill.
+	 * @param off is the index of the first value to set in the array.
+	 * @param len is the number of values to set in the array.
+	 * @param stream is the uniform random number generator, usually a {@link RandomStream}.
+	 * @throws MathException when error in math definition.
+	 */
+	public void fill(double[] out, int off, int len, Random stream) throws MathException {
+		assert out != null : AssertMessages.notNullParameter(0);
+		assert off >= 0 && len >= 0 && off + len <= out.length
+				: AssertMessages.tooSmallArrayParameter(0, out.length, off + len);
+		assert stream != null : AssertMessages.notNullParameter(3);
+		final int end = off + len;
+		for (int i = off; i < end; ++i) {
+			out[i] = inverseF(stream);
+		}
+	}
+
+	/** Fill the given array with random values that respect the current stochastic law;
+	 * the array is filled in parallel by the {@link ForkJoinPool#commonPool() common pool}.
+	 *
+	 * @param out is the array to fill.
+	 * @param off is the index of the first value to set in the array.
+	 * @param len is the number of values to set in the array.
+	 * @param stream is the uniform random number generator from which the streams of the tasks are split.
+	 * @throws MathException when error in math definition.
+	 * @see #parallelFill(double[], int, int, RandomStream, ForkJoinPool)
+	 */
+	public void parallelFill(double[] out, int off, int len, RandomStream stream) throws MathException {
+		parallelFill(out, off, len, stream, ForkJoinPool.commonPool());
+	}
+
+	/** Fill the given array with random values that respect the current stochastic law;
+	 * the array is filled in parallel.
+	 *
+	 * <p>The array is cut into fixed-size chunks, and a stream is split from the given stream
+	 * for each chunk, before the tasks are run. The filled values are therefore depending on the
+	 * state of the given stream only, not on the number of threads of the pool.
+	 *
+	 * @param out is the array to fill.
+	 * @param off is the index of the first value to set in the array.
+	 * @param len is the number of values to set in the array.
+	 * @param stream is the uniform random number generator from which the streams of the tasks are split.
+	 * @param pool the pool that runs the tasks.
+	 * @throws MathException when error in math definition.
+	 * @see #fill(double[], int, int, Random)
+	 */
+	@SuppressWarnings("checkstyle:magicnumber")
+	public void parallelFill(double[] out, int off, int len, RandomStream stream, ForkJoinPool pool) throws MathException {
+		assert out != null : AssertMessages.notNullParameter(0);
+		assert off >= 0 && len >= 0 && off + len <= out.length
+				: AssertMessages.tooSmallArrayParameter(0, out.length, off + len);
+		assert stream != null : AssertMessages.notNullParameter(3);
+		assert pool != null : AssertMessages.notNullParameter(4);
+		final int chunkCount = (len + FILL_CHUNK_SIZE - 1) / FILL_CHUNK_SIZE;
+		final RandomStream[] streams = new RandomStream[chunkCount];
+		for (int i = 0; i < chunkCount; ++i) {
+			streams[i] = stream.split();
+		}
+		final AtomicReference<MathException> error = new AtomicReference<>();
+		pool.invoke(new FillTask(this, out, off, len, streams, 0, chunkCount, error));
+		final MathException exception = error.get();
+		if (exception != null) {
+			throw exception;
+		}
+	}
+
 	/** Replies the x according to the value of the inverted
 	 * cummulative distribution function {@code F<sup>-1</sup>(u)}
 	 * where {@code u = U(0, 1)}.
@@ -123,4 +230,65 @@ public abstract class StochasticLaw implements MathInversableFunction {
 	@Override
 	public abstract double inverseF(double u) throws MathException;
 
+	/** Task that fills a range of chunks of an array.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	private static final class FillTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 4281632507745921438L;
+
+		private final StochasticLaw law;
+
+		private final double[] out;
+
+		private final int off;
+
+		private final int len;
+
+		private final RandomStream[] streams;
+
+		private final int fromChunk;
+
+		private final int toChunk;
+
+		private final AtomicReference<MathException> error;
+
+		@SuppressWarnings("checkstyle:parameternumber")
+		FillTask(StochasticLaw law, double[] out, int off, int len, RandomStream[] streams,
+				int fromChunk, int toChunk, AtomicReference<MathException> error) {
+			this.law = law;
+			this.out = out;
+			this.off = off;
+			this.len = len;
+			this.streams = streams;
+			this.fromChunk = fromChunk;
+			this.toChunk = toChunk;
+			this.error = error;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.toChunk - this.fromChunk > 1) {
+				final int middle = (this.fromChunk + this.toChunk) >>> 1;
+				invokeAll(
+						new FillTask(this.law, this.out, this.off, this.len, this.streams, this.fromChunk, middle, this.error),
+						new FillTask(this.law, this.out, this.off, this.len, this.streams, middle, this.toChunk, this.error));
+			} else if (this.toChunk > this.fromChunk) {
+				final int start = this.fromChunk * FILL_CHUNK_SIZE;
+				final int count = Math.min(FILL_CHUNK_SIZE, this.len - start);
+				try {
+					this.law.fill(this.out, this.off + start, count, this.streams[this.fromChunk]);
+				} catch (MathException exception) {
+					this.error.compareAndSet(null, exception);
+				}
+			}
+		}
+
+	}
+
 }
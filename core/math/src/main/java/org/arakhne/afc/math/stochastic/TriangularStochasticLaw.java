@@ -26,6 +26,8 @@ import java.util.Random;
 import org.eclipse.xtext.xbase.lib.Inline;
 import org.eclipse.xtext.xbase.lib.Pure;
 
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
 /**
  * Law that representes a triangular density.
  *
@@ -181,4 +183,26 @@ public class TriangularStochasticLaw extends StochasticLaw {
         return this.maxX - Math.sqrt((1 - u) * this.delta2);
     }
 
+    /** {@inheritDoc}
+     *
+     * <p>The distribution function is inverted without checking the domain of the
+     * uniform values, which are always inside {@code [0, 1)}.
+     */
+    @Override
+    public void fill(double[] out, int off, int len, Random stream) {
+        assert out != null : AssertMessages.notNullParameter(0);
+        assert off >= 0 && len >= 0 && off + len <= out.length
+                : AssertMessages.tooSmallArrayParameter(0, out.length, off + len);
+        assert stream != null : AssertMessages.notNullParameter(3);
+        final int end = off + len;
+        for (int i = off; i < end; ++i) {
+            final double u = stream.nextDouble();
+            if (u < this.dxmode) {
+                out[i] = Math.sqrt(u * this.delta1) + this.minX;
+            } else {
+                out[i] = this.maxX - Math.sqrt((1 - u) * this.delta2);
+            }
+        }
+    }
+
 }
@@ -26,6 +26,8 @@ import java.util.Random;
 import org.eclipse.xtext.xbase.lib.Inline;
 import org.eclipse.xtext.xbase.lib.Pure;
 
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
 /**
  * Law that representes an uniform density.
  *
@@ -128,4 +130,20 @@ public class UniformStochasticLaw extends StochasticLaw {
 		return this.delta * u + this.minX;
 	}
 
+	/** {@inheritDoc}
+	 *
+	 * <p>The uniform values are generated with a double precision.
+	 */
+	@Override
+	public void fill(double[] out, int off, int len, Random stream) {
+		assert out != null : AssertMessages.notNullParameter(0);
+		assert off >= 0 && len >= 0 && off + len <= out.length
+				: AssertMessages.tooSmallArrayParameter(0, out.length, off + len);
+		assert stream != null : AssertMessages.notNullParameter(3);
+		final int end = off + len;
+		for (int i = off; i < end; ++i) {
+			out[i] = this.delta * stream.nextDouble() + this.minX;
+		}
+	}
+
 }
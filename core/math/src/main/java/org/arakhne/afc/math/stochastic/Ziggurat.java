@@ -0,0 +1,194 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.stochastic;
+
+import java.util.Random;
+
+/**
+ * Ziggurat samplers of the standard exponential and normal distributions.
+ *
+ * <p>The samplers are the ones of Marsaglia and Tsang, with 256 layers for the exponential
+ * distribution and 128 layers for the normal distribution. The index of the layer and the
+ * coordinate in the layer are taken from two distinct halves of the same 64-bit value,
+ * as recommended by Doornik, for avoiding the correlation between them. In most of the cases
+ * a sample costs a single random number and a multiplication, instead of a logarithm for
+ * the inversion of the exponential distribution, or two random numbers, a logarithm and a
+ * square root for the polar method of the normal distribution.
+ *
+ * <p>Reference:
+ * G. Marsaglia and W. W. Tsang, The Ziggurat Method for Generating Random Variables,
+ * Journal of Statistical Software, 5(8), 2000.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+final class Ziggurat {
+
+	private static final int EXPONENTIAL_LAYERS = 256;
+
+	private static final double EXPONENTIAL_R = 7.697117470131487;
+
+	private static final double EXPONENTIAL_V = 3.949659822581572e-3;
+
+	private static final int NORMAL_LAYERS = 128;
+
+	private static final double NORMAL_R = 3.442619855899;
+
+	private static final double NORMAL_V = 9.91256303526217e-3;
+
+	private static final long[] EXPONENTIAL_K = new long[EXPONENTIAL_LAYERS];
+
+	private static final double[] EXPONENTIAL_W = new double[EXPONENTIAL_LAYERS];
+
+	private static final double[] EXPONENTIAL_F = new double[EXPONENTIAL_LAYERS];
+
+	private static final long[] NORMAL_K = new long[NORMAL_LAYERS];
+
+	private static final double[] NORMAL_W = new double[NORMAL_LAYERS];
+
+	private static final double[] NORMAL_F = new double[NORMAL_LAYERS];
+
+	static {
+		final double m2 = 4294967296.;
+		double de = EXPONENTIAL_R;
+		double te = de;
+		final double qe = EXPONENTIAL_V / Math.exp(-de);
+		EXPONENTIAL_K[0] = (long) ((de / qe) * m2);
+		EXPONENTIAL_K[1] = 0;
+		EXPONENTIAL_W[0] = qe / m2;
+		EXPONENTIAL_W[EXPONENTIAL_LAYERS - 1] = de / m2;
+		EXPONENTIAL_F[0] = 1.;
+		EXPONENTIAL_F[EXPONENTIAL_LAYERS - 1] = Math.exp(-de);
+		for (int i = EXPONENTIAL_LAYERS - 2; i >= 1; --i) {
+			de = -Math.log(EXPONENTIAL_V / de + Math.exp(-de));
+			EXPONENTIAL_K[i + 1] = (long) ((de / te) * m2);
+			te = de;
+			EXPONENTIAL_F[i] = Math.exp(-de);
+			EXPONENTIAL_W[i] = de / m2;
+		}
+
+		final double m1 = 2147483648.;
+		double dn = NORMAL_R;
+		double tn = dn;
+		final double qn = NORMAL_V / Math.exp(-.5 * dn * dn);
+		NORMAL_K[0] = (long) ((dn / qn) * m1);
+		NORMAL_K[1] = 0;
+		NORMAL_W[0] = qn / m1;
+		NORMAL_W[NORMAL_LAYERS - 1] = dn / m1;
+		NORMAL_F[0] = 1.;
+		NORMAL_F[NORMAL_LAYERS - 1] = Math.exp(-.5 * dn * dn);
+		for (int i = NORMAL_LAYERS - 2; i >= 1; --i) {
+			dn = Math.sqrt(-2. * Math.log(NORMAL_V / dn + Math.exp(-.5 * dn * dn)));
+			NORMAL_K[i + 1] = (long) ((dn / tn) * m1);
+			tn = dn;
+			NORMAL_F[i] = Math.exp(-.5 * dn * dn);
+			NORMAL_W[i] = dn / m1;
+		}
+	}
+
+	private Ziggurat() {
+		//
+	}
+
+	/** Replies a value from the exponential distribution with a rate of {@code 1}.
+	 *
+	 * @param stream is the uniform random number generator.
+	 * @return the value, positive or zero.
+	 */
+	static double nextExponential(Random stream) {
+		final long bits = stream.nextLong();
+		final int layer = (int) bits & (EXPONENTIAL_LAYERS - 1);
+		final long coordinate = bits >>> 32;
+		if (coordinate < EXPONENTIAL_K[layer]) {
+			return coordinate * EXPONENTIAL_W[layer];
+		}
+		return nextExponentialSlow(stream, layer, coordinate);
+	}
+
+	private static double nextExponentialSlow(Random stream, int layer0, long coordinate0) {
+		int layer = layer0;
+		long coordinate = coordinate0;
+		while (true) {
+			if (layer == 0) {
+				return EXPONENTIAL_R - Math.log(1. - stream.nextDouble());
+			}
+			final double x = coordinate * EXPONENTIAL_W[layer];
+			if (EXPONENTIAL_F[layer] + stream.nextDouble() * (EXPONENTIAL_F[layer - 1] - EXPONENTIAL_F[layer])
+					< Math.exp(-x)) {
+				return x;
+			}
+			final long bits = stream.nextLong();
+			layer = (int) bits & (EXPONENTIAL_LAYERS - 1);
+			coordinate = bits >>> 32;
+			if (coordinate < EXPONENTIAL_K[layer]) {
+				return coordinate * EXPONENTIAL_W[layer];
+			}
+		}
+	}
+
+	/** Replies a value from the standard normal distribution, with a mean of {@code 0}
+	 * and a standard deviation of {@code 1}.
+	 *
+	 * @param stream is the uniform random number generator.
+	 * @return the value.
+	 */
+	static double nextGaussian(Random stream) {
+		final long bits = stream.nextLong();
+		final int layer = (int) bits & (NORMAL_LAYERS - 1);
+		final long coordinate = bits >> 32;
+		if (Math.abs(coordinate) < NORMAL_K[layer]) {
+			return coordinate * NORMAL_W[layer];
+		}
+		return nextGaussianSlow(stream, layer, coordinate);
+	}
+
+	private static double nextGaussianSlow(Random stream, int layer0, long coordinate0) {
+		int layer = layer0;
+		long coordinate = coordinate0;
+		while (true) {
+			if (layer == 0) {
+				double x;
+				double y;
+				do {
+					x = -Math.log(1. - stream.nextDouble()) / NORMAL_R;
+					y = -Math.log(1. - stream.nextDouble());
+				} while (y + y < x * x);
+				return coordinate > 0 ? NORMAL_R + x : -NORMAL_R - x;
+			}
+			final double x = coordinate * NORMAL_W[layer];
+			if (NORMAL_F[layer] + stream.nextDouble() * (NORMAL_F[layer - 1] - NORMAL_F[layer])
+					< Math.exp(-.5 * x * x)) {
+				return x;
+			}
+			final long bits = stream.nextLong();
+			layer = (int) bits & (NORMAL_LAYERS - 1);
+			coordinate = bits >> 32;
+			if (Math.abs(coordinate) < NORMAL_K[layer]) {
+				return coordinate * NORMAL_W[layer];
+			}
+		}
+	}
+
+}
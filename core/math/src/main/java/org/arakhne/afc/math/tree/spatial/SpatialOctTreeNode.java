@@ -0,0 +1,548 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.tree.spatial;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.tree.node.IcosepOctTreeNode;
+
+/**
+ * Node of a {@link SpatialOctTree}.
+ *
+ * <p>A node covers an axis-aligned box. The eight octant children cover the eighths of the
+ * box; the icosep child has the same bounds as its parent and contains the objects that
+ * are intersecting the split planes of the parent. The user data of a node are the
+ * {@link Entry entries} of the objects that are stored in the node; they are maintained by the tree and must
+ * not be changed with the user data functions.
+ *
+ * <p>The zone of an octant is defined with the x axis oriented to the east, the y axis oriented to the north,
+ * and the z axis oriented to the back.
+ *
+ * @param <D> is the type of the objects inside the tree.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public class SpatialOctTreeNode<D> extends IcosepOctTreeNode<SpatialOctTreeNode.Entry<D>, SpatialOctTreeNode<D>> {
+
+	private static final long serialVersionUID = -6450273170648131195L;
+
+	/** Minimal x coordinate of the node.
+	 */
+	final double minX;
+
+	/** Minimal y coordinate of the node.
+	 */
+	final double minY;
+
+	/** Minimal z coordinate of the node.
+	 */
+	final double minZ;
+
+	/** Maximal x coordinate of the node.
+	 */
+	final double maxX;
+
+	/** Maximal y coordinate of the node.
+	 */
+	final double maxY;
+
+	/** Maximal z coordinate of the node.
+	 */
+	final double maxZ;
+
+	/** X coordinate of the split plane.
+	 */
+	final double centerX;
+
+	/** Y coordinate of the split plane.
+	 */
+	final double centerY;
+
+	/** Z coordinate of the split plane.
+	 */
+	final double centerZ;
+
+	/** Depth of the node in the tree.
+	 */
+	final int level;
+
+	/** Indicates if the node is the icosep child of its parent.
+	 */
+	final boolean icosep;
+
+	/** Number of entries in the subtree.
+	 */
+	int size;
+
+	/** Constructor.
+	 *
+	 * @param minX the minimal x coordinate of the node.
+	 * @param minY the minimal y coordinate of the node.
+	 * @param minZ the minimal z coordinate of the node.
+	 * @param maxX the maximal x coordinate of the node.
+	 * @param maxY the maximal y coordinate of the node.
+	 * @param maxZ the maximal z coordinate of the node.
+	 * @param level the depth of the node in the tree.
+	 * @param icosep indicates if the node is an icosep child.
+	 */
+	@SuppressWarnings("checkstyle:parameternumber")
+	SpatialOctTreeNode(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+			int level, boolean icosep) {
+		super(false, false, new ArrayList<>());
+		this.minX = minX;
+		this.minY = minY;
+		this.minZ = minZ;
+		this.maxX = maxX;
+		this.maxY = maxY;
+		this.maxZ = maxZ;
+		this.centerX = (minX + maxX) / 2.;
+		this.centerY = (minY + maxY) / 2.;
+		this.centerZ = (minZ + maxZ) / 2.;
+		this.level = level;
+		this.icosep = icosep;
+	}
+
+	/** Replies the minimal x coordinate of the node.
+	 *
+	 * @return the minimal x.
+	 */
+	@Pure
+	public double getMinX() {
+		return this.minX;
+	}
+
+	/** Replies the minimal y coordinate of the node.
+	 *
+	 * @return the minimal y.
+	 */
+	@Pure
+	public double getMinY() {
+		return this.minY;
+	}
+
+	/** Replies the minimal z coordinate of the node.
+	 *
+	 * @return the minimal z.
+	 */
+	@Pure
+	public double getMinZ() {
+		return this.minZ;
+	}
+
+	/** Replies the maximal x coordinate of the node.
+	 *
+	 * @return the maximal x.
+	 */
+	@Pure
+	public double getMaxX() {
+		return this.maxX;
+	}
+
+	/** Replies the maximal y coordinate of the node.
+	 *
+	 * @return the maximal y.
+	 */
+	@Pure
+	public double getMaxY() {
+		return this.maxY;
+	}
+
+	/** Replies the maximal z coordinate of the node.
+	 *
+	 * @return the maximal z.
+	 */
+	@Pure
+	public double getMaxZ() {
+		return this.maxZ;
+	}
+
+	/** Replies the x coordinate of the split plane of the node that is orthogonal to the x axis.
+	 *
+	 * @return the x coordinate of the center.
+	 */
+	@Pure
+	public double getCenterX() {
+		return this.centerX;
+	}
+
+	/** Replies the y coordinate of the split plane of the node that is orthogonal to the y axis.
+	 *
+	 * @return the y coordinate of the center.
+	 */
+	@Pure
+	public double getCenterY() {
+		return this.centerY;
+	}
+
+	/** Replies the z coordinate of the split plane of the node that is orthogonal to the z axis.
+	 *
+	 * @return the z coordinate of the center.
+	 */
+	@Pure
+	public double getCenterZ() {
+		return this.centerZ;
+	}
+
+	/** Replies if this node is the icosep child of its parent.
+	 *
+	 * @return {@code true} if this node contains the objects that are intersecting the split planes of its parent.
+	 */
+	@Pure
+	public boolean isIcosep() {
+		return this.icosep;
+	}
+
+	/** Replies the number of objects in the subtree of this node.
+	 *
+	 * @return the number of objects.
+	 */
+	@Pure
+	public int getObjectCount() {
+		return this.size;
+	}
+
+	/** Replies the number of entries that are stored in this node.
+	 *
+	 * @return the number of entries.
+	 */
+	int getEntryCount() {
+		final List<Entry<D>> entries = getInternalDataStructureForUserData();
+		return entries == null ? 0 : entries.size();
+	}
+
+	/** Replies the entry at the given index in this node.
+	 *
+	 * @param index the index.
+	 * @return the entry.
+	 */
+	Entry<D> getEntryAt(int index) {
+		return getInternalDataStructureForUserData().get(index);
+	}
+
+	/** Add the given entry into this node.
+	 *
+	 * <p>The user data are changed without firing data events, except when the data list was released through
+	 * the user data API.
+	 *
+	 * @param entry the entry.
+	 */
+	void addEntry(Entry<D> entry) {
+		final List<Entry<D>> entries = getInternalDataStructureForUserData();
+		if (entries == null) {
+			addUserData(entry);
+			entry.index = 0;
+		} else {
+			entry.index = entries.size();
+			entries.add(entry);
+		}
+		entry.node = this;
+	}
+
+	/** Remove the given entry from this node.
+	 *
+	 * <p>The last entry of the node takes the place of the removed entry.
+	 * The user data are changed without firing data events.
+	 *
+	 * @param entry the entry.
+	 */
+	void removeEntry(Entry<D> entry) {
+		final List<Entry<D>> entries = getInternalDataStructureForUserData();
+		final Entry<D> last = entries.remove(entries.size() - 1);
+		if (last != entry) {
+			entries.set(entry.index, last);
+			last.index = entry.index;
+		}
+		entry.node = null;
+	}
+
+	/** Remove all the entries from this node without firing data events.
+	 */
+	void clearEntries() {
+		final List<Entry<D>> entries = getInternalDataStructureForUserData();
+		if (entries != null) {
+			entries.clear();
+		}
+	}
+
+	/** Replies if the node has octant children.
+	 *
+	 * @return {@code true} if the node is split.
+	 */
+	boolean isSplit() {
+		return getChildAt(0) != null;
+	}
+
+	/** Replies if the bounds of the node intersect the given box.
+	 *
+	 * @param x1 the minimal x coordinate of the box.
+	 * @param y1 the minimal y coordinate of the box.
+	 * @param z1 the minimal z coordinate of the box.
+	 * @param x2 the maximal x coordinate of the box.
+	 * @param y2 the maximal y coordinate of the box.
+	 * @param z2 the maximal z coordinate of the box.
+	 * @return {@code true} if the node intersects the box.
+	 */
+	@SuppressWarnings("checkstyle:parameternumber")
+	boolean intersects(double x1, double y1, double z1, double x2, double y2, double z2) {
+		return x1 <= this.maxX && x2 >= this.minX && y1 <= this.maxY && y2 >= this.minY
+				&& z1 <= this.maxZ && z2 >= this.minZ;
+	}
+
+	/** Replies if the bounds of the node contain the bounds of the given entry.
+	 *
+	 * @param entry the entry.
+	 * @return {@code true} if the node contains the entry.
+	 */
+	boolean contains(Entry<D> entry) {
+		return entry.minX >= this.minX && entry.maxX <= this.maxX && entry.minY >= this.minY && entry.maxY <= this.maxY
+				&& entry.minZ >= this.minZ && entry.maxZ <= this.maxZ;
+	}
+
+	/** Replies the squared distance between the bounds of the node and the given point.
+	 *
+	 * @param x the x coordinate of the point.
+	 * @param y the y coordinate of the point.
+	 * @param z the z coordinate of the point.
+	 * @return the squared distance.
+	 */
+	double getDistanceSquared(double x, double y, double z) {
+		final double dx = Math.max(Math.max(this.minX - x, x - this.maxX), 0.);
+		final double dy = Math.max(Math.max(this.minY - y, y - this.maxY), 0.);
+		final double dz = Math.max(Math.max(this.minZ - z, z - this.maxZ), 0.);
+		return dx * dx + dy * dy + dz * dz;
+	}
+
+	/** Replies the first child of this node in the order of the zones.
+	 *
+	 * @return the first child, or {@code null} if the node has no child.
+	 */
+	SpatialOctTreeNode<D> getFirstNotNullChild() {
+		return getNotNullChildFrom(0);
+	}
+
+	/** Replies the next sibling of this node in the order of the zones.
+	 *
+	 * @return the next sibling, or {@code null} if this node is the last child of its parent or the root.
+	 */
+	SpatialOctTreeNode<D> getNextNotNullSibling() {
+		final SpatialOctTreeNode<D> parent = getParentNode();
+		if (parent == null) {
+			return null;
+		}
+		return parent.getNotNullChildFrom(parent.indexOf(this) + 1);
+	}
+
+	private SpatialOctTreeNode<D> getNotNullChildFrom(int index) {
+		final int count = getChildCount();
+		for (int i = index; i < count; ++i) {
+			final SpatialOctTreeNode<D> child = getChildAt(i);
+			if (child != null) {
+				return child;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Object that is stored in a {@link SpatialOctTree} with its bounds.
+	 *
+	 * @param <D> is the type of the object.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	public static final class Entry<D> implements Serializable {
+
+		private static final long serialVersionUID = 5140417582663104735L;
+
+		/** The object.
+		 */
+		final D data;
+
+		/** Minimal x coordinate of the object.
+		 */
+		double minX;
+
+		/** Minimal y coordinate of the object.
+		 */
+		double minY;
+
+		/** Minimal z coordinate of the object.
+		 */
+		double minZ;
+
+		/** Maximal x coordinate of the object.
+		 */
+		double maxX;
+
+		/** Maximal y coordinate of the object.
+		 */
+		double maxY;
+
+		/** Maximal z coordinate of the object.
+		 */
+		double maxZ;
+
+		/** The node that contains the entry.
+		 */
+		SpatialOctTreeNode<D> node;
+
+		/** Index of the entry in the user data of the node.
+		 */
+		int index;
+
+		/** Constructor.
+		 *
+		 * @param data the object.
+		 */
+		Entry(D data) {
+			this.data = data;
+		}
+
+		/** Change the bounds of the object.
+		 *
+		 * @param x1 the minimal x coordinate of the object.
+		 * @param y1 the minimal y coordinate of the object.
+		 * @param z1 the minimal z coordinate of the object.
+		 * @param x2 the maximal x coordinate of the object.
+		 * @param y2 the maximal y coordinate of the object.
+		 * @param z2 the maximal z coordinate of the object.
+		 */
+		@SuppressWarnings("checkstyle:parameternumber")
+		void set(double x1, double y1, double z1, double x2, double y2, double z2) {
+			this.minX = x1;
+			this.minY = y1;
+			this.minZ = z1;
+			this.maxX = x2;
+			this.maxY = y2;
+			this.maxZ = z2;
+		}
+
+		/** Replies the object.
+		 *
+		 * @return the object.
+		 */
+		@Pure
+		public D getData() {
+			return this.data;
+		}
+
+		/** Replies the minimal x coordinate of the object.
+		 *
+		 * @return the minimal x.
+		 */
+		@Pure
+		public double getMinX() {
+			return this.minX;
+		}
+
+		/** Replies the minimal y coordinate of the object.
+		 *
+		 * @return the minimal y.
+		 */
+		@Pure
+		public double getMinY() {
+			return this.minY;
+		}
+
+		/** Replies the minimal z coordinate of the object.
+		 *
+		 * @return the minimal z.
+		 */
+		@Pure
+		public double getMinZ() {
+			return this.minZ;
+		}
+
+		/** Replies the maximal x coordinate of the object.
+		 *
+		 * @return the maximal x.
+		 */
+		@Pure
+		public double getMaxX() {
+			return this.maxX;
+		}
+
+		/** Replies the maximal y coordinate of the object.
+		 *
+		 * @return the maximal y.
+		 */
+		@Pure
+		public double getMaxY() {
+			return this.maxY;
+		}
+
+		/** Replies the maximal z coordinate of the object.
+		 *
+		 * @return the maximal z.
+		 */
+		@Pure
+		public double getMaxZ() {
+			return this.maxZ;
+		}
+
+		/** Replies if the bounds of the object intersect the given box.
+		 *
+		 * @param x1 the minimal x coordinate of the box.
+		 * @param y1 the minimal y coordinate of the box.
+		 * @param z1 the minimal z coordinate of the box.
+		 * @param x2 the maximal x coordinate of the box.
+		 * @param y2 the maximal y coordinate of the box.
+		 * @param z2 the maximal z coordinate of the box.
+		 * @return {@code true} if the object intersects the box.
+		 */
+		@SuppressWarnings("checkstyle:parameternumber")
+		boolean intersects(double x1, double y1, double z1, double x2, double y2, double z2) {
+			return x1 <= this.maxX && x2 >= this.minX && y1 <= this.maxY && y2 >= this.minY
+					&& z1 <= this.maxZ && z2 >= this.minZ;
+		}
+
+		/** Replies the squared distance between the bounds of the object and the given point.
+		 *
+		 * @param x the x coordinate of the point.
+		 * @param y the y coordinate of the point.
+		 * @param z the z coordinate of the point.
+		 * @return the squared distance.
+		 */
+		double getDistanceSquared(double x, double y, double z) {
+			final double dx = Math.max(Math.max(this.minX - x, x - this.maxX), 0.);
+			final double dy = Math.max(Math.max(this.minY - y, y - this.maxY), 0.);
+			final double dz = Math.max(Math.max(this.minZ - z, z - this.maxZ), 0.);
+			return dx * dx + dy * dy + dz * dz;
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.data);
+		}
+
+	}
+
+}
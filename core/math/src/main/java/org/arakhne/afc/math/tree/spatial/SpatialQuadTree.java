@@ -0,0 +1,785 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.tree.spatial;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.tree.node.IcosepQuadTreeNode.IcosepQuadTreeZone;
+import org.arakhne.afc.math.tree.node.QuadTreeNode.QuadTreeZone;
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
+/** Spatial index of 2D objects that is based on a region quadtree with the icosep heuristic.
+ *
+ * <p>The tree covers a fixed rectangular area. A leaf is split into four quadrants when it contains more
+ * objects than the split threshold, unless it has reached the maximal depth. The objects that are
+ * intersecting the split lines of a node are stored in the icosep child of the node, which is never split.
+ * The objects that are not entirely inside the area of the tree are stored in the icosep child of the root.
+ * A subtree is merged into its root when it contains no more than half of the split threshold.
+ *
+ * <p>The objects are points or axis-aligned rectangles. {@link #move(Object, double, double, double, double)}
+ * updates the bounds of an object: the tree is not changed when the object is still inside its node; otherwise
+ * the object is inserted again from the nearest ancestor that contains it. {@link #rebuild(BoundsComputer)}
+ * recomputes the bounds of all the objects and rebuilds the tree in a single top-down pass, which is faster
+ * than moving all the objects one by one.
+ *
+ * <p>The queries are not recursive and do not allocate memory for the traversal: they follow the parent
+ * links of the nodes.
+ *
+ * <p>The objects are compared on their references, not with {@link Object#equals(Object)}. This index is
+ * not thread-safe for modifications; concurrent queries are supported when no modification is in progress.
+ *
+ * @param <D> is the type of the objects inside the tree.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public class SpatialQuadTree<D> implements Iterable<D> {
+
+	/** Default maximal number of objects in a leaf.
+	 */
+	public static final int DEFAULT_SPLIT_THRESHOLD = 16;
+
+	/** Default maximal depth of the tree.
+	 */
+	public static final int DEFAULT_MAX_DEPTH = 16;
+
+	private static final int ICOSEP = IcosepQuadTreeZone.ICOSEP.ordinal();
+
+	private static final int SOUTH = QuadTreeZone.SOUTH_WEST.ordinal();
+
+	private static final int EAST = QuadTreeZone.NORTH_EAST.ordinal();
+
+	private static final int ZONE_COUNT = ICOSEP + 1;
+
+	private static final int BOUNDS_SIZE = 4;
+
+	private static final int MAX_X = 2;
+
+	private static final int MAX_Y = 3;
+
+	private final double minX;
+
+	private final double minY;
+
+	private final double maxX;
+
+	private final double maxY;
+
+	private final int splitThreshold;
+
+	private final int mergeThreshold;
+
+	private final int maxDepth;
+
+	private final Map<D, SpatialQuadTreeNode.Entry<D>> entries = new IdentityHashMap<>();
+
+	private SpatialQuadTreeNode<D> root;
+
+	/** Construct an empty tree with the {@link #DEFAULT_SPLIT_THRESHOLD default split threshold}
+	 * and the {@link #DEFAULT_MAX_DEPTH default maximal depth}.
+	 *
+	 * @param minX the minimal x coordinate of the area covered by the tree.
+	 * @param minY the minimal y coordinate of the area covered by the tree.
+	 * @param maxX the maximal x coordinate of the area covered by the tree.
+	 * @param maxY the maximal y coordinate of the area covered by the tree.
+	 */
+	public SpatialQuadTree(double minX, double minY, double maxX, double maxY) {
+		this(minX, minY, maxX, maxY, DEFAULT_SPLIT_THRESHOLD, DEFAULT_MAX_DEPTH);
+	}
+
+	/** Construct an empty tree.
+	 *
+	 * @param minX the minimal x coordinate of the area covered by the tree.
+	 * @param minY the minimal y coordinate of the area covered by the tree.
+	 * @param maxX the maximal x coordinate of the area covered by the tree.
+	 * @param maxY the maximal y coordinate of the area covered by the tree.
+	 * @param splitThreshold the maximal number of objects in a leaf before splitting it. It must be at least {@code 1}.
+	 * @param maxDepth the maximal depth of the tree.
+	 */
+	@SuppressWarnings("checkstyle:magicnumber")
+	public SpatialQuadTree(double minX, double minY, double maxX, double maxY, int splitThreshold, int maxDepth) {
+		assert minX <= maxX : AssertMessages.lowerEqualParameters(0, minX, 2, maxX);
+		assert minY <= maxY : AssertMessages.lowerEqualParameters(1, minY, 3, maxY);
+		assert splitThreshold >= 1
+				: AssertMessages.outsideRangeInclusiveParameter(4, splitThreshold, 1, Integer.MAX_VALUE);
+		assert maxDepth >= 0 : AssertMessages.positiveOrZeroParameter(5);
+		this.minX = minX;
+		this.minY = minY;
+		this.maxX = maxX;
+		this.maxY = maxY;
+		this.splitThreshold = splitThreshold;
+		this.mergeThreshold = splitThreshold / 2;
+		this.maxDepth = maxDepth;
+		this.root = newRoot();
+	}
+
+	private SpatialQuadTreeNode<D> newRoot() {
+		return new SpatialQuadTreeNode<>(this.minX, this.minY, this.maxX, this.maxY, 0, false);
+	}
+
+	/** Replies the root node of the tree.
+	 *
+	 * @return the root node.
+	 */
+	@Pure
+	public SpatialQuadTreeNode<D> getRoot() {
+		return this.root;
+	}
+
+	/** Replies the maximal number of objects in a leaf before splitting it.
+	 *
+	 * @return the split threshold.
+	 */
+	@Pure
+	public int getSplitThreshold() {
+		return this.splitThreshold;
+	}
+
+	/** Replies the maximal depth of the tree.
+	 *
+	 * @return the maximal depth.
+	 */
+	@Pure
+	public int getMaxDepth() {
+		return this.maxDepth;
+	}
+
+	/** Replies the number of objects in the tree.
+	 *
+	 * @return the number of objects.
+	 */
+	@Pure
+	public int size() {
+		return this.entries.size();
+	}
+
+	/** Replies if the tree contains no object.
+	 *
+	 * @return {@code true} if the tree is empty.
+	 */
+	@Pure
+	public boolean isEmpty() {
+		return this.entries.isEmpty();
+	}
+
+	/** Replies if the given object is inside this tree.
+	 *
+	 * @param data the object.
+	 * @return {@code true} if the object is inside the tree.
+	 */
+	@Pure
+	public boolean contains(D data) {
+		return this.entries.containsKey(data);
+	}
+
+	@Pure
+	@Override
+	public Iterator<D> iterator() {
+		return Collections.unmodifiableCollection(this.entries.keySet()).iterator();
+	}
+
+	/** Remove all the objects from the tree.
+	 */
+	public void clear() {
+		this.entries.clear();
+		this.root = newRoot();
+	}
+
+	/** Add the given point object into the tree.
+	 *
+	 * @param data the object to add.
+	 * @param x the x coordinate of the object.
+	 * @param y the y coordinate of the object.
+	 * @return {@code true} if the object was added; {@code false} if it is already inside the tree.
+	 */
+	public boolean add(D data, double x, double y) {
+		return add(data, x, y, x, y);
+	}
+
+	/** Add the given object into the tree.
+	 *
+	 * @param data the object to add.
+	 * @param minX the minimal x coordinate of the object.
+	 * @param minY the minimal y coordinate of the object.
+	 * @param maxX the maximal x coordinate of the object.
+	 * @param maxY the maximal y coordinate of the object.
+	 * @return {@code true} if the object was added; {@code false} if it is already inside the tree.
+	 */
+	@SuppressWarnings("checkstyle:magicnumber")
+	public boolean add(D data, double minX, double minY, double maxX, double maxY) {
+		assert data != null : AssertMessages.notNullParameter(0);
+		assert minX <= maxX : AssertMessages.lowerEqualParameters(1, minX, 3, maxX);
+		assert minY <= maxY : AssertMessages.lowerEqualParameters(2, minY, 4, maxY);
+		if (this.entries.containsKey(data)) {
+			return false;
+		}
+		final SpatialQuadTreeNode.Entry<D> entry = new SpatialQuadTreeNode.Entry<>(data);
+		entry.set(minX, minY, maxX, maxY);
+		this.entries.put(data, entry);
+		insert(this.root, entry);
+		return true;
+	}
+
+	/** Add the given objects into the tree.
+	 *
+	 * <p>When the tree is empty, the tree is built in a single top-down pass.
+	 * Otherwise, the objects are inserted one by one.
+	 *
+	 * @param objects the objects to add.
+	 * @param boundsComputer the computer of the bounds of the objects.
+	 * @return {@code true} if at least one object was added.
+	 */
+	public boolean addAll(Collection<? extends D> objects, BoundsComputer<? super D> boundsComputer) {
+		assert objects != null : AssertMessages.notNullParameter(0);
+		assert boundsComputer != null : AssertMessages.notNullParameter(1);
+		final boolean bulk = this.entries.isEmpty();
+		final double[] bounds = new double[BOUNDS_SIZE];
+		boolean changed = false;
+		for (final D data : objects) {
+			assert data != null : AssertMessages.notNullParameter(0);
+			if (!this.entries.containsKey(data)) {
+				final SpatialQuadTreeNode.Entry<D> entry = new SpatialQuadTreeNode.Entry<>(data);
+				boundsComputer.computeBounds(data, bounds);
+				entry.set(bounds[0], bounds[1], bounds[MAX_X], bounds[MAX_Y]);
+				this.entries.put(data, entry);
+				if (!bulk) {
+					insert(this.root, entry);
+				}
+				changed = true;
+			}
+		}
+		if (bulk && changed) {
+			rebuild();
+		}
+		return changed;
+	}
+
+	/** Remove the given object from the tree.
+	 *
+	 * @param data the object to remove.
+	 * @return {@code true} if the object was removed; {@code false} if it is not inside the tree.
+	 */
+	public boolean remove(D data) {
+		final SpatialQuadTreeNode.Entry<D> entry = this.entries.remove(data);
+		if (entry == null) {
+			return false;
+		}
+		detach(entry, null);
+		return true;
+	}
+
+	/** Move the given point object.
+	 *
+	 * @param data the object to move.
+	 * @param x the new x coordinate of the object.
+	 * @param y the new y coordinate of the object.
+	 * @return {@code true} if the object was moved; {@code false} if it is not inside the tree.
+	 * @see #move(Object, double, double, double, double)
+	 */
+	public boolean move(D data, double x, double y) {
+		return move(data, x, y, x, y);
+	}
+
+	/** Change the bounds of the given object.
+	 *
+	 * <p>If the new bounds are still inside the node of the object, the tree is not changed. Otherwise,
+	 * the object is removed from its node and inserted again from the nearest ancestor that contains it.
+	 *
+	 * @param data the object to move.
+	 * @param minX the new minimal x coordinate of the object.
+	 * @param minY the new minimal y coordinate of the object.
+	 * @param maxX the new maximal x coordinate of the object.
+	 * @param maxY the new maximal y coordinate of the object.
+	 * @return {@code true} if the object was moved; {@code false} if it is not inside the tree.
+	 */
+	@SuppressWarnings("checkstyle:magicnumber")
+	public boolean move(D data, double minX, double minY, double maxX, double maxY) {
+		assert minX <= maxX : AssertMessages.lowerEqualParameters(1, minX, 3, maxX);
+		assert minY <= maxY : AssertMessages.lowerEqualParameters(2, minY, 4, maxY);
+		final SpatialQuadTreeNode.Entry<D> entry = this.entries.get(data);
+		if (entry == null) {
+			return false;
+		}
+		entry.set(minX, minY, maxX, maxY);
+		final SpatialQuadTreeNode<D> node = entry.node;
+		if (!fits(node, entry)) {
+			// Search for the nearest ancestor that contains the object
+			SpatialQuadTreeNode<D> ancestor = node.getParentNode();
+			while (ancestor != null && ancestor != this.root && !ancestor.contains(entry)) {
+				ancestor = ancestor.getParentNode();
+			}
+			if (ancestor == null) {
+				ancestor = this.root;
+			}
+			detach(entry, ancestor);
+			insert(ancestor, entry);
+		}
+		return true;
+	}
+
+	/** Rebuild the tree with the current bounds of the objects.
+	 *
+	 * <p>The tree is built in a single top-down pass that partitions the objects.
+	 */
+	public void rebuild() {
+		final SpatialQuadTreeNode.Entry<D>[] array = this.entries.values().toArray(newEntryArray(this.entries.size()));
+		this.root = newRoot();
+		build(this.root, array, 0, array.length, array.clone());
+	}
+
+	/** Recompute the bounds of all the objects and rebuild the tree.
+	 *
+	 * <p>This function is more efficient than moving the objects one by one when most of the objects have moved.
+	 *
+	 * @param boundsComputer the computer of the bounds of the objects.
+	 */
+	public void rebuild(BoundsComputer<? super D> boundsComputer) {
+		assert boundsComputer != null : AssertMessages.notNullParameter();
+		final double[] bounds = new double[BOUNDS_SIZE];
+		for (final SpatialQuadTreeNode.Entry<D> entry : this.entries.values()) {
+			boundsComputer.computeBounds(entry.data, bounds);
+			entry.set(bounds[0], bounds[1], bounds[MAX_X], bounds[MAX_Y]);
+		}
+		rebuild();
+	}
+
+	/** Replies if the given entry may stay in the given node.
+	 *
+	 * @param node the node.
+	 * @param entry the entry.
+	 * @return {@code true} if the entry may stay in the node.
+	 */
+	private boolean fits(SpatialQuadTreeNode<D> node, SpatialQuadTreeNode.Entry<D> entry) {
+		if (node.icosep) {
+			final SpatialQuadTreeNode<D> parent = node.getParentNode();
+			return zoneOf(parent, entry) == ICOSEP && (parent == this.root || parent.contains(entry));
+		}
+		return node == this.root || node.contains(entry);
+	}
+
+	/** Replies the zone of the given node in which the given entry must be stored.
+	 *
+	 * @param node the node.
+	 * @param entry the entry.
+	 * @return the index of the quadrant, or the index of the icosep child.
+	 */
+	private int zoneOf(SpatialQuadTreeNode<D> node, SpatialQuadTreeNode.Entry<D> entry) {
+		if (node == this.root && !node.contains(entry)) {
+			return ICOSEP;
+		}
+		final int zone;
+		if (entry.minY >= node.centerY) {
+			zone = 0;
+		} else if (entry.maxY <= node.centerY) {
+			zone = SOUTH;
+		} else {
+			return ICOSEP;
+		}
+		if (entry.maxX <= node.centerX) {
+			return zone;
+		}
+		if (entry.minX >= node.centerX) {
+			return zone + EAST;
+		}
+		return ICOSEP;
+	}
+
+	/** Insert the entry in the subtree of the given node.
+	 *
+	 * @param node the root of the subtree.
+	 * @param entry the entry.
+	 */
+	private void insert(SpatialQuadTreeNode<D> node, SpatialQuadTreeNode.Entry<D> entry) {
+		SpatialQuadTreeNode<D> current = node;
+		while (true) {
+			++current.size;
+			if (current.icosep || !current.isSplit()) {
+				current.addEntry(entry);
+				if (!current.icosep && current.size > this.splitThreshold && current.level < this.maxDepth) {
+					split(current);
+				}
+				return;
+			}
+			final int zone = zoneOf(current, entry);
+			SpatialQuadTreeNode<D> child = current.getChildAt(zone);
+			if (child == null) {
+				// Only the icosep child is created on demand.
+				child = new SpatialQuadTreeNode<>(current.minX, current.minY, current.maxX, current.maxY,
+						current.level + 1, true);
+				current.setIcosepChild(child);
+			}
+			current = child;
+		}
+	}
+
+	/** Remove the entry from its node, and update the subtree sizes until the given ancestor, inclusive.
+	 * The highest subtree below the ancestor that has become small enough is merged.
+	 *
+	 * @param entry the entry.
+	 * @param ancestor the last ancestor to update, or {@code null} for updating up to the root.
+	 */
+	private void detach(SpatialQuadTreeNode.Entry<D> entry, SpatialQuadTreeNode<D> ancestor) {
+		SpatialQuadTreeNode<D> node = entry.node;
+		node.removeEntry(entry);
+		SpatialQuadTreeNode<D> merge = null;
+		while (node != null) {
+			--node.size;
+			if (node == ancestor) {
+				break;
+			}
+			if (!node.icosep && node.size <= this.mergeThreshold && node.isSplit()) {
+				merge = node;
+			}
+			node = node.getParentNode();
+		}
+		if (merge != null) {
+			merge(merge);
+		}
+	}
+
+	/** Split the given leaf.
+	 *
+	 * @param node the leaf to split.
+	 */
+	private void split(SpatialQuadTreeNode<D> node) {
+		final int count = node.getEntryCount();
+		final SpatialQuadTreeNode.Entry<D>[] array = newEntryArray(count);
+		for (int i = 0; i < count; ++i) {
+			array[i] = node.getEntryAt(i);
+		}
+		node.clearEntries();
+		build(node, array, 0, count, newEntryArray(count));
+	}
+
+	/** Create an array of entries.
+	 *
+	 * @param <T> the type of the data.
+	 * @param size the size of the array.
+	 * @return the array.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <T> SpatialQuadTreeNode.Entry<T>[] newEntryArray(int size) {
+		return new SpatialQuadTreeNode.Entry[size];
+	}
+
+	/** Merge the subtree of the given node into the node.
+	 *
+	 * @param node the root of the subtree.
+	 */
+	private void merge(SpatialQuadTreeNode<D> node) {
+		final List<SpatialQuadTreeNode.Entry<D>> list = new ArrayList<>(node.size);
+		SpatialQuadTreeNode<D> current = node.getFirstNotNullChild();
+		while (current != null) {
+			for (int i = 0; i < current.getEntryCount(); ++i) {
+				list.add(current.getEntryAt(i));
+			}
+			current = nextNode(current, node, true);
+		}
+		for (int i = 0; i < ZONE_COUNT; ++i) {
+			node.setChildAt(i, null);
+		}
+		for (final SpatialQuadTreeNode.Entry<D> entry : list) {
+			node.addEntry(entry);
+		}
+	}
+
+	/** Build the subtree of the given node with the given entries.
+	 *
+	 * @param node the root of the subtree, without children and entries.
+	 * @param array the entries.
+	 * @param from the index of the first entry.
+	 * @param to the index after the last entry.
+	 * @param buffer a buffer with the same size as the array of entries.
+	 */
+	@SuppressWarnings("checkstyle:npathcomplexity")
+	private void build(SpatialQuadTreeNode<D> node, SpatialQuadTreeNode.Entry<D>[] array, int from, int to,
+			SpatialQuadTreeNode.Entry<D>[] buffer) {
+		final int count = to - from;
+		node.size = count;
+		if (count <= this.splitThreshold || node.level >= this.maxDepth) {
+			for (int i = from; i < to; ++i) {
+				node.addEntry(array[i]);
+			}
+			return;
+		}
+		// Counting sort of the entries on their zones
+		final int[] starts = new int[ZONE_COUNT + 1];
+		for (int i = from; i < to; ++i) {
+			++starts[zoneOf(node, array[i]) + 1];
+		}
+		starts[0] = from;
+		for (int i = 1; i <= ZONE_COUNT; ++i) {
+			starts[i] += starts[i - 1];
+		}
+		final int[] positions = starts.clone();
+		for (int i = from; i < to; ++i) {
+			buffer[positions[zoneOf(node, array[i])]++] = array[i];
+		}
+		System.arraycopy(buffer, from, array, from, count);
+		final int level = node.level + 1;
+		for (int zone = 0; zone < ICOSEP; ++zone) {
+			final boolean east = (zone & EAST) != 0;
+			final boolean south = (zone & SOUTH) != 0;
+			final SpatialQuadTreeNode<D> child = new SpatialQuadTreeNode<>(
+					east ? node.centerX : node.minX,
+					south ? node.minY : node.centerY,
+					east ? node.maxX : node.centerX,
+					south ? node.centerY : node.maxY,
+					level, false);
+			node.setChildAt(zone, child);
+			build(child, array, starts[zone], starts[zone + 1], buffer);
+		}
+		if (starts[ICOSEP + 1] > starts[ICOSEP]) {
+			final SpatialQuadTreeNode<D> child = new SpatialQuadTreeNode<>(node.minX, node.minY, node.maxX, node.maxY,
+					level, true);
+			node.setIcosepChild(child);
+			child.size = starts[ICOSEP + 1] - starts[ICOSEP];
+			for (int i = starts[ICOSEP]; i < starts[ICOSEP + 1]; ++i) {
+				child.addEntry(array[i]);
+			}
+		}
+	}
+
+	/** Replies the node after the given node in a depth-first traversal of the subtree of the given root.
+	 *
+	 * @param node the current node.
+	 * @param subtree the root of the traversed subtree.
+	 * @param enter indicates if the children of the current node must be traversed.
+	 * @return the next node, or {@code null} if the traversal is finished.
+	 */
+	private static <D> SpatialQuadTreeNode<D> nextNode(SpatialQuadTreeNode<D> node, SpatialQuadTreeNode<D> subtree,
+			boolean enter) {
+		if (enter) {
+			final SpatialQuadTreeNode<D> child = node.getFirstNotNullChild();
+			if (child != null) {
+				return child;
+			}
+		}
+		SpatialQuadTreeNode<D> current = node;
+		while (current != subtree) {
+			final SpatialQuadTreeNode<D> sibling = current.getNextNotNullSibling();
+			if (sibling != null) {
+				return sibling;
+			}
+			current = current.getParentNode();
+		}
+		return null;
+	}
+
+	/** Replies if the objects of the given node may be outside the bounds of the node.
+	 * The objects outside the area of the tree are stored in the root or in its icosep child.
+	 *
+	 * @param node the node.
+	 * @param rootNode the root of the tree.
+	 * @return {@code true} if the node is not bounded.
+	 */
+	private static <D> boolean isUnbounded(SpatialQuadTreeNode<D> node, SpatialQuadTreeNode<D> rootNode) {
+		return node == rootNode || (node.icosep && node.getParentNode() == rootNode);
+	}
+
+	/** Visit the objects with bounds that intersect the given window.
+	 *
+	 * @param minX the minimal x coordinate of the window.
+	 * @param minY the minimal y coordinate of the window.
+	 * @param maxX the maximal x coordinate of the window.
+	 * @param maxY the maximal y coordinate of the window.
+	 * @param visitor the visitor that is invoked on each object. It replies {@code false} for stopping the visit.
+	 * @return {@code true} if all the objects were visited, {@code false} if the visitor stopped the visit.
+	 */
+	@Pure
+	@SuppressWarnings("checkstyle:magicnumber")
+	public boolean visitInWindow(double minX, double minY, double maxX, double maxY, Predicate<? super D> visitor) {
+		assert visitor != null : AssertMessages.notNullParameter(4);
+		final SpatialQuadTreeNode<D> rootNode = this.root;
+		SpatialQuadTreeNode<D> node = rootNode;
+		while (node != null) {
+			final boolean enter = isUnbounded(node, rootNode) || node.intersects(minX, minY, maxX, maxY);
+			if (enter) {
+				for (int i = 0; i < node.getEntryCount(); ++i) {
+					final SpatialQuadTreeNode.Entry<D> entry = node.getEntryAt(i);
+					if (entry.intersects(minX, minY, maxX, maxY) && !visitor.test(entry.data)) {
+						return false;
+					}
+				}
+			}
+			node = nextNode(node, rootNode, enter);
+		}
+		return true;
+	}
+
+	/** Replies the objects with bounds that intersect the given window.
+	 *
+	 * @param minX the minimal x coordinate of the window.
+	 * @param minY the minimal y coordinate of the window.
+	 * @param maxX the maximal x coordinate of the window.
+	 * @param maxY the maximal y coordinate of the window.
+	 * @return the objects.
+	 */
+	@Pure
+	public List<D> getInWindow(double minX, double minY, double maxX, double maxY) {
+		final List<D> list = new ArrayList<>();
+		visitInWindow(minX, minY, maxX, maxY, list::add);
+		return list;
+	}
+
+	/** Visit the objects with bounds that are at the given distance or closer to the given point.
+	 *
+	 * @param x the x coordinate of the point.
+	 * @param y the y coordinate of the point.
+	 * @param radius the maximal distance.
+	 * @param visitor the visitor that is invoked on each object. It replies {@code false} for stopping the visit.
+	 * @return {@code true} if all the objects were visited, {@code false} if the visitor stopped the visit.
+	 */
+	@Pure
+	@SuppressWarnings("checkstyle:magicnumber")
+	public boolean visitInRadius(double x, double y, double radius, Predicate<? super D> visitor) {
+		assert radius >= 0. : AssertMessages.positiveOrZeroParameter(2);
+		assert visitor != null : AssertMessages.notNullParameter(3);
+		final double squaredRadius = radius * radius;
+		final SpatialQuadTreeNode<D> rootNode = this.root;
+		SpatialQuadTreeNode<D> node = rootNode;
+		while (node != null) {
+			final boolean enter = isUnbounded(node, rootNode) || node.getDistanceSquared(x, y) <= squaredRadius;
+			if (enter) {
+				for (int i = 0; i < node.getEntryCount(); ++i) {
+					final SpatialQuadTreeNode.Entry<D> entry = node.getEntryAt(i);
+					if (entry.getDistanceSquared(x, y) <= squaredRadius && !visitor.test(entry.data)) {
+						return false;
+					}
+				}
+			}
+			node = nextNode(node, rootNode, enter);
+		}
+		return true;
+	}
+
+	/** Replies the objects with bounds that are at the given distance or closer to the given point.
+	 *
+	 * @param x the x coordinate of the point.
+	 * @param y the y coordinate of the point.
+	 * @param radius the maximal distance.
+	 * @return the objects.
+	 */
+	@Pure
+	public List<D> getInRadius(double x, double y, double radius) {
+		final List<D> list = new ArrayList<>();
+		visitInRadius(x, y, radius, list::add);
+		return list;
+	}
+
+	/** Replies the object that is the nearest to the given point.
+	 *
+	 * @param x the x coordinate of the point.
+	 * @param y the y coordinate of the point.
+	 * @return the nearest object, or {@code null} if the tree is empty.
+	 */
+	@Pure
+	public D getNearest(double x, double y) {
+		final List<D> list = getNearest(x, y, 1);
+		return list.isEmpty() ? null : list.get(0);
+	}
+
+	/** Replies the objects that are the nearest to the given point.
+	 *
+	 * <p>The distance to an object is the distance to its bounds. The nodes that are farther than
+	 * the current k-th nearest object are not traversed.
+	 *
+	 * @param x the x coordinate of the point.
+	 * @param y the y coordinate of the point.
+	 * @param count the maximal number of objects to reply.
+	 * @return the nearest objects, sorted from the nearest to the farthest.
+	 */
+	@Pure
+	@SuppressWarnings("unchecked")
+	public List<D> getNearest(double x, double y, int count) {
+		assert count >= 0 : AssertMessages.positiveOrZeroParameter(2);
+		final int capacity = Math.min(count, size());
+		if (capacity == 0) {
+			return Collections.emptyList();
+		}
+		// Sorted arrays of the nearest entries
+		final Object[] nearest = new Object[capacity];
+		final double[] distances = new double[capacity];
+		int found = 0;
+		final SpatialQuadTreeNode<D> rootNode = this.root;
+		SpatialQuadTreeNode<D> node = rootNode;
+		while (node != null) {
+			final boolean enter = found < capacity || isUnbounded(node, rootNode)
+					|| node.getDistanceSquared(x, y) < distances[capacity - 1];
+			if (enter) {
+				for (int i = 0; i < node.getEntryCount(); ++i) {
+					final SpatialQuadTreeNode.Entry<D> entry = node.getEntryAt(i);
+					final double distance = entry.getDistanceSquared(x, y);
+					if (found < capacity || distance < distances[capacity - 1]) {
+						int index = found < capacity ? found++ : capacity - 1;
+						while (index > 0 && distances[index - 1] > distance) {
+							distances[index] = distances[index - 1];
+							nearest[index] = nearest[index - 1];
+							--index;
+						}
+						distances[index] = distance;
+						nearest[index] = entry.data;
+					}
+				}
+			}
+			node = nextNode(node, rootNode, enter);
+		}
+		final List<D> list = new ArrayList<>(found);
+		for (int i = 0; i < found; ++i) {
+			list.add((D) nearest[i]);
+		}
+		return list;
+	}
+
+	/** Computer of the bounds of the objects in a {@link SpatialQuadTree}.
+	 *
+	 * @param <D> is the type of the objects.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	@FunctionalInterface
+	public interface BoundsComputer<D> {
+
+		/** Compute the bounds of the given object.
+		 *
+		 * @param data the object.
+		 * @param bounds the array that is filled with the minimal x, the minimal y, the maximal x,
+		 *     and the maximal y coordinates of the object.
+		 */
+		void computeBounds(D data, double[] bounds);
+
+	}
+
+}
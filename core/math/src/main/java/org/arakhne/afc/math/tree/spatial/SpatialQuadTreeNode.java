@@ -0,0 +1,457 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.tree.spatial;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.tree.node.IcosepQuadTreeNode;
+
+/**
+ * Node of a {@link SpatialQuadTree}.
+ *
+ * <p>A node covers an axis-aligned rectangle. The four quadrant children cover the quarters of the
+ * rectangle; the icosep child has the same bounds as its parent and contains the objects that
+ * are intersecting the split lines of the parent. The user data of a node are the
+ * {@link Entry entries} of the objects that are stored in the node; they are maintained by the tree and must
+ * not be changed with the user data functions.
+ *
+ * <p>The zone of a quadrant is defined with the x axis oriented to the east and the y axis oriented to the north.
+ *
+ * @param <D> is the type of the objects inside the tree.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+public class SpatialQuadTreeNode<D> extends IcosepQuadTreeNode<SpatialQuadTreeNode.Entry<D>, SpatialQuadTreeNode<D>> {
+
+	private static final long serialVersionUID = 3307961846287384720L;
+
+	/** Minimal x coordinate of the node.
+	 */
+	final double minX;
+
+	/** Minimal y coordinate of the node.
+	 */
+	final double minY;
+
+	/** Maximal x coordinate of the node.
+	 */
+	final double maxX;
+
+	/** Maximal y coordinate of the node.
+	 */
+	final double maxY;
+
+	/** X coordinate of the split line.
+	 */
+	final double centerX;
+
+	/** Y coordinate of the split line.
+	 */
+	final double centerY;
+
+	/** Depth of the node in the tree.
+	 */
+	final int level;
+
+	/** Indicates if the node is the icosep child of its parent.
+	 */
+	final boolean icosep;
+
+	/** Number of entries in the subtree.
+	 */
+	int size;
+
+	/** Constructor.
+	 *
+	 * @param minX the minimal x coordinate of the node.
+	 * @param minY the minimal y coordinate of the node.
+	 * @param maxX the maximal x coordinate of the node.
+	 * @param maxY the maximal y coordinate of the node.
+	 * @param level the depth of the node in the tree.
+	 * @param icosep indicates if the node is an icosep child.
+	 */
+	SpatialQuadTreeNode(double minX, double minY, double maxX, double maxY, int level, boolean icosep) {
+		super(false, false, new ArrayList<>());
+		this.minX = minX;
+		this.minY = minY;
+		this.maxX = maxX;
+		this.maxY = maxY;
+		this.centerX = (minX + maxX) / 2.;
+		this.centerY = (minY + maxY) / 2.;
+		this.level = level;
+		this.icosep = icosep;
+	}
+
+	/** Replies the minimal x coordinate of the node.
+	 *
+	 * @return the minimal x.
+	 */
+	@Pure
+	public double getMinX() {
+		return this.minX;
+	}
+
+	/** Replies the minimal y coordinate of the node.
+	 *
+	 * @return the minimal y.
+	 */
+	@Pure
+	public double getMinY() {
+		return this.minY;
+	}
+
+	/** Replies the maximal x coordinate of the node.
+	 *
+	 * @return the maximal x.
+	 */
+	@Pure
+	public double getMaxX() {
+		return this.maxX;
+	}
+
+	/** Replies the maximal y coordinate of the node.
+	 *
+	 * @return the maximal y.
+	 */
+	@Pure
+	public double getMaxY() {
+		return this.maxY;
+	}
+
+	/** Replies the x coordinate of the vertical split line of the node.
+	 *
+	 * @return the x coordinate of the center.
+	 */
+	@Pure
+	public double getCenterX() {
+		return this.centerX;
+	}
+
+	/** Replies the y coordinate of the horizontal split line of the node.
+	 *
+	 * @return the y coordinate of the center.
+	 */
+	@Pure
+	public double getCenterY() {
+		return this.centerY;
+	}
+
+	/** Replies if this node is the icosep child of its parent.
+	 *
+	 * @return {@code true} if this node contains the objects that are intersecting the split lines of its parent.
+	 */
+	@Pure
+	public boolean isIcosep() {
+		return this.icosep;
+	}
+
+	/** Replies the number of objects in the subtree of this node.
+	 *
+	 * @return the number of objects.
+	 */
+	@Pure
+	public int getObjectCount() {
+		return this.size;
+	}
+
+	/** Replies the number of entries that are stored in this node.
+	 *
+	 * @return the number of entries.
+	 */
+	int getEntryCount() {
+		final List<Entry<D>> entries = getInternalDataStructureForUserData();
+		return entries == null ? 0 : entries.size();
+	}
+
+	/** Replies the entry at the given index in this node.
+	 *
+	 * @param index the index.
+	 * @return the entry.
+	 */
+	Entry<D> getEntryAt(int index) {
+		return getInternalDataStructureForUserData().get(index);
+	}
+
+	/** Add the given entry into this node.
+	 *
+	 * <p>The user data are changed without firing data events, except when the data list was released through
+	 * the user data API.
+	 *
+	 * @param entry the entry.
+	 */
+	void addEntry(Entry<D> entry) {
+		final List<Entry<D>> entries = getInternalDataStructureForUserData();
+		if (entries == null) {
+			addUserData(entry);
+			entry.index = 0;
+		} else {
+			entry.index = entries.size();
+			entries.add(entry);
+		}
+		entry.node = this;
+	}
+
+	/** Remove the given entry from this node.
+	 *
+	 * <p>The last entry of the node takes the place of the removed entry.
+	 * The user data are changed without firing data events.
+	 *
+	 * @param entry the entry.
+	 */
+	void removeEntry(Entry<D> entry) {
+		final List<Entry<D>> entries = getInternalDataStructureForUserData();
+		final Entry<D> last = entries.remove(entries.size() - 1);
+		if (last != entry) {
+			entries.set(entry.index, last);
+			last.index = entry.index;
+		}
+		entry.node = null;
+	}
+
+	/** Remove all the entries from this node without firing data events.
+	 */
+	void clearEntries() {
+		final List<Entry<D>> entries = getInternalDataStructureForUserData();
+		if (entries != null) {
+			entries.clear();
+		}
+	}
+
+	/** Replies if the node has quadrant children.
+	 *
+	 * @return {@code true} if the node is split.
+	 */
+	boolean isSplit() {
+		return getChildAt(0) != null;
+	}
+
+	/** Replies if the bounds of the node intersect the given rectangle.
+	 *
+	 * @param x1 the minimal x coordinate of the rectangle.
+	 * @param y1 the minimal y coordinate of the rectangle.
+	 * @param x2 the maximal x coordinate of the rectangle.
+	 * @param y2 the maximal y coordinate of the rectangle.
+	 * @return {@code true} if the node intersects the rectangle.
+	 */
+	boolean intersects(double x1, double y1, double x2, double y2) {
+		return x1 <= this.maxX && x2 >= this.minX && y1 <= this.maxY && y2 >= this.minY;
+	}
+
+	/** Replies if the bounds of the node contain the bounds of the given entry.
+	 *
+	 * @param entry the entry.
+	 * @return {@code true} if the node contains the entry.
+	 */
+	boolean contains(Entry<D> entry) {
+		return entry.minX >= this.minX && entry.maxX <= this.maxX && entry.minY >= this.minY && entry.maxY <= this.maxY;
+	}
+
+	/** Replies the squared distance between the bounds of the node and the given point.
+	 *
+	 * @param x the x coordinate of the point.
+	 * @param y the y coordinate of the point.
+	 * @return the squared distance.
+	 */
+	double getDistanceSquared(double x, double y) {
+		final double dx = Math.max(Math.max(this.minX - x, x - this.maxX), 0.);
+		final double dy = Math.max(Math.max(this.minY - y, y - this.maxY), 0.);
+		return dx * dx + dy * dy;
+	}
+
+	/** Replies the first child of this node in the order of the zones.
+	 *
+	 * @return the first child, or {@code null} if the node has no child.
+	 */
+	SpatialQuadTreeNode<D> getFirstNotNullChild() {
+		return getNotNullChildFrom(0);
+	}
+
+	/** Replies the next sibling of this node in the order of the zones.
+	 *
+	 * @return the next sibling, or {@code null} if this node is the last child of its parent or the root.
+	 */
+	SpatialQuadTreeNode<D> getNextNotNullSibling() {
+		final SpatialQuadTreeNode<D> parent = getParentNode();
+		if (parent == null) {
+			return null;
+		}
+		return parent.getNotNullChildFrom(parent.indexOf(this) + 1);
+	}
+
+	private SpatialQuadTreeNode<D> getNotNullChildFrom(int index) {
+		final int count = getChildCount();
+		for (int i = index; i < count; ++i) {
+			final SpatialQuadTreeNode<D> child = getChildAt(i);
+			if (child != null) {
+				return child;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Object that is stored in a {@link SpatialQuadTree} with its bounds.
+	 *
+	 * @param <D> is the type of the object.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 13.0
+	 */
+	public static final class Entry<D> implements Serializable {
+
+		private static final long serialVersionUID = -2618843795167839120L;
+
+		/** The object.
+		 */
+		final D data;
+
+		/** Minimal x coordinate of the object.
+		 */
+		double minX;
+
+		/** Minimal y coordinate of the object.
+		 */
+		double minY;
+
+		/** Maximal x coordinate of the object.
+		 */
+		double maxX;
+
+		/** Maximal y coordinate of the object.
+		 */
+		double maxY;
+
+		/** The node that contains the entry.
+		 */
+		SpatialQuadTreeNode<D> node;
+
+		/** Index of the entry in the user data of the node.
+		 */
+		int index;
+
+		/** Constructor.
+		 *
+		 * @param data the object.
+		 */
+		Entry(D data) {
+			this.data = data;
+		}
+
+		/** Change the bounds of the object.
+		 *
+		 * @param x1 the minimal x coordinate of the object.
+		 * @param y1 the minimal y coordinate of the object.
+		 * @param x2 the maximal x coordinate of the object.
+		 * @param y2 the maximal y coordinate of the object.
+		 */
+		void set(double x1, double y1, double x2, double y2) {
+			this.minX = x1;
+			this.minY = y1;
+			this.maxX = x2;
+			this.maxY = y2;
+		}
+
+		/** Replies the object.
+		 *
+		 * @return the object.
+		 */
+		@Pure
+		public D getData() {
+			return this.data;
+		}
+
+		/** Replies the minimal x coordinate of the object.
+		 *
+		 * @return the minimal x.
+		 */
+		@Pure
+		public double getMinX() {
+			return this.minX;
+		}
+
+		/** Replies the minimal y coordinate of the object.
+		 *
+		 * @return the minimal y.
+		 */
+		@Pure
+		public double getMinY() {
+			return this.minY;
+		}
+
+		/** Replies the maximal x coordinate of the object.
+		 *
+		 * @return the maximal x.
+		 */
+		@Pure
+		public double getMaxX() {
+			return this.maxX;
+		}
+
+		/** Replies the maximal y coordinate of the object.
+		 *
+		 * @return the maximal y.
+		 */
+		@Pure
+		public double getMaxY() {
+			return this.maxY;
+		}
+
+		/** Replies if the bounds of the object intersect the given rectangle.
+		 *
+		 * @param x1 the minimal x coordinate of the rectangle.
+		 * @param y1 the minimal y coordinate of the rectangle.
+		 * @param x2 the maximal x coordinate of the rectangle.
+		 * @param y2 the maximal y coordinate of the rectangle.
+		 * @return {@code true} if the object intersects the rectangle.
+		 */
+		boolean intersects(double x1, double y1, double x2, double y2) {
+			return x1 <= this.maxX && x2 >= this.minX && y1 <= this.maxY && y2 >= this.minY;
+		}
+
+		/** Replies the squared distance between the bounds of the object and the given point.
+		 *
+		 * @param x the x coordinate of the point.
+		 * @param y the y coordinate of the point.
+		 * @return the squared distance.
+		 */
+		double getDistanceSquared(double x, double y) {
+			final double dx = Math.max(Math.max(this.minX - x, x - this.maxX), 0.);
+			final double dy = Math.max(Math.max(this.minY - y, y - this.maxY), 0.);
+			return dx * dx + dy * dy;
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.data);
+		}
+
+	}
+
+}
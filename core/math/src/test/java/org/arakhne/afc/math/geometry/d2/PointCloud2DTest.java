@@ -0,0 +1,238 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.geometry.d2.d.Circle2d;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.arakhne.afc.math.geometry.d2.d.Vector2d;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class PointCloud2DTest extends AbstractMathTestCase {
+
+	private static final int POINT_COUNT = 100;
+
+	private Random random;
+
+	private PointCloud2D cloud;
+
+	@Before
+	public void setUp() {
+		this.random = new Random(2345);
+		this.cloud = new PointCloud2D(4);
+		for (int i = 0; i < POINT_COUNT; ++i) {
+			this.cloud.add(this.random.nextDouble() * 100 - 50, this.random.nextDouble() * 100 - 50);
+		}
+	}
+
+	@Test
+	public void addDoubleDouble() {
+		assertEquals(POINT_COUNT, this.cloud.size());
+		assertEquals(POINT_COUNT, this.cloud.add(1, 2));
+		assertEquals(POINT_COUNT + 1, this.cloud.size());
+		assertEpsilonEquals(1, this.cloud.getX(POINT_COUNT));
+		assertEpsilonEquals(2, this.cloud.getY(POINT_COUNT));
+	}
+
+	@Test
+	public void addTuple2D() {
+		assertEquals(POINT_COUNT, this.cloud.add(new Point2d(3, 4)));
+		assertEpsilonEquals(3, this.cloud.getX(POINT_COUNT));
+		assertEpsilonEquals(4, this.cloud.getY(POINT_COUNT));
+	}
+
+	@Test
+	public void constructorArrays() {
+		final double[] xs = {1, 2, 3};
+		final double[] ys = {4, 5, 6};
+		final PointCloud2D cloud = new PointCloud2D(xs, ys);
+		xs[0] = 10;
+		assertEquals(3, cloud.size());
+		assertEpsilonEquals(1, cloud.getX(0));
+		assertEpsilonEquals(6, cloud.getY(2));
+	}
+
+	@Test
+	public void clear() {
+		assertFalse(this.cloud.isEmpty());
+		this.cloud.clear();
+		assertTrue(this.cloud.isEmpty());
+		assertEquals(0, this.cloud.size());
+	}
+
+	@Test
+	public void set() {
+		this.cloud.set(5, 7, 8);
+		assertEpsilonEquals(7, this.cloud.getX(5));
+		assertEpsilonEquals(8, this.cloud.getY(5));
+	}
+
+	@Test
+	public void translateDoubleDouble() {
+		final double x = this.cloud.getX(10);
+		final double y = this.cloud.getY(10);
+		this.cloud.translate(3, -4);
+		assertEpsilonEquals(x + 3, this.cloud.getX(10));
+		assertEpsilonEquals(y - 4, this.cloud.getY(10));
+	}
+
+	@Test
+	public void translateVector2D() {
+		final double x = this.cloud.getX(10);
+		final double y = this.cloud.getY(10);
+		this.cloud.translate(new Vector2d(3, -4));
+		assertEpsilonEquals(x + 3, this.cloud.getX(10));
+		assertEpsilonEquals(y - 4, this.cloud.getY(10));
+	}
+
+	@Test
+	public void transformTransform2D() {
+		final Transform2D transform = new Transform2D();
+		transform.makeRotationMatrix(.5);
+		transform.setTranslation(3, 4);
+		final PointCloud2D expected = new PointCloud2D();
+		for (int i = 0; i < this.cloud.size(); ++i) {
+			final Point2d point = new Point2d(this.cloud.getX(i), this.cloud.getY(i));
+			transform.transform(point);
+			expected.add(point);
+		}
+		this.cloud.transform(transform);
+		for (int i = 0; i < this.cloud.size(); ++i) {
+			assertEpsilonEquals(expected.getX(i), this.cloud.getX(i));
+			assertEpsilonEquals(expected.getY(i), this.cloud.getY(i));
+		}
+	}
+
+	@Test
+	public void transformTransform2DPointCloud2D() {
+		final Transform2D transform = new Transform2D();
+		transform.setTranslation(3, 4);
+		final PointCloud2D result = new PointCloud2D();
+		result.add(1000, 1000);
+		this.cloud.transform(transform, result);
+		assertEquals(this.cloud.size(), result.size());
+		for (int i = 0; i < this.cloud.size(); ++i) {
+			assertEpsilonEquals(this.cloud.getX(i) + 3, result.getX(i));
+			assertEpsilonEquals(this.cloud.getY(i) + 4, result.getY(i));
+		}
+	}
+
+	@Test
+	public void toBoundingBox() {
+		final double[] bounds = new double[4];
+		assertTrue(this.cloud.toBoundingBox(bounds));
+		final Rectangle2d box = new Rectangle2d(this.cloud.getX(0), this.cloud.getY(0), 0, 0);
+		for (int i = 1; i < this.cloud.size(); ++i) {
+			box.add(this.cloud.getX(i), this.cloud.getY(i));
+		}
+		assertEpsilonEquals(box.getMinX(), bounds[0]);
+		assertEpsilonEquals(box.getMinY(), bounds[1]);
+		assertEpsilonEquals(box.getMaxX(), bounds[2]);
+		assertEpsilonEquals(box.getMaxY(), bounds[3]);
+		assertFalse(new PointCloud2D().toBoundingBox(bounds));
+	}
+
+	@Test
+	public void getCentroid() {
+		double sx = 0;
+		double sy = 0;
+		for (int i = 0; i < this.cloud.size(); ++i) {
+			sx += this.cloud.getX(i);
+			sy += this.cloud.getY(i);
+		}
+		final Point2d centroid = new Point2d();
+		assertTrue(this.cloud.getCentroid(centroid));
+		assertEpsilonEquals(sx / this.cloud.size(), centroid.getX());
+		assertEpsilonEquals(sy / this.cloud.size(), centroid.getY());
+		assertFalse(new PointCloud2D().getCentroid(centroid));
+	}
+
+	@Test
+	public void findNearestDoubleDouble() {
+		for (int k = 0; k < 20; ++k) {
+			final double x = this.random.nextDouble() * 100 - 50;
+			final double y = this.random.nextDouble() * 100 - 50;
+			int expected = -1;
+			double min = Double.POSITIVE_INFINITY;
+			for (int i = 0; i < this.cloud.size(); ++i) {
+				final double d = Point2D.getDistancePointPoint(x, y, this.cloud.getX(i), this.cloud.getY(i));
+				if (d < min) {
+					min = d;
+					expected = i;
+				}
+			}
+			assertEquals(expected, this.cloud.findNearest(x, y));
+			assertEquals(expected, this.cloud.findNearest(new Point2d(x, y)));
+		}
+		assertEquals(-1, new PointCloud2D().findNearest(0, 0));
+	}
+
+	@Test
+	public void getDistancesDoubleDoubleDoubleArray() {
+		final double[] distances = new double[this.cloud.size()];
+		this.cloud.getDistances(5, 6, distances);
+		for (int i = 0; i < this.cloud.size(); ++i) {
+			assertEpsilonEquals(Point2D.getDistancePointPoint(5, 6, this.cloud.getX(i), this.cloud.getY(i)), distances[i]);
+		}
+	}
+
+	@Test
+	public void getDistancesShape2DDoubleArray() {
+		final Circle2d circle = new Circle2d(5, 6, 10);
+		final double[] distances = new double[this.cloud.size()];
+		this.cloud.getDistances(circle, distances);
+		for (int i = 0; i < this.cloud.size(); ++i) {
+			assertEpsilonEquals(circle.getDistance(new Point2d(this.cloud.getX(i), this.cloud.getY(i))), distances[i]);
+		}
+	}
+
+	@Test
+	public void getPoint() {
+		final PointCloud2D.PointView view = this.cloud.getPoint(3);
+		assertEquals(3, view.getIndex());
+		assertEpsilonEquals(this.cloud.getX(3), view.getX());
+		assertEpsilonEquals(this.cloud.getY(3), view.getY());
+		view.set(12, 13);
+		assertEpsilonEquals(12, this.cloud.getX(3));
+		assertEpsilonEquals(13, this.cloud.getY(3));
+		view.setIndex(4);
+		assertEpsilonEquals(this.cloud.getX(4), view.getX());
+		assertEpsilonEquals(Point2D.getDistancePointPoint(12, 13, view.getX(), view.getY()),
+				view.getDistance(new Point2d(12, 13)));
+		final ImmutablePoint2D copy = view.clone();
+		assertNotSame(view, copy);
+		assertEquals(copy, view);
+		final ImmutablePoint2D sum = view.operator_plus(new Vector2d(1, 1));
+		assertEpsilonEquals(view.getX() + 1, sum.getX());
+		assertTrue(new Rectangle2d(-100, -100, 200, 200).contains(view));
+	}
+
+}
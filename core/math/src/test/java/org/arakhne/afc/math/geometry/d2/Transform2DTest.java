@@ -723,4 +723,87 @@ public class Transform2DTest extends AbstractMathTestCase {
 				0.1, this.transform.getRotation());
 	}
 
+	@Test
+	public void transformDoubleArrayIntDoubleArrayIntInt() {
+		double[] src = new double[] {0, 0, 1, 2, -3, 4, 5.5, -6.5};
+		double[] dst = new double[12];
+		this.transform.transform(src, 2, dst, 3, 3);
+		for (int i = 0; i < 3; ++i) {
+			Point2d expected = new Point2d(src[2 + 2 * i], src[3 + 2 * i]);
+			this.transform.transform(expected);
+			assertEpsilonEquals(expected.getX(), dst[3 + 2 * i]);
+			assertEpsilonEquals(expected.getY(), dst[4 + 2 * i]);
+		}
+		assertEpsilonEquals(0, dst[0]);
+		assertEpsilonEquals(0, dst[9]);
+	}
+
+	@Test
+	public void transformDoubleArrayIntDoubleArrayIntInt_translation() {
+		this.transform.makeTranslationMatrix(3, -2);
+		double[] src = new double[] {1, 2, -3, 4};
+		double[] dst = new double[4];
+		this.transform.transform(src, 0, dst, 0, 2);
+		assertEpsilonEquals(4, dst[0]);
+		assertEpsilonEquals(0, dst[1]);
+		assertEpsilonEquals(0, dst[2]);
+		assertEpsilonEquals(2, dst[3]);
+	}
+
+	@Test
+	public void transformDoubleArrayIntDoubleArrayIntInt_overlap() {
+		double[] src = new double[] {1, 2, -3, 4, 5, 6, 0, 0};
+		double[] expected = new double[8];
+		this.transform.transform(src.clone(), 0, expected, 2, 3);
+		this.transform.transform(src, 0, src, 2, 3);
+		for (int i = 2; i < 8; ++i) {
+			assertEpsilonEquals(expected[i], src[i]);
+		}
+		assertEpsilonEquals(1, src[0]);
+		assertEpsilonEquals(2, src[1]);
+	}
+
+	@Test
+	public void transformFloatArrayIntFloatArrayIntInt() {
+		float[] src = new float[] {1, 2, -3, 4, 5.5f, -6.5f};
+		float[] dst = new float[6];
+		this.transform.transform(src, 0, dst, 0, 3);
+		for (int i = 0; i < 3; ++i) {
+			Point2d expected = new Point2d(src[2 * i], src[2 * i + 1]);
+			this.transform.transform(expected);
+			assertEpsilonEquals(expected.getX(), dst[2 * i]);
+			assertEpsilonEquals(expected.getY(), dst[2 * i + 1]);
+		}
+	}
+
+	@Test
+	public void parallelTransformDoubleArrayIntDoubleArrayIntInt() {
+		int count = 100000;
+		double[] src = new double[2 * count];
+		for (int i = 0; i < src.length; ++i) {
+			src[i] = getRandom().nextDouble() * 100;
+		}
+		double[] expected = new double[2 * count];
+		this.transform.transform(src, 0, expected, 0, count);
+		double[] dst = new double[2 * count];
+		this.transform.parallelTransform(src, 0, dst, 0, count);
+		assertArrayEquals(expected, dst, 0);
+		this.transform.parallelTransform(src, 0, src, 0, count);
+		assertArrayEquals(expected, src, 0);
+	}
+
+	@Test
+	public void parallelTransformFloatArrayIntFloatArrayIntInt() {
+		int count = 100000;
+		float[] src = new float[2 * count];
+		for (int i = 0; i < src.length; ++i) {
+			src[i] = getRandom().nextFloat() * 100;
+		}
+		float[] expected = new float[2 * count];
+		this.transform.transform(src, 0, expected, 0, count);
+		float[] dst = new float[2 * count];
+		this.transform.parallelTransform(src, 0, dst, 0, count);
+		assertArrayEquals(expected, dst, 0);
+	}
+
 }
\ No newline at end of file
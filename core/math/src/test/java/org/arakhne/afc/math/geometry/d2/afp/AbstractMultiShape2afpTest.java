@@ -33,6 +33,7 @@ import org.arakhne.afc.math.geometry.PathElementType;
 import org.arakhne.afc.math.geometry.d2.MultiShape2D;
 import org.arakhne.afc.math.geometry.d2.Point2D;
 import org.arakhne.afc.math.geometry.d2.Shape2D;
+import org.arakhne.afc.math.geometry.d2.ShapeKind2D;
 import org.arakhne.afc.math.geometry.d2.Transform2D;
 import org.arakhne.afc.math.geometry.d2.Vector2D;
 import org.arakhne.afc.math.geometry.d2.ai.PathIterator2ai;
@@ -1280,4 +1281,9 @@ public abstract class AbstractMultiShape2afpTest<T extends MultiShape2afp<?, T,
 		assertEpsilonEquals(0, this.shape.getDistanceSquared(createTestMultiShape(-10, 20)));
 	}
 
+	@Test
+	public void getShapeKind() {
+		assertSame(ShapeKind2D.MULTISHAPE, this.shape.getShapeKind());
+	}
+
 }
\ No newline at end of file
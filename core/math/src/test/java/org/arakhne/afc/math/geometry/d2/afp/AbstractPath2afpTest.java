@@ -23,6 +23,7 @@ package org.arakhne.afc.math.geometry.d2.afp;
 import static org.arakhne.afc.math.MathConstants.SHAPE_INTERSECTS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Collection;
@@ -38,6 +39,7 @@ import org.arakhne.afc.math.geometry.PathWindingRule;
 import org.arakhne.afc.math.geometry.d2.Path2D.ArcType;
 import org.arakhne.afc.math.geometry.d2.Point2D;
 import org.arakhne.afc.math.geometry.d2.Shape2D;
+import org.arakhne.afc.math.geometry.d2.ShapeKind2D;
 import org.arakhne.afc.math.geometry.d2.Transform2D;
 import org.arakhne.afc.math.geometry.d2.Vector2D;
 import org.arakhne.afc.math.geometry.d2.ai.PathIterator2ai;
@@ -3104,4 +3106,9 @@ extends AbstractShape2afpTest<T, B> {
 		assertFpPointEquals(154, 485, this.shape.getCurrentPoint());
 	}
 
+	@Test
+	public void getShapeKind() {
+		assertSame(ShapeKind2D.PATH, this.shape.getShapeKind());
+	}
+
 }
\ No newline at end of file
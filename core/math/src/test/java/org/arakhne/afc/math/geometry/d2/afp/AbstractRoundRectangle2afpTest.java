@@ -21,6 +21,7 @@
 package org.arakhne.afc.math.geometry.d2.afp;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.text.DecimalFormat;
@@ -33,6 +34,7 @@ import org.junit.Test;
 import org.arakhne.afc.math.geometry.PathElementType;
 import org.arakhne.afc.math.geometry.d2.Point2D;
 import org.arakhne.afc.math.geometry.d2.Shape2D;
+import org.arakhne.afc.math.geometry.d2.ShapeKind2D;
 import org.arakhne.afc.math.geometry.d2.Transform2D;
 import org.arakhne.afc.math.geometry.d2.Vector2D;
 import org.arakhne.afc.math.geometry.d2.ai.PathIterator2ai;
@@ -1350,4 +1352,9 @@ B extends Rectangle2afp<?, ?, ?, ?, ?, B>> extends AbstractRectangularShape2afpT
         assertEpsilonEquals(0, this.shape.getDistanceSquared(createTestOrientedRectangle(7, 9)));
     }
 
+    @Test
+    public void getShapeKind() {
+        assertSame(ShapeKind2D.ROUND_RECTANGLE, this.shape.getShapeKind());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,221 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.geometry.d2.d.Path2d;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class AnalyticFlatteningPathVisitor2afpTest extends AbstractMathTestCase {
+
+	private static final int CURVE_COUNT = 200;
+
+	private static final int SAMPLE_COUNT = 200;
+
+	private static final double TOLERANCE = .01;
+
+	private Random random;
+
+	@Before
+	public void setUp() {
+		this.random = new Random(9876);
+	}
+
+	private double coord() {
+		return this.random.nextDouble() * 20 - 10;
+	}
+
+	private static final class PathBuilder implements PathVisitor2afp {
+
+		private final Path2d path;
+
+		PathBuilder(Path2d path) {
+			this.path = path;
+		}
+
+		@Override
+		public void moveTo(double x, double y) {
+			this.path.moveTo(x, y);
+		}
+
+		@Override
+		public void lineTo(double x, double y) {
+			this.path.lineTo(x, y);
+		}
+
+		@Override
+		public void quadTo(double ctrlx, double ctrly, double x, double y) {
+			this.path.quadTo(ctrlx, ctrly, x, y);
+		}
+
+		@Override
+		public void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double x, double y) {
+			this.path.curveTo(ctrlx1, ctrly1, ctrlx2, ctrly2, x, y);
+		}
+
+		@Override
+		public void closePath() {
+			this.path.closePath();
+		}
+
+	}
+
+	private static Path2d flatten(Path2d path, double tolerance, int limit) {
+		final Path2d result = new Path2d();
+		path.visit(new AnalyticFlatteningPathVisitor2afp(new PathBuilder(result), tolerance, limit));
+		return result;
+	}
+
+	private static double distanceToPolyline(Path2d polyline, double x, double y) {
+		double min = Double.POSITIVE_INFINITY;
+		for (int i = 2; i < polyline.size() * 2; i += 2) {
+			min = Math.min(min, Segment2afp.calculatesDistanceSegmentPoint(
+					polyline.getCoordAt(i - 2), polyline.getCoordAt(i - 1),
+					polyline.getCoordAt(i), polyline.getCoordAt(i + 1), x, y));
+		}
+		return min;
+	}
+
+	@Test
+	public void linesAreForwarded() {
+		final Path2d path = new Path2d();
+		path.moveTo(1, 2);
+		path.lineTo(3, 4);
+		path.lineTo(5, -6);
+		path.closePath();
+		path.moveTo(7, 8);
+		path.lineTo(9, 10);
+		final Path2d result = flatten(path, TOLERANCE, Path2afp.DEFAULT_FLATTENING_LIMIT);
+		assertTrue(path.equalsToPathIterator(result.getPathIterator()));
+	}
+
+	@Test
+	public void quadTo_tolerance() {
+		for (int i = 0; i < CURVE_COUNT; ++i) {
+			final double x0 = coord();
+			final double y0 = coord();
+			final double x1 = coord();
+			final double y1 = coord();
+			final double x2 = coord();
+			final double y2 = coord();
+			final Path2d path = new Path2d();
+			path.moveTo(x0, y0);
+			path.quadTo(x1, y1, x2, y2);
+			final Path2d result = flatten(path, TOLERANCE, Path2afp.DEFAULT_FLATTENING_LIMIT);
+			assertEpsilonEquals(x2, result.getCurrentX());
+			assertEpsilonEquals(y2, result.getCurrentY());
+			for (int j = 0; j <= SAMPLE_COUNT; ++j) {
+				final double t = (double) j / SAMPLE_COUNT;
+				final double mt = 1 - t;
+				final double x = mt * mt * x0 + 2 * t * mt * x1 + t * t * x2;
+				final double y = mt * mt * y0 + 2 * t * mt * y1 + t * t * y2;
+				assertTrue(distanceToPolyline(result, x, y) <= TOLERANCE * 1.05);
+			}
+		}
+	}
+
+	@Test
+	public void curveTo_tolerance() {
+		for (int i = 0; i < CURVE_COUNT; ++i) {
+			final double x0 = coord();
+			final double y0 = coord();
+			final double x1 = coord();
+			final double y1 = coord();
+			final double x2 = coord();
+			final double y2 = coord();
+			final double x3 = coord();
+			final double y3 = coord();
+			final Path2d path = new Path2d();
+			path.moveTo(x0, y0);
+			path.curveTo(x1, y1, x2, y2, x3, y3);
+			final Path2d result = flatten(path, TOLERANCE, Path2afp.DEFAULT_FLATTENING_LIMIT);
+			assertEpsilonEquals(x3, result.getCurrentX());
+			assertEpsilonEquals(y3, result.getCurrentY());
+			for (int j = 0; j <= SAMPLE_COUNT; ++j) {
+				final double t = (double) j / SAMPLE_COUNT;
+				final double mt = 1 - t;
+				final double x = mt * mt * mt * x0 + 3 * t * mt * mt * x1 + 3 * t * t * mt * x2 + t * t * t * x3;
+				final double y = mt * mt * mt * y0 + 3 * t * mt * mt * y1 + 3 * t * t * mt * y2 + t * t * t * y3;
+				assertTrue(distanceToPolyline(result, x, y) <= TOLERANCE * 1.05);
+			}
+		}
+	}
+
+	@Test
+	public void fewerPointsThanRecursiveFlattening() {
+		int analytic = 0;
+		int recursive = 0;
+		for (int i = 0; i < CURVE_COUNT; ++i) {
+			final Path2d path = new Path2d();
+			path.moveTo(coord(), coord());
+			path.quadTo(coord(), coord(), coord(), coord());
+			path.curveTo(coord(), coord(), coord(), coord(), coord(), coord());
+			analytic += flatten(path, TOLERANCE, Path2afp.DEFAULT_FLATTENING_LIMIT).size();
+			final Path2d flattened = new Path2d();
+			path.visit(new FlatteningPathVisitor2afp(new PathBuilder(flattened), TOLERANCE,
+					Path2afp.DEFAULT_FLATTENING_LIMIT));
+			recursive += flattened.size();
+		}
+		assertTrue(analytic < recursive);
+	}
+
+	@Test
+	public void straightQuadWithTurningPoint() {
+		final Path2d path = new Path2d();
+		path.moveTo(0, 0);
+		path.quadTo(10, 0, 5, 0);
+		final Path2d result = flatten(path, TOLERANCE, Path2afp.DEFAULT_FLATTENING_LIMIT);
+		assertEquals(3, result.size());
+		assertEpsilonEquals(20. / 3., result.getCoordAt(2));
+		assertEpsilonEquals(0, result.getCoordAt(3));
+		assertEpsilonEquals(5, result.getCurrentX());
+	}
+
+	@Test
+	public void straightCurveWithTurningPoints() {
+		final Path2d path = new Path2d();
+		path.moveTo(0, 0);
+		path.curveTo(10, 0, -5, 0, 5, 0);
+		final Path2d result = flatten(path, TOLERANCE, Path2afp.DEFAULT_FLATTENING_LIMIT);
+		final Rectangle2afp<?, ?, ?, ?, ?, ?> box = result.toBoundingBox();
+		final Rectangle2afp<?, ?, ?, ?, ?, ?> expected = path.toBoundingBox();
+		assertEquals(expected.getMinX(), box.getMinX(), TOLERANCE);
+		assertEquals(expected.getMaxX(), box.getMaxX(), TOLERANCE);
+		assertEpsilonEquals(5, result.getCurrentX());
+	}
+
+	@Test
+	public void limit() {
+		final Path2d path = new Path2d();
+		path.moveTo(0, 0);
+		path.curveTo(1000, 0, 1000, 1000, 0, 1000);
+		final Path2d result = flatten(path, 1e-9, 3);
+		assertEquals(9, result.size());
+	}
+
+}
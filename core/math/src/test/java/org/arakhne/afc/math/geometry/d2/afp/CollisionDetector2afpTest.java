@@ -0,0 +1,213 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.geometry.d2.Shape2D;
+import org.arakhne.afc.math.geometry.d2.d.Circle2d;
+import org.arakhne.afc.math.geometry.d2.d.Ellipse2d;
+import org.arakhne.afc.math.geometry.d2.d.OrientedRectangle2d;
+import org.arakhne.afc.math.geometry.d2.d.Path2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.arakhne.afc.math.geometry.d2.d.RoundRectangle2d;
+import org.arakhne.afc.math.geometry.d2.d.Segment2d;
+import org.arakhne.afc.math.geometry.d2.d.Shape2d;
+import org.arakhne.afc.math.geometry.d2.d.Triangle2d;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class CollisionDetector2afpTest extends AbstractMathTestCase {
+
+	private static final int SHAPE_COUNT = 300;
+
+	private static final double SIZE = 200;
+
+	private Random random;
+
+	private CollisionDetector2afp<Shape2d<?>> detector;
+
+	private List<Integer> ids;
+
+	@Before
+	public void setUp() {
+		this.random = new Random(6789);
+		this.detector = new CollisionDetector2afp<>();
+		this.ids = new ArrayList<>();
+	}
+
+	private double coord() {
+		return this.random.nextDouble() * SIZE;
+	}
+
+	private double size() {
+		return this.random.nextDouble() * 10 + 1;
+	}
+
+	private Shape2d<?> newShape() {
+		final double x = coord();
+		final double y = coord();
+		switch (this.random.nextInt(8)) {
+		case 0:
+			return new Circle2d(x, y, size());
+		case 1:
+			return new Ellipse2d(x, y, size(), size());
+		case 2:
+			return new Rectangle2d(x, y, size(), size());
+		case 3:
+			final double angle = this.random.nextDouble() * Math.PI;
+			return new OrientedRectangle2d(x, y, Math.cos(angle), Math.sin(angle), size(), size());
+		case 4:
+			return new RoundRectangle2d(x, y, size() + 2, size() + 2, 1, 1);
+		case 5:
+			return new Segment2d(x, y, x + size(), y + size() - 6);
+		case 6:
+			return new Triangle2d(x, y, x + size(), y, x, y + size());
+		default:
+			final Path2d path = new Path2d();
+			path.moveTo(x, y);
+			path.lineTo(x + size(), y + size());
+			path.quadTo(x + size(), y, x + size() - 5, y - size());
+			return path;
+		}
+	}
+
+	private void fill() {
+		for (int i = 0; i < SHAPE_COUNT; ++i) {
+			this.ids.add(this.detector.add(newShape()));
+		}
+	}
+
+	private Set<Long> bruteForce() {
+		final Set<Long> pairs = new HashSet<>();
+		for (final int id1 : this.ids) {
+			for (final int id2 : this.ids) {
+				if (id1 < id2 && this.detector.getShape(id1).intersects((Shape2D<?, ?, ?, ?, ?, ?>) this.detector.getShape(id2))) {
+					pairs.add(((long) id1 << 32) | id2);
+				}
+			}
+		}
+		return pairs;
+	}
+
+	private Set<Long> collisions() {
+		final Set<Long> pairs = new HashSet<>();
+		final int count = this.detector.findCollisions((id1, id2) -> {
+			assertTrue(id1 < id2);
+			assertTrue(pairs.add(((long) id1 << 32) | id2));
+		});
+		assertEquals(pairs.size(), count);
+		return pairs;
+	}
+
+	@Test
+	public void add() {
+		final Circle2d circle = new Circle2d(1, 1, 1);
+		assertTrue(this.detector.isEmpty());
+		assertEquals(0, this.detector.add(circle));
+		assertEquals(1, this.detector.add(new Rectangle2d(0, 0, 3, 3)));
+		assertEquals(2, this.detector.size());
+		assertTrue(this.detector.contains(0));
+		assertFalse(this.detector.contains(2));
+		assertSame(circle, this.detector.getShape(0));
+	}
+
+	@Test
+	public void findCollisions() {
+		fill();
+		final Set<Long> expected = bruteForce();
+		assertFalse(expected.isEmpty());
+		assertEquals(expected, collisions());
+	}
+
+	@Test
+	public void findCandidatePairs() {
+		fill();
+		final Set<Long> candidates = new HashSet<>();
+		this.detector.findCandidatePairs((id1, id2) -> candidates.add(((long) id1 << 32) | id2));
+		for (final long pair : collisions()) {
+			assertTrue(candidates.contains(pair));
+		}
+		for (final long pair : candidates) {
+			final Rectangle2afp<?, ?, ?, ?, ?, ?> box1 = this.detector.getShape((int) (pair >>> 32)).toBoundingBox();
+			final Rectangle2afp<?, ?, ?, ?, ?, ?> box2 = this.detector.getShape((int) pair).toBoundingBox();
+			assertTrue(box1.intersects(box2) || box1.getMaxX() == box2.getMinX() || box1.getMaxY() == box2.getMinY()
+					|| box2.getMaxX() == box1.getMinX() || box2.getMaxY() == box1.getMinY());
+		}
+	}
+
+	@Test
+	public void update() {
+		fill();
+		for (int frame = 0; frame < 5; ++frame) {
+			for (final int id : this.ids) {
+				this.detector.getShape(id).translate(this.random.nextDouble() * 6 - 3, this.random.nextDouble() * 6 - 3);
+			}
+			this.detector.updateAll();
+			assertEquals(bruteForce(), collisions());
+		}
+		final int id = this.ids.get(0);
+		this.detector.getShape(id).translate(1000, 1000);
+		assertTrue(this.detector.update(id));
+		assertEquals(bruteForce(), collisions());
+		assertFalse(this.detector.update(SHAPE_COUNT));
+	}
+
+	@Test
+	public void remove() {
+		fill();
+		for (int i = 0; i < SHAPE_COUNT / 2; ++i) {
+			final int id = this.ids.remove(this.random.nextInt(this.ids.size()));
+			assertTrue(this.detector.remove(id));
+			assertFalse(this.detector.remove(id));
+		}
+		assertEquals(bruteForce(), collisions());
+		final int id = this.detector.add(new Circle2d(50, 50, 20));
+		assertTrue(id < SHAPE_COUNT);
+		this.ids.add(id);
+		assertEquals(bruteForce(), collisions());
+		this.detector.clear();
+		this.ids.clear();
+		assertEquals(0, collisions().size());
+	}
+
+	@Test
+	public void findCollisionsParallel() {
+		fill();
+		final Set<Long> pairs = ConcurrentHashMap.newKeySet();
+		final int count = this.detector.findCollisionsParallel((id1, id2) -> assertTrue(pairs.add(((long) id1 << 32) | id2)));
+		assertEquals(bruteForce(), pairs);
+		assertEquals(pairs.size(), count);
+	}
+
+}
@@ -0,0 +1,465 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.MathConstants;
+import org.arakhne.afc.math.geometry.CrossingComputationType;
+import org.arakhne.afc.math.geometry.PathElementType;
+import org.arakhne.afc.math.geometry.PathWindingRule;
+import org.arakhne.afc.math.geometry.d2.d.Path2d;
+import org.arakhne.afc.math.geometry.d2.d.PathElement2d;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class PathVisitor2afpTest extends AbstractMathTestCase {
+
+	private static final int PATH_COUNT = 50;
+
+	private static final int QUERY_COUNT = 20;
+
+	private Random random;
+
+	private List<Path2d> paths;
+
+	@Before
+	public void setUp() {
+		this.random = new Random(4567);
+		this.paths = new ArrayList<>();
+		for (int i = 0; i < PATH_COUNT; ++i) {
+			this.paths.add(createPath(i % 2 == 0 ? PathWindingRule.NON_ZERO : PathWindingRule.EVEN_ODD));
+		}
+	}
+
+	private double coord() {
+		return this.random.nextDouble() * 20 - 10;
+	}
+
+	private Path2d createPath(PathWindingRule rule) {
+		final Path2d path = new Path2d(rule);
+		path.moveTo(coord(), coord());
+		final int count = 2 + this.random.nextInt(10);
+		for (int i = 0; i < count; ++i) {
+			switch (this.random.nextInt(5)) {
+			case 0:
+				path.quadTo(coord(), coord(), coord(), coord());
+				break;
+			case 1:
+				path.curveTo(coord(), coord(), coord(), coord(), coord(), coord());
+				break;
+			case 2:
+				if (i > 0 && i < count - 1) {
+					path.closePath();
+					path.moveTo(coord(), coord());
+				} else {
+					path.lineTo(coord(), coord());
+				}
+				break;
+			default:
+				path.lineTo(coord(), coord());
+				break;
+			}
+		}
+		if (this.random.nextBoolean()) {
+			path.closePath();
+		}
+		return path;
+	}
+
+	@Test
+	public void visit() {
+		for (final Path2d path : this.paths) {
+			final PathIterator2afp<PathElement2d> iterator = path.getPathIterator();
+			path.visit(new PathVisitor2afp() {
+				private PathElement2d next(PathElementType type) {
+					assertTrue(iterator.hasNext());
+					final PathElement2d element = iterator.next();
+					assertEquals(type, element.getType());
+					return element;
+				}
+				@Override
+				public void moveTo(double x, double y) {
+					final PathElement2d element = next(PathElementType.MOVE_TO);
+					assertEpsilonEquals(element.getToX(), x);
+					assertEpsilonEquals(element.getToY(), y);
+				}
+				@Override
+				public void lineTo(double x, double y) {
+					final PathElement2d element = next(PathElementType.LINE_TO);
+					assertEpsilonEquals(element.getToX(), x);
+					assertEpsilonEquals(element.getToY(), y);
+				}
+				@Override
+				public void quadTo(double ctrlx, double ctrly, double x, double y) {
+					final PathElement2d element = next(PathElementType.QUAD_TO);
+					assertEpsilonEquals(element.getCtrlX1(), ctrlx);
+					assertEpsilonEquals(element.getCtrlY1(), ctrly);
+					assertEpsilonEquals(element.getToX(), x);
+					assertEpsilonEquals(element.getToY(), y);
+				}
+				@Override
+				public void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double x, double y) {
+					final PathElement2d element = next(PathElementType.CURVE_TO);
+					assertEpsilonEquals(element.getCtrlX1(), ctrlx1);
+					assertEpsilonEquals(element.getCtrlY1(), ctrly1);
+					assertEpsilonEquals(element.getCtrlX2(), ctrlx2);
+					assertEpsilonEquals(element.getCtrlY2(), ctrly2);
+					assertEpsilonEquals(element.getToX(), x);
+					assertEpsilonEquals(element.getToY(), y);
+				}
+				@Override
+				public void closePath() {
+					next(PathElementType.CLOSE);
+				}
+			});
+			assertFalse(iterator.hasNext());
+		}
+	}
+
+	@Test
+	public void visit_isDone() {
+		final Path2d path = this.paths.get(0);
+		final int[] count = new int[1];
+		path.visit(new PathVisitor2afp() {
+			@Override
+			public void moveTo(double x, double y) {
+				++count[0];
+			}
+			@Override
+			public void lineTo(double x, double y) {
+				++count[0];
+			}
+			@Override
+			public void quadTo(double ctrlx, double ctrly, double x, double y) {
+				++count[0];
+			}
+			@Override
+			public void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double x, double y) {
+				++count[0];
+			}
+			@Override
+			public void closePath() {
+				++count[0];
+			}
+			@Override
+			public boolean isDone() {
+				return count[0] >= 2;
+			}
+		});
+		assertEquals(2, count[0]);
+	}
+
+	@Test
+	public void flatteningPathVisitor() {
+		for (final Path2d path : this.paths) {
+			final PathIterator2afp<PathElement2d> iterator = path.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO);
+			path.visit(new FlatteningPathVisitor2afp(new PathVisitor2afp() {
+				@Override
+				public void moveTo(double x, double y) {
+					final PathElement2d element = iterator.next();
+					assertEquals(PathElementType.MOVE_TO, element.getType());
+					assertEquals(element.getToX(), x, 0.);
+					assertEquals(element.getToY(), y, 0.);
+				}
+				@Override
+				public void lineTo(double x, double y) {
+					final PathElement2d element = iterator.next();
+					assertEquals(PathElementType.LINE_TO, element.getType());
+					assertEquals(element.getToX(), x, 0.);
+					assertEquals(element.getToY(), y, 0.);
+				}
+				@Override
+				public void quadTo(double ctrlx, double ctrly, double x, double y) {
+					throw new IllegalStateException();
+				}
+				@Override
+				public void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double x, double y) {
+					throw new IllegalStateException();
+				}
+				@Override
+				public void closePath() {
+					assertEquals(PathElementType.CLOSE, iterator.next().getType());
+				}
+			}));
+			assertFalse(iterator.hasNext());
+		}
+	}
+
+	@Test
+	public void calculatesCrossingsPathPointShadow() {
+		for (final Path2d path : this.paths) {
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final double x = coord();
+				final double y = coord();
+				for (final CrossingComputationType type : CrossingComputationType.values()) {
+					assertEquals(
+							Path2afp.calculatesCrossingsPathIteratorPointShadow(0, path.getPathIterator(), x, y, type),
+							PathVisitors2afp.calculatesCrossingsPathPointShadow(0, path, x, y, type));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void calculatesCrossingsPathRectangleShadow() {
+		for (final Path2d path : this.paths) {
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final double x = coord();
+				final double y = coord();
+				final double w = this.random.nextDouble() * 5;
+				final double h = this.random.nextDouble() * 5;
+				for (final CrossingComputationType type : CrossingComputationType.values()) {
+					assertEquals(
+							Path2afp.calculatesCrossingsPathIteratorRectangleShadow(0, path.getPathIterator(),
+									x, y, x + w, y + h, type),
+							PathVisitors2afp.calculatesCrossingsPathRectangleShadow(0, path, x, y, x + w, y + h, type));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void calculatesCrossingsPathRoundRectangleShadow() {
+		for (final Path2d path : this.paths) {
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final double x = coord();
+				final double y = coord();
+				final double w = this.random.nextDouble() * 5;
+				final double h = this.random.nextDouble() * 5;
+				for (final CrossingComputationType type : CrossingComputationType.values()) {
+					assertEquals(
+							Path2afp.calculatesCrossingsPathIteratorRoundRectangleShadow(0, path.getPathIterator(),
+									x, y, x + w, y + h, w / 4, h / 4, type),
+							PathVisitors2afp.calculatesCrossingsPathRoundRectangleShadow(0, path,
+									x, y, x + w, y + h, w / 4, h / 4, type));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void calculatesCrossingsPathCircleShadow() {
+		for (final Path2d path : this.paths) {
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final double x = coord();
+				final double y = coord();
+				final double radius = this.random.nextDouble() * 3;
+				for (final CrossingComputationType type : CrossingComputationType.values()) {
+					assertEquals(
+							Path2afp.calculatesCrossingsPathIteratorCircleShadow(0, path.getPathIterator(), x, y, radius, type),
+							PathVisitors2afp.calculatesCrossingsPathCircleShadow(0, path, x, y, radius, type));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void calculatesCrossingsPathEllipseShadow() {
+		for (final Path2d path : this.paths) {
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final double x = coord();
+				final double y = coord();
+				final double w = this.random.nextDouble() * 5;
+				final double h = this.random.nextDouble() * 5;
+				for (final CrossingComputationType type : CrossingComputationType.values()) {
+					assertEquals(
+							Path2afp.calculatesCrossingsPathIteratorEllipseShadow(0, path.getPathIterator(), x, y, w, h, type),
+							PathVisitors2afp.calculatesCrossingsPathEllipseShadow(0, path, x, y, w, h, type));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void calculatesCrossingsPathSegmentShadow() {
+		for (final Path2d path : this.paths) {
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final double x1 = coord();
+				final double y1 = coord();
+				final double x2 = coord();
+				final double y2 = coord();
+				for (final CrossingComputationType type : CrossingComputationType.values()) {
+					assertEquals(
+							Path2afp.calculatesCrossingsPathIteratorSegmentShadow(0, path.getPathIterator(),
+									x1, y1, x2, y2, type),
+							PathVisitors2afp.calculatesCrossingsPathSegmentShadow(0, path, x1, y1, x2, y2, type));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void calculatesCrossingsPathTriangleShadow() {
+		for (final Path2d path : this.paths) {
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final double x1 = coord();
+				final double y1 = coord();
+				final double x2 = coord();
+				final double y2 = coord();
+				final double x3 = coord();
+				final double y3 = coord();
+				for (final CrossingComputationType type : CrossingComputationType.values()) {
+					assertEquals(
+							Path2afp.calculatesCrossingsPathIteratorTriangleShadow(0, path.getPathIterator(),
+									x1, y1, x2, y2, x3, y3, type),
+							PathVisitors2afp.calculatesCrossingsPathTriangleShadow(0, path, x1, y1, x2, y2, x3, y3, type));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void containsPoint() {
+		for (final Path2d path : this.paths) {
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final double x = coord();
+				final double y = coord();
+				assertEquals(
+						Path2afp.containsPoint(path.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO), x, y),
+						PathVisitors2afp.containsPoint(path, x, y));
+			}
+		}
+	}
+
+	@Test
+	public void containsRectangle() {
+		for (final Path2d path : this.paths) {
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final double x = coord();
+				final double y = coord();
+				final double w = this.random.nextDouble() * 2;
+				final double h = this.random.nextDouble() * 2;
+				assertEquals(
+						Path2afp.containsRectangle(path.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO), x, y, w, h),
+						PathVisitors2afp.containsRectangle(path, x, y, w, h));
+			}
+		}
+	}
+
+	@Test
+	public void intersectsPathRectangle() {
+		for (final Path2d path : this.paths) {
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final double x = coord();
+				final double y = coord();
+				final double w = this.random.nextDouble() * 2;
+				final double h = this.random.nextDouble() * 2;
+				assertEquals(
+						Path2afp.intersectsPathIteratorRectangle(path.getPathIterator(), x, y, w, h),
+						PathVisitors2afp.intersectsPathRectangle(path, x, y, w, h));
+			}
+		}
+	}
+
+	@Test
+	public void findsClosestPointPathPoint() {
+		final Point2d expected = new Point2d();
+		final Point2d actual = new Point2d();
+		for (final Path2d path : this.paths) {
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final double x = coord();
+				final double y = coord();
+				Path2afp.findsClosestPointPathIteratorPoint(path.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
+						x, y, expected);
+				PathVisitors2afp.findsClosestPointPathPoint(path, x, y, actual);
+				assertEpsilonEquals(expected, actual);
+			}
+		}
+	}
+
+	@Test
+	public void findsFarthestPointPathPoint() {
+		final Point2d expected = new Point2d();
+		final Point2d actual = new Point2d();
+		for (final Path2d path : this.paths) {
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final double x = coord();
+				final double y = coord();
+				Path2afp.findsFarthestPointPathIteratorPoint(path.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
+						x, y, expected);
+				PathVisitors2afp.findsFarthestPointPathPoint(path, x, y, actual);
+				assertEpsilonEquals(expected, actual);
+			}
+		}
+	}
+
+	@Test
+	public void calculatesDrawableElementBoundingBox() {
+		final Rectangle2d expected = new Rectangle2d();
+		final Rectangle2d actual = new Rectangle2d();
+		for (final Path2d path : this.paths) {
+			assertEquals(
+					Path2afp.calculatesDrawableElementBoundingBox(
+							path.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO), expected),
+					PathVisitors2afp.calculatesDrawableElementBoundingBox(path, actual));
+			assertEpsilonEquals(expected.getMinX(), actual.getMinX());
+			assertEpsilonEquals(expected.getMinY(), actual.getMinY());
+			assertEpsilonEquals(expected.getMaxX(), actual.getMaxX());
+			assertEpsilonEquals(expected.getMaxY(), actual.getMaxY());
+		}
+	}
+
+	@Test
+	public void calculatesControlPointBoundingBox() {
+		final Rectangle2d expected = new Rectangle2d();
+		final Rectangle2d actual = new Rectangle2d();
+		for (final Path2d path : this.paths) {
+			assertEquals(
+					Path2afp.calculatesControlPointBoundingBox(path.getPathIterator(), expected),
+					PathVisitors2afp.calculatesControlPointBoundingBox(path, actual));
+			assertEpsilonEquals(expected.getMinX(), actual.getMinX());
+			assertEpsilonEquals(expected.getMinY(), actual.getMinY());
+			assertEpsilonEquals(expected.getMaxX(), actual.getMaxX());
+			assertEpsilonEquals(expected.getMaxY(), actual.getMaxY());
+		}
+	}
+
+	@Test
+	public void calculatesPathLength() {
+		for (final Path2d path : this.paths) {
+			assertEpsilonEquals(
+					Path2afp.calculatesPathLength(path.getPathIterator()),
+					PathVisitors2afp.calculatesPathLength(path));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void calculatesCrossingsPathPointShadow_noMoveTo() {
+		PathVisitors2afp.calculatesCrossingsPathPointShadow(0, new Path2d() {
+			@Override
+			public void visit(PathVisitor2afp visitor) {
+				visitor.lineTo(1, 1);
+			}
+		}, 0, 0, CrossingComputationType.STANDARD);
+	}
+
+}
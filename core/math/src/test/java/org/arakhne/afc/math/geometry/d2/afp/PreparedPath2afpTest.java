@@ -0,0 +1,234 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.geometry.PathWindingRule;
+import org.arakhne.afc.math.geometry.d2.d.Path2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.arakhne.afc.math.geometry.d2.d.Segment2d;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class PreparedPath2afpTest extends AbstractMathTestCase {
+
+	private static final int PATH_COUNT = 50;
+
+	private static final int QUERY_COUNT = 50;
+
+	private Random random;
+
+	private List<Path2d> paths;
+
+	@Before
+	public void setUp() {
+		this.random = new Random(8765);
+		this.paths = new ArrayList<>();
+		for (int i = 0; i < PATH_COUNT; ++i) {
+			this.paths.add(createPath(i % 2 == 0 ? PathWindingRule.NON_ZERO : PathWindingRule.EVEN_ODD));
+		}
+		this.paths.add(createStar(PathWindingRule.NON_ZERO, 200));
+		this.paths.add(createStar(PathWindingRule.EVEN_ODD, 201));
+	}
+
+	private double coord() {
+		// Rounded coordinates for having points on the vertices and on the edges.
+		return Math.floor(this.random.nextDouble() * 20 - 10);
+	}
+
+	private Path2d createPath(PathWindingRule rule) {
+		final Path2d path = new Path2d(rule);
+		path.moveTo(coord(), coord());
+		final int count = 2 + this.random.nextInt(12);
+		for (int i = 0; i < count; ++i) {
+			switch (this.random.nextInt(6)) {
+			case 0:
+				path.quadTo(coord(), coord(), coord(), coord());
+				break;
+			case 1:
+				path.curveTo(coord(), coord(), coord(), coord(), coord(), coord());
+				break;
+			case 2:
+				if (i > 0 && i < count - 1) {
+					path.closePath();
+					path.moveTo(coord(), coord());
+				} else {
+					path.lineTo(coord(), coord());
+				}
+				break;
+			case 3:
+				if (i > 0 && i < count - 1) {
+					path.moveTo(coord(), coord());
+				} else {
+					path.lineTo(coord(), coord());
+				}
+				break;
+			default:
+				path.lineTo(coord(), coord());
+				break;
+			}
+		}
+		if (this.random.nextInt(4) != 0) {
+			path.closePath();
+		}
+		return path;
+	}
+
+	private static Path2d createStar(PathWindingRule rule, int vertexCount) {
+		final Path2d path = new Path2d(rule);
+		for (int i = 0; i < vertexCount; ++i) {
+			final double angle = 2 * Math.PI * i / vertexCount;
+			final double radius = (i % 2 == 0) ? 10 : 5;
+			if (i == 0) {
+				path.moveTo(radius * Math.cos(angle), radius * Math.sin(angle));
+			} else {
+				path.lineTo(radius * Math.cos(angle), radius * Math.sin(angle));
+			}
+		}
+		path.closePath();
+		return path;
+	}
+
+	@Test
+	public void getWindingRule() {
+		for (final Path2d path : this.paths) {
+			assertEquals(path.getWindingRule(), new PreparedPath2afp(path).getWindingRule());
+		}
+	}
+
+	@Test
+	public void getSegmentCount() {
+		final Path2d path = new Path2d();
+		path.moveTo(0, 0);
+		path.lineTo(10, 0);
+		path.lineTo(10, 10);
+		path.closePath();
+		path.moveTo(20, 20);
+		path.lineTo(30, 20);
+		assertEquals(4, new PreparedPath2afp(path).getSegmentCount());
+		assertEquals(0, new PreparedPath2afp(new Path2d()).getSegmentCount());
+	}
+
+	@Test
+	public void containsDoubleDouble() {
+		for (final Path2d path : this.paths) {
+			final PreparedPath2afp prepared = new PreparedPath2afp(path);
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final double x = coord();
+				final double y = coord();
+				assertEquals(Path2afp.containsPoint(path.getPathIterator(), x, y), prepared.contains(x, y));
+				final double x2 = x + 0.5;
+				final double y2 = y + 0.25;
+				assertEquals(path.contains(x2, y2), prepared.contains(x2, y2));
+			}
+			for (int i = 0; i < path.getPathElementCount(); ++i) {
+				final double x = path.getCoordAt(i * 2);
+				final double y = path.getCoordAt(i * 2 + 1);
+				assertEquals(path.contains(x, y), prepared.contains(x, y));
+			}
+		}
+	}
+
+	@Test
+	public void containsRectangle2afp() {
+		for (final Path2d path : this.paths) {
+			final PreparedPath2afp prepared = new PreparedPath2afp(path);
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final Rectangle2d rectangle = new Rectangle2d(coord(), coord(),
+						this.random.nextDouble() * 4, this.random.nextDouble() * 4);
+				assertEquals(Path2afp.containsRectangle(path.getPathIterator(), rectangle.getMinX(),
+						rectangle.getMinY(), rectangle.getWidth(), rectangle.getHeight()),
+						prepared.contains(rectangle));
+				assertEquals(path.contains(rectangle), prepared.contains(rectangle));
+			}
+		}
+	}
+
+	@Test
+	public void intersectsRectangle2afp() {
+		for (final Path2d path : this.paths) {
+			final PreparedPath2afp prepared = new PreparedPath2afp(path);
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final Rectangle2d rectangle = new Rectangle2d(coord(), coord(),
+						this.random.nextDouble() * 4, this.random.nextDouble() * 4);
+				assertEquals(Path2afp.intersectsPathIteratorRectangle(path.getPathIterator(), rectangle.getMinX(),
+						rectangle.getMinY(), rectangle.getWidth(), rectangle.getHeight()),
+						prepared.intersects(rectangle));
+				assertEquals(path.intersects(rectangle), prepared.intersects(rectangle));
+			}
+		}
+	}
+
+	@Test
+	public void intersectsSegment2afp() {
+		for (final Path2d path : this.paths) {
+			final PreparedPath2afp prepared = new PreparedPath2afp(path);
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final Segment2d segment = new Segment2d(coord(), coord(), coord(), coord());
+				assertEquals(path.intersects(segment), prepared.intersects(segment));
+			}
+		}
+	}
+
+	@Test
+	public void snapshot() {
+		final Path2d path = new Path2d();
+		path.moveTo(0, 0);
+		path.lineTo(10, 0);
+		path.lineTo(10, 10);
+		path.lineTo(0, 10);
+		path.closePath();
+		final PreparedPath2afp prepared = new PreparedPath2afp(path);
+		assertTrue(prepared.contains(5, 5));
+		path.clear();
+		assertTrue(prepared.contains(5, 5));
+		assertFalse(prepared.contains(15, 5));
+	}
+
+	@Test
+	public void emptyPath() {
+		final PreparedPath2afp prepared = new PreparedPath2afp(new Path2d());
+		assertFalse(prepared.contains(0, 0));
+		assertFalse(prepared.contains(new Rectangle2d(0, 0, 1, 1)));
+		assertFalse(prepared.intersects(new Rectangle2d(0, 0, 1, 1)));
+		assertFalse(prepared.intersects(new Segment2d(0, 0, 1, 1)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void noMoveTo() {
+		new PreparedPath2afp(new Path2d() {
+			@Override
+			public void visit(PathVisitor2afp visitor) {
+				visitor.lineTo(1, 1);
+			}
+		});
+	}
+
+}
@@ -0,0 +1,256 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.geometry.d2.d.Circle2d;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.arakhne.afc.math.geometry.d2.d.Shape2d;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class RTree2afpTest extends AbstractMathTestCase {
+
+	private static final int SHAPE_COUNT = 500;
+
+	private List<Shape2d<?>> shapes;
+
+	private RTree2afp<Shape2d<?>> tree;
+
+	@Before
+	public void setUp() {
+		final Random random = new Random(1234);
+		this.shapes = new ArrayList<>();
+		for (int i = 0; i < SHAPE_COUNT; ++i) {
+			final double x = random.nextDouble() * 1000;
+			final double y = random.nextDouble() * 1000;
+			if (i % 2 == 0) {
+				this.shapes.add(new Rectangle2d(x, y, random.nextDouble() * 20, random.nextDouble() * 20));
+			} else {
+				this.shapes.add(new Circle2d(x, y, random.nextDouble() * 10));
+			}
+		}
+		this.tree = new RTree2afp<>(8);
+	}
+
+	private List<Shape2d<?>> scanWindow(double minx, double miny, double maxx, double maxy) {
+		final List<Shape2d<?>> list = new ArrayList<>();
+		for (final Shape2d<?> shape : this.shapes) {
+			final Rectangle2d box = shape.toBoundingBox();
+			if (box.getMinX() <= maxx && box.getMaxX() >= minx && box.getMinY() <= maxy && box.getMaxY() >= miny) {
+				list.add(shape);
+			}
+		}
+		return list;
+	}
+
+	private List<Shape2d<?>> scanContaining(Point2d point) {
+		final List<Shape2d<?>> list = new ArrayList<>();
+		for (final Shape2d<?> shape : this.shapes) {
+			if (shape.contains(point)) {
+				list.add(shape);
+			}
+		}
+		return list;
+	}
+
+	private List<Shape2d<?>> scanIntersecting(Shape2d<?> area) {
+		final List<Shape2d<?>> list = new ArrayList<>();
+		for (final Shape2d<?> shape : this.shapes) {
+			if (shape.intersects(area)) {
+				list.add(shape);
+			}
+		}
+		return list;
+	}
+
+	private void assertSameShapes(List<Shape2d<?>> expected, List<Shape2d<?>> actual) {
+		assertEquals(expected.size(), actual.size());
+		assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+	}
+
+	private void assertQueries() {
+		final Random random = new Random(5678);
+		for (int i = 0; i < 50; ++i) {
+			final double x = random.nextDouble() * 1000;
+			final double y = random.nextDouble() * 1000;
+			final double size = random.nextDouble() * 100;
+			assertSameShapes(scanWindow(x, y, x + size, y + size), this.tree.getShapesInWindow(x, y, x + size, y + size));
+			final Point2d point = new Point2d(x, y);
+			assertSameShapes(scanContaining(point), this.tree.getShapesContaining(point));
+			final Circle2d circle = new Circle2d(x, y, size / 2);
+			assertSameShapes(scanIntersecting(circle), this.tree.getShapesIntersecting(circle));
+		}
+	}
+
+	@Test
+	public void isEmpty() {
+		assertTrue(this.tree.isEmpty());
+		assertEquals(0, this.tree.size());
+		assertEquals(0, this.tree.getHeight());
+		assertTrue(this.tree.getShapesInWindow(0, 0, 1000, 1000).isEmpty());
+		assertNull(this.tree.getNearestShape(new Point2d(1, 1)));
+	}
+
+	@Test
+	public void add() {
+		for (final Shape2d<?> shape : this.shapes) {
+			assertTrue(this.tree.add(shape));
+		}
+		assertFalse(this.tree.add(this.shapes.get(0)));
+		assertEquals(SHAPE_COUNT, this.tree.size());
+		assertTrue(this.tree.getHeight() > 1);
+		assertQueries();
+	}
+
+	@Test
+	public void addAll_bulkLoading() {
+		assertTrue(this.tree.addAll(this.shapes));
+		assertFalse(this.tree.addAll(this.shapes));
+		assertEquals(SHAPE_COUNT, this.tree.size());
+		assertTrue(this.tree.getHeight() > 1);
+		for (final Shape2d<?> shape : this.shapes) {
+			assertTrue(this.tree.contains(shape));
+		}
+		assertQueries();
+	}
+
+	@Test
+	public void remove() {
+		this.tree.addAll(this.shapes);
+		final Random random = new Random(91011);
+		while (this.shapes.size() > SHAPE_COUNT / 4) {
+			final Shape2d<?> shape = this.shapes.remove(random.nextInt(this.shapes.size()));
+			assertTrue(this.tree.remove(shape));
+			assertFalse(this.tree.remove(shape));
+			assertFalse(this.tree.contains(shape));
+		}
+		assertEquals(this.shapes.size(), this.tree.size());
+		assertQueries();
+		for (final Shape2d<?> shape : this.shapes) {
+			assertTrue(this.tree.remove(shape));
+		}
+		assertTrue(this.tree.isEmpty());
+		assertEquals(0, this.tree.getHeight());
+		this.shapes.clear();
+		assertQueries();
+	}
+
+	@Test
+	public void update() {
+		this.tree.addAll(this.shapes);
+		final Random random = new Random(1213);
+		for (int i = 0; i < SHAPE_COUNT; ++i) {
+			final Shape2d<?> shape = this.shapes.get(random.nextInt(this.shapes.size()));
+			if (i % 2 == 0) {
+				shape.translate(random.nextDouble() - .5, random.nextDouble() - .5);
+			} else {
+				shape.translate(random.nextDouble() * 500 - 250, random.nextDouble() * 500 - 250);
+			}
+			assertTrue(this.tree.update(shape));
+		}
+		assertEquals(SHAPE_COUNT, this.tree.size());
+		assertQueries();
+		assertFalse(this.tree.update(new Circle2d(1, 1, 1)));
+	}
+
+	@Test
+	public void getFirstShapeContaining() {
+		this.tree.addAll(this.shapes);
+		final Shape2d<?> shape = this.shapes.get(10);
+		final Point2d center = shape.toBoundingBox().getCenter();
+		final Shape2d<?> found = this.tree.getFirstShapeContaining(center);
+		assertNotNull(found);
+		assertTrue(found.contains(center));
+		assertNull(this.tree.getFirstShapeContaining(new Point2d(-100, -100)));
+	}
+
+	@Test
+	public void getFirstShapeIntersecting() {
+		this.tree.addAll(this.shapes);
+		final Shape2d<?> shape = this.shapes.get(11);
+		final Shape2d<?> found = this.tree.getFirstShapeIntersecting(shape);
+		assertNotNull(found);
+		assertTrue(found.intersects(shape));
+		assertNull(this.tree.getFirstShapeIntersecting(new Circle2d(-100, -100, 5)));
+	}
+
+	@Test
+	public void getNearestShapes() {
+		this.tree.addAll(this.shapes);
+		final Random random = new Random(1415);
+		for (int i = 0; i < 20; ++i) {
+			final Point2d point = new Point2d(random.nextDouble() * 1200 - 100, random.nextDouble() * 1200 - 100);
+			final List<Shape2d<?>> sorted = new ArrayList<>(this.shapes);
+			sorted.sort((a, b) -> Double.compare(a.getDistanceSquared(point), b.getDistanceSquared(point)));
+			final List<Shape2d<?>> nearest = this.tree.getNearestShapes(point, 10);
+			assertEquals(10, nearest.size());
+			for (int j = 0; j < 10; ++j) {
+				assertEpsilonEquals(sorted.get(j).getDistanceSquared(point), nearest.get(j).getDistanceSquared(point));
+			}
+			assertSame(nearest.get(0), this.tree.getNearestShape(point));
+		}
+		assertEquals(SHAPE_COUNT, this.tree.getNearestShapes(new Point2d(0, 0), SHAPE_COUNT * 2).size());
+		assertTrue(this.tree.getNearestShapes(new Point2d(0, 0), 0).isEmpty());
+	}
+
+	@Test
+	public void getShapesInWindowRectangle2afp() {
+		this.tree.addAll(this.shapes);
+		final Rectangle2d window = new Rectangle2d(100, 200, 300, 150);
+		assertSameShapes(scanWindow(100, 200, 400, 350), this.tree.getShapesInWindow(window));
+	}
+
+	@Test
+	public void clear() {
+		this.tree.addAll(this.shapes);
+		this.tree.clear();
+		assertTrue(this.tree.isEmpty());
+		assertFalse(this.tree.iterator().hasNext());
+		assertTrue(this.tree.getShapesInWindow(0, 0, 1000, 1000).isEmpty());
+	}
+
+	@Test
+	public void iterator() {
+		this.tree.addAll(this.shapes);
+		int count = 0;
+		for (final Shape2d<?> shape : this.tree) {
+			assertTrue(this.shapes.contains(shape));
+			++count;
+		}
+		assertEquals(SHAPE_COUNT, count);
+	}
+
+}
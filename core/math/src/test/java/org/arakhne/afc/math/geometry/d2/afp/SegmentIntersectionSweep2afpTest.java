@@ -0,0 +1,214 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.geometry.d2.d.Path2d;
+import org.arakhne.afc.math.geometry.d2.d.Segment2d;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class SegmentIntersectionSweep2afpTest extends AbstractMathTestCase {
+
+	private static final int SEGMENT_COUNT = 300;
+
+	private Random random;
+
+	private SegmentIntersectionSweep2afp sweep;
+
+	@Before
+	public void setUp() {
+		this.random = new Random(3456);
+		this.sweep = new SegmentIntersectionSweep2afp();
+	}
+
+	private double coord(int max) {
+		return this.random.nextInt(max);
+	}
+
+	private void fillRandomly(int max) {
+		for (int i = 0; i < SEGMENT_COUNT; ++i) {
+			final double x = coord(max);
+			final double y = coord(max);
+			switch (this.random.nextInt(4)) {
+			case 0:
+				// Vertical segment
+				this.sweep.addSegment(x, y, x, coord(max));
+				break;
+			case 1:
+				// Horizontal segment
+				this.sweep.addSegment(x, y, coord(max), y);
+				break;
+			default:
+				this.sweep.addSegment(x, y, coord(max), coord(max));
+				break;
+			}
+		}
+	}
+
+	private Map<Long, double[]> findPairwise(boolean withEnds) {
+		final Map<Long, double[]> pairs = new HashMap<>();
+		final int n = this.sweep.getSegmentCount();
+		for (int i = 0; i < n; ++i) {
+			for (int j = i + 1; j < n; ++j) {
+				final boolean intersects;
+				if (withEnds) {
+					intersects = Segment2afp.intersectsSegmentSegmentWithEnds(
+							this.sweep.getX1(i), this.sweep.getY1(i), this.sweep.getX2(i), this.sweep.getY2(i),
+							this.sweep.getX1(j), this.sweep.getY1(j), this.sweep.getX2(j), this.sweep.getY2(j));
+				} else {
+					intersects = Segment2afp.intersectsSegmentSegmentWithoutEnds(
+							this.sweep.getX1(i), this.sweep.getY1(i), this.sweep.getX2(i), this.sweep.getY2(i),
+							this.sweep.getX1(j), this.sweep.getY1(j), this.sweep.getX2(j), this.sweep.getY2(j));
+				}
+				if (intersects) {
+					final double factor = Segment2afp.calculatesSegmentSegmentIntersectionFactor(
+							this.sweep.getX1(i), this.sweep.getY1(i), this.sweep.getX2(i), this.sweep.getY2(i),
+							this.sweep.getX1(j), this.sweep.getY1(j), this.sweep.getX2(j), this.sweep.getY2(j));
+					pairs.put(Long.valueOf(((long) i << 32) | j), Double.isNaN(factor) ? null : new double[] {
+						this.sweep.getX1(i) + factor * (this.sweep.getX2(i) - this.sweep.getX1(i)),
+						this.sweep.getY1(i) + factor * (this.sweep.getY2(i) - this.sweep.getY1(i))});
+				}
+			}
+		}
+		return pairs;
+	}
+
+	private Map<Long, double[]> findSweep(boolean withEnds) {
+		final Map<Long, double[]> pairs = new HashMap<>();
+		final int count = this.sweep.findIntersections(withEnds, (segment1, segment2, x, y) -> {
+			assertTrue(segment1 < segment2);
+			final Object old = pairs.put(Long.valueOf(((long) segment1 << 32) | segment2), new double[] {x, y});
+			assertEquals(null, old);
+		});
+		assertEquals(pairs.size(), count);
+		return pairs;
+	}
+
+	private void assertSamePairs(Map<Long, double[]> expected, Map<Long, double[]> actual) {
+		assertEquals(expected.keySet(), actual.keySet());
+		for (final Map.Entry<Long, double[]> entry : expected.entrySet()) {
+			final double[] point = entry.getValue();
+			if (point != null) {
+				final double[] actualPoint = actual.get(entry.getKey());
+				assertEpsilonEquals(point[0], actualPoint[0]);
+				assertEpsilonEquals(point[1], actualPoint[1]);
+			}
+		}
+	}
+
+	@Test
+	public void addSegment() {
+		assertEquals(0, this.sweep.addSegment(1, 2, 3, 4));
+		assertEquals(1, this.sweep.addSegment(new Segment2d(5, 6, 7, 8)));
+		assertEquals(2, this.sweep.getSegmentCount());
+		assertEpsilonEquals(5, this.sweep.getX1(1));
+		assertEpsilonEquals(6, this.sweep.getY1(1));
+		assertEpsilonEquals(7, this.sweep.getX2(1));
+		assertEpsilonEquals(8, this.sweep.getY2(1));
+	}
+
+	@Test
+	public void clear() {
+		fillRandomly(100);
+		this.sweep.clear();
+		assertEquals(0, this.sweep.getSegmentCount());
+		assertEquals(0, this.sweep.findIntersections(true, (segment1, segment2, x, y) -> {
+			throw new AssertionError();
+		}));
+	}
+
+	@Test
+	public void addPath() {
+		final Path2d path = new Path2d();
+		path.moveTo(0, 0);
+		path.lineTo(10, 10);
+		path.lineTo(10, 0);
+		path.lineTo(0, 10);
+		path.closePath();
+		path.moveTo(20, 20);
+		path.quadTo(30, 30, 40, 20);
+		this.sweep.addSegment(-5, 5, 50, 5);
+		final int count = this.sweep.addPath(path);
+		assertTrue(count > 4);
+		assertEquals(count + 1, this.sweep.getSegmentCount());
+		assertSamePairs(findPairwise(true), findSweep(true));
+		assertSamePairs(findPairwise(false), findSweep(false));
+	}
+
+	@Test
+	public void findIntersections_withEnds_sparse() {
+		fillRandomly(1000);
+		assertSamePairs(findPairwise(true), findSweep(true));
+	}
+
+	@Test
+	public void findIntersections_withEnds_dense() {
+		fillRandomly(20);
+		assertSamePairs(findPairwise(true), findSweep(true));
+	}
+
+	@Test
+	public void findIntersections_withoutEnds_sparse() {
+		fillRandomly(1000);
+		assertSamePairs(findPairwise(false), findSweep(false));
+	}
+
+	@Test
+	public void findIntersections_withoutEnds_dense() {
+		fillRandomly(20);
+		assertSamePairs(findPairwise(false), findSweep(false));
+	}
+
+	@Test
+	public void findIntersections_doubles() {
+		for (int i = 0; i < SEGMENT_COUNT; ++i) {
+			this.sweep.addSegment(this.random.nextDouble() * 100, this.random.nextDouble() * 100,
+					this.random.nextDouble() * 100, this.random.nextDouble() * 100);
+		}
+		assertSamePairs(findPairwise(true), findSweep(true));
+		assertSamePairs(findPairwise(false), findSweep(false));
+	}
+
+	@Test
+	public void findIntersections_colinear() {
+		this.sweep.addSegment(0, 0, 10, 10);
+		this.sweep.addSegment(5, 5, 20, 20);
+		final double[] point = new double[2];
+		assertEquals(1, this.sweep.findIntersections(true, (segment1, segment2, x, y) -> {
+			assertEquals(0, segment1);
+			assertEquals(1, segment2);
+			point[0] = x;
+			point[1] = y;
+		}));
+		assertEpsilonEquals(5, point[0]);
+		assertEpsilonEquals(5, point[1]);
+	}
+
+}
@@ -0,0 +1,263 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.geometry.d2.Point2D;
+import org.arakhne.afc.math.geometry.d2.Shape2D;
+import org.arakhne.afc.math.geometry.d2.d.Circle2d;
+import org.arakhne.afc.math.geometry.d2.d.Ellipse2d;
+import org.arakhne.afc.math.geometry.d2.d.OrientedRectangle2d;
+import org.arakhne.afc.math.geometry.d2.d.Parallelogram2d;
+import org.arakhne.afc.math.geometry.d2.d.Path2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.arakhne.afc.math.geometry.d2.d.RoundRectangle2d;
+import org.arakhne.afc.math.geometry.d2.d.Segment2d;
+import org.arakhne.afc.math.geometry.d2.d.Shape2d;
+import org.arakhne.afc.math.geometry.d2.d.Triangle2d;
+import org.arakhne.afc.math.geometry.d2.i.Circle2i;
+import org.arakhne.afc.math.geometry.d2.i.Rectangle2i;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class ShapeDispatch2afpTest extends AbstractMathTestCase {
+
+	private static final int SHAPE_COUNT = 90;
+
+	private static final double SIZE = 50;
+
+	private Random random;
+
+	private List<Shape2d<?>> shapes;
+
+	@Before
+	public void setUp() {
+		this.random = new Random(4321);
+		this.shapes = new ArrayList<>();
+		for (int i = 0; i < SHAPE_COUNT; ++i) {
+			this.shapes.add(newShape(i % 9));
+		}
+	}
+
+	private double coord() {
+		return this.random.nextDouble() * SIZE;
+	}
+
+	private double size() {
+		return this.random.nextDouble() * 10 + 1;
+	}
+
+	private Shape2d<?> newShape(int type) {
+		final double x = coord();
+		final double y = coord();
+		final double angle = this.random.nextDouble() * Math.PI;
+		switch (type) {
+		case 0:
+			return new Circle2d(x, y, size());
+		case 1:
+			return new Ellipse2d(x, y, size(), size());
+		case 2:
+			return new Rectangle2d(x, y, size(), size());
+		case 3:
+			return new OrientedRectangle2d(x, y, Math.cos(angle), Math.sin(angle), size(), size());
+		case 4:
+			return new Parallelogram2d(x, y, Math.cos(angle), Math.sin(angle), size(), 0, 1, size());
+		case 5:
+			return new RoundRectangle2d(x, y, size() + 2, size() + 2, 1, 1);
+		case 6:
+			return new Segment2d(x, y, x + size(), y + size() - 6);
+		case 7:
+			return new Triangle2d(x, y, x + size(), y, x, y + size());
+		default:
+			final Path2d path = new Path2d();
+			path.moveTo(x, y);
+			path.lineTo(x + size(), y + size());
+			path.lineTo(x + size(), y - size());
+			path.closePath();
+			return path;
+		}
+	}
+
+	private static boolean typedIntersects(Shape2d<?> shape1, Shape2d<?> shape2) {
+		if (shape2 instanceof Circle2d) {
+			return shape1.intersects((Circle2d) shape2);
+		}
+		if (shape2 instanceof Ellipse2d) {
+			return shape1.intersects((Ellipse2d) shape2);
+		}
+		if (shape2 instanceof Rectangle2d) {
+			return shape1.intersects((Rectangle2d) shape2);
+		}
+		if (shape2 instanceof OrientedRectangle2d) {
+			return shape1.intersects((OrientedRectangle2d) shape2);
+		}
+		if (shape2 instanceof Parallelogram2d) {
+			return shape1.intersects((Parallelogram2d) shape2);
+		}
+		if (shape2 instanceof RoundRectangle2d) {
+			return shape1.intersects((RoundRectangle2d) shape2);
+		}
+		if (shape2 instanceof Segment2d) {
+			return shape1.intersects((Segment2d) shape2);
+		}
+		if (shape2 instanceof Triangle2d) {
+			return shape1.intersects((Triangle2d) shape2);
+		}
+		return shape1.intersects((Path2d) shape2);
+	}
+
+	private static double typedDistanceSquared(Shape2d<?> shape1, Shape2d<?> shape2) {
+		if (shape2 instanceof Circle2d) {
+			return shape1.getDistanceSquared((Circle2d) shape2);
+		}
+		if (shape2 instanceof Ellipse2d) {
+			return shape1.getDistanceSquared((Ellipse2d) shape2);
+		}
+		if (shape2 instanceof Rectangle2d) {
+			return shape1.getDistanceSquared((Rectangle2d) shape2);
+		}
+		if (shape2 instanceof OrientedRectangle2d) {
+			return shape1.getDistanceSquared((OrientedRectangle2d) shape2);
+		}
+		if (shape2 instanceof Parallelogram2d) {
+			return shape1.getDistanceSquared((Parallelogram2d) shape2);
+		}
+		if (shape2 instanceof RoundRectangle2d) {
+			return shape1.getDistanceSquared((RoundRectangle2d) shape2);
+		}
+		if (shape2 instanceof Segment2d) {
+			return shape1.getDistanceSquared((Segment2d) shape2);
+		}
+		if (shape2 instanceof Triangle2d) {
+			return shape1.getDistanceSquared((Triangle2d) shape2);
+		}
+		return shape1.getDistanceSquared((Path2d) shape2);
+	}
+
+	private static Point2D<?, ?> typedClosestPointTo(Shape2d<?> shape1, Shape2d<?> shape2) {
+		if (shape2 instanceof Circle2d) {
+			return shape1.getClosestPointTo((Circle2d) shape2);
+		}
+		if (shape2 instanceof Ellipse2d) {
+			return shape1.getClosestPointTo((Ellipse2d) shape2);
+		}
+		if (shape2 instanceof Rectangle2d) {
+			return shape1.getClosestPointTo((Rectangle2d) shape2);
+		}
+		if (shape2 instanceof OrientedRectangle2d) {
+			return shape1.getClosestPointTo((OrientedRectangle2d) shape2);
+		}
+		if (shape2 instanceof Parallelogram2d) {
+			return shape1.getClosestPointTo((Parallelogram2d) shape2);
+		}
+		if (shape2 instanceof RoundRectangle2d) {
+			return shape1.getClosestPointTo((RoundRectangle2d) shape2);
+		}
+		if (shape2 instanceof Segment2d) {
+			return shape1.getClosestPointTo((Segment2d) shape2);
+		}
+		if (shape2 instanceof Triangle2d) {
+			return shape1.getClosestPointTo((Triangle2d) shape2);
+		}
+		return shape1.getClosestPointTo((Path2d) shape2);
+	}
+
+	@Test
+	public void intersects() {
+		int intersections = 0;
+		for (final Shape2d<?> shape1 : this.shapes) {
+			for (final Shape2d<?> shape2 : this.shapes) {
+				final boolean expected = typedIntersects(shape1, shape2);
+				assertEquals(expected, ShapeDispatch2afp.intersects(shape1, shape2));
+				assertEquals(expected, shape1.intersects((Shape2D) shape2));
+				if (expected) {
+					++intersections;
+				}
+			}
+		}
+		assertTrue(intersections > SHAPE_COUNT);
+	}
+
+	@Test
+	public void intersectsWithKinds() {
+		for (final Shape2d<?> shape1 : this.shapes) {
+			for (final Shape2d<?> shape2 : this.shapes) {
+				assertEquals(typedIntersects(shape1, shape2),
+						ShapeDispatch2afp.intersects(shape1, shape1.getShapeKind(), shape2, shape2.getShapeKind()));
+			}
+		}
+	}
+
+	@Test
+	public void intersects_otherKind() {
+		final Circle2d circle = new Circle2d(5, 5, 1);
+		assertTrue(circle.intersects((Shape2D) new Circle2i(5, 5, 1)));
+	}
+
+	@Test
+	public void intersects_otherKindDisjoint() {
+		final Circle2d circle = new Circle2d(5, 5, 1);
+		assertFalse(circle.intersects((Shape2D) new Circle2i(30, 30, 2)));
+		assertFalse(circle.intersects((Shape2D) new Rectangle2i(10, 10, 5, 5)));
+		assertTrue(circle.intersects((Shape2D) new Rectangle2i(5, 5, 5, 5)));
+	}
+
+	@Test
+	public void getDistanceSquared() {
+		for (final Shape2d<?> shape1 : this.shapes) {
+			for (final Shape2d<?> shape2 : this.shapes) {
+				assertEpsilonEquals(typedDistanceSquared(shape1, shape2), ShapeDispatch2afp.getDistanceSquared(shape1, shape2));
+				assertEpsilonEquals(typedDistanceSquared(shape1, shape2), shape1.getDistanceSquared((Shape2D) shape2));
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void getDistanceSquared_otherKind() {
+		new Circle2d(5, 5, 1).getDistanceSquared((Shape2D) new Circle2i(5, 5, 1));
+	}
+
+	@Test
+	public void getClosestPointTo() {
+		for (final Shape2d<?> shape1 : this.shapes) {
+			for (final Shape2d<?> shape2 : this.shapes) {
+				final Point2D<?, ?> expected = typedClosestPointTo(shape1, shape2);
+				assertFpPointEquals(expected.getX(), expected.getY(), ShapeDispatch2afp.getClosestPointTo(shape1, shape2));
+				assertFpPointEquals(expected.getX(), expected.getY(), shape1.getClosestPointTo((Shape2D) shape2));
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void getClosestPointTo_otherKind() {
+		new Circle2d(5, 5, 1).getClosestPointTo((Shape2D) new Circle2i(5, 5, 1));
+	}
+
+}
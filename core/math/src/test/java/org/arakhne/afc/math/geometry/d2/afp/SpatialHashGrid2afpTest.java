@@ -0,0 +1,250 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.afp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.geometry.d2.d.Circle2d;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class SpatialHashGrid2afpTest extends AbstractMathTestCase {
+
+	private static final int POINT_COUNT = 1000;
+
+	private static final double SIZE = 100;
+
+	private Random random;
+
+	private SpatialHashGrid2afp<String> grid;
+
+	private List<Integer> ids;
+
+	@Before
+	public void setUp() {
+		this.random = new Random(4567);
+		this.grid = new SpatialHashGrid2afp<>(0, 0, SIZE, SIZE, 5);
+		this.ids = new ArrayList<>();
+	}
+
+	private double coord() {
+		// Some points are outside the area of the grid
+		return this.random.nextDouble() * (SIZE + 20) - 10;
+	}
+
+	private void fill() {
+		for (int i = 0; i < POINT_COUNT; ++i) {
+			this.ids.add(this.grid.add("p" + i, coord(), coord()));
+		}
+	}
+
+	private Set<Integer> visitInRectangle(double x1, double y1, double x2, double y2) {
+		final Set<Integer> found = new HashSet<>();
+		assertTrue(this.grid.visitInRectangle(x1, y1, x2, y2, id -> found.add(id)));
+		return found;
+	}
+
+	private Set<Integer> visitInCircle(double x, double y, double radius) {
+		final Set<Integer> found = new HashSet<>();
+		assertTrue(this.grid.visitInCircle(x, y, radius, id -> found.add(id)));
+		return found;
+	}
+
+	private Set<Long> bruteForcePairs(double distance) {
+		final Set<Long> pairs = new HashSet<>();
+		for (final int id1 : this.ids) {
+			for (final int id2 : this.ids) {
+				if (id1 < id2) {
+					final double dx = this.grid.getX(id1) - this.grid.getX(id2);
+					final double dy = this.grid.getY(id1) - this.grid.getY(id2);
+					if (dx * dx + dy * dy <= distance * distance) {
+						pairs.add(((long) id1 << 32) | id2);
+					}
+				}
+			}
+		}
+		return pairs;
+	}
+
+	private void assertQueries() {
+		for (int i = 0; i < 20; ++i) {
+			final double x = coord();
+			final double y = coord();
+			final double size = this.random.nextDouble() * 30;
+			final Set<Integer> rectangle = new HashSet<>();
+			final Set<Integer> circle = new HashSet<>();
+			for (final int id : this.ids) {
+				final double px = this.grid.getX(id);
+				final double py = this.grid.getY(id);
+				if (px >= x && px <= x + size && py >= y && py <= y + size) {
+					rectangle.add(id);
+				}
+				if ((px - x) * (px - x) + (py - y) * (py - y) <= size * size) {
+					circle.add(id);
+				}
+			}
+			assertEquals(rectangle, visitInRectangle(x, y, x + size, y + size));
+			assertEquals(circle, visitInCircle(x, y, size));
+		}
+	}
+
+	@Test
+	public void getColumnCount() {
+		assertEquals(20, this.grid.getColumnCount());
+		assertEquals(20, this.grid.getRowCount());
+		assertEpsilonEquals(5, this.grid.getCellSize());
+		assertEquals(3, new SpatialHashGrid2afp<>(0, 0, 11, 0, 5).getColumnCount());
+		assertEquals(1, new SpatialHashGrid2afp<>(0, 0, 11, 0, 5).getRowCount());
+	}
+
+	@Test
+	public void add() {
+		assertTrue(this.grid.isEmpty());
+		final int id = this.grid.add("a", 4, 6);
+		assertEquals(0, id);
+		assertEquals(1, this.grid.add(new Point2d(-5, 200)));
+		assertEquals(2, this.grid.add("c", new Point2d(1, 2)));
+		assertEquals(3, this.grid.size());
+		assertEquals(3, this.grid.getIdBound());
+		assertTrue(this.grid.contains(id));
+		assertFalse(this.grid.contains(3));
+		assertEpsilonEquals(4, this.grid.getX(id));
+		assertEpsilonEquals(6, this.grid.getY(id));
+		assertSame("a", this.grid.getData(id));
+		assertNull(this.grid.getData(1));
+	}
+
+	@Test
+	public void remove() {
+		fill();
+		Collections.shuffle(this.ids, this.random);
+		for (int i = 0; i < POINT_COUNT / 2; ++i) {
+			final int id = this.ids.remove(this.ids.size() - 1);
+			assertTrue(this.grid.remove(id));
+			assertFalse(this.grid.remove(id));
+			assertFalse(this.grid.contains(id));
+		}
+		assertEquals(POINT_COUNT / 2, this.grid.size());
+		assertQueries();
+		// The identifiers are reused
+		final int id = this.grid.add(1, 1);
+		assertTrue(id < POINT_COUNT);
+		this.ids.add(id);
+		assertEquals(POINT_COUNT, this.grid.getIdBound());
+		assertQueries();
+	}
+
+	@Test
+	public void move() {
+		fill();
+		for (int step = 0; step < 5; ++step) {
+			for (final int id : this.ids) {
+				if (this.random.nextBoolean()) {
+					assertTrue(this.grid.move(id, coord(), coord()));
+				} else {
+					assertTrue(this.grid.move(id, new Point2d(this.grid.getX(id) + this.random.nextDouble() - .5,
+							this.grid.getY(id) + this.random.nextDouble() - .5)));
+				}
+			}
+			assertQueries();
+		}
+		assertFalse(this.grid.move(POINT_COUNT, 1, 1));
+		assertEquals(POINT_COUNT, this.grid.size());
+	}
+
+	@Test
+	public void clear() {
+		fill();
+		this.grid.clear();
+		this.ids.clear();
+		assertTrue(this.grid.isEmpty());
+		assertEquals(0, this.grid.getIdBound());
+		assertQueries();
+		assertEquals(0, this.grid.add(1, 1));
+	}
+
+	@Test
+	public void visitInRectangle() {
+		fill();
+		assertQueries();
+		final Rectangle2d rectangle = new Rectangle2d(10, 20, 30, 15);
+		final Set<Integer> found = new HashSet<>();
+		this.grid.visitInRectangle(rectangle, id -> found.add(id));
+		assertEquals(visitInRectangle(10, 20, 40, 35), found);
+		final int[] count = new int[1];
+		assertFalse(this.grid.visitInRectangle(-20, -20, 200, 200, id -> ++count[0] < 10));
+		assertEquals(10, count[0]);
+	}
+
+	@Test
+	public void visitInCircle() {
+		fill();
+		final Circle2d circle = new Circle2d(50, 40, 12);
+		final Set<Integer> found = new HashSet<>();
+		this.grid.visitInCircle(circle, id -> found.add(id));
+		assertEquals(visitInCircle(50, 40, 12), found);
+		assertFalse(found.isEmpty());
+	}
+
+	@Test
+	public void visitPairs() {
+		fill();
+		for (final double distance : new double[] {0, 2, 5, 12}) {
+			final Set<Long> pairs = new HashSet<>();
+			this.grid.visitPairs(distance, (id1, id2, squared) -> {
+				assertTrue(id1 < id2);
+				final double dx = this.grid.getX(id1) - this.grid.getX(id2);
+				final double dy = this.grid.getY(id1) - this.grid.getY(id2);
+				assertEpsilonEquals(dx * dx + dy * dy, squared);
+				// Each pair is reported once
+				assertTrue(pairs.add(((long) id1 << 32) | id2));
+			});
+			assertEquals(bruteForcePairs(distance), pairs);
+		}
+	}
+
+	@Test
+	public void visitPairsParallel() {
+		fill();
+		for (final double distance : new double[] {3, 7}) {
+			final Set<Long> pairs = ConcurrentHashMap.newKeySet();
+			this.grid.visitPairsParallel(distance, (id1, id2, squared) -> assertTrue(pairs.add(((long) id1 << 32) | id2)));
+			assertEquals(bruteForcePairs(distance), pairs);
+		}
+	}
+
+}
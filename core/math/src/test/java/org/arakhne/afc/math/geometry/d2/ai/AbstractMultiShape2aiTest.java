@@ -37,6 +37,7 @@ import org.arakhne.afc.math.geometry.PathElementType;
 import org.arakhne.afc.math.geometry.d2.MultiShape2D;
 import org.arakhne.afc.math.geometry.d2.Point2D;
 import org.arakhne.afc.math.geometry.d2.Shape2D;
+import org.arakhne.afc.math.geometry.d2.ShapeKind2D;
 import org.arakhne.afc.math.geometry.d2.Transform2D;
 
 @SuppressWarnings("all")
@@ -1216,4 +1217,9 @@ public abstract class AbstractMultiShape2aiTest<T extends MultiShape2ai<?, T, C,
         assertEpsilonEquals(10, this.shape.getDistanceSquared(createTestPath(15, 10)));
     }
 
+	@Test
+	public void getShapeKind() {
+		assertSame(ShapeKind2D.MULTISHAPE, this.shape.getShapeKind());
+	}
+
 }
\ No newline at end of file
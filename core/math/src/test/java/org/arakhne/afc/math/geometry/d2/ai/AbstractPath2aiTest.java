@@ -25,6 +25,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -43,6 +44,7 @@ import org.arakhne.afc.math.geometry.PathWindingRule;
 import org.arakhne.afc.math.geometry.d2.Path2D.ArcType;
 import org.arakhne.afc.math.geometry.d2.Point2D;
 import org.arakhne.afc.math.geometry.d2.Shape2D;
+import org.arakhne.afc.math.geometry.d2.ShapeKind2D;
 import org.arakhne.afc.math.geometry.d2.Transform2D;
 
 @SuppressWarnings("all")
@@ -2483,5 +2485,10 @@ public abstract class AbstractPath2aiTest<T extends Path2ai<?, T, ?, ?, ?, B>,
         assertEpsilonEquals(0, this.shape.getDistanceSquared(createTestPath(4, -1)));
         assertEpsilonEquals(65, this.shape.getDistanceSquared(createTestPath(20, 0)));
     }
-    
+
+	@Test
+	public void getShapeKind() {
+		assertSame(ShapeKind2D.PATH, this.shape.getShapeKind());
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,224 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.ai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.MathConstants;
+import org.arakhne.afc.math.geometry.CrossingComputationType;
+import org.arakhne.afc.math.geometry.PathElementType;
+import org.arakhne.afc.math.geometry.PathWindingRule;
+import org.arakhne.afc.math.geometry.d2.i.Path2i;
+import org.arakhne.afc.math.geometry.d2.i.PathElement2i;
+import org.arakhne.afc.math.geometry.d2.i.Rectangle2i;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class PathVisitor2aiTest extends AbstractMathTestCase {
+
+	private static final int PATH_COUNT = 50;
+
+	private static final int QUERY_COUNT = 20;
+
+	private Random random;
+
+	private List<Path2i> paths;
+
+	@Before
+	public void setUp() {
+		this.random = new Random(4567);
+		this.paths = new ArrayList<>();
+		for (int i = 0; i < PATH_COUNT; ++i) {
+			this.paths.add(createPath(i % 2 == 0 ? PathWindingRule.NON_ZERO : PathWindingRule.EVEN_ODD));
+		}
+	}
+
+	private int coord() {
+		return this.random.nextInt(41) - 20;
+	}
+
+	private Path2i createPath(PathWindingRule rule) {
+		final Path2i path = new Path2i(rule);
+		path.moveTo(coord(), coord());
+		final int count = 2 + this.random.nextInt(10);
+		for (int i = 0; i < count; ++i) {
+			switch (this.random.nextInt(5)) {
+			case 0:
+				path.quadTo(coord(), coord(), coord(), coord());
+				break;
+			case 1:
+				path.curveTo(coord(), coord(), coord(), coord(), coord(), coord());
+				break;
+			case 2:
+				if (i > 0 && i < count - 1) {
+					path.closePath();
+					path.moveTo(coord(), coord());
+				} else {
+					path.lineTo(coord(), coord());
+				}
+				break;
+			default:
+				path.lineTo(coord(), coord());
+				break;
+			}
+		}
+		if (this.random.nextBoolean()) {
+			path.closePath();
+		}
+		return path;
+	}
+
+	@Test
+	public void visit() {
+		for (final Path2i path : this.paths) {
+			final PathIterator2ai<PathElement2i> iterator = path.getPathIterator();
+			path.visit(new PathVisitor2ai() {
+				private PathElement2i next(PathElementType type) {
+					assertTrue(iterator.hasNext());
+					final PathElement2i element = iterator.next();
+					assertEquals(type, element.getType());
+					return element;
+				}
+				@Override
+				public void moveTo(int x, int y) {
+					final PathElement2i element = next(PathElementType.MOVE_TO);
+					assertEquals(element.getToX(), x);
+					assertEquals(element.getToY(), y);
+				}
+				@Override
+				public void lineTo(int x, int y) {
+					final PathElement2i element = next(PathElementType.LINE_TO);
+					assertEquals(element.getToX(), x);
+					assertEquals(element.getToY(), y);
+				}
+				@Override
+				public void quadTo(int ctrlx, int ctrly, int x, int y) {
+					final PathElement2i element = next(PathElementType.QUAD_TO);
+					assertEquals(element.getCtrlX1(), ctrlx);
+					assertEquals(element.getCtrlY1(), ctrly);
+					assertEquals(element.getToX(), x);
+					assertEquals(element.getToY(), y);
+				}
+				@Override
+				public void curveTo(int ctrlx1, int ctrly1, int ctrlx2, int ctrly2, int x, int y) {
+					final PathElement2i element = next(PathElementType.CURVE_TO);
+					assertEquals(element.getCtrlX1(), ctrlx1);
+					assertEquals(element.getCtrlY1(), ctrly1);
+					assertEquals(element.getCtrlX2(), ctrlx2);
+					assertEquals(element.getCtrlY2(), ctrly2);
+					assertEquals(element.getToX(), x);
+					assertEquals(element.getToY(), y);
+				}
+				@Override
+				public void closePath() {
+					next(PathElementType.CLOSE);
+				}
+			});
+			assertFalse(iterator.hasNext());
+		}
+	}
+
+	@Test
+	public void flatteningPathVisitor() {
+		for (final Path2i path : this.paths) {
+			final PathIterator2ai<PathElement2i> iterator = path.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO);
+			path.visit(new FlatteningPathVisitor2ai(new PathVisitor2ai() {
+				@Override
+				public void moveTo(int x, int y) {
+					final PathElement2i element = iterator.next();
+					assertEquals(PathElementType.MOVE_TO, element.getType());
+					assertEquals(element.getToX(), x);
+					assertEquals(element.getToY(), y);
+				}
+				@Override
+				public void lineTo(int x, int y) {
+					final PathElement2i element = iterator.next();
+					assertEquals(PathElementType.LINE_TO, element.getType());
+					assertEquals(element.getToX(), x);
+					assertEquals(element.getToY(), y);
+				}
+				@Override
+				public void quadTo(int ctrlx, int ctrly, int x, int y) {
+					throw new IllegalStateException();
+				}
+				@Override
+				public void curveTo(int ctrlx1, int ctrly1, int ctrlx2, int ctrly2, int x, int y) {
+					throw new IllegalStateException();
+				}
+				@Override
+				public void closePath() {
+					assertEquals(PathElementType.CLOSE, iterator.next().getType());
+				}
+			}));
+			assertFalse(iterator.hasNext());
+		}
+	}
+
+	@Test
+	public void calculatesCrossingsPathPointShadow() {
+		for (final Path2i path : this.paths) {
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final int x = coord();
+				final int y = coord();
+				for (final CrossingComputationType type : CrossingComputationType.values()) {
+					assertEquals(
+							Path2ai.calculatesCrossingsPathIteratorPointShadow(0, path.getPathIterator(), x, y, type),
+							Path2ai.calculatesCrossingsPathPointShadow(0, path, x, y, type));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void containsPoint() {
+		for (final Path2i path : this.paths) {
+			for (int i = 0; i < QUERY_COUNT; ++i) {
+				final int x = coord();
+				final int y = coord();
+				assertEquals(
+						Path2ai.containsPoint(path.getPathIterator(), x, y),
+						Path2ai.containsPoint(path, x, y));
+			}
+		}
+	}
+
+	@Test
+	public void calculatesDrawableElementBoundingBox() {
+		final Rectangle2i expected = new Rectangle2i();
+		final Rectangle2i actual = new Rectangle2i();
+		for (final Path2i path : this.paths) {
+			assertEquals(
+					Path2ai.calculatesDrawableElementBoundingBox(
+							path.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO), expected),
+					Path2ai.calculatesDrawableElementBoundingBox(path, actual));
+			assertEquals(expected, actual);
+		}
+	}
+
+}
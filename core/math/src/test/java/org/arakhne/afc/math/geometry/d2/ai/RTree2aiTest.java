@@ -0,0 +1,145 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.ai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.geometry.d2.i.Circle2i;
+import org.arakhne.afc.math.geometry.d2.i.Point2i;
+import org.arakhne.afc.math.geometry.d2.i.Rectangle2i;
+import org.arakhne.afc.math.geometry.d2.i.Shape2i;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class RTree2aiTest extends AbstractMathTestCase {
+
+	private static final int SHAPE_COUNT = 300;
+
+	private List<Shape2i<?>> shapes;
+
+	private RTree2ai<Shape2i<?>> tree;
+
+	@Before
+	public void setUp() {
+		final Random random = new Random(1234);
+		this.shapes = new ArrayList<>();
+		for (int i = 0; i < SHAPE_COUNT; ++i) {
+			final int x = random.nextInt(1000);
+			final int y = random.nextInt(1000);
+			if (i % 2 == 0) {
+				this.shapes.add(new Rectangle2i(x, y, random.nextInt(20), random.nextInt(20)));
+			} else {
+				this.shapes.add(new Circle2i(x, y, random.nextInt(10)));
+			}
+		}
+		this.tree = new RTree2ai<>();
+		this.tree.addAll(this.shapes);
+	}
+
+	private List<Shape2i<?>> scanWindow(Rectangle2i window) {
+		final List<Shape2i<?>> list = new ArrayList<>();
+		for (final Shape2i<?> shape : this.shapes) {
+			final Rectangle2i box = shape.toBoundingBox();
+			if (box.getMinX() <= window.getMaxX() && box.getMaxX() >= window.getMinX()
+					&& box.getMinY() <= window.getMaxY() && box.getMaxY() >= window.getMinY()) {
+				list.add(shape);
+			}
+		}
+		return list;
+	}
+
+	private List<Shape2i<?>> scanContaining(Point2i point) {
+		final List<Shape2i<?>> list = new ArrayList<>();
+		for (final Shape2i<?> shape : this.shapes) {
+			if (shape.contains(point)) {
+				list.add(shape);
+			}
+		}
+		return list;
+	}
+
+	private void assertQueries() {
+		final Random random = new Random(5678);
+		for (int i = 0; i < 50; ++i) {
+			final int x = random.nextInt(1000);
+			final int y = random.nextInt(1000);
+			final Rectangle2i window = new Rectangle2i(x, y, random.nextInt(100), random.nextInt(100));
+			assertEquals(new HashSet<>(scanWindow(window)), new HashSet<>(this.tree.getShapesInWindow(window)));
+			final Point2i point = new Point2i(x, y);
+			assertEquals(new HashSet<>(scanContaining(point)), new HashSet<>(this.tree.getShapesContaining(point)));
+		}
+	}
+
+	@Test
+	public void addAll() {
+		assertEquals(SHAPE_COUNT, this.tree.size());
+		assertTrue(this.tree.getHeight() > 1);
+		assertQueries();
+	}
+
+	@Test
+	public void remove() {
+		final Random random = new Random(91011);
+		while (this.shapes.size() > SHAPE_COUNT / 3) {
+			final Shape2i<?> shape = this.shapes.remove(random.nextInt(this.shapes.size()));
+			assertTrue(this.tree.remove(shape));
+			assertFalse(this.tree.remove(shape));
+		}
+		assertEquals(this.shapes.size(), this.tree.size());
+		assertQueries();
+	}
+
+	@Test
+	public void update() {
+		final Random random = new Random(1213);
+		for (int i = 0; i < SHAPE_COUNT; ++i) {
+			final Shape2i<?> shape = this.shapes.get(random.nextInt(this.shapes.size()));
+			shape.translate(random.nextInt(200) - 100, random.nextInt(200) - 100);
+			assertTrue(this.tree.update(shape));
+		}
+		assertQueries();
+	}
+
+	@Test
+	public void getNearestShapes() {
+		final Point2i point = new Point2i(500, 500);
+		final List<Shape2i<?>> nearest = this.tree.getNearestShapes(point, 5);
+		assertEquals(5, nearest.size());
+		double min = Double.POSITIVE_INFINITY;
+		for (final Shape2i<?> shape : this.shapes) {
+			min = Math.min(min, shape.getDistanceSquared(point));
+		}
+		assertEpsilonEquals(min, nearest.get(0).getDistanceSquared(point));
+		for (int i = 1; i < nearest.size(); ++i) {
+			assertTrue(nearest.get(i - 1).getDistanceSquared(point) <= nearest.get(i).getDistanceSquared(point));
+		}
+	}
+
+}
@@ -0,0 +1,206 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.ai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.geometry.d2.Point2D;
+import org.arakhne.afc.math.geometry.d2.Shape2D;
+import org.arakhne.afc.math.geometry.d2.d.Circle2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.arakhne.afc.math.geometry.d2.i.Circle2i;
+import org.arakhne.afc.math.geometry.d2.i.MultiShape2i;
+import org.arakhne.afc.math.geometry.d2.i.Path2i;
+import org.arakhne.afc.math.geometry.d2.i.Rectangle2i;
+import org.arakhne.afc.math.geometry.d2.i.Segment2i;
+import org.arakhne.afc.math.geometry.d2.i.Shape2i;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class ShapeDispatch2aiTest extends AbstractMathTestCase {
+
+	private static final int SHAPE_COUNT = 60;
+
+	private static final int SIZE = 50;
+
+	private Random random;
+
+	private List<Shape2i<?>> shapes;
+
+	@Before
+	public void setUp() {
+		this.random = new Random(4321);
+		this.shapes = new ArrayList<>();
+		for (int i = 0; i < SHAPE_COUNT; ++i) {
+			this.shapes.add(newShape(i % 4));
+		}
+	}
+
+	private int coord() {
+		return this.random.nextInt(SIZE);
+	}
+
+	private int size() {
+		return this.random.nextInt(10) + 1;
+	}
+
+	private Shape2i<?> newShape(int type) {
+		final int x = coord();
+		final int y = coord();
+		switch (type) {
+		case 0:
+			return new Circle2i(x, y, size());
+		case 1:
+			return new Rectangle2i(x, y, size(), size());
+		case 2:
+			return new Segment2i(x, y, x + size(), y + size() - 6);
+		default:
+			final Path2i path = new Path2i();
+			path.moveTo(x, y);
+			path.lineTo(x + size(), y + size());
+			path.lineTo(x + size(), y - size());
+			path.closePath();
+			return path;
+		}
+	}
+
+	private static boolean typedIntersects(Shape2i<?> shape1, Shape2i<?> shape2) {
+		if (shape2 instanceof Circle2i) {
+			return shape1.intersects((Circle2i) shape2);
+		}
+		if (shape2 instanceof Rectangle2i) {
+			return shape1.intersects((Rectangle2i) shape2);
+		}
+		if (shape2 instanceof Segment2i) {
+			return shape1.intersects((Segment2i) shape2);
+		}
+		return shape1.intersects((Path2i) shape2);
+	}
+
+	private static double typedDistanceSquared(Shape2i<?> shape1, Shape2i<?> shape2) {
+		if (shape2 instanceof Circle2i) {
+			return shape1.getDistanceSquared((Circle2i) shape2);
+		}
+		if (shape2 instanceof Rectangle2i) {
+			return shape1.getDistanceSquared((Rectangle2i) shape2);
+		}
+		if (shape2 instanceof Segment2i) {
+			return shape1.getDistanceSquared((Segment2i) shape2);
+		}
+		return shape1.getDistanceSquared((Path2i) shape2);
+	}
+
+	private static Point2D<?, ?> typedClosestPointTo(Shape2i<?> shape1, Shape2i<?> shape2) {
+		if (shape2 instanceof Circle2i) {
+			return shape1.getClosestPointTo((Circle2i) shape2);
+		}
+		if (shape2 instanceof Rectangle2i) {
+			return shape1.getClosestPointTo((Rectangle2i) shape2);
+		}
+		if (shape2 instanceof Segment2i) {
+			return shape1.getClosestPointTo((Segment2i) shape2);
+		}
+		return shape1.getClosestPointTo((Path2i) shape2);
+	}
+
+	@Test
+	public void intersects() {
+		int intersections = 0;
+		for (final Shape2i<?> shape1 : this.shapes) {
+			for (final Shape2i<?> shape2 : this.shapes) {
+				final boolean expected = typedIntersects(shape1, shape2);
+				assertEquals(expected, ShapeDispatch2ai.intersects(shape1, shape2));
+				assertEquals(expected, shape1.intersects((Shape2D) shape2));
+				if (expected) {
+					++intersections;
+				}
+			}
+		}
+		assertTrue(intersections > SHAPE_COUNT);
+	}
+
+	@Test
+	public void intersects_multishape() {
+		final Rectangle2i rectangle = new Rectangle2i(0, 0, 10, 10);
+		assertFalse(rectangle.intersects((Shape2D) new MultiShape2i<>(new Circle2i(30, 30, 2))));
+		assertTrue(rectangle.intersects((Shape2D) new MultiShape2i<>(new Circle2i(30, 30, 2), new Circle2i(11, 11, 2))));
+	}
+
+	@Test
+	public void intersects_otherKind() {
+		final Circle2i circle = new Circle2i(5, 5, 1);
+		assertTrue(circle.intersects((Shape2D) new Circle2d(5, 5, 1)));
+	}
+
+	@Test
+	public void intersects_otherKindDisjoint() {
+		final Circle2i circle = new Circle2i(5, 5, 1);
+		assertFalse(circle.intersects((Shape2D) new Circle2d(30, 30, 2)));
+		assertFalse(circle.intersects((Shape2D) new Rectangle2d(10, 10, 5, 5)));
+		assertTrue(circle.intersects((Shape2D) new Rectangle2d(5, 5, 5, 5)));
+	}
+
+	@Test
+	public void getDistanceSquared() {
+		for (final Shape2i<?> shape1 : this.shapes) {
+			for (final Shape2i<?> shape2 : this.shapes) {
+				assertEpsilonEquals(typedDistanceSquared(shape1, shape2), ShapeDispatch2ai.getDistanceSquared(shape1, shape2));
+				assertEpsilonEquals(typedDistanceSquared(shape1, shape2), shape1.getDistanceSquared((Shape2D) shape2));
+			}
+		}
+	}
+
+	@Test
+	public void getDistanceSquared_multishape() {
+		final Rectangle2i rectangle = new Rectangle2i(0, 0, 10, 10);
+		assertEpsilonEquals(400, rectangle.getDistanceSquared((Shape2D) new MultiShape2i<>(new Rectangle2i(30, 10, 2, 2))));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void getDistanceSquared_otherKind() {
+		new Circle2i(5, 5, 1).getDistanceSquared((Shape2D) new Circle2d(5, 5, 1));
+	}
+
+	@Test
+	public void getClosestPointTo() {
+		for (final Shape2i<?> shape1 : this.shapes) {
+			for (final Shape2i<?> shape2 : this.shapes) {
+				final Point2D<?, ?> expected = typedClosestPointTo(shape1, shape2);
+				assertEquals(expected, ShapeDispatch2ai.getClosestPointTo(shape1, shape2));
+				assertEquals(expected, shape1.getClosestPointTo((Shape2D) shape2));
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void getClosestPointTo_otherKind() {
+		new Circle2i(5, 5, 1).getClosestPointTo((Shape2D) new Circle2d(5, 5, 1));
+	}
+
+}
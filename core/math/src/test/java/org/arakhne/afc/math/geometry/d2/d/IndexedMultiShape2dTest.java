@@ -0,0 +1,87 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d2.d;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.arakhne.afc.math.geometry.d2.afp.AbstractMultiShape2afpTest;
+import org.arakhne.afc.math.geometry.d2.afp.MultiShape2afp;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class IndexedMultiShape2dTest extends AbstractMultiShape2afpTest<MultiShape2d<Shape2d<?>>, Shape2d<?>, Rectangle2d> {
+
+	@Override
+	protected TestShapeFactory2d createFactory() {
+		return new TestShapeFactory2d() {
+			@Override
+			public MultiShape2afp<?, ?, ?, ?, Point2d, Vector2d, Rectangle2d> createMultiShape() {
+				return new IndexedMultiShape2d();
+			}
+		};
+	}
+
+	@Test
+	public void getShapesContaining_afterMove() {
+		assertTrue(this.shape.contains(6, 8.5));
+		this.firstObject.translate(100, 100);
+		assertFalse(this.shape.contains(6, 8.5));
+		assertTrue(this.shape.contains(106, 108.5));
+		assertSame(this.firstObject, this.shape.getFirstShapeContaining(new Point2d(106, 108.5)));
+	}
+
+	@Test
+	public void getShapesContaining_afterAddition() {
+		assertNull(this.shape.getFirstShapeContaining(new Point2d(50, 50)));
+		final Circle2d circle = new Circle2d(50, 50, 1);
+		this.shape.add(circle);
+		assertSame(circle, this.shape.getFirstShapeContaining(new Point2d(50, 50)));
+		this.shape.remove(circle);
+		assertNull(this.shape.getFirstShapeContaining(new Point2d(50, 50)));
+	}
+
+	@Test
+	public void getNearestShapes() {
+		final IndexedMultiShape2d<Shape2d<?>> multishape = (IndexedMultiShape2d<Shape2d<?>>) this.shape;
+		assertSame(this.firstObject, multishape.getNearestShape(new Point2d(10, 10)));
+		assertSame(this.secondObject, multishape.getNearestShape(new Point2d(-10, 20)));
+		final List<Shape2d<?>> nearest = multishape.getNearestShapes(new Point2d(10, 10), 5);
+		assertEquals(2, nearest.size());
+		assertSame(this.firstObject, nearest.get(0));
+		assertSame(this.secondObject, nearest.get(1));
+	}
+
+	@Test
+	public void getShapesInWindow() {
+		final IndexedMultiShape2d<Shape2d<?>> multishape = (IndexedMultiShape2d<Shape2d<?>>) this.shape;
+		final List<Shape2d<?>> shapes = multishape.getShapesInWindow(new Rectangle2d(0, 0, 6, 8));
+		assertEquals(1, shapes.size());
+		assertSame(this.firstObject, shapes.get(0));
+		assertTrue(multishape.getShapesInWindow(new Rectangle2d(100, 100, 1, 1)).isEmpty());
+	}
+
+}
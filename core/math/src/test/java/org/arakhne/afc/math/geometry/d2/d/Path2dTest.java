@@ -20,10 +20,23 @@
 
 package org.arakhne.afc.math.geometry.d2.d;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.arakhne.afc.math.geometry.PathElementType;
+import org.arakhne.afc.math.geometry.d2.Transform2D;
 import org.arakhne.afc.math.geometry.d2.afp.AbstractPath2afpTest;
+import org.arakhne.afc.math.geometry.d2.afp.Path2afp;
+import org.arakhne.afc.math.geometry.d2.afp.PathIterator2afp;
+import org.arakhne.afc.math.geometry.d2.afp.PathVisitor2afp;
 import org.arakhne.afc.math.geometry.d2.afp.TestShapeFactory;
 import org.arakhne.afc.math.geometry.d2.d.Path2d;
 import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.junit.Test;
 
 @SuppressWarnings("all")
 public class Path2dTest extends AbstractPath2afpTest<Path2d, Rectangle2d> {
@@ -33,4 +46,240 @@ public class Path2dTest extends AbstractPath2afpTest<Path2d, Rectangle2d> {
 		return TestShapeFactory2d.SINGLETON;
 	}
 
-}
\ No newline at end of file
+	private void assertSameProperties(Path2d expected, Path2d actual) {
+		assertEquals(expected.isEmpty(), actual.isEmpty());
+		assertEquals(expected.isPolyline(), actual.isPolyline());
+		assertEquals(expected.isPolygon(), actual.isPolygon());
+		assertEquals(expected.isCurved(), actual.isCurved());
+		assertEquals(expected.isMultiParts(), actual.isMultiParts());
+		assertEpsilonEquals(expected.getLength(), actual.getLength());
+		Rectangle2d box1 = expected.toBoundingBox();
+		Rectangle2d box2 = actual.toBoundingBox();
+		assertEpsilonEquals(box1.getMinX(), box2.getMinX());
+		assertEpsilonEquals(box1.getMinY(), box2.getMinY());
+		assertEpsilonEquals(box1.getMaxX(), box2.getMaxX());
+		assertEpsilonEquals(box1.getMaxY(), box2.getMaxY());
+		box1 = expected.toBoundingBoxWithCtrlPoints();
+		box2 = actual.toBoundingBoxWithCtrlPoints();
+		assertEpsilonEquals(box1.getMinX(), box2.getMinX());
+		assertEpsilonEquals(box1.getMinY(), box2.getMinY());
+		assertEpsilonEquals(box1.getMaxX(), box2.getMaxX());
+		assertEpsilonEquals(box1.getMaxY(), box2.getMaxY());
+	}
+
+	@Test
+	public void appendPolyline_empty() {
+		Path2d path = new Path2d();
+		path.appendPolyline(new double[] {9, 9, 1, 2, 3, 4, 5, 6}, 2, 6);
+		assertEquals(3, path.getPathElementCount());
+		assertEquals(PathElementType.MOVE_TO, path.getPathElementTypeAt(0));
+		assertEquals(PathElementType.LINE_TO, path.getPathElementTypeAt(1));
+		assertEquals(PathElementType.LINE_TO, path.getPathElementTypeAt(2));
+		assertArrayEquals(new double[] {1, 2, 3, 4, 5, 6}, path.toDoubleArray(), 0);
+		assertTrue(path.isPolyline());
+		assertEpsilonEquals(2 * Math.sqrt(8), path.getLength());
+	}
+
+	@Test
+	public void appendPolyline_notEmpty() {
+		Path2d path = new Path2d();
+		path.moveTo(0, 0);
+		path.lineTo(1, 0);
+		path.appendPolyline(new double[] {1, 1, 0, 1}, 0, 4);
+		path.closePath();
+		assertEquals(5, path.getPathElementCount());
+		assertEquals(PathElementType.LINE_TO, path.getPathElementTypeAt(2));
+		assertTrue(path.isPolygon());
+		assertEpsilonEquals(4, path.getLength());
+		assertSameProperties(new Path2d(path.getPathIterator()), path);
+	}
+
+	@Test
+	public void appendAll() {
+		Path2d source = new Path2d();
+		source.moveTo(5, 5);
+		source.quadTo(6, 8, 7, 5);
+		source.curveTo(8, 2, 9, 9, 10, 5);
+		source.closePath();
+		source.moveTo(-1, -1);
+		source.lineTo(-2, 3);
+		Path2d expected = new Path2d();
+		expected.moveTo(0, 0);
+		expected.lineTo(1, 1);
+		Path2d path = expected.clone();
+		expected.add(source.getPathIterator());
+		path.appendAll(source);
+		assertTrue(expected.equalsToShape(path));
+		assertSameProperties(expected, path);
+	}
+
+	@Test
+	public void appendAll_itself() {
+		Path2d path = new Path2d();
+		path.moveTo(0, 0);
+		path.lineTo(1, 1);
+		path.closePath();
+		path.appendAll(path);
+		assertEquals(6, path.getPathElementCount());
+		assertTrue(path.isMultiParts());
+		assertFalse(path.isPolygon());
+		assertSameProperties(new Path2d(path.getPathIterator()), path);
+	}
+
+	@Test
+	public void cachedProperties() {
+		Random random = new Random(3456);
+		Path2d path = new Path2d();
+		path.moveTo(0, 0);
+		for (int i = 0; i < 300; ++i) {
+			double x = random.nextDouble() * 100;
+			double y = random.nextDouble() * 100;
+			switch (random.nextInt(9)) {
+			case 0:
+				path.moveTo(x, y);
+				break;
+			case 1:
+				path.quadTo(y, x, x, y);
+				break;
+			case 2:
+				path.curveTo(x, x, y, y, x, y);
+				break;
+			case 3:
+				path.closePath();
+				break;
+			case 4:
+				path.translate(x, -y);
+				break;
+			case 5:
+				if (path.getPathElementCount() > 1) {
+					path.removeLast();
+				}
+				break;
+			case 6:
+				path.appendPolyline(new double[] {x, y, y, x}, 0, 4);
+				break;
+			default:
+				path.lineTo(x, y);
+				break;
+			}
+			assertSameProperties(new Path2d(path.getPathIterator()), path);
+		}
+	}
+
+	private static void assertSameFlattening(Path2d path, double flatness) {
+		final PathIterator2afp<PathElement2d> expected = new Path2afp.FlatteningPathIterator<>(
+				path.getPathIterator(null), flatness, Path2afp.DEFAULT_FLATTENING_LIMIT);
+		final PathIterator2afp<PathElement2d> actual = path.getPathIterator(flatness);
+		assertEquals(expected.isPolyline(), actual.isPolyline());
+		assertEquals(expected.isPolygon(), actual.isPolygon());
+		assertEquals(expected.isCurved(), actual.isCurved());
+		assertEquals(expected.isMultiParts(), actual.isMultiParts());
+		while (expected.hasNext()) {
+			assertTrue(actual.hasNext());
+			assertEquals(expected.next(), actual.next());
+		}
+		assertFalse(actual.hasNext());
+	}
+
+	private static Path2d createCurvedPath() {
+		final Path2d path = new Path2d();
+		path.moveTo(0, 0);
+		path.quadTo(10, 20, 20, 0);
+		path.curveTo(30, -20, 40, 20, 50, 0);
+		path.closePath();
+		path.moveTo(60, 0);
+		path.lineTo(70, 10);
+		path.quadTo(80, 0, 60, 0);
+		return path;
+	}
+
+	@Test
+	public void getPathIteratorDouble_flatteningCache() {
+		final Path2d path = createCurvedPath();
+		assertSameFlattening(path, .1);
+		assertSameFlattening(path, .1);
+		assertSameFlattening(path, 1);
+		path.curveTo(0, 10, -10, 10, -10, 0);
+		assertSameFlattening(path, 1);
+		path.translate(5, 5);
+		assertSameFlattening(path, 1);
+		path.setLastPoint(3, 4);
+		assertSameFlattening(path, 1);
+		path.removeLast();
+		assertSameFlattening(path, 1);
+	}
+
+	@Test
+	public void getPathIteratorDouble_snapshot() {
+		final Path2d path = createCurvedPath();
+		final Path2d expected = new Path2d(path.getPathIterator(.1));
+		final PathIterator2afp<PathElement2d> iterator = path.getPathIterator(.1);
+		path.translate(100, 100);
+		path.quadTo(0, 0, 10, 10);
+		assertTrue(expected.equalsToPathIterator(iterator));
+		assertFalse(expected.equalsToPathIterator(path.getPathIterator(.1)));
+	}
+
+	@Test
+	public void visitDouble_flatteningCache() {
+		final Path2d path = createCurvedPath();
+		for (int i = 0; i < 2; ++i) {
+			final Path2d expected = new Path2d(path.getPathIterator(.5));
+			final PathIterator2afp<PathElement2d> iterator = expected.getPathIterator();
+			path.visit(new PathVisitor2afp() {
+				@Override
+				public void moveTo(double x, double y) {
+					final PathElement2d element = iterator.next();
+					assertEquals(PathElementType.MOVE_TO, element.getType());
+					assertEquals(element.getToX(), x, 0);
+					assertEquals(element.getToY(), y, 0);
+				}
+				@Override
+				public void lineTo(double x, double y) {
+					final PathElement2d element = iterator.next();
+					assertEquals(PathElementType.LINE_TO, element.getType());
+					assertEquals(element.getToX(), x, 0);
+					assertEquals(element.getToY(), y, 0);
+				}
+				@Override
+				public void quadTo(double ctrlx, double ctrly, double x, double y) {
+					throw new AssertionError();
+				}
+				@Override
+				public void curveTo(double ctrlx1, double ctrly1, double ctrlx2, double ctrly2, double x, double y) {
+					throw new AssertionError();
+				}
+				@Override
+				public void closePath() {
+					assertEquals(PathElementType.CLOSE, iterator.next().getType());
+				}
+			}, .5);
+			assertFalse(iterator.hasNext());
+			path.translate(-3, 4);
+		}
+	}
+
+	@Test
+	public void setLastPoint_emptyCache() {
+		Path2d path = new Path2d();
+		path.moveTo(3, 3);
+		path.lineTo(3, 3);
+		path.setLastPoint(-3, 9);
+		assertFalse(path.isEmpty());
+		path.setLastPoint(3, 3);
+		assertTrue(path.isEmpty());
+	}
+
+	@Test
+	public void transform_emptyCache() {
+		Path2d path = new Path2d();
+		path.moveTo(3, 3);
+		path.lineTo(5, 3);
+		assertFalse(path.isEmpty());
+		Transform2D transform = new Transform2D();
+		transform.set(0, 0, 1, 0, 0, 2);
+		path.transform(transform);
+		assertTrue(path.isEmpty());
+	}
+
+}
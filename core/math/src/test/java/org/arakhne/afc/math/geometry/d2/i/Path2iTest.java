@@ -20,11 +20,21 @@
 
 package org.arakhne.afc.math.geometry.d2.i;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.arakhne.afc.math.geometry.PathElementType;
 import org.arakhne.afc.math.geometry.d2.Point2D;
+import org.arakhne.afc.math.geometry.d2.Transform2D;
 import org.arakhne.afc.math.geometry.d2.Vector2D;
 import org.arakhne.afc.math.geometry.d2.ai.AbstractPath2aiTest;
 import org.arakhne.afc.math.geometry.d2.ai.Circle2ai;
 import org.arakhne.afc.math.geometry.d2.ai.TestShapeFactory;
+import org.junit.Test;
 
 @SuppressWarnings("all")
 public class Path2iTest extends AbstractPath2aiTest<Path2i, Rectangle2i> {
@@ -34,4 +44,144 @@ public class Path2iTest extends AbstractPath2aiTest<Path2i, Rectangle2i> {
 		return TestShapeFactory2i.SINGLETON;
 	}
 
-}
\ No newline at end of file
+	private static void assertSameProperties(Path2i expected, Path2i actual) {
+		assertEquals(expected.isEmpty(), actual.isEmpty());
+		assertEquals(expected.isPolyline(), actual.isPolyline());
+		assertEquals(expected.isPolygon(), actual.isPolygon());
+		assertEquals(expected.isCurved(), actual.isCurved());
+		assertEquals(expected.isMultiParts(), actual.isMultiParts());
+		Rectangle2i box1 = expected.toBoundingBox();
+		Rectangle2i box2 = actual.toBoundingBox();
+		assertEquals(box1.getMinX(), box2.getMinX());
+		assertEquals(box1.getMinY(), box2.getMinY());
+		assertEquals(box1.getMaxX(), box2.getMaxX());
+		assertEquals(box1.getMaxY(), box2.getMaxY());
+		box1 = expected.toBoundingBoxWithCtrlPoints();
+		box2 = actual.toBoundingBoxWithCtrlPoints();
+		assertEquals(box1.getMinX(), box2.getMinX());
+		assertEquals(box1.getMinY(), box2.getMinY());
+		assertEquals(box1.getMaxX(), box2.getMaxX());
+		assertEquals(box1.getMaxY(), box2.getMaxY());
+	}
+
+	@Test
+	public void appendPolyline_empty() {
+		Path2i path = new Path2i();
+		path.appendPolyline(new int[] {9, 9, 1, 2, 3, 4, 5, 6}, 2, 6);
+		assertEquals(3, path.getPathElementCount());
+		assertEquals(PathElementType.MOVE_TO, path.getPathElementTypeAt(0));
+		assertEquals(PathElementType.LINE_TO, path.getPathElementTypeAt(1));
+		assertEquals(PathElementType.LINE_TO, path.getPathElementTypeAt(2));
+		assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6}, path.toIntArray());
+		assertTrue(path.isPolyline());
+	}
+
+	@Test
+	public void appendPolyline_notEmpty() {
+		Path2i path = new Path2i();
+		path.moveTo(0, 0);
+		path.lineTo(1, 0);
+		path.appendPolyline(new int[] {1, 1, 0, 1}, 0, 4);
+		path.closePath();
+		assertEquals(5, path.getPathElementCount());
+		assertEquals(PathElementType.LINE_TO, path.getPathElementTypeAt(2));
+		assertTrue(path.isPolygon());
+		assertSameProperties(new Path2i(path.getPathIterator()), path);
+	}
+
+	@Test
+	public void appendAll() {
+		Path2i source = new Path2i();
+		source.moveTo(5, 5);
+		source.quadTo(6, 8, 7, 5);
+		source.curveTo(8, 2, 9, 9, 10, 5);
+		source.closePath();
+		source.moveTo(-1, -1);
+		source.lineTo(-2, 3);
+		Path2i expected = new Path2i();
+		expected.moveTo(0, 0);
+		expected.lineTo(1, 1);
+		Path2i path = expected.clone();
+		expected.add(source.getPathIterator());
+		path.appendAll(source);
+		assertTrue(expected.equalsToShape(path));
+		assertSameProperties(expected, path);
+	}
+
+	@Test
+	public void appendAll_itself() {
+		Path2i path = new Path2i();
+		path.moveTo(0, 0);
+		path.lineTo(1, 1);
+		path.closePath();
+		path.appendAll(path);
+		assertEquals(6, path.getPathElementCount());
+		assertTrue(path.isMultiParts());
+		assertFalse(path.isPolygon());
+		assertSameProperties(new Path2i(path.getPathIterator()), path);
+	}
+
+	@Test
+	public void cachedProperties() {
+		Random random = new Random(3456);
+		Path2i path = new Path2i();
+		path.moveTo(0, 0);
+		for (int i = 0; i < 300; ++i) {
+			int x = random.nextInt(100);
+			int y = random.nextInt(100);
+			switch (random.nextInt(9)) {
+			case 0:
+				path.moveTo(x, y);
+				break;
+			case 1:
+				path.quadTo(y, x, x, y);
+				break;
+			case 2:
+				path.curveTo(x, x, y, y, x, y);
+				break;
+			case 3:
+				path.closePath();
+				break;
+			case 4:
+				path.translate(x, -y);
+				break;
+			case 5:
+				if (path.getPathElementCount() > 1) {
+					path.removeLast();
+				}
+				break;
+			case 6:
+				path.appendPolyline(new int[] {x, y, y, x}, 0, 4);
+				break;
+			default:
+				path.lineTo(x, y);
+				break;
+			}
+			assertSameProperties(new Path2i(path.getPathIterator()), path);
+		}
+	}
+
+	@Test
+	public void setLastPoint_emptyCache() {
+		Path2i path = new Path2i();
+		path.moveTo(3, 3);
+		path.lineTo(3, 3);
+		path.setLastPoint(-3, 9);
+		assertFalse(path.isEmpty());
+		path.setLastPoint(3, 3);
+		assertTrue(path.isEmpty());
+	}
+
+	@Test
+	public void transform_emptyCache() {
+		Path2i path = new Path2i();
+		path.moveTo(3, 3);
+		path.lineTo(5, 3);
+		assertFalse(path.isEmpty());
+		Transform2D transform = new Transform2D();
+		transform.set(0, 0, 1, 0, 0, 2);
+		path.transform(transform);
+		assertTrue(path.isEmpty());
+	}
+
+}
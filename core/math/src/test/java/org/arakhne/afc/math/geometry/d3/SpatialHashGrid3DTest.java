@@ -0,0 +1,179 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.geometry.d3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class SpatialHashGrid3DTest extends AbstractMathTestCase {
+
+	private static final int POINT_COUNT = 1000;
+
+	private static final double SIZE = 50;
+
+	private Random random;
+
+	private SpatialHashGrid3D<String> grid;
+
+	private List<Integer> ids;
+
+	@Before
+	public void setUp() {
+		this.random = new Random(5678);
+		this.grid = new SpatialHashGrid3D<>(0, 0, 0, SIZE, SIZE, SIZE, 5);
+		this.ids = new ArrayList<>();
+	}
+
+	private double coord() {
+		// Some points are outside the area of the grid
+		return this.random.nextDouble() * (SIZE + 20) - 10;
+	}
+
+	private void fill() {
+		for (int i = 0; i < POINT_COUNT; ++i) {
+			this.ids.add(this.grid.add("p" + i, coord(), coord(), coord()));
+		}
+	}
+
+	private double distanceSquared(int id, double x, double y, double z) {
+		final double dx = this.grid.getX(id) - x;
+		final double dy = this.grid.getY(id) - y;
+		final double dz = this.grid.getZ(id) - z;
+		return dx * dx + dy * dy + dz * dz;
+	}
+
+	private Set<Long> bruteForcePairs(double distance) {
+		final Set<Long> pairs = new HashSet<>();
+		for (final int id1 : this.ids) {
+			for (final int id2 : this.ids) {
+				if (id1 < id2 && distanceSquared(id1, this.grid.getX(id2), this.grid.getY(id2), this.grid.getZ(id2))
+						<= distance * distance) {
+					pairs.add(((long) id1 << 32) | id2);
+				}
+			}
+		}
+		return pairs;
+	}
+
+	private void assertQueries() {
+		for (int i = 0; i < 20; ++i) {
+			final double x = coord();
+			final double y = coord();
+			final double z = coord();
+			final double size = this.random.nextDouble() * 20;
+			final Set<Integer> box = new HashSet<>();
+			final Set<Integer> sphere = new HashSet<>();
+			for (final int id : this.ids) {
+				final double px = this.grid.getX(id);
+				final double py = this.grid.getY(id);
+				final double pz = this.grid.getZ(id);
+				if (px >= x && px <= x + size && py >= y && py <= y + size && pz >= z && pz <= z + size) {
+					box.add(id);
+				}
+				if (distanceSquared(id, x, y, z) <= size * size) {
+					sphere.add(id);
+				}
+			}
+			final Set<Integer> found = new HashSet<>();
+			assertTrue(this.grid.visitInBox(x, y, z, x + size, y + size, z + size, id -> found.add(id)));
+			assertEquals(box, found);
+			found.clear();
+			assertTrue(this.grid.visitInSphere(x, y, z, size, id -> found.add(id)));
+			assertEquals(sphere, found);
+		}
+	}
+
+	@Test
+	public void add() {
+		assertEquals(10, this.grid.getLayerCount());
+		final int id = this.grid.add("a", 1, 2, 3);
+		assertEquals(1, this.grid.add(4, 5, 6));
+		assertEquals(2, this.grid.size());
+		assertEpsilonEquals(3, this.grid.getZ(id));
+		assertSame("a", this.grid.getData(id));
+	}
+
+	@Test
+	public void remove() {
+		fill();
+		for (int i = 0; i < POINT_COUNT / 2; ++i) {
+			final int id = this.ids.remove(this.random.nextInt(this.ids.size()));
+			assertTrue(this.grid.remove(id));
+			assertFalse(this.grid.remove(id));
+		}
+		assertEquals(POINT_COUNT / 2, this.grid.size());
+		assertQueries();
+	}
+
+	@Test
+	public void move() {
+		fill();
+		for (int step = 0; step < 5; ++step) {
+			for (final int id : this.ids) {
+				if (this.random.nextBoolean()) {
+					assertTrue(this.grid.move(id, coord(), coord(), coord()));
+				} else {
+					assertTrue(this.grid.move(id, this.grid.getX(id) + this.random.nextDouble() - .5,
+							this.grid.getY(id) + this.random.nextDouble() - .5,
+							this.grid.getZ(id) + this.random.nextDouble() - .5));
+				}
+			}
+			assertQueries();
+		}
+		assertFalse(this.grid.move(POINT_COUNT, 1, 1, 1));
+	}
+
+	@Test
+	public void visitPairs() {
+		fill();
+		for (final double distance : new double[] {0, 3, 5, 11}) {
+			final Set<Long> pairs = new HashSet<>();
+			this.grid.visitPairs(distance, (id1, id2, squared) -> {
+				assertTrue(id1 < id2);
+				assertTrue(pairs.add(((long) id1 << 32) | id2));
+			});
+			assertEquals(bruteForcePairs(distance), pairs);
+		}
+	}
+
+	@Test
+	public void visitPairsParallel() {
+		fill();
+		final Set<Long> pairs = ConcurrentHashMap.newKeySet();
+		this.grid.visitPairsParallel(6, (id1, id2, squared) -> assertTrue(pairs.add(((long) id1 << 32) | id2)));
+		assertEquals(bruteForcePairs(6), pairs);
+	}
+
+}
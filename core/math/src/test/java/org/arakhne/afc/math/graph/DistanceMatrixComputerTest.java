@@ -0,0 +1,277 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.graph.astar.AStar;
+import org.arakhne.afc.math.graph.astar.AStarCostComputer;
+import org.arakhne.afc.math.graph.astar.DefaultAStarSegmentOrientation;
+import org.arakhne.afc.math.graph.compact.CompactGraph;
+import org.arakhne.afc.math.graph.compact.CompactGraphPoint;
+import org.arakhne.afc.math.graph.compact.CompactGraphSegment;
+import org.arakhne.afc.math.graph.compact.CompactGraphTest.CompactGraphPath;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class DistanceMatrixComputerTest extends AbstractMathTestCase {
+
+	// A=0, B=1, C=2, D=3, E=4
+	// Segments: A-B, B-D, C-A, D-A, D-C, D-E, E-C
+	private static final int[] BEGINS = {0, 1, 2, 3, 3, 3, 4};
+	private static final int[] ENDS = {1, 3, 0, 0, 2, 4, 2};
+	private static final double[] LENGTHS = {20, 20, 20, Math.sqrt(800), 20, Math.sqrt(500), Math.sqrt(500)};
+
+	private CompactGraph graph;
+
+	private CompactGraphPoint A, B, C, D, E;
+
+	private DistanceMatrixComputer<CompactGraphSegment, CompactGraphPoint> computer;
+
+	/**
+	 */
+	@Before
+	public void setUp() {
+		this.graph = new CompactGraph(5, BEGINS, ENDS, LENGTHS);
+		this.A = this.graph.getPointAt(0);
+		this.B = this.graph.getPointAt(1);
+		this.C = this.graph.getPointAt(2);
+		this.D = this.graph.getPointAt(3);
+		this.E = this.graph.getPointAt(4);
+		this.computer = new DistanceMatrixComputer<>(this.graph);
+	}
+
+	/**
+	 */
+	@After
+	public void tearDown() {
+		this.computer = null;
+		this.A = this.B = this.C = this.D = this.E = null;
+		this.graph = null;
+	}
+
+	/**
+	 */
+	@Test
+	public void getGraph() {
+		assertSame(this.graph, this.computer.getGraph());
+	}
+
+	/**
+	 */
+	@Test
+	public void setCostComputer() {
+		assertNull(this.computer.getCostComputer());
+		AStarCostComputer<CompactGraphSegment, CompactGraphPoint> costComputer =
+				new AStarCostComputer<CompactGraphSegment, CompactGraphPoint>() {
+					//
+				};
+		assertNull(this.computer.setCostComputer(costComputer));
+		assertSame(costComputer, this.computer.getCostComputer());
+	}
+
+	/**
+	 */
+	@Test
+	public void setEarlyTermination() {
+		assertTrue(this.computer.isEarlyTermination());
+		assertTrue(this.computer.setEarlyTermination(false));
+		assertFalse(this.computer.isEarlyTermination());
+	}
+
+	/**
+	 */
+	@Test
+	public void setParallelism() {
+		assertEquals(1, this.computer.getParallelism());
+		assertEquals(1, this.computer.setParallelism(4));
+		assertEquals(4, this.computer.getParallelism());
+		this.computer.setParallelism(0);
+		assertEquals(1, this.computer.getParallelism());
+	}
+
+	/**
+	 */
+	@Test
+	public void computeOneToMany_notOriented() {
+		double[] costs = this.computer.computeOneToMany(this.A,
+				Arrays.asList(this.A, this.B, this.C, this.D, this.E));
+		assertEpsilonEquals(0, costs[0]);
+		assertEpsilonEquals(20, costs[1]);
+		assertEpsilonEquals(20, costs[2]);
+		assertEpsilonEquals(Math.sqrt(800), costs[3]);
+		assertEpsilonEquals(20 + Math.sqrt(500), costs[4]);
+	}
+
+	/**
+	 */
+	@Test
+	public void computeOneToMany_oriented() {
+		this.computer.setSegmentOrientationTool(new DefaultAStarSegmentOrientation<>());
+		double[] costs = this.computer.computeOneToMany(this.A,
+				Arrays.asList(this.A, this.B, this.C, this.D, this.E));
+		assertEpsilonEquals(0, costs[0]);
+		assertEpsilonEquals(20, costs[1]);
+		assertEpsilonEquals(60, costs[2]);
+		assertEpsilonEquals(40, costs[3]);
+		assertEpsilonEquals(40 + Math.sqrt(500), costs[4]);
+	}
+
+	/**
+	 */
+	@Test
+	public void computeOneToMany_pointCosts() {
+		this.computer.setCostComputer(new AStarCostComputer<CompactGraphSegment, CompactGraphPoint>() {
+			@Override
+			public double computeCostFor(CompactGraphPoint pt) {
+				return 1;
+			}
+		});
+		double[] costs = this.computer.computeOneToMany(this.A, Arrays.asList(this.E, this.D));
+		assertEpsilonEquals(22 + Math.sqrt(500), costs[0]);
+		assertEpsilonEquals(1 + Math.sqrt(800), costs[1]);
+	}
+
+	/**
+	 */
+	@Test
+	public void computeOneToMany_unreachable() {
+		CompactGraph other = new CompactGraph(2, new int[] {0}, new int[] {1}, new double[] {5});
+		double[] costs = this.computer.computeOneToMany(this.A, Arrays.asList(this.B, other.getPointAt(1)));
+		assertEpsilonEquals(20, costs[0]);
+		assertEquals(Double.POSITIVE_INFINITY, costs[1], 0);
+		costs = this.computer.computeOneToMany(other.getPointAt(0), Arrays.asList(this.B));
+		assertEquals(Double.POSITIVE_INFINITY, costs[0], 0);
+	}
+
+	/**
+	 */
+	@Test
+	public void computeOneToMany_offset() {
+		double[] costs = new double[4];
+		this.computer.computeOneToMany(this.B, Arrays.asList(this.A, this.A), costs, 2);
+		assertEpsilonEquals(0, costs[0]);
+		assertEpsilonEquals(0, costs[1]);
+		assertEpsilonEquals(20, costs[2]);
+		assertEpsilonEquals(20, costs[3]);
+	}
+
+	/**
+	 */
+	@Test
+	public void computeManyToMany() {
+		List<CompactGraphPoint> points = Arrays.asList(this.A, this.B, this.C, this.D, this.E);
+		double[] matrix = this.computer.computeManyToMany(points, points);
+		assertEquals(25, matrix.length);
+		for (int i = 0; i < 5; ++i) {
+			double[] row = this.computer.computeOneToMany(points.get(i), points);
+			for (int j = 0; j < 5; ++j) {
+				assertEpsilonEquals(row[j], matrix[i * 5 + j]);
+				assertEpsilonEquals(matrix[j * 5 + i], matrix[i * 5 + j]);
+			}
+		}
+	}
+
+	/**
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void computeManyToMany_tooSmallMatrix() {
+		List<CompactGraphPoint> points = Arrays.asList(this.A, this.B);
+		this.computer.computeManyToMany(points, points, new double[3]);
+	}
+
+	/**
+	 */
+	@Test
+	public void computeManyToMany_parallelGrid() {
+		final int size = 15;
+		final Random random = new Random(1234);
+		final int count = 2 * size * size - 2 * size;
+		final int[] begins = new int[count];
+		final int[] ends = new int[count];
+		final double[] lengths = new double[count];
+		int s = 0;
+		for (int y = 0; y < size; ++y) {
+			for (int x = 0; x < size; ++x) {
+				final int index = y * size + x;
+				if (x + 1 < size) {
+					begins[s] = index;
+					ends[s] = index + 1;
+					lengths[s] = 1 + random.nextDouble() * 9;
+					++s;
+				}
+				if (y + 1 < size) {
+					begins[s] = index;
+					ends[s] = index + size;
+					lengths[s] = 1 + random.nextDouble() * 9;
+					++s;
+				}
+			}
+		}
+		final CompactGraph grid = new CompactGraph(size * size, begins, ends, lengths);
+		final List<CompactGraphPoint> origins = new ArrayList<>();
+		final List<CompactGraphPoint> targets = new ArrayList<>();
+		for (int i = 0; i < 20; ++i) {
+			origins.add(grid.getPointAt(random.nextInt(size * size)));
+			targets.add(grid.getPointAt(random.nextInt(size * size)));
+		}
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final DistanceMatrixComputer<CompactGraphSegment, CompactGraphPoint> gridComputer =
+					new DistanceMatrixComputer<>(grid);
+			gridComputer.setExecutor(executor);
+			gridComputer.setParallelism(4);
+			final double[] matrix = gridComputer.computeManyToMany(origins, targets);
+			final AStar<CompactGraphPath, CompactGraphSegment, CompactGraphPoint> astar =
+					new AStar<>((p1, p2) -> 0, CompactGraphPath.class);
+			for (int i = 0; i < origins.size(); ++i) {
+				for (int j = 0; j < targets.size(); ++j) {
+					final CompactGraphPath path = astar.solve(origins.get(i), targets.get(j));
+					final double expected = path == null ? 0 : path.getLength();
+					assertEpsilonEquals(expected, matrix[i * targets.size() + j]);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,215 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.graph.compact.CompactGraph;
+import org.arakhne.afc.math.graph.compact.CompactGraphPoint;
+import org.arakhne.afc.math.graph.compact.CompactGraphSegment;
+import org.arakhne.afc.math.graph.compact.CompactGraphTest.CompactGraphPath;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class AStarBatchSolverTest extends AbstractMathTestCase {
+
+	private static final int WIDTH = 20;
+
+	private static final int HEIGHT = 20;
+
+	private CompactGraph graph;
+
+	private ExecutorService executor;
+
+	private AStarBatchSolver<CompactGraphPath, CompactGraphSegment, CompactGraphPoint> solver;
+
+	/**
+	 */
+	@Before
+	public void setUp() {
+		Random random = new Random(1234);
+		int count = 2 * WIDTH * HEIGHT - WIDTH - HEIGHT;
+		int[] begins = new int[count];
+		int[] ends = new int[count];
+		double[] lengths = new double[count];
+		int s = 0;
+		for (int y = 0; y < HEIGHT; ++y) {
+			for (int x = 0; x < WIDTH; ++x) {
+				int index = y * WIDTH + x;
+				if (x + 1 < WIDTH) {
+					begins[s] = index;
+					ends[s] = index + 1;
+					lengths[s] = 1 + random.nextDouble() * 9;
+					++s;
+				}
+				if (y + 1 < HEIGHT) {
+					begins[s] = index;
+					ends[s] = index + WIDTH;
+					lengths[s] = 1 + random.nextDouble() * 9;
+					++s;
+				}
+			}
+		}
+		this.graph = new CompactGraph(WIDTH * HEIGHT, begins, ends, lengths);
+		this.executor = Executors.newFixedThreadPool(4);
+		this.solver = new AStarBatchSolver<>(() -> newAStar(), this.executor);
+	}
+
+	/**
+	 */
+	@After
+	public void tearDown() {
+		this.executor.shutdownNow();
+		this.executor = null;
+		this.solver = null;
+		this.graph = null;
+	}
+
+	private static AStar<CompactGraphPath, CompactGraphSegment, CompactGraphPoint> newAStar() {
+		return new AStar<>((p1, p2) -> 0, CompactGraphPath.class);
+	}
+
+	private List<Entry<CompactGraphPoint, CompactGraphPoint>> randomQueries(int count) {
+		Random random = new Random(5678);
+		List<Entry<CompactGraphPoint, CompactGraphPoint>> queries = new ArrayList<>();
+		for (int i = 0; i < count; ++i) {
+			queries.add(new SimpleEntry<>(
+					this.graph.getPointAt(random.nextInt(WIDTH * HEIGHT)),
+					this.graph.getPointAt(random.nextInt(WIDTH * HEIGHT))));
+		}
+		return queries;
+	}
+
+	/**
+	 */
+	@Test
+	public void getExecutor() {
+		assertSame(this.executor, this.solver.getExecutor());
+		assertSame(this.executor, this.solver.setExecutor(null));
+		assertTrue(this.solver.getExecutor() != null);
+	}
+
+	/**
+	 */
+	@Test
+	public void setParallelism() {
+		assertEquals(Runtime.getRuntime().availableProcessors(), this.solver.getParallelism());
+		this.solver.setParallelism(3);
+		assertEquals(3, this.solver.getParallelism());
+		this.solver.setParallelism(-5);
+		assertEquals(1, this.solver.getParallelism());
+	}
+
+	/**
+	 */
+	@Test
+	public void solveEmpty() {
+		assertTrue(this.solver.solve(new ArrayList<Entry<CompactGraphPoint, CompactGraphPoint>>()).isEmpty());
+	}
+
+	/**
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void solveInvalidSizes() {
+		List<CompactGraphPoint> starts = new ArrayList<>();
+		starts.add(this.graph.getPointAt(0));
+		this.solver.solve(starts, new ArrayList<CompactGraphPoint>());
+	}
+
+	/**
+	 */
+	@Test
+	public void solve() {
+		this.solver.setParallelism(4);
+		List<Entry<CompactGraphPoint, CompactGraphPoint>> queries = randomQueries(200);
+		List<CompactGraphPath> paths = this.solver.solve(queries);
+		assertEquals(queries.size(), paths.size());
+		AStar<CompactGraphPath, CompactGraphSegment, CompactGraphPoint> astar = newAStar();
+		for (int i = 0; i < queries.size(); ++i) {
+			Entry<CompactGraphPoint, CompactGraphPoint> query = queries.get(i);
+			CompactGraphPath expected = astar.solve(query.getKey(), query.getValue());
+			CompactGraphPath actual = paths.get(i);
+			if (expected == null) {
+				assertNull(actual);
+			} else {
+				assertEquals(query.getKey(), actual.getFirstPoint());
+				assertEquals(query.getValue(), actual.getLastPoint());
+				assertEpsilonEquals(expected.getLength(), actual.getLength());
+			}
+		}
+		assertTrue(this.solver.getPoolSize() >= 1);
+		assertTrue(this.solver.getPoolSize() <= 4);
+	}
+
+	/**
+	 */
+	@Test
+	public void solve_reusePool() {
+		this.solver.setParallelism(2);
+		List<Entry<CompactGraphPoint, CompactGraphPoint>> queries = randomQueries(50);
+		List<CompactGraphPath> paths1 = this.solver.solve(queries);
+		int poolSize = this.solver.getPoolSize();
+		List<CompactGraphPath> paths2 = this.solver.solve(queries);
+		assertEquals(poolSize, this.solver.getPoolSize());
+		for (int i = 0; i < queries.size(); ++i) {
+			assertEpsilonEquals(paths1.get(i).getLength(), paths2.get(i).getLength());
+		}
+	}
+
+	/**
+	 */
+	@Test
+	public void solve_exception() {
+		AStarBatchSolver<CompactGraphPath, CompactGraphSegment, CompactGraphPoint> failingSolver =
+				new AStarBatchSolver<>(() -> new AStar<CompactGraphPath, CompactGraphSegment, CompactGraphPoint>(
+						(p1, p2) -> {
+							throw new IllegalStateException();
+						}, CompactGraphPath.class), this.executor);
+		try {
+			failingSolver.solve(randomQueries(10));
+			fail("Expecting IllegalStateException");
+		} catch (IllegalStateException exception) {
+			//
+		}
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.arakhne.afc.math.graph.Graph;
+import org.arakhne.afc.math.graph.GraphIterator;
+
+/**
+ * This class representes a graph.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+class AStarGraphStub implements Graph<AStarEdgeStub,AStarNodeStub> {
+
+	private final List<AStarEdgeStub> segments = new ArrayList<>();
+
+	/**
+	 * @param segments
+	 */
+	public AStarGraphStub(AStarEdgeStub... segments) {
+		for (AStarEdgeStub segment : segments) {
+			this.segments.add(segment);
+		}
+	}
+
+	/**
+	 * @param segment
+	 */
+	public void add(AStarEdgeStub segment) {
+		this.segments.add(segment);
+	}
+
+	@Override
+	public Iterator<AStarEdgeStub> iterator() {
+		return this.segments.iterator();
+	}
+
+	@Override
+	public int getSegmentCount() {
+		return this.segments.size();
+	}
+
+	@Override
+	public int getPointCount() {
+		Set<AStarNodeStub> points = new HashSet<>();
+		for (AStarEdgeStub segment : this.segments) {
+			points.add(segment.getBeginPoint());
+			points.add(segment.getEndPoint());
+		}
+		return points.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.segments.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object obj) {
+		return this.segments.contains(obj);
+	}
+
+	@Override
+	public GraphIterator<AStarEdgeStub, AStarNodeStub> iterator(AStarEdgeStub starting_segment,
+			AStarNodeStub starting_point, boolean allowManyReplies, boolean assumeOrientedSegments) {
+		return new GraphIterator<>(this, starting_segment, starting_point, allowManyReplies,
+				assumeOrientedSegments, 0);
+	}
+
+	@Override
+	public GraphIterator<AStarEdgeStub, AStarNodeStub> depthIterator(AStarEdgeStub startingSegment,
+			double depth, double position_from_starting_point, AStarNodeStub startingPoint,
+			boolean allowManyReplies, boolean assumeOrientedSegments) {
+		throw new UnsupportedOperationException();
+	}
+
+}
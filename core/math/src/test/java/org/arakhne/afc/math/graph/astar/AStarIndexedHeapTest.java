@@ -0,0 +1,219 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class AStarIndexedHeapTest extends AbstractMathTestCase {
+
+	private AStar<AStarPathStub,AStarEdgeStub,AStarNodeStub> astar;
+	private AStarNodeStub A, B, C, D, E;
+	@SuppressWarnings("unused")
+	private AStarEdgeStub AB, CA, DA, BD, EC, DE, DC;
+	private AStarHeuristicStub h;
+	
+	/**
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		this.h = new AStarHeuristicStub();
+		this.astar = new AStar<>(this.h, AStarPathStub.class);
+		this.astar.setListType(AStarListType.INDEXED_HEAP);
+		this.A = new AStarNodeStub("A", 0, 0); 
+		this.B = new AStarNodeStub("B", 20, 0); 
+		this.C = new AStarNodeStub("C", 0, 20); 
+		this.D = new AStarNodeStub("D", 20, 20); 
+		this.E = new AStarNodeStub("E", 10, 40); 
+		this.AB = new AStarEdgeStub("A-B", this.A, this.B, true); 
+		this.BD = new AStarEdgeStub("B-D", this.B, this.D, true); 
+		this.CA = new AStarEdgeStub("C-A", this.C, this.A, true); 
+		this.DA = new AStarEdgeStub("D-A", this.D, this.A, true); 
+		this.DC = new AStarEdgeStub("D-C", this.D, this.C, true); 
+		this.DE = new AStarEdgeStub("D-E", this.D, this.E, true); 
+		this.EC = new AStarEdgeStub("E-C", this.E, this.C, true); 
+		reset();
+	}
+	
+	/**
+	 * @throws Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		this.astar = null;
+		this.AB = this.CA = this.DA = this.BD = this.EC = this.DE = this.DC = null;
+		this.A = this.B = this.C = this.D = this.E = null;
+		this.h = null;
+	}
+	
+	private void reset() {
+		for (AStarNodeStub node : new AStarNodeStub[] {this.A, this.B, this.C, this.D, this.E}) {
+			node.setArrivalConnection(null);
+			node.setCost(Double.NaN);
+			node.setEstimatedCost(Double.NaN);
+		}
+	}
+
+	/**
+	 */
+	@Test
+	public void getListType() {
+		assertSame(AStarListType.INDEXED_HEAP, this.astar.getListType());
+		assertSame(AStarListType.INDEXED_HEAP, this.astar.setListType(null));
+		assertSame(AStarListType.SORTED_LIST, this.astar.getListType());
+	}
+
+	/**
+	 */
+	@Test
+	public void findPathPTPT() {
+		List<AStarNode<AStarEdgeStub,AStarNodeStub>> list;
+		
+		reset();
+		this.A.setCost(0f);
+		this.A.setEstimatedCost(this.h.evaluate(this.A, this.B));
+		list = this.astar.findPath(this.A, this.B);
+		
+		assertNotNull(list);
+		assertEquals(2, list.size());
+		assertTrue(list.contains(this.A));
+		assertTrue(list.contains(this.B));
+
+		reset();
+		this.A.setCost(0f);
+		this.A.setEstimatedCost(this.h.evaluate(this.A, this.C));
+		list = this.astar.findPath(this.A, this.C);
+		
+		assertNotNull(list);
+		assertEquals(4, list.size());
+		assertTrue(list.contains(this.A));
+		assertTrue(list.contains(this.B));
+		assertTrue(list.contains(this.D));
+		assertTrue(list.contains(this.C));
+
+		reset();
+		this.B.setCost(0f);
+		this.B.setEstimatedCost(this.h.evaluate(this.B, this.A));
+		list = this.astar.findPath(this.B, this.A);
+		
+		assertNotNull(list);
+		assertEquals(3, list.size());
+		assertTrue(list.contains(this.B));
+		assertTrue(list.contains(this.D));
+		assertTrue(list.contains(this.A));
+	}
+
+	/**
+	 */
+	@Test
+	public void solvePTPT() {
+		AStarPathStub path;
+		
+		reset();
+		path = this.astar.solve(this.A, this.B);
+		assertNotNull(path);
+		assertEquals(1, path.size());
+		assertSame(this.AB, path.get(0));
+
+		reset();
+		path = this.astar.solve(this.A, this.E);
+		assertNotNull(path);
+		assertEquals(3, path.size());
+		assertSame(this.AB, path.get(0));
+		assertSame(this.BD, path.get(1));
+		assertSame(this.DE, path.get(2));
+
+		reset();
+		path = this.astar.solve(this.A, this.D);
+		assertNotNull(path);
+		assertEquals(2, path.size());
+		assertSame(this.AB, path.get(0));
+		assertSame(this.BD, path.get(1));
+
+		reset();
+		path = this.astar.solve(this.A, this.C);
+		assertNotNull(path);
+		assertEquals(3, path.size());
+		assertSame(this.AB, path.get(0));
+		assertSame(this.BD, path.get(1));
+		assertSame(this.DC, path.get(2));
+	}
+
+	/**
+	 */
+	@Test
+	public void solvePTPT_listeners() {
+		final List<AStarNodeStub> opened = new ArrayList<>();
+		final List<AStarNodeStub> closed = new ArrayList<>();
+		this.astar.addAStarListener(new AStarListener<AStarEdgeStub, AStarNodeStub>() {
+			@Override
+			public void nodeOpened(AStarNode<AStarEdgeStub, AStarNodeStub> node,
+					List<AStarNode<AStarEdgeStub, AStarNodeStub>> openList) {
+				assertTrue(openList.contains(node));
+				for (AStarNode<AStarEdgeStub, AStarNodeStub> n : openList) {
+					assertTrue(openList.get(0).getPathCost() <= n.getPathCost());
+				}
+				opened.add(node.getGraphPoint());
+			}
+			@Override
+			public void nodeConsumed(AStarNode<AStarEdgeStub, AStarNodeStub> node,
+					List<AStarNode<AStarEdgeStub, AStarNodeStub>> openList) {
+				assertFalse(openList.contains(node));
+			}
+			@Override
+			public void nodeClosed(AStarNode<AStarEdgeStub, AStarNodeStub> node,
+					List<AStarNode<AStarEdgeStub, AStarNodeStub>> closeList) {
+				assertTrue(closeList.contains(node));
+				closed.add(node.getGraphPoint());
+			}
+		});
+
+		reset();
+		AStarPathStub path = this.astar.solve(this.A, this.E);
+		assertNotNull(path);
+		assertEquals(3, path.size());
+		assertEquals(4, closed.size());
+		assertSame(this.A, closed.get(0));
+		assertSame(this.E, closed.get(closed.size() - 1));
+		assertTrue(opened.contains(this.B));
+		assertTrue(opened.contains(this.D));
+	}
+
+}
@@ -0,0 +1,211 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class AStarSearchContextTest extends AbstractMathTestCase {
+
+	private AStarGraphStub graph;
+	private AStarNodeStub A, B, C, D, E;
+	private AStarEdgeStub AB, CA, DA, BD, EC, DE, DC;
+	private AStarSearchContext<AStarEdgeStub, AStarNodeStub> context;
+	private AStar<AStarPathStub, AStarEdgeStub, AStarNodeStub> astar;
+
+	/**
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		this.A = new AStarNodeStub("A", 0, 0); 
+		this.B = new AStarNodeStub("B", 20, 0); 
+		this.C = new AStarNodeStub("C", 0, 20); 
+		this.D = new AStarNodeStub("D", 20, 20); 
+		this.E = new AStarNodeStub("E", 10, 40); 
+		this.AB = new AStarEdgeStub("A-B", this.A, this.B, false); 
+		this.BD = new AStarEdgeStub("B-D", this.B, this.D, false); 
+		this.CA = new AStarEdgeStub("C-A", this.C, this.A, false); 
+		this.DA = new AStarEdgeStub("D-A", this.D, this.A, false); 
+		this.DC = new AStarEdgeStub("D-C", this.D, this.C, false); 
+		this.DE = new AStarEdgeStub("D-E", this.D, this.E, false); 
+		this.EC = new AStarEdgeStub("E-C", this.E, this.C, false); 
+		this.graph = new AStarGraphStub(this.AB, this.BD, this.CA, this.DA, this.DC, this.DE, this.EC);
+		this.context = new AStarSearchContext<>(this.graph);
+		this.astar = new AStar<>(new AStarHeuristicStub(), AStarPathStub.class);
+	}
+	
+	/**
+	 * @throws Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		this.astar = null;
+		this.context = null;
+		this.graph = null;
+		this.AB = this.CA = this.DA = this.BD = this.EC = this.DE = this.DC = null;
+		this.A = this.B = this.C = this.D = this.E = null;
+	}
+
+	/**
+	 */
+	@Test
+	public void getGraph() {
+		assertSame(this.graph, this.context.getGraph());
+	}
+
+	/**
+	 */
+	@Test
+	public void getPointCount() {
+		assertEquals(5, this.context.getPointCount());
+	}
+
+	/**
+	 */
+	@Test
+	public void getSegmentCount() {
+		assertEquals(7, this.context.getSegmentCount());
+	}
+
+	/**
+	 */
+	@Test
+	public void solvePTPTContext_notOriented() {
+		AStarPathStub path;
+
+		assertNull(this.astar.solve(this.A, this.A, this.context));
+		assertNull(this.astar.solve(this.A, new AStarNodeStub("F", 100, 100), this.context));
+
+		path = this.astar.solve(this.A, this.B, this.context);
+		assertNotNull(path);
+		assertEquals(1, path.size());
+		assertSame(this.AB, path.get(0));
+
+		path = this.astar.solve(this.A, this.E, this.context);
+		assertNotNull(path);
+		assertEquals(2, path.size());
+		assertSame(this.CA, path.get(0));
+		assertSame(this.EC, path.get(1));
+
+		path = this.astar.solve(this.A, this.D, this.context);
+		assertNotNull(path);
+		assertEquals(1, path.size());
+		assertSame(this.DA, path.get(0));
+
+		path = this.astar.solve(this.A, this.C, this.context);
+		assertNotNull(path);
+		assertEquals(1, path.size());
+		assertSame(this.CA, path.get(0));
+	}
+
+	/**
+	 */
+	@Test
+	public void solvePTPTContext_oriented() {
+		this.astar.setSegmentOrientationTool(new DefaultAStarSegmentOrientation<>());
+		AStarPathStub path;
+		
+		path = this.astar.solve(this.A, this.B, this.context);
+		assertNotNull(path);
+		assertEquals(1, path.size());
+		assertSame(this.AB, path.get(0));
+
+		path = this.astar.solve(this.A, this.E, this.context);
+		assertNotNull(path);
+		assertEquals(3, path.size());
+		assertSame(this.AB, path.get(0));
+		assertSame(this.BD, path.get(1));
+		assertSame(this.DE, path.get(2));
+
+		path = this.astar.solve(this.A, this.C, this.context);
+		assertNotNull(path);
+		assertEquals(3, path.size());
+		assertSame(this.AB, path.get(0));
+		assertSame(this.BD, path.get(1));
+		assertSame(this.DC, path.get(2));
+
+		path = this.astar.solve(this.E, this.B, this.context);
+		assertNotNull(path);
+		assertEquals(3, path.size());
+		assertSame(this.EC, path.get(0));
+		assertSame(this.CA, path.get(1));
+		assertSame(this.AB, path.get(2));
+
+		assertNull(this.astar.solve(this.B, this.B, this.context));
+	}
+
+	/**
+	 */
+	@Test
+	public void solvePTPTContext_grid() {
+		final int size = 12;
+		final Random random = new Random(1234);
+		final AStarNodeStub[][] nodes = new AStarNodeStub[size][size];
+		for (int x = 0; x < size; ++x) {
+			for (int y = 0; y < size; ++y) {
+				nodes[x][y] = new AStarNodeStub(x + "," + y, x * 10 + random.nextDouble(), y * 10 + random.nextDouble());
+			}
+		}
+		final AStarGraphStub grid = new AStarGraphStub();
+		for (int x = 0; x < size; ++x) {
+			for (int y = 0; y < size; ++y) {
+				if (x + 1 < size) {
+					grid.add(new AStarEdgeStub(x + "," + y + "-x", nodes[x][y], nodes[x + 1][y], false));
+				}
+				if (y + 1 < size) {
+					grid.add(new AStarEdgeStub(x + "," + y + "-y", nodes[x][y], nodes[x][y + 1], false));
+				}
+			}
+		}
+		this.astar.setListType(AStarListType.INDEXED_HEAP);
+		final AStarSearchContext<AStarEdgeStub, AStarNodeStub> gridContext = new AStarSearchContext<>(grid);
+		for (int i = 0; i < 100; ++i) {
+			final AStarNodeStub start = nodes[random.nextInt(size)][random.nextInt(size)];
+			final AStarNodeStub end = nodes[random.nextInt(size)][random.nextInt(size)];
+			if (start != end) {
+				final AStarPathStub expected = this.astar.solve(start, end);
+				final AStarPathStub actual = this.astar.solve(start, end, gridContext);
+				assertNotNull(actual);
+				assertSame(start, actual.getFirstPoint());
+				assertSame(end, actual.getLastPoint());
+				assertEpsilonEquals(expected.getLength(), actual.getLength());
+			}
+		}
+	}
+
+}
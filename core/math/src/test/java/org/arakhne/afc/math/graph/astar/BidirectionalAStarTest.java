@@ -0,0 +1,207 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class BidirectionalAStarTest extends AbstractMathTestCase {
+
+	private BidirectionalAStar<AStarPathStub,AStarEdgeStub,AStarNodeStub> astar;
+	private AStarNodeStub A, B, C, D, E;
+	@SuppressWarnings("unused")
+	private AStarEdgeStub AB, CA, DA, BD, EC, DE, DC;
+	private AStarHeuristicStub h;
+	
+	/**
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		this.h = new AStarHeuristicStub();
+		this.astar = new BidirectionalAStar<>(this.h, AStarPathStub.class);
+		this.A = new AStarNodeStub("A", 0, 0); 
+		this.B = new AStarNodeStub("B", 20, 0); 
+		this.C = new AStarNodeStub("C", 0, 20); 
+		this.D = new AStarNodeStub("D", 20, 20); 
+		this.E = new AStarNodeStub("E", 10, 40); 
+		this.AB = new AStarEdgeStub("A-B", this.A, this.B, false); 
+		this.BD = new AStarEdgeStub("B-D", this.B, this.D, false); 
+		this.CA = new AStarEdgeStub("C-A", this.C, this.A, false); 
+		this.DA = new AStarEdgeStub("D-A", this.D, this.A, false); 
+		this.DC = new AStarEdgeStub("D-C", this.D, this.C, false); 
+		this.DE = new AStarEdgeStub("D-E", this.D, this.E, false); 
+		this.EC = new AStarEdgeStub("E-C", this.E, this.C, false); 
+	}
+	
+	/**
+	 * @throws Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		this.astar = null;
+		this.AB = this.CA = this.DA = this.BD = this.EC = this.DE = this.DC = null;
+		this.A = this.B = this.C = this.D = this.E = null;
+		this.h = null;
+	}
+
+	private void assertNotOrientedPaths() {
+		AStarPathStub path;
+		
+		path = this.astar.solve(this.A, this.B);
+		assertNotNull(path);
+		assertEquals(1, path.size());
+		assertSame(this.AB, path.get(0));
+
+		path = this.astar.solve(this.A, this.E);
+		assertNotNull(path);
+		assertEquals(2, path.size());
+		assertSame(this.CA, path.get(0));
+		assertSame(this.EC, path.get(1));
+
+		path = this.astar.solve(this.A, this.D);
+		assertNotNull(path);
+		assertEquals(1, path.size());
+		assertSame(this.DA, path.get(0));
+
+		path = this.astar.solve(this.A, this.C);
+		assertNotNull(path);
+		assertEquals(1, path.size());
+		assertSame(this.CA, path.get(0));
+	}
+
+	private void assertOrientedPaths() {
+		AStarPathStub path;
+		
+		path = this.astar.solve(this.A, this.B);
+		assertNotNull(path);
+		assertEquals(1, path.size());
+		assertSame(this.AB, path.get(0));
+
+		path = this.astar.solve(this.A, this.E);
+		assertNotNull(path);
+		assertEquals(3, path.size());
+		assertSame(this.AB, path.get(0));
+		assertSame(this.BD, path.get(1));
+		assertSame(this.DE, path.get(2));
+
+		path = this.astar.solve(this.A, this.D);
+		assertNotNull(path);
+		assertEquals(2, path.size());
+		assertSame(this.AB, path.get(0));
+		assertSame(this.BD, path.get(1));
+
+		path = this.astar.solve(this.A, this.C);
+		assertNotNull(path);
+		assertEquals(3, path.size());
+		assertSame(this.AB, path.get(0));
+		assertSame(this.BD, path.get(1));
+		assertSame(this.DC, path.get(2));
+	}
+
+	/**
+	 */
+	@Test
+	public void getEvaluationHeuristic() {
+		assertSame(this.h, this.astar.getEvaluationHeuristic());
+		assertSame(this.h, this.astar.setEvaluationHeuristic(null));
+		assertNull(this.astar.getEvaluationHeuristic());
+	}
+
+	/**
+	 */
+	@Test
+	public void solvePTPT_samePoint() {
+		assertNull(this.astar.solve(this.A, this.A));
+		assertEquals(0, this.astar.getExpansionCount());
+	}
+
+	/**
+	 */
+	@Test
+	public void solvePTPT_notOriented() {
+		assertNotOrientedPaths();
+	}
+
+	/**
+	 */
+	@Test
+	public void solvePTPT_notOriented_dijkstra() {
+		this.astar.setEvaluationHeuristic(null);
+		assertNotOrientedPaths();
+	}
+
+	/**
+	 */
+	@Test
+	public void solvePTPT_oriented() {
+		this.astar.setSegmentOrientationTool(new AStarSegmentOrientation<AStarEdgeStub, AStarNodeStub>() {
+			//
+		});
+		assertOrientedPaths();
+	}
+
+	/**
+	 */
+	@Test
+	public void solvePTPT_oriented_dijkstra() {
+		this.astar.setEvaluationHeuristic(null);
+		this.astar.setSegmentOrientationTool(new AStarSegmentOrientation<AStarEdgeStub, AStarNodeStub>() {
+			//
+		});
+		assertOrientedPaths();
+	}
+
+	/**
+	 */
+	@Test
+	public void solvePTPT_unreachable() {
+		final AStarNodeStub F = new AStarNodeStub("F", 100, 100);
+		assertNull(this.astar.solve(this.A, F));
+	}
+
+	/**
+	 */
+	@Test
+	public void getExpansionCount() {
+		this.astar.solve(this.A, this.E);
+		assertTrue(this.astar.getForwardExpansionCount() > 0);
+		assertTrue(this.astar.getBackwardExpansionCount() > 0);
+		assertEquals(this.astar.getForwardExpansionCount() + this.astar.getBackwardExpansionCount(),
+				this.astar.getExpansionCount());
+	}
+
+}
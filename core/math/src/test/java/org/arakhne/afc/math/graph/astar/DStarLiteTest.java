@@ -0,0 +1,284 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.astar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class DStarLiteTest extends AbstractMathTestCase {
+
+	private AStarGraphStub graph;
+	private AStarNodeStub A, B, C, D, E;
+	private AStarEdgeStub AB, CA, DA, BD, EC, DE, DC;
+	private Map<AStarEdgeStub, Double> weights;
+	private AStarCostComputer<AStarEdgeStub, AStarNodeStub> costComputer;
+
+	/**
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		this.A = new AStarNodeStub("A", 0, 0); 
+		this.B = new AStarNodeStub("B", 20, 0); 
+		this.C = new AStarNodeStub("C", 0, 20); 
+		this.D = new AStarNodeStub("D", 20, 20); 
+		this.E = new AStarNodeStub("E", 10, 40); 
+		this.AB = new AStarEdgeStub("A-B", this.A, this.B, false); 
+		this.BD = new AStarEdgeStub("B-D", this.B, this.D, false); 
+		this.CA = new AStarEdgeStub("C-A", this.C, this.A, false); 
+		this.DA = new AStarEdgeStub("D-A", this.D, this.A, false); 
+		this.DC = new AStarEdgeStub("D-C", this.D, this.C, false); 
+		this.DE = new AStarEdgeStub("D-E", this.D, this.E, false); 
+		this.EC = new AStarEdgeStub("E-C", this.E, this.C, false); 
+		this.graph = new AStarGraphStub(this.AB, this.BD, this.CA, this.DA, this.DC, this.DE, this.EC);
+		this.weights = new HashMap<>();
+		this.costComputer = new AStarCostComputer<AStarEdgeStub, AStarNodeStub>() {
+			@Override
+			public double computeCostFor(AStarEdgeStub segment) {
+				final Double weight = DStarLiteTest.this.weights.get(segment);
+				return segment.getLength() * (weight == null ? 1 : weight.doubleValue());
+			}
+		};
+	}
+	
+	/**
+	 * @throws Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		this.costComputer = null;
+		this.weights = null;
+		this.graph = null;
+		this.AB = this.CA = this.DA = this.BD = this.EC = this.DE = this.DC = null;
+		this.A = this.B = this.C = this.D = this.E = null;
+	}
+
+	private DStarLite<AStarPathStub, AStarEdgeStub, AStarNodeStub> newPlanner(AStarGraphStub graph) {
+		DStarLite<AStarPathStub, AStarEdgeStub, AStarNodeStub> planner = new DStarLite<>(
+				graph, new AStarHeuristicStub(), AStarPathStub.class);
+		planner.setCostComputer(this.costComputer);
+		return planner;
+	}
+
+	/**
+	 */
+	@Test
+	public void setCostComputer() {
+		DStarLite<AStarPathStub, AStarEdgeStub, AStarNodeStub> planner = new DStarLite<>(
+				this.graph, new AStarHeuristicStub(), AStarPathStub.class);
+		assertNull(planner.getCostComputer());
+		assertNull(planner.setCostComputer(this.costComputer));
+		assertSame(this.costComputer, planner.getCostComputer());
+	}
+
+	/**
+	 */
+	@Test
+	public void solvePTPT_notOriented() {
+		DStarLite<AStarPathStub, AStarEdgeStub, AStarNodeStub> planner = newPlanner(this.graph);
+		AStarPathStub path;
+
+		assertNull(planner.solve(this.A, this.A));
+		assertNull(planner.solve(this.A, new AStarNodeStub("F", 100, 100)));
+
+		path = planner.solve(this.A, this.E);
+		assertNotNull(path);
+		assertEquals(2, path.size());
+		assertSame(this.CA, path.get(0));
+		assertSame(this.EC, path.get(1));
+
+		path = planner.solve(this.A, this.B);
+		assertNotNull(path);
+		assertEquals(1, path.size());
+		assertSame(this.AB, path.get(0));
+	}
+
+	/**
+	 */
+	@Test
+	public void solvePTPT_oriented() {
+		DStarLite<AStarPathStub, AStarEdgeStub, AStarNodeStub> planner = newPlanner(this.graph);
+		planner.setSegmentOrientationTool(new DefaultAStarSegmentOrientation<>());
+
+		AStarPathStub path = planner.solve(this.A, this.E);
+		assertNotNull(path);
+		assertEquals(3, path.size());
+		assertSame(this.AB, path.get(0));
+		assertSame(this.BD, path.get(1));
+		assertSame(this.DE, path.get(2));
+	}
+
+	/**
+	 */
+	@Test
+	public void segmentCostChanged() {
+		DStarLite<AStarPathStub, AStarEdgeStub, AStarNodeStub> planner = newPlanner(this.graph);
+		AStarPathStub path = planner.solve(this.A, this.E);
+		assertSame(this.CA, path.get(0));
+		assertSame(this.EC, path.get(1));
+
+		this.weights.put(this.EC, 10.);
+		planner.segmentCostChanged(this.EC);
+		path = planner.solve(this.A, this.E);
+		assertNotNull(path);
+		assertEquals(2, path.size());
+		assertSame(this.DA, path.get(0));
+		assertSame(this.DE, path.get(1));
+
+		this.weights.put(this.DA, Double.POSITIVE_INFINITY);
+		this.weights.put(this.EC, Double.POSITIVE_INFINITY);
+		planner.segmentCostChanged(this.DA);
+		planner.segmentCostChanged(this.EC);
+		path = planner.solve(this.A, this.E);
+		assertNotNull(path);
+		assertEquals(3, path.size());
+		assertSame(this.AB, path.get(0));
+		assertSame(this.BD, path.get(1));
+		assertSame(this.DE, path.get(2));
+
+		this.weights.put(this.DE, Double.POSITIVE_INFINITY);
+		planner.segmentCostChanged(this.DE);
+		assertNull(planner.solve(this.A, this.E));
+
+		this.weights.clear();
+		planner.segmentCostChanged(this.DA);
+		planner.segmentCostChanged(this.EC);
+		planner.segmentCostChanged(this.DE);
+		path = planner.solve(this.A, this.E);
+		assertNotNull(path);
+		assertSame(this.CA, path.get(0));
+		assertSame(this.EC, path.get(1));
+	}
+
+	/**
+	 */
+	@Test
+	public void pointCostChanged() {
+		final double[] costOfC = new double[1];
+		DStarLite<AStarPathStub, AStarEdgeStub, AStarNodeStub> planner = newPlanner(this.graph);
+		planner.setCostComputer(new AStarCostComputer<AStarEdgeStub, AStarNodeStub>() {
+			@Override
+			public double computeCostFor(AStarNodeStub pt) {
+				return pt == DStarLiteTest.this.C ? costOfC[0] : 0;
+			}
+		});
+		AStarPathStub path = planner.solve(this.A, this.E);
+		assertSame(this.CA, path.get(0));
+		assertSame(this.EC, path.get(1));
+
+		costOfC[0] = 100;
+		planner.pointCostChanged(this.C);
+		path = planner.solve(this.A, this.E);
+		assertNotNull(path);
+		assertEquals(2, path.size());
+		assertSame(this.DA, path.get(0));
+		assertSame(this.DE, path.get(1));
+	}
+
+	/**
+	 */
+	@Test
+	public void solvePTPT_gridWithChanges() {
+		final int size = 15;
+		final Random random = new Random(1234);
+		final AStarNodeStub[][] nodes = new AStarNodeStub[size][size];
+		for (int x = 0; x < size; ++x) {
+			for (int y = 0; y < size; ++y) {
+				nodes[x][y] = new AStarNodeStub(x + "," + y, x * 10 + random.nextDouble(), y * 10 + random.nextDouble());
+			}
+		}
+		final AStarGraphStub grid = new AStarGraphStub();
+		final List<AStarEdgeStub> segments = new ArrayList<>();
+		for (int x = 0; x < size; ++x) {
+			for (int y = 0; y < size; ++y) {
+				if (x + 1 < size) {
+					segments.add(new AStarEdgeStub(x + "," + y + "-x", nodes[x][y], nodes[x + 1][y], false));
+				}
+				if (y + 1 < size) {
+					segments.add(new AStarEdgeStub(x + "," + y + "-y", nodes[x][y], nodes[x][y + 1], false));
+				}
+			}
+		}
+		for (final AStarEdgeStub segment : segments) {
+			grid.add(segment);
+		}
+		final AStar<AStarPathStub, AStarEdgeStub, AStarNodeStub> astar = new AStar<>(
+				new AStarHeuristicStub(), AStarPathStub.class);
+		astar.setListType(AStarListType.INDEXED_HEAP);
+		astar.setCostComputer(this.costComputer);
+		final DStarLite<AStarPathStub, AStarEdgeStub, AStarNodeStub> planner = newPlanner(grid);
+		final AStarNodeStub end = nodes[size - 1][size - 1];
+		AStarNodeStub start = nodes[0][0];
+		for (int i = 0; i < 30; ++i) {
+			final AStarPathStub expected = astar.solve(start, end);
+			final AStarPathStub actual = planner.solve(start, end);
+			if (expected == null) {
+				assertNull(actual);
+			} else {
+				assertNotNull(actual);
+				assertSame(start, actual.getFirstPoint());
+				assertSame(end, actual.getLastPoint());
+				assertEpsilonEquals(cost(expected), cost(actual));
+				// Move along the path
+				if (actual.size() > 1) {
+					start = actual.getFirstSegment().getOtherSidePoint(start);
+				}
+			}
+			// Change the costs of some segments
+			for (int j = 0; j < 10; ++j) {
+				final AStarEdgeStub segment = segments.get(random.nextInt(segments.size()));
+				this.weights.put(segment, random.nextInt(10) == 0 ? Double.POSITIVE_INFINITY : 1 + random.nextDouble() * 4);
+				planner.segmentCostChanged(segment);
+			}
+		}
+		assertTrue(planner.getExpansionCount() >= 0);
+	}
+
+	private double cost(AStarPathStub path) {
+		double cost = 0;
+		for (final AStarEdgeStub segment : path) {
+			cost += this.costComputer.computeCostFor(segment);
+		}
+		return cost;
+	}
+
+}
@@ -0,0 +1,278 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.graph.compact;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.graph.GraphIterator;
+import org.arakhne.afc.math.graph.GraphPath;
+import org.arakhne.afc.math.graph.GraphPoint.GraphPointConnection;
+import org.arakhne.afc.math.graph.astar.AStar;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class CompactGraphTest extends AbstractMathTestCase {
+
+	// A=0, B=1, C=2, D=3, E=4
+	// Segments: A-B, B-D, C-A, D-A, D-C, D-E, E-C
+	private static final int[] BEGINS = {0, 1, 2, 3, 3, 3, 4};
+	private static final int[] ENDS = {1, 3, 0, 0, 2, 4, 2};
+	private static final double[] LENGTHS = {20, 20, 20, Math.sqrt(800), 20, Math.sqrt(500), Math.sqrt(500)};
+
+	private CompactGraph graph;
+
+	/**
+	 */
+	@Before
+	public void setUp() {
+		this.graph = new CompactGraph(5, BEGINS, ENDS, LENGTHS);
+	}
+
+	/**
+	 */
+	@After
+	public void tearDown() {
+		this.graph = null;
+	}
+
+	private static List<Integer> indexes(Iterable<CompactGraphSegment> segments) {
+		List<Integer> list = new ArrayList<>();
+		for (CompactGraphSegment segment : segments) {
+			list.add(segment.getIndex());
+		}
+		return list;
+	}
+
+	/**
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void newCompactGraph_invalidPoint() {
+		new CompactGraph(2, new int[] {0}, new int[] {2}, new double[] {1});
+	}
+
+	/**
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void newCompactGraph_invalidSize() {
+		new CompactGraph(2, new int[] {0, 1}, new int[] {1}, new double[] {1});
+	}
+
+	/**
+	 */
+	@Test
+	public void getPointCount() {
+		assertEquals(5, this.graph.getPointCount());
+	}
+
+	/**
+	 */
+	@Test
+	public void getSegmentCount() {
+		assertEquals(7, this.graph.getSegmentCount());
+	}
+
+	/**
+	 */
+	@Test
+	public void isEmpty() {
+		assertFalse(this.graph.isEmpty());
+		assertTrue(new CompactGraph(0, new int[0], new int[0], new double[0]).isEmpty());
+	}
+
+	/**
+	 */
+	@Test
+	public void contains() {
+		assertTrue(this.graph.contains(this.graph.getSegmentAt(3)));
+		assertFalse(this.graph.contains(new CompactGraph(5, BEGINS, ENDS, LENGTHS).getSegmentAt(3)));
+		assertFalse(this.graph.contains(this.graph.getPointAt(3)));
+	}
+
+	/**
+	 */
+	@Test
+	public void iterator() {
+		Iterator<CompactGraphSegment> iterator = this.graph.iterator();
+		for (int i = 0; i < 7; ++i) {
+			assertTrue(iterator.hasNext());
+			assertEquals(i, iterator.next().getIndex());
+		}
+		assertFalse(iterator.hasNext());
+	}
+
+	/**
+	 */
+	@Test
+	public void getPointAt() {
+		CompactGraphPoint point = this.graph.getPointAt(3);
+		assertEquals(3, point.getIndex());
+		assertSame(this.graph, point.getGraph());
+		assertSame(point, this.graph.getPointAt(3));
+		assertEquals(point, new CompactGraphPoint(this.graph, 3));
+		assertFalse(point.equals(new CompactGraph(5, BEGINS, ENDS, LENGTHS).getPointAt(3)));
+	}
+
+	/**
+	 */
+	@Test
+	public void segmentPoints() {
+		CompactGraphSegment segment = this.graph.getSegmentAt(3);
+		assertSame(this.graph.getPointAt(3), segment.getBeginPoint());
+		assertSame(this.graph.getPointAt(0), segment.getEndPoint());
+		assertSame(this.graph.getPointAt(0), segment.getOtherSidePoint(this.graph.getPointAt(3)));
+		assertSame(this.graph.getPointAt(3), segment.getOtherSidePoint(this.graph.getPointAt(0)));
+		assertNull(segment.getOtherSidePoint(this.graph.getPointAt(1)));
+		assertEpsilonEquals(Math.sqrt(800), segment.getLength());
+	}
+
+	/**
+	 */
+	@Test
+	public void getConnectedSegments() {
+		CompactGraphPoint point = this.graph.getPointAt(3);
+		assertEquals(4, point.getConnectedSegmentCount());
+		assertEquals(asList(1, 3, 4, 5), indexes(point.getConnectedSegments()));
+		assertEquals(asList(4, 5, 1, 3), indexes(point.getConnectedSegmentsStartingFrom(this.graph.getSegmentAt(4))));
+		assertEquals(asList(1, 3, 4, 5), indexes(point.getConnectedSegmentsStartingFrom(this.graph.getSegmentAt(0))));
+	}
+
+	/**
+	 */
+	@Test
+	public void isConnectedSegment() {
+		CompactGraphPoint point = this.graph.getPointAt(3);
+		assertTrue(point.isConnectedSegment(this.graph.getSegmentAt(1)));
+		assertFalse(point.isConnectedSegment(this.graph.getSegmentAt(0)));
+	}
+
+	/**
+	 */
+	@Test
+	public void isFinalConnectionPoint() {
+		assertFalse(this.graph.getPointAt(3).isFinalConnectionPoint());
+		CompactGraph g = new CompactGraph(3, new int[] {0, 1}, new int[] {1, 2}, new double[] {1, 1});
+		assertTrue(g.getPointAt(0).isFinalConnectionPoint());
+		assertFalse(g.getPointAt(1).isFinalConnectionPoint());
+	}
+
+	/**
+	 */
+	@Test
+	public void getConnections() {
+		CompactGraphPoint point = this.graph.getPointAt(0);
+		List<Integer> segments = new ArrayList<>();
+		List<Boolean> starts = new ArrayList<>();
+		for (GraphPointConnection<CompactGraphPoint, CompactGraphSegment> connection : point.getConnections()) {
+			assertSame(point, connection.getGraphPoint());
+			segments.add(connection.getGraphSegment().getIndex());
+			starts.add(connection.isSegmentStartConnected());
+		}
+		assertEquals(asList(0, 2, 3), segments);
+		assertEquals(asList(true, false, false), starts);
+	}
+
+	/**
+	 */
+	@Test
+	public void copyOf() {
+		CompactGraph copy = CompactGraph.copyOf(this.graph);
+		assertEquals(5, copy.getPointCount());
+		assertEquals(7, copy.getSegmentCount());
+		// The points are numbered in the order they are encountered: A, B, D, C, E
+		int[] numbers = {0, 1, 3, 2, 4};
+		for (int i = 0; i < 7; ++i) {
+			CompactGraphSegment segment = copy.getSegmentAt(i);
+			assertEquals(numbers[BEGINS[i]], segment.getBeginPoint().getIndex());
+			assertEquals(numbers[ENDS[i]], segment.getEndPoint().getIndex());
+			assertEpsilonEquals(LENGTHS[i], segment.getLength());
+		}
+	}
+
+	/**
+	 */
+	@Test
+	public void graphIterator() {
+		GraphIterator<CompactGraphSegment, CompactGraphPoint> iterator = this.graph.iterator(
+				this.graph.getSegmentAt(0), this.graph.getPointAt(0), false, false);
+		int count = 0;
+		while (iterator.hasNext()) {
+			assertNotNull(iterator.next());
+			++count;
+		}
+		assertEquals(7, count);
+	}
+
+	/**
+	 */
+	@Test
+	public void astar() {
+		AStar<CompactGraphPath, CompactGraphSegment, CompactGraphPoint> astar = new AStar<>(
+				(p1, p2) -> 0, CompactGraphPath.class);
+		CompactGraphPath path = astar.solve(this.graph.getPointAt(0), this.graph.getPointAt(4));
+		assertNotNull(path);
+		assertEquals(2, path.size());
+		assertSame(this.graph.getSegmentAt(2), path.get(0));
+		assertSame(this.graph.getSegmentAt(6), path.get(1));
+	}
+
+	private static <T> List<T> asList(T... values) {
+		List<T> list = new ArrayList<>();
+		for (T value : values) {
+			list.add(value);
+		}
+		return list;
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class CompactGraphPath extends GraphPath<CompactGraphPath, CompactGraphSegment, CompactGraphPoint> {
+
+		/**
+		 */
+		public CompactGraphPath() {
+			super();
+		}
+
+	}
+
+}
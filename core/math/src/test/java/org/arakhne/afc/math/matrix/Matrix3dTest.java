@@ -21,6 +21,7 @@
 package org.arakhne.afc.math.matrix;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.arakhne.afc.math.AbstractMathTestCase;
@@ -1114,5 +1115,107 @@ public class Matrix3dTest extends AbstractMathTestCase {
 		
 		assertEpsilonEquals(transpose, r);
 	}
-	
+
+	private Matrix3d[] typedMatrices() {
+		double angle = getRandom().nextDouble() * Math.PI * 2.;
+		double cos = Math.cos(angle);
+		double sin = Math.sin(angle);
+		return new Matrix3d[] {
+			new Matrix3d(1, 0, 0, 0, 1, 0, 0, 0, 1),
+			new Matrix3d(1, 0, 5, 0, 1, -3, 0, 0, 1),
+			new Matrix3d(2, 0, 5, 0, -0.5, -3, 0, 0, 1),
+			new Matrix3d(cos, -sin, 5, sin, cos, -3, 0, 0, 1),
+			new Matrix3d(2 * cos, -sin, 5, sin, 3 * cos, -3, 0, 0, 1),
+			new Matrix3d(1.5, 2.5, 1.5, -2.5, 1.5, -1.5, -1.5, -1, -1),
+		};
+	}
+
+	private static Matrix3d general(Matrix3d matrix) {
+		Matrix3d general = matrix.clone();
+		general.type = MatrixType.GENERAL;
+		return general;
+	}
+
+	@Test
+	public void getType() {
+		Matrix3d[] matrices = typedMatrices();
+		assertSame(MatrixType.IDENTITY, matrices[0].getType());
+		assertSame(MatrixType.TRANSLATION, matrices[1].getType());
+		assertSame(MatrixType.SCALE, matrices[2].getType());
+		assertSame(MatrixType.RIGID, matrices[3].getType());
+		assertSame(MatrixType.AFFINE, matrices[4].getType());
+		assertSame(MatrixType.GENERAL, matrices[5].getType());
+	}
+
+	@Test
+	public void getType_changes() {
+		Matrix3d matrix = new Matrix3d();
+		assertSame(MatrixType.GENERAL, matrix.getType());
+		matrix.setIdentity();
+		assertSame(MatrixType.IDENTITY, matrix.getType());
+		matrix.setM02(4);
+		assertSame(MatrixType.TRANSLATION, matrix.getType());
+		matrix.setElement(1, 1, 3);
+		assertSame(MatrixType.SCALE, matrix.getType());
+		matrix.setM10(1);
+		assertSame(MatrixType.AFFINE, matrix.getType());
+		matrix.setRow(2, 1, 0, 1);
+		assertSame(MatrixType.GENERAL, matrix.getType());
+		matrix.set(new Matrix3d(1, 0, 0, 0, 1, 0, 0, 0, 1));
+		assertSame(MatrixType.IDENTITY, matrix.getType());
+	}
+
+	@Test
+	public void determinant_types() {
+		for (Matrix3d matrix : typedMatrices()) {
+			assertEpsilonEquals(general(matrix).determinant(), matrix.determinant());
+		}
+	}
+
+	@Test
+	public void invert_types() {
+		Matrix3d[] matrices = typedMatrices();
+		for (Matrix3d matrix : matrices) {
+			Matrix3d expected = general(matrix);
+			expected.invert();
+			Matrix3d actual = matrix.clone();
+			actual.invert();
+			assertEpsilonEquals(expected, actual);
+			actual = new Matrix3d();
+			actual.invert(matrix);
+			assertEpsilonEquals(expected, actual);
+		}
+	}
+
+	@Test(expected = SingularMatrixException.class)
+	public void invert_singularScale() {
+		Matrix3d matrix = new Matrix3d(2, 0, 5, 0, 0, -3, 0, 0, 1);
+		matrix.invert();
+	}
+
+	@Test(expected = SingularMatrixException.class)
+	public void invert_singularAffine() {
+		Matrix3d matrix = new Matrix3d(1, 2, 5, 2, 4, -3, 0, 0, 1);
+		matrix.invert();
+	}
+
+	@Test
+	public void mulMatrix3D_types() {
+		Matrix3d[] matrices = typedMatrices();
+		for (Matrix3d m1 : matrices) {
+			for (Matrix3d m2 : matrices) {
+				m1.getType();
+				m2.getType();
+				Matrix3d expected = general(m1);
+				expected.mul(general(m2));
+				Matrix3d actual = m1.clone();
+				actual.mul(m2);
+				assertEpsilonEquals(expected, actual);
+				actual = new Matrix3d();
+				actual.mul(m1, m2);
+				assertEpsilonEquals(expected, actual);
+			}
+		}
+	}
+
 }
@@ -748,4 +748,213 @@ public class Matrix4dTest extends AbstractMathTestCase{
 		assertEpsilonEquals(m2, r);
 	}
 
+	@Test
+	public void transformDoubleArrayIntDoubleArrayIntInt_affine() {
+		Matrix4d m = new Matrix4d(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 0, 0, 0, 1);
+		double[] src = new double[] {0, 1, 2, 3, -1, 0.5, 2};
+		double[] dst = new double[8];
+		m.transform(src, 1, dst, 2, 2);
+		assertEpsilonEquals(0, dst[0]);
+		assertEpsilonEquals(0, dst[1]);
+		assertEpsilonEquals(1 + 4 + 9 + 4, dst[2]);
+		assertEpsilonEquals(5 + 12 + 21 + 8, dst[3]);
+		assertEpsilonEquals(9 + 20 + 33 + 12, dst[4]);
+		assertEpsilonEquals(-1 + 1 + 6 + 4, dst[5]);
+		assertEpsilonEquals(-5 + 3 + 14 + 8, dst[6]);
+		assertEpsilonEquals(-9 + 5 + 22 + 12, dst[7]);
+	}
+
+	@Test
+	public void transformDoubleArrayIntDoubleArrayIntInt_translation() {
+		Matrix4d m = new Matrix4d(1, 0, 0, 4, 0, 1, 0, -5, 0, 0, 1, 6, 0, 0, 0, 1);
+		double[] src = new double[] {1, 2, 3};
+		m.transform(src, 0, src, 0, 1);
+		assertEpsilonEquals(5, src[0]);
+		assertEpsilonEquals(-3, src[1]);
+		assertEpsilonEquals(9, src[2]);
+	}
+
+	@Test
+	public void transformDoubleArrayIntDoubleArrayIntInt_projective() {
+		Matrix4d m = new Matrix4d(1, 0, 0, 4, 0, 2, 0, -5, 0, 0, 1, 6, 0, 0, 1, 1);
+		double[] src = new double[] {1, 2, 3};
+		double[] dst = new double[3];
+		m.transform(src, 0, dst, 0, 1);
+		assertEpsilonEquals(5. / 4., dst[0]);
+		assertEpsilonEquals(-1. / 4., dst[1]);
+		assertEpsilonEquals(9. / 4., dst[2]);
+	}
+
+	@Test
+	public void transformDoubleArrayIntDoubleArrayIntInt_overlap() {
+		Matrix4d m = this.randomMatrix4f();
+		double[] src = new double[] {1, 2, 3, 4, 5, 6, 0, 0};
+		double[] expected = new double[8];
+		m.transform(src.clone(), 0, expected, 2, 2);
+		m.transform(src, 0, src, 2, 2);
+		for (int i = 2; i < 8; ++i) {
+			assertEpsilonEquals(expected[i], src[i]);
+		}
+	}
+
+	@Test
+	public void transformFloatArrayIntFloatArrayIntInt() {
+		Matrix4d m = new Matrix4d(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 0, 0, 0, 1);
+		float[] src = new float[] {-1, 0.5f, 2};
+		float[] dst = new float[3];
+		m.transform(src, 0, dst, 0, 1);
+		assertEpsilonEquals(-1 + 1 + 6 + 4, dst[0]);
+		assertEpsilonEquals(-5 + 3 + 14 + 8, dst[1]);
+		assertEpsilonEquals(-9 + 5 + 22 + 12, dst[2]);
+	}
+
+	@Test
+	public void parallelTransformDoubleArrayIntDoubleArrayIntInt() {
+		Matrix4d m = this.randomMatrix4f();
+		int count = 100000;
+		double[] src = new double[3 * count];
+		for (int i = 0; i < src.length; ++i) {
+			src[i] = getRandom().nextDouble() * 100;
+		}
+		double[] expected = new double[3 * count];
+		m.transform(src, 0, expected, 0, count);
+		double[] dst = new double[3 * count];
+		m.parallelTransform(src, 0, dst, 0, count);
+		assertArrayEquals(expected, dst, 0);
+	}
+
+	@Test
+	public void parallelTransformFloatArrayIntFloatArrayIntInt() {
+		Matrix4d m = new Matrix4d(1, 0, 0, 4, 0, 1, 0, -5, 0, 0, 1, 6, 0, 0, 0, 1);
+		int count = 100000;
+		float[] src = new float[3 * count];
+		for (int i = 0; i < src.length; ++i) {
+			src[i] = getRandom().nextFloat() * 100;
+		}
+		float[] expected = new float[3 * count];
+		m.transform(src, 0, expected, 0, count);
+		float[] dst = new float[3 * count];
+		m.parallelTransform(src, 0, dst, 0, count);
+		assertArrayEquals(expected, dst, 0);
+	}
+
+	private Matrix4d[] typedMatrices() {
+		double angle = getRandom().nextDouble() * Math.PI * 2.;
+		double cos = Math.cos(angle);
+		double sin = Math.sin(angle);
+		return new Matrix4d[] {
+			new Matrix4d(1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1),
+			new Matrix4d(1, 0, 0, 5, 0, 1, 0, -3, 0, 0, 1, 2, 0, 0, 0, 1),
+			new Matrix4d(2, 0, 0, 5, 0, -0.5, 0, -3, 0, 0, 4, 2, 0, 0, 0, 1),
+			new Matrix4d(cos, -sin, 0, 5, sin, cos, 0, -3, 0, 0, 1, 2, 0, 0, 0, 1),
+			new Matrix4d(2 * cos, -sin, 1, 5, sin, 3 * cos, 0, -3, 0, 1, 1, 2, 0, 0, 0, 1),
+			new Matrix4d(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 1, 0, 2, 3),
+		};
+	}
+
+	private static Matrix4d general(Matrix4d matrix) {
+		Matrix4d general = matrix.clone();
+		general.type = MatrixType.GENERAL;
+		return general;
+	}
+
+	@Test
+	public void getType() {
+		Matrix4d[] matrices = typedMatrices();
+		assertSame(MatrixType.IDENTITY, matrices[0].getType());
+		assertSame(MatrixType.TRANSLATION, matrices[1].getType());
+		assertSame(MatrixType.SCALE, matrices[2].getType());
+		assertSame(MatrixType.RIGID, matrices[3].getType());
+		assertSame(MatrixType.AFFINE, matrices[4].getType());
+		assertSame(MatrixType.GENERAL, matrices[5].getType());
+	}
+
+	@Test
+	public void getType_changes() {
+		Matrix4d matrix = new Matrix4d();
+		assertSame(MatrixType.GENERAL, matrix.getType());
+		matrix.setIdentity();
+		assertSame(MatrixType.IDENTITY, matrix.getType());
+		matrix.setM13(4);
+		assertSame(MatrixType.TRANSLATION, matrix.getType());
+		matrix.setElement(2, 2, 3);
+		assertSame(MatrixType.SCALE, matrix.getType());
+		matrix.setM10(1);
+		assertSame(MatrixType.AFFINE, matrix.getType());
+		matrix.setRow(3, 1, 0, 0, 1);
+		assertSame(MatrixType.GENERAL, matrix.getType());
+		Matrix4d identity = new Matrix4d();
+		identity.setIdentity();
+		matrix.set(identity);
+		assertSame(MatrixType.IDENTITY, matrix.getType());
+	}
+
+	@Test
+	public void determinant_types() {
+		for (Matrix4d matrix : typedMatrices()) {
+			assertEpsilonEquals(general(matrix).determinant(), matrix.determinant());
+		}
+	}
+
+	@Test
+	public void mulMatrix4D_types() {
+		Matrix4d[] matrices = typedMatrices();
+		for (Matrix4d m1 : matrices) {
+			for (Matrix4d m2 : matrices) {
+				m1.getType();
+				m2.getType();
+				Matrix4d expected = general(m1);
+				expected.mul(general(m2));
+				Matrix4d actual = m1.clone();
+				actual.mul(m2);
+				assertEpsilonEquals(expected, actual);
+				actual = new Matrix4d();
+				actual.mul(m1, m2);
+				assertEpsilonEquals(expected, actual);
+			}
+		}
+	}
+
+	@Test
+	public void transformDoubleArrayIntDoubleArrayIntInt_types() {
+		double[] src = new double[] {1, 2, 3, -4, 0.5, 6};
+		for (Matrix4d matrix : typedMatrices()) {
+			double[] expected = new double[src.length];
+			general(matrix).transform(src, 0, expected, 0, 2);
+			double[] actual = new double[src.length];
+			matrix.transform(src, 0, actual, 0, 2);
+			for (int i = 0; i < src.length; ++i) {
+				assertEpsilonEquals(expected[i], actual[i]);
+			}
+		}
+	}
+
+
+	@Test
+	public void batchMulDoubleArrayIntDoubleArrayIntDoubleArrayIntInt() {
+		Matrix4d m1 = this.randomMatrix4f();
+		Matrix4d m2 = this.randomMatrix4f();
+		double[] left = new double[32];
+		double[] right = new double[32];
+		for (int i = 0; i < 16; ++i) {
+			left[16 + i] = m1.getElement(i / 4, i % 4);
+			right[i] = m2.getElement(i / 4, i % 4);
+		}
+		double[] dst = new double[16];
+		Matrix4d.batchMul(left, 16, right, 0, dst, 0, 1);
+		Matrix4d expected = m1.clone();
+		expected.mul(m2);
+		Matrix4d actual = new Matrix4d();
+		actual.set(dst);
+		assertEpsilonEquals(expected, actual);
+	}
+
+	@Test
+	public void batchMulFloatArrayIntFloatArrayIntFloatArrayIntInt() {
+		float[] left = new float[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 0, 0, 0, 1};
+		float[] right = new float[] {1, 0, 0, 2, 0, 1, 0, 3, 0, 0, 2, 4, 0, 0, 0, 1};
+		Matrix4d.batchMul(left, 0, right, 0, left, 0, 1);
+		assertArrayEquals(new float[] {1, 2, 6, 24, 5, 6, 14, 64, 9, 10, 22, 104, 0, 0, 0, 1}, left, 0);
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,204 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.matrix;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class MatrixKernelsTest extends AbstractMathTestCase {
+
+	private final MatrixKernels scalar = new ScalarMatrixKernels();
+
+	private double[] randomMatrices(int count) {
+		double[] matrices = new double[16 * count];
+		for (int i = 0; i < matrices.length; ++i) {
+			matrices[i] = getRandom().nextDouble() * 20 - 10;
+		}
+		return matrices;
+	}
+
+	private static float[] toFloat(double[] values) {
+		float[] floats = new float[values.length];
+		for (int i = 0; i < values.length; ++i) {
+			floats[i] = (float) values[i];
+		}
+		return floats;
+	}
+
+	private static Matrix4d matrix(double[] matrices, int index) {
+		Matrix4d matrix = new Matrix4d();
+		for (int i = 0; i < 16; ++i) {
+			matrix.setElement(i / 4, i % 4, matrices[16 * index + i]);
+		}
+		return matrix;
+	}
+
+	@Test
+	public void getDefault() {
+		MatrixKernels kernels = MatrixKernels.getDefault();
+		assertNotNull(kernels);
+		assertSame(kernels, MatrixKernels.getDefault());
+		assertTrue(MatrixKernelsLoader.isConsistent(kernels, this.scalar));
+	}
+
+	@Test
+	public void mulDouble() {
+		int count = 9;
+		double[] left = randomMatrices(count);
+		double[] right = randomMatrices(count);
+		double[] dst = new double[16 * (count + 1)];
+		this.scalar.mul(left, 0, right, 0, dst, 16, count);
+		for (int i = 0; i < count; ++i) {
+			Matrix4d expected = matrix(left, i);
+			expected.mul(matrix(right, i));
+			assertEpsilonEquals(expected, matrix(dst, i + 1));
+		}
+	}
+
+	@Test
+	public void mulDouble_inPlace() {
+		int count = 5;
+		double[] left = randomMatrices(count);
+		double[] right = randomMatrices(count);
+		double[] expected = new double[left.length];
+		this.scalar.mul(left, 0, right, 0, expected, 0, count);
+		this.scalar.mul(left, 0, right, 0, left, 0, count);
+		assertArrayEquals(expected, left, 0);
+	}
+
+	@Test
+	public void mulFloat() {
+		int count = 9;
+		double[] left = randomMatrices(count);
+		double[] right = randomMatrices(count);
+		float[] dst = new float[16 * count];
+		this.scalar.mul(toFloat(left), 0, toFloat(right), 0, dst, 0, count);
+		double[] expected = new double[16 * count];
+		this.scalar.mul(left, 0, right, 0, expected, 0, count);
+		for (int i = 0; i < dst.length; ++i) {
+			assertEquals(expected[i], dst[i], 1e-3);
+		}
+	}
+
+	@Test
+	public void transformAffineDouble() {
+		Matrix4d matrix = matrix(randomMatrices(1), 0);
+		matrix.setRow(3, 0, 0, 0, 1);
+		double[] src = new double[] {1, 2, 3, -4, 0.5, 6, 7, -8, 9};
+		double[] dst = new double[src.length];
+		this.scalar.transformAffine(matrix, src, 3, dst, 0, 2);
+		Matrix4d general = matrix.clone();
+		general.type = MatrixType.GENERAL;
+		double[] expected = new double[src.length];
+		general.transform(src, 3, expected, 0, 2);
+		for (int i = 0; i < dst.length; ++i) {
+			assertEpsilonEquals(expected[i], dst[i]);
+		}
+	}
+
+	@Test
+	public void transformAffineFloat() {
+		Matrix4d matrix = matrix(randomMatrices(1), 0);
+		matrix.setRow(3, 0, 0, 0, 1);
+		float[] src = new float[] {1, 2, 3, -4, 0.5f, 6};
+		float[] dst = new float[src.length];
+		this.scalar.transformAffine(matrix, src, 0, dst, 0, 2);
+		Matrix4d general = matrix.clone();
+		general.type = MatrixType.GENERAL;
+		float[] expected = new float[src.length];
+		general.transform(src, 0, expected, 0, 2);
+		for (int i = 0; i < dst.length; ++i) {
+			assertEpsilonEquals(expected[i], dst[i]);
+		}
+	}
+
+	@Test
+	public void select_scalar() {
+		assertSame(this.scalar, MatrixKernelsLoader.select("scalar", this.scalar));
+		assertSame(this.scalar, MatrixKernelsLoader.select("", this.scalar));
+		assertSame(this.scalar, MatrixKernelsLoader.select(null, this.scalar));
+	}
+
+	@Test
+	public void select_notFound() {
+		assertSame(this.scalar, MatrixKernelsLoader.select("org.arakhne.afc.math.matrix.NotFoundKernels", this.scalar));
+	}
+
+	@Test
+	public void select_consistent() {
+		MatrixKernels kernels = MatrixKernelsLoader.select(DelegatingKernels.class.getName(), this.scalar);
+		assertTrue(kernels instanceof DelegatingKernels);
+	}
+
+	@Test
+	public void select_inconsistent() {
+		assertSame(this.scalar, MatrixKernelsLoader.select(WrongKernels.class.getName(), this.scalar));
+	}
+
+	public static class DelegatingKernels implements MatrixKernels {
+
+		private final MatrixKernels delegate = new ScalarMatrixKernels();
+
+		@Override
+		public String getName() {
+			return "delegating";
+		}
+
+		@Override
+		public void mul(double[] left, int leftOff, double[] right, int rightOff, double[] dst, int dstOff, int count) {
+			this.delegate.mul(left, leftOff, right, rightOff, dst, dstOff, count);
+		}
+
+		@Override
+		public void mul(float[] left, int leftOff, float[] right, int rightOff, float[] dst, int dstOff, int count) {
+			this.delegate.mul(left, leftOff, right, rightOff, dst, dstOff, count);
+		}
+
+		@Override
+		public void transformAffine(Matrix4d matrix, double[] src, int srcOff, double[] dst, int dstOff, int count) {
+			this.delegate.transformAffine(matrix, src, srcOff, dst, dstOff, count);
+		}
+
+		@Override
+		public void transformAffine(Matrix4d matrix, float[] src, int srcOff, float[] dst, int dstOff, int count) {
+			this.delegate.transformAffine(matrix, src, srcOff, dst, dstOff, count);
+		}
+
+	}
+
+	public static class WrongKernels extends DelegatingKernels {
+
+		@Override
+		public void mul(double[] left, int leftOff, double[] right, int rightOff, double[] dst, int dstOff, int count) {
+			// The last matrix is forgotten, as by a missing loop tail.
+			super.mul(left, leftOff, right, rightOff, dst, dstOff, count - 1);
+		}
+
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.matrix;
+
+import static org.junit.Assert.assertSame;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.continous.object2d.Point2f;
+import org.arakhne.afc.math.continous.object2d.Vector2f;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class Transform2DTest extends AbstractMathTestCase {
+
+	@Test
+	public void setScaleFloatFloat_afterGetType() {
+		Transform2D transform = new Transform2D();
+		transform.setIdentity();
+		assertSame(MatrixType.IDENTITY, transform.getType());
+		transform.setScale(2, 3);
+		assertSame(MatrixType.SCALE, transform.getType());
+		assertEpsilonEquals(6, transform.determinant());
+
+		Matrix3d matrix = new Matrix3d();
+		matrix.setIdentity();
+		matrix.mul(transform);
+		assertEpsilonEquals(transform, matrix);
+	}
+
+	@Test
+	public void setScaleTuple_afterGetType() {
+		Transform2D transform = new Transform2D();
+		assertSame(MatrixType.IDENTITY, transform.getType());
+		transform.setScale(new Vector2f(2, 3));
+		assertSame(MatrixType.SCALE, transform.getType());
+	}
+
+	@Test
+	public void setters_afterGetType() {
+		Transform2D transform = new Transform2D();
+		assertSame(MatrixType.IDENTITY, transform.getType());
+		transform.setTranslation(1, 2);
+		assertSame(MatrixType.TRANSLATION, transform.getType());
+		transform.setIdentity();
+		assertSame(MatrixType.IDENTITY, transform.getType());
+		transform.setRotation((float) (Math.PI / 2));
+		assertSame(MatrixType.RIGID, transform.getType());
+		transform.setIdentity();
+		assertSame(MatrixType.IDENTITY, transform.getType());
+		transform.setShear(1, 0);
+		assertSame(MatrixType.AFFINE, transform.getType());
+		transform.setIdentity();
+		assertSame(MatrixType.IDENTITY, transform.getType());
+		transform.scale(2, 3);
+		assertSame(MatrixType.SCALE, transform.getType());
+		Point2f point = new Point2f(1, 1);
+		transform.transform(point);
+		assertEpsilonEquals(2, point.getX());
+		assertEpsilonEquals(3, point.getY());
+	}
+
+}
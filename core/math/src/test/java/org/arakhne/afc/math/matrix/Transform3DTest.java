@@ -0,0 +1,69 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.matrix;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.continous.object3d.Quaternion;
+import org.arakhne.afc.math.continous.object3d.Vector3f;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class Transform3DTest extends AbstractMathTestCase {
+
+	private static Quaternion rotationZ() {
+		return new Quaternion(new Vector3f(0, 0, 1), (float) (Math.PI / 2));
+	}
+
+	@Test
+	public void setRotation_afterGetType() {
+		Transform3D transform = new Transform3D();
+		assertSame(MatrixType.IDENTITY, transform.getType());
+		transform.setRotation(rotationZ());
+		assertNotSame(MatrixType.IDENTITY, transform.getType());
+		double[] point = new double[] {1, 0, 0};
+		transform.transform(point, 0, point, 0, 1);
+		assertEpsilonEquals(0, point[0]);
+		assertEpsilonEquals(1, point[1]);
+		assertEpsilonEquals(0, point[2]);
+	}
+
+	@Test
+	public void setRotation_mul() {
+		Transform3D rotation = new Transform3D();
+		assertSame(MatrixType.IDENTITY, rotation.getType());
+		rotation.setRotation(rotationZ());
+		Matrix4d matrix = new Matrix4d();
+		matrix.setIdentity();
+		matrix.mul(rotation);
+		assertEpsilonEquals(rotation, matrix);
+
+		Transform3D transform = new Transform3D();
+		assertSame(MatrixType.IDENTITY, transform.getType());
+		transform.setRotation(rotationZ());
+		transform.mul(rotation);
+		assertEpsilonEquals(-1, transform.getM00());
+		assertEpsilonEquals(-1, transform.getM11());
+	}
+
+}
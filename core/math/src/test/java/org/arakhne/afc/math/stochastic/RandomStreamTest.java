@@ -0,0 +1,138 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.stochastic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+
+@SuppressWarnings("all")
+public class RandomStreamTest extends AbstractMathTestCase {
+
+	private static final long SEED = 1234567L;
+
+	private static final int COUNT = 1000;
+
+	@Test
+	public void sameSeed() {
+		final RandomStream stream1 = new RandomStream(SEED);
+		final RandomStream stream2 = new RandomStream(SEED);
+		for (int i = 0; i < COUNT; ++i) {
+			assertEquals(stream1.nextLong(), stream2.nextLong());
+			assertEpsilonEquals(stream1.nextGaussian(), stream2.nextGaussian());
+		}
+	}
+
+	@Test
+	public void splittableRandom() {
+		final RandomStream stream = new RandomStream(SEED);
+		final SplittableRandom reference = new SplittableRandom(SEED);
+		for (int i = 0; i < COUNT; ++i) {
+			assertEquals(reference.nextLong(), stream.nextLong());
+			assertEquals(reference.nextInt(), stream.nextInt());
+			assertEquals(reference.nextInt(7), stream.nextInt(7));
+			assertEquals(reference.nextInt(64), stream.nextInt(64));
+			assertEquals(reference.nextBoolean(), stream.nextBoolean());
+			assertEquals(Double.doubleToLongBits(reference.nextDouble()), Double.doubleToLongBits(stream.nextDouble()));
+		}
+		final RandomStream split = stream.split();
+		final SplittableRandom referenceSplit = reference.split();
+		for (int i = 0; i < COUNT; ++i) {
+			assertEquals(referenceSplit.nextLong(), split.nextLong());
+		}
+	}
+
+	@Test
+	public void split() {
+		final RandomStream stream = new RandomStream(SEED);
+		final RandomStream split1 = stream.split();
+		final RandomStream split2 = stream.split();
+		assertTrue(split1.nextLong() != split2.nextLong());
+		final RandomStream other = new RandomStream(SEED);
+		assertEquals(other.split().nextLong(), new RandomStream(SEED).split().nextLong());
+	}
+
+	@Test
+	public void setSeed() {
+		final RandomStream stream = new RandomStream(SEED);
+		final long first = stream.nextLong();
+		stream.nextGaussian();
+		stream.setSeed(SEED);
+		assertEquals(first, stream.nextLong());
+	}
+
+	@Test
+	public void defaultSeed() {
+		assertTrue(new RandomStream().nextLong() != new RandomStream().nextLong());
+	}
+
+	@Test
+	public void nextDouble() {
+		final RandomStream stream = new RandomStream(SEED);
+		for (int i = 0; i < COUNT; ++i) {
+			final double value = stream.nextDouble();
+			assertTrue(value >= 0 && value < 1);
+			final float fvalue = stream.nextFloat();
+			assertTrue(fvalue >= 0 && fvalue < 1);
+		}
+	}
+
+	@Test
+	public void nextIntBound() {
+		final RandomStream stream = new RandomStream(SEED);
+		for (int i = 0; i < COUNT; ++i) {
+			final int value = stream.nextInt(10);
+			assertTrue(value >= 0 && value < 10);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nextIntBound_zero() {
+		new RandomStream(SEED).nextInt(0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nextIntBound_negative() {
+		new RandomStream(SEED).nextInt(-5);
+	}
+
+	@Test
+	public void nextGaussian() {
+		final RandomStream stream = new RandomStream(SEED);
+		final int count = 100000;
+		double sum = 0;
+		double sumSquares = 0;
+		for (int i = 0; i < count; ++i) {
+			final double value = stream.nextGaussian();
+			sum += value;
+			sumSquares += value * value;
+		}
+		final double mean = sum / count;
+		assertEquals(0, mean, .02);
+		assertEquals(1, sumSquares / count - mean * mean, .02);
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.stochastic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+
+@SuppressWarnings("all")
+public class StochasticGeneratorTest extends AbstractMathTestCase {
+
+	private static final long SEED = 987654L;
+
+	private static final int COUNT = 100;
+
+	@Test
+	public void setSeed() throws Exception {
+		final UniformStochasticLaw law = new UniformStochasticLaw(10, 20);
+		StochasticGenerator.setSeed(SEED);
+		final double[] values = new double[COUNT];
+		for (int i = 0; i < COUNT; ++i) {
+			values[i] = law.generateRandomValue();
+			assertTrue(values[i] >= 10 && values[i] <= 20);
+		}
+		StochasticGenerator.setSeed(SEED);
+		for (int i = 0; i < COUNT; ++i) {
+			assertEpsilonEquals(values[i], law.generateRandomValue());
+		}
+	}
+
+	@Test
+	public void generateRandomValueStream() throws Exception {
+		final GaussianStochasticLaw law = new GaussianStochasticLaw(5, 2);
+		final RandomStream stream1 = new RandomStream(SEED);
+		final RandomStream stream2 = new RandomStream(SEED);
+		for (int i = 0; i < COUNT; ++i) {
+			assertEpsilonEquals(law.generateRandomValue(stream1), StochasticGenerator.generateRandomValue(law, stream2));
+		}
+	}
+
+	@Test
+	public void newRandomStream() {
+		StochasticGenerator.setSeed(SEED);
+		final long value1 = StochasticGenerator.newRandomStream().nextLong();
+		final long value2 = StochasticGenerator.newRandomStream().nextLong();
+		assertTrue(value1 != value2);
+		StochasticGenerator.setSeed(SEED);
+		assertEquals(value1, StochasticGenerator.newRandomStream().nextLong());
+		assertEquals(value2, StochasticGenerator.newRandomStream().nextLong());
+	}
+
+	@Test
+	public void getRandomStream() throws Exception {
+		final RandomStream stream = StochasticGenerator.getRandomStream();
+		assertSame(stream, StochasticGenerator.getRandomStream());
+		final AtomicReference<RandomStream> other = new AtomicReference<>();
+		final Thread thread = new Thread(() -> other.set(StochasticGenerator.getRandomStream()));
+		thread.start();
+		thread.join();
+		assertNotSame(stream, other.get());
+		StochasticGenerator.setSeed(SEED);
+		assertNotSame(stream, StochasticGenerator.getRandomStream());
+	}
+
+	@Test
+	public void noiseValue() throws Exception {
+		final RandomStream stream = new RandomStream(SEED);
+		for (int i = 0; i < COUNT; ++i) {
+			final double value = StochasticGenerator.noiseValue(10, new ConstantStochasticLaw(2), stream);
+			assertTrue(value >= 8 && value <= 12);
+		}
+	}
+
+}
@@ -0,0 +1,203 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.stochastic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleUnaryOperator;
+
+import org.junit.Test;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+
+@SuppressWarnings("all")
+public class StochasticLawFillTest extends AbstractMathTestCase {
+
+	private static final long SEED = 24681357L;
+
+	private static final int COUNT = 20000;
+
+	/** Critical value of the Kolmogorov-Smirnov test for a significance level of 0.001.
+	 */
+	private static final double KS_CRITICAL = 1.95;
+
+	private static double[] fill(StochasticLaw law) throws Exception {
+		final double[] values = new double[COUNT];
+		law.fill(values, 0, COUNT, new RandomStream(SEED));
+		return values;
+	}
+
+	private static double[] generate(StochasticLaw law) throws Exception {
+		final RandomStream stream = new RandomStream(SEED + 1);
+		final double[] values = new double[COUNT];
+		for (int i = 0; i < COUNT; ++i) {
+			values[i] = law.generateRandomValue(stream);
+		}
+		return values;
+	}
+
+	/** Two-sample Kolmogorov-Smirnov test between the bulk and the per-call sampling.
+	 */
+	private static void assertSameDistribution(StochasticLaw law) throws Exception {
+		final double[] sample1 = fill(law);
+		final double[] sample2 = generate(law);
+		Arrays.sort(sample1);
+		Arrays.sort(sample2);
+		double d = 0;
+		int i = 0;
+		int j = 0;
+		while (i < sample1.length && j < sample2.length) {
+			if (sample1[i] <= sample2[j]) {
+				++i;
+			} else {
+				++j;
+			}
+			d = Math.max(d, Math.abs((double) i / sample1.length - (double) j / sample2.length));
+		}
+		final double critical = KS_CRITICAL * Math.sqrt(2. / COUNT);
+		assertTrue(law + ": D=" + d, d < critical);
+	}
+
+	/** One-sample Kolmogorov-Smirnov test between the bulk sampling and the cumulative distribution function.
+	 */
+	private static void assertDistribution(StochasticLaw law, DoubleUnaryOperator cdf) throws Exception {
+		final double[] sample = fill(law);
+		Arrays.sort(sample);
+		double d = 0;
+		for (int i = 0; i < sample.length; ++i) {
+			final double f = cdf.applyAsDouble(sample[i]);
+			d = Math.max(d, Math.max(f - (double) i / sample.length, (double) (i + 1) / sample.length - f));
+		}
+		final double critical = KS_CRITICAL / Math.sqrt(COUNT);
+		assertTrue(law + ": D=" + d, d < critical);
+	}
+
+	@Test
+	public void exponential() throws Exception {
+		final ExponentialStochasticLaw law = new ExponentialStochasticLaw(.5, 2);
+		assertSameDistribution(law);
+		assertDistribution(law, (x) -> 1. - Math.exp(-.5 * (x - 2)));
+	}
+
+	@Test
+	public void pareto() throws Exception {
+		final ParetoStochasticLaw law = new ParetoStochasticLaw(3, 1.5);
+		assertSameDistribution(law);
+		assertDistribution(law, (x) -> 1. - Math.pow(1.5 / x, 3));
+	}
+
+	@Test
+	public void triangular() throws Exception {
+		final TriangularStochasticLaw law = new TriangularStochasticLaw(1, 2, 5);
+		assertSameDistribution(law);
+		assertDistribution(law, (x) -> x <= 2 ? (x - 1) * (x - 1) / 4. : 1. - (5 - x) * (5 - x) / 12.);
+	}
+
+	@Test
+	public void logNormal() throws Exception {
+		final LogNormalStochasticLaw law = new LogNormalStochasticLaw(1, .8);
+		assertSameDistribution(law);
+		for (final double value : fill(law)) {
+			assertTrue(value > 0);
+		}
+	}
+
+	@Test
+	public void gaussian() throws Exception {
+		final GaussianStochasticLaw law = new GaussianStochasticLaw(3, 2);
+		assertSameDistribution(law);
+		// The values of the law follow N(mean + deviation / 2, deviation / 2)
+		final double[] values = fill(law);
+		double sum = 0;
+		double sumSquares = 0;
+		for (final double value : values) {
+			sum += value;
+			sumSquares += value * value;
+		}
+		final double mean = sum / COUNT;
+		assertEquals(4, mean, .03);
+		assertEquals(1, sumSquares / COUNT - mean * mean, .03);
+	}
+
+	@Test
+	public void uniform() throws Exception {
+		final UniformStochasticLaw law = new UniformStochasticLaw(-2, 6);
+		assertSameDistribution(law);
+		assertDistribution(law, (x) -> (x + 2) / 8.);
+	}
+
+	@Test
+	public void defaultFill() throws Exception {
+		final CauchyStochasticLaw law = new CauchyStochasticLaw(0, 1);
+		assertSameDistribution(law);
+	}
+
+	@Test
+	public void fillRange() throws Exception {
+		final ExponentialStochasticLaw law = new ExponentialStochasticLaw(1, 0);
+		final double[] values = new double[10];
+		Arrays.fill(values, -1);
+		law.fill(values, 2, 5, new RandomStream(SEED));
+		for (int i = 0; i < values.length; ++i) {
+			if (i >= 2 && i < 7) {
+				assertTrue(values[i] >= 0);
+			} else {
+				assertEpsilonEquals(-1, values[i]);
+			}
+		}
+	}
+
+	@Test
+	public void fillReproducible() throws Exception {
+		final LogNormalStochasticLaw law = new LogNormalStochasticLaw(0, 1);
+		final double[] values1 = new double[100];
+		final double[] values2 = new double[100];
+		law.fill(values1, 0, 100, new RandomStream(SEED));
+		law.fill(values2, 0, 100, new RandomStream(SEED));
+		assertArrayEquals(values1, values2, 0);
+	}
+
+	@Test
+	public void parallelFill() throws Exception {
+		final ParetoStochasticLaw law = new ParetoStochasticLaw(2, 1);
+		final int count = 100000;
+		final double[] values1 = new double[count + 2];
+		final double[] values2 = new double[count + 2];
+		final ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			law.parallelFill(values1, 1, count, new RandomStream(SEED), pool);
+		} finally {
+			pool.shutdown();
+		}
+		law.parallelFill(values2, 1, count, new RandomStream(SEED), ForkJoinPool.commonPool());
+		assertArrayEquals(values1, values2, 0);
+		assertEpsilonEquals(0, values1[0]);
+		assertEpsilonEquals(0, values1[count + 1]);
+		for (int i = 1; i <= count; ++i) {
+			assertTrue(values1[i] >= 1);
+		}
+	}
+
+}
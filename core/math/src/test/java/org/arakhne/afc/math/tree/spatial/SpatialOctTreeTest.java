@@ -0,0 +1,309 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.tree.spatial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class SpatialOctTreeTest {
+
+	private static final double SIZE = 100;
+
+	private Random random;
+
+	private SpatialOctTree<Item> tree;
+
+	private List<Item> items;
+
+	@Before
+	public void setUp() {
+		this.random = new Random(1234);
+		this.tree = new SpatialOctTree<>(0, 0, 0, SIZE, SIZE, SIZE, 4, 8);
+		this.items = new ArrayList<>();
+	}
+
+	private Item newItem(int id) {
+		final Item item = new Item(id);
+		randomize(item);
+		return item;
+	}
+
+	private void randomize(Item item) {
+		// Some objects are outside the area of the tree
+		final double x = this.random.nextDouble() * (SIZE + 20) - 10;
+		final double y = this.random.nextDouble() * (SIZE + 20) - 10;
+		final double z = this.random.nextDouble() * (SIZE + 20) - 10;
+		if (this.random.nextInt(4) == 0) {
+			item.set(x, y, z, x + this.random.nextDouble() * 10, y + this.random.nextDouble() * 10,
+					z + this.random.nextDouble() * 10);
+		} else {
+			item.set(x, y, z, x, y, z);
+		}
+	}
+
+	private void fill(int count) {
+		for (int i = 0; i < count; ++i) {
+			final Item item = newItem(i);
+			this.items.add(item);
+			assertTrue(this.tree.add(item, item.minX, item.minY, item.minZ, item.maxX, item.maxY, item.maxZ));
+		}
+	}
+
+	private void move(Item item) {
+		assertTrue(this.tree.move(item, item.minX, item.minY, item.minZ, item.maxX, item.maxY, item.maxZ));
+	}
+
+	private void assertValid() {
+		assertEquals(this.items.size(), this.tree.size());
+		assertEquals(this.items.size(), checkNode(this.tree.getRoot()));
+		final double inf = Double.POSITIVE_INFINITY;
+		final List<Item> all = this.tree.getInWindow(-inf, -inf, -inf, inf, inf, inf);
+		assertEquals(new HashSet<>(this.items), new HashSet<>(all));
+		assertEquals(this.items.size(), all.size());
+	}
+
+	private int checkNode(SpatialOctTreeNode<Item> node) {
+		int count = node.getEntryCount();
+		for (int i = 0; i < node.getEntryCount(); ++i) {
+			final SpatialOctTreeNode.Entry<Item> entry = node.getEntryAt(i);
+			assertSame(node, entry.node);
+			assertEquals(i, entry.index);
+			if (node.getParentNode() != null && (!node.isIcosep() || node.getParentNode().getParentNode() != null)) {
+				assertTrue(node.contains(entry));
+			}
+		}
+		if (node.isSplit()) {
+			assertEquals(0, node.getEntryCount());
+		}
+		if (node.isIcosep()) {
+			assertFalse(node.isSplit());
+		}
+		for (int i = 0; i < node.getChildCount(); ++i) {
+			final SpatialOctTreeNode<Item> child = node.getChildAt(i);
+			if (child != null) {
+				assertSame(node, child.getParentNode());
+				count += checkNode(child);
+			}
+		}
+		assertEquals(count, node.getObjectCount());
+		return count;
+	}
+
+	private void assertQueries() {
+		for (int i = 0; i < 20; ++i) {
+			final double x = this.random.nextDouble() * SIZE;
+			final double y = this.random.nextDouble() * SIZE;
+			final double z = this.random.nextDouble() * SIZE;
+			final double w = this.random.nextDouble() * 40;
+			final List<Item> window = new ArrayList<>();
+			final List<Item> radius = new ArrayList<>();
+			for (final Item item : this.items) {
+				if (item.maxX >= x && item.minX <= x + w && item.maxY >= y && item.minY <= y + w
+						&& item.maxZ >= z && item.minZ <= z + w) {
+					window.add(item);
+				}
+				if (item.distanceSquared(x, y, z) <= w * w) {
+					radius.add(item);
+				}
+			}
+			assertEquals(new HashSet<>(window), new HashSet<>(this.tree.getInWindow(x, y, z, x + w, y + w, z + w)));
+			assertEquals(new HashSet<>(radius), new HashSet<>(this.tree.getInRadius(x, y, z, w)));
+			final List<Item> nearest = this.tree.getNearest(x, y, z, 5);
+			final List<Item> expected = new ArrayList<>(this.items);
+			Collections.sort(expected, Comparator.comparingDouble(it -> it.distanceSquared(x, y, z)));
+			assertEquals(Math.min(5, expected.size()), nearest.size());
+			for (int j = 0; j < nearest.size(); ++j) {
+				assertEquals(expected.get(j).distanceSquared(x, y, z), nearest.get(j).distanceSquared(x, y, z), 0);
+			}
+		}
+	}
+
+	@Test
+	public void addEmpty() {
+		assertTrue(this.tree.isEmpty());
+		assertNull(this.tree.getNearest(1, 1, 1));
+		assertFalse(this.tree.getRoot().isSplit());
+	}
+
+	@Test
+	public void add() {
+		fill(500);
+		assertTrue(this.tree.getRoot().isSplit());
+		assertFalse(this.tree.add(this.items.get(0), 0, 0, 0));
+		assertValid();
+		assertQueries();
+	}
+
+	@Test
+	public void addStraddling() {
+		final Item item = new Item(0);
+		item.set(40, 40, 40, 60, 60, 60);
+		this.items.add(item);
+		this.tree.add(item, 40, 40, 40, 60, 60, 60);
+		fill(100);
+		assertNotNull(this.tree.getRoot().getIcosepChild());
+		assertSame(this.tree.getRoot().getIcosepChild(), this.tree.getRoot().getChildAt(8));
+		assertValid();
+	}
+
+	@Test
+	public void remove() {
+		fill(500);
+		Collections.shuffle(this.items, this.random);
+		for (int i = 0; i < 450; ++i) {
+			final Item item = this.items.remove(this.items.size() - 1);
+			assertTrue(this.tree.remove(item));
+			assertFalse(this.tree.remove(item));
+			if (i % 50 == 0) {
+				assertValid();
+				assertQueries();
+			}
+		}
+		this.items.forEach(this.tree::remove);
+		this.items.clear();
+		assertValid();
+		assertFalse(this.tree.getRoot().isSplit());
+	}
+
+	@Test
+	public void move() {
+		fill(500);
+		for (int step = 0; step < 10; ++step) {
+			for (final Item item : this.items) {
+				if (this.random.nextBoolean()) {
+					randomize(item);
+				} else {
+					final double dx = this.random.nextDouble() - .5;
+					final double dy = this.random.nextDouble() - .5;
+					final double dz = this.random.nextDouble() - .5;
+					item.set(item.minX + dx, item.minY + dy, item.minZ + dz, item.maxX + dx, item.maxY + dy,
+							item.maxZ + dz);
+				}
+				move(item);
+			}
+			assertValid();
+			assertQueries();
+		}
+		assertFalse(this.tree.move(new Item(-1), 0, 0, 0));
+	}
+
+	@Test
+	public void rebuild() {
+		fill(500);
+		for (final Item item : this.items) {
+			randomize(item);
+		}
+		this.tree.rebuild(Item::getBounds);
+		assertValid();
+		assertQueries();
+	}
+
+	@Test
+	public void addAll() {
+		for (int i = 0; i < 300; ++i) {
+			this.items.add(newItem(i));
+		}
+		assertTrue(this.tree.addAll(this.items.subList(0, 200), Item::getBounds));
+		assertTrue(this.tree.addAll(this.items, Item::getBounds));
+		assertValid();
+		assertQueries();
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class Item {
+
+		final int id;
+
+		double minX;
+
+		double minY;
+
+		double minZ;
+
+		double maxX;
+
+		double maxY;
+
+		double maxZ;
+
+		Item(int id) {
+			this.id = id;
+		}
+
+		void set(double x1, double y1, double z1, double x2, double y2, double z2) {
+			this.minX = x1;
+			this.minY = y1;
+			this.minZ = z1;
+			this.maxX = x2;
+			this.maxY = y2;
+			this.maxZ = z2;
+		}
+
+		void getBounds(double[] bounds) {
+			bounds[0] = this.minX;
+			bounds[1] = this.minY;
+			bounds[2] = this.minZ;
+			bounds[3] = this.maxX;
+			bounds[4] = this.maxY;
+			bounds[5] = this.maxZ;
+		}
+
+		double distanceSquared(double x, double y, double z) {
+			final double dx = x < this.minX ? this.minX - x : (x > this.maxX ? x - this.maxX : 0);
+			final double dy = y < this.minY ? this.minY - y : (y > this.maxY ? y - this.maxY : 0);
+			final double dz = z < this.minZ ? this.minZ - z : (z > this.maxZ ? z - this.maxZ : 0);
+			return dx * dx + dy * dy + dz * dz;
+		}
+
+		@Override
+		public String toString() {
+			return Integer.toString(this.id);
+		}
+
+	}
+
+}
@@ -0,0 +1,383 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.tree.spatial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class SpatialQuadTreeTest {
+
+	private static final double SIZE = 100;
+
+	private Random random;
+
+	private SpatialQuadTree<Item> tree;
+
+	private List<Item> items;
+
+	@Before
+	public void setUp() {
+		this.random = new Random(1234);
+		this.tree = new SpatialQuadTree<>(0, 0, SIZE, SIZE, 4, 8);
+		this.items = new ArrayList<>();
+	}
+
+	private Item newItem(int id) {
+		final Item item = new Item(id);
+		randomize(item);
+		return item;
+	}
+
+	private void randomize(Item item) {
+		// Some objects are outside the area of the tree
+		final double x = this.random.nextDouble() * (SIZE + 20) - 10;
+		final double y = this.random.nextDouble() * (SIZE + 20) - 10;
+		if (this.random.nextInt(4) == 0) {
+			item.set(x, y, x + this.random.nextDouble() * 10, y + this.random.nextDouble() * 10);
+		} else {
+			item.set(x, y, x, y);
+		}
+	}
+
+	private void fill(int count) {
+		for (int i = 0; i < count; ++i) {
+			final Item item = newItem(i);
+			this.items.add(item);
+			assertTrue(this.tree.add(item, item.minX, item.minY, item.maxX, item.maxY));
+		}
+	}
+
+	private void assertValid() {
+		final SpatialQuadTreeNode<Item> root = this.tree.getRoot();
+		assertEquals(this.items.size(), this.tree.size());
+		assertEquals(this.items.size(), checkNode(root));
+		final List<Item> all = this.tree.getInWindow(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+				Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+		assertEquals(new HashSet<>(this.items), new HashSet<>(all));
+		assertEquals(this.items.size(), all.size());
+	}
+
+	private int checkNode(SpatialQuadTreeNode<Item> node) {
+		int count = node.getEntryCount();
+		for (int i = 0; i < node.getEntryCount(); ++i) {
+			final SpatialQuadTreeNode.Entry<Item> entry = node.getEntryAt(i);
+			assertSame(node, entry.node);
+			assertEquals(i, entry.index);
+			assertEquals(entry.getMinX(), entry.getData().minX, 0);
+			if (node.getParentNode() != null && (!node.isIcosep() || node.getParentNode().getParentNode() != null)) {
+				assertTrue(node.contains(entry));
+			}
+		}
+		if (node.isSplit()) {
+			assertEquals(0, node.getEntryCount());
+		}
+		if (node.isIcosep()) {
+			assertFalse(node.isSplit());
+		}
+		for (int i = 0; i < node.getChildCount(); ++i) {
+			final SpatialQuadTreeNode<Item> child = node.getChildAt(i);
+			if (child != null) {
+				assertSame(node, child.getParentNode());
+				count += checkNode(child);
+			}
+		}
+		assertEquals(count, node.getObjectCount());
+		return count;
+	}
+
+	private List<Item> bruteWindow(double x1, double y1, double x2, double y2) {
+		final List<Item> list = new ArrayList<>();
+		for (final Item item : this.items) {
+			if (item.maxX >= x1 && item.minX <= x2 && item.maxY >= y1 && item.minY <= y2) {
+				list.add(item);
+			}
+		}
+		return list;
+	}
+
+	private List<Item> bruteRadius(double x, double y, double radius) {
+		final List<Item> list = new ArrayList<>();
+		for (final Item item : this.items) {
+			if (item.distanceSquared(x, y) <= radius * radius) {
+				list.add(item);
+			}
+		}
+		return list;
+	}
+
+	private void assertQueries() {
+		for (int i = 0; i < 20; ++i) {
+			final double x = this.random.nextDouble() * SIZE;
+			final double y = this.random.nextDouble() * SIZE;
+			final double w = this.random.nextDouble() * 40;
+			final double h = this.random.nextDouble() * 40;
+			assertEquals(new HashSet<>(bruteWindow(x, y, x + w, y + h)),
+					new HashSet<>(this.tree.getInWindow(x, y, x + w, y + h)));
+			assertEquals(new HashSet<>(bruteRadius(x, y, w)), new HashSet<>(this.tree.getInRadius(x, y, w)));
+			final List<Item> nearest = this.tree.getNearest(x, y, 5);
+			final List<Item> expected = new ArrayList<>(this.items);
+			Collections.sort(expected, Comparator.comparingDouble(it -> it.distanceSquared(x, y)));
+			assertEquals(Math.min(5, expected.size()), nearest.size());
+			for (int j = 0; j < nearest.size(); ++j) {
+				assertEquals(expected.get(j).distanceSquared(x, y), nearest.get(j).distanceSquared(x, y), 0);
+			}
+		}
+	}
+
+	@Test
+	public void addEmpty() {
+		assertTrue(this.tree.isEmpty());
+		assertNull(this.tree.getNearest(1, 1));
+		assertTrue(this.tree.getInWindow(0, 0, SIZE, SIZE).isEmpty());
+		assertFalse(this.tree.getRoot().isSplit());
+	}
+
+	@Test
+	public void add() {
+		fill(500);
+		assertTrue(this.tree.getRoot().isSplit());
+		assertFalse(this.tree.add(this.items.get(0), 0, 0));
+		assertValid();
+		assertQueries();
+	}
+
+	@Test
+	public void addStraddling() {
+		final Item item = new Item(0);
+		item.set(40, 40, 60, 60);
+		this.items.add(item);
+		this.tree.add(item, 40, 40, 60, 60);
+		fill(100);
+		final SpatialQuadTreeNode<Item> icosep = this.tree.getRoot().getIcosepChild();
+		assertNotNull(icosep);
+		assertSame(icosep, this.tree.getRoot().getIcosepChild());
+		assertValid();
+	}
+
+	@Test
+	public void addMaxDepth() {
+		this.tree = new SpatialQuadTree<>(0, 0, SIZE, SIZE, 2, 3);
+		for (int i = 0; i < 50; ++i) {
+			final Item item = new Item(i);
+			item.set(1, 1, 1, 1);
+			this.items.add(item);
+			this.tree.add(item, 1, 1);
+		}
+		assertValid();
+		SpatialQuadTreeNode<Item> node = this.tree.getRoot();
+		int depth = 0;
+		while (node.isSplit()) {
+			node = node.getChildAt(0).isSplit() || node.getChildAt(0).getObjectCount() > 0
+					? node.getChildAt(0) : node.getChildAt(2);
+			++depth;
+		}
+		assertEquals(3, depth);
+		assertEquals(50, node.getEntryCount());
+	}
+
+	@Test
+	public void remove() {
+		fill(500);
+		Collections.shuffle(this.items, this.random);
+		for (int i = 0; i < 450; ++i) {
+			final Item item = this.items.remove(this.items.size() - 1);
+			assertTrue(this.tree.remove(item));
+			assertFalse(this.tree.remove(item));
+			assertFalse(this.tree.contains(item));
+			if (i % 50 == 0) {
+				assertValid();
+				assertQueries();
+			}
+		}
+		assertValid();
+		assertQueries();
+		this.items.forEach(this.tree::remove);
+		this.items.clear();
+		assertValid();
+		assertFalse(this.tree.getRoot().isSplit());
+	}
+
+	@Test
+	public void move() {
+		fill(500);
+		for (int step = 0; step < 10; ++step) {
+			for (final Item item : this.items) {
+				if (this.random.nextBoolean()) {
+					randomize(item);
+				} else {
+					final double dx = this.random.nextDouble() - .5;
+					final double dy = this.random.nextDouble() - .5;
+					item.set(item.minX + dx, item.minY + dy, item.maxX + dx, item.maxY + dy);
+				}
+				assertTrue(this.tree.move(item, item.minX, item.minY, item.maxX, item.maxY));
+			}
+			assertValid();
+			assertQueries();
+		}
+		assertFalse(this.tree.move(new Item(-1), 0, 0));
+	}
+
+	@Test
+	public void moveCluster() {
+		fill(200);
+		// Gather all the objects into a small area, and spread them again
+		for (final Item item : this.items) {
+			final double x = 80 + this.random.nextDouble();
+			item.set(x, x, x, x);
+			this.tree.move(item, x, x);
+		}
+		assertValid();
+		assertQueries();
+		for (final Item item : this.items) {
+			randomize(item);
+			this.tree.move(item, item.minX, item.minY, item.maxX, item.maxY);
+		}
+		assertValid();
+		assertQueries();
+	}
+
+	@Test
+	public void rebuild() {
+		fill(500);
+		for (final Item item : this.items) {
+			randomize(item);
+		}
+		this.tree.rebuild(Item::getBounds);
+		assertValid();
+		assertQueries();
+		this.tree.move(this.items.get(0), 3, 3);
+		this.items.get(0).set(3, 3, 3, 3);
+		this.tree.remove(this.items.remove(1));
+		assertValid();
+	}
+
+	@Test
+	public void addAll() {
+		for (int i = 0; i < 300; ++i) {
+			this.items.add(newItem(i));
+		}
+		assertTrue(this.tree.addAll(this.items.subList(0, 200), Item::getBounds));
+		assertTrue(this.tree.addAll(this.items, Item::getBounds));
+		assertFalse(this.tree.addAll(this.items, Item::getBounds));
+		assertValid();
+		assertQueries();
+	}
+
+	@Test
+	public void visitInWindow_stop() {
+		fill(100);
+		final int[] count = new int[1];
+		assertFalse(this.tree.visitInWindow(-20, -20, 200, 200, it -> ++count[0] < 10));
+		assertEquals(10, count[0]);
+	}
+
+	@Test
+	public void getNearest() {
+		fill(300);
+		final Item nearest = this.tree.getNearest(50, 50);
+		double min = Double.POSITIVE_INFINITY;
+		for (final Item item : this.items) {
+			min = Math.min(min, item.distanceSquared(50, 50));
+		}
+		assertEquals(min, nearest.distanceSquared(50, 50), 0);
+		assertEquals(300, this.tree.getNearest(50, 50, 1000).size());
+	}
+
+	@Test
+	public void clear() {
+		fill(100);
+		this.tree.clear();
+		this.items.clear();
+		assertValid();
+		assertFalse(this.tree.iterator().hasNext());
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class Item {
+
+		final int id;
+
+		double minX;
+
+		double minY;
+
+		double maxX;
+
+		double maxY;
+
+		Item(int id) {
+			this.id = id;
+		}
+
+		void set(double x1, double y1, double x2, double y2) {
+			this.minX = x1;
+			this.minY = y1;
+			this.maxX = x2;
+			this.maxY = y2;
+		}
+
+		void getBounds(double[] bounds) {
+			bounds[0] = this.minX;
+			bounds[1] = this.minY;
+			bounds[2] = this.maxX;
+			bounds[3] = this.maxY;
+		}
+
+		double distanceSquared(double x, double y) {
+			final double dx = x < this.minX ? this.minX - x : (x > this.maxX ? x - this.maxX : 0);
+			final double dy = y < this.minY ? this.minY - y : (y > this.maxY ? y - this.maxY : 0);
+			return dx * dx + dy * dy;
+		}
+
+		@Override
+		public String toString() {
+			return Integer.toString(this.id);
+		}
+
+	}
+
+}
@@ -0,0 +1,205 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.matrix.vector;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import org.arakhne.afc.math.matrix.Matrix4d;
+import org.arakhne.afc.math.matrix.MatrixKernels;
+import org.arakhne.afc.vmutil.asserts.AssertMessages;
+
+/** Implementation of the computation kernels for the batches of matrices and of points that is
+ * based on the {@code jdk.incubator.vector} module.
+ *
+ * <p>A row of a 4x4 matrix is stored in a vector of four lanes. A row of a product is the sum of
+ * the rows of the right operand that are scaled by the elements of the row of the left operand.
+ * A transformed point is the sum of the columns of the matrix that are scaled by the coordinates
+ * of the point. The sums are computed in the same order as in the scalar kernels.
+ *
+ * <p>The rows of the right operand are loaded before the product is stored, and each row of the
+ * left operand is read before the same row of the product is stored; the destination may
+ * therefore be one of the operands. The four lanes of a transformed point are stored; the fourth
+ * lane is overwritten by the next point, which coordinates are read before. The last point is
+ * stored coordinate by coordinate.
+ *
+ * <p>These kernels are loaded by {@link MatrixKernels#getDefault()} when this module is on the
+ * class path and the virtual machine is launched with {@code --add-modules jdk.incubator.vector}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 13.0
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+public final class VectorMatrixKernels implements MatrixKernels {
+
+	private static final VectorSpecies<Double> DOUBLE_SPECIES = DoubleVector.SPECIES_256;
+
+	private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_128;
+
+	/** Construct the vector kernels.
+	 */
+	public VectorMatrixKernels() {
+		//
+	}
+
+	@Override
+	public String getName() {
+		return "vector"; //$NON-NLS-1$
+	}
+
+	@Override
+	@SuppressWarnings("checkstyle:parameternumber")
+	public void mul(double[] left, int leftOff, double[] right, int rightOff, double[] dst, int dstOff, int count) {
+		assert left != null : AssertMessages.notNullParameter(0);
+		assert right != null : AssertMessages.notNullParameter(2);
+		assert dst != null : AssertMessages.notNullParameter(4);
+		assert count >= 0 : AssertMessages.positiveOrZeroParameter(6);
+		for (int i = 0; i < count; ++i) {
+			final int l = leftOff + 16 * i;
+			final int r = rightOff + 16 * i;
+			final int d = dstOff + 16 * i;
+			final DoubleVector b0 = DoubleVector.fromArray(DOUBLE_SPECIES, right, r);
+			final DoubleVector b1 = DoubleVector.fromArray(DOUBLE_SPECIES, right, r + 4);
+			final DoubleVector b2 = DoubleVector.fromArray(DOUBLE_SPECIES, right, r + 8);
+			final DoubleVector b3 = DoubleVector.fromArray(DOUBLE_SPECIES, right, r + 12);
+			for (int row = 0; row < 16; row += 4) {
+				final double a0 = left[l + row];
+				final double a1 = left[l + row + 1];
+				final double a2 = left[l + row + 2];
+				final double a3 = left[l + row + 3];
+				b0.mul(a0).add(b1.mul(a1)).add(b2.mul(a2)).add(b3.mul(a3)).intoArray(dst, d + row);
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("checkstyle:parameternumber")
+	public void mul(float[] left, int leftOff, float[] right, int rightOff, float[] dst, int dstOff, int count) {
+		assert left != null : AssertMessages.notNullParameter(0);
+		assert right != null : AssertMessages.notNullParameter(2);
+		assert dst != null : AssertMessages.notNullParameter(4);
+		assert count >= 0 : AssertMessages.positiveOrZeroParameter(6);
+		for (int i = 0; i < count; ++i) {
+			final int l = leftOff + 16 * i;
+			final int r = rightOff + 16 * i;
+			final int d = dstOff + 16 * i;
+			final FloatVector b0 = FloatVector.fromArray(FLOAT_SPECIES, right, r);
+			final FloatVector b1 = FloatVector.fromArray(FLOAT_SPECIES, right, r + 4);
+			final FloatVector b2 = FloatVector.fromArray(FLOAT_SPECIES, right, r + 8);
+			final FloatVector b3 = FloatVector.fromArray(FLOAT_SPECIES, right, r + 12);
+			for (int row = 0; row < 16; row += 4) {
+				final float a0 = left[l + row];
+				final float a1 = left[l + row + 1];
+				final float a2 = left[l + row + 2];
+				final float a3 = left[l + row + 3];
+				b0.mul(a0).add(b1.mul(a1)).add(b2.mul(a2)).add(b3.mul(a3)).intoArray(dst, d + row);
+			}
+		}
+	}
+
+	@Override
+	public void transformAffine(Matrix4d matrix, double[] src, int srcOff, double[] dst, int dstOff, int count) {
+		assert matrix != null : AssertMessages.notNullParameter(0);
+		assert src != null : AssertMessages.notNullParameter(1);
+		assert dst != null : AssertMessages.notNullParameter(3);
+		assert count >= 0 : AssertMessages.positiveOrZeroParameter(5);
+		final DoubleVector c0 = column(matrix.getM00(), matrix.getM10(), matrix.getM20());
+		final DoubleVector c1 = column(matrix.getM01(), matrix.getM11(), matrix.getM21());
+		final DoubleVector c2 = column(matrix.getM02(), matrix.getM12(), matrix.getM22());
+		final DoubleVector c3 = column(matrix.getM03(), matrix.getM13(), matrix.getM23());
+		if (count <= 0) {
+			return;
+		}
+		double x = src[srcOff];
+		double y = src[srcOff + 1];
+		double z = src[srcOff + 2];
+		for (int i = 1; i < count; ++i) {
+			final DoubleVector point = c0.mul(x).add(c1.mul(y)).add(c2.mul(z)).add(c3);
+			final int s = srcOff + 3 * i;
+			x = src[s];
+			y = src[s + 1];
+			z = src[s + 2];
+			point.intoArray(dst, dstOff + 3 * i - 3);
+		}
+		final DoubleVector point = c0.mul(x).add(c1.mul(y)).add(c2.mul(z)).add(c3);
+		final int d = dstOff + 3 * count - 3;
+		dst[d] = point.lane(0);
+		dst[d + 1] = point.lane(1);
+		dst[d + 2] = point.lane(2);
+	}
+
+	@Override
+	public void transformAffine(Matrix4d matrix, float[] src, int srcOff, float[] dst, int dstOff, int count) {
+		assert matrix != null : AssertMessages.notNullParameter(0);
+		assert src != null : AssertMessages.notNullParameter(1);
+		assert dst != null : AssertMessages.notNullParameter(3);
+		assert count >= 0 : AssertMessages.positiveOrZeroParameter(5);
+		final DoubleVector c0 = column(matrix.getM00(), matrix.getM10(), matrix.getM20());
+		final DoubleVector c1 = column(matrix.getM01(), matrix.getM11(), matrix.getM21());
+		final DoubleVector c2 = column(matrix.getM02(), matrix.getM12(), matrix.getM22());
+		final DoubleVector c3 = column(matrix.getM03(), matrix.getM13(), matrix.getM23());
+		if (count <= 0) {
+			return;
+		}
+		double x = src[srcOff];
+		double y = src[srcOff + 1];
+		double z = src[srcOff + 2];
+		for (int i = 1; i < count; ++i) {
+			final DoubleVector point = c0.mul(x).add(c1.mul(y)).add(c2.mul(z)).add(c3);
+			final int s = srcOff + 3 * i;
+			x = src[s];
+			y = src[s + 1];
+			z = src[s + 2];
+			toFloat(point).intoArray(dst, dstOff + 3 * i - 3);
+		}
+		final DoubleVector point = c0.mul(x).add(c1.mul(y)).add(c2.mul(z)).add(c3);
+		final int d = dstOff + 3 * count - 3;
+		dst[d] = (float) point.lane(0);
+		dst[d + 1] = (float) point.lane(1);
+		dst[d + 2] = (float) point.lane(2);
+	}
+
+	/** Create the vector of the first three elements of a column of a matrix.
+	 *
+	 * @param m0 the element of the first row.
+	 * @param m1 the element of the second row.
+	 * @param m2 the element of the third row.
+	 * @return the column.
+	 */
+	private static DoubleVector column(double m0, double m1, double m2) {
+		return DoubleVector.fromArray(DOUBLE_SPECIES, new double[] {m0, m1, m2, 0.}, 0);
+	}
+
+	/** Convert the given vector of four doubles to a vector of four floats.
+	 *
+	 * @param vector the vector to convert.
+	 * @return the converted vector.
+	 */
+	private static FloatVector toFloat(DoubleVector vector) {
+		return (FloatVector) vector.convertShape(VectorOperators.D2F, FLOAT_SPECIES, 0);
+	}
+
+}
@@ -0,0 +1,180 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2016 The original authors, and other authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.math.matrix;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.matrix.vector.VectorMatrixKernels;
+import org.junit.Test;
+
+/** The test is in the package of the scalar kernels, which are the reference of the vector kernels.
+ */
+@SuppressWarnings("all")
+public class VectorMatrixKernelsTest extends AbstractMathTestCase {
+
+	private final MatrixKernels scalar = new ScalarMatrixKernels();
+
+	private final MatrixKernels vector = new VectorMatrixKernels();
+
+	private double[] randomValues(int count) {
+		double[] values = new double[count];
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = getRandom().nextDouble() * 20 - 10;
+		}
+		return values;
+	}
+
+	private static float[] toFloat(double[] values) {
+		float[] floats = new float[values.length];
+		for (int i = 0; i < values.length; ++i) {
+			floats[i] = (float) values[i];
+		}
+		return floats;
+	}
+
+	private Matrix4d randomAffineMatrix() {
+		Matrix4d matrix = new Matrix4d();
+		matrix.set(randomValues(16));
+		matrix.setRow(3, 0, 0, 0, 1);
+		return matrix;
+	}
+
+	@Test
+	public void select() {
+		MatrixKernels kernels = MatrixKernelsLoader.select(MatrixKernels.VECTOR_KERNELS, this.scalar);
+		assertTrue(kernels instanceof VectorMatrixKernels);
+	}
+
+	@Test
+	public void isConsistent() {
+		assertTrue(MatrixKernelsLoader.isConsistent(this.vector, this.scalar));
+	}
+
+	@Test
+	public void mulDouble() {
+		int count = 9;
+		double[] left = randomValues(16 * count);
+		double[] right = randomValues(16 * count);
+		double[] expected = new double[16 * (count + 1)];
+		double[] actual = new double[16 * (count + 1)];
+		this.scalar.mul(left, 0, right, 0, expected, 16, count);
+		this.vector.mul(left, 0, right, 0, actual, 16, count);
+		assertArrayEquals(expected, actual, 0);
+	}
+
+	@Test
+	public void mulDouble_inPlace() {
+		int count = 5;
+		double[] left = randomValues(16 * count);
+		double[] right = randomValues(16 * count);
+		double[] expected = new double[left.length];
+		this.scalar.mul(left, 0, right, 0, expected, 0, count);
+		double[] actualLeft = left.clone();
+		this.vector.mul(actualLeft, 0, right, 0, actualLeft, 0, count);
+		assertArrayEquals(expected, actualLeft, 0);
+		double[] actualRight = right.clone();
+		this.vector.mul(left, 0, actualRight, 0, actualRight, 0, count);
+		assertArrayEquals(expected, actualRight, 0);
+	}
+
+	@Test
+	public void mulFloat() {
+		int count = 9;
+		float[] left = toFloat(randomValues(16 * count));
+		float[] right = toFloat(randomValues(16 * count));
+		float[] expected = new float[16 * (count + 1)];
+		float[] actual = new float[16 * (count + 1)];
+		this.scalar.mul(left, 16, right, 16, expected, 0, count - 1);
+		this.vector.mul(left, 16, right, 16, actual, 0, count - 1);
+		assertArrayEquals(expected, actual, 0f);
+	}
+
+	@Test
+	public void mulFloat_inPlace() {
+		int count = 5;
+		float[] left = toFloat(randomValues(16 * count));
+		float[] right = toFloat(randomValues(16 * count));
+		float[] expected = new float[left.length];
+		this.scalar.mul(left, 0, right, 0, expected, 0, count);
+		this.vector.mul(left, 0, right, 0, right, 0, count);
+		assertArrayEquals(expected, right, 0f);
+	}
+
+	@Test
+	public void transformAffineDouble() {
+		Matrix4d matrix = randomAffineMatrix();
+		double[] src = randomValues(3 * 11);
+		double[] expected = new double[src.length];
+		double[] actual = new double[src.length];
+		this.scalar.transformAffine(matrix, src, 3, expected, 0, 10);
+		this.vector.transformAffine(matrix, src, 3, actual, 0, 10);
+		assertArrayEquals(expected, actual, 0);
+	}
+
+	@Test
+	public void transformAffineDouble_inPlace() {
+		Matrix4d matrix = randomAffineMatrix();
+		double[] src = randomValues(3 * 7);
+		double[] expected = new double[src.length];
+		this.scalar.transformAffine(matrix, src, 0, expected, 0, 7);
+		this.vector.transformAffine(matrix, src, 0, src, 0, 7);
+		assertArrayEquals(expected, src, 0);
+	}
+
+	@Test
+	public void transformAffineDouble_lastPoint() {
+		Matrix4d matrix = randomAffineMatrix();
+		double[] src = randomValues(3 * 4);
+		double[] expected = new double[src.length];
+		double[] actual = new double[src.length];
+		expected[9] = actual[9] = 1;
+		this.scalar.transformAffine(matrix, src, 0, expected, 0, 3);
+		this.vector.transformAffine(matrix, src, 0, actual, 0, 3);
+		assertArrayEquals(expected, actual, 0);
+		this.scalar.transformAffine(matrix, src, 9, expected, 9, 1);
+		this.vector.transformAffine(matrix, src, 9, actual, 9, 1);
+		assertArrayEquals(expected, actual, 0);
+	}
+
+	@Test
+	public void transformAffineFloat() {
+		Matrix4d matrix = randomAffineMatrix();
+		float[] src = toFloat(randomValues(3 * 11));
+		float[] expected = new float[src.length];
+		float[] actual = new float[src.length];
+		this.scalar.transformAffine(matrix, src, 0, expected, 3, 10);
+		this.vector.transformAffine(matrix, src, 0, actual, 3, 10);
+		assertArrayEquals(expected, actual, 0f);
+	}
+
+	@Test
+	public void transformAffineFloat_inPlace() {
+		Matrix4d matrix = randomAffineMatrix();
+		float[] src = toFloat(randomValues(3 * 7));
+		float[] expected = new float[src.length];
+		this.scalar.transformAffine(matrix, src, 0, expected, 0, 7);
+		this.vector.transformAffine(matrix, src, 0, src, 0, 7);
+		assertArrayEquals(expected, src, 0f);
+	}
+
+}